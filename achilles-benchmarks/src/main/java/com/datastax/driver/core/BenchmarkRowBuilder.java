@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds driver rows without a running cluster. Lives in the driver package
+ * because Row and ColumnDefinitions constructors are package-private
+ */
+public class BenchmarkRowBuilder {
+
+	private final String keyspace;
+	private final String table;
+	private final List<ColumnDefinitions.Definition> definitions = new ArrayList<>();
+	private final List<ByteBuffer> values = new ArrayList<>();
+
+	private BenchmarkRowBuilder(String keyspace, String table) {
+		this.keyspace = keyspace;
+		this.table = table;
+	}
+
+	public static BenchmarkRowBuilder row(String keyspace, String table) {
+		return new BenchmarkRowBuilder(keyspace, table);
+	}
+
+	public BenchmarkRowBuilder column(String name, DataType type, Object value) {
+		definitions.add(new ColumnDefinitions.Definition(keyspace, table, name, type));
+		values.add(type.serialize(value));
+		return this;
+	}
+
+	public Row build() {
+		ColumnDefinitions columnDefinitions = new ColumnDefinitions(
+				definitions.toArray(new ColumnDefinitions.Definition[definitions.size()]));
+		return Row.fromData(columnDefinitions, values);
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.datastax.driver.core;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds driver prepared statements without a running cluster, so that
+ * binding can be measured in isolation. The statement constructor is private
+ * hence the reflective call
+ */
+public class BenchmarkStatementBuilder {
+
+	private final String keyspace;
+	private final String table;
+	private final String query;
+	private final List<ColumnDefinitions.Definition> variables = new ArrayList<>();
+
+	private BenchmarkStatementBuilder(String keyspace, String table, String query) {
+		this.keyspace = keyspace;
+		this.table = table;
+		this.query = query;
+	}
+
+	public static BenchmarkStatementBuilder prepare(String keyspace, String table, String query) {
+		return new BenchmarkStatementBuilder(keyspace, table, query);
+	}
+
+	public BenchmarkStatementBuilder variable(String name, DataType type) {
+		variables.add(new ColumnDefinitions.Definition(keyspace, table, name, type));
+		return this;
+	}
+
+	public PreparedStatement build() {
+		ColumnDefinitions metadata = new ColumnDefinitions(
+				variables.toArray(new ColumnDefinitions.Definition[variables.size()]));
+		ColumnDefinitions resultSetMetadata = new ColumnDefinitions(new ColumnDefinitions.Definition[0]);
+		try {
+			Constructor<PreparedStatement> constructor = PreparedStatement.class.getDeclaredConstructor(
+					ColumnDefinitions.class, ColumnDefinitions.class, MD5Digest.class, int[].class, String.class,
+					String.class);
+			constructor.setAccessible(true);
+			return constructor.newInstance(metadata, resultSetMetadata, MD5Digest.wrap(new byte[16]), null, query,
+					keyspace);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot build prepared statement for query '" + query + "'", e);
+		}
+	}
+}
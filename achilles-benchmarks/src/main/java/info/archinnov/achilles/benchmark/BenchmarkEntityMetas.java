@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmark;
+
+import static info.archinnov.achilles.type.ConsistencyLevel.ONE;
+import info.archinnov.achilles.codec.BinaryCodec;
+import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.parsing.EntityParser;
+import info.archinnov.achilles.internal.metadata.parsing.context.EntityParsingContext;
+import info.archinnov.achilles.json.DefaultObjectMapperFactory;
+
+public class BenchmarkEntityMetas {
+
+	public static ConfigurationContext configurationContext() {
+		ConfigurationContext configContext = new ConfigurationContext();
+		configContext.setObjectMapperFactory(new DefaultObjectMapperFactory());
+		configContext.setDefaultReadConsistencyLevel(ONE);
+		configContext.setDefaultWriteConsistencyLevel(ONE);
+		return configContext;
+	}
+
+	public static EntityMeta parse(Class<?> entityClass) {
+		return new EntityParser().parseEntity(new EntityParsingContext(configurationContext(), entityClass));
+	}
+
+	public static EntityMeta parse(Class<?> entityClass, BinaryCodec defaultCodec) {
+		ConfigurationContext configContext = configurationContext();
+		configContext.setDefaultCodec(defaultCodec);
+		return new EntityParser().parseEntity(new EntityParsingContext(configContext, entityClass));
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmark;
+
+import static info.archinnov.achilles.benchmark.BenchmarkEntityMetas.parse;
+import info.archinnov.achilles.benchmark.entity.Geolocation;
+import info.archinnov.achilles.benchmark.entity.Tweet;
+import info.archinnov.achilles.codec.CompactBinaryCodec;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the JSON fallback with {@link CompactBinaryCodec} for a non-native
+ * property
+ * 
+ * <pre>
+ * mvn -P benchmark package
+ * java -jar achilles-benchmark/target/benchmarks.jar CodecBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CodecBenchmark {
+
+	private PropertyMeta jsonMeta;
+	private PropertyMeta codecMeta;
+	private Geolocation location;
+	private String encodedJson;
+	private ByteBuffer encodedBinary;
+
+	@Setup
+	public void setUp() {
+		jsonMeta = parse(Tweet.class).getPropertyMetas().get("location");
+		codecMeta = parse(Tweet.class, new CompactBinaryCodec()).getPropertyMetas().get("location");
+
+		location = new Geolocation(48.8567, 2.3508);
+		encodedJson = (String) jsonMeta.encode(location);
+		encodedBinary = (ByteBuffer) codecMeta.encode(location);
+	}
+
+	@Benchmark
+	public Object encode_json() {
+		return jsonMeta.encode(location);
+	}
+
+	@Benchmark
+	public Object decode_json() {
+		return jsonMeta.decode(encodedJson);
+	}
+
+	@Benchmark
+	public Object encode_binary() {
+		return codecMeta.encode(location);
+	}
+
+	@Benchmark
+	public Object decode_binary() {
+		return codecMeta.decode(encodedBinary);
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmark;
+
+import static info.archinnov.achilles.benchmark.BenchmarkEntityMetas.configurationContext;
+import static info.archinnov.achilles.benchmark.BenchmarkEntityMetas.parse;
+import info.archinnov.achilles.benchmark.entity.Geolocation;
+import info.archinnov.achilles.benchmark.entity.Tweet;
+import info.archinnov.achilles.benchmark.entity.TweetKey;
+import info.archinnov.achilles.internal.context.ImmediateFlushContext;
+import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.metadata.holder.ColumnIndexPlan;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.reflection.PropertyAccessorGenerator;
+import info.archinnov.achilles.internal.statement.StatementGenerator;
+import info.archinnov.achilles.iterator.SliceQueryIterator;
+import info.archinnov.achilles.query.slice.CQLSliceQuery;
+import info.archinnov.achilles.query.slice.SliceQuery;
+import info.archinnov.achilles.type.BoundingMode;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.OptionsBuilder;
+import info.archinnov.achilles.type.OrderingMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.datastax.driver.core.BenchmarkRowBuilder;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Compares iterating a page of slice query rows as managed entities, each
+ * with its own proxy and persistence context, against detached plain
+ * entities. Run with the GC profiler to compare allocations per page
+ * 
+ * <pre>
+ * mvn -P benchmark package
+ * java -jar achilles-benchmark/target/benchmarks.jar DetachedReadBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DetachedReadBenchmark {
+
+	private static final int PAGE_SIZE = 100;
+
+	private CQLSliceQuery<Tweet> managedQuery;
+	private CQLSliceQuery<Tweet> detachedQuery;
+	private PersistenceContext context;
+	private List<Row> rows = new ArrayList<>();
+
+	@Setup
+	public void setUp() {
+		EntityMeta meta = parse(Tweet.class);
+		new PropertyAccessorGenerator().generateAccessors(meta);
+		ColumnIndexPlan columnPlan = new StatementGenerator().buildSliceSelectColumnPlan(meta);
+		meta.setSliceSelectColumnPlan(columnPlan);
+
+		managedQuery = new CQLSliceQuery<>(buildSliceQuery(meta, false), ConsistencyLevel.ONE);
+		detachedQuery = new CQLSliceQuery<>(buildSliceQuery(meta, true), ConsistencyLevel.ONE);
+
+		Tweet tweet = new Tweet();
+		tweet.setId(new TweetKey(10L, UUID.randomUUID()));
+		context = new PersistenceContext(meta, configurationContext(), null, new ImmediateFlushContext(null, null),
+				tweet, OptionsBuilder.noOptions());
+
+		Object location = meta.getPropertyMetas().get("location").encode(new Geolocation(48.85, 2.35));
+		Map<String, DataType> types = ImmutableMap.of("user_id", DataType.bigint(), "tweet_id",
+				DataType.uuid(), "content", DataType.text(), "location", DataType.text());
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			Map<String, Object> values = ImmutableMap.<String, Object> of("user_id", 10L, "tweet_id",
+					UUID.randomUUID(), "content", "tweet content " + i, "location", location);
+
+			// Columns in the order of the generated slice SELECT statement
+			BenchmarkRowBuilder rowBuilder = BenchmarkRowBuilder.row("achilles", "tweet");
+			for (int j = 0; j < columnPlan.size(); j++) {
+				PropertyMeta pm = columnPlan.getPropertyMeta(j);
+				List<String> columnNames = pm.isEmbeddedId() ? pm.getCQLComponentNames() : Arrays.asList(pm
+						.getPropertyName());
+				for (String columnName : columnNames) {
+					rowBuilder.column(columnName, types.get(columnName), values.get(columnName));
+				}
+			}
+			rows.add(rowBuilder.build());
+		}
+	}
+
+	@Benchmark
+	public List<Tweet> managed_slice_page() {
+		return consume(new SliceQueryIterator<>(managedQuery, context, rows.iterator()));
+	}
+
+	@Benchmark
+	public List<Tweet> detached_slice_page() {
+		return consume(new SliceQueryIterator<>(detachedQuery, null, rows.iterator()));
+	}
+
+	private List<Tweet> consume(SliceQueryIterator<Tweet> iterator) {
+		List<Tweet> tweets = new ArrayList<>(PAGE_SIZE);
+		while (iterator.hasNext()) {
+			tweets.add(iterator.next());
+		}
+		return tweets;
+	}
+
+	private SliceQuery<Tweet> buildSliceQuery(EntityMeta meta, boolean detached) {
+		return new SliceQuery<>(Tweet.class, meta, Arrays.<Object> asList(10L), Collections.emptyList(),
+				Collections.emptyList(), OrderingMode.ASCENDING, BoundingMode.INCLUSIVE_BOUNDS, ConsistencyLevel.ONE,
+				PAGE_SIZE, PAGE_SIZE, true, 0, null, detached);
+	}
+}
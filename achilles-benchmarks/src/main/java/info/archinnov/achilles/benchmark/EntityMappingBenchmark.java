@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.benchmark;
+
+import static info.archinnov.achilles.benchmark.BenchmarkEntityMetas.parse;
+import info.archinnov.achilles.benchmark.entity.User;
+import info.archinnov.achilles.internal.metadata.holder.ColumnIndexPlan;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.persistence.operations.EntityMapper;
+import info.archinnov.achilles.internal.reflection.PropertyAccessorGenerator;
+import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGenerator;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.datastax.driver.core.BenchmarkRowBuilder;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Compares row to entity mapping through reflection against the accessors
+ * generated at bootstrap by {@link PropertyAccessorGenerator}, by column name
+ * and by column index
+ * 
+ * <pre>
+ * mvn -P benchmark package
+ * java -jar achilles-benchmark/target/benchmarks.jar EntityMappingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EntityMappingBenchmark {
+
+	private EntityMapper mapper = new EntityMapper();
+	private EntityMeta reflectiveMeta;
+	private EntityMeta generatedMeta;
+	private ColumnIndexPlan columnPlan;
+	private Row row;
+
+	@Setup
+	public void setUp() {
+		reflectiveMeta = parse(User.class);
+		generatedMeta = parse(User.class);
+		new PropertyAccessorGenerator().generateAccessors(generatedMeta);
+		columnPlan = new PreparedStatementGenerator().buildSelectColumnPlan(generatedMeta);
+
+		Map<String, DataType> types = ImmutableMap.of("id", DataType.bigint(), "name", DataType.text(), "age",
+				DataType.cint(), "friends", DataType.list(DataType.text()), "preferences",
+				DataType.map(DataType.cint(), DataType.text()));
+		Map<String, Object> values = ImmutableMap.<String, Object> of("id", 10L, "name", "DuyHai", "age", 35,
+				"friends", Arrays.asList("foo", "bar", "qux"), "preferences", ImmutableMap.of(1, "FR", 2, "Paris"));
+
+		// Columns in the order of the generated SELECT statement
+		BenchmarkRowBuilder rowBuilder = BenchmarkRowBuilder.row("achilles", "users");
+		for (int i = 0; i < columnPlan.size(); i++) {
+			String columnName = columnPlan.getPropertyMeta(i).getPropertyName();
+			rowBuilder.column(columnName, types.get(columnName), values.get(columnName));
+		}
+		row = rowBuilder.build();
+	}
+
+	@Benchmark
+	public User reflective_mapping() {
+		User user = new User();
+		mapper.setNonCounterPropertiesToEntity(row, reflectiveMeta, user);
+		return user;
+	}
+
+	@Benchmark
+	public User generated_accessor_mapping() {
+		User user = new User();
+		mapper.setNonCounterPropertiesToEntity(row, generatedMeta, user);
+		return user;
+	}
+
+	@Benchmark
+	public User column_index_mapping() {
+		User user = new User();
+		mapper.setNonCounterPropertiesToEntity(row, generatedMeta, columnPlan, user);
+		return user;
+	}
+}
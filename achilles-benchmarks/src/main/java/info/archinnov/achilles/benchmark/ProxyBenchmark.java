@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmark;
+
+import static info.archinnov.achilles.benchmark.BenchmarkEntityMetas.configurationContext;
+import static info.archinnov.achilles.benchmark.BenchmarkEntityMetas.parse;
+import info.archinnov.achilles.benchmark.entity.User;
+import info.archinnov.achilles.internal.context.ImmediateFlushContext;
+import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
+import info.archinnov.achilles.internal.proxy.EntityInterceptor;
+import info.archinnov.achilles.internal.reflection.ObjectInstantiator;
+import info.archinnov.achilles.type.OptionsBuilder;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
+import net.sf.cglib.proxy.MethodInterceptor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures proxy creation by {@link EntityProxifier} and getter/setter
+ * dispatch through {@link EntityInterceptor} on already loaded properties.
+ * The <em>throughput</em> pair compares proxies per second against the former
+ * per-proxy class generation and field copy
+ * 
+ * <pre>
+ * mvn -P benchmark package
+ * java -jar achilles-benchmark/target/benchmarks.jar ProxyBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ProxyBenchmark {
+
+	private EntityProxifier proxifier = new EntityProxifier();
+	private ObjectInstantiator instantiator = new ObjectInstantiator();
+	private PersistenceContext context;
+	private User user;
+	private User proxy;
+
+	@Setup
+	public void setUp() {
+		EntityMeta meta = parse(User.class);
+
+		user = new User();
+		user.setId(10L);
+		user.setName("DuyHai");
+		user.setAge(35);
+		user.setFriends(Arrays.asList("foo", "bar", "qux"));
+
+		context = new PersistenceContext(meta, configurationContext(), null, new ImmediateFlushContext(null, null),
+				user, OptionsBuilder.noOptions());
+		proxy = proxifier.buildProxyWithAllFieldsLoadedExceptCounters(user, context);
+	}
+
+	@Benchmark
+	public User build_proxy() {
+		return proxifier.buildProxyWithAllFieldsLoadedExceptCounters(user, context);
+	}
+
+	/**
+	 * Proxies per second with the proxy class cached on {@link EntityMeta}
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public User build_proxy_throughput() {
+		return proxifier.buildProxyWithAllFieldsLoadedExceptCounters(user, context);
+	}
+
+	/**
+	 * Proxies per second with the former strategy: one {@link Enhancer} and
+	 * class lookup per proxy
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public User build_proxy_throughput_legacy() {
+		Enhancer enhancer = new Enhancer();
+		enhancer.setSuperclass(User.class);
+		enhancer.setInterfaces(new Class[] { Serializable.class });
+		enhancer.setClassLoader(EntityProxifier.class.getClassLoader());
+		enhancer.setUseCache(true);
+		enhancer.setCallbackTypes(new Class[] { MethodInterceptor.class });
+		enhancer.setUseFactory(true);
+		Class<?> proxyClass = enhancer.createClass();
+		User instance = User.class.cast(instantiator.instantiate(proxyClass));
+
+		for (PropertyMeta pm : context.getEntityMeta().getAllMetas()) {
+			pm.setValueToField(instance, pm.getValueFromField(user));
+		}
+		((Factory) instance).setCallbacks(new Callback[] { proxifier.buildInterceptor(context, user,
+				(BitSet) context.getEntityMeta().getOrdinalsExceptCounters().clone()) });
+		return instance;
+	}
+
+	@Benchmark
+	public String intercept_simple_getter() {
+		return proxy.getName();
+	}
+
+	@Benchmark
+	public List<String> intercept_list_getter() {
+		return proxy.getFriends();
+	}
+
+	@Benchmark
+	public User intercept_setter() {
+		proxy.setAge(36);
+		return proxy;
+	}
+}
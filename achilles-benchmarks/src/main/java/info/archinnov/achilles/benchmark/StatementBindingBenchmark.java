@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmark;
+
+import static info.archinnov.achilles.benchmark.BenchmarkEntityMetas.parse;
+import static info.archinnov.achilles.type.ConsistencyLevel.ONE;
+import info.archinnov.achilles.benchmark.entity.User;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.statement.prepared.PreparedStatementBinder;
+import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.datastax.driver.core.BenchmarkStatementBuilder;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.PreparedStatement;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Measures value extraction and binding of INSERT and UPDATE statements by
+ * {@link PreparedStatementBinder}
+ * 
+ * <pre>
+ * mvn -P benchmark package
+ * java -jar achilles-benchmark/target/benchmarks.jar StatementBindingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StatementBindingBenchmark {
+
+	private static final Map<String, DataType> COLUMN_TYPES = ImmutableMap.of("id", DataType.bigint(), "name",
+			DataType.text(), "age", DataType.cint(), "friends", DataType.list(DataType.text()), "preferences",
+			DataType.map(DataType.cint(), DataType.text()));
+
+	private PreparedStatementBinder binder = new PreparedStatementBinder();
+	private EntityMeta meta;
+	private List<PropertyMeta> updatedMetas;
+	private PreparedStatement insertPS;
+	private PreparedStatement updatePS;
+	private User user;
+
+	@Setup
+	public void setUp() {
+		meta = parse(User.class);
+		updatedMetas = Arrays.asList(meta.getPropertyMetas().get("name"), meta.getPropertyMetas().get("age"));
+
+		BenchmarkStatementBuilder insert = BenchmarkStatementBuilder.prepare("achilles", "users", "INSERT").variable(
+				"id", DataType.bigint());
+		for (PropertyMeta pm : meta.getColumnsMetaToInsert()) {
+			insert.variable(pm.getPropertyName(), COLUMN_TYPES.get(pm.getPropertyName()));
+		}
+		insertPS = insert.variable("ttl", DataType.cint()).build();
+
+		BenchmarkStatementBuilder update = BenchmarkStatementBuilder.prepare("achilles", "users", "UPDATE").variable(
+				"ttl", DataType.cint());
+		for (PropertyMeta pm : updatedMetas) {
+			update.variable(pm.getPropertyName(), COLUMN_TYPES.get(pm.getPropertyName()));
+		}
+		updatePS = update.variable("id", DataType.bigint()).build();
+
+		user = new User();
+		user.setId(10L);
+		user.setName("DuyHai");
+		user.setAge(35);
+		user.setFriends(Arrays.asList("foo", "bar", "qux"));
+		user.setPreferences(ImmutableMap.of(1, "FR", 2, "Paris"));
+	}
+
+	@Benchmark
+	public BoundStatementWrapper bind_for_insert() {
+		return binder.bindForInsert(insertPS, meta, user, ONE, Optional.<Integer> absent(), Optional.<Long> absent());
+	}
+
+	@Benchmark
+	public BoundStatementWrapper bind_for_update() {
+		return binder.bindForUpdate(updatePS, meta, updatedMetas, user, ONE, Optional.<Integer> absent(),
+				Optional.<Long> absent());
+	}
+}
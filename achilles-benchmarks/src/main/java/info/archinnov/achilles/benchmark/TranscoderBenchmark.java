@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmark;
+
+import static info.archinnov.achilles.benchmark.BenchmarkEntityMetas.parse;
+import info.archinnov.achilles.benchmark.entity.Geolocation;
+import info.archinnov.achilles.benchmark.entity.Tweet;
+import info.archinnov.achilles.benchmark.entity.TweetKey;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.transcoding.AbstractTranscoder;
+import info.archinnov.achilles.internal.utils.UUIDGen;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link AbstractTranscoder} encoding and decoding of native values,
+ * compound primary keys and values falling back to JSON
+ * 
+ * <pre>
+ * mvn -P benchmark package
+ * java -jar achilles-benchmark/target/benchmarks.jar TranscoderBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TranscoderBenchmark {
+
+	private PropertyMeta idMeta;
+	private PropertyMeta contentMeta;
+	private PropertyMeta locationMeta;
+	private TweetKey tweetKey;
+	private List<Object> encodedTweetKey;
+	private Geolocation location;
+	private String encodedLocation;
+
+	@Setup
+	public void setUp() {
+		EntityMeta meta = parse(Tweet.class);
+		idMeta = meta.getIdMeta();
+		contentMeta = meta.getPropertyMetas().get("content");
+		locationMeta = meta.getPropertyMetas().get("location");
+
+		tweetKey = new TweetKey(10L, UUIDGen.getTimeUUID());
+		encodedTweetKey = idMeta.encodeToComponents(tweetKey);
+		location = new Geolocation(48.8567, 2.3508);
+		encodedLocation = (String) locationMeta.encode(location);
+	}
+
+	@Benchmark
+	public Object encode_native() {
+		return contentMeta.encode("Hello world");
+	}
+
+	@Benchmark
+	public Object decode_native() {
+		return contentMeta.decode("Hello world");
+	}
+
+	@Benchmark
+	public List<Object> encode_compound_key() {
+		return idMeta.encodeToComponents(tweetKey);
+	}
+
+	@Benchmark
+	public Object decode_compound_key() {
+		return idMeta.decodeFromComponents(encodedTweetKey);
+	}
+
+	@Benchmark
+	public Object encode_json_fallback() {
+		return locationMeta.encode(location);
+	}
+
+	@Benchmark
+	public Object decode_json_fallback() {
+		return locationMeta.decode(encodedLocation);
+	}
+}
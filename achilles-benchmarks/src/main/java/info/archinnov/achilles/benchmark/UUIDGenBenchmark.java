@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmark;
+
+import info.archinnov.achilles.internal.utils.UUIDGen;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures time UUID and write timestamp generation by {@link UUIDGen}, alone
+ * and with several threads competing for the shared clock. Each thread checks
+ * that the values it receives are strictly increasing and fails the run
+ * otherwise
+ * 
+ * <pre>
+ * mvn -P benchmark package
+ * java -jar achilles-benchmark/target/benchmarks.jar UUIDGenBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class UUIDGenBenchmark {
+
+	@State(Scope.Thread)
+	public static class LastValues {
+		long uuidTimestamp;
+		long micros;
+
+		UUID checkUUID(UUID uuid) {
+			uuidTimestamp = checkIncreasing(uuidTimestamp, uuid.timestamp());
+			return uuid;
+		}
+
+		long checkMicros(long value) {
+			micros = checkIncreasing(micros, value);
+			return value;
+		}
+
+		private static long checkIncreasing(long previous, long value) {
+			if (value <= previous) {
+				throw new IllegalStateException("Generated value " + value + " is not greater than " + previous);
+			}
+			return value;
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public UUID time_uuid_single_thread(LastValues last) {
+		return last.checkUUID(UUIDGen.getTimeUUID());
+	}
+
+	@Benchmark
+	@Threads(4)
+	public UUID time_uuid_4_threads(LastValues last) {
+		return last.checkUUID(UUIDGen.getTimeUUID());
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public UUID time_uuid_all_cores(LastValues last) {
+		return last.checkUUID(UUIDGen.getTimeUUID());
+	}
+
+	@Benchmark
+	@Threads(1)
+	public long micro_timestamp_single_thread(LastValues last) {
+		return last.checkMicros(UUIDGen.increasingMicroTimestamp());
+	}
+
+	@Benchmark
+	@Threads(4)
+	public long micro_timestamp_4_threads(LastValues last) {
+		return last.checkMicros(UUIDGen.increasingMicroTimestamp());
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public long micro_timestamp_all_cores(LastValues last) {
+		return last.checkMicros(UUIDGen.increasingMicroTimestamp());
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmark.embedded;
+
+import info.archinnov.achilles.benchmark.entity.Tweet;
+import info.archinnov.achilles.benchmark.entity.TweetKey;
+import info.archinnov.achilles.benchmark.entity.User;
+import info.archinnov.achilles.embedded.CassandraEmbeddedServerBuilder;
+import info.archinnov.achilles.internal.utils.UUIDGen;
+import info.archinnov.achilles.persistence.PersistenceManager;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end persist, find and slice throughput against an embedded Cassandra
+ * server, to compare numbers release over release
+ * 
+ * <pre>
+ * mvn -P benchmark package
+ * java -jar achilles-benchmark/target/benchmarks.jar EmbeddedServerBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EmbeddedServerBenchmark {
+
+	private static final int USER_COUNT = 10000;
+	private static final int TWEETS_PER_USER = 100;
+	private static final long TIMELINE_USER_ID = 0L;
+
+	private PersistenceManager manager;
+	private AtomicLong userIdSequence = new AtomicLong(USER_COUNT);
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		manager = CassandraEmbeddedServerBuilder.withEntityPackages(User.class.getPackage().getName())
+				.withKeyspaceName("achilles_benchmark").cleanDataFilesAtStartup(true).buildPersistenceManager();
+
+		for (long id = 0; id < USER_COUNT; id++) {
+			manager.persist(newUser(id));
+		}
+		for (int i = 0; i < TWEETS_PER_USER; i++) {
+			Tweet tweet = new Tweet();
+			tweet.setId(new TweetKey(TIMELINE_USER_ID, UUIDGen.getTimeUUID()));
+			tweet.setContent("tweet " + i);
+			manager.persist(tweet);
+		}
+	}
+
+	@Benchmark
+	public User persist() {
+		return manager.persist(newUser(userIdSequence.getAndIncrement()));
+	}
+
+	@Benchmark
+	public User find() {
+		return manager.find(User.class, ThreadLocalRandom.current().nextLong(USER_COUNT));
+	}
+
+	@Benchmark
+	public List<Tweet> slice() {
+		return manager.sliceQuery(Tweet.class).partitionComponents(TIMELINE_USER_ID).get(TWEETS_PER_USER);
+	}
+
+	private User newUser(long id) {
+		User user = new User();
+		user.setId(id);
+		user.setName("user" + id);
+		user.setAge(30);
+		return user;
+	}
+}
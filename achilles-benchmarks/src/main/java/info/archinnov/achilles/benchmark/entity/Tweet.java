@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.benchmark.entity;
+
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.EmbeddedId;
+import info.archinnov.achilles.annotations.Entity;
+
+@Entity(table = "tweet")
+public class Tweet {
+
+	@EmbeddedId
+	private TweetKey id;
+
+	@Column
+	private String content;
+
+	@Column
+	private Geolocation location;
+
+	public TweetKey getId() {
+		return id;
+	}
+
+	public void setId(TweetKey id) {
+		this.id = id;
+	}
+
+	public String getContent() {
+		return content;
+	}
+
+	public void setContent(String content) {
+		this.content = content;
+	}
+
+	public Geolocation getLocation() {
+		return location;
+	}
+
+	public void setLocation(Geolocation location) {
+		this.location = location;
+	}
+}
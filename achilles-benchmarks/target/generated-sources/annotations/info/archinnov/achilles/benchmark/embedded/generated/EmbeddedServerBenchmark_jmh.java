@@ -0,0 +1,4 @@
+package info.archinnov.achilles.benchmark.embedded.generated;
+public class EmbeddedServerBenchmark_jmh extends EmbeddedServerBenchmark_jmh_B3 {
+}
+
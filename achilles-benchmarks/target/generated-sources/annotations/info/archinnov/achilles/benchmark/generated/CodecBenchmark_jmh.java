@@ -0,0 +1,4 @@
+package info.archinnov.achilles.benchmark.generated;
+public class CodecBenchmark_jmh extends CodecBenchmark_jmh_B3 {
+}
+
@@ -0,0 +1,4 @@
+package info.archinnov.achilles.benchmark.generated;
+public class DetachedReadBenchmark_jmh extends DetachedReadBenchmark_jmh_B3 {
+}
+
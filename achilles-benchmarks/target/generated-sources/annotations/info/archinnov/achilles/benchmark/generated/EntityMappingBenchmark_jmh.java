@@ -0,0 +1,4 @@
+package info.archinnov.achilles.benchmark.generated;
+public class EntityMappingBenchmark_jmh extends EntityMappingBenchmark_jmh_B3 {
+}
+
@@ -0,0 +1,4 @@
+package info.archinnov.achilles.benchmark.generated;
+public class ProxyBenchmark_jmh extends ProxyBenchmark_jmh_B3 {
+}
+
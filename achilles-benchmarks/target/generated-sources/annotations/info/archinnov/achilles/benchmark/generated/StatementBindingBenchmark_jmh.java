@@ -0,0 +1,4 @@
+package info.archinnov.achilles.benchmark.generated;
+public class StatementBindingBenchmark_jmh extends StatementBindingBenchmark_jmh_B3 {
+}
+
@@ -0,0 +1,4 @@
+package info.archinnov.achilles.benchmark.generated;
+public class TranscoderBenchmark_jmh extends TranscoderBenchmark_jmh_B3 {
+}
+
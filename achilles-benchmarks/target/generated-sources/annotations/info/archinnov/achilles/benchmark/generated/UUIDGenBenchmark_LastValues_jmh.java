@@ -0,0 +1,4 @@
+package info.archinnov.achilles.benchmark.generated;
+public class UUIDGenBenchmark_LastValues_jmh extends UUIDGenBenchmark_LastValues_jmh_B3 {
+}
+
@@ -16,8 +16,12 @@
 
 package info.archinnov.achilles.configuration;
 
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ASYNC_LISTENER_EXECUTOR_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_VALIDATOR;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BOOTSTRAP_MAX_CONCURRENCY_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.CODEC_DEFAULT_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BULK_WRITE_MAX_CONCURRENCY_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CLUSTER_NAME_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CLUSTER_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.COMPRESSION_TYPE;
@@ -27,30 +31,52 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.CONS
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_MAP_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_DEFAULT_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_MAP_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_ENABLE_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_FLUSH_INTERVAL_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_FLUSH_THRESHOLD_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_BOOTSTRAP_MAX_CONCURRENCY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_BULK_WRITE_MAX_CONCURRENCY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_COUNTER_AGGREGATION_FLUSH_INTERVAL;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_COUNTER_AGGREGATION_FLUSH_THRESHOLD;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_LEVEL;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_MULTI_GET_MAX_CONCURRENCY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_SCAN_MAX_CONCURRENCY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_SCAN_PAGE_SIZE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DISABLE_JMX;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DISABLE_METRICS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_SPECS_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CLASSES_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_INDEX_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.EVENT_INTERCEPTORS_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_TABLE_CREATION_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.LOAD_BALANCING_POLICY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_ENABLE_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.MULTI_GET_MAX_CONCURRENCY_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_SESSION_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.OBJECT_MAPPER_FACTORY_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.OBJECT_MAPPER_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PASSWORD;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RECONNECTION_POLICY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RETRY_POLICY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SCAN_MAX_CONCURRENCY_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SCAN_PAGE_SIZE_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.SSL_ENABLED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.SSL_OPTIONS;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.USERNAME;
 import static javax.validation.Validation.buildDefaultValidatorFactory;
+import info.archinnov.achilles.codec.BinaryCodec;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.json.DefaultObjectMapperFactory;
 import info.archinnov.achilles.json.ObjectMapperFactory;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.metrics.InMemoryMetrics;
+import info.archinnov.achilles.metrics.NoOpMetrics;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.TypedMap;
 
@@ -60,6 +86,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Executor;
 
 import javax.validation.ValidationException;
 
@@ -76,6 +103,8 @@ import com.datastax.driver.core.policies.LoadBalancingPolicy;
 import com.datastax.driver.core.policies.Policies;
 import com.datastax.driver.core.policies.ReconnectionPolicy;
 import com.datastax.driver.core.policies.RetryPolicy;
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public class ArgumentExtractor {
 
@@ -93,18 +122,152 @@ public class ArgumentExtractor {
 		return entityPackages;
 	}
 
+	public List<Class<?>> initEntityClasses(TypedMap configurationMap) {
+		log.trace("Extract entity classes from configuration map");
+
+		List<Class<?>> entityClasses = configurationMap.getTypedOr(ENTITY_CLASSES_PARAM, new ArrayList<Class<?>>());
+		return entityClasses;
+	}
+
+	public String initEntityIndex(TypedMap configurationMap) {
+		log.trace("Extract entity index from configuration map");
+
+		String entityIndex = configurationMap.getTyped(ENTITY_INDEX_PARAM);
+		return StringUtils.isNotBlank(entityIndex) ? entityIndex : null;
+	}
+
 	public ConfigurationContext initConfigContext(TypedMap configurationMap) {
 		log.trace("Build ConfigurationContext from configuration map");
 
 		ConfigurationContext configContext = new ConfigurationContext();
 		configContext.setForceColumnFamilyCreation(initForceTableCreation(configurationMap));
 		configContext.setObjectMapperFactory(initObjectMapperFactory(configurationMap));
+		configContext.setDefaultCodec(initDefaultCodec(configurationMap));
 		configContext.setDefaultReadConsistencyLevel(initDefaultReadConsistencyLevel(configurationMap));
 		configContext.setDefaultWriteConsistencyLevel(initDefaultWriteConsistencyLevel(configurationMap));
 		configContext.setBeanValidator(initValidator(configurationMap));
+		configContext.setMultiGetMaxConcurrency(initMultiGetMaxConcurrency(configurationMap));
+		configContext.setBulkWriteMaxConcurrency(initBulkWriteMaxConcurrency(configurationMap));
+		configContext.setBootstrapMaxConcurrency(initBootstrapMaxConcurrency(configurationMap));
+		configContext.setScanMaxConcurrency(initScanMaxConcurrency(configurationMap));
+		configContext.setScanPageSize(initScanPageSize(configurationMap));
+		configContext.setCounterAggregationEnabled(initCounterAggregationEnabled(configurationMap));
+		configContext.setCounterAggregationFlushInterval(initCounterAggregationFlushInterval(configurationMap));
+		configContext.setCounterAggregationFlushThreshold(initCounterAggregationFlushThreshold(configurationMap));
+		configContext.setEntityCacheSpecs(initEntityCacheSpecs(configurationMap));
+		configContext.setMetrics(initMetrics(configurationMap));
+		configContext.setAsyncListenerExecutor(initAsyncListenerExecutor(configurationMap));
 		return configContext;
 	}
 
+	Executor initAsyncListenerExecutor(TypedMap configurationMap) {
+		log.trace("Extract async listener executor from configuration map");
+
+		Executor executor = configurationMap.getTyped(ASYNC_LISTENER_EXECUTOR_PARAM);
+		return executor != null ? executor : MoreExecutors.sameThreadExecutor();
+	}
+
+	AchillesMetrics initMetrics(TypedMap configurationMap) {
+		log.trace("Extract metrics from configuration map");
+
+		AchillesMetrics metrics = configurationMap.getTyped(METRICS_PARAM);
+		if (metrics != null) {
+			return metrics;
+		}
+		Boolean enableMetrics = configurationMap.getTypedOr(METRICS_ENABLE_PARAM, false);
+		return enableMetrics ? new InMemoryMetrics() : new NoOpMetrics();
+	}
+
+	int initMultiGetMaxConcurrency(TypedMap configurationMap) {
+		log.trace("Extract multi get max concurrency from configuration map");
+
+		Integer maxConcurrency = configurationMap.getTypedOr(MULTI_GET_MAX_CONCURRENCY_PARAM,
+				DEFAULT_MULTI_GET_MAX_CONCURRENCY);
+		Validator.validateTrue(maxConcurrency > 0, "%s property should be strictly positive",
+				MULTI_GET_MAX_CONCURRENCY_PARAM);
+		return maxConcurrency;
+	}
+
+	int initBulkWriteMaxConcurrency(TypedMap configurationMap) {
+		log.trace("Extract bulk write max concurrency from configuration map");
+
+		Integer maxConcurrency = configurationMap.getTypedOr(BULK_WRITE_MAX_CONCURRENCY_PARAM,
+				DEFAULT_BULK_WRITE_MAX_CONCURRENCY);
+		Validator.validateTrue(maxConcurrency > 0, "%s property should be strictly positive",
+				BULK_WRITE_MAX_CONCURRENCY_PARAM);
+		return maxConcurrency;
+	}
+
+	int initScanMaxConcurrency(TypedMap configurationMap) {
+		log.trace("Extract scan max concurrency from configuration map");
+
+		Integer maxConcurrency = configurationMap.getTypedOr(SCAN_MAX_CONCURRENCY_PARAM, DEFAULT_SCAN_MAX_CONCURRENCY);
+		Validator.validateTrue(maxConcurrency > 0, "%s property should be strictly positive",
+				SCAN_MAX_CONCURRENCY_PARAM);
+		return maxConcurrency;
+	}
+
+	int initScanPageSize(TypedMap configurationMap) {
+		log.trace("Extract scan page size from configuration map");
+
+		Integer pageSize = configurationMap.getTypedOr(SCAN_PAGE_SIZE_PARAM, DEFAULT_SCAN_PAGE_SIZE);
+		Validator.validateTrue(pageSize > 0, "%s property should be strictly positive", SCAN_PAGE_SIZE_PARAM);
+		return pageSize;
+	}
+
+	boolean initCounterAggregationEnabled(TypedMap configurationMap) {
+		log.trace("Extract 'counter aggregation enable' from configuration map");
+
+		Boolean enableAggregation = configurationMap.getTypedOr(COUNTER_AGGREGATION_ENABLE_PARAM, false);
+		return enableAggregation;
+	}
+
+	int initCounterAggregationFlushInterval(TypedMap configurationMap) {
+		log.trace("Extract counter aggregation flush interval from configuration map");
+
+		Integer flushInterval = configurationMap.getTypedOr(COUNTER_AGGREGATION_FLUSH_INTERVAL_PARAM,
+				DEFAULT_COUNTER_AGGREGATION_FLUSH_INTERVAL);
+		Validator.validateTrue(flushInterval > 0, "%s property should be strictly positive",
+				COUNTER_AGGREGATION_FLUSH_INTERVAL_PARAM);
+		return flushInterval;
+	}
+
+	int initCounterAggregationFlushThreshold(TypedMap configurationMap) {
+		log.trace("Extract counter aggregation flush threshold from configuration map");
+
+		Integer flushThreshold = configurationMap.getTypedOr(COUNTER_AGGREGATION_FLUSH_THRESHOLD_PARAM,
+				DEFAULT_COUNTER_AGGREGATION_FLUSH_THRESHOLD);
+		Validator.validateTrue(flushThreshold > 0, "%s property should be strictly positive",
+				COUNTER_AGGREGATION_FLUSH_THRESHOLD_PARAM);
+		return flushThreshold;
+	}
+
+	int initBootstrapMaxConcurrency(TypedMap configurationMap) {
+		log.trace("Extract bootstrap max concurrency from configuration map");
+
+		Integer maxConcurrency = configurationMap.getTypedOr(BOOTSTRAP_MAX_CONCURRENCY_PARAM,
+				DEFAULT_BOOTSTRAP_MAX_CONCURRENCY);
+		Validator.validateTrue(maxConcurrency > 0, "%s property should be strictly positive",
+				BOOTSTRAP_MAX_CONCURRENCY_PARAM);
+		return maxConcurrency;
+	}
+
+	Map<Class<?>, String> initEntityCacheSpecs(TypedMap configurationMap) {
+		log.trace("Extract entity cache specs from configuration map");
+
+		Map<Class<?>, String> cacheSpecs = configurationMap.getTypedOr(ENTITY_CACHE_SPECS_PARAM,
+				new HashMap<Class<?>, String>());
+		for (Entry<Class<?>, String> entry : cacheSpecs.entrySet()) {
+			try {
+				CacheBuilderSpec.parse(entry.getValue());
+			} catch (IllegalArgumentException e) {
+				throw new AchillesException(String.format("Invalid cache spec '%s' for entity '%s' in %s property",
+						entry.getValue(), entry.getKey().getCanonicalName(), ENTITY_CACHE_SPECS_PARAM), e);
+			}
+		}
+		return cacheSpecs;
+	}
+
 	boolean initForceTableCreation(TypedMap configurationMap) {
 		log.trace("Extract 'force table creation' from configuration map");
 
@@ -132,6 +295,12 @@ public class ArgumentExtractor {
 		return objectMapperFactory;
 	}
 
+	BinaryCodec initDefaultCodec(TypedMap configurationMap) {
+		log.trace("Extract default binary codec from configuration map");
+
+		return configurationMap.getTyped(CODEC_DEFAULT_PARAM);
+	}
+
 	protected static ObjectMapperFactory factoryFromMapper(final ObjectMapper mapper) {
 		return new ObjectMapperFactory() {
 			@Override
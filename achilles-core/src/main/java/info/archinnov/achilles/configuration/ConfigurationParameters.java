@@ -20,9 +20,13 @@ import info.archinnov.achilles.type.ConsistencyLevel;
 
 public interface ConfigurationParameters {
 	String ENTITY_PACKAGES_PARAM = "achilles.entity.packages";
+	String ENTITY_CLASSES_PARAM = "achilles.entity.classes";
+	String ENTITY_INDEX_PARAM = "achilles.entity.index";
+	String BOOTSTRAP_MAX_CONCURRENCY_PARAM = "achilles.bootstrap.max.concurrency";
 
 	String OBJECT_MAPPER_FACTORY_PARAM = "achilles.json.object.mapper.factory";
 	String OBJECT_MAPPER_PARAM = "achilles.json.object.mapper";
+	String CODEC_DEFAULT_PARAM = "achilles.codec.default";
 
 	String CONSISTENCY_LEVEL_READ_DEFAULT_PARAM = "achilles.consistency.read.default";
 	String CONSISTENCY_LEVEL_WRITE_DEFAULT_PARAM = "achilles.consistency.write.default";
@@ -52,5 +56,28 @@ public interface ConfigurationParameters {
 	String BEAN_VALIDATION_ENABLE = "achilles.bean.validation.enable";
 	String BEAN_VALIDATION_VALIDATOR = "achilles.bean.validation.validator";
 
+	String MULTI_GET_MAX_CONCURRENCY_PARAM = "achilles.multi.get.max.concurrency";
+	String BULK_WRITE_MAX_CONCURRENCY_PARAM = "achilles.bulk.write.max.concurrency";
+	String SCAN_MAX_CONCURRENCY_PARAM = "achilles.scan.max.concurrency";
+	String SCAN_PAGE_SIZE_PARAM = "achilles.scan.page.size";
+	String ENTITY_CACHE_SPECS_PARAM = "achilles.entity.cache.specs";
+
+	String COUNTER_AGGREGATION_ENABLE_PARAM = "achilles.counter.aggregation.enable";
+	String COUNTER_AGGREGATION_FLUSH_INTERVAL_PARAM = "achilles.counter.aggregation.flush.interval";
+	String COUNTER_AGGREGATION_FLUSH_THRESHOLD_PARAM = "achilles.counter.aggregation.flush.threshold";
+
+	String METRICS_ENABLE_PARAM = "achilles.metrics.enable";
+	String METRICS_PARAM = "achilles.metrics";
+	String METRICS_JMX_ENABLE_PARAM = "achilles.metrics.jmx.enable";
+
+	String ASYNC_LISTENER_EXECUTOR_PARAM = "achilles.async.listener.executor";
+
 	ConsistencyLevel DEFAULT_LEVEL = ConsistencyLevel.ONE;
+	int DEFAULT_MULTI_GET_MAX_CONCURRENCY = 32;
+	int DEFAULT_BULK_WRITE_MAX_CONCURRENCY = 64;
+	int DEFAULT_BOOTSTRAP_MAX_CONCURRENCY = 8;
+	int DEFAULT_SCAN_MAX_CONCURRENCY = 8;
+	int DEFAULT_SCAN_PAGE_SIZE = 1000;
+	int DEFAULT_COUNTER_AGGREGATION_FLUSH_INTERVAL = 1000;
+	int DEFAULT_COUNTER_AGGREGATION_FLUSH_THRESHOLD = 10000;
 }
@@ -24,7 +24,7 @@ public interface AchillesCounter {
 	public static final String CQL_COUNTER_VALUE = "counter_value";
 
 	public static enum CQLQueryType {
-		INCR, DECR, SELECT, DELETE;
+		INCR, DECR, SELECT, SELECT_ALL, DELETE;
 	}
 
     public static enum ClusteredCounterStatement {
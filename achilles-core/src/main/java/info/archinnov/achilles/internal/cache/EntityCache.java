@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.cache;
+
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Read-through cache of raw entities of one entity class, keyed by primary
+ * key. Entities are copied in and out so neither the caller nor its proxy can
+ * alter the cached state. Collections and maps are copied, their elements
+ * are shared
+ * <p>
+ * Every invalidation bumps a generation counter. A reader takes the
+ * generation before querying Cassandra and hands it back to
+ * {@link #put(Object, Object, long)}: if an invalidation happened in
+ * between, the possibly stale row is not kept
+ * </p>
+ */
+public class EntityCache {
+
+	private static final Logger log = LoggerFactory.getLogger(EntityCache.class);
+
+	private final EntityMeta entityMeta;
+	private final Cache<Object, Object> cache;
+	private final AtomicLong generation = new AtomicLong();
+
+	public EntityCache(EntityMeta entityMeta, CacheBuilderSpec spec) {
+		this.entityMeta = entityMeta;
+		this.cache = CacheBuilder.from(spec).recordStats().build();
+	}
+
+	public <T> T get(Object primaryKey) {
+		Object cached = cache.getIfPresent(primaryKey);
+		if (cached == null) {
+			return null;
+		}
+		log.trace("Cache hit for entity {} with primary key {}", entityMeta.getClassName(), primaryKey);
+		return copy(cached);
+	}
+
+	/**
+	 * @return the current invalidation generation, to take before reading the
+	 *         entity from Cassandra
+	 */
+	public long generation() {
+		return generation.get();
+	}
+
+	public void put(Object primaryKey, Object entity) {
+		cache.put(primaryKey, copy(entity));
+	}
+
+	/**
+	 * Cache an entity read while the cache was at the given generation. The
+	 * entry is dropped again if any invalidation happened since, because the
+	 * row may have been read before the write that triggered it
+	 */
+	public void put(Object primaryKey, Object entity, long readGeneration) {
+		cache.put(primaryKey, copy(entity));
+		if (generation.get() != readGeneration) {
+			log.trace("Discard entity {} with primary key {} read before an invalidation",
+					entityMeta.getClassName(), primaryKey);
+			cache.invalidate(primaryKey);
+		}
+	}
+
+	public void invalidate(Object primaryKey) {
+		log.trace("Invalidate cached entity {} with primary key {}", entityMeta.getClassName(), primaryKey);
+		generation.incrementAndGet();
+		cache.invalidate(primaryKey);
+	}
+
+	public void invalidateAll() {
+		log.trace("Invalidate all cached entities {}", entityMeta.getClassName());
+		generation.incrementAndGet();
+		cache.invalidateAll();
+	}
+
+	public long size() {
+		return cache.size();
+	}
+
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	private <T> T copy(Object source) {
+		T copy = entityMeta.instanciate();
+		for (PropertyMeta pm : entityMeta.getAllMetasExceptCounters()) {
+			pm.setValueToField(copy, copyValue(pm.getValueFromField(source)));
+		}
+		return copy;
+	}
+
+	private Object copyValue(Object value) {
+		if (value instanceof List) {
+			return new ArrayList<>((List<?>) value);
+		} else if (value instanceof Set) {
+			return new LinkedHashSet<>((Set<?>) value);
+		} else if (value instanceof Map) {
+			return new LinkedHashMap<>((Map<?, ?>) value);
+		}
+		return value;
+	}
+}
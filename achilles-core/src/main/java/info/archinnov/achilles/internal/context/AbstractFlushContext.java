@@ -17,15 +17,21 @@ package info.archinnov.achilles.internal.context;
 
 import static info.archinnov.achilles.internal.consistency.ConsistencyConverter.getCQLLevel;
 import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.cache.EntityCache;
+import info.archinnov.achilles.internal.interceptor.EventHolder;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Pair;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 public abstract class AbstractFlushContext {
 	protected DaoContext daoContext;
@@ -33,6 +39,8 @@ public abstract class AbstractFlushContext {
 	protected List<AbstractStatementWrapper> statementWrappers = new ArrayList<>();
 	protected List<AbstractStatementWrapper> counterStatementWrappers = new ArrayList<>();
 
+	protected List<Pair<EntityCache, Object>> cacheInvalidations = new ArrayList<>();
+
 	protected ConsistencyLevel consistencyLevel;
 
 	public AbstractFlushContext(DaoContext daoContext, ConsistencyLevel consistencyLevel) {
@@ -49,34 +57,85 @@ public abstract class AbstractFlushContext {
 
 	protected void executeBatch(BatchStatement.Type batchType, List<AbstractStatementWrapper> statementWrappers) {
 		if (statementWrappers.size() > 1) {
-			BatchStatement batch = new BatchStatement(batchType);
-			AbstractStatementWrapper.writeDMLStartBatch();
-			for (AbstractStatementWrapper statementWrapper : statementWrappers) {
-				batch.add(statementWrapper.getStatement());
-				statementWrapper.logDMLStatement("\t");
-			}
-			AbstractStatementWrapper.writeDMLEndBatch(consistencyLevel);
-			if (consistencyLevel != null) {
-				batch.setConsistencyLevel(getCQLLevel(consistencyLevel));
-			}
-			daoContext.executeBatch(batch);
+			daoContext.getMetrics().recordBatch(statementWrappers.size());
+			daoContext.executeBatch(buildBatch(batchType, statementWrappers));
 		} else if (statementWrappers.size() == 1) {
 			daoContext.execute(statementWrappers.get(0));
 		}
 	}
 
+	protected ListenableFuture<ResultSet> executeBatchAsync(BatchStatement.Type batchType,
+			List<AbstractStatementWrapper> statementWrappers) {
+		if (statementWrappers.size() > 1) {
+			daoContext.getMetrics().recordBatch(statementWrappers.size());
+			return daoContext.executeBatchAsync(buildBatch(batchType, statementWrappers));
+		} else if (statementWrappers.size() == 1) {
+			return daoContext.executeAsync(statementWrappers.get(0));
+		} else {
+			return Futures.immediateFuture(null);
+		}
+	}
+
+	private BatchStatement buildBatch(BatchStatement.Type batchType, List<AbstractStatementWrapper> statementWrappers) {
+		BatchStatement batch = new BatchStatement(batchType);
+		AbstractStatementWrapper.writeDMLStartBatch();
+		for (AbstractStatementWrapper statementWrapper : statementWrappers) {
+			batch.add(statementWrapper.getStatement());
+			statementWrapper.logDMLStatement("\t");
+		}
+		AbstractStatementWrapper.writeDMLEndBatch(consistencyLevel);
+		if (consistencyLevel != null) {
+			batch.setConsistencyLevel(getCQLLevel(consistencyLevel));
+		}
+		return batch;
+	}
+
 	public void pushStatement(AbstractStatementWrapper statementWrapper) {
 		statementWrappers.add(statementWrapper);
 	}
 
+	public void pushStatement(Object partitionKey, AbstractStatementWrapper statementWrapper) {
+		pushStatement(statementWrapper);
+	}
+
 	public void pushCounterStatement(AbstractStatementWrapper statementWrapper) {
 		counterStatementWrappers.add(statementWrapper);
 	}
 
+	public void pushCounterStatement(Object partitionKey, AbstractStatementWrapper statementWrapper) {
+		pushCounterStatement(statementWrapper);
+	}
+
+	/**
+	 * Invalidate the cached entity once the pending statements are sent
+	 */
+	public void pushCacheInvalidation(EntityCache entityCache, Object primaryKey) {
+		cacheInvalidations.add(Pair.create(entityCache, primaryKey));
+	}
+
+	protected void applyCacheInvalidations() {
+		applyCacheInvalidations(cacheInvalidations);
+		cacheInvalidations.clear();
+	}
+
+	protected static void applyCacheInvalidations(List<Pair<EntityCache, Object>> invalidations) {
+		for (Pair<EntityCache, Object> invalidation : invalidations) {
+			invalidation.left.invalidate(invalidation.right);
+		}
+	}
+
+	protected EventHolder eventHolder(EntityMeta meta, Object entity, Event event) {
+		return new EventHolder(meta, entity, event, daoContext.getMetrics());
+	}
+
 	public ResultSet executeImmediate(AbstractStatementWrapper statementWrapper) {
 		return daoContext.execute(statementWrapper);
 	}
 
+	public ResultSetFuture executeImmediateAsync(AbstractStatementWrapper statementWrapper) {
+		return daoContext.executeAsync(statementWrapper);
+	}
+
 	public void setConsistencyLevel(ConsistencyLevel consistencyLevel) {
 		this.consistencyLevel = consistencyLevel;
 	}
@@ -89,6 +148,8 @@ public abstract class AbstractFlushContext {
 
 	public abstract void flush();
 
+	public abstract ListenableFuture<List<ResultSet>> flushAsync();
+
 	public abstract void endBatch();
 
 	public abstract FlushType type();
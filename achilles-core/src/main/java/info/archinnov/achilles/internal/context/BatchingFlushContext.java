@@ -15,32 +15,55 @@
  */
 package info.archinnov.achilles.internal.context;
 
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.interceptor.EventHolder;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+import info.archinnov.achilles.type.BatchingStrategy;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.ResultSet;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 public class BatchingFlushContext extends AbstractFlushContext {
 
 	private static final Logger log = LoggerFactory.getLogger(BatchingFlushContext.class);
     protected List<EventHolder> eventHolders = new ArrayList<>();
+	protected Map<AbstractStatementWrapper, Object> partitionKeys = new IdentityHashMap<>();
+	protected BatchingStrategy batchingStrategy = BatchingStrategy.logged();
 
 	public BatchingFlushContext(DaoContext daoContext, ConsistencyLevel consistencyLevel) {
 		super(daoContext, consistencyLevel);
 	}
 
+	public BatchingFlushContext(DaoContext daoContext, ConsistencyLevel consistencyLevel,
+			BatchingStrategy batchingStrategy) {
+		super(daoContext, consistencyLevel);
+		this.batchingStrategy = batchingStrategy;
+	}
+
 	private BatchingFlushContext(DaoContext daoContext, List<AbstractStatementWrapper> statementWrappers,
-			ConsistencyLevel consistencyLevel) {
+			Map<AbstractStatementWrapper, Object> partitionKeys, ConsistencyLevel consistencyLevel,
+			BatchingStrategy batchingStrategy) {
 		super(daoContext, statementWrappers, consistencyLevel);
+		this.partitionKeys = partitionKeys;
+		this.batchingStrategy = batchingStrategy;
 	}
 
 	@Override
@@ -53,9 +76,27 @@ public class BatchingFlushContext extends AbstractFlushContext {
 		log.debug("Flush called but do nothing. Flushing is done only at the end of the batch");
 	}
 
+	@Override
+	public ListenableFuture<List<ResultSet>> flushAsync() {
+		log.debug("Asynchronous flush called but do nothing. Flushing is done only at the end of the batch");
+		return Futures.immediateFuture(Collections.<ResultSet> emptyList());
+	}
+
+	@Override
+	public void pushStatement(Object partitionKey, AbstractStatementWrapper statementWrapper) {
+		partitionKeys.put(statementWrapper, partitionKey);
+		pushStatement(statementWrapper);
+	}
+
+	@Override
+	public void pushCounterStatement(Object partitionKey, AbstractStatementWrapper statementWrapper) {
+		partitionKeys.put(statementWrapper, partitionKey);
+		pushCounterStatement(statementWrapper);
+	}
+
 	@Override
 	public void endBatch() {
-		log.debug("Ending current batch");
+		log.debug("Ending current batch with strategy {}", batchingStrategy);
 
 
         for(EventHolder eventHolder:eventHolders) {
@@ -67,8 +108,97 @@ public class BatchingFlushContext extends AbstractFlushContext {
 		 * https://issues.apache.org/jira/browse/CASSANDRA-6426 is solved
 		 */
 
-        executeBatch(BatchStatement.Type.LOGGED, statementWrappers);
-        executeBatch(BatchStatement.Type.COUNTER, counterStatementWrappers);
+		try {
+			if (batchingStrategy.isLogged()) {
+				executeBatch(BatchStatement.Type.LOGGED, statementWrappers);
+				executeBatch(BatchStatement.Type.COUNTER, counterStatementWrappers);
+			} else {
+				// partitions are written concurrently, the sub-batches of one
+				// partition one after another to keep their write order
+				List<ListenableFuture<ResultSet>> futures = new ArrayList<>();
+				for (List<AbstractStatementWrapper> group : groupByPartition(statementWrappers)) {
+					futures.add(executeInSequence(BatchStatement.Type.UNLOGGED, splitBatch(group)));
+				}
+				for (List<AbstractStatementWrapper> group : groupByPartition(counterStatementWrappers)) {
+					futures.add(executeInSequence(BatchStatement.Type.COUNTER, splitBatch(group)));
+				}
+				waitForBatches(Futures.allAsList(futures));
+			}
+		} finally {
+			applyCacheInvalidations();
+		}
+	}
+
+	/**
+	 * Group statements by partition key, keeping their push order within a
+	 * partition
+	 */
+	List<List<AbstractStatementWrapper>> groupByPartition(List<AbstractStatementWrapper> wrappers) {
+		Map<Object, List<AbstractStatementWrapper>> groups = new LinkedHashMap<>();
+		for (AbstractStatementWrapper wrapper : wrappers) {
+			Object partitionKey = partitionKeys.get(wrapper);
+			List<AbstractStatementWrapper> group = groups.get(partitionKey);
+			if (group == null) {
+				group = new ArrayList<>();
+				groups.put(partitionKey, group);
+			}
+			group.add(wrapper);
+		}
+		return new ArrayList<>(groups.values());
+	}
+
+	/**
+	 * Cut the statements of one partition at the strategy's statement count
+	 * or byte size
+	 */
+	List<List<AbstractStatementWrapper>> splitBatch(List<AbstractStatementWrapper> group) {
+		int maxStatements = batchingStrategy.getMaxStatements();
+		int maxBytes = batchingStrategy.getMaxBytes();
+		List<List<AbstractStatementWrapper>> batches = new ArrayList<>();
+		List<AbstractStatementWrapper> batch = new ArrayList<>();
+		int batchBytes = 0;
+		for (AbstractStatementWrapper wrapper : group) {
+			int size = wrapper.estimateSize();
+			if (!batch.isEmpty() && (batch.size() >= maxStatements || batchBytes + size > maxBytes)) {
+				batches.add(batch);
+				batch = new ArrayList<>();
+				batchBytes = 0;
+			}
+			batch.add(wrapper);
+			batchBytes += size;
+		}
+		batches.add(batch);
+		return batches;
+	}
+
+	/**
+	 * Send each batch only once the previous one has succeeded. A failure
+	 * skips the remaining batches and is propagated by the returned future
+	 */
+	private ListenableFuture<ResultSet> executeInSequence(final BatchStatement.Type batchType,
+			List<List<AbstractStatementWrapper>> batches) {
+		ListenableFuture<ResultSet> future = executeBatchAsync(batchType, batches.get(0));
+		for (final List<AbstractStatementWrapper> batch : batches.subList(1, batches.size())) {
+			future = Futures.transform(future, new AsyncFunction<ResultSet, ResultSet>() {
+				@Override
+				public ListenableFuture<ResultSet> apply(ResultSet resultSet) {
+					return executeBatchAsync(batchType, batch);
+				}
+			});
+		}
+		return future;
+	}
+
+	private void waitForBatches(ListenableFuture<List<ResultSet>> future) {
+		try {
+			Uninterruptibles.getUninterruptibly(future);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new AchillesException(cause);
+		}
 	}
 
 
@@ -79,19 +209,32 @@ public class BatchingFlushContext extends AbstractFlushContext {
 
 	@Override
 	public BatchingFlushContext duplicate() {
-		return new BatchingFlushContext(daoContext, statementWrappers, consistencyLevel);
+		BatchingFlushContext duplicate = new BatchingFlushContext(daoContext, statementWrappers, partitionKeys,
+				consistencyLevel, batchingStrategy);
+		duplicate.cacheInvalidations = cacheInvalidations;
+		return duplicate;
 	}
 
     @Override
     public void triggerInterceptor(EntityMeta meta, Object entity, Event event) {
         if(event == Event.POST_LOAD) {
-            meta.intercept(entity,Event.POST_LOAD);
+            eventHolder(meta, entity, Event.POST_LOAD).triggerInterception();
         } else {
-            this.eventHolders.add(new EventHolder(meta,entity,event));
+            this.eventHolders.add(eventHolder(meta, entity, event));
         }
     }
 
     public BatchingFlushContext duplicateWithNoData(ConsistencyLevel defaultConsistencyLevel) {
-        return new BatchingFlushContext(daoContext, new ArrayList<AbstractStatementWrapper>(), defaultConsistencyLevel);
+		return duplicateWithNoData(defaultConsistencyLevel, BatchingStrategy.logged());
     }
+
+	public BatchingFlushContext duplicateWithNoData(ConsistencyLevel consistencyLevel,
+			BatchingStrategy batchingStrategy) {
+		return new BatchingFlushContext(daoContext, new ArrayList<AbstractStatementWrapper>(),
+				new IdentityHashMap<AbstractStatementWrapper, Object>(), consistencyLevel, batchingStrategy);
+	}
+
+	public BatchingStrategy getBatchingStrategy() {
+		return batchingStrategy;
+	}
 }
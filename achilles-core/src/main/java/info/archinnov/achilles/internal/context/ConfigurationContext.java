@@ -15,21 +15,46 @@
  */
 package info.archinnov.achilles.internal.context;
 
+import info.archinnov.achilles.codec.BinaryCodec;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.interceptor.DefaultBeanValidationInterceptor;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.json.ObjectMapperFactory;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.metrics.NoOpMetrics;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
 import javax.validation.Validator;
 
+import com.google.common.util.concurrent.MoreExecutors;
+
 public class ConfigurationContext {
 	private boolean forceColumnFamilyCreation;
 
 	private ObjectMapperFactory objectMapperFactory;
+	private BinaryCodec defaultCodec;
+	private ConcurrentMap<Class<? extends BinaryCodec>, BinaryCodec> codecs = new ConcurrentHashMap<>();
 	private ConsistencyLevel defaultReadConsistencyLevel;
 	private ConsistencyLevel defaultWriteConsistencyLevel;
 	private Validator beanValidator;
 	private DefaultBeanValidationInterceptor beanValidationInterceptor;
+	private int multiGetMaxConcurrency;
+	private int bulkWriteMaxConcurrency;
+	private int bootstrapMaxConcurrency;
+	private int scanMaxConcurrency;
+	private int scanPageSize;
+	private boolean counterAggregationEnabled;
+	private int counterAggregationFlushInterval;
+	private int counterAggregationFlushThreshold;
+	private Map<Class<?>, String> entityCacheSpecs = new HashMap<>();
+	private AchillesMetrics metrics = new NoOpMetrics();
+	private Executor asyncListenerExecutor = MoreExecutors.sameThreadExecutor();
 
 	public boolean isForceColumnFamilyCreation() {
 		return forceColumnFamilyCreation;
@@ -47,6 +72,34 @@ public class ConfigurationContext {
 		this.objectMapperFactory = objectMapperFactory;
 	}
 
+	public BinaryCodec getDefaultCodec() {
+		return defaultCodec;
+	}
+
+	public void setDefaultCodec(BinaryCodec defaultCodec) {
+		this.defaultCodec = defaultCodec;
+	}
+
+	public BinaryCodec getCodec(Class<? extends BinaryCodec> codecClass) {
+		if (defaultCodec != null && defaultCodec.getClass() == codecClass) {
+			return defaultCodec;
+		}
+		BinaryCodec codec = codecs.get(codecClass);
+		if (codec == null) {
+			try {
+				codec = codecClass.newInstance();
+			} catch (InstantiationException | IllegalAccessException e) {
+				throw new AchillesException("Cannot instantiate the codec class '" + codecClass.getCanonicalName()
+						+ "'. Did you provide a public no-arg constructor ?", e);
+			}
+			BinaryCodec existing = codecs.putIfAbsent(codecClass, codec);
+			if (existing != null) {
+				codec = existing;
+			}
+		}
+		return codec;
+	}
+
 	public ConsistencyLevel getDefaultReadConsistencyLevel() {
 		return defaultReadConsistencyLevel;
 	}
@@ -71,6 +124,94 @@ public class ConfigurationContext {
 		this.beanValidator = beanValidator;
 	}
 
+	public int getMultiGetMaxConcurrency() {
+		return multiGetMaxConcurrency;
+	}
+
+	public void setMultiGetMaxConcurrency(int multiGetMaxConcurrency) {
+		this.multiGetMaxConcurrency = multiGetMaxConcurrency;
+	}
+
+	public int getBulkWriteMaxConcurrency() {
+		return bulkWriteMaxConcurrency;
+	}
+
+	public void setBulkWriteMaxConcurrency(int bulkWriteMaxConcurrency) {
+		this.bulkWriteMaxConcurrency = bulkWriteMaxConcurrency;
+	}
+
+	public int getBootstrapMaxConcurrency() {
+		return bootstrapMaxConcurrency;
+	}
+
+	public void setBootstrapMaxConcurrency(int bootstrapMaxConcurrency) {
+		this.bootstrapMaxConcurrency = bootstrapMaxConcurrency;
+	}
+
+	public int getScanMaxConcurrency() {
+		return scanMaxConcurrency;
+	}
+
+	public void setScanMaxConcurrency(int scanMaxConcurrency) {
+		this.scanMaxConcurrency = scanMaxConcurrency;
+	}
+
+	public int getScanPageSize() {
+		return scanPageSize;
+	}
+
+	public void setScanPageSize(int scanPageSize) {
+		this.scanPageSize = scanPageSize;
+	}
+
+	public boolean isCounterAggregationEnabled() {
+		return counterAggregationEnabled;
+	}
+
+	public void setCounterAggregationEnabled(boolean counterAggregationEnabled) {
+		this.counterAggregationEnabled = counterAggregationEnabled;
+	}
+
+	public int getCounterAggregationFlushInterval() {
+		return counterAggregationFlushInterval;
+	}
+
+	public void setCounterAggregationFlushInterval(int counterAggregationFlushInterval) {
+		this.counterAggregationFlushInterval = counterAggregationFlushInterval;
+	}
+
+	public int getCounterAggregationFlushThreshold() {
+		return counterAggregationFlushThreshold;
+	}
+
+	public void setCounterAggregationFlushThreshold(int counterAggregationFlushThreshold) {
+		this.counterAggregationFlushThreshold = counterAggregationFlushThreshold;
+	}
+
+	public Map<Class<?>, String> getEntityCacheSpecs() {
+		return entityCacheSpecs;
+	}
+
+	public void setEntityCacheSpecs(Map<Class<?>, String> entityCacheSpecs) {
+		this.entityCacheSpecs = entityCacheSpecs;
+	}
+
+	public AchillesMetrics getMetrics() {
+		return metrics;
+	}
+
+	public void setMetrics(AchillesMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public Executor getAsyncListenerExecutor() {
+		return asyncListenerExecutor;
+	}
+
+	public void setAsyncListenerExecutor(Executor asyncListenerExecutor) {
+		this.asyncListenerExecutor = asyncListenerExecutor;
+	}
+
 	public boolean isClassConstrained(Class<?> clazz) {
 		if (beanValidator != null) {
 			return beanValidator.getConstraintsForClass(clazz).isBeanConstrained();
@@ -0,0 +1,330 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static info.archinnov.achilles.internal.consistency.ConsistencyConverter.getCQLLevel;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.COUNTER_FLUSH;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.UnavailableException;
+import com.google.common.util.concurrent.AtomicLongMap;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Write-behind buffer summing counter deltas per counter cell. Pending deltas
+ * are flushed periodically, or as soon as the number of pending cells reaches
+ * the threshold, as COUNTER batches grouped by partition and consistency
+ * level.
+ * 
+ * Counter writes are not idempotent, so only the deltas of a batch that was
+ * certainly not applied (no host available, not enough replicas alive) are
+ * added back to the buffer and sent again with the next flush, at most
+ * {@link #MAX_FLUSH_RETRIES} times. The deltas of a batch that timed out or
+ * failed for any other reason are dropped and logged rather than risk
+ * counting them twice. Deltas still pending when the final flush at shutdown
+ * fails are lost and logged.
+ * 
+ * Buffered deltas are only visible in Cassandra once flushed: reading a
+ * counter through a managed entity returns the stored value without the
+ * pending deltas
+ */
+public class CounterAggregator {
+
+	private static final Logger log = LoggerFactory.getLogger(CounterAggregator.class);
+
+	static final int MAX_FLUSH_RETRIES = 3;
+
+	private DaoContext daoContext;
+	private int flushThreshold;
+	private AtomicLongMap<CounterCell> pendingDeltas = AtomicLongMap.create();
+	private AtomicInteger pendingCells = new AtomicInteger(0);
+	private Map<CounterCell, Integer> flushRetries = new HashMap<>();
+	private AtomicBoolean flushScheduled = new AtomicBoolean(false);
+	private ScheduledExecutorService executor;
+
+	private final Runnable flushTask = new Runnable() {
+		@Override
+		public void run() {
+			flushScheduled.set(false);
+			try {
+				flush();
+			} catch (RuntimeException e) {
+				log.error("Error while flushing pending counter deltas", e);
+			}
+		}
+	};
+
+	public CounterAggregator(DaoContext daoContext, int flushThreshold) {
+		this.daoContext = daoContext;
+		this.flushThreshold = flushThreshold;
+	}
+
+	public void start(long flushIntervalInMillis) {
+		log.debug("Start counter aggregation with flush interval of {} ms", flushIntervalInMillis);
+		executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+				.setNameFormat("achilles-counter-flush-%d").setDaemon(true).build());
+		executor.scheduleWithFixedDelay(flushTask, flushIntervalInMillis, flushIntervalInMillis, MILLISECONDS);
+	}
+
+	public void add(PreparedStatement ps, Object[] keyValues, Object partitionKey, long delta,
+			ConsistencyLevel writeLevel) {
+		log.trace("Aggregate counter delta {} for key {}", delta, keyValues);
+		addDelta(new CounterCell(ps, keyValues, partitionKey, writeLevel), delta);
+		if (executor != null && pendingCells.get() >= flushThreshold && flushScheduled.compareAndSet(false, true)) {
+			executor.execute(flushTask);
+		}
+	}
+
+	/**
+	 * Add a delta to a cell, keeping count of the cells holding a non-zero
+	 * delta without calling size() on the map, which locks all its segments
+	 */
+	private void addDelta(CounterCell cell, long delta) {
+		long previous = pendingDeltas.getAndAdd(cell, delta);
+		if (previous == 0 && delta != 0) {
+			pendingCells.incrementAndGet();
+		} else if (previous != 0 && previous + delta == 0) {
+			pendingCells.decrementAndGet();
+		}
+	}
+
+	private long removeDelta(CounterCell cell) {
+		long delta = pendingDeltas.remove(cell);
+		if (delta != 0) {
+			pendingCells.decrementAndGet();
+		}
+		return delta;
+	}
+
+	/**
+	 * Drop the pending deltas of a counter cell, whatever their write level.
+	 * Used when the counter is deleted so that a later flush does not bring it
+	 * back
+	 */
+	public void discard(PreparedStatement ps, Object[] keyValues) {
+		log.trace("Discard pending counter deltas for key {}", keyValues);
+		for (ConsistencyLevel writeLevel : ConsistencyLevel.values()) {
+			removeDelta(new CounterCell(ps, keyValues, null, writeLevel));
+		}
+	}
+
+	public synchronized void flush() {
+		if (pendingDeltas.isEmpty()) {
+			return;
+		}
+		long start = System.nanoTime();
+		Map<Pair<Object, ConsistencyLevel>, Map<CounterCell, Long>> batches = new LinkedHashMap<>();
+		int deltaCount = 0;
+		for (CounterCell cell : new ArrayList<>(pendingDeltas.asMap().keySet())) {
+			long delta = removeDelta(cell);
+			if (delta != 0) {
+				Pair<Object, ConsistencyLevel> group = Pair.create(cell.partitionKey, cell.writeLevel);
+				Map<CounterCell, Long> batch = batches.get(group);
+				if (batch == null) {
+					batch = new LinkedHashMap<>();
+					batches.put(group, batch);
+				}
+				batch.put(cell, delta);
+				deltaCount++;
+			}
+		}
+
+		List<ListenableFuture<ResultSet>> futures = new ArrayList<>();
+		for (Entry<Pair<Object, ConsistencyLevel>, Map<CounterCell, Long>> entry : batches.entrySet()) {
+			List<AbstractStatementWrapper> statementWrappers = new ArrayList<>();
+			for (Entry<CounterCell, Long> cellDelta : entry.getValue().entrySet()) {
+				statementWrappers.add(cellDelta.getKey().bind(cellDelta.getValue()));
+			}
+			futures.add(executeBatchAsync(entry.getKey().right, statementWrappers));
+		}
+
+		RuntimeException failure = null;
+		int requeuedCount = 0;
+		int droppedCount = 0;
+		try {
+			int i = 0;
+			for (Map<CounterCell, Long> batch : batches.values()) {
+				try {
+					Uninterruptibles.getUninterruptibly(futures.get(i++));
+					flushRetries.keySet().removeAll(batch.keySet());
+				} catch (ExecutionException e) {
+					boolean retryable = isRetryable(e.getCause());
+					for (Entry<CounterCell, Long> cellDelta : batch.entrySet()) {
+						if (retryable && requeue(cellDelta.getKey(), cellDelta.getValue())) {
+							requeuedCount++;
+						} else {
+							log.error("Dropping counter delta {} for {} after flush failure: {}",
+									cellDelta.getValue(), cellDelta.getKey(), e.getCause().getMessage());
+							droppedCount++;
+						}
+					}
+					if (failure == null) {
+						failure = toRuntimeException(e.getCause());
+					}
+				}
+			}
+		} finally {
+			daoContext.getMetrics().recordLatency(null, COUNTER_FLUSH, System.nanoTime() - start);
+		}
+		if (failure != null) {
+			log.warn("{} of {} counter deltas failed to flush, {} are pending again and {} are dropped",
+					requeuedCount + droppedCount, deltaCount, requeuedCount, droppedCount);
+			throw failure;
+		}
+		log.debug("Flushed {} counter deltas in {} batches", deltaCount, batches.size());
+	}
+
+	/**
+	 * Only failures raised before the batch reached any replica are retried.
+	 * A timed out counter batch may have been applied already
+	 */
+	private boolean isRetryable(Throwable cause) {
+		return cause instanceof NoHostAvailableException || cause instanceof UnavailableException;
+	}
+
+	private boolean requeue(CounterCell cell, long delta) {
+		Integer retries = flushRetries.get(cell);
+		int attempt = retries == null ? 1 : retries + 1;
+		if (attempt > MAX_FLUSH_RETRIES) {
+			flushRetries.remove(cell);
+			return false;
+		}
+		flushRetries.put(cell, attempt);
+		addDelta(cell, delta);
+		return true;
+	}
+
+	private RuntimeException toRuntimeException(Throwable cause) {
+		if (cause instanceof RuntimeException) {
+			return (RuntimeException) cause;
+		}
+		return new AchillesException(cause);
+	}
+
+	/**
+	 * Stop the periodic flush and flush the remaining deltas
+	 */
+	public void shutdown() {
+		log.debug("Shutdown counter aggregation");
+		if (executor != null) {
+			executor.shutdown();
+		}
+		try {
+			flush();
+		} finally {
+			if (pendingCells.get() > 0) {
+				log.error("{} pending counter deltas are lost at shutdown: {}", pendingCells.get(),
+						pendingDeltas.asMap());
+			}
+		}
+	}
+
+	public int getPendingCount() {
+		return pendingCells.get();
+	}
+
+	private ListenableFuture<ResultSet> executeBatchAsync(ConsistencyLevel writeLevel,
+			List<AbstractStatementWrapper> statementWrappers) {
+		if (statementWrappers.size() > 1) {
+			daoContext.getMetrics().recordBatch(statementWrappers.size());
+			BatchStatement batch = new BatchStatement(BatchStatement.Type.COUNTER);
+			AbstractStatementWrapper.writeDMLStartBatch();
+			for (AbstractStatementWrapper statementWrapper : statementWrappers) {
+				batch.add(statementWrapper.getStatement());
+				statementWrapper.logDMLStatement("\t");
+			}
+			AbstractStatementWrapper.writeDMLEndBatch(writeLevel);
+			batch.setConsistencyLevel(getCQLLevel(writeLevel));
+			return daoContext.executeBatchAsync(batch);
+		} else {
+			return daoContext.executeAsync(statementWrappers.get(0));
+		}
+	}
+
+	static class CounterCell {
+		private final PreparedStatement ps;
+		private final Object[] keyValues;
+		private final Object partitionKey;
+		private final ConsistencyLevel writeLevel;
+		private final int hashCode;
+
+		CounterCell(PreparedStatement ps, Object[] keyValues, Object partitionKey, ConsistencyLevel writeLevel) {
+			this.ps = ps;
+			this.keyValues = keyValues;
+			this.partitionKey = partitionKey;
+			this.writeLevel = writeLevel;
+			this.hashCode = 31 * (31 * System.identityHashCode(ps) + Arrays.hashCode(keyValues))
+					+ (writeLevel == null ? 0 : writeLevel.hashCode());
+		}
+
+		BoundStatementWrapper bind(long delta) {
+			Object[] boundValues = ArrayUtils.add(keyValues, 0, delta);
+			BoundStatement bs = ps.bind(boundValues);
+			return new BoundStatementWrapper(bs, boundValues, getCQLLevel(writeLevel));
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CounterCell)) {
+				return false;
+			}
+			CounterCell other = (CounterCell) obj;
+			return ps == other.ps && writeLevel == other.writeLevel && Arrays.equals(keyValues, other.keyValues);
+		}
+
+		@Override
+		public String toString() {
+			return Arrays.toString(keyValues) + "@" + writeLevel;
+		}
+	}
+}
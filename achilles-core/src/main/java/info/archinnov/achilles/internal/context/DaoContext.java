@@ -15,34 +15,35 @@
  */
 package info.archinnov.achilles.internal.context;
 
-import static com.datastax.driver.core.querybuilder.QueryBuilder.timestamp;
-import static com.datastax.driver.core.querybuilder.QueryBuilder.ttl;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.DECR;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.DELETE;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.INCR;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.SELECT;
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.DELETE_ALL;
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.SELECT_ALL;
-import static info.archinnov.achilles.internal.consistency.ConsistencyConverter.getCQLLevel;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.STATEMENT_BINDING;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.STATEMENT_EXECUTION;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.STATEMENT_PREPARATION;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.consistency.ConsistencyOverrider;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
-import info.archinnov.achilles.internal.statement.StatementGenerator;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChange;
 import info.archinnov.achilles.internal.statement.cache.CacheManager;
 import info.archinnov.achilles.internal.statement.cache.StatementCacheKey;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementBinder;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
+import info.archinnov.achilles.metrics.AchillesMetrics;
 import info.archinnov.achilles.type.ConsistencyLevel;
-import info.archinnov.achilles.type.Pair;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,41 +52,64 @@ import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
-import com.datastax.driver.core.querybuilder.Insert;
-import com.datastax.driver.core.querybuilder.Update;
+import com.datastax.driver.core.SimpleStatement;
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.cache.Cache;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public class DaoContext {
 	private static final Logger log = LoggerFactory.getLogger(DaoContext.class);
 
+	private static final Function<ResultSet, Row> RESULTSET_TO_FIRST_ROW = new Function<ResultSet, Row>() {
+		@Override
+		public Row apply(ResultSet resultSet) {
+			return resultSet.one();
+		}
+	};
+
 	private Map<Class<?>, PreparedStatement> insertPSs;
+	private Map<Class<?>, PreparedStatement> insertWithTimestampPSs;
 	private Cache<StatementCacheKey, PreparedStatement> dynamicPSCache;
+	private Cache<String, PreparedStatement> queryPSCache;
 	private Map<Class<?>, PreparedStatement> selectPSs;
 	private Map<Class<?>, Map<String, PreparedStatement>> removePSs;
 	private Map<CQLQueryType, PreparedStatement> counterQueryMap;
 	private Map<Class<?>, Map<CQLQueryType, Map<String, PreparedStatement>>> clusteredCounterQueryMap;
 	private Session session;
+	private AchillesMetrics metrics;
 
 	private PreparedStatementBinder binder = new PreparedStatementBinder();
-	private CacheManager cacheManager = new CacheManager();
-	private StatementGenerator statementGenerator = new StatementGenerator();
+	private CacheManager cacheManager;
 	private ConsistencyOverrider overrider = new ConsistencyOverrider();
+	private CounterAggregator counterAggregator;
+	private Executor asyncListenerExecutor = MoreExecutors.sameThreadExecutor();
 
 	public DaoContext(Map<Class<?>, PreparedStatement> insertPSs,
-			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, Map<Class<?>, PreparedStatement> selectPSs,
+			Map<Class<?>, PreparedStatement> insertWithTimestampPSs,
+			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache,
+			Cache<String, PreparedStatement> queryPSCache, Map<Class<?>, PreparedStatement> selectPSs,
 			Map<Class<?>, Map<String, PreparedStatement>> removePSs,
 			Map<CQLQueryType, PreparedStatement> counterQueryMap,
-			Map<Class<?>, Map<CQLQueryType, Map<String, PreparedStatement>>> clusteredCounterQueryMap, Session session) {
+			Map<Class<?>, Map<CQLQueryType, Map<String, PreparedStatement>>> clusteredCounterQueryMap, Session session,
+			AchillesMetrics metrics) {
 		this.insertPSs = insertPSs;
+		this.insertWithTimestampPSs = insertWithTimestampPSs;
 		this.dynamicPSCache = dynamicPSCache;
+		this.queryPSCache = queryPSCache;
 		this.selectPSs = selectPSs;
 		this.removePSs = removePSs;
 		this.counterQueryMap = counterQueryMap;
 		this.clusteredCounterQueryMap = clusteredCounterQueryMap;
 		this.session = session;
+		this.metrics = metrics;
+		this.cacheManager = new CacheManager(metrics);
 	}
 
 	public void pushInsertStatement(PersistenceContext context) {
@@ -96,24 +120,17 @@ public class DaoContext {
 		Optional<Integer> ttlO = context.getTtt();
 		Optional<Long> timestampO = context.getTimestamp();
 		ConsistencyLevel writeLevel = overrider.getWriteLevel(context, entityMeta);
+		PreparedStatement ps;
 		if (timestampO.isPresent()) {
-			final Pair<Insert, Object[]> pair = statementGenerator.generateInsert(context.getEntity(), entityMeta);
-			Insert insert = pair.left;
-			Object[] boundValues = pair.right;
-			Insert.Options insertOptions = insert.using(timestamp(timestampO.get()));
-			boundValues = ArrayUtils.add(boundValues, timestampO.get());
-
-			if (ttlO.isPresent()) {
-				insertOptions = insertOptions.and(ttl(ttlO.get()));
-				boundValues = ArrayUtils.add(boundValues, ttlO.get());
-			}
-			context.pushStatement(new RegularStatementWrapper(insertOptions, boundValues, getCQLLevel(writeLevel)));
+			ps = insertWithTimestampPSs.get(entityClass);
 		} else {
-			PreparedStatement ps = insertPSs.get(entityClass);
-			BoundStatementWrapper bsWrapper = binder.bindForInsert(ps, entityMeta, context.getEntity(), writeLevel,
-					ttlO);
-			context.pushStatement(bsWrapper);
+			ps = insertPSs.get(entityClass);
 		}
+		long start = System.nanoTime();
+		BoundStatementWrapper bsWrapper = binder.bindForInsert(ps, entityMeta, context.getEntity(), writeLevel, ttlO,
+				timestampO);
+		metrics.recordLatency(entityClass, STATEMENT_BINDING, System.nanoTime() - start);
+		context.pushStatement(bsWrapper);
 	}
 
 	public void pushUpdateStatement(PersistenceContext context, List<PropertyMeta> pms) {
@@ -122,26 +139,33 @@ public class DaoContext {
 		Optional<Integer> ttlO = context.getTtt();
 		Optional<Long> timestampO = context.getTimestamp();
 		ConsistencyLevel writeLevel = overrider.getWriteLevel(context, entityMeta);
+		PreparedStatement ps;
 		if (timestampO.isPresent()) {
-			final Pair<Update.Where, Object[]> pair = statementGenerator.generateUpdateFields(context.getEntity(),
-					entityMeta, pms);
-
-			final Update.Where where = pair.left;
-			Object[] boundValues = pair.right;
-			Update.Options updateOptions = where.using(timestamp(timestampO.get()));
-			boundValues = ArrayUtils.add(boundValues, timestampO.get());
-
-			if (ttlO.isPresent()) {
-				updateOptions = updateOptions.and(ttl(ttlO.get()));
-				boundValues = ArrayUtils.add(boundValues, ttlO.get());
-			}
-			context.pushStatement(new RegularStatementWrapper(updateOptions, boundValues, getCQLLevel(writeLevel)));
+			ps = cacheManager.getCacheForFieldsUpdateWithTimestamp(session, dynamicPSCache, context, pms);
 		} else {
-			PreparedStatement ps = cacheManager.getCacheForFieldsUpdate(session, dynamicPSCache, context, pms);
-			BoundStatementWrapper bsWrapper = binder.bindForUpdate(ps, entityMeta, pms, context.getEntity(),
-					writeLevel, ttlO);
-			context.pushStatement(bsWrapper);
+			ps = cacheManager.getCacheForFieldsUpdate(session, dynamicPSCache, context, pms);
 		}
+		long start = System.nanoTime();
+		BoundStatementWrapper bsWrapper = binder.bindForUpdate(ps, entityMeta, pms, context.getEntity(), writeLevel,
+				ttlO, timestampO);
+		metrics.recordLatency(context.getEntityClass(), STATEMENT_BINDING, System.nanoTime() - start);
+		context.pushStatement(bsWrapper);
+	}
+
+	public void pushCollectionUpdateStatement(PersistenceContext context, PropertyMeta pm, CollectionChange change) {
+		log.debug("Push collection update statement for PersistenceContext '{}', property '{}' and change '{}'",
+				context, pm, change);
+		EntityMeta entityMeta = context.getEntityMeta();
+		Optional<Integer> ttlO = context.getTtt();
+		Optional<Long> timestampO = context.getTimestamp();
+		ConsistencyLevel writeLevel = overrider.getWriteLevel(context, entityMeta);
+		PreparedStatement ps = cacheManager.getCacheForCollectionUpdate(session, dynamicPSCache, context, pm,
+				change.getType(), timestampO.isPresent());
+		long start = System.nanoTime();
+		BoundStatementWrapper bsWrapper = binder.bindForCollectionUpdate(ps, entityMeta, pm, change,
+				context.getEntity(), writeLevel, ttlO, timestampO);
+		metrics.recordLatency(context.getEntityClass(), STATEMENT_BINDING, System.nanoTime() - start);
+		context.pushStatement(bsWrapper);
 	}
 
 	public Row loadProperty(PersistenceContext context, PropertyMeta pm) {
@@ -152,6 +176,14 @@ public class DaoContext {
 		return returnFirstRowOrNull(rows);
 	}
 
+	public Row loadProperties(PersistenceContext context, List<PropertyMeta> pms) {
+		log.debug("Load properties '{}' for PersistenceContext '{}'", pms, context);
+		PreparedStatement ps = cacheManager.getCacheForFieldsSelect(session, dynamicPSCache, context, pms);
+		ConsistencyLevel readLevel = overrider.getReadLevel(context, context.getEntityMeta());
+		List<Row> rows = executeReadWithConsistency(context, ps, readLevel);
+		return returnFirstRowOrNull(rows);
+	}
+
 	public void bindForRemoval(PersistenceContext context, String tableName) {
 		log.debug("Push delete statement for PersistenceContext '{}'", context);
 		EntityMeta entityMeta = context.getEntityMeta();
@@ -175,26 +207,38 @@ public class DaoContext {
 				increment);
 		PreparedStatement ps = counterQueryMap.get(INCR);
 		ConsistencyLevel writeLevel = overrider.getWriteLevel(context, counterMeta);
+		if (isCounterAggregated(context)) {
+			aggregateSimpleCounter(context, meta, counterMeta, increment, writeLevel);
+			return;
+		}
 		BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterIncrementDecrement(ps, meta, counterMeta,
-				context.getPrimaryKey(), increment, writeLevel);
-		context.pushCounterStatement(bsWrapper);
+				context.getEncodedPrimaryKeyForCounter(), increment, writeLevel);
+		context.pushSimpleCounterStatement(bsWrapper);
 	}
 
 	public void incrementSimpleCounter(PersistenceContext context, EntityMeta meta, PropertyMeta counterMeta,
 			Long increment, ConsistencyLevel consistencyLevel) {
 		log.debug("Increment immediately simple counter for PersistenceContext '{}' and value '{}'", context, increment);
+		if (isCounterAggregated(context)) {
+			aggregateSimpleCounter(context, meta, counterMeta, increment, consistencyLevel);
+			return;
+		}
 		PreparedStatement ps = counterQueryMap.get(INCR);
 		BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterIncrementDecrement(ps, meta, counterMeta,
-				context.getPrimaryKey(), increment, consistencyLevel);
+				context.getEncodedPrimaryKeyForCounter(), increment, consistencyLevel);
 		context.executeImmediate(bsWrapper);
 	}
 
 	public void decrementSimpleCounter(PersistenceContext context, EntityMeta meta, PropertyMeta counterMeta,
 			Long decrement, ConsistencyLevel consistencyLevel) {
 		log.debug("Decrement immediately simple counter for PersistenceContext '{}' and value '{}'", context, decrement);
+		if (isCounterAggregated(context)) {
+			aggregateSimpleCounter(context, meta, counterMeta, -decrement, consistencyLevel);
+			return;
+		}
 		PreparedStatement ps = counterQueryMap.get(DECR);
 		BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterIncrementDecrement(ps, meta, counterMeta,
-				context.getPrimaryKey(), decrement, consistencyLevel);
+				context.getEncodedPrimaryKeyForCounter(), decrement, consistencyLevel);
 		context.executeImmediate(bsWrapper);
 	}
 
@@ -203,20 +247,32 @@ public class DaoContext {
 				counterMeta, context, consistencyLevel);
 		PreparedStatement ps = counterQueryMap.get(SELECT);
 		BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterSelect(ps, context.getEntityMeta(), counterMeta,
-				context.getPrimaryKey(), consistencyLevel);
+				context.getEncodedPrimaryKeyForCounter(), consistencyLevel);
 		ResultSet resultSet = context.executeImmediate(bsWrapper);
 		return returnFirstRowOrNull(resultSet.all());
 	}
 
-	public void bindForSimpleCounterDelete(PersistenceContext context, EntityMeta meta, PropertyMeta counterMeta,
-			Object primaryKey) {
+	public List<Row> getSimpleCounters(PersistenceContext context, ConsistencyLevel consistencyLevel) {
+		log.debug("Get all simple counter values for PersistenceContext '{}' using Consistency level '{}'", context,
+				consistencyLevel);
+		PreparedStatement ps = counterQueryMap.get(CQLQueryType.SELECT_ALL);
+		BoundStatementWrapper bsWrapper = binder.bindForSimpleCountersSelect(ps, context.getEntityMeta(),
+				context.getEncodedPrimaryKeyForCounter(), consistencyLevel);
+		return context.executeImmediate(bsWrapper).all();
+	}
+
+	public void bindForSimpleCounterDelete(PersistenceContext context, EntityMeta meta, PropertyMeta counterMeta) {
 		log.debug("Push simple counter deletion statement for counterMeta '{}' and PersistenceContext '{}'",
 				counterMeta, context);
 		PreparedStatement ps = counterQueryMap.get(DELETE);
 		ConsistencyLevel writeLevel = overrider.getWriteLevel(context, counterMeta);
-		BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterDelete(ps, meta, counterMeta, primaryKey,
-				writeLevel);
-		context.pushCounterStatement(bsWrapper);
+		if (counterAggregator != null) {
+			counterAggregator.discard(counterQueryMap.get(INCR), binder.extractValuesForSimpleCounterBinding(meta,
+					counterMeta, context.getEncodedPrimaryKeyForCounter()));
+		}
+		BoundStatementWrapper bsWrapper = binder.bindForSimpleCounterDelete(ps, meta, counterMeta,
+				context.getEncodedPrimaryKeyForCounter(), writeLevel);
+		context.pushSimpleCounterStatement(bsWrapper);
 	}
 
 	// Clustered counter
@@ -228,6 +284,11 @@ public class DaoContext {
 		ConsistencyLevel writeLevel = overrider.getWriteLevel(context, counterMeta);
 		PreparedStatement ps = clusteredCounterQueryMap.get(meta.getEntityClass()).get(INCR)
 				.get(counterMeta.getPropertyName());
+		if (isCounterAggregated(context)) {
+			Object[] keyValues = binder.extractValuesForClusteredCounterBinding(meta, context.getPrimaryKey());
+			counterAggregator.add(ps, keyValues, context.getBatchPartition(), increment, writeLevel);
+			return;
+		}
 		BoundStatementWrapper bsWrapper = binder.bindForClusteredCounterIncrementDecrement(ps, meta,
 				context.getPrimaryKey(), increment, writeLevel);
 		context.pushCounterStatement(bsWrapper);
@@ -246,6 +307,17 @@ public class DaoContext {
 		return returnFirstRowOrNull(resultSet.all());
 	}
 
+	public ListenableFuture<Row> getClusteredCounterAsync(PersistenceContext context, ConsistencyLevel consistencyLevel) {
+		log.debug("Get clustered counter asynchronously for PersistenceContext '{}' and Consistency level '{}'",
+				context, consistencyLevel);
+		EntityMeta entityMeta = context.getEntityMeta();
+		PreparedStatement ps = clusteredCounterQueryMap.get(entityMeta.getEntityClass()).get(SELECT)
+				.get(SELECT_ALL.name());
+		BoundStatementWrapper bsWrapper = binder.bindForClusteredCounterSelect(ps, entityMeta, context.getPrimaryKey(),
+				consistencyLevel);
+		return Futures.transform(context.executeImmediateAsync(bsWrapper), RESULTSET_TO_FIRST_ROW);
+	}
+
 	public Long getClusteredCounterColumn(PersistenceContext context, PropertyMeta counterMeta,
 			ConsistencyLevel consistencyLevel) {
 		log.debug("Get clustered counter for PersistenceContext '{}' and Consistency level '{}'", context,
@@ -268,6 +340,13 @@ public class DaoContext {
 		log.debug("Push clustered counter deletion statement for PersistenceContext '{}'", context);
 		PreparedStatement ps = clusteredCounterQueryMap.get(meta.getEntityClass()).get(DELETE).get(DELETE_ALL.name());
 		ConsistencyLevel writeLevel = overrider.getWriteLevel(context, meta);
+		if (counterAggregator != null) {
+			Object[] keyValues = binder.extractValuesForClusteredCounterBinding(meta, primaryKey);
+			Map<String, PreparedStatement> incrementPSs = clusteredCounterQueryMap.get(meta.getEntityClass()).get(INCR);
+			for (PreparedStatement incrementPS : incrementPSs.values()) {
+				counterAggregator.discard(incrementPS, keyValues);
+			}
+		}
 		BoundStatementWrapper bsWrapper = binder.bindForClusteredCounterDelete(ps, meta, primaryKey, writeLevel);
 		context.pushCounterStatement(bsWrapper);
 	}
@@ -283,6 +362,27 @@ public class DaoContext {
 		return returnFirstRowOrNull(rows);
 	}
 
+	public Row loadEntity(EntityMeta meta, Object primaryKey, ConsistencyLevel readLevel) {
+		log.debug("Load entity of class {} with primary key {} without PersistenceContext", meta.getClassName(),
+				primaryKey);
+		PreparedStatement ps = selectPSs.get(meta.getEntityClass());
+
+		ConsistencyLevel level = readLevel != null ? readLevel : meta.getReadConsistencyLevel();
+		BoundStatementWrapper bsWrapper = binder.bindStatementWithOnlyPKInWhereClause(ps, meta, primaryKey, level);
+		return returnFirstRowOrNull(execute(bsWrapper).all());
+	}
+
+	public ListenableFuture<Row> loadEntityAsync(PersistenceContext context) {
+		log.debug("Load entity asynchronously for PersistenceContext '{}'", context);
+		EntityMeta meta = context.getEntityMeta();
+		PreparedStatement ps = selectPSs.get(context.getEntityClass());
+
+		ConsistencyLevel readLevel = overrider.getReadLevel(context, meta);
+		BoundStatementWrapper bsWrapper = binder.bindStatementWithOnlyPKInWhereClause(ps, meta,
+				context.getPrimaryKey(), readLevel);
+		return Futures.transform(context.executeImmediateAsync(bsWrapper), RESULTSET_TO_FIRST_ROW);
+	}
+
 	private List<Row> executeReadWithConsistency(PersistenceContext context, PreparedStatement ps,
 			ConsistencyLevel readLevel) {
 		EntityMeta entityMeta = context.getEntityMeta();
@@ -300,20 +400,113 @@ public class DaoContext {
 	}
 
 	public ResultSet execute(AbstractStatementWrapper statementWrapper) {
-		return statementWrapper.execute(session);
+		long start = System.nanoTime();
+		ResultSet resultSet = statementWrapper.execute(session);
+		metrics.recordLatency(null, STATEMENT_EXECUTION, System.nanoTime() - start);
+		return resultSet;
+	}
+
+	public ResultSetFuture executeAsync(AbstractStatementWrapper statementWrapper) {
+		long start = System.nanoTime();
+		return recordExecutionOnCompletion(statementWrapper.executeAsync(session), start);
 	}
 
 	public PreparedStatement prepare(RegularStatement statement) {
-		return session.prepare(statement.getQueryString());
+		long start = System.nanoTime();
+		PreparedStatement ps = session.prepare(statement.getQueryString());
+		metrics.recordLatency(null, STATEMENT_PREPARATION, System.nanoTime() - start);
+		return ps;
 	}
 
 	public ResultSet bindAndExecute(PreparedStatement ps, Object... params) {
 		BoundStatement bs = ps.bind(params);
-		return new BoundStatementWrapper(bs, params, ps.getConsistencyLevel()).execute(session);
+		return execute(new BoundStatementWrapper(bs, params, ps.getConsistencyLevel()));
+	}
+
+	/**
+	 * Execute a query through a PreparedStatement cached by query string. Only
+	 * queries with bound values are prepared and cached: a query without any
+	 * is executed as a simple statement, since its values are likely inlined
+	 * and each of them would otherwise prepare and cache a new statement
+	 */
+	public ResultSet bindAndExecuteQuery(String queryString, Object... boundValues) {
+		log.debug("Bind and execute query '{}'", queryString);
+		if (boundValues.length == 0) {
+			return execute(new RegularStatementWrapper(new SimpleStatement(queryString), boundValues, null));
+		}
+		PreparedStatement ps = cacheManager.getCacheForQuery(session, queryPSCache, queryString);
+		return bindAndExecute(ps, boundValues);
+	}
+
+	public ResultSet bindAndExecuteQuery(String queryString, Object[] boundValues, int fetchSize) {
+		log.debug("Bind and execute query '{}' with fetch size {}", queryString, fetchSize);
+		if (boundValues.length == 0) {
+			SimpleStatement statement = new SimpleStatement(queryString);
+			statement.setFetchSize(fetchSize);
+			return execute(new RegularStatementWrapper(statement, boundValues, null));
+		}
+		PreparedStatement ps = cacheManager.getCacheForQuery(session, queryPSCache, queryString);
+		BoundStatement bs = ps.bind(boundValues);
+		bs.setFetchSize(fetchSize);
+		return execute(new BoundStatementWrapper(bs, boundValues, ps.getConsistencyLevel()));
+	}
+
+	public CacheStats getQueryPSCacheStats() {
+		return queryPSCache.stats();
 	}
 
 	public void executeBatch(BatchStatement batch) {
+		long start = System.nanoTime();
 		session.execute(batch);
+		metrics.recordLatency(null, STATEMENT_EXECUTION, System.nanoTime() - start);
+	}
+
+	public ResultSetFuture executeBatchAsync(BatchStatement batch) {
+		long start = System.nanoTime();
+		return recordExecutionOnCompletion(session.executeAsync(batch), start);
+	}
+
+	private ResultSetFuture recordExecutionOnCompletion(ResultSetFuture future, final long start) {
+		// runs on the driver thread completing the future, whether it succeeds or fails
+		future.addListener(new Runnable() {
+			@Override
+			public void run() {
+				metrics.recordLatency(null, STATEMENT_EXECUTION, System.nanoTime() - start);
+			}
+		}, MoreExecutors.sameThreadExecutor());
+		return future;
+	}
+
+	public AchillesMetrics getMetrics() {
+		return metrics;
+	}
+
+	public Executor getAsyncListenerExecutor() {
+		return asyncListenerExecutor;
+	}
+
+	public void setAsyncListenerExecutor(Executor asyncListenerExecutor) {
+		this.asyncListenerExecutor = asyncListenerExecutor;
+	}
+
+	public CounterAggregator getCounterAggregator() {
+		return counterAggregator;
+	}
+
+	public void setCounterAggregator(CounterAggregator counterAggregator) {
+		this.counterAggregator = counterAggregator;
+	}
+
+	private boolean isCounterAggregated(PersistenceContext context) {
+		return counterAggregator != null && !context.isBatchMode();
+	}
+
+	private void aggregateSimpleCounter(PersistenceContext context, EntityMeta meta, PropertyMeta counterMeta,
+			long delta, ConsistencyLevel writeLevel) {
+		Object[] keyValues = binder.extractValuesForSimpleCounterBinding(meta, counterMeta,
+				context.getEncodedPrimaryKeyForCounter());
+		Object partitionKey = Arrays.asList(keyValues[0], keyValues[1]);
+		counterAggregator.add(counterQueryMap.get(INCR), keyValues, partitionKey, delta, writeLevel);
 	}
 
 	public Session getSession() {
@@ -17,16 +17,21 @@ package info.archinnov.achilles.internal.context;
 
 import static com.google.common.cache.CacheBuilder.newBuilder;
 import static com.google.common.collect.Maps.filterValues;
-import static com.google.common.collect.Maps.transformValues;
 import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.CLUSTERED_COUNTER_FILTER;
 import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.EXCLUDE_CLUSTERED_COUNTER_FILTER;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.statement.StatementGenerator;
 import info.archinnov.achilles.internal.statement.cache.StatementCacheKey;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGenerator;
+import info.archinnov.achilles.metrics.AchillesMetrics;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,27 +41,51 @@ import com.datastax.driver.core.Session;
 import com.google.common.base.Function;
 import com.google.common.cache.Cache;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 public class DaoContextFactory {
 	private static final Logger log = LoggerFactory.getLogger(DaoContextFactory.class);
 
 	private static final Integer PREPARED_STATEMENT_LRU_CACHE_SIZE = 5000;
 	private PreparedStatementGenerator queryGenerator = new PreparedStatementGenerator();
-
-	public DaoContext build(Session session, Map<Class<?>, EntityMeta> entityMetaMap, boolean hasSimpleCounter) {
+	private StatementGenerator statementGenerator = new StatementGenerator();
+
+	/**
+	 * Build the DaoContext. All the statements are prepared concurrently on the
+	 * given executor, one task per entity and statement kind, so that the
+	 * bootstrap is not bound by the sum of the preparation round-trips
+	 */
+	public DaoContext build(Session session, Map<Class<?>, EntityMeta> entityMetaMap, boolean hasSimpleCounter,
+			AchillesMetrics metrics, ListeningExecutorService executor) {
 		log.debug("Build DaoContext");
 
-		Map<Class<?>, PreparedStatement> insertPSMap = new HashMap<>(transformValues(
-				filterValues(entityMetaMap, EXCLUDE_CLUSTERED_COUNTER_FILTER), getInsertPSTransformer(session)));
+		for (EntityMeta meta : entityMetaMap.values()) {
+			meta.setSelectColumnPlan(queryGenerator.buildSelectColumnPlan(meta));
+			if (meta.isClusteredEntity()) {
+				meta.setSliceSelectColumnPlan(statementGenerator.buildSliceSelectColumnPlan(meta));
+			}
+		}
 
-		Map<Class<?>, PreparedStatement> selectPSMap = new HashMap<>(transformValues(entityMetaMap,
-				getSelectPSTransformer(session)));
+		Map<Class<?>, EntityMeta> nonClusteredCounterMetas = filterValues(entityMetaMap,
+				EXCLUDE_CLUSTERED_COUNTER_FILTER);
 
-		Map<Class<?>, Map<String, PreparedStatement>> removePSMap = new HashMap<>(transformValues(
-				filterValues(entityMetaMap, EXCLUDE_CLUSTERED_COUNTER_FILTER), getRemovePSTransformer(session)));
+		Map<Class<?>, ListenableFuture<PreparedStatement>> insertPSFutures = prepareAll(nonClusteredCounterMetas,
+				getInsertPSTransformer(session), executor);
 
-		Cache<StatementCacheKey, PreparedStatement> dynamicPSCache = newBuilder().maximumSize(
-				PREPARED_STATEMENT_LRU_CACHE_SIZE).build();
+		Map<Class<?>, ListenableFuture<PreparedStatement>> insertWithTimestampPSFutures = prepareAll(
+				nonClusteredCounterMetas, getInsertWithTimestampPSTransformer(session), executor);
+
+		Map<Class<?>, ListenableFuture<PreparedStatement>> selectPSFutures = prepareAll(entityMetaMap,
+				getSelectPSTransformer(session), executor);
+
+		Map<Class<?>, ListenableFuture<Map<String, PreparedStatement>>> removePSFutures = prepareAll(
+				nonClusteredCounterMetas, getRemovePSTransformer(session), executor);
+
+		Map<Class<?>, ListenableFuture<Map<CQLQueryType, Map<String, PreparedStatement>>>> clusteredCounterFutures;
+		clusteredCounterFutures = prepareAll(filterValues(entityMetaMap, CLUSTERED_COUNTER_FILTER),
+				getClusteredCounterTransformer(session), executor);
 
 		Map<CQLQueryType, PreparedStatement> counterQueryMap;
 		if (hasSimpleCounter) {
@@ -65,12 +94,21 @@ public class DaoContextFactory {
 			counterQueryMap = ImmutableMap.of();
 		}
 
-		Map<Class<?>, Map<CQLQueryType, Map<String, PreparedStatement>>> clusteredCounterQueriesMap = new HashMap<>(
-				transformValues(filterValues(entityMetaMap, CLUSTERED_COUNTER_FILTER),
-						getClusteredCounterTransformer(session)));
+		Map<Class<?>, PreparedStatement> insertPSMap = waitForAll(insertPSFutures);
+		Map<Class<?>, PreparedStatement> insertWithTimestampPSMap = waitForAll(insertWithTimestampPSFutures);
+		Map<Class<?>, PreparedStatement> selectPSMap = waitForAll(selectPSFutures);
+		Map<Class<?>, Map<String, PreparedStatement>> removePSMap = waitForAll(removePSFutures);
+		Map<Class<?>, Map<CQLQueryType, Map<String, PreparedStatement>>> clusteredCounterQueriesMap = waitForAll(
+				clusteredCounterFutures);
+
+		Cache<StatementCacheKey, PreparedStatement> dynamicPSCache = newBuilder().maximumSize(
+				PREPARED_STATEMENT_LRU_CACHE_SIZE).build();
+
+		Cache<String, PreparedStatement> queryPSCache = newBuilder().maximumSize(PREPARED_STATEMENT_LRU_CACHE_SIZE)
+				.recordStats().build();
 
-		return new DaoContext(insertPSMap, dynamicPSCache, selectPSMap, removePSMap, counterQueryMap,
-				clusteredCounterQueriesMap, session);
+		return new DaoContext(insertPSMap, insertWithTimestampPSMap, dynamicPSCache, queryPSCache, selectPSMap,
+				removePSMap, counterQueryMap, clusteredCounterQueriesMap, session, metrics);
 	}
 
 	Function<EntityMeta, PreparedStatement> getInsertPSTransformer(final Session session) {
@@ -82,6 +120,15 @@ public class DaoContextFactory {
 		};
 	}
 
+	Function<EntityMeta, PreparedStatement> getInsertWithTimestampPSTransformer(final Session session) {
+		return new Function<EntityMeta, PreparedStatement>() {
+			@Override
+			public PreparedStatement apply(EntityMeta meta) {
+				return queryGenerator.prepareInsertWithTimestampPS(session, meta);
+			}
+		};
+	}
+
 	Function<EntityMeta, PreparedStatement> getSelectPSTransformer(final Session session) {
 		return new Function<EntityMeta, PreparedStatement>() {
 			@Override
@@ -109,4 +156,35 @@ public class DaoContextFactory {
 			}
 		};
 	}
+
+	private <V> Map<Class<?>, ListenableFuture<V>> prepareAll(Map<Class<?>, EntityMeta> entityMetaMap,
+			final Function<EntityMeta, V> transformer, ListeningExecutorService executor) {
+		Map<Class<?>, ListenableFuture<V>> futures = new HashMap<>();
+		for (Entry<Class<?>, EntityMeta> entry : entityMetaMap.entrySet()) {
+			final EntityMeta meta = entry.getValue();
+			futures.put(entry.getKey(), executor.submit(new Callable<V>() {
+				@Override
+				public V call() {
+					return transformer.apply(meta);
+				}
+			}));
+		}
+		return futures;
+	}
+
+	private <V> Map<Class<?>, V> waitForAll(Map<Class<?>, ListenableFuture<V>> futures) {
+		Map<Class<?>, V> results = new HashMap<>();
+		for (Entry<Class<?>, ListenableFuture<V>> entry : futures.entrySet()) {
+			try {
+				results.put(entry.getKey(), Uninterruptibles.getUninterruptibly(entry.getValue()));
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw new AchillesException(cause);
+			}
+		}
+		return results;
+	}
 }
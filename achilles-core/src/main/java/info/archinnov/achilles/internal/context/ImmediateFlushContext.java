@@ -16,16 +16,22 @@
 package info.archinnov.achilles.internal.context;
 
 import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.cache.EntityCache;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Pair;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.ResultSet;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 public class ImmediateFlushContext extends AbstractFlushContext {
 	private static final Logger log = LoggerFactory.getLogger(ImmediateFlushContext.class);
@@ -54,8 +60,33 @@ public class ImmediateFlushContext extends AbstractFlushContext {
 	@Override
 	public void flush() {
 		log.debug("Flush immediately all pending statements");
-        executeBatch(BatchStatement.Type.UNLOGGED, statementWrappers);
-        executeBatch(BatchStatement.Type.COUNTER, counterStatementWrappers);
+		try {
+			executeBatch(BatchStatement.Type.UNLOGGED, statementWrappers);
+			executeBatch(BatchStatement.Type.COUNTER, counterStatementWrappers);
+		} finally {
+			applyCacheInvalidations();
+		}
+	}
+
+	@Override
+	public ListenableFuture<List<ResultSet>> flushAsync() {
+		log.debug("Flush asynchronously all pending statements");
+		ListenableFuture<ResultSet> statementsFuture = executeBatchAsync(BatchStatement.Type.UNLOGGED,
+				statementWrappers);
+		ListenableFuture<ResultSet> countersFuture = executeBatchAsync(BatchStatement.Type.COUNTER,
+				counterStatementWrappers);
+		ListenableFuture<List<ResultSet>> future = Futures.allAsList(statementsFuture, countersFuture);
+		if (!cacheInvalidations.isEmpty()) {
+			final List<Pair<EntityCache, Object>> invalidations = new ArrayList<>(cacheInvalidations);
+			cacheInvalidations.clear();
+			future.addListener(new Runnable() {
+				@Override
+				public void run() {
+					applyCacheInvalidations(invalidations);
+				}
+			}, daoContext.getAsyncListenerExecutor());
+		}
+		return future;
 	}
 
 	@Override
@@ -71,6 +102,6 @@ public class ImmediateFlushContext extends AbstractFlushContext {
 
     @Override
     public void triggerInterceptor(EntityMeta meta, Object entity, Event event) {
-        meta.intercept(entity,event);
+        eventHolder(meta, entity, event).triggerInterception();
     }
 }
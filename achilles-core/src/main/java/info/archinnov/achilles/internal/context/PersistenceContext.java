@@ -15,7 +15,8 @@
  */
 package info.archinnov.achilles.internal.context;
 
-import static com.google.common.collect.FluentIterable.from;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_PROPERTY_NAME;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_TABLE;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_VALUE;
 import static info.archinnov.achilles.interceptor.Event.POST_LOAD;
 import static info.archinnov.achilles.interceptor.Event.POST_PERSIST;
@@ -24,7 +25,12 @@ import static info.archinnov.achilles.interceptor.Event.POST_UPDATE;
 import static info.archinnov.achilles.interceptor.Event.PRE_PERSIST;
 import static info.archinnov.achilles.interceptor.Event.PRE_REMOVE;
 import static info.archinnov.achilles.interceptor.Event.PRE_UPDATE;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.FIND;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.PERSIST;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.REMOVE;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.UPDATE;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
+import info.archinnov.achilles.internal.cache.EntityCache;
 import info.archinnov.achilles.internal.consistency.ConsistencyOverrider;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
@@ -34,26 +40,36 @@ import info.archinnov.achilles.internal.persistence.operations.EntityPersister;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.internal.persistence.operations.EntityRefresher;
 import info.archinnov.achilles.internal.persistence.operations.EntityUpdater;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChange;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.metrics.AchillesMetrics.Operation;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Options;
 import info.archinnov.achilles.type.OptionsBuilder;
+import info.archinnov.achilles.type.Pair;
 
-import java.lang.reflect.Method;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.google.common.base.Function;
 import com.google.common.base.Objects;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 public class PersistenceContext {
 
@@ -73,18 +89,13 @@ public class PersistenceContext {
 	protected Object entity;
 	protected Object primaryKey;
 	protected Object partitionKey;
+	protected String encodedPrimaryKeyForCounter;
 
 	protected Options options = OptionsBuilder.noOptions();
 
 	protected DaoContext daoContext;
 
 	private ConsistencyOverrider overrider = new ConsistencyOverrider();
-	private Function<PropertyMeta, Method> metaToGetter = new Function<PropertyMeta, Method>() {
-		@Override
-		public Method apply(PropertyMeta meta) {
-			return meta.getGetter();
-		}
-	};
 
 	public PersistenceContext(EntityMeta entityMeta, ConfigurationContext configContext, DaoContext daoContext,
 			AbstractFlushContext flushContext, Class<?> entityClass, Object primaryKey, Options options) {
@@ -131,10 +142,18 @@ public class PersistenceContext {
 		return daoContext.loadEntity(this);
 	}
 
+	public ListenableFuture<Row> loadEntityAsync() {
+		return daoContext.loadEntityAsync(this);
+	}
+
 	public Row loadProperty(PropertyMeta pm) {
 		return daoContext.loadProperty(this, pm);
 	}
 
+	public Row loadProperties(List<PropertyMeta> pms) {
+		return daoContext.loadProperties(this, pms);
+	}
+
 	public void pushInsertStatement() {
 		daoContext.pushInsertStatement(this);
 	}
@@ -143,6 +162,10 @@ public class PersistenceContext {
 		daoContext.pushUpdateStatement(this, pms);
 	}
 
+	public void pushCollectionUpdateStatement(PropertyMeta pm, CollectionChange change) {
+		daoContext.pushCollectionUpdateStatement(this, pm, change);
+	}
+
 	public void bindForRemoval(String tableName) {
 		daoContext.bindForRemoval(this, tableName);
 	}
@@ -170,8 +193,18 @@ public class PersistenceContext {
 		return null;
 	}
 
+	public Map<String, Long> getSimpleCounters(ConsistencyLevel consistency) {
+		log.trace("Get all counter values with consistency level '{}'", consistency);
+
+		Map<String, Long> counterValues = new HashMap<>();
+		for (Row row : daoContext.getSimpleCounters(this, consistency)) {
+			counterValues.put(row.getString(CQL_COUNTER_PROPERTY_NAME), row.getLong(CQL_COUNTER_VALUE));
+		}
+		return counterValues;
+	}
+
 	public void bindForSimpleCounterRemoval(PropertyMeta counterMeta) {
-		daoContext.bindForSimpleCounterDelete(this, entityMeta, counterMeta, primaryKey);
+		daoContext.bindForSimpleCounterDelete(this, entityMeta, counterMeta);
 	}
 
 	// Clustered counter
@@ -184,6 +217,12 @@ public class PersistenceContext {
 		return daoContext.getClusteredCounter(this, readLevel);
 	}
 
+	public ListenableFuture<Row> getClusteredCounterAsync(ConsistencyLevel readLevel) {
+		log.trace("Get asynchronously clustered counter value for entityMeta '{}' with consistency level '{}'",
+				entityMeta, readLevel);
+		return daoContext.getClusteredCounterAsync(this, readLevel);
+	}
+
 	public Long getClusteredCounterColumn(PropertyMeta counterMeta, ConsistencyLevel readLevel) {
 		log.trace("Get clustered counter value for counterMeta '{}' with consistency level '{}'", counterMeta,
 				readLevel);
@@ -199,50 +238,179 @@ public class PersistenceContext {
 	}
 
 	public void pushStatement(AbstractStatementWrapper statementWrapper) {
-		flushContext.pushStatement(statementWrapper);
+		flushContext.pushStatement(getBatchPartition(), statementWrapper);
 	}
 
 	public void pushCounterStatement(AbstractStatementWrapper statementWrapper) {
-		flushContext.pushCounterStatement(statementWrapper);
+		flushContext.pushCounterStatement(getBatchPartition(), statementWrapper);
+	}
+
+	public void pushSimpleCounterStatement(AbstractStatementWrapper statementWrapper) {
+		flushContext.pushCounterStatement(getSimpleCounterBatchPartition(), statementWrapper);
+	}
+
+	public void pushCacheInvalidation() {
+		EntityCache entityCache = entityMeta.getEntityCache();
+		if (entityCache != null) {
+			// once now so that no concurrent read repopulates the entry with the
+			// row being overwritten, once again when the write is sent
+			entityCache.invalidate(primaryKey);
+			flushContext.pushCacheInvalidation(entityCache, primaryKey);
+		}
 	}
 
 	public ResultSet executeImmediate(AbstractStatementWrapper bsWrapper) {
 		return flushContext.executeImmediate(bsWrapper);
 	}
 
+	public ResultSetFuture executeImmediateAsync(AbstractStatementWrapper bsWrapper) {
+		return flushContext.executeImmediateAsync(bsWrapper);
+	}
+
 	public <T> T persist(T rawEntity) {
+		long start = System.nanoTime();
 		flushContext.triggerInterceptor(entityMeta, rawEntity, PRE_PERSIST);
 		persister.persist(this);
 		flush();
 		flushContext.triggerInterceptor(entityMeta, rawEntity, POST_PERSIST);
-		return proxifier.buildProxyWithAllFieldsLoadedExceptCounters(rawEntity, this);
+		T proxifiedEntity = proxifier.buildProxyWithAllFieldsLoadedExceptCounters(rawEntity, this);
+		recordLatency(PERSIST, start);
+		return proxifiedEntity;
 	}
 
 	public void update(Object proxifiedEntity) {
+		long start = System.nanoTime();
 		flushContext.triggerInterceptor(entityMeta, entity, PRE_UPDATE);
 		updater.update(this, proxifiedEntity);
 		flush();
 		flushContext.triggerInterceptor(entityMeta, entity, POST_UPDATE);
+		recordLatency(UPDATE, start);
 	}
 
 	public void remove() {
+		long start = System.nanoTime();
 		flushContext.triggerInterceptor(entityMeta, entity, PRE_REMOVE);
 		persister.remove(this);
 		flush();
 		flushContext.triggerInterceptor(entityMeta, entity, POST_REMOVE);
+		recordLatency(REMOVE, start);
 	}
 
 	public <T> T find(Class<T> entityClass) {
+		long start = System.nanoTime();
 		T rawEntity = loader.load(this, entityClass);
 		T proxifiedEntity = null;
 		if (rawEntity != null) {
 			flushContext.triggerInterceptor(entityMeta, rawEntity, POST_LOAD);
-			proxifiedEntity = proxifier.buildProxyWithAllFieldsLoadedExceptCounters(rawEntity, this);
+			proxifiedEntity = proxifier.buildProxyWithEagerFieldsLoaded(rawEntity, this);
+		}
+		recordLatency(FIND, start);
+		return proxifiedEntity;
+	}
+
+	public <T> T find(Class<T> entityClass, List<PropertyMeta> pms) {
+		long start = System.nanoTime();
+		T rawEntity = loader.load(this, entityClass, pms);
+		T proxifiedEntity = null;
+		if (rawEntity != null) {
+			flushContext.triggerInterceptor(entityMeta, rawEntity, POST_LOAD);
+			BitSet loadedFlags = new BitSet();
+			loadedFlags.set(entityMeta.getIdMeta().getOrdinal());
+			for (PropertyMeta pm : pms) {
+				loadedFlags.set(pm.getOrdinal());
+			}
+			proxifiedEntity = proxifier.buildProxy(rawEntity, this, loadedFlags);
 		}
+		recordLatency(FIND, start);
 		return proxifiedEntity;
 	}
 
+	public <T> ListenableFuture<T> persistAsync(final T rawEntity) {
+		final long start = System.nanoTime();
+		flushContext.triggerInterceptor(entityMeta, rawEntity, PRE_PERSIST);
+		persister.persist(this);
+		return Futures.transform(flushAsync(), new Function<List<ResultSet>, T>() {
+			@Override
+			public T apply(List<ResultSet> resultSets) {
+				flushContext.triggerInterceptor(entityMeta, rawEntity, POST_PERSIST);
+				T proxifiedEntity = proxifier.buildProxyWithAllFieldsLoadedExceptCounters(rawEntity,
+						PersistenceContext.this);
+				recordLatency(PERSIST, start);
+				return proxifiedEntity;
+			}
+		}, getAsyncListenerExecutor());
+	}
+
+	/**
+	 * Same write path as {@link #persistAsync(Object)} but the raw entity is
+	 * not proxified once written, for callers which never use the result
+	 */
+	public ListenableFuture<Void> insertAsync(final Object rawEntity) {
+		final long start = System.nanoTime();
+		flushContext.triggerInterceptor(entityMeta, rawEntity, PRE_PERSIST);
+		persister.persist(this);
+		return Futures.transform(flushAsync(), new Function<List<ResultSet>, Void>() {
+			@Override
+			public Void apply(List<ResultSet> resultSets) {
+				flushContext.triggerInterceptor(entityMeta, rawEntity, POST_PERSIST);
+				recordLatency(PERSIST, start);
+				return null;
+			}
+		}, getAsyncListenerExecutor());
+	}
+
+	public ListenableFuture<Void> updateAsync(Object proxifiedEntity) {
+		final long start = System.nanoTime();
+		flushContext.triggerInterceptor(entityMeta, entity, PRE_UPDATE);
+		updater.update(this, proxifiedEntity);
+		return Futures.transform(flushAsync(), new Function<List<ResultSet>, Void>() {
+			@Override
+			public Void apply(List<ResultSet> resultSets) {
+				flushContext.triggerInterceptor(entityMeta, entity, POST_UPDATE);
+				recordLatency(UPDATE, start);
+				return null;
+			}
+		}, getAsyncListenerExecutor());
+	}
+
+	public ListenableFuture<Void> removeAsync() {
+		final long start = System.nanoTime();
+		flushContext.triggerInterceptor(entityMeta, entity, PRE_REMOVE);
+		persister.remove(this);
+		return Futures.transform(flushAsync(), new Function<List<ResultSet>, Void>() {
+			@Override
+			public Void apply(List<ResultSet> resultSets) {
+				flushContext.triggerInterceptor(entityMeta, entity, POST_REMOVE);
+				recordLatency(REMOVE, start);
+				return null;
+			}
+		}, getAsyncListenerExecutor());
+	}
+
+	public <T> ListenableFuture<T> findAsync(Class<T> entityClass) {
+		final long start = System.nanoTime();
+		return Futures.transform(loader.loadAsync(this, entityClass), new Function<T, T>() {
+			@Override
+			public T apply(T rawEntity) {
+				T proxifiedEntity = null;
+				if (rawEntity != null) {
+					flushContext.triggerInterceptor(entityMeta, rawEntity, POST_LOAD);
+					proxifiedEntity = proxifier.buildProxyWithEagerFieldsLoaded(rawEntity, PersistenceContext.this);
+				}
+				recordLatency(FIND, start);
+				return proxifiedEntity;
+			}
+		}, getAsyncListenerExecutor());
+	}
+
 	public <T> T getProxy(Class<T> entityClass) {
+		EntityCache entityCache = entityMeta.getEntityCache();
+		if (entityCache != null && !options.getConsistencyLevel().isPresent()) {
+			T cachedEntity = entityCache.get(primaryKey);
+			if (cachedEntity != null) {
+				return proxifier.buildProxyWithEagerFieldsLoaded(cachedEntity, this);
+			}
+		}
 		T entity = loader.createEmptyEntity(this, entityClass);
 		return proxifier.buildProxyWithNoFieldLoaded(entity, this);
 	}
@@ -257,6 +425,11 @@ public class PersistenceContext {
 		return proxifiedEntity;
 	}
 
+	public <T> T initialize(T proxifiedEntity, List<PropertyMeta> pms) {
+		initializer.initializeEntity(proxifiedEntity, pms);
+		return proxifiedEntity;
+	}
+
 	public <T> List<T> initialize(List<T> entities) {
 		for (T entity : entities) {
 			initialize(entity);
@@ -295,6 +468,10 @@ public class PersistenceContext {
 		flushContext.flush();
 	}
 
+	public ListenableFuture<List<ResultSet>> flushAsync() {
+		return flushContext.flushAsync();
+	}
+
 	public void endBatch() {
 		flushContext.endBatch();
 	}
@@ -320,8 +497,16 @@ public class PersistenceContext {
 		return primaryKey;
 	}
 
+	public String getEncodedPrimaryKeyForCounter() {
+		if (encodedPrimaryKeyForCounter == null) {
+			encodedPrimaryKeyForCounter = entityMeta.getIdMeta().forceEncodeToJSON(primaryKey);
+		}
+		return encodedPrimaryKeyForCounter;
+	}
+
 	public void setPrimaryKey(Object primaryKey) {
 		this.primaryKey = primaryKey;
+		this.encodedPrimaryKeyForCounter = null;
 	}
 
 	public Object getPartitionKey() {
@@ -335,6 +520,10 @@ public class PersistenceContext {
 		this.partitionKey = partitionKey;
 	}
 
+	public Executor getAsyncListenerExecutor() {
+		return daoContext.getAsyncListenerExecutor();
+	}
+
 	public ConfigurationContext getConfigContext() {
 		return configContext;
 	}
@@ -351,20 +540,39 @@ public class PersistenceContext {
 		return options.getTimestamp();
 	}
 
+	public AchillesMetrics getMetrics() {
+		return configContext.getMetrics();
+	}
+
 	public Optional<ConsistencyLevel> getConsistencyLevel() {
 		return options.getConsistencyLevel();
 	}
 
-	public Set<Method> getAllGetters() {
-		return new HashSet<>(from(entityMeta.getAllMetas()).transform(metaToGetter).toSet());
+	public List<PropertyMeta> getAllCountersMeta() {
+		return entityMeta.getAllCounterMetas();
 	}
 
-	public Set<Method> getAllGettersExceptCounters() {
-		return new HashSet<>(from(entityMeta.getAllMetasExceptCounters()).transform(metaToGetter).toSet());
+	private void recordLatency(Operation operation, long start) {
+		getMetrics().recordLatency(entityClass, operation, System.nanoTime() - start);
 	}
 
-	public List<PropertyMeta> getAllCountersMeta() {
-		return entityMeta.getAllCounterMetas();
+	/**
+	 * Key under which a batch groups the statements of this context: the
+	 * table plus the partition key, or the whole primary key for entities
+	 * without compound primary key
+	 */
+	Object getBatchPartition() {
+		Object partition = getPartitionKey();
+		return Pair.create(entityMeta.getTableName(), partition != null ? partition : primaryKey);
+	}
+
+	/**
+	 * Simple counters do not live in the entity table but in the shared
+	 * counter table, partitioned by entity class and encoded primary key
+	 */
+	Object getSimpleCounterBatchPartition() {
+		return Pair.create(CQL_COUNTER_TABLE,
+				Arrays.asList(entityMeta.getClassName(), getEncodedPrimaryKeyForCounter()));
 	}
 
 	private void extractPartitionKey() {
@@ -16,23 +16,33 @@
 
 package info.archinnov.achilles.internal.interceptor;
 
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.INTERCEPTOR;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.metrics.AchillesMetrics;
 
 public class EventHolder {
 
     private EntityMeta meta;
     private Object entity;
     private Event event;
+    private AchillesMetrics metrics;
 
-    public EventHolder(EntityMeta meta, Object entity, Event event) {
+    public EventHolder(EntityMeta meta, Object entity, Event event, AchillesMetrics metrics) {
         this.meta = meta;
         this.entity = entity;
         this.event = event;
+        this.metrics = metrics;
     }
 
     public void triggerInterception() {
-        meta.intercept(entity,event);
+        if (meta.getInterceptors().isEmpty()) {
+            meta.intercept(entity,event);
+        } else {
+            long start = System.nanoTime();
+            meta.intercept(entity,event);
+            metrics.recordLatency(meta.getEntityClass(), INTERCEPTOR, System.nanoTime() - start);
+        }
     }
 
 }
@@ -18,6 +18,7 @@ package info.archinnov.achilles.internal.metadata.discovery;
 
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_TABLE;
 import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
@@ -28,15 +29,24 @@ import info.archinnov.achilles.internal.metadata.parsing.EntityParser;
 import info.archinnov.achilles.internal.metadata.parsing.PropertyParser;
 import info.archinnov.achilles.internal.metadata.parsing.context.EntityParsingContext;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
+import info.archinnov.achilles.internal.reflection.PropertyAccessorGenerator;
 import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.metrics.AchillesMetrics;
 
+import java.io.IOException;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.commons.lang3.StringUtils;
 import org.reflections.Reflections;
@@ -45,6 +55,11 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.TableMetadata;
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 public class AchillesBootstrapper {
 	private static final Logger log = LoggerFactory.getLogger(AchillesBootstrapper.class);
@@ -52,6 +67,7 @@ public class AchillesBootstrapper {
 	private EntityParser entityParser = new EntityParser();
 	private DaoContextFactory daoContextFactory = new DaoContextFactory();
 	private PropertyParser propertyParser = new PropertyParser();
+	private PropertyAccessorGenerator accessorGenerator = new PropertyAccessorGenerator();
 
 	public List<Class<?>> discoverEntities(List<String> packageNames) {
 		log.debug("Discovery of Achilles entity classes in packages {}", StringUtils.join(packageNames, ","));
@@ -62,16 +78,67 @@ public class AchillesBootstrapper {
 		return new ArrayList<>(candidateClasses);
 	}
 
-	public ParsingResult buildMetaDatas(ConfigurationContext configContext, List<Class<?>> entities) {
+	/**
+	 * Load the entity classes listed in an index resource instead of scanning
+	 * the classpath. The index is a plain text file with one fully qualified
+	 * class name per line, typically generated at build time. Blank lines and
+	 * lines starting with '#' are ignored. All resources with the given name
+	 * found in the classpath are merged
+	 * 
+	 * @param indexResource
+	 *            classpath name of the index resource
+	 * @return entity classes listed in the index
+	 */
+	public List<Class<?>> discoverEntitiesFromIndex(String indexResource) {
+		log.debug("Discovery of Achilles entity classes from index {}", indexResource);
+
+		ClassLoader classLoader = getClassLoader();
+		Set<Class<?>> candidateClasses = new LinkedHashSet<>();
+		try {
+			Enumeration<URL> indexes = classLoader.getResources(indexResource);
+			Validator.validateTrue(indexes.hasMoreElements(), "The entity index '%s' cannot be found in the classpath",
+					indexResource);
+			while (indexes.hasMoreElements()) {
+				for (String line : Resources.readLines(indexes.nextElement(), Charsets.UTF_8)) {
+					String className = line.trim();
+					if (StringUtils.isNotBlank(className) && !className.startsWith("#")) {
+						candidateClasses.add(loadEntityClass(classLoader, className, indexResource));
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new AchillesException("Cannot read the entity index '" + indexResource + "'", e);
+		}
+		return validateEntities(new ArrayList<>(candidateClasses));
+	}
+
+	public List<Class<?>> validateEntities(List<Class<?>> entityClasses) {
+		for (Class<?> entityClass : entityClasses) {
+			Validator.validateBeanMappingTrue(entityClass.isAnnotationPresent(Entity.class),
+					"The class '%s' should be annotated with @Entity", entityClass.getCanonicalName());
+		}
+		return entityClasses;
+	}
+
+	public ParsingResult buildMetaDatas(ConfigurationContext configContext, List<Class<?>> entities,
+			ListeningExecutorService executor) {
 		log.debug("Build meta data for candidate entities");
-		Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<>();
-		boolean hasSimpleCounter = false;
+		Map<Class<?>, EntityParsingContext> contexts = new LinkedHashMap<>();
+		Map<Class<?>, ListenableFuture<EntityMeta>> futures = new LinkedHashMap<>();
 		for (Class<?> entityClass : entities) {
 			EntityParsingContext context = new EntityParsingContext(configContext, entityClass);
-			EntityMeta entityMeta = entityParser.parseEntity(context);
+			contexts.put(entityClass, context);
+			futures.put(entityClass, executor.submit(parseEntity(context)));
+		}
+
+		Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<>();
+		boolean hasSimpleCounter = false;
+		for (Entry<Class<?>, ListenableFuture<EntityMeta>> entry : futures.entrySet()) {
+			Class<?> entityClass = entry.getKey();
+			EntityMeta entityMeta = getResult(entry.getValue());
 			entityMetaMap.put(entityClass, entityMeta);
 
-			hasSimpleCounter = hasSimpleCounter || context.hasSimpleCounter();
+			hasSimpleCounter = hasSimpleCounter || contexts.get(entityClass).hasSimpleCounter();
 			boolean shouldValidateBean = configContext.isClassConstrained(entityClass);
 			if (shouldValidateBean) {
 				configContext.addBeanValidationInterceptor(entityMeta);
@@ -104,9 +171,10 @@ public class AchillesBootstrapper {
 		}
 	}
 
-	public DaoContext buildDaoContext(Session session, Map<Class<?>, EntityMeta> entityMetaMap, boolean hasSimpleCounter) {
+	public DaoContext buildDaoContext(Session session, Map<Class<?>, EntityMeta> entityMetaMap,
+			boolean hasSimpleCounter, AchillesMetrics metrics, ListeningExecutorService executor) {
 		log.debug("Build DaoContext");
-		return daoContextFactory.build(session, entityMetaMap, hasSimpleCounter);
+		return daoContextFactory.build(session, entityMetaMap, hasSimpleCounter, metrics, executor);
 	}
 
 	public void addInterceptorsToEntityMetas(List<Interceptor<?>> interceptors, Map<Class<?>, EntityMeta> entityMetaMap) {
@@ -118,4 +186,41 @@ public class AchillesBootstrapper {
 			entityMeta.addInterceptor(interceptor);
 		}
 	}
+
+	private Callable<EntityMeta> parseEntity(final EntityParsingContext context) {
+		return new Callable<EntityMeta>() {
+			@Override
+			public EntityMeta call() {
+				EntityMeta entityMeta = entityParser.parseEntity(context);
+				accessorGenerator.generateAccessors(entityMeta);
+				return entityMeta;
+			}
+		};
+	}
+
+	private Class<?> loadEntityClass(ClassLoader classLoader, String className, String indexResource) {
+		try {
+			return Class.forName(className, false, classLoader);
+		} catch (ClassNotFoundException e) {
+			throw new AchillesException("Cannot load the class '" + className + "' listed in the entity index '"
+					+ indexResource + "'", e);
+		}
+	}
+
+	private ClassLoader getClassLoader() {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return classLoader != null ? classLoader : this.getClass().getClassLoader();
+	}
+
+	private <T> T getResult(ListenableFuture<T> future) {
+		try {
+			return Uninterruptibles.getUninterruptibly(future);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new AchillesException(cause);
+		}
+	}
 }
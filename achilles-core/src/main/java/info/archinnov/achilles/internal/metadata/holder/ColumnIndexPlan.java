@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metadata.holder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Row;
+import com.google.common.base.Objects;
+
+/**
+ * Positions of the selected properties in the rows of a generated SELECT, so
+ * that they can be read by index instead of by name. A row is only read by
+ * index if its columns have the expected names in the expected order; the
+ * check is done once per result set since all its rows share the same
+ * {@link ColumnDefinitions} instance
+ */
+public class ColumnIndexPlan {
+
+	private final List<PropertyMeta> propertyMetas;
+	private final int[] columnIndexes;
+	private final String[] columnNames;
+	private final int columnCount;
+
+	private volatile ColumnDefinitions lastMatched;
+
+	public ColumnIndexPlan(List<PropertyMeta> selectedMetas) {
+		this.propertyMetas = new ArrayList<>(selectedMetas);
+		this.columnIndexes = new int[selectedMetas.size()];
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < selectedMetas.size(); i++) {
+			PropertyMeta pm = selectedMetas.get(i);
+			columnIndexes[i] = names.size();
+			if (pm.isEmbeddedId()) {
+				names.addAll(pm.getComponentNames());
+			} else {
+				names.add(pm.getPropertyName());
+			}
+		}
+		this.columnNames = names.toArray(new String[names.size()]);
+		this.columnCount = columnNames.length;
+	}
+
+	public int size() {
+		return propertyMetas.size();
+	}
+
+	public PropertyMeta getPropertyMeta(int position) {
+		return propertyMetas.get(position);
+	}
+
+	public int getColumnIndex(int position) {
+		return columnIndexes[position];
+	}
+
+	public int getColumnCount() {
+		return columnCount;
+	}
+
+	public boolean matches(Row row) {
+		ColumnDefinitions columnDefinitions = row.getColumnDefinitions();
+		if (columnDefinitions == null) {
+			return false;
+		}
+		if (columnDefinitions == lastMatched) {
+			return true;
+		}
+		if (columnDefinitions.size() != columnCount) {
+			return false;
+		}
+		for (int i = 0; i < columnCount; i++) {
+			if (!columnNames[i].equalsIgnoreCase(columnDefinitions.getName(i))) {
+				return false;
+			}
+		}
+		lastMatched = columnDefinitions;
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return Objects.toStringHelper(this.getClass()).add("propertyMetas", propertyMetas)
+				.add("columnCount", columnCount).toString();
+	}
+}
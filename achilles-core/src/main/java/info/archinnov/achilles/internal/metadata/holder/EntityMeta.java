@@ -19,6 +19,8 @@ import static com.google.common.collect.FluentIterable.from;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.counterType;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.interceptor.Interceptor;
+import info.archinnov.achilles.internal.cache.EntityCache;
+import info.archinnov.achilles.internal.proxy.ProxyDispatchTable;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.type.ConsistencyLevel;
@@ -26,8 +28,12 @@ import info.archinnov.achilles.type.Pair;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -58,6 +64,9 @@ public class EntityMeta {
 	private String tableName;
 	private Class<?> idClass;
 	private Map<String, PropertyMeta> propertyMetas;
+	private Map<String, PropertyMeta> lowerCasePropertyMetas;
+	private ColumnIndexPlan selectColumnPlan;
+	private ColumnIndexPlan sliceSelectColumnPlan;
 	private List<PropertyMeta> allMetasExceptCounters;
 	private List<PropertyMeta> allMetasExceptIdAndCounters;
 	private PropertyMeta idMeta;
@@ -68,6 +77,13 @@ public class EntityMeta {
 	private List<PropertyMeta> allMetasExceptId;
 	private boolean clusteredCounter = false;
 	private List<Interceptor<?>> interceptors = new ArrayList<>();
+	private volatile Class<?> proxyClass;
+	private volatile ProxyDispatchTable dispatchTable;
+	private List<PropertyMeta> propertyMetasByOrdinal;
+	private BitSet ordinalsExceptCounters;
+	private BitSet ordinalsToLoad;
+	private Map<String, List<PropertyMeta>> fetchGroups;
+	private EntityCache entityCache;
 
 	public Object getPrimaryKey(Object entity) {
 		return idMeta.getPrimaryKey(entity);
@@ -151,6 +167,34 @@ public class EntityMeta {
 
 	public void setPropertyMetas(Map<String, PropertyMeta> propertyMetas) {
 		this.propertyMetas = propertyMetas;
+		this.lowerCasePropertyMetas = null;
+	}
+
+	public Map<String, PropertyMeta> getLowerCasePropertyMetas() {
+		if (lowerCasePropertyMetas == null) {
+			Map<String, PropertyMeta> lowerCaseMap = new HashMap<>();
+			for (Entry<String, PropertyMeta> entry : propertyMetas.entrySet()) {
+				lowerCaseMap.put(entry.getKey().toLowerCase(), entry.getValue());
+			}
+			lowerCasePropertyMetas = Collections.unmodifiableMap(lowerCaseMap);
+		}
+		return lowerCasePropertyMetas;
+	}
+
+	public ColumnIndexPlan getSelectColumnPlan() {
+		return selectColumnPlan;
+	}
+
+	public void setSelectColumnPlan(ColumnIndexPlan selectColumnPlan) {
+		this.selectColumnPlan = selectColumnPlan;
+	}
+
+	public ColumnIndexPlan getSliceSelectColumnPlan() {
+		return sliceSelectColumnPlan;
+	}
+
+	public void setSliceSelectColumnPlan(ColumnIndexPlan sliceSelectColumnPlan) {
+		this.sliceSelectColumnPlan = sliceSelectColumnPlan;
 	}
 
 	public PropertyMeta getIdMeta() {
@@ -177,6 +221,88 @@ public class EntityMeta {
 		this.setterMetas = setterMetas;
 	}
 
+	public Class<?> getProxyClass() {
+		return proxyClass;
+	}
+
+	public void setProxyClass(Class<?> proxyClass) {
+		this.proxyClass = proxyClass;
+	}
+
+	public ProxyDispatchTable getDispatchTable() {
+		return dispatchTable;
+	}
+
+	public void setDispatchTable(ProxyDispatchTable dispatchTable) {
+		this.dispatchTable = dispatchTable;
+	}
+
+	/**
+	 * Read-through cache of this entity, null when caching is not enabled
+	 */
+	public EntityCache getEntityCache() {
+		return entityCache;
+	}
+
+	public void setEntityCache(EntityCache entityCache) {
+		this.entityCache = entityCache;
+	}
+
+	public PropertyMeta getPropertyMetaByOrdinal(int ordinal) {
+		return propertyMetasByOrdinal.get(ordinal);
+	}
+
+	public void setPropertyMetasByOrdinal(List<PropertyMeta> propertyMetasByOrdinal) {
+		this.propertyMetasByOrdinal = propertyMetasByOrdinal;
+	}
+
+	public BitSet getOrdinalsExceptCounters() {
+		return ordinalsExceptCounters;
+	}
+
+	public void setOrdinalsExceptCounters(BitSet ordinalsExceptCounters) {
+		this.ordinalsExceptCounters = ordinalsExceptCounters;
+	}
+
+	/**
+	 * Ordinals of the properties fetched by the default SELECT, i.e. all but
+	 * counter and lazy ones
+	 */
+	public BitSet getOrdinalsToLoad() {
+		return ordinalsToLoad;
+	}
+
+	public void setOrdinalsToLoad(BitSet ordinalsToLoad) {
+		this.ordinalsToLoad = ordinalsToLoad;
+	}
+
+	/**
+	 * Lazy properties declared with the given fetch group, in declaration
+	 * order. Empty if no such group
+	 */
+	public List<PropertyMeta> getFetchGroup(String fetchGroup) {
+		List<PropertyMeta> pms = fetchGroups.get(fetchGroup);
+		return pms != null ? pms : Collections.<PropertyMeta> emptyList();
+	}
+
+	public void setFetchGroups(Map<String, List<PropertyMeta>> fetchGroups) {
+		this.fetchGroups = fetchGroups;
+	}
+
+	/**
+	 * Properties not fetched by the default SELECT, i.e. lazy and counter
+	 * ones
+	 */
+	public List<PropertyMeta> getLazyAndCounterMetas() {
+		List<PropertyMeta> pms = new ArrayList<>();
+		for (PropertyMeta pm : allMetasExceptId) {
+			if (pm.isLazy() || pm.isCounter()) {
+				pms.add(pm);
+			}
+		}
+		return pms;
+	}
+
 	public boolean isClusteredEntity() {
 		return clusteredEntity;
 	}
@@ -252,6 +378,9 @@ public class EntityMeta {
 
 	public void setAllMetasExceptCounters(List<PropertyMeta> allMetasExceptCounters) {
 		this.allMetasExceptCounters = allMetasExceptCounters;
+		this.ordinalsExceptCounters = null;
+		this.ordinalsToLoad = null;
+		this.fetchGroups = null;
 	}
 
 	public List<PropertyMeta> getColumnsMetaToInsert() {
@@ -266,8 +395,22 @@ public class EntityMeta {
 		if (clusteredCounter) {
 			return new ArrayList<>(propertyMetas.values());
 		} else {
-			return allMetasExceptCounters;
+			return excludeLazy(allMetasExceptCounters);
+		}
+	}
+
+	public List<PropertyMeta> getColumnsMetaToSelect() {
+		return excludeLazy(getColumnsMetaToInsert());
+	}
+
+	private List<PropertyMeta> excludeLazy(List<PropertyMeta> pms) {
+		List<PropertyMeta> eagerMetas = new ArrayList<>(pms.size());
+		for (PropertyMeta pm : pms) {
+			if (!pm.isLazy()) {
+				eagerMetas.add(pm);
+			}
 		}
+		return eagerMetas;
 	}
 
 	@Override
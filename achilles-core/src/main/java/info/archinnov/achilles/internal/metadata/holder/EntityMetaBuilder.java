@@ -26,6 +26,7 @@ import info.archinnov.achilles.type.Pair;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -67,6 +68,7 @@ public class EntityMetaBuilder {
 		meta.setClassName(className);
 		meta.setTableName(columnFamilyName);
 		meta.setPropertyMetas(Collections.unmodifiableMap(propertyMetas));
+		meta.setPropertyMetasByOrdinal(assignOrdinals(propertyMetas));
 		meta.setGetterMetas(Collections.unmodifiableMap(extractGetterMetas(propertyMetas)));
 		meta.setSetterMetas(Collections.unmodifiableMap(extractSetterMetas(propertyMetas)));
 		meta.setConsistencyLevels(consistencyLevels);
@@ -82,6 +84,9 @@ public class EntityMetaBuilder {
 		List<PropertyMeta> allMetasExceptCounters = new ArrayList<>(from(propertyMetas.values()).filter(
 				excludeCounterType).toList());
 		meta.setAllMetasExceptCounters(allMetasExceptCounters);
+		meta.setOrdinalsExceptCounters(extractOrdinals(allMetasExceptCounters, false));
+		meta.setOrdinalsToLoad(extractOrdinals(allMetasExceptCounters, true));
+		meta.setFetchGroups(Collections.unmodifiableMap(extractFetchGroups(allMetasExceptCounters)));
 
 		boolean clusteredEntity = idMeta.isEmbeddedId() && idMeta.getClusteringComponentClasses().size() > 0;
 		meta.setClusteredEntity(clusteredEntity);
@@ -97,6 +102,38 @@ public class EntityMetaBuilder {
 		return meta;
 	}
 
+	private List<PropertyMeta> assignOrdinals(Map<String, PropertyMeta> propertyMetas) {
+		List<PropertyMeta> propertyMetasByOrdinal = new ArrayList<>(propertyMetas.values());
+		for (int ordinal = 0; ordinal < propertyMetasByOrdinal.size(); ordinal++) {
+			propertyMetasByOrdinal.get(ordinal).setOrdinal(ordinal);
+		}
+		return Collections.unmodifiableList(propertyMetasByOrdinal);
+	}
+
+	private BitSet extractOrdinals(List<PropertyMeta> propertyMetas, boolean excludeLazy) {
+		BitSet ordinals = new BitSet();
+		for (PropertyMeta propertyMeta : propertyMetas) {
+			if (!excludeLazy || !propertyMeta.isLazy()) {
+				ordinals.set(propertyMeta.getOrdinal());
+			}
+		}
+		return ordinals;
+	}
+
+	private Map<String, List<PropertyMeta>> extractFetchGroups(List<PropertyMeta> propertyMetas) {
+		Map<String, List<PropertyMeta>> fetchGroups = new HashMap<>();
+		for (PropertyMeta propertyMeta : propertyMetas) {
+			String fetchGroup = propertyMeta.getFetchGroup();
+			if (fetchGroup != null) {
+				if (!fetchGroups.containsKey(fetchGroup)) {
+					fetchGroups.put(fetchGroup, new ArrayList<PropertyMeta>());
+				}
+				fetchGroups.get(fetchGroup).add(propertyMeta);
+			}
+		}
+		return fetchGroups;
+	}
+
 	private Map<Method, PropertyMeta> extractGetterMetas(Map<String, PropertyMeta> propertyMetas) {
 		Map<Method, PropertyMeta> getterMetas = new HashMap<>();
 		for (PropertyMeta propertyMeta : propertyMetas.values()) {
@@ -15,15 +15,19 @@
  */
 package info.archinnov.achilles.internal.metadata.holder;
 
+import static info.archinnov.achilles.internal.metadata.parsing.PropertyParser.isSupportedType;
+import info.archinnov.achilles.codec.BinaryCodec;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.metadata.transcoding.DataTranscoder;
 import info.archinnov.achilles.internal.persistence.operations.InternalCounterImpl;
+import info.archinnov.achilles.internal.reflection.PropertyAccessor;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Pair;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -67,8 +71,13 @@ public class PropertyMeta {
 	private IndexProperties indexProperties;
 	private Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels;
 	private boolean timeUUID = false;
+	private boolean lazy = false;
+	private String fetchGroup;
+	private BinaryCodec codec;
 	private DataTranscoder transcoder;
 	private ReflectionInvoker invoker = new ReflectionInvoker();
+	private PropertyAccessor propertyAccessor;
+	private int ordinal;
 
 	public List<Field> getComponentFields() {
 		log.trace("Get component fields");
@@ -386,17 +395,36 @@ public class PropertyMeta {
 	}
 
 	public void setValueToField(Object target, Object args) {
-		invoker.setValueToField(target, field, args);
+		if (propertyAccessor != null) {
+			propertyAccessor.setValueToField(target, args);
+		} else {
+			invoker.setValueToField(target, field, args);
+		}
 	}
 
 	public Class<?> getValueClassForTableCreation() {
 		if (timeUUID) {
 			return InternalTimeUUID.class;
 		} else {
-			return valueClass;
+			return getCQLValueClass();
 		}
 	}
 
+	public Class<?> getCQLKeyClass() {
+		return toCQLClass(keyClass);
+	}
+
+	public Class<?> getCQLValueClass() {
+		return toCQLClass(valueClass);
+	}
+
+	private Class<?> toCQLClass(Class<?> javaClass) {
+		if (codec != null && javaClass != null && !isSupportedType(javaClass) && !javaClass.isEnum()) {
+			return ByteBuffer.class;
+		}
+		return javaClass;
+	}
+
 	// //////// Getters & setters
 	public PropertyType type() {
 		return type;
@@ -512,6 +540,26 @@ public class PropertyMeta {
 		this.invoker = invoker;
 	}
 
+	public PropertyAccessor getPropertyAccessor() {
+		return propertyAccessor;
+	}
+
+	public void setPropertyAccessor(PropertyAccessor propertyAccessor) {
+		this.propertyAccessor = propertyAccessor;
+	}
+
+	/**
+	 * Dense index of the property within its entity, assigned at parsing time.
+	 * Used by proxies to track loaded and dirty properties in bitsets
+	 */
+	public int getOrdinal() {
+		return ordinal;
+	}
+
+	public void setOrdinal(int ordinal) {
+		this.ordinal = ordinal;
+	}
+
 	public boolean isTimeUUID() {
 		return timeUUID;
 	}
@@ -520,6 +568,30 @@ public class PropertyMeta {
 		this.timeUUID = timeUUID;
 	}
 
+	public boolean isLazy() {
+		return lazy;
+	}
+
+	public void setLazy(boolean lazy) {
+		this.lazy = lazy;
+	}
+
+	public String getFetchGroup() {
+		return fetchGroup;
+	}
+
+	public void setFetchGroup(String fetchGroup) {
+		this.fetchGroup = fetchGroup;
+	}
+
+	public BinaryCodec getCodec() {
+		return codec;
+	}
+
+	public void setCodec(BinaryCodec codec) {
+		this.codec = codec;
+	}
+
 	@Override
 	public String toString() {
 		return Objects.toStringHelper(this.getClass()).add("type", type).add("entityClassName", entityClassName)
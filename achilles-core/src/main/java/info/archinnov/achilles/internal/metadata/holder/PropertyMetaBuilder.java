@@ -15,6 +15,7 @@
  */
 package info.archinnov.achilles.internal.metadata.holder;
 
+import info.archinnov.achilles.codec.BinaryCodec;
 import info.archinnov.achilles.internal.metadata.transcoding.CompoundTranscoder;
 import info.archinnov.achilles.internal.metadata.transcoding.DataTranscoder;
 import info.archinnov.achilles.internal.metadata.transcoding.ListTranscoder;
@@ -45,6 +46,7 @@ public class PropertyMetaBuilder {
 	private EmbeddedIdProperties embeddedIdProperties;
 	private Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels;
 	private boolean timeUUID = false;
+	private BinaryCodec codec;
 
 	public static PropertyMetaBuilder factory() {
 		return new PropertyMetaBuilder();
@@ -83,6 +85,7 @@ public class PropertyMetaBuilder {
 		meta.setConsistencyLevels(consistencyLevels);
 		meta.setTranscoder(determineTranscoder());
 		meta.setTimeUUID(timeUUID);
+		meta.setCodec(codec);
 
 		return meta;
 	}
@@ -122,6 +125,11 @@ public class PropertyMetaBuilder {
 		return this;
 	}
 
+	public PropertyMetaBuilder codec(BinaryCodec codec) {
+		this.codec = codec;
+		return this;
+	}
+
 	private DataTranscoder determineTranscoder() {
 		switch (type) {
 		case EMBEDDED_ID:
@@ -129,13 +137,13 @@ public class PropertyMetaBuilder {
 		case ID:
 		case COUNTER:
 		case SIMPLE:
-			return new SimpleTranscoder(objectMapper);
+			return new SimpleTranscoder(objectMapper, codec);
 		case LIST:
-			return new ListTranscoder(objectMapper);
+			return new ListTranscoder(objectMapper, codec);
 		case SET:
-			return new SetTranscoder(objectMapper);
+			return new SetTranscoder(objectMapper, codec);
 		case MAP:
-			return new MapTranscoder(objectMapper);
+			return new MapTranscoder(objectMapper, codec);
 
 		default:
 			return null;
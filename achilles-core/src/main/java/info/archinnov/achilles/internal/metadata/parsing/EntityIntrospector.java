@@ -16,10 +16,12 @@
 package info.archinnov.achilles.internal.metadata.parsing;
 
 import static info.archinnov.achilles.internal.helper.LoggerHelper.fieldToStringFn;
+import info.archinnov.achilles.annotations.Cached;
 import info.archinnov.achilles.annotations.Consistency;
 import info.archinnov.achilles.annotations.Entity;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
 import info.archinnov.achilles.internal.table.TableNameNormalizer;
+import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Pair;
 
@@ -27,11 +29,13 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.CacheBuilderSpec;
 import com.google.common.collect.Lists;
 
 public class EntityIntrospector {
@@ -168,6 +172,27 @@ public class EntityIntrospector {
 		return Pair.create(defaultGlobalRead, defaultGlobalWrite);
 	}
 
+	public CacheBuilderSpec findCacheSpec(Class<?> entity, Map<Class<?>, String> configuredCacheSpecs) {
+		log.debug("Find cache spec for entity class {}", entity.getCanonicalName());
+
+		String spec = configuredCacheSpecs.get(entity);
+		if (spec == null) {
+			Cached cached = entity.getAnnotation(Cached.class);
+			if (cached == null) {
+				return null;
+			}
+			Validator.validateBeanMappingTrue(cached.maxSize() > 0, "Cache max size for entity '%s' should be strictly positive",
+					entity.getCanonicalName());
+			spec = "maximumSize=" + cached.maxSize();
+			if (cached.expireAfterWriteSeconds() > 0) {
+				spec += ",expireAfterWrite=" + cached.expireAfterWriteSeconds() + "s";
+			}
+		}
+
+		log.trace("Found cache spec : {}", spec);
+		return CacheBuilderSpec.parse(spec);
+	}
+
 	public List<Field> getInheritedPrivateFields(Class<?> type) {
 		log.debug("Find inherited private fields from hierarchy for entity class {}", type.getCanonicalName());
 
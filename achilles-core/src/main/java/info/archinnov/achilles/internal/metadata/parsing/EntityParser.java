@@ -19,11 +19,13 @@ import static info.archinnov.achilles.internal.metadata.holder.EntityMetaBuilder
 import info.archinnov.achilles.annotations.Column;
 import info.archinnov.achilles.annotations.EmbeddedId;
 import info.archinnov.achilles.annotations.Id;
+import info.archinnov.achilles.internal.cache.EntityCache;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.parsing.context.EntityParsingContext;
 import info.archinnov.achilles.internal.metadata.parsing.context.PropertyParsingContext;
 import info.archinnov.achilles.internal.metadata.parsing.validator.EntityParsingValidator;
+import info.archinnov.achilles.internal.proxy.ProxyClassFactory;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Pair;
@@ -35,6 +37,8 @@ import org.codehaus.jackson.map.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.CacheBuilderSpec;
+
 public class EntityParser {
 	private static final Logger log = LoggerFactory.getLogger(EntityParser.class);
 
@@ -42,6 +46,7 @@ public class EntityParser {
 	private PropertyParser parser = new PropertyParser();
 	private PropertyFilter filter = new PropertyFilter();
 	private EntityIntrospector introspector = new EntityIntrospector();
+	private ProxyClassFactory proxyClassFactory = new ProxyClassFactory();
 
 	public EntityMeta parseEntity(EntityParsingContext context) {
 		log.debug("Parsing entity class {}", context.getCurrentEntityClass().getCanonicalName());
@@ -83,6 +88,16 @@ public class EntityParser {
 				.className(entityClass.getCanonicalName()).columnFamilyName(columnFamilyName)
 				.propertyMetas(context.getPropertyMetas()).consistencyLevels(context.getCurrentConsistencyLevels())
 				.build();
+		Class<?> proxyClass = proxyClassFactory.createProxyClass(entityClass);
+		entityMeta.setProxyClass(proxyClass);
+		entityMeta.setDispatchTable(proxyClassFactory.createDispatchTable(proxyClass, entityMeta));
+
+		CacheBuilderSpec cacheSpec = introspector.findCacheSpec(entityClass, context.getEntityCacheSpecs());
+		if (cacheSpec != null) {
+			Validator.validateBeanMappingFalse(entityMeta.isClusteredCounter(),
+					"Entity cache is not supported for clustered counter entity '%s'", entityClass.getCanonicalName());
+			entityMeta.setEntityCache(new EntityCache(entityMeta, cacheSpec));
+		}
 
 		log.trace("Entity meta built for entity class {} : {}", context.getCurrentEntityClass().getCanonicalName(),
 				entityMeta);
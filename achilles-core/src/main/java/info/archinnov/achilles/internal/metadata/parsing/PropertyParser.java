@@ -22,12 +22,15 @@ import static info.archinnov.achilles.internal.metadata.holder.PropertyType.LIST
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.MAP;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SET;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
+import info.archinnov.achilles.annotations.Codec;
 import info.archinnov.achilles.annotations.Column;
 import info.archinnov.achilles.annotations.Consistency;
 import info.archinnov.achilles.annotations.EmbeddedId;
 import info.archinnov.achilles.annotations.Id;
 import info.archinnov.achilles.annotations.Index;
+import info.archinnov.achilles.annotations.Lazy;
 import info.archinnov.achilles.annotations.TimeUUID;
+import info.archinnov.achilles.codec.BinaryCodec;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.metadata.holder.CounterProperties;
@@ -214,6 +217,7 @@ public class PropertyParser {
 		Field field = context.getCurrentField();
 		inferPropertyName(context);
 		context.setCustomConsistencyLevels(hasConsistencyAnnotation(context.getCurrentField()));
+		context.setCurrentCodec(findCodec(context, field));
 
 		validator.validateNoDuplicate(context);
 		validator.validateIndexIfSet(context);
@@ -240,6 +244,8 @@ public class PropertyParser {
 				propertyMeta.setIndexProperties(new IndexProperties(indexName));
 			}
 		}
+		propertyMeta.setLazy(isLazy(context, field));
+		propertyMeta.setFetchGroup(getFetchGroup(context, field, propertyMeta));
 		context.getPropertyMetas().put(context.getCurrentPropertyName(), propertyMeta);
 		return propertyMeta;
 	}
@@ -296,7 +302,7 @@ public class PropertyParser {
 				.propertyName(context.getCurrentPropertyName())
 				.entityClassName(context.getCurrentEntityClass().getCanonicalName()).accessors(accessors)
 				.consistencyLevels(context.getCurrentConsistencyLevels()).field(field).timeuuid(timeUUID)
-				.build(Void.class, field.getType());
+				.codec(context.getCurrentCodec()).build(Void.class, field.getType());
 
 		log.trace("Built simple property meta for property {} of entity class {} : {}", propertyMeta.getPropertyName(),
 				context.getCurrentEntityClass().getCanonicalName(), propertyMeta);
@@ -352,7 +358,7 @@ public class PropertyParser {
 				.propertyName(context.getCurrentPropertyName())
 				.entityClassName(context.getCurrentEntityClass().getCanonicalName())
 				.consistencyLevels(context.getCurrentConsistencyLevels()).accessors(accessors).field(field)
-				.timeuuid(timeUUID).build(Void.class, valueClass);
+				.timeuuid(timeUUID).codec(context.getCurrentCodec()).build(Void.class, valueClass);
 
 		log.trace("Built list property meta for property {} of entity class {} : {}", listMeta.getPropertyName(),
 				context.getCurrentEntityClass().getCanonicalName(), listMeta);
@@ -380,7 +386,7 @@ public class PropertyParser {
 				.propertyName(context.getCurrentPropertyName())
 				.entityClassName(context.getCurrentEntityClass().getCanonicalName())
 				.consistencyLevels(context.getCurrentConsistencyLevels()).accessors(accessors).field(field)
-				.timeuuid(timeUUID).build(Void.class, valueClass);
+				.timeuuid(timeUUID).codec(context.getCurrentCodec()).build(Void.class, valueClass);
 
 		log.trace("Built set property meta for property {} of  entity class {} : {}", setMeta.getPropertyName(),
 				context.getCurrentEntityClass().getCanonicalName(), setMeta);
@@ -409,7 +415,7 @@ public class PropertyParser {
 				.propertyName(context.getCurrentPropertyName())
 				.entityClassName(context.getCurrentEntityClass().getCanonicalName())
 				.consistencyLevels(context.getCurrentConsistencyLevels()).accessors(accessors).field(field)
-				.timeuuid(timeUUID).build(keyClass, valueClass);
+				.timeuuid(timeUUID).codec(context.getCurrentCodec()).build(keyClass, valueClass);
 
 		log.trace("Built map property meta for property {} of entity class {} : {}", mapMeta.getPropertyName(), context
 				.getCurrentEntityClass().getCanonicalName(), mapMeta);
@@ -479,4 +485,43 @@ public class PropertyParser {
 		return timeUUID;
 	}
 
+	private boolean isLazy(PropertyParsingContext context, Field field) {
+		boolean lazy = false;
+		if (filter.hasAnnotation(field, Lazy.class)) {
+			Validator.validateBeanMappingFalse(context.isPrimaryKey() || context.isEmbeddedId(),
+					"The primary key field '%s' from class '%s' cannot be annotated with @Lazy", field.getName(),
+					context.getCurrentEntityClass().getCanonicalName());
+			lazy = true;
+		}
+		return lazy;
+	}
+
+	private String getFetchGroup(PropertyParsingContext context, Field field, PropertyMeta propertyMeta) {
+		String fetchGroup = null;
+		Lazy lazy = field.getAnnotation(Lazy.class);
+		if (lazy != null && StringUtils.isNotBlank(lazy.fetchGroup())) {
+			Validator.validateBeanMappingFalse(propertyMeta.isCounter(),
+					"The counter field '%s' from class '%s' cannot belong to a fetch group", field.getName(),
+					context.getCurrentEntityClass().getCanonicalName());
+			fetchGroup = lazy.fetchGroup();
+		}
+		return fetchGroup;
+	}
+
+	private BinaryCodec findCodec(PropertyParsingContext context, Field field) {
+		BinaryCodec codec = null;
+		if (filter.hasAnnotation(field, Codec.class)) {
+			Validator.validateBeanMappingFalse(context.isPrimaryKey() || context.isEmbeddedId(),
+					"The primary key field '%s' from class '%s' cannot be annotated with @Codec", field.getName(),
+					context.getCurrentEntityClass().getCanonicalName());
+			Validator.validateBeanMappingFalse(Counter.class.isAssignableFrom(field.getType()),
+					"The counter field '%s' from class '%s' cannot be annotated with @Codec", field.getName(),
+					context.getCurrentEntityClass().getCanonicalName());
+			codec = context.getCodec(field.getAnnotation(Codec.class).value());
+		} else if (!context.isPrimaryKey() && !Counter.class.isAssignableFrom(field.getType())) {
+			codec = context.getDefaultCodec();
+		}
+		return codec;
+	}
+
 }
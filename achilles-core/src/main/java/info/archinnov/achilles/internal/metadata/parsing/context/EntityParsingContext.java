@@ -15,6 +15,7 @@
  */
 package info.archinnov.achilles.internal.metadata.parsing.context;
 
+import info.archinnov.achilles.codec.BinaryCodec;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.json.ObjectMapperFactory;
@@ -94,6 +95,18 @@ public class EntityParsingContext {
 		return configContext.getObjectMapperFactory();
 	}
 
+	public BinaryCodec getDefaultCodec() {
+		return configContext.getDefaultCodec();
+	}
+
+	public BinaryCodec getCodec(Class<? extends BinaryCodec> codecClass) {
+		return configContext.getCodec(codecClass);
+	}
+
+	public Map<Class<?>, String> getEntityCacheSpecs() {
+		return configContext.getEntityCacheSpecs();
+	}
+
 	public Pair<ConsistencyLevel, ConsistencyLevel> getDefaultConsistencyLevels() {
 		return Pair.create(configContext.getDefaultReadConsistencyLevel(),
 				configContext.getDefaultWriteConsistencyLevel());
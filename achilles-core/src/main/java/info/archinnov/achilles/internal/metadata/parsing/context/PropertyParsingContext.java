@@ -15,6 +15,7 @@
  */
 package info.archinnov.achilles.internal.metadata.parsing.context;
 
+import info.archinnov.achilles.codec.BinaryCodec;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Pair;
@@ -32,6 +33,7 @@ public class PropertyParsingContext {
 	private boolean isCustomConsistencyLevels;
 	private boolean primaryKey = false;
 	private boolean embeddedId = false;
+	private BinaryCodec currentCodec;
 
 	public PropertyParsingContext(EntityParsingContext context, //
 			Field currentField) {
@@ -107,4 +109,20 @@ public class PropertyParsingContext {
 		this.embeddedId = embeddedId;
 	}
 
+	public BinaryCodec getCurrentCodec() {
+		return currentCodec;
+	}
+
+	public void setCurrentCodec(BinaryCodec currentCodec) {
+		this.currentCodec = currentCodec;
+	}
+
+	public BinaryCodec getDefaultCodec() {
+		return context.getDefaultCodec();
+	}
+
+	public BinaryCodec getCodec(Class<? extends BinaryCodec> codecClass) {
+		return context.getCodec(codecClass);
+	}
+
 }
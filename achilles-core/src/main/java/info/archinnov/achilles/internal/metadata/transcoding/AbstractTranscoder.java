@@ -16,6 +16,7 @@
 package info.archinnov.achilles.internal.metadata.transcoding;
 
 import static info.archinnov.achilles.internal.metadata.parsing.PropertyParser.isSupportedType;
+import info.archinnov.achilles.codec.BinaryCodec;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
@@ -34,12 +35,18 @@ public abstract class AbstractTranscoder implements DataTranscoder {
 	private static final Logger log = LoggerFactory.getLogger(AbstractTranscoder.class);
 
 	protected ObjectMapper objectMapper;
+	protected BinaryCodec codec;
 	protected ReflectionInvoker invoker = new ReflectionInvoker();
 
 	public AbstractTranscoder(ObjectMapper objectMapper) {
 		this.objectMapper = objectMapper;
 	}
 
+	public AbstractTranscoder(ObjectMapper objectMapper, BinaryCodec codec) {
+		this.objectMapper = objectMapper;
+		this.codec = codec;
+	}
+
 	@Override
 	public Object encode(PropertyMeta pm, Object entityValue) {
 		throw new AchillesException("Transcoder cannot encode value '" + entityValue + "' for type '"
@@ -127,6 +134,8 @@ public abstract class AbstractTranscoder implements DataTranscoder {
 			return entityValue;
 		} else if (sourceType.isEnum()) {
 			return ((Enum<?>) entityValue).name();
+		} else if (codec != null) {
+			return entityValue == null ? null : ByteBuffer.wrap(codec.encode(sourceType, entityValue));
 		} else {
 			return forceEncodeToJSON(entityValue);
 		}
@@ -148,6 +157,8 @@ public abstract class AbstractTranscoder implements DataTranscoder {
 			return cassandraValue;
 		} else if (targetType.isEnum()) {
 			return Enum.valueOf((Class) targetType, (String) cassandraValue);
+		} else if (codec != null && cassandraValue instanceof ByteBuffer) {
+			return codec.decode(targetType, readByteBuffer(cassandraValue));
 		} else if (cassandraValue instanceof String) {
 			return forceDecodeFromJSON((String) cassandraValue, targetType);
 		} else {
@@ -157,7 +168,7 @@ public abstract class AbstractTranscoder implements DataTranscoder {
 	}
 
 	private byte[] readByteBuffer(Object cassandraValue) {
-		ByteBuffer byteBuffer = (ByteBuffer) cassandraValue;
+		ByteBuffer byteBuffer = ((ByteBuffer) cassandraValue).duplicate();
 		byte[] bytes = new byte[byteBuffer.remaining()];
 		byteBuffer.get(bytes);
 		return bytes;
@@ -15,6 +15,7 @@
  */
 package info.archinnov.achilles.internal.metadata.transcoding;
 
+import info.archinnov.achilles.codec.BinaryCodec;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 
 import java.util.ArrayList;
@@ -28,6 +29,10 @@ public class ListTranscoder extends SimpleTranscoder {
 		super(objectMapper);
 	}
 
+	public ListTranscoder(ObjectMapper objectMapper, BinaryCodec codec) {
+		super(objectMapper, codec);
+	}
+
 	@Override
 	public List<Object> encode(PropertyMeta pm, List<?> entityValue) {
 		List<Object> encoded = new ArrayList<Object>();
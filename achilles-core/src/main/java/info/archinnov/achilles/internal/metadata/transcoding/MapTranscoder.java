@@ -15,6 +15,7 @@
  */
 package info.archinnov.achilles.internal.metadata.transcoding;
 
+import info.archinnov.achilles.codec.BinaryCodec;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 
 import java.util.HashMap;
@@ -29,6 +30,10 @@ public class MapTranscoder extends AbstractTranscoder {
 		super(objectMapper);
 	}
 
+	public MapTranscoder(ObjectMapper objectMapper, BinaryCodec codec) {
+		super(objectMapper, codec);
+	}
+
 	@Override
 	public Object encode(PropertyMeta pm, Object entityValue) {
 		return super.encodeInternal(pm.getValueClass(), entityValue);
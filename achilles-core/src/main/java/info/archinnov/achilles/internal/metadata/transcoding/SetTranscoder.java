@@ -15,6 +15,7 @@
  */
 package info.archinnov.achilles.internal.metadata.transcoding;
 
+import info.archinnov.achilles.codec.BinaryCodec;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 
 import java.util.HashSet;
@@ -28,6 +29,10 @@ public class SetTranscoder extends SimpleTranscoder {
 		super(objectMapper);
 	}
 
+	public SetTranscoder(ObjectMapper objectMapper, BinaryCodec codec) {
+		super(objectMapper, codec);
+	}
+
 	@Override
 	public Set<Object> encode(PropertyMeta pm, Set<?> entityValue) {
 		Set<Object> encoded = new HashSet<Object>();
@@ -15,6 +15,7 @@
  */
 package info.archinnov.achilles.internal.metadata.transcoding;
 
+import info.archinnov.achilles.codec.BinaryCodec;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 
@@ -28,6 +29,10 @@ public class SimpleTranscoder extends AbstractTranscoder {
 		super(objectMapper);
 	}
 
+	public SimpleTranscoder(ObjectMapper objectMapper, BinaryCodec codec) {
+		super(objectMapper, codec);
+	}
+
 	@Override
 	public Object encode(PropertyMeta pm, Object entityValue) {
 		return super.encodeInternal(pm.getValueClass(), entityValue);
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import info.archinnov.achilles.exception.AchillesScanException;
+import info.archinnov.achilles.iterator.ScanIterator;
+
+import java.math.BigInteger;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Scan iterator fed by the range tasks through a bounded queue. Each task
+ * pushes the entities of its range then a completion marker, so when the
+ * marker is taken all the entities of the range have been returned
+ */
+public class ConcurrentScanIterator<T> implements ScanIterator<T> {
+
+	private static final Logger log = LoggerFactory.getLogger(ConcurrentScanIterator.class);
+
+	private final BlockingQueue<Object> queue;
+	private final ScanProgress progress;
+	private final ExecutorService executor;
+	private int remainingRanges;
+	private T nextEntity;
+	private volatile boolean closed = false;
+
+	public ConcurrentScanIterator(int rangeCount, int capacity, ScanProgress progress, ExecutorService executor) {
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.remainingRanges = rangeCount;
+		this.progress = progress;
+		this.executor = executor;
+	}
+
+	/**
+	 * Called by range tasks, blocks while the queue is full
+	 * 
+	 * @return false if the iterator has been closed and the task should stop
+	 */
+	public boolean push(T entity) {
+		return put(entity);
+	}
+
+	public void completeRange(int rangeIndex) {
+		put(new RangeCompletion(rangeIndex));
+	}
+
+	public void fail(Throwable throwable) {
+		put(new RangeFailure(throwable));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean hasNext() {
+		if (nextEntity != null) {
+			return true;
+		}
+		while (!closed && remainingRanges > 0) {
+			Object element = Uninterruptibles.takeUninterruptibly(queue);
+			if (element instanceof RangeCompletion) {
+				progress.complete(((RangeCompletion) element).rangeIndex);
+				remainingRanges--;
+			} else if (element instanceof RangeFailure) {
+				close();
+				throw new AchillesScanException("Error while scanning token ranges",
+						((RangeFailure) element).throwable, progress.getResumeToken());
+			} else {
+				nextEntity = (T) element;
+				return true;
+			}
+		}
+		close();
+		return false;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		T entity = nextEntity;
+		nextEntity = null;
+		return entity;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Cannot remove entity from a scan iterator");
+	}
+
+	@Override
+	public BigInteger getResumeToken() {
+		return progress.getResumeToken();
+	}
+
+	@Override
+	public void close() {
+		if (!closed) {
+			log.debug("Close scan iterator with {} ranges remaining", remainingRanges);
+			closed = true;
+			executor.shutdownNow();
+		}
+	}
+
+	private boolean put(Object element) {
+		if (closed) {
+			return false;
+		}
+		try {
+			queue.put(element);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static class RangeCompletion {
+		private final int rangeIndex;
+
+		private RangeCompletion(int rangeIndex) {
+			this.rangeIndex = rangeIndex;
+		}
+	}
+
+	private static class RangeFailure {
+		private final Throwable throwable;
+
+		private RangeFailure(Throwable throwable) {
+			this.throwable = throwable;
+		}
+	}
+}
@@ -22,7 +22,14 @@ import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 public class CounterLoader {
 
@@ -30,12 +37,28 @@ public class CounterLoader {
     private ConsistencyOverrider overrider = new ConsistencyOverrider();
 
     public <T> T loadClusteredCounters(PersistenceContext context) {
+        EntityMeta entityMeta = context.getEntityMeta();
+        ConsistencyLevel readLevel = overrider.getReadLevel(context,entityMeta);
+        Row row =context.getClusteredCounter(readLevel);
+        return mapClusteredCounters(context, row);
+    }
+
+    public <T> ListenableFuture<T> loadClusteredCountersAsync(final PersistenceContext context) {
+        EntityMeta entityMeta = context.getEntityMeta();
+        ConsistencyLevel readLevel = overrider.getReadLevel(context,entityMeta);
+        return Futures.transform(context.getClusteredCounterAsync(readLevel), new Function<Row, T>() {
+            @Override
+            public T apply(Row row) {
+                return mapClusteredCounters(context, row);
+            }
+        });
+    }
+
+    private <T> T mapClusteredCounters(PersistenceContext context, Row row) {
         EntityMeta entityMeta = context.getEntityMeta();
         Object primaryKey = context.getPrimaryKey();
 
         T entity = null;
-        ConsistencyLevel readLevel = overrider.getReadLevel(context,entityMeta);
-        Row row =context.getClusteredCounter(readLevel);
         if(row != null) {
             entity = entityMeta.instanciate();
             entityMeta.getIdMeta().setValueToField(entity, primaryKey);
@@ -47,7 +70,6 @@ public class CounterLoader {
         return entity;
     }
 
-
     public void loadClusteredCounterColumn(PersistenceContext context, Object realObject, PropertyMeta counterMeta) {
         ConsistencyLevel readLevel = overrider.getReadLevel(context,counterMeta);
         Long counterValue = context.getClusteredCounterColumn(counterMeta, readLevel);
@@ -60,4 +82,21 @@ public class CounterLoader {
         mapper.setCounterToEntity(counterMeta, entity, initialCounterValue);
     }
 
+    public List<PropertyMeta> loadCounters(PersistenceContext context, Object entity, PropertyMeta requestedMeta,
+            List<PropertyMeta> pendingCounterMetas) {
+        ConsistencyLevel readLevel = overrider.getReadLevel(context, requestedMeta);
+        List<PropertyMeta> counterMetasToLoad = new ArrayList<>();
+        for (PropertyMeta counterMeta : pendingCounterMetas) {
+            if (overrider.getReadLevel(context, counterMeta) == readLevel) {
+                counterMetasToLoad.add(counterMeta);
+            }
+        }
+
+        final Map<String, Long> counterValues = context.getSimpleCounters(readLevel);
+        for (PropertyMeta counterMeta : counterMetasToLoad) {
+            mapper.setCounterToEntity(counterMeta, entity, counterValues.get(counterMeta.getPropertyName()));
+        }
+        return counterMetasToLoad;
+    }
+
 }
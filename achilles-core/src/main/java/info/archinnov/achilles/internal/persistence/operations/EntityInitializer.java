@@ -18,6 +18,9 @@ package info.archinnov.achilles.internal.persistence.operations;
 
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.EntityInterceptor;
+
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,12 +28,20 @@ import org.slf4j.LoggerFactory;
 public class EntityInitializer {
 	private static final Logger log = LoggerFactory.getLogger(EntityInitializer.class);
 
-	public <T> void initializeEntity(T entity, EntityMeta entityMeta) {
+	private EntityProxifier proxifier = new EntityProxifier();
+
+	public <T> void initializeEntity(T proxifiedEntity, EntityMeta entityMeta) {
+
+		log.debug("Initializing lazy fields for entity {} of class {}", proxifiedEntity, entityMeta.getClassName());
+
+		initializeEntity(proxifiedEntity, entityMeta.getLazyAndCounterMetas());
+	}
+
+	public <T> void initializeEntity(T proxifiedEntity, List<PropertyMeta> propertyMetas) {
 
-		log.debug("Initializing lazy fields for entity {} of class {}", entity, entityMeta.getClassName());
+		log.debug("Initializing fields {} for entity {}", propertyMetas, proxifiedEntity);
 
-		for (PropertyMeta propertyMeta : entityMeta.getAllCounterMetas()) {
-				propertyMeta.invokeGetter(entity);
-		}
+		EntityInterceptor<T> interceptor = proxifier.getInterceptor(proxifiedEntity);
+		interceptor.fetch(propertyMetas);
 	}
 }
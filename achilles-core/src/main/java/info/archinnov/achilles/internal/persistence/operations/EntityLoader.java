@@ -15,16 +15,26 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.ROW_MAPPING;
+import info.archinnov.achilles.internal.cache.EntityCache;
+import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 public class EntityLoader {
 
@@ -35,29 +45,101 @@ public class EntityLoader {
 
 	public <T> T load(PersistenceContext context, Class<T> entityClass) {
         log.debug("Loading entity of class {} using PersistenceContext {}",entityClass,context);
-		EntityMeta entityMeta = context.getEntityMeta();
-		Object primaryKey = context.getPrimaryKey();
-
-		Validator.validateNotNull(entityClass, "Entity class should not be null");
-		Validator.validateNotNull(primaryKey, "Entity '%s' key should not be null", entityClass.getCanonicalName());
-		Validator
-				.validateNotNull(entityMeta, "Entity meta for '%s' should not be null", entityClass.getCanonicalName());
+        validateLoading(context, entityClass);
+        EntityMeta entityMeta = context.getEntityMeta();
 
         T entity = null;
 
         if (entityMeta.isClusteredCounter()) {
             entity = counterLoader.loadClusteredCounters(context);
         } else {
+            EntityCache cache = entityMeta.getEntityCache();
+            if (cache != null && !context.getConsistencyLevel().isPresent()) {
+                entity = cache.get(context.getPrimaryKey());
+                if (entity != null) {
+                    return entity;
+                }
+            }
+            long generation = cache != null ? cache.generation() : 0;
             Row row = context.loadEntity();
-            if (row != null) {
-                entity = entityMeta.instanciate();
-                mapper.setNonCounterPropertiesToEntity(row, entityMeta, entity);
+            entity = mapRowToEntity(row, entityMeta, context.getMetrics());
+            if (cache != null && entity != null) {
+                cache.put(context.getPrimaryKey(), entity, generation);
             }
         }
 
 		return entity;
 	}
 
+    public <T> T load(PersistenceContext context, Class<T> entityClass, List<PropertyMeta> pms) {
+        log.debug("Loading properties {} of entity of class {} using PersistenceContext {}", pms, entityClass, context);
+        validateLoading(context, entityClass);
+        EntityMeta entityMeta = context.getEntityMeta();
+
+        T entity = null;
+        Row row = context.loadProperties(pms);
+        if (row != null) {
+            long start = System.nanoTime();
+            entity = entityMeta.instanciate();
+            entityMeta.getIdMeta().setValueToField(entity, context.getPrimaryKey());
+            for (PropertyMeta pm : pms) {
+                mapper.setPropertyToEntity(row, pm, entity);
+            }
+            context.getMetrics().recordLatency(entityClass, ROW_MAPPING, System.nanoTime() - start);
+        }
+        return entity;
+    }
+
+    public <T> T loadDetached(DaoContext daoContext, EntityMeta entityMeta, Object primaryKey,
+            ConsistencyLevel readLevel) {
+        log.debug("Loading detached entity of class {} with primary key {}", entityMeta.getClassName(), primaryKey);
+        EntityCache cache = entityMeta.getEntityCache();
+        if (cache != null && readLevel == null) {
+            T entity = cache.get(primaryKey);
+            if (entity != null) {
+                return entity;
+            }
+        }
+        long generation = cache != null ? cache.generation() : 0;
+        Row row = daoContext.loadEntity(entityMeta, primaryKey, readLevel);
+        T entity = mapRowToEntity(row, entityMeta, daoContext.getMetrics());
+        if (cache != null && entity != null) {
+            cache.put(primaryKey, entity, generation);
+        }
+        return entity;
+    }
+
+    public <T> ListenableFuture<T> loadAsync(PersistenceContext context, Class<T> entityClass) {
+        log.debug("Loading asynchronously entity of class {} using PersistenceContext {}", entityClass, context);
+        validateLoading(context, entityClass);
+        final EntityMeta entityMeta = context.getEntityMeta();
+        final AchillesMetrics metrics = context.getMetrics();
+
+        if (entityMeta.isClusteredCounter()) {
+            return counterLoader.loadClusteredCountersAsync(context);
+        } else {
+            final EntityCache cache = entityMeta.getEntityCache();
+            final Object primaryKey = context.getPrimaryKey();
+            if (cache != null && !context.getConsistencyLevel().isPresent()) {
+                T cached = cache.get(primaryKey);
+                if (cached != null) {
+                    return Futures.immediateFuture(cached);
+                }
+            }
+            final long generation = cache != null ? cache.generation() : 0;
+            return Futures.transform(context.loadEntityAsync(), new Function<Row, T>() {
+                @Override
+                public T apply(Row row) {
+                    T entity = mapRowToEntity(row, entityMeta, metrics);
+                    if (cache != null && entity != null) {
+                        cache.put(primaryKey, entity, generation);
+                    }
+                    return entity;
+                }
+            }, context.getAsyncListenerExecutor());
+        }
+    }
+
     public <T> T createEmptyEntity(PersistenceContext context, Class<T> entityClass) {
         log.debug("Loading entity of class {} using PersistenceContext {}", entityClass, context);
         EntityMeta entityMeta = context.getEntityMeta();
@@ -85,4 +167,31 @@ public class EntityLoader {
         }
 
     }
+
+    public void loadPropertiesIntoObject(PersistenceContext context, Object realObject, List<PropertyMeta> pms) {
+        log.trace("Loading properties {} into object {}", pms, realObject);
+        Row row = context.loadProperties(pms);
+        for (PropertyMeta pm : pms) {
+            mapper.setPropertyToEntity(row, pm, realObject);
+        }
+    }
+
+    private void validateLoading(PersistenceContext context, Class<?> entityClass) {
+        Validator.validateNotNull(entityClass, "Entity class should not be null");
+        Validator.validateNotNull(context.getPrimaryKey(), "Entity '%s' key should not be null",
+                entityClass.getCanonicalName());
+        Validator.validateNotNull(context.getEntityMeta(), "Entity meta for '%s' should not be null",
+                entityClass.getCanonicalName());
+    }
+
+    private <T> T mapRowToEntity(Row row, EntityMeta entityMeta, AchillesMetrics metrics) {
+        T entity = null;
+        if (row != null) {
+            long start = System.nanoTime();
+            entity = entityMeta.instanciate();
+            mapper.setNonCounterPropertiesToEntity(row, entityMeta, entityMeta.getSelectColumnPlan(), entity);
+            metrics.recordLatency(entityMeta.getEntityClass(), ROW_MAPPING, System.nanoTime() - start);
+        }
+        return entity;
+    }
 }
@@ -15,8 +15,10 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
+import info.archinnov.achilles.internal.metadata.holder.ColumnIndexPlan;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.reflection.PropertyAccessor;
 import info.archinnov.achilles.internal.reflection.RowMethodInvoker;
 import info.archinnov.achilles.type.Counter;
 
@@ -38,7 +40,38 @@ public class EntityMapper  {
 	public void setNonCounterPropertiesToEntity(Row row, EntityMeta entityMeta, Object entity) {
         log.debug("Set non-counter properties to entity class {} from fetched CQL row", entityMeta.getClassName());
 		for (PropertyMeta pm : entityMeta.getAllMetasExceptCounters()) {
+			if (!pm.isLazy()) {
+				setPropertyToEntity(row, pm, entity);
+			}
+		}
+	}
+
+	public void setNonCounterPropertiesToEntity(Row row, EntityMeta entityMeta, ColumnIndexPlan columnPlan,
+			Object entity) {
+		if (row == null || columnPlan == null || !columnPlan.matches(row)) {
+			setNonCounterPropertiesToEntity(row, entityMeta, entity);
+			return;
+		}
+		log.debug("Set non-counter properties to entity class {} from fetched CQL row by column index",
+				entityMeta.getClassName());
+		for (int i = 0; i < columnPlan.size(); i++) {
+			PropertyMeta pm = columnPlan.getPropertyMeta(i);
+			if (!pm.type().isCounter()) {
+				setPropertyToEntity(row, pm, columnPlan.getColumnIndex(i), entity);
+			}
+		}
+	}
+
+	private void setPropertyToEntity(Row row, PropertyMeta pm, int columnIndex, Object entity) {
+		PropertyAccessor propertyAccessor = pm.getPropertyAccessor();
+		if (propertyAccessor == null || !propertyAccessor.canReadFromRowByIndex()) {
 			setPropertyToEntity(row, pm, entity);
+		} else if (pm.isEmbeddedId()) {
+			Object compoundKey = cqlRowInvoker.extractCompoundPrimaryKeyFromRow(row, pm, columnIndex, true);
+			pm.setValueToField(entity, compoundKey);
+		} else if (!row.isNull(columnIndex)) {
+			Object value = cqlRowInvoker.invokeOnRowForFields(row, pm, columnIndex);
+			pm.setValueToField(entity, value);
 		}
 	}
 
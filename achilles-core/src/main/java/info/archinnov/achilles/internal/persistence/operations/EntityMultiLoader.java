@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.context.PersistenceContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+public class EntityMultiLoader {
+
+	private static final Logger log = LoggerFactory.getLogger(EntityMultiLoader.class);
+
+	/**
+	 * Load all entities asynchronously, keeping at most maxConcurrency reads
+	 * in flight. Keys whose entity is not found are absent from the returned
+	 * map, which otherwise preserves the iteration order of the contexts map
+	 */
+	public <K, T> Map<K, T> loadAll(Class<T> entityClass, Map<K, PersistenceContext> contexts, int maxConcurrency) {
+		log.debug("Loading {} entities of class {} with at most {} concurrent reads", contexts.size(), entityClass,
+				maxConcurrency);
+
+		final Semaphore inFlight = new Semaphore(maxConcurrency);
+		Runnable releasePermit = new Runnable() {
+			@Override
+			public void run() {
+				inFlight.release();
+			}
+		};
+
+		Map<K, ListenableFuture<T>> futures = new LinkedHashMap<>();
+		for (Entry<K, PersistenceContext> entry : contexts.entrySet()) {
+			inFlight.acquireUninterruptibly();
+			ListenableFuture<T> future;
+			try {
+				future = entry.getValue().findAsync(entityClass);
+			} catch (RuntimeException e) {
+				inFlight.release();
+				throw e;
+			}
+			future.addListener(releasePermit, MoreExecutors.sameThreadExecutor());
+			futures.put(entry.getKey(), future);
+		}
+
+		Map<K, T> entities = new LinkedHashMap<>();
+		for (Entry<K, ListenableFuture<T>> entry : futures.entrySet()) {
+			T entity = getResult(entry.getValue());
+			if (entity != null) {
+				entities.put(entry.getKey(), entity);
+			}
+		}
+		return entities;
+	}
+
+	private <T> T getResult(ListenableFuture<T> future) {
+		try {
+			return Uninterruptibles.getUninterruptibly(future);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new AchillesException(cause);
+		}
+	}
+}
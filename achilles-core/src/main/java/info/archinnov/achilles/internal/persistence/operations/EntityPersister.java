@@ -36,6 +36,7 @@ public class EntityPersister {
 			counterPersister.persistClusteredCounters(context);
 		} else {
             context.pushInsertStatement();
+            context.pushCacheInvalidation();
             counterPersister.persistCounters(context, entityMeta.getAllCounterMetas());
 		}
 	}
@@ -47,6 +48,7 @@ public class EntityPersister {
             context.bindForClusteredCounterRemoval();
         } else {
             context.bindForRemoval(entityMeta.getTableName());
+            context.pushCacheInvalidation();
             counterPersister.removeRelatedCounters(context);
         }
     }
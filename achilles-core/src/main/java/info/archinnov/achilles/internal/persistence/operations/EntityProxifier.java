@@ -15,16 +15,17 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.PROXY_CREATION;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.EntityInterceptor;
 import info.archinnov.achilles.internal.proxy.EntityInterceptorBuilder;
+import info.archinnov.achilles.internal.proxy.ProxyClassFactory;
 import info.archinnov.achilles.internal.reflection.ObjectInstantiator;
 
-import java.io.Serializable;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -32,9 +33,7 @@ import java.util.Map;
 import java.util.Set;
 
 import net.sf.cglib.proxy.Callback;
-import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.Factory;
-import net.sf.cglib.proxy.MethodInterceptor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +43,7 @@ public class EntityProxifier {
 	private static final Logger log = LoggerFactory.getLogger(EntityProxifier.class);
 
 	private ObjectInstantiator instantiator = new ObjectInstantiator();
+	private ProxyClassFactory proxyClassFactory = new ProxyClassFactory();
 
 	@SuppressWarnings("unchecked")
 	public <T> Class<T> deriveBaseClass(Object entity) {
@@ -59,40 +59,53 @@ public class EntityProxifier {
 	}
 
 	public <T> T buildProxyWithAllFieldsLoadedExceptCounters(T entity, PersistenceContext context) {
-		return buildProxy(entity, context, context.getAllGettersExceptCounters());
+		if (entity == null) {
+			return null;
+		}
+		return buildProxy(entity, context, (BitSet) context.getEntityMeta().getOrdinalsExceptCounters().clone());
+	}
+
+	public <T> T buildProxyWithEagerFieldsLoaded(T entity, PersistenceContext context) {
+		if (entity == null) {
+			return null;
+		}
+		return buildProxy(entity, context, (BitSet) context.getEntityMeta().getOrdinalsToLoad().clone());
 	}
 
 	public <T> T buildProxyWithNoFieldLoaded(T entity, PersistenceContext context) {
-		return buildProxy(entity, context, new HashSet<Method>());
+		return buildProxy(entity, context, new BitSet());
 	}
 
-	public <T> T buildProxy(T entity, PersistenceContext context, Set<Method> alreadyLoaded) {
+	public <T> T buildProxy(T entity, PersistenceContext context, BitSet loadedFlags) {
 
 		if (entity == null) {
 			return null;
 		}
 
 		log.debug("Build Cglib proxy for entity {} ", entity);
+		long start = System.nanoTime();
 
-		Enhancer enhancer = new Enhancer();
-		enhancer.setSuperclass(entity.getClass());
-		enhancer.setInterfaces(new Class[] { Serializable.class });
-		enhancer.setClassLoader(this.getClass().getClassLoader());
-		enhancer.setUseCache(true);
-		enhancer.setCallbackTypes(new Class[] { MethodInterceptor.class });
-		enhancer.setUseFactory(true);
-		final Class<?> proxyClass = enhancer.createClass();
+		EntityMeta meta = context.getEntityMeta();
+		Class<?> proxyClass = meta.getProxyClass();
+		if (proxyClass == null) {
+			proxyClass = proxyClassFactory.createProxyClass(entity.getClass());
+			meta.setProxyClass(proxyClass);
+		}
+		if (meta.getDispatchTable() == null) {
+			meta.setDispatchTable(proxyClassFactory.createDispatchTable(proxyClass, meta));
+		}
 
 		@SuppressWarnings("unchecked")
 		T instance = (T) instantiator.instantiate(proxyClass);
 
-		EntityMeta meta = context.getEntityMeta();
+		// unmapped methods also run on the proxy itself, which must then see
+		// the entity state
 		for (PropertyMeta pm : meta.getAllMetas()) {
-			Object value = pm.getValueFromField(entity);
-			pm.setValueToField(instance, value);
+			pm.setValueToField(instance, pm.getValueFromField(entity));
 		}
 
-		((Factory) instance).setCallbacks(new Callback[] { buildInterceptor(context, entity, alreadyLoaded) });
+		((Factory) instance).setCallbacks(new Callback[] { buildInterceptor(context, entity, loadedFlags) });
+		context.getMetrics().recordLatency(meta.getEntityClass(), PROXY_CREATION, System.nanoTime() - start);
 		return instance;
 	}
 
@@ -186,8 +199,8 @@ public class EntityProxifier {
 		return result;
 	}
 
-	public <T> EntityInterceptor<T> buildInterceptor(PersistenceContext context, T entity, Set<Method> alreadyLoaded) {
-		return new EntityInterceptorBuilder<>(context, entity).alreadyLoaded(alreadyLoaded).build();
+	public <T> EntityInterceptor<T> buildInterceptor(PersistenceContext context, T entity, BitSet loadedFlags) {
+		return new EntityInterceptorBuilder<>(context, entity).loadedFlags(loadedFlags).build();
 	}
 
 }
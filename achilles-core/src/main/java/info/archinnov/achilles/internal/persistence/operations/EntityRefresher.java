@@ -16,6 +16,7 @@
 package info.archinnov.achilles.internal.persistence.operations;
 
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
+import info.archinnov.achilles.internal.cache.EntityCache;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.proxy.EntityInterceptor;
 
@@ -36,8 +37,13 @@ public class EntityRefresher {
 		EntityInterceptor<Object> interceptor = proxifier.getInterceptor(proxifiedEntity);
 		Object entity = context.getEntity();
 
-		interceptor.getDirtyMap().clear();
+		interceptor.getDirtyFlags().clear();
+		interceptor.resetCollectionChangeLogs();
 
+		EntityCache entityCache = context.getEntityMeta().getEntityCache();
+		if (entityCache != null) {
+			entityCache.invalidate(primaryKey);
+		}
 		Object freshEntity = loader.load(context, context.getEntityClass());
 
 		if (freshEntity == null) {
@@ -45,7 +51,7 @@ public class EntityRefresher {
 					+ "' no longer exists in Cassandra");
 		}
 		interceptor.setTarget(freshEntity);
-		interceptor.getAlreadyLoaded().clear();
-		interceptor.getAlreadyLoaded().addAll(context.getAllGettersExceptCounters());
+		interceptor.getLoadedFlags().clear();
+		interceptor.getLoadedFlags().or(context.getEntityMeta().getOrdinalsToLoad());
 	}
 }
@@ -15,20 +15,19 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
-import static com.google.common.collect.FluentIterable.from;
-import static info.archinnov.achilles.internal.metadata.holder.PropertyType.excludeCounterType;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.EntityInterceptor;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChange;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeLog;
 import info.archinnov.achilles.internal.validation.Validator;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,14 +56,32 @@ public class EntityUpdater {
 		context.setEntity(realObject);
 
 		EntityInterceptor<Object> interceptor = proxifier.getInterceptor(entity);
-		Map<Method, PropertyMeta> dirtyMap = interceptor.getDirtyMap();
-		List<PropertyMeta> sortedDirtyNonCounterMetas = new ArrayList<>(from(dirtyMap.values()).filter(
-				excludeCounterType).toList());
+		BitSet dirtyFlags = interceptor.getDirtyFlags();
+		List<PropertyMeta> sortedDirtyNonCounterMetas = new ArrayList<>();
+		for (int ordinal = dirtyFlags.nextSetBit(0); ordinal >= 0; ordinal = dirtyFlags.nextSetBit(ordinal + 1)) {
+			PropertyMeta pm = entityMeta.getPropertyMetaByOrdinal(ordinal);
+			if (pm.isCounter()) {
+				continue;
+			}
+			CollectionChangeLog changeLog = interceptor.getCollectionChangeLog(pm);
+			if (changeLog != null && !changeLog.isOverwrite()) {
+				for (CollectionChange change : changeLog.getChanges()) {
+					log.trace("Push incremental {} for collection property {}", change, pm.getPropertyName());
+					context.pushCollectionUpdateStatement(pm, change);
+				}
+			} else {
+				sortedDirtyNonCounterMetas.add(pm);
+			}
+		}
 		if (sortedDirtyNonCounterMetas.size() > 0) {
 			Collections.sort(sortedDirtyNonCounterMetas, comparator);
 			context.pushUpdateStatement(sortedDirtyNonCounterMetas);
-			dirtyMap.clear();
 		}
+		if (!dirtyFlags.isEmpty()) {
+			context.pushCacheInvalidation();
+		}
+		dirtyFlags.clear();
+		interceptor.resetCollectionChangeLogs();
 
 		if (context.isClusteredCounter()) {
 			counterPersister.persistClusteredCounters(context);
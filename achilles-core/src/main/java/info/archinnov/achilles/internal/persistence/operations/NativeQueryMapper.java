@@ -48,14 +48,22 @@ public class NativeQueryMapper {
 		return result;
 	}
 
-	private void mapRow(List<TypedMap> result, Row row) {
+	public TypedMap mapRow(Row row) {
 		log.trace("Map CQL row to a map of <ColumnName,Value>");
+		TypedMap line = null;
 		ColumnDefinitions columnDefinitions = row.getColumnDefinitions();
 		if (columnDefinitions != null) {
-			TypedMap line = new TypedMap();
+			line = new TypedMap();
 			for (Definition column : columnDefinitions) {
 				mapColumn(row, line, column);
 			}
+		}
+		return line;
+	}
+
+	private void mapRow(List<TypedMap> result, Row row) {
+		TypedMap line = mapRow(row);
+		if (line != null) {
 			result.add(line);
 		}
 	}
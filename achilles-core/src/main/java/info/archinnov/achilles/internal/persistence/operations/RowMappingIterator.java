@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
+
+/**
+ * Lazily maps the rows of a result set, skipping rows mapped to null. Pages
+ * are fetched by the driver as the iteration goes
+ */
+public class RowMappingIterator<T> implements Iterator<T> {
+
+	private Iterator<Row> rows;
+	private Function<Row, T> mapping;
+	private T nextEntity;
+
+	public RowMappingIterator(Iterator<Row> rows, Function<Row, T> mapping) {
+		this.rows = rows;
+		this.mapping = mapping;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (nextEntity == null && rows.hasNext()) {
+			nextEntity = mapping.apply(rows.next());
+		}
+		return nextEntity != null;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		T entity = nextEntity;
+		nextEntity = null;
+		return entity;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Cannot remove query result with iterator");
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import info.archinnov.achilles.query.scan.TokenRange;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Track the completion of the token ranges of a scan. Ranges complete out of
+ * order, the resume token is the end of the longest run of completed ranges
+ * starting from the first one
+ */
+public class ScanProgress {
+
+	private final List<TokenRange> ranges;
+	private final boolean[] completed;
+	private int completedPrefix = 0;
+	private BigInteger resumeToken;
+
+	public ScanProgress(List<TokenRange> ranges, BigInteger resumeToken) {
+		this.ranges = ranges;
+		this.completed = new boolean[ranges.size()];
+		this.resumeToken = resumeToken;
+	}
+
+	public synchronized void complete(int rangeIndex) {
+		completed[rangeIndex] = true;
+		while (completedPrefix < completed.length && completed[completedPrefix]) {
+			resumeToken = ranges.get(completedPrefix).getEnd();
+			completedPrefix++;
+		}
+	}
+
+	public synchronized BigInteger getResumeToken() {
+		return resumeToken;
+	}
+}
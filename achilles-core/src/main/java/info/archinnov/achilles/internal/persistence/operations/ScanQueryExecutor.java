@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static info.archinnov.achilles.internal.consistency.ConsistencyConverter.getCQLLevel;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.SCAN;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.exception.AchillesScanException;
+import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.metadata.holder.ColumnIndexPlan;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.persistence.operations.TokenRangeSplitter.Partitioner;
+import info.archinnov.achilles.internal.statement.StatementGenerator;
+import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.SimpleStatementWrapper;
+import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.iterator.ScanIterator;
+import info.archinnov.achilles.query.scan.ScanQuery;
+import info.archinnov.achilles.query.scan.ScanRangeHandler;
+import info.archinnov.achilles.query.scan.TokenRange;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Pair;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+public class ScanQueryExecutor {
+
+	private static final Logger log = LoggerFactory.getLogger(ScanQueryExecutor.class);
+
+	static final String LOCAL_RING_QUERY = "SELECT partitioner,tokens FROM system.local";
+	static final String PEERS_RING_QUERY = "SELECT tokens FROM system.peers";
+
+	/**
+	 * Token ranges are split so that each scan thread gets several of them,
+	 * which balances uneven ranges and makes the resume token advance more
+	 * often
+	 */
+	static final int RANGES_PER_THREAD = 4;
+
+	private StatementGenerator generator = new StatementGenerator();
+	private TokenRangeSplitter splitter = new TokenRangeSplitter();
+	private EntityMapper mapper = new EntityMapper();
+	private DaoContext daoContext;
+	private ConsistencyLevel defaultReadLevel;
+
+	public ScanQueryExecutor(ConfigurationContext configContext, DaoContext daoContext) {
+		this.daoContext = daoContext;
+		this.defaultReadLevel = configContext.getDefaultReadConsistencyLevel();
+	}
+
+	public <T> ScanIterator<T> iterator(ScanQuery<T> scanQuery) {
+		log.debug("Get iterator for scan of entity class {}", scanQuery.getEntityClass());
+		final RangeReader<T> reader = newRangeReader(scanQuery);
+		List<TokenRange> ranges = reader.splitRing(scanQuery);
+		ExecutorService executor = newScanExecutor(scanQuery.getParallelism());
+		final ConcurrentScanIterator<T> iterator = new ConcurrentScanIterator<>(ranges.size(),
+				scanQuery.getPageSize(), new ScanProgress(ranges, scanQuery.getResumeToken()), executor);
+
+		for (int i = 0; i < ranges.size(); i++) {
+			final int rangeIndex = i;
+			final TokenRange range = ranges.get(i);
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						long start = System.nanoTime();
+						Iterator<T> entities = reader.read(range);
+						while (entities.hasNext()) {
+							if (!iterator.push(entities.next())) {
+								return;
+							}
+						}
+						reader.recordLatency(start);
+						iterator.completeRange(rangeIndex);
+					} catch (Throwable throwable) {
+						iterator.fail(throwable);
+					}
+				}
+			});
+		}
+		executor.shutdown();
+		return iterator;
+	}
+
+	public <T> void forEachRange(ScanQuery<T> scanQuery, final ScanRangeHandler<T> handler) {
+		log.debug("Scan entity class {} range by range", scanQuery.getEntityClass());
+		final RangeReader<T> reader = newRangeReader(scanQuery);
+		List<TokenRange> ranges = reader.splitRing(scanQuery);
+		final ScanProgress progress = new ScanProgress(ranges, scanQuery.getResumeToken());
+		ExecutorService executor = newScanExecutor(scanQuery.getParallelism());
+		CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+
+		try {
+			for (int i = 0; i < ranges.size(); i++) {
+				final int rangeIndex = i;
+				final TokenRange range = ranges.get(i);
+				completionService.submit(new Runnable() {
+					@Override
+					public void run() {
+						long start = System.nanoTime();
+						handler.onRange(range, reader.read(range));
+						reader.recordLatency(start);
+						progress.complete(rangeIndex);
+					}
+				}, null);
+			}
+			for (int i = 0; i < ranges.size(); i++) {
+				waitForRange(completionService, scanQuery, progress);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private <T> void waitForRange(CompletionService<Void> completionService, ScanQuery<T> scanQuery,
+			ScanProgress progress) {
+		try {
+			Future<Void> future = completionService.take();
+			future.get();
+		} catch (ExecutionException e) {
+			throw new AchillesScanException("Error while scanning entity class '"
+					+ scanQuery.getEntityClass().getCanonicalName() + "'", e.getCause(), progress.getResumeToken());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AchillesScanException("Interrupted while scanning entity class '"
+					+ scanQuery.getEntityClass().getCanonicalName() + "'", e, progress.getResumeToken());
+		}
+	}
+
+	private <T> RangeReader<T> newRangeReader(ScanQuery<T> scanQuery) {
+		EntityMeta meta = scanQuery.getMeta();
+		Validator.validateFalse(meta.isClusteredCounter(),
+				"Full table scan is not supported for clustered counter entity '%s'", meta.getClassName());
+
+		Pair<Partitioner, List<BigInteger>> ring = readRing();
+
+		PreparedStatement ps = daoContext.prepare(generator.generateSelectTokenRange(meta));
+
+		ConsistencyLevel consistencyLevel = scanQuery.getConsistencyLevel() != null ? scanQuery
+				.getConsistencyLevel() : defaultReadLevel;
+		return new RangeReader<>(scanQuery, ring, ps, meta.getSliceSelectColumnPlan(),
+				getCQLLevel(consistencyLevel));
+	}
+
+	private Pair<Partitioner, List<BigInteger>> readRing() {
+		Row localRow = daoContext.execute(new SimpleStatementWrapper(LOCAL_RING_QUERY, new Object[] {})).one();
+		if (localRow == null) {
+			throw new AchillesException("Cannot read the token ring from the 'system.local' table");
+		}
+		Partitioner partitioner = Partitioner.fromClassName(localRow.getString("partitioner"));
+
+		List<BigInteger> tokens = new ArrayList<>();
+		addTokens(tokens, localRow);
+		for (Row peerRow : daoContext.execute(new SimpleStatementWrapper(PEERS_RING_QUERY, new Object[] {})).all()) {
+			addTokens(tokens, peerRow);
+		}
+		log.debug("Read {} tokens from the ring using partitioner {}", tokens.size(), partitioner);
+		return Pair.create(partitioner, tokens);
+	}
+
+	private void addTokens(List<BigInteger> tokens, Row row) {
+		for (String token : row.getSet("tokens", String.class)) {
+			tokens.add(new BigInteger(token));
+		}
+	}
+
+	private ExecutorService newScanExecutor(int parallelism) {
+		return Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder().setNameFormat("achilles-scan-%d")
+				.setDaemon(true).build());
+	}
+
+	private class RangeReader<T> {
+		private final Class<T> entityClass;
+		private final EntityMeta meta;
+		private final Partitioner partitioner;
+		private final List<BigInteger> ringTokens;
+		private final PreparedStatement ps;
+		private final ColumnIndexPlan columnPlan;
+		private final com.datastax.driver.core.ConsistencyLevel consistencyLevel;
+		private final int pageSize;
+
+		private RangeReader(ScanQuery<T> scanQuery, Pair<Partitioner, List<BigInteger>> ring, PreparedStatement ps,
+				ColumnIndexPlan columnPlan, com.datastax.driver.core.ConsistencyLevel consistencyLevel) {
+			this.entityClass = scanQuery.getEntityClass();
+			this.meta = scanQuery.getMeta();
+			this.partitioner = ring.left;
+			this.ringTokens = ring.right;
+			this.ps = ps;
+			this.columnPlan = columnPlan;
+			this.consistencyLevel = consistencyLevel;
+			this.pageSize = scanQuery.getPageSize();
+		}
+
+		private List<TokenRange> splitRing(ScanQuery<T> scanQuery) {
+			return splitter.split(partitioner, ringTokens, scanQuery.getParallelism() * RANGES_PER_THREAD,
+					scanQuery.getResumeToken());
+		}
+
+		private Iterator<T> read(TokenRange range) {
+			log.trace("Scan token range {} of entity class {}", range, entityClass);
+			Object[] boundValues = new Object[] { partitioner.toCQLToken(range.getStart()),
+					partitioner.toCQLToken(range.getEnd()) };
+			BoundStatement bs = ps.bind(boundValues);
+			bs.setFetchSize(pageSize);
+			ResultSet resultSet = daoContext.execute(new BoundStatementWrapper(bs, boundValues, consistencyLevel));
+			return Iterators.transform(resultSet.iterator(), new Function<Row, T>() {
+				@Override
+				public T apply(Row row) {
+					T entity = meta.instanciate();
+					mapper.setNonCounterPropertiesToEntity(row, meta, columnPlan, entity);
+					meta.intercept(entity, Event.POST_LOAD);
+					return entity;
+				}
+			});
+		}
+
+		private void recordLatency(long start) {
+			daoContext.getMetrics().recordLatency(entityClass, SCAN, System.nanoTime() - start);
+		}
+	}
+}
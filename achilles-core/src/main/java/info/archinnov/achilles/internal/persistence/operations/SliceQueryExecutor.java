@@ -15,7 +15,10 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.ROW_MAPPING;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.SLICE;
 import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.cache.EntityCache;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
@@ -24,6 +27,7 @@ import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.statement.StatementGenerator;
 import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
 import info.archinnov.achilles.iterator.SliceQueryIterator;
+import info.archinnov.achilles.metrics.AchillesMetrics;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
 import info.archinnov.achilles.query.slice.SliceQuery;
 import info.archinnov.achilles.type.ConsistencyLevel;
@@ -35,6 +39,7 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.google.common.base.Function;
 import com.google.common.collect.Lists;
@@ -59,7 +64,9 @@ public class SliceQueryExecutor {
 
 	public <T> List<T> get(SliceQuery<T> sliceQuery) {
 		log.debug("Get slice query");
+		long start = System.nanoTime();
 		EntityMeta meta = sliceQuery.getMeta();
+		AchillesMetrics metrics = daoContext.getMetrics();
 
 		List<T> clusteredEntities = new ArrayList<>();
 
@@ -68,13 +75,20 @@ public class SliceQueryExecutor {
 				cqlSliceQuery.getLimit(), cqlSliceQuery.getBatchSize());
 		List<Row> rows = daoContext.execute(statementWrapper).all();
 
+		long mappingStart = System.nanoTime();
 		for (Row row : rows) {
 			T clusteredEntity = meta.instanciate();
-			mapper.setNonCounterPropertiesToEntity(row, meta, clusteredEntity);
+			mapper.setNonCounterPropertiesToEntity(row, meta, meta.getSliceSelectColumnPlan(), clusteredEntity);
 			meta.intercept(clusteredEntity, Event.POST_LOAD);
 			clusteredEntities.add(clusteredEntity);
 		}
+		long end = System.nanoTime();
+		metrics.recordLatency(sliceQuery.getEntityClass(), ROW_MAPPING, end - mappingStart);
+		metrics.recordLatency(sliceQuery.getEntityClass(), SLICE, end - start);
 
+		if (sliceQuery.isDetached()) {
+			return clusteredEntities;
+		}
 		return Lists.transform(clusteredEntities, this.<T> getProxyTransformer());
 	}
 
@@ -83,9 +97,9 @@ public class SliceQueryExecutor {
 		CQLSliceQuery<T> cqlSliceQuery = new CQLSliceQuery<>(sliceQuery, defaultReadLevel);
 		RegularStatementWrapper statementWrapper = generator.generateSelectSliceQuery(cqlSliceQuery,
 				cqlSliceQuery.getLimit(), cqlSliceQuery.getBatchSize());
-		Iterator<Row> iterator = daoContext.execute(statementWrapper).iterator();
-		PersistenceContext context = buildContextForQuery(sliceQuery);
-		return new SliceQueryIterator<>(cqlSliceQuery, context, iterator);
+		ResultSet resultSet = daoContext.execute(statementWrapper);
+		PersistenceContext context = sliceQuery.isDetached() ? null : buildContextForQuery(sliceQuery);
+		return new SliceQueryIterator<>(cqlSliceQuery, context, resultSet);
 	}
 
 	public <T> void remove(SliceQuery<T> sliceQuery) {
@@ -94,6 +108,11 @@ public class SliceQueryExecutor {
 		cqlSliceQuery.validateSliceQueryForRemove();
 		final RegularStatementWrapper statementWrapper = generator.generateRemoveSliceQuery(cqlSliceQuery);
 		daoContext.execute(statementWrapper);
+
+		EntityCache entityCache = sliceQuery.getMeta().getEntityCache();
+		if (entityCache != null) {
+			entityCache.invalidateAll();
+		}
 	}
 
 	protected <T> PersistenceContext buildContextForQuery(SliceQuery<T> sliceQuery) {
@@ -109,7 +128,7 @@ public class SliceQueryExecutor {
 			@Override
 			public T apply(T clusteredEntity) {
 				PersistenceContext context = contextFactory.newContext(clusteredEntity);
-				return proxifier.buildProxyWithAllFieldsLoadedExceptCounters(clusteredEntity, context);
+				return proxifier.buildProxyWithEagerFieldsLoaded(clusteredEntity, context);
 			}
 		};
 	}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.query.scan.TokenRange;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class TokenRangeSplitter {
+
+	private static final Logger log = LoggerFactory.getLogger(TokenRangeSplitter.class);
+
+	public static enum Partitioner {
+		MURMUR3("org.apache.cassandra.dht.Murmur3Partitioner", BigInteger.valueOf(Long.MIN_VALUE), BigInteger
+				.valueOf(Long.MAX_VALUE)) {
+			@Override
+			public Object toCQLToken(BigInteger token) {
+				return token.longValue();
+			}
+		},
+		RANDOM("org.apache.cassandra.dht.RandomPartitioner", BigInteger.ONE.negate(), BigInteger.ONE.shiftLeft(127)) {
+			@Override
+			public Object toCQLToken(BigInteger token) {
+				return token;
+			}
+		};
+
+		private final String className;
+		private final BigInteger minToken;
+		private final BigInteger maxToken;
+
+		private Partitioner(String className, BigInteger minToken, BigInteger maxToken) {
+			this.className = className;
+			this.minToken = minToken;
+			this.maxToken = maxToken;
+		}
+
+		public BigInteger getMinToken() {
+			return minToken;
+		}
+
+		public BigInteger getMaxToken() {
+			return maxToken;
+		}
+
+		/**
+		 * Convert the token to the type returned by the CQL token() function
+		 * for this partitioner
+		 */
+		public abstract Object toCQLToken(BigInteger token);
+
+		public static Partitioner fromClassName(String className) {
+			for (Partitioner partitioner : values()) {
+				if (partitioner.className.equals(className)) {
+					return partitioner;
+				}
+			}
+			throw new AchillesException("Full table scan is not supported with the partitioner '" + className
+					+ "', only Murmur3Partitioner and RandomPartitioner are");
+		}
+	}
+
+	/**
+	 * Split the whole token space into ranges bounded by the tokens owned by
+	 * the nodes. Ranges are split further until there are at least minRanges
+	 * of them. When a resume token is provided, only the part of the ring
+	 * strictly after it is kept
+	 * 
+	 * @return ranges sorted by token
+	 */
+	public List<TokenRange> split(Partitioner partitioner, Collection<BigInteger> ringTokens, int minRanges,
+			BigInteger resumeToken) {
+		log.debug("Split token ring of {} tokens into at least {} ranges", ringTokens.size(), minRanges);
+
+		BigInteger minToken = partitioner.getMinToken();
+		BigInteger maxToken = partitioner.getMaxToken();
+
+		TreeSet<BigInteger> boundaries = new TreeSet<>();
+		for (BigInteger token : ringTokens) {
+			if (token.compareTo(minToken) > 0 && token.compareTo(maxToken) <= 0) {
+				boundaries.add(token);
+			}
+		}
+		boundaries.add(maxToken);
+
+		List<TokenRange> ringRanges = new ArrayList<>();
+		BigInteger start = minToken;
+		for (BigInteger end : boundaries) {
+			ringRanges.add(new TokenRange(start, end));
+			start = end;
+		}
+
+		int splitsPerRange = (minRanges + ringRanges.size() - 1) / ringRanges.size();
+		List<TokenRange> ranges = new ArrayList<>();
+		for (TokenRange range : ringRanges) {
+			for (TokenRange subRange : splitRange(range, splitsPerRange)) {
+				if (resumeToken == null || subRange.getStart().compareTo(resumeToken) >= 0) {
+					ranges.add(subRange);
+				} else if (subRange.getEnd().compareTo(resumeToken) > 0) {
+					ranges.add(new TokenRange(resumeToken, subRange.getEnd()));
+				}
+			}
+		}
+		return ranges;
+	}
+
+	private List<TokenRange> splitRange(TokenRange range, int splits) {
+		List<TokenRange> subRanges = new ArrayList<>();
+		BigInteger step = range.getEnd().subtract(range.getStart()).divide(BigInteger.valueOf(splits));
+		if (splits <= 1 || step.signum() == 0) {
+			subRanges.add(range);
+			return subRanges;
+		}
+		BigInteger start = range.getStart();
+		for (int i = 1; i < splits; i++) {
+			BigInteger end = start.add(step);
+			subRanges.add(new TokenRange(start, end));
+			start = end;
+		}
+		subRanges.add(new TokenRange(start, range.getEnd()));
+		return subRanges;
+	}
+}
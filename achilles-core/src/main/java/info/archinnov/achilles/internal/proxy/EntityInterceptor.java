@@ -20,6 +20,7 @@ import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.CounterLoader;
 import info.archinnov.achilles.internal.persistence.operations.EntityLoader;
 import info.archinnov.achilles.internal.persistence.operations.InternalCounterBuilder;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeLog;
 import info.archinnov.achilles.internal.proxy.wrapper.builder.ListWrapperBuilder;
 import info.archinnov.achilles.internal.proxy.wrapper.builder.MapWrapperBuilder;
 import info.archinnov.achilles.internal.proxy.wrapper.builder.SetWrapperBuilder;
@@ -27,6 +28,9 @@ import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.type.Counter;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -41,18 +45,18 @@ public class EntityInterceptor<T> implements MethodInterceptor, ProxySerializabl
 
 	private static final transient Logger log = LoggerFactory.getLogger(EntityInterceptor.class);
 
+	private static final CollectionChangeLog[] NO_CHANGE_LOG = new CollectionChangeLog[0];
+
 	private transient EntityLoader loader = new EntityLoader();
 	private transient CounterLoader counterLoader = new CounterLoader();
 	private transient ReflectionInvoker invoker = new ReflectionInvoker();
 
 	private transient T target;
 	private transient Object primaryKey;
-	private transient Method idGetter;
-	private transient Method idSetter;
-	private transient Map<Method, PropertyMeta> getterMetas;
-	private transient Map<Method, PropertyMeta> setterMetas;
-	private transient Map<Method, PropertyMeta> dirtyMap;
-	private transient Set<Method> alreadyLoaded;
+	private transient ProxyDispatchTable dispatchTable;
+	private transient BitSet dirtyFlags;
+	private transient BitSet loadedFlags;
+	private transient CollectionChangeLog[] collectionChangeLogs = NO_CHANGE_LOG;
 	private transient PersistenceContext context;
 
 	public Object getTarget() {
@@ -61,39 +65,53 @@ public class EntityInterceptor<T> implements MethodInterceptor, ProxySerializabl
 
 	@Override
 	public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
-		log.trace("Method {} called for entity of class {}", method.getName(), target.getClass().getCanonicalName());
-
-		if (idGetter.equals(method)) {
-			return primaryKey;
-		} else if (idSetter.equals(method)) {
-			throw new IllegalAccessException("Cannot change primary key value for existing entity ");
+		if (log.isTraceEnabled()) {
+			log.trace("Method {} called for entity of class {}", method.getName(), target.getClass()
+					.getCanonicalName());
 		}
 
+		int methodIndex = proxy.getSuperIndex();
 		Object result = null;
-		if (this.getterMetas.containsKey(method)) {
-			result = interceptGetter(method);
-		} else if (this.setterMetas.containsKey(method)) {
-			interceptSetter(method, obj, args);
-		} else {
+		switch (dispatchTable.getRole(methodIndex)) {
+		case ID_GETTER:
+			result = primaryKey;
+			break;
+		case ID_SETTER:
+			throw new IllegalAccessException("Cannot change primary key value for existing entity ");
+		case GETTER:
+			result = interceptGetter(dispatchTable.getPropertyMeta(methodIndex));
+			break;
+		case SETTER:
+			interceptSetter(dispatchTable.getPropertyMeta(methodIndex), obj, args);
+			break;
+		default:
+			// run on the proxy first, which holds a copy of the entity state, so
+			// that calls to its own getters/setters from a business method go
+			// through lazy loading and dirty checking
 			proxy.invokeSuper(obj, args);
 			result = proxy.invoke(target, args);
+			break;
 		}
 		return result;
 	}
 
-	private Object interceptGetter(Method method) throws Throwable {
+	private Object interceptGetter(PropertyMeta propertyMeta) throws Throwable {
 		Object result = null;
-		PropertyMeta propertyMeta = this.getterMetas.get(method);
 
 		// Load fields into target object
-		if (!this.alreadyLoaded.contains(method)) {
+		if (!this.loadedFlags.get(propertyMeta.getOrdinal())) {
 			log.trace("Loading property {}", propertyMeta.getPropertyName());
 			if (context.isClusteredCounter()) {
 				counterLoader.loadClusteredCounterColumn(context, target, propertyMeta);
+			} else if (propertyMeta.isCounter()) {
+				loadPendingCounters(propertyMeta);
+			} else if (propertyMeta.getFetchGroup() != null) {
+				log.trace("Loading fetch group {}", propertyMeta.getFetchGroup());
+				fetch(context.getEntityMeta().getFetchGroup(propertyMeta.getFetchGroup()));
 			} else {
 				loader.loadPropertyIntoObject(context, target, propertyMeta);
 			}
-			alreadyLoaded.add(method);
+			loadedFlags.set(propertyMeta.getOrdinal());
 		}
 
 		log.trace("Get value from field {} on real object", propertyMeta.getPropertyName());
@@ -115,8 +133,8 @@ public class EntityInterceptor<T> implements MethodInterceptor, ProxySerializabl
 
 				@SuppressWarnings("unchecked")
 				List<Object> list = (List<Object>) rawValue;
-				result = ListWrapperBuilder.builder(context, list).dirtyMap(dirtyMap).setter(propertyMeta.getSetter())
-						.propertyMeta(this.getPropertyMetaByProperty(method)).build();
+				result = ListWrapperBuilder.builder(context, list).dirtyFlags(dirtyFlags).propertyMeta(propertyMeta)
+						.changeLog(getChangeLog(propertyMeta)).build();
 			}
 			break;
 		case SET:
@@ -126,8 +144,8 @@ public class EntityInterceptor<T> implements MethodInterceptor, ProxySerializabl
 
 				@SuppressWarnings("unchecked")
 				Set<Object> set = (Set<Object>) rawValue;
-				result = SetWrapperBuilder.builder(context, set).dirtyMap(dirtyMap).setter(propertyMeta.getSetter())
-						.propertyMeta(this.getPropertyMetaByProperty(method)).build();
+				result = SetWrapperBuilder.builder(context, set).dirtyFlags(dirtyFlags).propertyMeta(propertyMeta)
+						.changeLog(getChangeLog(propertyMeta)).build();
 			}
 			break;
 		case MAP:
@@ -137,8 +155,8 @@ public class EntityInterceptor<T> implements MethodInterceptor, ProxySerializabl
 
 				@SuppressWarnings("unchecked")
 				Map<Object, Object> map = (Map<Object, Object>) rawValue;
-				result = MapWrapperBuilder.builder(context, map).dirtyMap(dirtyMap).setter(propertyMeta.getSetter())
-						.propertyMeta(this.getPropertyMetaByProperty(method)).build();
+				result = MapWrapperBuilder.builder(context, map).dirtyFlags(dirtyFlags).propertyMeta(propertyMeta)
+						.changeLog(getChangeLog(propertyMeta)).build();
 			}
 			break;
 		default:
@@ -151,20 +169,79 @@ public class EntityInterceptor<T> implements MethodInterceptor, ProxySerializabl
 		return result;
 	}
 
-	private void interceptSetter(Method method, Object obj, Object[] args) throws Throwable {
-		PropertyMeta propertyMeta = this.setterMetas.get(method);
+	/**
+	 * Load the given properties which are not loaded yet: columns with a
+	 * single SELECT and counters with a single query
+	 */
+	public void fetch(List<PropertyMeta> propertyMetas) {
+		List<PropertyMeta> pendingColumns = new ArrayList<>();
+		List<PropertyMeta> pendingCounters = new ArrayList<>();
+		for (PropertyMeta propertyMeta : propertyMetas) {
+			if (!loadedFlags.get(propertyMeta.getOrdinal())) {
+				if (context.isClusteredCounter()) {
+					counterLoader.loadClusteredCounterColumn(context, target, propertyMeta);
+					loadedFlags.set(propertyMeta.getOrdinal());
+				} else if (propertyMeta.isCounter()) {
+					pendingCounters.add(propertyMeta);
+				} else {
+					pendingColumns.add(propertyMeta);
+				}
+			}
+		}
+
+		if (pendingColumns.size() == 1) {
+			loader.loadPropertyIntoObject(context, target, pendingColumns.get(0));
+		} else if (pendingColumns.size() > 1) {
+			log.trace("Loading properties {} in one query", pendingColumns);
+			loader.loadPropertiesIntoObject(context, target, pendingColumns);
+		}
+		for (PropertyMeta columnMeta : pendingColumns) {
+			loadedFlags.set(columnMeta.getOrdinal());
+		}
+
+		// counters with a different read consistency level need their own query
+		for (PropertyMeta counterMeta : pendingCounters) {
+			if (!loadedFlags.get(counterMeta.getOrdinal())) {
+				loadPendingCounters(counterMeta);
+			}
+		}
+	}
+
+	private void loadPendingCounters(PropertyMeta requestedMeta) {
+		List<PropertyMeta> pendingCounters = new ArrayList<>();
+		for (PropertyMeta counterMeta : context.getAllCountersMeta()) {
+			if (!loadedFlags.get(counterMeta.getOrdinal())) {
+				pendingCounters.add(counterMeta);
+			}
+		}
+
+		log.trace("Loading counters {} in one query", pendingCounters);
+		List<PropertyMeta> loadedCounters = counterLoader.loadCounters(context, target, requestedMeta,
+				pendingCounters);
+		for (PropertyMeta counterMeta : loadedCounters) {
+			loadedFlags.set(counterMeta.getOrdinal());
+		}
+	}
+
+	private void interceptSetter(PropertyMeta propertyMeta, Object obj, Object[] args) throws Throwable {
 
 		switch (propertyMeta.type()) {
 		case COUNTER:
 			throw new UnsupportedOperationException(
 					"Cannot set value directly to a Counter type. Please call the getter first to get handle on the wrapper");
+		case LIST:
+		case SET:
+		case MAP:
+			getChangeLog(propertyMeta).markOverwrite();
+			break;
 		default:
 			break;
 		}
 
 		log.trace("Flagging property {}", propertyMeta.getPropertyName());
 
-		dirtyMap.put(method, propertyMeta);
+		dirtyFlags.set(propertyMeta.getOrdinal());
+		loadedFlags.set(propertyMeta.getOrdinal());
 		Object value = null;
 		if (args.length > 0) {
 			value = args[0];
@@ -178,12 +255,39 @@ public class EntityInterceptor<T> implements MethodInterceptor, ProxySerializabl
 		return this.target;
 	}
 
-	public Map<Method, PropertyMeta> getDirtyMap() {
-		return dirtyMap;
+	/**
+	 * Dirty properties of the entity, indexed by property ordinal
+	 */
+	public BitSet getDirtyFlags() {
+		return dirtyFlags;
+	}
+
+	/**
+	 * @return the change log recorded for a collection property, or null if
+	 *         the property has not been accessed through this proxy
+	 */
+	public CollectionChangeLog getCollectionChangeLog(PropertyMeta propertyMeta) {
+		int ordinal = propertyMeta.getOrdinal();
+		return ordinal < collectionChangeLogs.length ? collectionChangeLogs[ordinal] : null;
 	}
 
-	public Set<Method> getAlreadyLoaded() {
-		return alreadyLoaded;
+	/**
+	 * Reset collection change logs in place after a flush or a refresh.
+	 * Wrappers returned earlier keep recording into the same logs
+	 */
+	public void resetCollectionChangeLogs() {
+		for (CollectionChangeLog changeLog : collectionChangeLogs) {
+			if (changeLog != null) {
+				changeLog.reset();
+			}
+		}
+	}
+
+	/**
+	 * Loaded properties of the entity, indexed by property ordinal
+	 */
+	public BitSet getLoadedFlags() {
+		return loadedFlags;
 	}
 
 	public Object getPrimaryKey() {
@@ -198,28 +302,16 @@ public class EntityInterceptor<T> implements MethodInterceptor, ProxySerializabl
 		this.primaryKey = key;
 	}
 
-	void setIdGetter(Method idGetter) {
-		this.idGetter = idGetter;
-	}
-
-	void setIdSetter(Method idSetter) {
-		this.idSetter = idSetter;
-	}
-
-	void setGetterMetas(Map<Method, PropertyMeta> getterMetas) {
-		this.getterMetas = getterMetas;
-	}
-
-	void setSetterMetas(Map<Method, PropertyMeta> setterMetas) {
-		this.setterMetas = setterMetas;
+	void setDispatchTable(ProxyDispatchTable dispatchTable) {
+		this.dispatchTable = dispatchTable;
 	}
 
-	void setDirtyMap(Map<Method, PropertyMeta> dirtyMap) {
-		this.dirtyMap = dirtyMap;
+	void setDirtyFlags(BitSet dirtyFlags) {
+		this.dirtyFlags = dirtyFlags;
 	}
 
-	void setAlreadyLoaded(Set<Method> lazyLoaded) {
-		this.alreadyLoaded = lazyLoaded;
+	void setLoadedFlags(BitSet loadedFlags) {
+		this.loadedFlags = loadedFlags;
 	}
 
 	public PersistenceContext getContext() {
@@ -230,7 +322,16 @@ public class EntityInterceptor<T> implements MethodInterceptor, ProxySerializabl
 		this.context = context;
 	}
 
-	private PropertyMeta getPropertyMetaByProperty(Method method) {
-		return getterMetas.get(method);
+	private CollectionChangeLog getChangeLog(PropertyMeta propertyMeta) {
+		int ordinal = propertyMeta.getOrdinal();
+		if (ordinal >= collectionChangeLogs.length) {
+			collectionChangeLogs = Arrays.copyOf(collectionChangeLogs, ordinal + 1);
+		}
+		CollectionChangeLog changeLog = collectionChangeLogs[ordinal];
+		if (changeLog == null) {
+			changeLog = CollectionChangeLog.forProperty(propertyMeta);
+			collectionChangeLogs[ordinal] = changeLog;
+		}
+		return changeLog;
 	}
 }
@@ -17,13 +17,9 @@ package info.archinnov.achilles.internal.proxy;
 
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
-import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.validation.Validator;
 
-import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.BitSet;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,7 +28,7 @@ public class EntityInterceptorBuilder<T> {
 	private static final Logger log = LoggerFactory.getLogger(EntityInterceptorBuilder.class);
 
 	private T target;
-	private Set<Method> alreadyLoaded = new HashSet<>();
+	private BitSet loadedFlags = new BitSet();
 	private PersistenceContext context;
 
 	public static <T> EntityInterceptorBuilder<T> builder(PersistenceContext context, T entity) {
@@ -55,26 +51,21 @@ public class EntityInterceptorBuilder<T> {
 
 		String className = context.getEntityClass().getCanonicalName();
 		Validator.validateNotNull(target, "Target object for interceptor of '%s' should not be null", className);
-		Validator.validateNotNull(entityMeta.getGetterMetas(),
-				"Getters metadata for interceptor of '%s' should not be null", className);
-		Validator.validateNotNull(entityMeta.getSetterMetas(),
-				"Setters metadata for interceptor of '%s' should not be null", className);
+		Validator.validateNotNull(entityMeta.getDispatchTable(),
+				"Dispatch table for interceptor of '%s' should not be null", className);
 		Validator.validateNotNull(entityMeta.getIdMeta(), "Id metadata for '%s' should not be null", className);
 
 		interceptor.setTarget(target);
 		interceptor.setContext(context);
-		interceptor.setGetterMetas(entityMeta.getGetterMetas());
-		interceptor.setSetterMetas(entityMeta.getSetterMetas());
-		interceptor.setIdGetter(entityMeta.getIdMeta().getGetter());
-		interceptor.setIdSetter(entityMeta.getIdMeta().getSetter());
-		interceptor.setDirtyMap(new HashMap<Method, PropertyMeta>());
+		interceptor.setDispatchTable(entityMeta.getDispatchTable());
+		interceptor.setDirtyFlags(new BitSet());
 		interceptor.setPrimaryKey(context.getPrimaryKey());
-		interceptor.setAlreadyLoaded(alreadyLoaded);
+		interceptor.setLoadedFlags(loadedFlags);
 		return interceptor;
 	}
 
-	public EntityInterceptorBuilder<T> alreadyLoaded(Set<Method> alreadyLoaded) {
-		this.alreadyLoaded = alreadyLoaded;
+	public EntityInterceptorBuilder<T> loadedFlags(BitSet loadedFlags) {
+		this.loadedFlags = loadedFlags;
 		return this;
 	}
 }
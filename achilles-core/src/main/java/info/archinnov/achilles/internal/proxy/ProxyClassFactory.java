@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.proxy;
+
+import static info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole.GETTER;
+import static info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole.ID_GETTER;
+import static info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole.ID_SETTER;
+import static info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole.SETTER;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+
+import net.sf.cglib.core.ReflectUtils;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ProxyClassFactory {
+	private static final Logger log = LoggerFactory.getLogger(ProxyClassFactory.class);
+
+	/**
+	 * Generate the Cglib proxy class for an entity class. The generated class
+	 * has a single {@link MethodInterceptor} callback slot and implements
+	 * {@link net.sf.cglib.proxy.Factory}
+	 * 
+	 * @param entityClass
+	 *            raw entity class
+	 * @return proxy class
+	 */
+	public Class<?> createProxyClass(Class<?> entityClass) {
+		log.debug("Generate Cglib proxy class for entity class {}", entityClass.getCanonicalName());
+
+		Enhancer enhancer = new Enhancer();
+		enhancer.setSuperclass(entityClass);
+		enhancer.setInterfaces(new Class[] { Serializable.class });
+		enhancer.setClassLoader(this.getClass().getClassLoader());
+		enhancer.setUseCache(true);
+		enhancer.setCallbackTypes(new Class[] { MethodInterceptor.class });
+		enhancer.setUseFactory(true);
+		return enhancer.createClass();
+	}
+
+	/**
+	 * Build the dispatch table of a generated proxy class. Each getter and
+	 * setter of the entity is registered under the super index of its Cglib
+	 * {@link MethodProxy}, which is the index handed to the interceptor at
+	 * call time
+	 * 
+	 * @param proxyClass
+	 *            generated proxy class
+	 * @param entityMeta
+	 *            entity meta
+	 * @return dispatch table
+	 */
+	public ProxyDispatchTable createDispatchTable(Class<?> proxyClass, EntityMeta entityMeta) {
+		log.debug("Build dispatch table for proxy class of entity {}", entityMeta.getClassName());
+
+		ProxyDispatchTable dispatchTable = new ProxyDispatchTable();
+		for (PropertyMeta pm : entityMeta.getAllMetasExceptId()) {
+			register(dispatchTable, proxyClass, pm.getGetter(), GETTER, pm);
+			register(dispatchTable, proxyClass, pm.getSetter(), SETTER, pm);
+		}
+		PropertyMeta idMeta = entityMeta.getIdMeta();
+		register(dispatchTable, proxyClass, idMeta.getGetter(), ID_GETTER, idMeta);
+		register(dispatchTable, proxyClass, idMeta.getSetter(), ID_SETTER, idMeta);
+		return dispatchTable;
+	}
+
+	private void register(ProxyDispatchTable dispatchTable, Class<?> proxyClass, Method method, MethodRole role,
+			PropertyMeta pm) {
+		if (method != null) {
+			MethodProxy methodProxy = MethodProxy.find(proxyClass, ReflectUtils.getSignature(method));
+			if (methodProxy != null) {
+				dispatchTable.register(methodProxy.getSuperIndex(), role, pm);
+			}
+		}
+	}
+}
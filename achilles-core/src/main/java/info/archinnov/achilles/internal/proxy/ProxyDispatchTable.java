@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.proxy;
+
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+import java.util.Arrays;
+
+/**
+ * Per proxy class dispatch table resolving an intercepted method to its role
+ * and property meta by the Cglib method index of the proxy class, avoiding
+ * any {@link java.lang.reflect.Method} hash lookup on the interception path
+ */
+public class ProxyDispatchTable {
+
+	public static enum MethodRole {
+		PASS_THROUGH, ID_GETTER, ID_SETTER, GETTER, SETTER
+	}
+
+	private MethodRole[] roles = new MethodRole[0];
+	private PropertyMeta[] propertyMetas = new PropertyMeta[0];
+
+	public MethodRole getRole(int methodIndex) {
+		if (methodIndex >= 0 && methodIndex < roles.length && roles[methodIndex] != null) {
+			return roles[methodIndex];
+		}
+		return MethodRole.PASS_THROUGH;
+	}
+
+	public PropertyMeta getPropertyMeta(int methodIndex) {
+		return propertyMetas[methodIndex];
+	}
+
+	public void register(int methodIndex, MethodRole role, PropertyMeta propertyMeta) {
+		if (methodIndex >= roles.length) {
+			roles = Arrays.copyOf(roles, methodIndex + 1);
+			propertyMetas = Arrays.copyOf(propertyMetas, methodIndex + 1);
+		}
+		roles[methodIndex] = role;
+		propertyMetas[methodIndex] = propertyMeta;
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.proxy.dirtycheck;
+
+/**
+ * One incremental operation on a collection column. Depending on the
+ * {@link CollectionChangeType}, the value is a Set, a List, a Map or a
+ * single list element and the key is a list index or a map key
+ */
+public class CollectionChange {
+	private final CollectionChangeType type;
+	private final Object key;
+	private final Object value;
+
+	public CollectionChange(CollectionChangeType type, Object value) {
+		this(type, null, value);
+	}
+
+	public CollectionChange(CollectionChangeType type, Object key, Object value) {
+		this.type = type;
+		this.key = key;
+		this.value = value;
+	}
+
+	public CollectionChangeType getType() {
+		return type;
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> T getKey() {
+		return (T) key;
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> T getValue() {
+		return (T) value;
+	}
+
+	@Override
+	public String toString() {
+		return type + "[key=" + key + ", value=" + value + "]";
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.proxy.dirtycheck;
+
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mutations applied to a collection property through its wrapper since the
+ * last flush. The base implementation cannot express any mutation
+ * incrementally and falls back to a full overwrite of the column
+ */
+public class CollectionChangeLog {
+
+	private boolean overwrite = false;
+
+	public static CollectionChangeLog forProperty(PropertyMeta pm) {
+		switch (pm.type()) {
+		case SET:
+			return new SetChangeLog();
+		case LIST:
+			return new ListChangeLog();
+		case MAP:
+			return new MapChangeLog();
+		default:
+			return new CollectionChangeLog();
+		}
+	}
+
+	public void add(Collection<?> elements) {
+		markOverwrite();
+	}
+
+	public void remove(Collection<?> elements) {
+		markOverwrite();
+	}
+
+	public void prepend(List<?> elements) {
+		markOverwrite();
+	}
+
+	public void setAt(int index, Object element) {
+		markOverwrite();
+	}
+
+	public void put(Map<?, ?> entries) {
+		markOverwrite();
+	}
+
+	public void removeKey(Object key) {
+		markOverwrite();
+	}
+
+	/**
+	 * The whole collection is replaced or cleared, recorded mutations are
+	 * discarded and the column will be re-written entirely
+	 */
+	public void markOverwrite() {
+		overwrite = true;
+		clearChanges();
+	}
+
+	public boolean isOverwrite() {
+		return overwrite;
+	}
+
+	/**
+	 * @return incremental operations to apply, empty when
+	 *         {@link #isOverwrite()}
+	 */
+	public List<CollectionChange> getChanges() {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Log for a view whose positions or elements do not map directly to the
+	 * column, like a sub list. Any mutation through it overwrites this log
+	 * 
+	 * @return overwrite-only log bound to this one
+	 */
+	public CollectionChangeLog overwriteOnlyView() {
+		final CollectionChangeLog parent = this;
+		return new CollectionChangeLog() {
+			@Override
+			public void markOverwrite() {
+				parent.markOverwrite();
+			}
+		};
+	}
+
+	public void reset() {
+		overwrite = false;
+		clearChanges();
+	}
+
+	protected void clearChanges() {
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.proxy.dirtycheck;
+
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.APPEND_TO_LIST;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.PREPEND_TO_LIST;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.REMOVE_FROM_LIST;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.SET_TO_LIST_AT_INDEX;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * List operations are positional, so only one kind of operation (append,
+ * prepend, set at index or discard) can be recorded between two flushes.
+ * Mixing kinds falls back to a full overwrite
+ */
+public class ListChangeLog extends CollectionChangeLog {
+
+	private CollectionChangeType changeType;
+	private List<Object> elements = new ArrayList<>();
+	private TreeMap<Integer, Object> elementsAtIndex = new TreeMap<>();
+
+	@Override
+	public void add(Collection<?> elements) {
+		if (accept(APPEND_TO_LIST)) {
+			this.elements.addAll(elements);
+		}
+	}
+
+	@Override
+	public void prepend(List<?> elements) {
+		if (accept(PREPEND_TO_LIST)) {
+			this.elements.addAll(0, elements);
+		}
+	}
+
+	@Override
+	public void setAt(int index, Object element) {
+		if (accept(SET_TO_LIST_AT_INDEX)) {
+			elementsAtIndex.put(index, element);
+		}
+	}
+
+	@Override
+	public void remove(Collection<?> elements) {
+		if (accept(REMOVE_FROM_LIST)) {
+			this.elements.addAll(elements);
+		}
+	}
+
+	@Override
+	public List<CollectionChange> getChanges() {
+		List<CollectionChange> changes = new ArrayList<>();
+		if (changeType == SET_TO_LIST_AT_INDEX) {
+			for (Entry<Integer, Object> entry : elementsAtIndex.entrySet()) {
+				changes.add(new CollectionChange(SET_TO_LIST_AT_INDEX, entry.getKey(), entry.getValue()));
+			}
+		} else if (changeType != null && !elements.isEmpty()) {
+			changes.add(new CollectionChange(changeType, new ArrayList<>(elements)));
+		}
+		return changes;
+	}
+
+	@Override
+	protected void clearChanges() {
+		changeType = null;
+		elements.clear();
+		elementsAtIndex.clear();
+	}
+
+	private boolean accept(CollectionChangeType type) {
+		if (isOverwrite()) {
+			return false;
+		} else if (changeType != null && changeType != type) {
+			markOverwrite();
+			return false;
+		}
+		changeType = type;
+		return true;
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.proxy.dirtycheck;
+
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.ADD_TO_MAP;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.REMOVE_FROM_MAP;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Put entries and removed keys are kept disjoint, the last mutation of a key
+ * wins
+ */
+public class MapChangeLog extends CollectionChangeLog {
+
+	private Map<Object, Object> added = new LinkedHashMap<>();
+	private Set<Object> removedKeys = new LinkedHashSet<>();
+
+	@Override
+	public void put(Map<?, ?> entries) {
+		if (!isOverwrite()) {
+			removedKeys.removeAll(entries.keySet());
+			added.putAll(entries);
+		}
+	}
+
+	@Override
+	public void removeKey(Object key) {
+		if (!isOverwrite()) {
+			added.remove(key);
+			removedKeys.add(key);
+		}
+	}
+
+	@Override
+	public List<CollectionChange> getChanges() {
+		List<CollectionChange> changes = new ArrayList<>();
+		if (!added.isEmpty()) {
+			changes.add(new CollectionChange(ADD_TO_MAP, new LinkedHashMap<>(added)));
+		}
+		for (Object key : removedKeys) {
+			changes.add(new CollectionChange(REMOVE_FROM_MAP, key, null));
+		}
+		return changes;
+	}
+
+	@Override
+	protected void clearChanges() {
+		added.clear();
+		removedKeys.clear();
+	}
+}
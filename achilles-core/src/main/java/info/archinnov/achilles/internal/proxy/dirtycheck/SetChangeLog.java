@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.proxy.dirtycheck;
+
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.ADD_TO_SET;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.REMOVE_FROM_SET;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Added and removed elements are kept disjoint, the last mutation of an
+ * element wins
+ */
+public class SetChangeLog extends CollectionChangeLog {
+
+	private Set<Object> added = new LinkedHashSet<>();
+	private Set<Object> removed = new LinkedHashSet<>();
+
+	@Override
+	public void add(Collection<?> elements) {
+		if (!isOverwrite()) {
+			removed.removeAll(elements);
+			added.addAll(elements);
+		}
+	}
+
+	@Override
+	public void remove(Collection<?> elements) {
+		if (!isOverwrite()) {
+			added.removeAll(elements);
+			removed.addAll(elements);
+		}
+	}
+
+	@Override
+	public List<CollectionChange> getChanges() {
+		List<CollectionChange> changes = new ArrayList<>();
+		if (!added.isEmpty()) {
+			changes.add(new CollectionChange(ADD_TO_SET, new LinkedHashSet<>(added)));
+		}
+		if (!removed.isEmpty()) {
+			changes.add(new CollectionChange(REMOVE_FROM_SET, new LinkedHashSet<>(removed)));
+		}
+		return changes;
+	}
+
+	@Override
+	protected void clearChanges() {
+		added.clear();
+		removed.clear();
+	}
+}
@@ -18,37 +18,52 @@ package info.archinnov.achilles.internal.proxy.wrapper;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeLog;
 
-import java.lang.reflect.Method;
-import java.util.Map;
+import java.util.BitSet;
 
 public abstract class AbstractWrapper {
-	protected Map<Method, PropertyMeta> dirtyMap;
-	protected Method setter;
+	protected BitSet dirtyFlags;
 	protected PropertyMeta propertyMeta;
 	protected EntityProxifier proxifier = new EntityProxifier();
 	protected PersistenceContext context;
+	protected CollectionChangeLog changeLog = new CollectionChangeLog();
 
-	public Map<Method, PropertyMeta> getDirtyMap() {
-		return dirtyMap;
+	public BitSet getDirtyFlags() {
+		return dirtyFlags;
 	}
 
-	public void setDirtyMap(Map<Method, PropertyMeta> dirtyMap) {
-		this.dirtyMap = dirtyMap;
-	}
-
-	public void setSetter(Method setter) {
-		this.setter = setter;
+	public void setDirtyFlags(BitSet dirtyFlags) {
+		this.dirtyFlags = dirtyFlags;
 	}
 
 	public void setPropertyMeta(PropertyMeta propertyMeta) {
 		this.propertyMeta = propertyMeta;
 	}
 
+	/**
+	 * Flag the property dirty for a mutation that cannot be expressed as an
+	 * incremental collection operation, the whole column will be re-written
+	 */
 	protected void markDirty() {
-		if (!dirtyMap.containsKey(setter)) {
-			dirtyMap.put(setter, propertyMeta);
-		}
+		flagDirty();
+		changeLog.markOverwrite();
+	}
+
+	/**
+	 * Flag the property dirty, the mutation itself should be recorded in the
+	 * change log by the caller
+	 */
+	protected void flagDirty() {
+		dirtyFlags.set(propertyMeta.getOrdinal());
+	}
+
+	public void setChangeLog(CollectionChangeLog changeLog) {
+		this.changeLog = changeLog;
+	}
+
+	public CollectionChangeLog getChangeLog() {
+		return changeLog;
 	}
 
 	public void setContext(PersistenceContext context) {
@@ -17,6 +17,7 @@ package info.archinnov.achilles.internal.proxy.wrapper;
 
 import info.archinnov.achilles.internal.proxy.wrapper.builder.IteratorWrapperBuilder;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 
@@ -36,8 +37,10 @@ public class CollectionWrapper extends AbstractWrapper implements Collection<Obj
 	public boolean add(Object arg0) {
 		log.trace("Mark collection property {} of entity class {} dirty upon element addition",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
-		this.markDirty();
-		boolean result = target.add(proxifier.removeProxy(arg0));
+		Object element = proxifier.removeProxy(arg0);
+		boolean result = target.add(element);
+		this.flagDirty();
+		changeLog.add(Arrays.asList(element));
 
 		return result;
 	}
@@ -45,11 +48,13 @@ public class CollectionWrapper extends AbstractWrapper implements Collection<Obj
 	@Override
 	public boolean addAll(Collection<?> arg0) {
 		boolean result;
-		result = target.addAll(proxifier.removeProxy(arg0));
+		Collection<?> elements = proxifier.removeProxy(arg0);
+		result = target.addAll(elements);
 		if (result) {
 			log.trace("Mark collection property {} of entity class {} dirty upon elements addition",
 					propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
-			this.markDirty();
+			this.flagDirty();
+			changeLog.add(elements);
 		}
 		return result;
 	}
@@ -85,17 +90,19 @@ public class CollectionWrapper extends AbstractWrapper implements Collection<Obj
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
 
 		return IteratorWrapperBuilder.builder(context, this.target.iterator())
-				.dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta).build();
+				.dirtyFlags(dirtyFlags).propertyMeta(propertyMeta).changeLog(changeLog).build();
 	}
 
 	@Override
 	public boolean remove(Object arg0) {
 		boolean result = false;
-		result = this.target.remove(proxifier.removeProxy(arg0));
+		Object element = proxifier.removeProxy(arg0);
+		result = this.target.remove(element);
 		if (result) {
 			log.trace("Mark collection property {} of entity class {} dirty upon element removal",
 					propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
-			this.markDirty();
+			this.flagDirty();
+			changeLog.remove(Arrays.asList(element));
 		}
 		return result;
 	}
@@ -103,11 +110,13 @@ public class CollectionWrapper extends AbstractWrapper implements Collection<Obj
 	@Override
 	public boolean removeAll(Collection<?> arg0) {
 		boolean result = false;
-		result = this.target.removeAll(proxifier.removeProxy(arg0));
+		Collection<?> elements = proxifier.removeProxy(arg0);
+		result = this.target.removeAll(elements);
 		if (result) {
 			log.trace("Mark collection property {} of entity class {} dirty upon elements removal",
 					propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
-			this.markDirty();
+			this.flagDirty();
+			changeLog.remove(elements);
 		}
 		return result;
 	}
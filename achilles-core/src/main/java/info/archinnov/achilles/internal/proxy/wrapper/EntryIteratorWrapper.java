@@ -44,8 +44,8 @@ public class EntryIteratorWrapper extends AbstractWrapper implements Iterator<En
 		if (entry != null) {
 			log.trace("Build wrapper for next entry of property {} of entity class {}", propertyMeta.getPropertyName(),
 					propertyMeta.getEntityClassName());
-			result = MapEntryWrapperBuilder.builder(context, entry).dirtyMap(dirtyMap).setter(setter)
-					.propertyMeta(propertyMeta).build();
+			result = MapEntryWrapperBuilder.builder(context, entry).dirtyFlags(dirtyFlags)
+					.propertyMeta(propertyMeta).changeLog(changeLog).build();
 		}
 		return result;
 	}
@@ -72,8 +72,8 @@ public class EntrySetWrapper extends AbstractWrapper implements Set<Entry<Object
 		log.trace("Build iterator wrapper for entry set of property {} of entity class {}",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
 		return EntryIteratorWrapperBuilder
-				.builder(context, this.target.iterator()).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
-				.build();
+				.builder(context, this.target.iterator()).dirtyFlags(dirtyFlags).propertyMeta(propertyMeta)
+				.changeLog(changeLog).build();
 	}
 
 	@Override
@@ -18,6 +18,8 @@ package info.archinnov.achilles.internal.proxy.wrapper;
 import info.archinnov.achilles.internal.proxy.wrapper.builder.ListIteratorWrapperBuilder;
 import info.archinnov.achilles.internal.proxy.wrapper.builder.ListWrapperBuilder;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.ListIterator;
@@ -36,17 +38,21 @@ public class ListWrapper extends CollectionWrapper implements List<Object> {
 	public void add(int index, Object arg1) {
 		log.trace("Mark list property {} of entity class {} dirty upon element addition at index {}",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName(), index);
-		((List<Object>) super.target).add(index, proxifier.removeProxy(arg1));
-		super.markDirty();
+		Object element = proxifier.removeProxy(arg1);
+		int size = super.target.size();
+		((List<Object>) super.target).add(index, element);
+		recordInsertion(index, size, Arrays.asList(element));
 	}
 
 	@Override
 	public boolean addAll(int arg0, Collection<? extends Object> arg1) {
-		boolean result = ((List<Object>) super.target).addAll(arg0, proxifier.removeProxy(arg1));
+		List<Object> elements = new ArrayList<Object>(proxifier.removeProxy(arg1));
+		int size = super.target.size();
+		boolean result = ((List<Object>) super.target).addAll(arg0, elements);
 		if (result) {
 			log.trace("Mark list property {} of entity class {} dirty upon elements addition",
 					propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
-			super.markDirty();
+			recordInsertion(arg0, size, elements);
 		}
 		return result;
 	}
@@ -76,8 +82,8 @@ public class ListWrapper extends CollectionWrapper implements List<Object> {
 				propertyMeta.getEntityClassName());
 
 		return ListIteratorWrapperBuilder
-				.builder(context, target).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
-				.build();
+				.builder(context, target).dirtyFlags(dirtyFlags).propertyMeta(propertyMeta)
+				.changeLog(changeLog).build();
 	}
 
 	@Override
@@ -88,8 +94,8 @@ public class ListWrapper extends CollectionWrapper implements List<Object> {
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName(), index);
 
 		return ListIteratorWrapperBuilder
-				.builder(context, target).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
-				.build();
+				.builder(context, target).dirtyFlags(dirtyFlags).propertyMeta(propertyMeta)
+				.changeLog(changeLog).build();
 	}
 
 	@Override
@@ -107,8 +113,31 @@ public class ListWrapper extends CollectionWrapper implements List<Object> {
 		log.trace("Mark list property {} of entity class {} dirty upon element set at index {}",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
 
-		Object result = ((List<Object>) super.target).set(index, proxifier.removeProxy(arg1));
-		super.markDirty();
+		Object element = proxifier.removeProxy(arg1);
+		Object result = ((List<Object>) super.target).set(index, element);
+		super.flagDirty();
+		changeLog.setAt(index, element);
+		return result;
+	}
+
+	/**
+	 * Cassandra discards every occurrence of an element from a list, so a
+	 * single removal is only incremental when no other occurrence remains
+	 */
+	@Override
+	public boolean remove(Object arg0) {
+		Object element = proxifier.removeProxy(arg0);
+		boolean result = super.target.remove(element);
+		if (result) {
+			log.trace("Mark list property {} of entity class {} dirty upon element removal",
+					propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
+			if (super.target.contains(element)) {
+				super.markDirty();
+			} else {
+				super.flagDirty();
+				changeLog.remove(Arrays.asList(element));
+			}
+		}
 		return result;
 	}
 
@@ -120,8 +149,20 @@ public class ListWrapper extends CollectionWrapper implements List<Object> {
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName(), from, to);
 
 		return ListWrapperBuilder
-				.builder(context, target).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
-				.build();
+				.builder(context, target).dirtyFlags(dirtyFlags).propertyMeta(propertyMeta)
+				.changeLog(changeLog.overwriteOnlyView()).build();
+	}
+
+	private void recordInsertion(int index, int previousSize, List<Object> elements) {
+		if (index == previousSize) {
+			super.flagDirty();
+			changeLog.add(elements);
+		} else if (index == 0) {
+			super.flagDirty();
+			changeLog.prepend(elements);
+		} else {
+			super.markDirty();
+		}
 	}
 
 	@Override
@@ -20,6 +20,7 @@ import info.archinnov.achilles.internal.proxy.wrapper.builder.KeySetWrapperBuild
 import info.archinnov.achilles.internal.proxy.wrapper.builder.ValueCollectionWrapperBuilder;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -64,8 +65,8 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 			log.trace("Build map entry wrapper for map property {} of entity class {}", propertyMeta.getPropertyName(),
 					propertyMeta.getEntityClassName());
 
-			EntrySetWrapper wrapperSet = EntrySetWrapperBuilder.builder(context, targetEntrySet).dirtyMap(dirtyMap)
-					.setter(setter).propertyMeta(propertyMeta).build();
+			EntrySetWrapper wrapperSet = EntrySetWrapperBuilder.builder(context, targetEntrySet).dirtyFlags(dirtyFlags)
+					.propertyMeta(propertyMeta).changeLog(changeLog).build();
 			targetEntrySet = wrapperSet;
 		}
 		return targetEntrySet;
@@ -90,8 +91,8 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 			log.trace("Build key set wrapper for map property {} of entity class {}", propertyMeta.getPropertyName(),
 					propertyMeta.getEntityClassName());
 
-			KeySetWrapper keySetWrapper = KeySetWrapperBuilder.builder(context, keySet).dirtyMap(dirtyMap)
-					.setter(setter).propertyMeta(propertyMeta).build();
+			KeySetWrapper keySetWrapper = KeySetWrapperBuilder.builder(context, keySet).dirtyFlags(dirtyFlags)
+					.propertyMeta(propertyMeta).changeLog(changeLog).build();
 			keySet = keySetWrapper;
 		}
 		return keySet;
@@ -102,8 +103,10 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 		log.trace("Mark map property {} of entity class {} dirty upon new value {} addition for key {}",
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName(), value, key);
 
-		Object result = this.target.put(key, proxifier.removeProxy(value));
-		this.markDirty();
+		Object element = proxifier.removeProxy(value);
+		Object result = this.target.put(key, element);
+		this.flagDirty();
+		changeLog.put(Collections.singletonMap(key, element));
 		return result;
 	}
 
@@ -118,7 +121,8 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 				propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
 
 		this.target.putAll(map);
-		this.markDirty();
+		this.flagDirty();
+		changeLog.put(map);
 	}
 
 	@Override
@@ -127,7 +131,8 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 		if (this.target.containsKey(unwrap)) {
 			log.trace("Mark map property {} of entity class {} dirty upon removal of value havo,g key {}",
 					propertyMeta.getPropertyName(), propertyMeta.getEntityClassName(), key);
-			this.markDirty();
+			this.flagDirty();
+			changeLog.removeKey(unwrap);
 		}
 		return this.target.remove(unwrap);
 	}
@@ -146,7 +151,7 @@ public class MapWrapper extends AbstractWrapper implements Map<Object, Object> {
 					propertyMeta.getPropertyName(), propertyMeta.getEntityClassName());
 
 			ValueCollectionWrapper collectionWrapper = ValueCollectionWrapperBuilder
-					.builder(context, values).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
+					.builder(context, values).dirtyFlags(dirtyFlags).propertyMeta(propertyMeta).changeLog(changeLog)
 					.build();
 			values = collectionWrapper;
 		}
@@ -17,30 +17,30 @@ package info.archinnov.achilles.internal.proxy.wrapper.builder;
 
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeLog;
 import info.archinnov.achilles.internal.proxy.wrapper.AbstractWrapper;
 
-import java.lang.reflect.Method;
-import java.util.Map;
+import java.util.BitSet;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractWrapperBuilder<T extends AbstractWrapperBuilder<T>> {
-	private Map<Method, PropertyMeta> dirtyMap;
-	private Method setter;
+	private BitSet dirtyFlags;
 	private PropertyMeta propertyMeta;
 	protected PersistenceContext context;
+	private CollectionChangeLog changeLog;
 
-	public T dirtyMap(Map<Method, PropertyMeta> dirtyMap) {
-		this.dirtyMap = dirtyMap;
+	public T dirtyFlags(BitSet dirtyFlags) {
+		this.dirtyFlags = dirtyFlags;
 		return (T) this;
 	}
 
-	public T setter(Method setter) {
-		this.setter = setter;
+	public T propertyMeta(PropertyMeta propertyMeta) {
+		this.propertyMeta = propertyMeta;
 		return (T) this;
 	}
 
-	public T propertyMeta(PropertyMeta propertyMeta) {
-		this.propertyMeta = propertyMeta;
+	public T changeLog(CollectionChangeLog changeLog) {
+		this.changeLog = changeLog;
 		return (T) this;
 	}
 
@@ -50,9 +50,11 @@ public abstract class AbstractWrapperBuilder<T extends AbstractWrapperBuilder<T>
 	}
 
 	public void build(AbstractWrapper wrapper) {
-		wrapper.setDirtyMap(dirtyMap);
-		wrapper.setSetter(setter);
+		wrapper.setDirtyFlags(dirtyFlags);
 		wrapper.setPropertyMeta(propertyMeta);
 		wrapper.setContext(context);
+		if (changeLog != null) {
+			wrapper.setChangeLog(changeLog);
+		}
 	}
 }
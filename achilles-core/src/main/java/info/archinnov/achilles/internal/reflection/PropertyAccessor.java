@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.reflection;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.datastax.driver.core.Row;
+
+public class PropertyAccessor {
+
+	private final String fieldName;
+	private final Class<?> fieldType;
+	private final Class<?> declaringClass;
+	private final String columnName;
+	private final MethodHandle fieldSetter;
+	private final MethodHandle rowGetter;
+	private final MethodHandle rowIndexGetter;
+	private final List<MethodHandle> componentIndexGetters;
+
+	public PropertyAccessor(String fieldName, Class<?> fieldType, Class<?> declaringClass, String columnName,
+			MethodHandle fieldSetter, MethodHandle rowGetter, MethodHandle rowIndexGetter,
+			List<MethodHandle> componentIndexGetters) {
+		this.fieldName = fieldName;
+		this.fieldType = fieldType;
+		this.declaringClass = declaringClass;
+		this.columnName = columnName;
+		this.fieldSetter = fieldSetter;
+		this.rowGetter = rowGetter;
+		this.rowIndexGetter = rowIndexGetter;
+		this.componentIndexGetters = componentIndexGetters;
+	}
+
+	public boolean canReadFromRow() {
+		return rowGetter != null;
+	}
+
+	public Object readFromRow(Row row) {
+		try {
+			return (Object) rowGetter.invokeExact(row, columnName);
+		} catch (Throwable throwable) {
+			throw new AchillesException("Cannot retrieve column '" + columnName + "' for field '" + fieldName
+					+ "' from CQL Row", throwable);
+		}
+	}
+
+	public boolean canReadFromRowByIndex() {
+		return rowIndexGetter != null || !componentIndexGetters.isEmpty();
+	}
+
+	public Object readFromRow(Row row, int columnIndex) {
+		try {
+			return (Object) rowIndexGetter.invokeExact(row, columnIndex);
+		} catch (Throwable throwable) {
+			throw new AchillesException("Cannot retrieve column '" + columnName + "' at index " + columnIndex
+					+ " for field '" + fieldName + "' from CQL Row", throwable);
+		}
+	}
+
+	public List<Object> readComponentsFromRow(Row row, int startIndex) {
+		List<Object> components = new ArrayList<>(componentIndexGetters.size());
+		try {
+			for (int i = 0; i < componentIndexGetters.size(); i++) {
+				components.add((Object) componentIndexGetters.get(i).invokeExact(row, startIndex + i));
+			}
+		} catch (Throwable throwable) {
+			throw new AchillesException("Cannot retrieve components of field '" + fieldName + "' from CQL Row",
+					throwable);
+		}
+		return components;
+	}
+
+	public void setValueToField(Object target, Object value) {
+		if (value == null && fieldType.isPrimitive()) {
+			throw new AchillesException(String.format(
+					"Cannot set null value to primitive type '%s' of field '%s' on instance of class'%s'",
+					fieldType.getCanonicalName(), fieldName, declaringClass.getCanonicalName()));
+		}
+		if (target != null) {
+			try {
+				fieldSetter.invokeExact(target, value);
+			} catch (Throwable throwable) {
+				throw new AchillesException("Cannot set value to field '" + fieldName + "' of type '"
+						+ fieldType.getCanonicalName() + "' on instance '" + target + "'", throwable);
+			}
+		}
+	}
+
+	public String getColumnName() {
+		return columnName;
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.reflection;
+
+import static info.archinnov.achilles.internal.cql.TypeMapper.getRowMethod;
+import static info.archinnov.achilles.internal.cql.TypeMapper.toCompatibleJavaType;
+import static java.lang.invoke.MethodType.methodType;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.Row;
+
+public class PropertyAccessorGenerator {
+	private static final Logger log = LoggerFactory.getLogger(PropertyAccessorGenerator.class);
+
+	private static final MethodType SETTER_TYPE = methodType(void.class, Object.class, Object.class);
+	private static final MethodType ROW_INDEX_GETTER_TYPE = methodType(Object.class, Row.class, int.class);
+
+	private MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+	public void generateAccessors(EntityMeta entityMeta) {
+		log.debug("Generate property accessors for entity class {}", entityMeta.getClassName());
+		for (PropertyMeta pm : entityMeta.getPropertyMetas().values()) {
+			if (pm.getField() != null) {
+				pm.setPropertyAccessor(generateAccessor(pm));
+			}
+		}
+	}
+
+	PropertyAccessor generateAccessor(PropertyMeta pm) {
+		log.trace("Generate accessor for property {} of entity class {}", pm.getPropertyName(),
+				pm.getEntityClassName());
+		Field field = pm.getField();
+		try {
+			field.setAccessible(true);
+			MethodHandle fieldSetter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+			MethodHandle rowGetter = generateRowGetter(pm, String.class);
+			MethodHandle rowIndexGetter = generateRowGetter(pm, int.class);
+			List<MethodHandle> componentIndexGetters = generateComponentIndexGetters(pm);
+			return new PropertyAccessor(field.getName(), field.getType(), field.getDeclaringClass(), pm
+					.getPropertyName().toLowerCase(), fieldSetter, rowGetter, rowIndexGetter, componentIndexGetters);
+		} catch (IllegalAccessException | NoSuchMethodException e) {
+			throw new AchillesException("Cannot generate accessor for field '" + field.getName() + "' of entity class '"
+					+ pm.getEntityClassName() + "'", e);
+		}
+	}
+
+	private MethodHandle generateRowGetter(PropertyMeta pm, Class<?> columnKeyType) throws IllegalAccessException,
+			NoSuchMethodException {
+		MethodHandle rowGetter;
+		switch (pm.type()) {
+		case ID:
+		case SIMPLE:
+			rowGetter = findTypedRowGetter(pm.getCQLValueClass(), columnKeyType);
+			break;
+		case LIST:
+			rowGetter = MethodHandles.insertArguments(
+					lookup.findVirtual(Row.class, "getList", methodType(List.class, columnKeyType, Class.class)), 2,
+					toCompatibleJavaType(pm.getCQLValueClass()));
+			break;
+		case SET:
+			rowGetter = MethodHandles.insertArguments(
+					lookup.findVirtual(Row.class, "getSet", methodType(Set.class, columnKeyType, Class.class)), 2,
+					toCompatibleJavaType(pm.getCQLValueClass()));
+			break;
+		case MAP:
+			rowGetter = MethodHandles.insertArguments(lookup.findVirtual(Row.class, "getMap",
+					methodType(Map.class, columnKeyType, Class.class, Class.class)), 2,
+					toCompatibleJavaType(pm.getCQLKeyClass()), toCompatibleJavaType(pm.getCQLValueClass()));
+			break;
+		default:
+			return null;
+		}
+		return rowGetter.asType(methodType(Object.class, Row.class, columnKeyType));
+	}
+
+	private List<MethodHandle> generateComponentIndexGetters(PropertyMeta pm) throws IllegalAccessException,
+			NoSuchMethodException {
+		List<MethodHandle> componentGetters = new ArrayList<>();
+		if (pm.isEmbeddedId()) {
+			for (Class<?> componentClass : pm.getComponentClasses()) {
+				componentGetters.add(findTypedRowGetter(componentClass, int.class).asType(ROW_INDEX_GETTER_TYPE));
+			}
+		}
+		return componentGetters;
+	}
+
+	private MethodHandle findTypedRowGetter(Class<?> valueClass, Class<?> columnKeyType) throws IllegalAccessException,
+			NoSuchMethodException {
+		Method rowMethod = getRowMethod(valueClass);
+		return lookup.findVirtual(Row.class, rowMethod.getName(), methodType(rowMethod.getReturnType(), columnKeyType));
+	}
+}
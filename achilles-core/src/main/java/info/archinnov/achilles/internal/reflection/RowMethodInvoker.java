@@ -37,24 +37,28 @@ public class RowMethodInvoker {
 	private static final Logger log = LoggerFactory.getLogger(RowMethodInvoker.class);
 
 	public Object invokeOnRowForFields(Row row, PropertyMeta pm) {
+		PropertyAccessor propertyAccessor = pm.getPropertyAccessor();
+		if (propertyAccessor != null && propertyAccessor.canReadFromRow()) {
+			return invokeOnRowWithAccessor(row, pm, propertyAccessor);
+		}
 		String propertyName = pm.getPropertyName().toLowerCase();
 		Object value = null;
 		if (row != null && !row.isNull(propertyName)) {
 			switch (pm.type()) {
 			case LIST:
-				value = invokeOnRowForList(row, pm, propertyName, pm.getValueClass());
+				value = invokeOnRowForList(row, pm, propertyName, pm.getCQLValueClass());
 				break;
 			case SET:
-				value = invokeOnRowForSet(row, pm, propertyName, pm.getValueClass());
+				value = invokeOnRowForSet(row, pm, propertyName, pm.getCQLValueClass());
 				break;
 			case MAP:
-				Class<?> keyClass = pm.getKeyClass();
-				Class<?> valueClass = pm.getValueClass();
+				Class<?> keyClass = pm.getCQLKeyClass();
+				Class<?> valueClass = pm.getCQLValueClass();
 				value = invokeOnRowForMap(row, pm, propertyName, keyClass, valueClass);
 				break;
 			case ID:
 			case SIMPLE:
-				value = invokeOnRowForProperty(row, pm, propertyName, pm.getValueClass());
+				value = invokeOnRowForProperty(row, pm, propertyName, pm.getCQLValueClass());
 				break;
 			default:
 				break;
@@ -63,6 +67,51 @@ public class RowMethodInvoker {
 		return value;
 	}
 
+	public Object invokeOnRowForFields(Row row, PropertyMeta pm, int columnIndex) {
+		Object value = null;
+		if (row != null && !row.isNull(columnIndex)) {
+			value = decodeRawValue(pm, pm.getPropertyAccessor().readFromRow(row, columnIndex));
+		}
+		return value;
+	}
+
+	private Object invokeOnRowWithAccessor(Row row, PropertyMeta pm, PropertyAccessor propertyAccessor) {
+		Object value = null;
+		if (row != null && !row.isNull(propertyAccessor.getColumnName())) {
+			value = decodeRawValue(pm, propertyAccessor.readFromRow(row));
+		}
+		return value;
+	}
+
+	private Object decodeRawValue(PropertyMeta pm, Object rawValue) {
+		switch (pm.type()) {
+		case LIST:
+			return pm.decode((List<?>) rawValue);
+		case SET:
+			return pm.decode((Set<?>) rawValue);
+		case MAP:
+			return pm.decode((Map<?, ?>) rawValue);
+		default:
+			return pm.decode(rawValue);
+		}
+	}
+
+	public Object extractCompoundPrimaryKeyFromRow(Row row, PropertyMeta pm, int startIndex, boolean isManagedEntity) {
+		log.trace("Extract compound primary key {} from CQL row at index {} for entity class {}",
+				pm.getPropertyName(), startIndex, pm.getEntityClassName());
+		List<Object> rawValues = pm.getPropertyAccessor().readComponentsFromRow(row, startIndex);
+		if (isManagedEntity) {
+			for (int i = 0; i < rawValues.size(); i++) {
+				if (rawValues.get(i) == null) {
+					throw new AchillesException(String.format(
+							"Error, the component '%s' from @EmbeddedId class '%s' cannot be found in Cassandra", pm
+									.getCQLComponentNames().get(i), pm.getValueClass()));
+				}
+			}
+		}
+		return pm.decodeFromComponents(rawValues);
+	}
+
 	public Object extractCompoundPrimaryKeyFromRow(Row row, PropertyMeta pm, boolean isManagedEntity) {
 		log.trace("Extract compound primary key {} from CQL row for entity class {}", pm.getPropertyName(),
 				pm.getEntityClassName());
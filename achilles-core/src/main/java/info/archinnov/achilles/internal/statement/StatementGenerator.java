@@ -15,11 +15,16 @@
  */
 package info.archinnov.achilles.internal.statement;
 
+import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.gt;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.insertInto;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.lte;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.select;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.set;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.token;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.update;
+import info.archinnov.achilles.internal.metadata.holder.ColumnIndexPlan;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
@@ -77,6 +82,28 @@ public class StatementGenerator {
 		return select;
 	}
 
+	public RegularStatement generateSelectTokenRange(EntityMeta entityMeta) {
+		log.trace("Generate token range SELECT statement for entity class {}", entityMeta.getClassName());
+		PropertyMeta idMeta = entityMeta.getIdMeta();
+		String tokenFunction;
+		if (idMeta.isEmbeddedId()) {
+			List<String> partitionComponentNames = idMeta.getPartitionComponentNames();
+			tokenFunction = token(partitionComponentNames.toArray(new String[partitionComponentNames.size()]));
+		} else {
+			tokenFunction = token(idMeta.getPropertyName());
+		}
+		return generateSelectEntityInternal(entityMeta).where(gt(tokenFunction, bindMarker()))
+				.and(lte(tokenFunction, bindMarker()));
+	}
+
+	public ColumnIndexPlan buildSliceSelectColumnPlan(EntityMeta entityMeta) {
+		log.trace("Build column index plan for slice SELECT of entity class {}", entityMeta.getClassName());
+		List<PropertyMeta> selectedMetas = new ArrayList<>();
+		selectedMetas.add(entityMeta.getIdMeta());
+		selectedMetas.addAll(entityMeta.getColumnsMetaToSelect());
+		return new ColumnIndexPlan(selectedMetas);
+	}
+
 	protected Select generateSelectEntityInternal(EntityMeta entityMeta) {
 
 		log.trace("Generate SELECT statement for entity class {}", entityMeta.getClassName());
@@ -87,7 +114,7 @@ public class StatementGenerator {
 
 		generateSelectForPrimaryKey(idMeta, select);
 
-		for (PropertyMeta pm : entityMeta.getColumnsMetaToInsert()) {
+		for (PropertyMeta pm : entityMeta.getColumnsMetaToSelect()) {
 			select.column(pm.getPropertyName());
 		}
 		return select.from(entityMeta.getTableName());
@@ -15,10 +15,13 @@
  */
 package info.archinnov.achilles.internal.statement.cache;
 
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.STATEMENT_PREPARATION;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGenerator;
+import info.archinnov.achilles.metrics.AchillesMetrics;
 
 import java.util.HashSet;
 import java.util.List;
@@ -39,6 +42,8 @@ public class CacheManager {
 
     private PreparedStatementGenerator generator = new PreparedStatementGenerator();
 
+	private AchillesMetrics metrics;
+
 	private Function<PropertyMeta, String> propertyExtractor = new Function<PropertyMeta, String>() {
 		@Override
 		public String apply(PropertyMeta pm) {
@@ -46,6 +51,10 @@ public class CacheManager {
 		}
 	};
 
+	public CacheManager(AchillesMetrics metrics) {
+		this.metrics = metrics;
+	}
+
 	public PreparedStatement getCacheForFieldSelect(Session session,
 			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, PersistenceContext context, PropertyMeta pm) {
 
@@ -57,8 +66,29 @@ public class CacheManager {
 		StatementCacheKey cacheKey = new StatementCacheKey(CacheType.SELECT_FIELD, entityMeta.getTableName(),
 				clusteredFields, entityClass);
 		PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
+		metrics.recordStatementCacheAccess(ps != null);
 		if (ps == null) {
+			long start = System.nanoTime();
 			ps = generator.prepareSelectFieldPS(session, entityMeta, pm);
+			metrics.recordLatency(entityClass, STATEMENT_PREPARATION, System.nanoTime() - start);
+			dynamicPSCache.put(cacheKey, ps);
+		}
+		return ps;
+	}
+
+	public PreparedStatement getCacheForFieldsSelect(Session session,
+			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, PersistenceContext context,
+			List<PropertyMeta> pms) {
+
+        log.trace("Get cache for SELECT properties {} from entity class {}",pms,context.getEntityClass());
+
+		StatementCacheKey cacheKey = buildFieldsCacheKey(CacheType.SELECT_FIELDS, context, pms);
+		PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
+		metrics.recordStatementCacheAccess(ps != null);
+		if (ps == null) {
+			long start = System.nanoTime();
+			ps = generator.prepareSelectFieldsPS(session, context.getEntityMeta(), pms);
+			metrics.recordLatency(context.getEntityClass(), STATEMENT_PREPARATION, System.nanoTime() - start);
 			dynamicPSCache.put(cacheKey, ps);
 		}
 		return ps;
@@ -70,19 +100,80 @@ public class CacheManager {
 
         log.trace("Get cache for UPDATE properties {} from entity class {}",pms,context.getEntityClass());
 
-		Class<?> entityClass = context.getEntityClass();
-		EntityMeta entityMeta = context.getEntityMeta();
-		Set<String> fields = new HashSet<String>(Collections2.transform(pms, propertyExtractor));
-		StatementCacheKey cacheKey = new StatementCacheKey(CacheType.UPDATE_FIELDS, entityMeta.getTableName(), fields,
-				entityClass);
+		StatementCacheKey cacheKey = buildFieldsCacheKey(CacheType.UPDATE_FIELDS, context, pms);
+		PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
+		metrics.recordStatementCacheAccess(ps != null);
+		if (ps == null) {
+			long start = System.nanoTime();
+			ps = generator.prepareUpdateFields(session, context.getEntityMeta(), pms);
+			metrics.recordLatency(context.getEntityClass(), STATEMENT_PREPARATION, System.nanoTime() - start);
+			dynamicPSCache.put(cacheKey, ps);
+		}
+		return ps;
+	}
+
+	public PreparedStatement getCacheForFieldsUpdateWithTimestamp(Session session,
+			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, PersistenceContext context,
+			List<PropertyMeta> pms) {
+
+        log.trace("Get cache for UPDATE properties {} with timestamp from entity class {}",pms,context.getEntityClass());
+
+		StatementCacheKey cacheKey = buildFieldsCacheKey(CacheType.UPDATE_FIELDS_WITH_TIMESTAMP, context, pms);
+		PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
+		metrics.recordStatementCacheAccess(ps != null);
+		if (ps == null) {
+			long start = System.nanoTime();
+			ps = generator.prepareUpdateFieldsWithTimestamp(session, context.getEntityMeta(), pms);
+			metrics.recordLatency(context.getEntityClass(), STATEMENT_PREPARATION, System.nanoTime() - start);
+			dynamicPSCache.put(cacheKey, ps);
+		}
+		return ps;
+	}
+
+	public PreparedStatement getCacheForCollectionUpdate(Session session,
+			Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, PersistenceContext context, PropertyMeta pm,
+			CollectionChangeType changeType, boolean withTimestamp) {
+
+        log.trace("Get cache for {} on collection property {} from entity class {}", changeType,
+                pm.getPropertyName(), context.getEntityClass());
+
+		CacheType cacheType = withTimestamp ? CacheType.UPDATE_COLLECTION_WITH_TIMESTAMP : CacheType.UPDATE_COLLECTION;
+		StatementCacheKey cacheKey = new StatementCacheKey(cacheType, context.getEntityMeta().getTableName(),
+				Sets.newHashSet(changeType.name() + ":" + pm.getPropertyName()), context.getEntityClass());
 		PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
+		metrics.recordStatementCacheAccess(ps != null);
 		if (ps == null) {
-			ps = generator.prepareUpdateFields(session, entityMeta, pms);
+			long start = System.nanoTime();
+			ps = generator.prepareCollectionUpdate(session, context.getEntityMeta(), pm, changeType, withTimestamp);
+			metrics.recordLatency(context.getEntityClass(), STATEMENT_PREPARATION, System.nanoTime() - start);
 			dynamicPSCache.put(cacheKey, ps);
 		}
 		return ps;
 	}
 
+	public PreparedStatement getCacheForQuery(Session session, Cache<String, PreparedStatement> queryPSCache,
+			String queryString) {
+
+        log.trace("Get cache for query {}",queryString);
+
+		PreparedStatement ps = queryPSCache.getIfPresent(queryString);
+		metrics.recordStatementCacheAccess(ps != null);
+		if (ps == null) {
+			long start = System.nanoTime();
+			ps = session.prepare(queryString);
+			metrics.recordLatency(null, STATEMENT_PREPARATION, System.nanoTime() - start);
+			queryPSCache.put(queryString, ps);
+		}
+		return ps;
+	}
+
+	private StatementCacheKey buildFieldsCacheKey(CacheType cacheType, PersistenceContext context,
+			List<PropertyMeta> pms) {
+		Set<String> fields = new HashSet<String>(Collections2.transform(pms, propertyExtractor));
+		return new StatementCacheKey(cacheType, context.getEntityMeta().getTableName(), fields,
+				context.getEntityClass());
+	}
+
 	private Set<String> extractClusteredFieldsIfNecessary(PropertyMeta pm) {
 		if (pm.isEmbeddedId()) {
 			return new HashSet<String>(pm.getComponentNames());
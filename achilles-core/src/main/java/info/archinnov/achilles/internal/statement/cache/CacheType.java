@@ -16,5 +16,5 @@
 package info.archinnov.achilles.internal.statement.cache;
 
 public enum CacheType {
-	SELECT_FIELD, UPDATE_FIELDS
+	SELECT_FIELD, SELECT_FIELDS, UPDATE_FIELDS, UPDATE_FIELDS_WITH_TIMESTAMP, UPDATE_COLLECTION, UPDATE_COLLECTION_WITH_TIMESTAMP
 }
@@ -16,13 +16,17 @@
 package info.archinnov.achilles.internal.statement.prepared;
 
 import static info.archinnov.achilles.internal.consistency.ConsistencyConverter.getCQLLevel;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.REMOVE_FROM_MAP;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChange;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.slf4j.Logger;
@@ -37,7 +41,7 @@ public class PreparedStatementBinder {
 	private static final Logger log = LoggerFactory.getLogger(PreparedStatementBinder.class);
 
 	public BoundStatementWrapper bindForInsert(PreparedStatement ps, EntityMeta entityMeta, Object entity,
-			ConsistencyLevel consistencyLevel, Optional<Integer> ttlO) {
+			ConsistencyLevel consistencyLevel, Optional<Integer> ttlO, Optional<Long> timestampO) {
 		log.trace("Bind prepared statement {} for insert of entity {}", ps.getQueryString(), entity);
 		List<Object> values = new ArrayList<>();
 		Object primaryKey = entityMeta.getPrimaryKey(entity);
@@ -52,16 +56,22 @@ public class PreparedStatementBinder {
 
 		// TTL or default value 0
 		values.add(ttlO.or(0));
+		if (timestampO.isPresent()) {
+			values.add(timestampO.get());
+		}
 		BoundStatement bs = ps.bind(values.toArray());
 		return new BoundStatementWrapper(bs, values.toArray(), getCQLLevel(consistencyLevel));
 	}
 
 	public BoundStatementWrapper bindForUpdate(PreparedStatement ps, EntityMeta entityMeta, List<PropertyMeta> pms,
-			Object entity, ConsistencyLevel consistencyLevel, Optional<Integer> ttlO) {
+			Object entity, ConsistencyLevel consistencyLevel, Optional<Integer> ttlO, Optional<Long> timestampO) {
 		log.trace("Bind prepared statement {} for properties {} update of entity {}", ps.getQueryString(), pms, entity);
 		List<Object> values = new ArrayList<>();
 		// TTL or default value 0
 		values.add(ttlO.or(0));
+		if (timestampO.isPresent()) {
+			values.add(timestampO.get());
+		}
 		for (PropertyMeta pm : pms) {
 			Object value = pm.getAndEncodeValueForCassandra(entity);
 			values.add(value);
@@ -73,6 +83,49 @@ public class PreparedStatementBinder {
 		return new BoundStatementWrapper(bs, values.toArray(), getCQLLevel(consistencyLevel));
 	}
 
+	public BoundStatementWrapper bindForCollectionUpdate(PreparedStatement ps, EntityMeta entityMeta, PropertyMeta pm,
+			CollectionChange change, Object entity, ConsistencyLevel consistencyLevel, Optional<Integer> ttlO,
+			Optional<Long> timestampO) {
+		log.trace("Bind prepared statement {} for collection change {} on property {} of entity {}",
+				ps.getQueryString(), change, pm.getPropertyName(), entity);
+		List<Object> values = new ArrayList<>();
+		if (change.getType() == REMOVE_FROM_MAP) {
+			values.add(pm.encodeKey(change.getKey()));
+		} else {
+			// TTL or default value 0
+			values.add(ttlO.or(0));
+		}
+		if (timestampO.isPresent()) {
+			values.add(timestampO.get());
+		}
+		switch (change.getType()) {
+		case ADD_TO_SET:
+		case REMOVE_FROM_SET:
+			values.add(pm.encode(change.<Set<?>> getValue()));
+			break;
+		case APPEND_TO_LIST:
+		case PREPEND_TO_LIST:
+		case REMOVE_FROM_LIST:
+			values.add(pm.encode(change.<List<?>> getValue()));
+			break;
+		case SET_TO_LIST_AT_INDEX:
+			// :listIndex marker
+			values.add(change.getKey());
+			values.add(pm.encode(change.getValue()));
+			break;
+		case ADD_TO_MAP:
+			values.add(pm.encode(change.<Map<?, ?>> getValue()));
+			break;
+		default:
+			break;
+		}
+		Object primaryKey = entityMeta.getPrimaryKey(entity);
+		values.addAll(bindPrimaryKey(primaryKey, entityMeta.getIdMeta()));
+		BoundStatement bs = ps.bind(values.toArray());
+
+		return new BoundStatementWrapper(bs, values.toArray(), getCQLLevel(consistencyLevel));
+	}
+
 	public BoundStatementWrapper bindStatementWithOnlyPKInWhereClause(PreparedStatement ps, EntityMeta entityMeta,
 			Object primaryKey, ConsistencyLevel consistencyLevel) {
 		log.trace("Bind prepared statement {} with primary key {}", ps.getQueryString(), primaryKey);
@@ -84,30 +137,39 @@ public class PreparedStatementBinder {
 	}
 
 	public BoundStatementWrapper bindForSimpleCounterIncrementDecrement(PreparedStatement ps, EntityMeta entityMeta,
-			PropertyMeta pm, Object primaryKey, Long increment, ConsistencyLevel consistencyLevel) {
+			PropertyMeta pm, String encodedPrimaryKey, Long increment, ConsistencyLevel consistencyLevel) {
 		log.trace("Bind prepared statement {} for simple counter increment of {} using primary key {} and value {}",
-				ps.getQueryString(), pm, primaryKey, increment);
-		Object[] boundValues = ArrayUtils.add(extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey), 0,
-				increment);
+				ps.getQueryString(), pm, encodedPrimaryKey, increment);
+		Object[] boundValues = ArrayUtils.add(extractValuesForSimpleCounterBinding(entityMeta, pm, encodedPrimaryKey),
+				0, increment);
 
 		BoundStatement bs = ps.bind(boundValues);
 		return new BoundStatementWrapper(bs, boundValues, getCQLLevel(consistencyLevel));
 	}
 
 	public BoundStatementWrapper bindForSimpleCounterSelect(PreparedStatement ps, EntityMeta entityMeta,
-			PropertyMeta pm, Object primaryKey, ConsistencyLevel consistencyLevel) {
+			PropertyMeta pm, String encodedPrimaryKey, ConsistencyLevel consistencyLevel) {
 		log.trace("Bind prepared statement {} for simple counter read of {} using primary key {}", ps.getQueryString(),
-				pm, primaryKey);
-		Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey);
+				pm, encodedPrimaryKey);
+		Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, encodedPrimaryKey);
+		BoundStatement bs = ps.bind(boundValues);
+		return new BoundStatementWrapper(bs, boundValues, getCQLLevel(consistencyLevel));
+	}
+
+	public BoundStatementWrapper bindForSimpleCountersSelect(PreparedStatement ps, EntityMeta entityMeta,
+			String encodedPrimaryKey, ConsistencyLevel consistencyLevel) {
+		log.trace("Bind prepared statement {} for all simple counters read of {} using primary key {}",
+				ps.getQueryString(), entityMeta, encodedPrimaryKey);
+		Object[] boundValues = new Object[] { entityMeta.getClassName(), encodedPrimaryKey };
 		BoundStatement bs = ps.bind(boundValues);
 		return new BoundStatementWrapper(bs, boundValues, getCQLLevel(consistencyLevel));
 	}
 
 	public BoundStatementWrapper bindForSimpleCounterDelete(PreparedStatement ps, EntityMeta entityMeta,
-			PropertyMeta pm, Object primaryKey, ConsistencyLevel consistencyLevel) {
+			PropertyMeta pm, String encodedPrimaryKey, ConsistencyLevel consistencyLevel) {
 		log.trace("Bind prepared statement {} for simple counter delete for {} using primary key {}",
-				ps.getQueryString(), pm, primaryKey);
-		Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey);
+				ps.getQueryString(), pm, encodedPrimaryKey);
+		Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, encodedPrimaryKey);
 		BoundStatement bs = ps.bind(boundValues);
 		return new BoundStatementWrapper(bs, boundValues, getCQLLevel(consistencyLevel));
 	}
@@ -157,12 +219,16 @@ public class PreparedStatementBinder {
 		return values;
 	}
 
-	private Object[] extractValuesForSimpleCounterBinding(EntityMeta entityMeta, PropertyMeta pm, Object primaryKey) {
-		PropertyMeta idMeta = entityMeta.getIdMeta();
+	public Object[] extractValuesForClusteredCounterBinding(EntityMeta entityMeta, Object primaryKey) {
+		List<Object> primaryKeys = bindPrimaryKey(primaryKey, entityMeta.getIdMeta());
+		return primaryKeys.toArray(new Object[primaryKeys.size()]);
+	}
+
+	public Object[] extractValuesForSimpleCounterBinding(EntityMeta entityMeta, PropertyMeta pm,
+			String encodedPrimaryKey) {
 		String fqcn = entityMeta.getClassName();
-		String primaryKeyAsString = idMeta.forceEncodeToJSON(primaryKey);
 		String propertyName = pm.getPropertyName();
 
-		return new Object[] { fqcn, primaryKeyAsString, propertyName };
+		return new Object[] { fqcn, encodedPrimaryKey, propertyName };
 	}
 }
@@ -15,13 +15,21 @@
  */
 package info.archinnov.achilles.internal.statement.prepared;
 
+import static com.datastax.driver.core.querybuilder.QueryBuilder.addAll;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.appendAll;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.decr;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.discardAll;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.incr;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.insertInto;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.prependAll;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.put;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.putAll;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.removeAll;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.select;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.set;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.timestamp;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.ttl;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.update;
 import static com.google.common.collect.ImmutableMap.of;
@@ -36,9 +44,13 @@ import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.INCR;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.SELECT;
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.DELETE_ALL;
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.SELECT_ALL;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.REMOVE_FROM_MAP;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.metadata.holder.ColumnIndexPlan;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType;
 
 import java.util.HashMap;
 import java.util.List;
@@ -50,6 +62,7 @@ import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.querybuilder.Assignment;
 import com.datastax.driver.core.querybuilder.Delete;
 import com.datastax.driver.core.querybuilder.Insert;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
@@ -63,6 +76,19 @@ public class PreparedStatementGenerator {
 
 	public PreparedStatement prepareInsertPS(Session session, EntityMeta entityMeta) {
 		log.trace("Generate prepared statement for INSERT on {}", entityMeta);
+		Insert insert = prepareInsert(entityMeta);
+		insert.using(ttl(bindMarker("ttl")));
+		return session.prepare(insert.getQueryString());
+	}
+
+	public PreparedStatement prepareInsertWithTimestampPS(Session session, EntityMeta entityMeta) {
+		log.trace("Generate prepared statement for INSERT with timestamp on {}", entityMeta);
+		Insert insert = prepareInsert(entityMeta);
+		insert.using(ttl(bindMarker("ttl"))).and(timestamp(bindMarker("timestamp")));
+		return session.prepare(insert.getQueryString());
+	}
+
+	private Insert prepareInsert(EntityMeta entityMeta) {
 		PropertyMeta idMeta = entityMeta.getIdMeta();
 		Insert insert = insertInto(entityMeta.getTableName());
 		prepareInsertPrimaryKey(idMeta, insert);
@@ -71,9 +97,7 @@ public class PreparedStatementGenerator {
 			String property = pm.getPropertyName();
 			insert.value(property, bindMarker(property));
 		}
-
-		insert.using(ttl(bindMarker("ttl")));
-		return session.prepare(insert.getQueryString());
+		return insert;
 	}
 
 	public PreparedStatement prepareSelectFieldPS(Session session, EntityMeta entityMeta, PropertyMeta pm) {
@@ -92,10 +116,89 @@ public class PreparedStatementGenerator {
 		}
 	}
 
+	public PreparedStatement prepareSelectFieldsPS(Session session, EntityMeta entityMeta, List<PropertyMeta> pms) {
+		log.trace("Generate prepared statement for SELECT properties {}", pms);
+
+		Selection select = select();
+		for (PropertyMeta pm : pms) {
+			if (pm.isCounter()) {
+				throw new IllegalArgumentException("Cannot prepare statement for property '" + pm.getPropertyName()
+						+ "' of entity '" + entityMeta.getClassName() + "' because it is a counter type");
+			}
+			select = prepareSelectField(pm, select);
+		}
+		Select from = select.from(entityMeta.getTableName());
+		RegularStatement statement = prepareWhereClauseForSelect(entityMeta.getIdMeta(), from);
+		return session.prepare(statement.getQueryString());
+	}
+
 	public PreparedStatement prepareUpdateFields(Session session, EntityMeta entityMeta, List<PropertyMeta> pms) {
 
 		log.trace("Generate prepared statement for UPDATE properties {}", pms);
 
+		Update.Where where = prepareUpdateFieldsWhere(entityMeta, pms);
+		return session.prepare(where.using(ttl(bindMarker("ttl"))).getQueryString());
+	}
+
+	public PreparedStatement prepareUpdateFieldsWithTimestamp(Session session, EntityMeta entityMeta,
+			List<PropertyMeta> pms) {
+
+		log.trace("Generate prepared statement for UPDATE properties {} with timestamp", pms);
+
+		Update.Where where = prepareUpdateFieldsWhere(entityMeta, pms);
+		RegularStatement statement = where.using(ttl(bindMarker("ttl"))).and(timestamp(bindMarker("timestamp")));
+		return session.prepare(statement.getQueryString());
+	}
+
+	public PreparedStatement prepareCollectionUpdate(Session session, EntityMeta entityMeta, PropertyMeta pm,
+			CollectionChangeType changeType, boolean withTimestamp) {
+
+		log.trace("Generate prepared statement for {} on collection property {}", changeType, pm.getPropertyName());
+
+		PropertyMeta idMeta = entityMeta.getIdMeta();
+		String property = pm.getPropertyName();
+		RegularStatement statement;
+		if (changeType == REMOVE_FROM_MAP) {
+			Delete delete = QueryBuilder.delete().mapElt(property, bindMarker("key")).from(entityMeta.getTableName());
+			if (withTimestamp) {
+				delete.using(timestamp(bindMarker("timestamp")));
+			}
+			statement = prepareWhereClauseForDelete(idMeta, delete);
+		} else {
+			Assignment assignment = prepareCollectionAssignment(property, changeType);
+			Update.Where where = prepareWhereClauseForUpdate(idMeta, update(entityMeta.getTableName()).with(assignment));
+			if (withTimestamp) {
+				statement = where.using(ttl(bindMarker("ttl"))).and(timestamp(bindMarker("timestamp")));
+			} else {
+				statement = where.using(ttl(bindMarker("ttl")));
+			}
+		}
+		return session.prepare(statement.getQueryString());
+	}
+
+	private Assignment prepareCollectionAssignment(String property, CollectionChangeType changeType) {
+		switch (changeType) {
+		case ADD_TO_SET:
+			return addAll(property, bindMarker(property));
+		case REMOVE_FROM_SET:
+			return removeAll(property, bindMarker(property));
+		case APPEND_TO_LIST:
+			return appendAll(property, bindMarker(property));
+		case PREPEND_TO_LIST:
+			return prependAll(property, bindMarker(property));
+		case SET_TO_LIST_AT_INDEX:
+			// "index" is a reserved CQL keyword and cannot be used as marker
+			return put(property, bindMarker("listIndex"), bindMarker(property));
+		case REMOVE_FROM_LIST:
+			return discardAll(property, bindMarker(property));
+		case ADD_TO_MAP:
+			return putAll(property, bindMarker(property));
+		default:
+			throw new AchillesException("Cannot prepare collection update for change type '" + changeType + "'");
+		}
+	}
+
+	private Update.Where prepareUpdateFieldsWhere(EntityMeta entityMeta, List<PropertyMeta> pms) {
 		PropertyMeta idMeta = entityMeta.getIdMeta();
 		Update update = update(entityMeta.getTableName());
 
@@ -109,8 +212,7 @@ public class PreparedStatementGenerator {
 				assignments.and(set(property, bindMarker(property)));
 			}
 		}
-		RegularStatement statement = prepareWhereClauseForUpdate(idMeta, assignments, true);
-		return session.prepare(statement.getQueryString());
+		return prepareWhereClauseForUpdate(idMeta, assignments);
 	}
 
 	public PreparedStatement prepareSelectPS(Session session, EntityMeta entityMeta) {
@@ -129,6 +231,11 @@ public class PreparedStatementGenerator {
 		return session.prepare(statement.getQueryString());
 	}
 
+	public ColumnIndexPlan buildSelectColumnPlan(EntityMeta entityMeta) {
+		log.trace("Build column index plan for SELECT of {}", entityMeta);
+		return new ColumnIndexPlan(entityMeta.getColumnsMetaToLoad());
+	}
+
 	public Map<CQLQueryType, PreparedStatement> prepareSimpleCounterQueryMap(Session session) {
 
 		StringBuilder incr = new StringBuilder();
@@ -154,6 +261,12 @@ public class PreparedStatementGenerator {
 		select.append("AND ").append(CQL_COUNTER_PRIMARY_KEY).append(" = ? ");
 		select.append("AND ").append(CQL_COUNTER_PROPERTY_NAME).append(" = ?");
 
+		StringBuilder selectAll = new StringBuilder();
+		selectAll.append("SELECT ").append(CQL_COUNTER_PROPERTY_NAME).append(",").append(CQL_COUNTER_VALUE).append(" ");
+		selectAll.append("FROM ").append(CQL_COUNTER_TABLE).append(" ");
+		selectAll.append("WHERE ").append(CQL_COUNTER_FQCN).append(" = ? ");
+		selectAll.append("AND ").append(CQL_COUNTER_PRIMARY_KEY).append(" = ?");
+
 		StringBuilder delete = new StringBuilder();
 		delete.append("DELETE FROM ").append(CQL_COUNTER_TABLE).append(" ");
 		delete.append("WHERE ").append(CQL_COUNTER_FQCN).append(" = ? ");
@@ -164,6 +277,7 @@ public class PreparedStatementGenerator {
 		counterPSMap.put(INCR, session.prepare(incr.toString()));
 		counterPSMap.put(DECR, session.prepare(decr.toString()));
 		counterPSMap.put(SELECT, session.prepare(select.toString()));
+		counterPSMap.put(CQLQueryType.SELECT_ALL, session.prepare(selectAll.toString()));
 		counterPSMap.put(DELETE, session.prepare(delete.toString()));
 
 		return counterPSMap;
@@ -183,10 +297,10 @@ public class PreparedStatementGenerator {
 			String counterName = counterMeta.getPropertyName();
 
 			RegularStatement incrementStatement = prepareWhereClauseForUpdate(idMeta,
-					update(tableName).with(incr(counterName, bindMarker(counterName))), false);
+					update(tableName).with(incr(counterName, bindMarker(counterName))));
 
 			RegularStatement decrementStatement = prepareWhereClauseForUpdate(idMeta,
-					update(tableName).with(decr(counterName, bindMarker(counterName))), false);
+					update(tableName).with(decr(counterName, bindMarker(counterName))));
 			RegularStatement selectStatement = prepareWhereClauseForSelect(idMeta, select(counterName).from(tableName));
 
 			incrStatementPerCounter.put(counterName, session.prepare(incrementStatement));
@@ -249,7 +363,7 @@ public class PreparedStatementGenerator {
 		return statement;
 	}
 
-	private RegularStatement prepareWhereClauseForUpdate(PropertyMeta idMeta, Assignments update, boolean prepareTTL) {
+	private Update.Where prepareWhereClauseForUpdate(PropertyMeta idMeta, Assignments update) {
 		Update.Where where = null;
 		if (idMeta.isEmbeddedId()) {
 			int i = 0;
@@ -265,12 +379,7 @@ public class PreparedStatementGenerator {
 			String idName = idMeta.getPropertyName();
 			where = update.where(eq(idName, bindMarker(idName)));
 		}
-
-		if (prepareTTL) {
-			return where.using(ttl(bindMarker("ttl")));
-		} else {
-			return where;
-		}
+		return where;
 	}
 
 	public Map<String, PreparedStatement> prepareRemovePSs(Session session, EntityMeta entityMeta) {
@@ -18,13 +18,19 @@ package info.archinnov.achilles.internal.statement.wrapper;
 
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Statement;
 
@@ -43,8 +49,22 @@ public abstract class AbstractStatementWrapper {
 		return values;
 	}
 
+	/**
+	 * Rough size in bytes of the statement payload, used to split batches
+	 * before they reach the server-side batch size thresholds
+	 */
+	public int estimateSize() {
+		int size = 0;
+		for (Object value : values) {
+			size += estimateSize(value);
+		}
+		return size;
+	}
+
 	public abstract ResultSet execute(Session session);
 
+	public abstract ResultSetFuture executeAsync(Session session);
+
 	public abstract Statement getStatement();
 
 	public abstract void logDMLStatement(String indentation);
@@ -61,6 +81,33 @@ public abstract class AbstractStatementWrapper {
 		}
 	}
 
+	private static int estimateSize(Object value) {
+		if (value == null) {
+			return 0;
+		} else if (value instanceof String) {
+			return ((String) value).length();
+		} else if (value instanceof ByteBuffer) {
+			return ((ByteBuffer) value).remaining();
+		} else if (value instanceof byte[]) {
+			return ((byte[]) value).length;
+		} else if (value instanceof UUID) {
+			return 16;
+		} else if (value instanceof Collection) {
+			int size = 0;
+			for (Object element : (Collection<?>) value) {
+				size += estimateSize(element);
+			}
+			return size;
+		} else if (value instanceof Map) {
+			int size = 0;
+			for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				size += estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+			}
+			return size;
+		}
+		return 8;
+	}
+
 	protected void writeDMLStatementLog(String queryType, String queryString, String consistencyLevel,
 			Object... values) {
 
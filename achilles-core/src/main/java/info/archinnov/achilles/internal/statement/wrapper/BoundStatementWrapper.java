@@ -19,6 +19,7 @@ import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 
 public class BoundStatementWrapper extends AbstractStatementWrapper {
@@ -37,6 +38,12 @@ public class BoundStatementWrapper extends AbstractStatementWrapper {
 		return session.execute(boundStatement);
 	}
 
+	@Override
+	public ResultSetFuture executeAsync(Session session) {
+		logDMLStatement("");
+		return session.executeAsync(boundStatement);
+	}
+
 	@Override
 	public BoundStatement getStatement() {
 		return boundStatement;
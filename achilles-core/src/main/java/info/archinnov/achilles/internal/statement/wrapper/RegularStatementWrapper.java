@@ -19,6 +19,7 @@ package info.archinnov.achilles.internal.statement.wrapper;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 
 public class RegularStatementWrapper extends AbstractStatementWrapper {
@@ -38,11 +39,22 @@ public class RegularStatementWrapper extends AbstractStatementWrapper {
 		return session.execute(regularStatement);
 	}
 
+	@Override
+	public ResultSetFuture executeAsync(Session session) {
+		logDMLStatement("");
+		return session.executeAsync(regularStatement);
+	}
+
 	@Override
 	public RegularStatement getStatement() {
 		return regularStatement;
 	}
 
+	@Override
+	public int estimateSize() {
+		return regularStatement.getQueryString().length() + super.estimateSize();
+	}
+
 	@Override
 	public void logDMLStatement(String indentation) {
 		if (dmlLogger.isDebugEnabled()) {
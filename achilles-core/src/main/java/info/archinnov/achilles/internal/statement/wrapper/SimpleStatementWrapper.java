@@ -17,6 +17,7 @@
 package info.archinnov.achilles.internal.statement.wrapper;
 
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
 
@@ -35,11 +36,22 @@ public class SimpleStatementWrapper extends AbstractStatementWrapper {
 		return session.execute(simpleStatement.getQueryString(), values);
 	}
 
+	@Override
+	public ResultSetFuture executeAsync(Session session) {
+		logDMLStatement("");
+		return session.executeAsync(simpleStatement.getQueryString(), values);
+	}
+
 	@Override
 	public SimpleStatement getStatement() {
 		return simpleStatement;
 	}
 
+	@Override
+	public int estimateSize() {
+		return simpleStatement.getQueryString().length() + super.estimateSize();
+	}
+
 	@Override
 	public void logDMLStatement(String indentation) {
 		if (dmlLogger.isDebugEnabled()) {
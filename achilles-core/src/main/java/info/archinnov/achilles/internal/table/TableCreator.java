@@ -111,7 +111,7 @@ public class TableCreator {
 		TableBuilder builder = TableBuilder.createTable(tableName);
 		for (PropertyMeta pm : entityMeta.getAllMetasExceptIdAndCounters()) {
 			String propertyName = pm.getPropertyName();
-			Class<?> keyClass = pm.getKeyClass();
+			Class<?> keyClass = pm.getCQLKeyClass();
 			Class<?> valueClass = pm.getValueClassForTableCreation();
 			switch (pm.type()) {
 			case SIMPLE:
@@ -127,7 +127,7 @@ public class TableCreator {
 				builder.addSet(propertyName, valueClass);
 				break;
 			case MAP:
-				builder.addMap(propertyName, keyClass, pm.getValueClass());
+				builder.addMap(propertyName, keyClass, pm.getCQLValueClass());
 				break;
 			default:
 				break;
@@ -27,6 +27,7 @@ import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
@@ -41,7 +42,11 @@ public class UUIDGen
     // placement of this singleton is important.  It needs to be instantiated *AFTER* the other statics.
     private static final UUIDGen instance = new UUIDGen();
 
-    private long lastNanos;
+    // last timestamp handed out, in 100ns intervals since START_EPOCH
+    private final AtomicLong lastNanos = new AtomicLong();
+
+    // last timestamp handed out by increasingMicroTimestamp(), in micros since Unix epoch
+    private final AtomicLong lastMicros = new AtomicLong();
 
     private UUIDGen()
     {
@@ -71,9 +76,15 @@ public class UUIDGen
         return (timestamp / 10) + START_EPOCH * 1000 + remainder;
     }
 
-    public static long increasingMicroTimestamp() {
-        final UUID timeUUID = getTimeUUID();
-        return microsTimestamp(timeUUID);
+    /**
+     * Returns a strictly increasing timestamp in microseconds since Unix epoch, suitable
+     * for write timestamps. No UUID is created and the time UUID clock is not touched.
+     *
+     * @return microseconds since Unix epoch, distinct across all calling threads
+     */
+    public static long increasingMicroTimestamp()
+    {
+        return instance.createMicrosSafe();
     }
 
 
@@ -89,16 +100,30 @@ public class UUIDGen
     }
 
     // needs to return two different values for the same when.
-    // we can generate at most 10k UUIDs per ms.
-    private synchronized long createTimeSafe()
+    // we can generate 10k UUIDs per ms before running ahead of the clock.
+    private long createTimeSafe()
+    {
+        long now = (System.currentTimeMillis() - START_EPOCH) * 10000;
+        return createTime(next(lastNanos, now));
+    }
+
+    // same as above, 1k values per ms
+    private long createMicrosSafe()
     {
-        long nanosSince = (System.currentTimeMillis() - START_EPOCH) * 10000;
-        if (nanosSince > lastNanos)
-            lastNanos = nanosSince;
-        else
-            nanosSince = ++lastNanos;
+        long now = System.currentTimeMillis() * 1000;
+        return next(lastMicros, now);
+    }
 
-        return createTime(nanosSince);
+    // lock-free: retry until our value is the one published, so that no two callers get the same one
+    private static long next(AtomicLong last, long now)
+    {
+        while (true)
+        {
+            long previous = last.get();
+            long candidate = now > previous ? now : previous + 1;
+            if (last.compareAndSet(previous, candidate))
+                return candidate;
+        }
     }
 
 
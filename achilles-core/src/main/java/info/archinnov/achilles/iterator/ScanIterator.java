@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.iterator;
+
+import java.io.Closeable;
+import java.math.BigInteger;
+import java.util.Iterator;
+
+/**
+ * Iterator over the entities of a full table scan. Token ranges are fetched
+ * concurrently so entities do not come in token order.
+ * 
+ * The iterator should be closed when it is abandoned before the end, to stop
+ * the background fetching
+ */
+public interface ScanIterator<T> extends Iterator<T>, Closeable {
+
+	/**
+	 * Position up to which every token range has been entirely returned by
+	 * this iterator. Save it and pass it to <em>resumeFrom()</em> to restart
+	 * an interrupted scan
+	 * 
+	 * @return resume token or null if no range has been completed yet
+	 */
+	public BigInteger getResumeToken();
+
+	@Override
+	public void close();
+}
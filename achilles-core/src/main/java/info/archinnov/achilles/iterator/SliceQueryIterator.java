@@ -13,8 +13,10 @@
  *  See the License for the specific language governing permissions and
  *  limitations under the License.
  */
+
 package info.archinnov.achilles.iterator;
 
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
@@ -22,12 +24,20 @@ import info.archinnov.achilles.internal.persistence.operations.EntityMapper;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.query.slice.CQLSliceQuery;
 
+import java.util.ArrayDeque;
 import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.google.common.base.Throwables;
 
 public class SliceQueryIterator<T> implements Iterator<T> {
 
@@ -36,6 +46,13 @@ public class SliceQueryIterator<T> implements Iterator<T> {
 	private PersistenceContext context;
 	private Iterator<Row> iterator;
 	private EntityMeta meta;
+	private boolean detached;
+
+	private ResultSet resultSet;
+	private int prefetchThreshold;
+	private Executor mappingExecutor;
+	private int mapAheadSize;
+	private Queue<FutureTask<T>> mappedAhead = new ArrayDeque<>();
 
 	private EntityMapper mapper = new EntityMapper();
 	private EntityProxifier proxifier = new EntityProxifier();
@@ -44,11 +61,20 @@ public class SliceQueryIterator<T> implements Iterator<T> {
 		this.context = context;
 		this.iterator = iterator;
 		this.meta = sliceQuery.getMeta();
+		this.detached = sliceQuery.isDetached();
+	}
+
+	public SliceQueryIterator(CQLSliceQuery<T> sliceQuery, PersistenceContext context, ResultSet resultSet) {
+		this(sliceQuery, context, resultSet.iterator());
+		this.resultSet = resultSet;
+		this.prefetchThreshold = sliceQuery.getPrefetchThreshold();
+		this.mappingExecutor = sliceQuery.getMappingExecutor();
+		this.mapAheadSize = Math.max(sliceQuery.getBatchSize(), 1);
 	}
 
 	@Override
 	public boolean hasNext() {
-		final boolean hasNext = iterator.hasNext();
+		final boolean hasNext = !mappedAhead.isEmpty() || iterator.hasNext();
 		log.trace("Does iterator has more element ? {}", hasNext);
 		return hasNext;
 	}
@@ -56,30 +82,79 @@ public class SliceQueryIterator<T> implements Iterator<T> {
 	@Override
 	public T next() {
 		log.trace("Fetch iterator next element");
+		prefetchIfNecessary();
+		if (mappingExecutor == null) {
+			return mapRow(iterator.next());
+		}
+		if (mappedAhead.isEmpty()) {
+			submitMapping(iterator.next());
+		}
+		mapAhead();
+		return getMapped(mappedAhead.poll());
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Cannot remove clustered entity with iterator");
+	}
+
+	private void prefetchIfNecessary() {
+		if (prefetchThreshold > 0 && !resultSet.isFullyFetched()
+				&& resultSet.getAvailableWithoutFetching() <= prefetchThreshold) {
+			log.trace("Prefetch next page of slice query");
+			resultSet.fetchMoreResults();
+		}
+	}
+
+	private void mapAhead() {
+		while (mappedAhead.size() < mapAheadSize && resultSet.getAvailableWithoutFetching() > 0) {
+			submitMapping(iterator.next());
+		}
+	}
+
+	private void submitMapping(final Row row) {
+		FutureTask<T> task = new FutureTask<>(new Callable<T>() {
+			@Override
+			public T call() throws Exception {
+				return mapRow(row);
+			}
+		});
+		mappingExecutor.execute(task);
+		mappedAhead.add(task);
+	}
+
+	private T getMapped(FutureTask<T> task) {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AchillesException("Interrupted while waiting for slice row mapping", e);
+		} catch (ExecutionException e) {
+			throw Throwables.propagate(e.getCause());
+		}
+	}
+
+	private T mapRow(Row row) {
 		T clusteredEntity = null;
-		Row row = iterator.next();
 		if (row != null) {
 			clusteredEntity = meta.instanciate();
-			if (context.isClusteredCounter()) {
+			if (meta.isClusteredCounter()) {
 				mapper.setValuesToClusteredCounterEntity(row, meta, clusteredEntity);
 				mapper.setPropertyToEntity(row, meta.getIdMeta(), clusteredEntity);
 			} else {
-				mapper.setNonCounterPropertiesToEntity(row, meta, clusteredEntity);
+				mapper.setNonCounterPropertiesToEntity(row, meta, meta.getSliceSelectColumnPlan(), clusteredEntity);
 			}
 			meta.intercept(clusteredEntity, Event.POST_LOAD);
-			clusteredEntity = proxify(clusteredEntity);
+			if (!detached) {
+				clusteredEntity = proxify(clusteredEntity);
+			}
 		}
 		return clusteredEntity;
 	}
 
-	@Override
-	public void remove() {
-		throw new UnsupportedOperationException("Cannot remove clustered entity with iterator");
-	}
-
 	private T proxify(T clusteredEntity) {
 		PersistenceContext duplicate = context.duplicate(clusteredEntity);
-		return proxifier.buildProxyWithAllFieldsLoadedExceptCounters(clusteredEntity, duplicate);
+		return proxifier.buildProxyWithEagerFieldsLoaded(clusteredEntity, duplicate);
 	}
 
 }
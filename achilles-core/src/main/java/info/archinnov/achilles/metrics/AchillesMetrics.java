@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+/**
+ * Extension point receiving the runtime measurements of Achilles.
+ * <br/>
+ * <br/>
+ * Implementations are called synchronously from the persistence path and
+ * from driver callback threads, so they must be thread-safe and cheap.
+ * Provide a custom implementation with the <em>achilles.metrics</em>
+ * configuration parameter or enable the default {@link InMemoryMetrics} with
+ * <em>achilles.metrics.enable</em>
+ */
+public interface AchillesMetrics {
+
+	public static enum Operation {
+		PERSIST, UPDATE, REMOVE, FIND, SLICE, TYPED_QUERY, NATIVE_QUERY, STATEMENT_EXECUTION, ROW_MAPPING, PROXY_CREATION, SCAN, COUNTER_FLUSH, STATEMENT_PREPARATION, STATEMENT_BINDING, INTERCEPTOR
+	}
+
+	/**
+	 * Record the latency of an operation
+	 * 
+	 * @param entityClass
+	 *            entity class the operation applies to, <em>null</em> when the
+	 *            operation is not bound to any entity (native queries, raw
+	 *            statement execution)
+	 * @param operation
+	 *            measured operation
+	 * @param durationInNanos
+	 *            elapsed time in nanoseconds
+	 */
+	public void recordLatency(Class<?> entityClass, Operation operation, long durationInNanos);
+
+	/**
+	 * Record the number of statements sent in a single batch
+	 * 
+	 * @param statementCount
+	 *            batch size
+	 */
+	public void recordBatch(int statementCount);
+
+	/**
+	 * Record a lookup in the prepared statement caches
+	 * 
+	 * @param hit
+	 *            <em>true</em> if the statement was found in cache
+	 */
+	public void recordStatementCacheAccess(boolean hit);
+}
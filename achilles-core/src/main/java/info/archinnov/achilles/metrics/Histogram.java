@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of positive long values.
+ * <br/>
+ * <br/>
+ * Values below 128 are counted exactly. Above, buckets follow a log-linear
+ * layout: each power of two is split into 64 linear sub-buckets, which bounds
+ * the relative error of reported percentiles to about 1.6% with a fixed
+ * footprint of 3712 counters
+ */
+public class Histogram {
+
+	private static final int SUB_BUCKET_BITS = 6;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+	private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	public void record(long value) {
+		long safeValue = Math.max(value, 0L);
+		buckets.incrementAndGet(indexOf(safeValue));
+		count.incrementAndGet();
+		sum.addAndGet(safeValue);
+		long currentMax = max.get();
+		while (safeValue > currentMax && !max.compareAndSet(currentMax, safeValue)) {
+			currentMax = max.get();
+		}
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	public double getMean() {
+		long total = count.get();
+		return total == 0 ? 0.0 : (double) sum.get() / total;
+	}
+
+	public long getValueAtPercentile(double percentile) {
+		return valuesAtPercentiles(percentile)[0];
+	}
+
+	public HistogramSnapshot snapshot() {
+		long[] percentiles = valuesAtPercentiles(50.0, 95.0, 99.0, 99.9);
+		return new HistogramSnapshot(getCount(), getMean(), getMax(), percentiles[0], percentiles[1],
+				percentiles[2], percentiles[3]);
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			buckets.set(i, 0L);
+		}
+		count.set(0L);
+		sum.set(0L);
+		max.set(0L);
+	}
+
+	private long[] valuesAtPercentiles(double... percentiles) {
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+
+		long[] values = new long[percentiles.length];
+		if (total == 0) {
+			return values;
+		}
+		long currentMax = max.get();
+		int index = 0;
+		long cumulated = counts[0];
+		for (int i = 0; i < percentiles.length; i++) {
+			long rank = Math.max(1L, (long) Math.ceil(percentiles[i] / 100.0 * total));
+			while (cumulated < rank && index < BUCKET_COUNT - 1) {
+				cumulated += counts[++index];
+			}
+			values[i] = Math.min(highestValueOf(index), currentMax);
+		}
+		return values;
+	}
+
+	static int indexOf(long value) {
+		if (value < LINEAR_LIMIT) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+		return LINEAR_LIMIT + (shift - 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	static long highestValueOf(int index) {
+		if (index < LINEAR_LIMIT) {
+			return index;
+		}
+		int shift = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + 1;
+		long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+		return ((subBucket + 1) << shift) - 1;
+	}
+}
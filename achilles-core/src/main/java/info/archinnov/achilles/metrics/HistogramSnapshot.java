@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import java.beans.ConstructorProperties;
+
+public class HistogramSnapshot {
+	private final long count;
+	private final double mean;
+	private final long max;
+	private final long p50;
+	private final long p95;
+	private final long p99;
+	private final long p999;
+
+	@ConstructorProperties({ "count", "mean", "max", "p50", "p95", "p99", "p999" })
+	public HistogramSnapshot(long count, double mean, long max, long p50, long p95, long p99, long p999) {
+		this.count = count;
+		this.mean = mean;
+		this.max = max;
+		this.p50 = p50;
+		this.p95 = p95;
+		this.p99 = p99;
+		this.p999 = p999;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	public long getP50() {
+		return p50;
+	}
+
+	public long getP95() {
+		return p95;
+	}
+
+	public long getP99() {
+		return p99;
+	}
+
+	public long getP999() {
+		return p999;
+	}
+
+	@Override
+	public String toString() {
+		return "HistogramSnapshot [count=" + count + ", mean=" + mean + ", max=" + max + ", p50=" + p50 + ", p95="
+				+ p95 + ", p99=" + p99 + ", p999=" + p999 + "]";
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default {@link AchillesMetrics} implementation keeping one
+ * {@link Histogram} per entity class and operation in memory. Exposed
+ * through JMX when <em>achilles.metrics.jmx.enable</em> is set
+ */
+public class InMemoryMetrics implements AchillesMetrics, InMemoryMetricsMXBean {
+
+	private static final String NO_ENTITY = "*";
+
+	private final ConcurrentMap<String, Histogram> latencies = new ConcurrentHashMap<>();
+	private final Histogram batchSizes = new Histogram();
+	private final AtomicLong statementCacheHits = new AtomicLong();
+	private final AtomicLong statementCacheMisses = new AtomicLong();
+
+	@Override
+	public void recordLatency(Class<?> entityClass, Operation operation, long durationInNanos) {
+		getOrCreateHistogram(buildKey(entityClass, operation)).record(durationInNanos);
+	}
+
+	@Override
+	public void recordBatch(int statementCount) {
+		batchSizes.record(statementCount);
+	}
+
+	@Override
+	public void recordStatementCacheAccess(boolean hit) {
+		if (hit) {
+			statementCacheHits.incrementAndGet();
+		} else {
+			statementCacheMisses.incrementAndGet();
+		}
+	}
+
+	public HistogramSnapshot getLatency(Class<?> entityClass, Operation operation) {
+		Histogram histogram = latencies.get(buildKey(entityClass, operation));
+		return histogram == null ? new Histogram().snapshot() : histogram.snapshot();
+	}
+
+	@Override
+	public Map<String, HistogramSnapshot> getLatencies() {
+		Map<String, HistogramSnapshot> snapshots = new TreeMap<>();
+		for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+			snapshots.put(entry.getKey(), entry.getValue().snapshot());
+		}
+		return snapshots;
+	}
+
+	@Override
+	public HistogramSnapshot getBatchSizes() {
+		return batchSizes.snapshot();
+	}
+
+	@Override
+	public long getStatementCacheHitCount() {
+		return statementCacheHits.get();
+	}
+
+	@Override
+	public long getStatementCacheMissCount() {
+		return statementCacheMisses.get();
+	}
+
+	@Override
+	public double getStatementCacheHitRatio() {
+		long hits = statementCacheHits.get();
+		long total = hits + statementCacheMisses.get();
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+
+	@Override
+	public void reset() {
+		latencies.clear();
+		batchSizes.reset();
+		statementCacheHits.set(0L);
+		statementCacheMisses.set(0L);
+	}
+
+	private Histogram getOrCreateHistogram(String key) {
+		Histogram histogram = latencies.get(key);
+		if (histogram == null) {
+			Histogram newHistogram = new Histogram();
+			histogram = latencies.putIfAbsent(key, newHistogram);
+			if (histogram == null) {
+				histogram = newHistogram;
+			}
+		}
+		return histogram;
+	}
+
+	private String buildKey(Class<?> entityClass, Operation operation) {
+		String entity = entityClass == null ? NO_ENTITY : entityClass.getName();
+		return entity + ":" + operation.name();
+	}
+}
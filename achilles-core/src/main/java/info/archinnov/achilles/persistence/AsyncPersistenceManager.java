@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.persistence;
+
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Options;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Asynchronous flavour of the {@link PersistenceManager}.
+ * <br/>
+ * <br/>
+ * <strong>Threading</strong>: the work done once the driver answers (POST_*
+ * interceptors, entity cache invalidation, row mapping and proxy building)
+ * runs on the executor given with
+ * <em>achilles.async.listener.executor</em>. By default it runs on the thread
+ * completing the driver future, i.e. a driver I/O thread, so interceptors
+ * must then be fast and never block. Listeners added by the caller on the
+ * returned futures follow the executor they are registered with
+ */
+public interface AsyncPersistenceManager extends PersistenceManager {
+
+   /**
+    * Persist an entity asynchronously.
+    * 
+    * @param entity
+    *            Entity to be persisted
+    * @return future of the proxified entity
+    */
+   public <T> ListenableFuture<T> persistAsync(T entity);
+
+   /**
+    * Persist an entity asynchronously with the given options.
+    * 
+    * @param entity
+    *            Entity to be persisted
+    * @param options
+    *            options for consistency level, ttl and timestamp
+    * @return future of the proxified entity
+    */
+   public <T> ListenableFuture<T> persistAsync(T entity, Options options);
+
+   /**
+    * Update a "managed" entity asynchronously
+    * 
+    * @param entity
+    *            Managed entity to be updated
+    * @return future completed when the update has been applied
+    */
+   public ListenableFuture<Void> updateAsync(Object entity);
+
+   /**
+    * Update a "managed" entity asynchronously with the given options.
+    * 
+    * @param entity
+    *            Managed entity to be updated
+    * @param options
+    *            options for consistency level, ttl and timestamp
+    * @return future completed when the update has been applied
+    */
+   public ListenableFuture<Void> updateAsync(Object entity, Options options);
+
+   /**
+    * Remove an entity asynchronously.
+    * 
+    * @param entity
+    *            Entity to be removed
+    * @return future completed when the removal has been applied
+    */
+   public ListenableFuture<Void> removeAsync(Object entity);
+
+   /**
+    * Remove an entity asynchronously with the given options.
+    * 
+    * @param entity
+    *            Entity to be removed
+    * @param options
+    *            options for consistency level and timestamp
+    * @return future completed when the removal has been applied
+    */
+   public ListenableFuture<Void> removeAsync(Object entity, Options options);
+
+   /**
+    * Remove an entity by its id asynchronously.
+    * 
+    * @param entityClass
+    *            Entity class
+    * 
+    * @param primaryKey
+    *            Primary key
+    * @return future completed when the removal has been applied
+    */
+   public ListenableFuture<Void> removeByIdAsync(Class<?> entityClass, Object primaryKey);
+
+   /**
+    * Remove an entity by its id asynchronously with the given write consistency level.
+    * 
+    * @param entityClass
+    *            Entity class
+    * 
+    * @param primaryKey
+    *            Primary key
+    * @param writeLevel
+    *            Write consistency level
+    * @return future completed when the removal has been applied
+    */
+   public ListenableFuture<Void> removeByIdAsync(Class<?> entityClass, Object primaryKey, ConsistencyLevel writeLevel);
+
+   /**
+    * Find an entity asynchronously.
+    * 
+    * @param entityClass
+    *            Entity type
+    * @param primaryKey
+    *            Primary key (Cassandra row key) of the entity to load
+    * @return future of the proxified entity, holding null if not found
+    */
+   public <T> ListenableFuture<T> findAsync(Class<T> entityClass, Object primaryKey);
+
+   /**
+    * Find an entity asynchronously with the given read consistency level.
+    * 
+    * @param entityClass
+    *            Entity type
+    * @param primaryKey
+    *            Primary key (Cassandra row key) of the entity to load
+    * @param readLevel
+    *            Consistency level for reading
+    * @return future of the proxified entity, holding null if not found
+    */
+   public <T> ListenableFuture<T> findAsync(Class<T> entityClass, Object primaryKey, ConsistencyLevel readLevel);
+
+   /**
+    * Create a proxy for the entity. No data is fetched so the returned future is
+    * already completed.
+    * 
+    * @param entityClass
+    *            Entity type
+    * @param primaryKey
+    *            Primary key (Cassandra row key) of the entity to initialize
+    * @return future of the entity proxy
+    */
+   public <T> ListenableFuture<T> getProxyAsync(Class<T> entityClass, Object primaryKey);
+
+   /**
+    * Create a proxy for the entity with the given read consistency level. No
+    * data is fetched so the returned future is already completed.
+    * 
+    * @param entityClass
+    *            Entity type
+    * @param primaryKey
+    *            Primary key (Cassandra row key) of the entity to initialize
+    * @param readLevel
+    *            Consistency level for reading
+    * @return future of the entity proxy
+    */
+   public <T> ListenableFuture<T> getProxyAsync(Class<T> entityClass, Object primaryKey, ConsistencyLevel readLevel);
+}
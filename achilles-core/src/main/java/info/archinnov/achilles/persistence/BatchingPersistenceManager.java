@@ -15,6 +15,7 @@
  */
 package info.archinnov.achilles.persistence;
 
+import info.archinnov.achilles.type.BatchingStrategy;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
 public interface BatchingPersistenceManager extends PersistenceManager {
@@ -29,6 +30,21 @@ public interface BatchingPersistenceManager extends PersistenceManager {
     */
    public void startBatch(ConsistencyLevel consistencyLevel);
 
+   /**
+    * Start a batch session sending its statements with the given strategy.
+    * 
+    * With {@link BatchingStrategy#unloggedPerPartition()}, statements are
+    * grouped by partition key and each group is sent concurrently as an
+    * UNLOGGED batch. Groups succeed or fail independently
+    */
+   public void startBatch(BatchingStrategy batchingStrategy);
+
+   /**
+    * Start a batch session with read/write consistency levels and the given
+    * batching strategy
+    */
+   public void startBatch(ConsistencyLevel consistencyLevel, BatchingStrategy batchingStrategy);
+
    /**
     * End an existing batch and flush all the pending statements.
     * 
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.persistence;
+
+/**
+ * Progress callback of a {@link BulkWriter}. It is invoked from the driver
+ * I/O threads as writes complete and should therefore return quickly
+ */
+public interface BulkWriteListener {
+
+	/**
+	 * @param written
+	 *            number of entities successfully written so far
+	 * @param failed
+	 *            number of entities whose write failed so far
+	 * @param inFlight
+	 *            number of writes currently in flight
+	 * @param entitiesPerSecond
+	 *            average throughput since the writer was opened
+	 */
+	public void onProgress(long written, long failed, int inFlight, double entitiesPerSecond);
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.persistence;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.base.Objects;
+
+/**
+ * Outcome of a bulk write: how many entities were written and, for each
+ * entity that could not be written, the cause of the failure
+ */
+public class BulkWriteResult {
+
+	private final long written;
+	private final List<Failure> failures;
+	private final long elapsedMillis;
+
+	BulkWriteResult(long written, List<Failure> failures, long elapsedMillis) {
+		this.written = written;
+		this.failures = Collections.unmodifiableList(failures);
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public long getWritten() {
+		return written;
+	}
+
+	public List<Failure> getFailures() {
+		return failures;
+	}
+
+	public boolean hasFailures() {
+		return !failures.isEmpty();
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	@Override
+	public String toString() {
+		return Objects.toStringHelper(BulkWriteResult.class).add("written", written)
+				.add("failed", failures.size()).add("elapsed millis", elapsedMillis).toString();
+	}
+
+	public static class Failure {
+		private final Object entity;
+		private final Throwable cause;
+
+		Failure(Object entity, Throwable cause) {
+			this.entity = entity;
+			this.cause = cause;
+		}
+
+		public Object getEntity() {
+			return entity;
+		}
+
+		public Throwable getCause() {
+			return cause;
+		}
+
+		@Override
+		public String toString() {
+			return Objects.toStringHelper(Failure.class).add("entity", entity).add("cause", cause).toString();
+		}
+	}
+}
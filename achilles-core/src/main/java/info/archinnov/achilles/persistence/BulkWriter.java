@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.persistence;
+
+import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.type.Options;
+
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Streaming writer persisting entities through asynchronous inserts. At most
+ * <em>maxInFlight</em> writes are pending at any time: {@link #add(Object)}
+ * blocks until a slot frees up, so a fast producer cannot overwhelm the
+ * cluster.
+ * 
+ * Each entity goes through the same path as
+ * {@link PersistenceManager#persist(Object, Options)}: prepared insert,
+ * counters and PRE_PERSIST/POST_PERSIST interceptors, except that no proxy is
+ * built for the written entities. A failing entity does
+ * not abort the run, its failure is recorded in the {@link BulkWriteResult}
+ * returned by {@link #finish()}
+ * 
+ * <pre class="code">
+ * <code class="java">
+ *   BulkWriter writer = manager.bulkWriter(OptionsBuilder.withTtl(3600));
+ *   for (User user : users) {
+ *       writer.add(user);
+ *   }
+ *   BulkWriteResult result = writer.finish();
+ * </code>
+ * </pre>
+ */
+public class BulkWriter {
+
+	private static final Logger log = LoggerFactory.getLogger(BulkWriter.class);
+
+	public static final int DEFAULT_REPORT_INTERVAL = 1000;
+
+	private final DefaultPersistenceManager manager;
+	private final Options options;
+	private final int maxInFlight;
+	private final Semaphore inFlight;
+	private final long startNanos = System.nanoTime();
+
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong completed = new AtomicLong();
+	private final Queue<BulkWriteResult.Failure> failures = new ConcurrentLinkedQueue<>();
+
+	private BulkWriteListener listener;
+	private int reportInterval = DEFAULT_REPORT_INTERVAL;
+	private volatile boolean finished;
+
+	BulkWriter(DefaultPersistenceManager manager, Options options, int maxInFlight) {
+		this.manager = manager;
+		this.options = options;
+		this.maxInFlight = maxInFlight;
+		this.inFlight = new Semaphore(maxInFlight);
+	}
+
+	/**
+	 * Notify the listener every <em>reportInterval</em> completed writes and
+	 * once more when the writer is finished
+	 */
+	public BulkWriter listener(BulkWriteListener listener, int reportInterval) {
+		Validator.validateTrue(reportInterval > 0, "Bulk write report interval should be strictly positive");
+		this.listener = listener;
+		this.reportInterval = reportInterval;
+		return this;
+	}
+
+	public BulkWriter listener(BulkWriteListener listener) {
+		return listener(listener, DEFAULT_REPORT_INTERVAL);
+	}
+
+	/**
+	 * Send the entity asynchronously, blocking while <em>maxInFlight</em>
+	 * writes are already pending
+	 */
+	public void add(final Object entity) {
+		Validator.validateFalse(finished, "Cannot add entities to a finished bulk writer");
+
+		inFlight.acquireUninterruptibly();
+		ListenableFuture<Void> future;
+		try {
+			PersistenceContext context = manager.initPersistenceContextForPersist(entity, options);
+			future = context.insertAsync(entity);
+		} catch (RuntimeException e) {
+			onFailure(entity, e);
+			return;
+		}
+		Futures.addCallback(future, new FutureCallback<Void>() {
+			@Override
+			public void onSuccess(Void result) {
+				written.incrementAndGet();
+				onCompletion();
+			}
+
+			@Override
+			public void onFailure(Throwable cause) {
+				BulkWriter.this.onFailure(entity, cause);
+			}
+		});
+	}
+
+	public void addAll(Iterable<?> entities) {
+		for (Object entity : entities) {
+			add(entity);
+		}
+	}
+
+	/**
+	 * Wait for all pending writes and return the outcome of the run. No entity
+	 * can be added afterwards
+	 */
+	public BulkWriteResult finish() {
+		finished = true;
+		inFlight.acquireUninterruptibly(maxInFlight);
+		inFlight.release(maxInFlight);
+		report();
+
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+		BulkWriteResult result = new BulkWriteResult(written.get(), new ArrayList<>(failures), elapsedMillis);
+		log.debug("Bulk write finished: {}", result);
+		return result;
+	}
+
+	public int getInFlight() {
+		return maxInFlight - inFlight.availablePermits();
+	}
+
+	private void onFailure(Object entity, Throwable cause) {
+		log.debug("Bulk write of entity {} failed", entity, cause);
+		failures.add(new BulkWriteResult.Failure(entity, cause));
+		onCompletion();
+	}
+
+	private void onCompletion() {
+		inFlight.release();
+		if (completed.incrementAndGet() % reportInterval == 0) {
+			report();
+		}
+	}
+
+	private void report() {
+		if (listener != null) {
+			long done = written.get();
+			double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+			double throughput = elapsedSeconds > 0 ? done / elapsedSeconds : 0.0;
+			listener.onProgress(done, failures.size(), getInFlight(), throughput);
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.persistence;
+
+import static info.archinnov.achilles.type.OptionsBuilder.noOptions;
+import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.context.PersistenceContextFactory;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+public class DefaultAsyncPersistenceManager extends DefaultPersistenceManager implements AsyncPersistenceManager {
+
+	private static final Logger log = LoggerFactory.getLogger(DefaultAsyncPersistenceManager.class);
+
+	DefaultAsyncPersistenceManager(Map<Class<?>, EntityMeta> entityMetaMap, PersistenceContextFactory contextFactory,
+			DaoContext daoContext, ConfigurationContext configContext) {
+		super(entityMetaMap, contextFactory, daoContext, configContext);
+	}
+
+	@Override
+	public <T> ListenableFuture<T> persistAsync(T entity) {
+		log.debug("Persisting asynchronously entity '{}'", entity);
+		return persistAsync(entity, noOptions());
+	}
+
+	@Override
+	public <T> ListenableFuture<T> persistAsync(T entity, Options options) {
+		if (log.isDebugEnabled())
+			log.debug("Persisting asynchronously entity '{}' with options {} ", entity, options);
+
+		entityValidator.validateEntity(entity, entityMetaMap);
+
+		if (options.getTtl().isPresent()) {
+			entityValidator.validateNotClusteredCounter(entity, entityMetaMap);
+		}
+		proxifier.ensureNotProxy(entity);
+		PersistenceContext context = initPersistenceContext(entity, options);
+		return context.persistAsync(entity);
+	}
+
+	@Override
+	public ListenableFuture<Void> updateAsync(Object entity) {
+		if (log.isDebugEnabled())
+			log.debug("Updating asynchronously entity '{}'", proxifier.getRealObject(entity));
+		return updateAsync(entity, noOptions());
+	}
+
+	@Override
+	public ListenableFuture<Void> updateAsync(Object entity, Options options) {
+		proxifier.ensureProxy(entity);
+		Object realObject = proxifier.getRealObject(entity);
+		if (log.isDebugEnabled()) {
+			log.debug("Updating asynchronously entity '{}' with options {} ", realObject, options);
+		}
+		entityValidator.validateEntity(realObject, entityMetaMap);
+		if (options.getTtl().isPresent()) {
+			entityValidator.validateNotClusteredCounter(realObject, entityMetaMap);
+		}
+		PersistenceContext context = initPersistenceContext(realObject, options);
+		return context.updateAsync(entity);
+	}
+
+	@Override
+	public ListenableFuture<Void> removeAsync(Object entity) {
+		if (log.isDebugEnabled())
+			log.debug("Removing asynchronously entity '{}'", proxifier.getRealObject(entity));
+		return removeAsync(entity, noOptions());
+	}
+
+	@Override
+	public ListenableFuture<Void> removeAsync(Object entity, Options options) {
+		Object realObject = proxifier.getRealObject(entity);
+		if (log.isDebugEnabled()) {
+			log.debug("Removing asynchronously entity '{}' with options {}", realObject, options);
+		}
+
+		entityValidator.validateEntity(realObject, entityMetaMap);
+		PersistenceContext context = initPersistenceContext(realObject, options);
+		return context.removeAsync();
+	}
+
+	@Override
+	public ListenableFuture<Void> removeByIdAsync(Class<?> entityClass, Object primaryKey) {
+		return removeByIdAsync(entityClass, primaryKey, null);
+	}
+
+	@Override
+	public ListenableFuture<Void> removeByIdAsync(Class<?> entityClass, Object primaryKey,
+			ConsistencyLevel writeLevel) {
+		Validator.validateNotNull(entityClass, "The entity class should not be null for removal by id");
+		Validator.validateNotNull(primaryKey, "The primary key should not be null for removal by id");
+		if (log.isDebugEnabled())
+			log.debug("Removing asynchronously entity of type '{}' by its id '{}'", entityClass, primaryKey);
+
+		PersistenceContext context = initPersistenceContext(entityClass, primaryKey,
+				OptionsBuilder.withConsistency(writeLevel));
+		entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
+		return context.removeAsync();
+	}
+
+	@Override
+	public <T> ListenableFuture<T> findAsync(Class<T> entityClass, Object primaryKey) {
+		log.debug("Find asynchronously entity class '{}' with primary key {}", entityClass, primaryKey);
+		return findAsync(entityClass, primaryKey, null);
+	}
+
+	@Override
+	public <T> ListenableFuture<T> findAsync(Class<T> entityClass, Object primaryKey, ConsistencyLevel readLevel) {
+		log.debug("Find asynchronously entity class '{}' with primary key {} and read consistency level {}",
+				entityClass, primaryKey, readLevel);
+		Validator.validateNotNull(entityClass, "Entity class should not be null for find by id");
+		Validator.validateNotNull(primaryKey, "Entity primaryKey should not be null for find by id");
+		Validator.validateTrue(entityMetaMap.containsKey(entityClass),
+				"The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+		PersistenceContext context = initPersistenceContext(entityClass, primaryKey,
+				OptionsBuilder.withConsistency(readLevel));
+		entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
+		return context.findAsync(entityClass);
+	}
+
+	@Override
+	public <T> ListenableFuture<T> getProxyAsync(Class<T> entityClass, Object primaryKey) {
+		return getProxyAsync(entityClass, primaryKey, null);
+	}
+
+	@Override
+	public <T> ListenableFuture<T> getProxyAsync(Class<T> entityClass, Object primaryKey,
+			ConsistencyLevel readLevel) {
+		return Futures.immediateFuture(getProxy(entityClass, primaryKey, readLevel));
+	}
+}
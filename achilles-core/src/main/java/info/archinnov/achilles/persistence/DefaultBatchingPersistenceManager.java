@@ -24,9 +24,11 @@ import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.utils.UUIDGen;
+import info.archinnov.achilles.type.BatchingStrategy;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Options;
 
+import java.util.Collection;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -58,6 +60,19 @@ public class DefaultBatchingPersistenceManager extends DefaultPersistenceManager
         flushContext = flushContext.duplicateWithNoData(consistencyLevel);
 	}
 
+	@Override
+	public void startBatch(BatchingStrategy batchingStrategy) {
+		log.debug("Starting batch mode with strategy {}", batchingStrategy);
+		flushContext = flushContext.duplicateWithNoData(defaultConsistencyLevel, batchingStrategy);
+	}
+
+	@Override
+	public void startBatch(ConsistencyLevel consistencyLevel, BatchingStrategy batchingStrategy) {
+		log.debug("Starting batch mode with consistency level {} and strategy {}", consistencyLevel.name(),
+				batchingStrategy);
+		flushContext = flushContext.duplicateWithNoData(consistencyLevel, batchingStrategy);
+	}
+
 	@Override
    public void endBatch() {
 		log.debug("Ending batch mode");
@@ -85,6 +100,12 @@ public class DefaultBatchingPersistenceManager extends DefaultPersistenceManager
 		}
 	}
 
+	@Override
+	public BulkWriter bulkWriter(Options options) {
+		throw new AchillesException(
+				"Bulk writes cannot be used in batch mode. Please call 'persist()' to add entities to the current batch");
+	}
+
    @Override
 	public void update(Object entity, Options options) {
 		if (options.getConsistencyLevel().isPresent()) {
@@ -118,6 +139,17 @@ public class DefaultBatchingPersistenceManager extends DefaultPersistenceManager
 		}
 	}
 
+   @Override
+	public <K, T> Map<K, T> findAll(Class<T> entityClass, Collection<K> primaryKeys, ConsistencyLevel readLevel) {
+		if (readLevel != null) {
+			flushContext = flushContext.duplicateWithNoData(defaultConsistencyLevel);
+			throw new AchillesException(
+					"Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(consistencyLevel)'");
+		} else {
+			return super.findAll(entityClass, primaryKeys, null);
+		}
+	}
+
    @Override
 	public <T> T getProxy(final Class<T> entityClass, final Object primaryKey, ConsistencyLevel readLevel) {
 		if (readLevel != null) {
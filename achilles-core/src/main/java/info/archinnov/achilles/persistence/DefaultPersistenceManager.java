@@ -16,18 +16,26 @@
 package info.archinnov.achilles.persistence;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.FIND;
 import static info.archinnov.achilles.type.OptionsBuilder.noOptions;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
+import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.cache.EntityCache;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.persistence.operations.EntityLoader;
+import info.archinnov.achilles.internal.persistence.operations.EntityMultiLoader;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.internal.persistence.operations.EntityValidator;
+import info.archinnov.achilles.internal.persistence.operations.ScanQueryExecutor;
 import info.archinnov.achilles.internal.persistence.operations.SliceQueryExecutor;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.query.cql.NativeQueryBuilder;
+import info.archinnov.achilles.query.scan.ScanQueryBuilder;
 import info.archinnov.achilles.query.slice.SliceQueryBuilder;
 import info.archinnov.achilles.query.typed.TypedQueryBuilder;
 import info.archinnov.achilles.query.typed.TypedQueryValidator;
@@ -36,6 +44,10 @@ import info.archinnov.achilles.type.IndexCondition;
 import info.archinnov.achilles.type.Options;
 import info.archinnov.achilles.type.OptionsBuilder;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -46,6 +58,9 @@ import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
+import com.google.common.base.Optional;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Lists;
 
 public class DefaultPersistenceManager implements PersistenceManager {
 	private static final Logger log = LoggerFactory.getLogger(DefaultPersistenceManager.class);
@@ -55,10 +70,13 @@ public class DefaultPersistenceManager implements PersistenceManager {
 	protected PersistenceContextFactory contextFactory;
 
 	protected EntityProxifier proxifier = new EntityProxifier();
-	private EntityValidator entityValidator = new EntityValidator();
+	protected EntityValidator entityValidator = new EntityValidator();
 	private TypedQueryValidator typedQueryValidator = new TypedQueryValidator();
+	private EntityMultiLoader multiLoader = new EntityMultiLoader();
+	private EntityLoader loader = new EntityLoader();
 
 	private SliceQueryExecutor sliceQueryExecutor;
+	private ScanQueryExecutor scanQueryExecutor;
 
 	protected DaoContext daoContext;
 
@@ -69,6 +87,7 @@ public class DefaultPersistenceManager implements PersistenceManager {
 		this.daoContext = daoContext;
 		this.contextFactory = contextFactory;
 		this.sliceQueryExecutor = new SliceQueryExecutor(contextFactory, configContext, daoContext);
+		this.scanQueryExecutor = new ScanQueryExecutor(configContext, daoContext);
 	}
 
 	@Override
@@ -82,16 +101,35 @@ public class DefaultPersistenceManager implements PersistenceManager {
 		if (log.isDebugEnabled())
 			log.debug("Persisting entity '{}' with options {} ", entity, options);
 
-		entityValidator.validateEntity(entity, entityMetaMap);
-
-		if (options.getTtl().isPresent()) {
-			entityValidator.validateNotClusteredCounter(entity, entityMetaMap);
-		}
-		proxifier.ensureNotProxy(entity);
-		PersistenceContext context = initPersistenceContext(entity, options);
+		PersistenceContext context = initPersistenceContextForPersist(entity, options);
 		return context.persist(entity);
 	}
 
+	@Override
+	public <T> BulkWriteResult persistAll(Iterable<T> entities) {
+		return persistAll(entities, noOptions());
+	}
+
+	@Override
+	public <T> BulkWriteResult persistAll(Iterable<T> entities, Options options) {
+		log.debug("Persisting entities in bulk with options {}", options);
+		Validator.validateNotNull(entities, "Entities should not be null for bulk persist");
+		BulkWriter writer = bulkWriter(options);
+		writer.addAll(entities);
+		return writer.finish();
+	}
+
+	@Override
+	public BulkWriter bulkWriter() {
+		return bulkWriter(noOptions());
+	}
+
+	@Override
+	public BulkWriter bulkWriter(Options options) {
+		log.debug("Opening bulk writer with options {}", options);
+		return new BulkWriter(this, options, configContext.getBulkWriteMaxConcurrency());
+	}
+
 	@Override
    public void update(Object entity) {
 		if (log.isDebugEnabled())
@@ -181,6 +219,111 @@ public class DefaultPersistenceManager implements PersistenceManager {
 		return context.find(entityClass);
 	}
 
+	@Override
+	public <T> T find(Class<T> entityClass, Object primaryKey, String propertyName, String... otherPropertyNames) {
+		log.debug("Find properties {} and {} of entity class '{}' with primary key {}", propertyName,
+				otherPropertyNames, entityClass, primaryKey);
+		Validator.validateNotNull(entityClass, "Entity class should not be null for find by id");
+		Validator.validateNotNull(primaryKey, "Entity primaryKey should not be null for find by id");
+		Validator.validateTrue(entityMetaMap.containsKey(entityClass),
+				"The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+		PersistenceContext context = initPersistenceContext(entityClass, primaryKey, noOptions());
+		entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
+		List<PropertyMeta> pms = findPropertyMetasToProject(context.getEntityMeta(),
+				Lists.asList(propertyName, otherPropertyNames));
+		return context.find(entityClass, pms);
+	}
+
+	@Override
+	public <T> T findDetached(Class<T> entityClass, Object primaryKey) {
+		log.debug("Find detached entity class '{}' with primary key {}", entityClass, primaryKey);
+		return findDetached(entityClass, primaryKey, null);
+	}
+
+	@Override
+	public <T> T findDetached(Class<T> entityClass, Object primaryKey, ConsistencyLevel readLevel) {
+		log.debug("Find detached entity class '{}' with primary key {} and read consistency level {}", entityClass,
+				primaryKey, readLevel);
+		long start = System.nanoTime();
+		Validator.validateNotNull(entityClass, "Entity class should not be null for find by id");
+		Validator.validateNotNull(primaryKey, "Entity primaryKey should not be null for find by id");
+		Validator.validateTrue(entityMetaMap.containsKey(entityClass),
+				"The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+		EntityMeta meta = entityMetaMap.get(entityClass);
+		Validator.validateFalse(meta.isClusteredCounter(),
+				"Detached find is not supported for clustered counter entity '%s'", meta.getClassName());
+		entityValidator.validatePrimaryKey(meta.getIdMeta(), primaryKey);
+
+		T entity = loader.loadDetached(daoContext, meta, primaryKey, readLevel);
+		if (entity != null) {
+			meta.intercept(entity, Event.POST_LOAD);
+		}
+		daoContext.getMetrics().recordLatency(entityClass, FIND, System.nanoTime() - start);
+		return entity;
+	}
+
+	private List<PropertyMeta> findPropertyMetasToProject(EntityMeta meta, List<String> propertyNames) {
+		List<PropertyMeta> pms = new ArrayList<>();
+		for (String propertyName : propertyNames) {
+			PropertyMeta pm = meta.getPropertyMetas().get(propertyName);
+			Validator.validateNotNull(pm, "The property '%s' does not exist in entity '%s'", propertyName,
+					meta.getClassName());
+			Validator.validateFalse(pm.isCounter(), "The counter property '%s' of entity '%s' cannot be projected",
+					propertyName, meta.getClassName());
+			if (!pm.type().isId() && !pms.contains(pm)) {
+				pms.add(pm);
+			}
+		}
+		Validator.validateFalse(pms.isEmpty(),
+				"At least one property other than the primary key should be projected for entity '%s'",
+				meta.getClassName());
+		return pms;
+	}
+
+	private List<PropertyMeta> findPropertyMetasToInitialize(EntityMeta meta, List<String> names) {
+		List<PropertyMeta> pms = new ArrayList<>();
+		for (String name : names) {
+			PropertyMeta pm = meta.getPropertyMetas().get(name);
+			List<PropertyMeta> fetchGroup = pm != null ? Arrays.asList(pm) : meta.getFetchGroup(name);
+			Validator.validateFalse(fetchGroup.isEmpty(),
+					"'%s' is neither a property nor a fetch group of entity '%s'", name, meta.getClassName());
+			for (PropertyMeta groupMeta : fetchGroup) {
+				if (!groupMeta.type().isId() && !pms.contains(groupMeta)) {
+					pms.add(groupMeta);
+				}
+			}
+		}
+		return pms;
+	}
+
+	@Override
+	public <K, T> Map<K, T> findAll(Class<T> entityClass, Collection<K> primaryKeys) {
+		log.debug("Find all entities of class '{}' with primary keys {}", entityClass, primaryKeys);
+		return findAll(entityClass, primaryKeys, null);
+	}
+
+	@Override
+	public <K, T> Map<K, T> findAll(Class<T> entityClass, Collection<K> primaryKeys, ConsistencyLevel readLevel) {
+		log.debug("Find all entities of class '{}' with primary keys {} and read consistency level {}", entityClass,
+				primaryKeys, readLevel);
+		Validator.validateNotNull(entityClass, "Entity class should not be null for find all by ids");
+		Validator.validateNotNull(primaryKeys, "Entity primaryKeys should not be null for find all by ids");
+		Validator.validateTrue(entityMetaMap.containsKey(entityClass),
+				"The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+
+		Map<K, PersistenceContext> contexts = new LinkedHashMap<>();
+		for (K primaryKey : primaryKeys) {
+			Validator.validateNotNull(primaryKey, "Entity primaryKey should not be null for find all by ids");
+			if (!contexts.containsKey(primaryKey)) {
+				PersistenceContext context = initPersistenceContext(entityClass, primaryKey,
+						OptionsBuilder.withConsistency(readLevel));
+				entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
+				contexts.put(primaryKey, context);
+			}
+		}
+		return multiLoader.loadAll(entityClass, contexts, configContext.getMultiGetMaxConcurrency());
+	}
+
 	@Override
    public <T> T getProxy(Class<T> entityClass, Object primaryKey) {
 		if (log.isDebugEnabled())
@@ -241,6 +384,17 @@ public class DefaultPersistenceManager implements PersistenceManager {
 		return context.initialize(entity);
 	}
 
+	@Override
+	public <T> T initialize(final T entity, String name, String... otherNames) {
+		log.debug("Force initialization of {} and {} for entity {}", name, otherNames, entity);
+		proxifier.ensureProxy(entity);
+		T realObject = proxifier.getRealObject(entity);
+		PersistenceContext context = initPersistenceContext(realObject, noOptions());
+		List<PropertyMeta> pms = findPropertyMetasToInitialize(context.getEntityMeta(),
+				Lists.asList(name, otherNames));
+		return context.initialize(entity, pms);
+	}
+
 	@Override
    public <T> Set<T> initialize(final Set<T> entities) {
 		log.debug("Force lazy fields initialization for entity set {}", entities);
@@ -307,6 +461,17 @@ public class DefaultPersistenceManager implements PersistenceManager {
 		return new SliceQueryBuilder<>(sliceQueryExecutor, entityClass, meta);
 	}
 
+	@Override
+	public <T> ScanQueryBuilder<T> scan(Class<T> entityClass) {
+		log.debug("Execute full table scan for entity class {}", entityClass);
+		Validator.validateNotNull(entityClass, "Entity class should not be null for full table scan");
+		Validator.validateTrue(entityMetaMap.containsKey(entityClass),
+				"The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+		EntityMeta meta = entityMetaMap.get(entityClass);
+		return new ScanQueryBuilder<>(scanQueryExecutor, entityClass, meta, configContext.getScanMaxConcurrency(),
+				configContext.getScanPageSize());
+	}
+
 	@Override
    public NativeQueryBuilder nativeQuery(String queryString, Object... boundValues) {
 		log.debug("Execute native query {}", queryString);
@@ -375,10 +540,30 @@ public class DefaultPersistenceManager implements PersistenceManager {
 		return contextFactory.newContext(entityClass, primaryKey, options);
 	}
 
+	PersistenceContext initPersistenceContextForPersist(Object entity, Options options) {
+		entityValidator.validateEntity(entity, entityMetaMap);
+
+		if (options.getTtl().isPresent()) {
+			entityValidator.validateNotClusteredCounter(entity, entityMetaMap);
+		}
+		proxifier.ensureNotProxy(entity);
+		return initPersistenceContext(entity, options);
+	}
+
 	protected PersistenceContext initPersistenceContext(Object entity, Options options) {
 		return contextFactory.newContext(entity, options);
 	}
 
+	@Override
+	public Optional<CacheStats> getEntityCacheStats(Class<?> entityClass) {
+		Validator.validateNotNull(entityClass, "Entity class should not be null for cache statistics");
+		EntityMeta meta = entityMetaMap.get(entityClass);
+		Validator.validateNotNull(meta, "The entity class '%s' is not managed by Achilles",
+				entityClass.getCanonicalName());
+		EntityCache entityCache = meta.getEntityCache();
+		return entityCache == null ? Optional.<CacheStats> absent() : Optional.of(entityCache.stats());
+	}
+
 	@Override
    public Session getNativeSession() {
 		return daoContext.getSession();
@@ -17,16 +17,21 @@ package info.archinnov.achilles.persistence;
 
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.query.cql.NativeQueryBuilder;
+import info.archinnov.achilles.query.scan.ScanQueryBuilder;
 import info.archinnov.achilles.query.slice.SliceQueryBuilder;
 import info.archinnov.achilles.query.typed.TypedQueryBuilder;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.IndexCondition;
 import info.archinnov.achilles.type.Options;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.datastax.driver.core.Session;
+import com.google.common.base.Optional;
+import com.google.common.cache.CacheStats;
 
 public interface PersistenceManager {
 
@@ -50,6 +55,45 @@ public interface PersistenceManager {
     */
    public <T> T persist(T entity, Options options);
 
+   /**
+    * Persist many entities with asynchronous inserts, keeping a bounded
+    * number of writes in flight (see
+    * <em>achilles.bulk.write.max.concurrency</em>). A failing entity does
+    * not stop the others
+    * 
+    * @param entities
+    *            Entities to be persisted
+    * @return number of written entities and failures per entity
+    */
+   public <T> BulkWriteResult persistAll(Iterable<T> entities);
+
+   /**
+    * Persist many entities with the given options, with asynchronous
+    * inserts and a bounded number of writes in flight. A failing entity does
+    * not stop the others
+    * 
+    * @param entities
+    *            Entities to be persisted
+    * @param options
+    *            options for consistency level, ttl and timestamp
+    * @return number of written entities and failures per entity
+    */
+   public <T> BulkWriteResult persistAll(Iterable<T> entities, Options options);
+
+   /**
+    * Open a streaming bulk writer. Entities added to the writer are
+    * persisted asynchronously with a bounded number of writes in flight
+    */
+   public BulkWriter bulkWriter();
+
+   /**
+    * Open a streaming bulk writer persisting entities with the given options
+    * 
+    * @param options
+    *            options for consistency level, ttl and timestamp
+    */
+   public BulkWriter bulkWriter(Options options);
+
    /**
     * Update a "managed" entity
     * 
@@ -130,6 +174,78 @@ public interface PersistenceManager {
     */
    public <T> T find(Class<T> entityClass, Object primaryKey, ConsistencyLevel readLevel);
 
+   /**
+    * Find an entity, fetching only the given properties. The primary key is
+    * always set. Other properties are loaded on first call to their getter,
+    * like @Lazy ones
+    * 
+    * @param entityClass
+    *            Entity type
+    * @param primaryKey
+    *            Primary key (Cassandra row key) of the entity to load
+    * @param propertyName
+    *            name of a property to fetch
+    * @param otherPropertyNames
+    *            names of other properties to fetch
+    */
+   public <T> T find(Class<T> entityClass, Object primaryKey, String propertyName, String... otherPropertyNames);
+
+   /**
+    * Find an entity in read-only mode. The returned entity is a plain object
+    * mapped from the row: no proxy nor persistence context is created, changes
+    * are not tracked and counter or lazy properties are not loaded
+    * 
+    * @param entityClass
+    *            Entity type
+    * @param primaryKey
+    *            Primary key (Cassandra row key) of the entity to load
+    */
+   public <T> T findDetached(Class<T> entityClass, Object primaryKey);
+
+   /**
+    * Find an entity in read-only mode with the given Consistency Level for
+    * read
+    * 
+    * See {@link #findDetached(Class, Object)}
+    * 
+    * @param entityClass
+    *            Entity type
+    * @param primaryKey
+    *            Primary key (Cassandra row key) of the entity to load
+    * @param readLevel
+    *            Consistency Level for read
+    */
+   public <T> T findDetached(Class<T> entityClass, Object primaryKey, ConsistencyLevel readLevel);
+
+   /**
+    * Find many entities by their primary keys. The reads are issued
+    * concurrently. Entities not found are absent from the returned map
+    * 
+    * @param entityClass
+    *            Entity type
+    * @param primaryKeys
+    *            Primary keys of the entities to load
+    * @return entities by primary key, in the iteration order of the given
+    *         keys
+    */
+   public <K, T> Map<K, T> findAll(Class<T> entityClass, Collection<K> primaryKeys);
+
+   /**
+    * Find many entities by their primary keys with the given Consistency
+    * Level for read. The reads are issued concurrently. Entities not found
+    * are absent from the returned map
+    * 
+    * @param entityClass
+    *            Entity type
+    * @param primaryKeys
+    *            Primary keys of the entities to load
+    * @param readLevel
+    *            Consistency Level for read
+    * @return entities by primary key, in the iteration order of the given
+    *         keys
+    */
+   public <K, T> Map<K, T> findAll(Class<T> entityClass, Collection<K> primaryKeys, ConsistencyLevel readLevel);
+
    /**
     * Create a proxy for the entity. An new empty entity will be created,
     * populated with the provided primary key and then proxified. This method
@@ -177,8 +293,8 @@ public interface PersistenceManager {
    public void refresh(Object entity, ConsistencyLevel readLevel) throws AchillesStaleObjectStateException;
 
    /**
-    * Initialize all lazy fields of a 'managed' entity, except WideMap/Counter
-    * fields.
+    * Initialize all lazy and counter fields of a 'managed' entity. Lazy
+    * fields are fetched with a single SELECT and counters with a single query
     * 
     * Raise an <strong>IllegalStateException</strong> if the entity is not
     * 'managed'
@@ -187,8 +303,26 @@ public interface PersistenceManager {
    public <T> T initialize(T entity);
 
    /**
-    * Initialize all lazy fields of a set of 'managed' entities, except
-    * WideMap/Counter fields.
+    * Initialize the given fields of a 'managed' entity in a single SELECT, in
+    * addition to the counters among them in a single query. Each name is
+    * either a property or a fetch group declared with
+    * <strong>@Lazy(fetchGroup = "...")</strong>. Already loaded fields are
+    * not fetched again
+    * 
+    * Raise an <strong>IllegalStateException</strong> if the entity is not
+    * 'managed'
+    * 
+    * @param entity
+    *            'managed' entity
+    * @param name
+    *            name of a property or fetch group to initialize
+    * @param otherNames
+    *            names of other properties or fetch groups to initialize
+    */
+   public <T> T initialize(T entity, String name, String... otherNames);
+
+   /**
+    * Initialize all lazy and counter fields of a set of 'managed' entities
     * 
     * Raise an IllegalStateException if an entity is not 'managed'
     * 
@@ -196,8 +330,7 @@ public interface PersistenceManager {
    public <T> Set<T> initialize(Set<T> entities);
 
    /**
-    * Initialize all lazy fields of a list of 'managed' entities, except
-    * WideMap/Counter fields.
+    * Initialize all lazy and counter fields of a list of 'managed' entities
     * 
     * Raise an IllegalStateException if an entity is not 'managed'
     * 
@@ -260,9 +393,29 @@ public interface PersistenceManager {
 
    public <T> SliceQueryBuilder<T> sliceQuery(Class<T> entityClass);
 
+   /**
+    * Return a builder for a full table scan of an entity. The token ring is
+    * split into ranges which are read concurrently. Entities are returned
+    * "raw", without proxy, and counter or lazy properties are not loaded
+    * 
+    * <pre class="code"><code class="java">
+    * ScanIterator&lt;User&gt; iterator = manager.scan(User.class).parallelism(4).iterator();
+    * </code></pre>
+    * 
+    * @param entityClass
+    *            type of the entity to scan
+    * @return ScanQueryBuilder
+    */
+   public <T> ScanQueryBuilder<T> scan(Class<T> entityClass);
+
    /**
     * Return a CQL native query builder
     * 
+    * A query with bound values is prepared on first use and the prepared
+    * statement is cached by query string. A query without bound values is
+    * neither prepared nor cached, so pass values as bound values rather than
+    * inlining them in the query string
+    * 
     * @param queryString
     *            native CQL query string, including limit, ttl and consistency
     *            options
@@ -279,6 +432,8 @@ public interface PersistenceManager {
     * 
     * All found entities will be in 'managed' state
     * 
+    * See {@link #nativeQuery} for the caching of the prepared statement
+    * 
     * @param entityClass
     *            type of entity to be returned
     * 
@@ -314,6 +469,8 @@ public interface PersistenceManager {
     * All found entities will be returned as raw entities and not 'managed' by
     * Achilles
     * 
+    * See {@link #nativeQuery} for the caching of the prepared statement
+    * 
     * @param entityClass
     *            type of entity to be returned
     * 
@@ -328,6 +485,17 @@ public interface PersistenceManager {
     */
    public <T> TypedQueryBuilder<T> rawTypedQuery(Class<T> entityClass, String queryString, Object... boundValues);
 
+   /**
+    * Hit, miss, load and eviction statistics of the entity cache of the
+    * given entity class
+    * 
+    * @param entityClass
+    *            Entity type
+    * @return cache statistics, absent when caching is not enabled for the
+    *         entity (see {@link info.archinnov.achilles.annotations.Cached})
+    */
+   public Optional<CacheStats> getEntityCacheStats(Class<?> entityClass);
+
    public Session getNativeSession();
 
 }
@@ -15,9 +15,12 @@
  */
 package info.archinnov.achilles.persistence;
 
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ASYNC_LISTENER_EXECUTOR_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_VALIDATOR;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BOOTSTRAP_MAX_CONCURRENCY_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CLUSTER_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.CODEC_DEFAULT_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.COMPRESSION_TYPE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONNECTION_CONTACT_POINTS_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONNECTION_CQL_PORT_PARAM;
@@ -25,26 +28,39 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.CONS
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_MAP_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_DEFAULT_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_MAP_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_ENABLE_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_FLUSH_INTERVAL_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_FLUSH_THRESHOLD_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DISABLE_JMX;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DISABLE_METRICS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CLASSES_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_INDEX_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.EVENT_INTERCEPTORS_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_TABLE_CREATION_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.LOAD_BALANCING_POLICY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_ENABLE_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_JMX_ENABLE_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_SESSION_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.OBJECT_MAPPER_FACTORY_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.OBJECT_MAPPER_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PASSWORD;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RECONNECTION_POLICY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RETRY_POLICY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SCAN_MAX_CONCURRENCY_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SCAN_PAGE_SIZE_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.SSL_ENABLED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.SSL_OPTIONS;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.USERNAME;
-import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import info.archinnov.achilles.codec.BinaryCodec;
 import info.archinnov.achilles.configuration.ArgumentExtractor;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.context.CounterAggregator;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.context.SchemaContext;
@@ -53,11 +69,24 @@ import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.json.ObjectMapperFactory;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.metrics.InMemoryMetrics;
 import info.archinnov.achilles.type.TypedMap;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.codehaus.jackson.map.ObjectMapper;
 import org.slf4j.Logger;
@@ -70,6 +99,10 @@ import com.datastax.driver.core.Session;
 import com.datastax.driver.core.policies.LoadBalancingPolicy;
 import com.datastax.driver.core.policies.ReconnectionPolicy;
 import com.datastax.driver.core.policies.RetryPolicy;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 public class PersistenceManagerFactory {
 	private static final Logger log = LoggerFactory.getLogger(PersistenceManagerFactory.class);
@@ -102,31 +135,51 @@ public class PersistenceManagerFactory {
 		final String keyspaceName = configurationMap.getTyped(KEYSPACE_NAME_PARAM);
 
 		log.info("Bootstrapping Achilles PersistenceManagerFactory for keyspace {}", keyspaceName);
+		long bootstrapStart = System.nanoTime();
+		long phaseStart = bootstrapStart;
 
 		List<String> entityPackages = argumentExtractor.initEntityPackages(configurationMap);
 		configContext = argumentExtractor.initConfigContext(configurationMap);
 		Cluster cluster = argumentExtractor.initCluster(configurationMap);
 		Session session = argumentExtractor.initSession(cluster, configurationMap);
 		List<Interceptor<?>> interceptors = argumentExtractor.initInterceptors(configurationMap);
-
-		List<Class<?>> candidateClasses = bootstrapper.discoverEntities(entityPackages);
-
-		boolean hasSimpleCounter = false;
-		if (isNotBlank(configurationMap.<String> getTyped(ENTITY_PACKAGES_PARAM))) {
-			ParsingResult parsingResult = bootstrapper.buildMetaDatas(configContext, candidateClasses);
-			entityMetaMap = parsingResult.getMetaMap();
-			hasSimpleCounter = parsingResult.isHasSimpleCounter();
+		phaseStart = logPhase("Configuration and connection", phaseStart);
+
+		List<Class<?>> candidateClasses = discoverEntities(entityPackages);
+		phaseStart = logPhase("Entity discovery", phaseStart);
+
+		ListeningExecutorService bootstrapExecutor = newBootstrapExecutor(configContext.getBootstrapMaxConcurrency());
+		try {
+			boolean hasSimpleCounter = false;
+			if (!candidateClasses.isEmpty()) {
+				ParsingResult parsingResult = bootstrapper.buildMetaDatas(configContext, candidateClasses,
+						bootstrapExecutor);
+				entityMetaMap = parsingResult.getMetaMap();
+				hasSimpleCounter = parsingResult.isHasSimpleCounter();
+			}
+			bootstrapper.addInterceptorsToEntityMetas(interceptors, entityMetaMap);
+			phaseStart = logPhase("Parsing of " + entityMetaMap.size() + " entities", phaseStart);
+
+			SchemaContext schemaContext = new SchemaContext(configContext.isForceColumnFamilyCreation(), session,
+					keyspaceName, cluster, entityMetaMap, hasSimpleCounter);
+			bootstrapper.validateOrCreateTables(schemaContext);
+			phaseStart = logPhase("Schema validation/creation", phaseStart);
+
+			daoContext = bootstrapper.buildDaoContext(session, entityMetaMap, hasSimpleCounter,
+					configContext.getMetrics(), bootstrapExecutor);
+			logPhase("Statements preparation", phaseStart);
+		} finally {
+			bootstrapExecutor.shutdownNow();
 		}
-		bootstrapper.addInterceptorsToEntityMetas(interceptors, entityMetaMap);
-
-		SchemaContext schemaContext = new SchemaContext(configContext.isForceColumnFamilyCreation(), session,
-				keyspaceName, cluster, entityMetaMap, hasSimpleCounter);
-		bootstrapper.validateOrCreateTables(schemaContext);
 
-		daoContext = bootstrapper.buildDaoContext(session, entityMetaMap, hasSimpleCounter);
+		daoContext.setAsyncListenerExecutor(configContext.getAsyncListenerExecutor());
+		initCounterAggregation();
 		contextFactory = new PersistenceContextFactory(daoContext, configContext, entityMetaMap);
 		registerShutdownHook(cluster);
+		registerMetricsMBean(keyspaceName);
 
+		log.info("Achilles PersistenceManagerFactory for keyspace {} bootstrapped in {} ms", keyspaceName,
+				NANOSECONDS.toMillis(System.nanoTime() - bootstrapStart));
 		return this;
 	}
 
@@ -156,11 +209,125 @@ public class PersistenceManagerFactory {
 		return new DefaultBatchingPersistenceManager(entityMetaMap, contextFactory, daoContext, configContext);
 	}
 
+	/**
+	 * Create a new PersistenceManager exposing asynchronous operations
+	 * returning ListenableFuture. This instance of PersistenceManager is
+	 * <strong>thread-safe</strong>
+	 * 
+	 * @return AsyncPersistenceManager
+	 */
+	public AsyncPersistenceManager createAsyncPersistenceManager() {
+		log.debug("Spawn new AsyncPersistenceManager");
+		return new DefaultAsyncPersistenceManager(entityMetaMap, contextFactory, daoContext, configContext);
+	}
+
+	/**
+	 * Return hit/miss statistics of the prepared statement cache used by
+	 * typed, indexed and native queries
+	 * 
+	 * @return CacheStats
+	 */
+	public CacheStats getQueryStatementCacheStats() {
+		return daoContext.getQueryPSCacheStats();
+	}
+
+	/**
+	 * Return the metrics collector configured with
+	 * <em>achilles.metrics.enable</em> or <em>achilles.metrics</em>
+	 * 
+	 * @return AchillesMetrics
+	 */
+	public AchillesMetrics getMetrics() {
+		return configContext.getMetrics();
+	}
+
+	/**
+	 * Write immediately the counter deltas buffered by the counter
+	 * aggregation. Does nothing if <em>achilles.counter.aggregation.enable</em>
+	 * is not set
+	 */
+	public void flushCounters() {
+		CounterAggregator counterAggregator = daoContext.getCounterAggregator();
+		if (counterAggregator != null) {
+			counterAggregator.flush();
+		}
+	}
+
+	/**
+	 * Return the number of counter cells whose deltas are buffered by the
+	 * counter aggregation and not yet written
+	 * 
+	 * @return pending counter cells count
+	 */
+	public int getPendingCounterDeltas() {
+		CounterAggregator counterAggregator = daoContext.getCounterAggregator();
+		return counterAggregator != null ? counterAggregator.getPendingCount() : 0;
+	}
+
+	List<Class<?>> discoverEntities(List<String> entityPackages) {
+		Set<Class<?>> candidateClasses = new LinkedHashSet<>();
+		candidateClasses.addAll(bootstrapper.validateEntities(argumentExtractor.initEntityClasses(configurationMap)));
+
+		String entityIndex = argumentExtractor.initEntityIndex(configurationMap);
+		if (entityIndex != null) {
+			candidateClasses.addAll(bootstrapper.discoverEntitiesFromIndex(entityIndex));
+		}
+		if (!entityPackages.isEmpty()) {
+			candidateClasses.addAll(bootstrapper.discoverEntities(entityPackages));
+		}
+		return new ArrayList<>(candidateClasses);
+	}
+
+	ListeningExecutorService newBootstrapExecutor(int maxConcurrency) {
+		return MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(maxConcurrency,
+				new ThreadFactoryBuilder().setNameFormat("achilles-bootstrap-%d").setDaemon(true).build()));
+	}
+
+	private long logPhase(String phase, long phaseStart) {
+		long now = System.nanoTime();
+		log.info("{} done in {} ms", phase, NANOSECONDS.toMillis(now - phaseStart));
+		return now;
+	}
+
+	void registerMetricsMBean(String keyspaceName) {
+		AchillesMetrics metrics = configContext.getMetrics();
+		Boolean enableJmx = configurationMap.getTypedOr(METRICS_JMX_ENABLE_PARAM, false);
+		if (enableJmx && metrics instanceof InMemoryMetrics) {
+			log.debug("Register metrics MBean for keyspace {}", keyspaceName);
+			MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+			try {
+				ObjectName name = new ObjectName("info.archinnov.achilles:type=Metrics,keyspace=" + keyspaceName);
+				if (!mBeanServer.isRegistered(name)) {
+					mBeanServer.registerMBean(metrics, name);
+				}
+			} catch (JMException e) {
+				throw new AchillesException("Cannot register metrics MBean for keyspace " + keyspaceName, e);
+			}
+		}
+	}
+
+	void initCounterAggregation() {
+		if (configContext.isCounterAggregationEnabled()) {
+			log.debug("Enable counter aggregation");
+			CounterAggregator counterAggregator = new CounterAggregator(daoContext,
+					configContext.getCounterAggregationFlushThreshold());
+			counterAggregator.start(configContext.getCounterAggregationFlushInterval());
+			daoContext.setCounterAggregator(counterAggregator);
+		}
+	}
+
 	private void registerShutdownHook(final Cluster cluster) {
+		final CounterAggregator counterAggregator = daoContext.getCounterAggregator();
 		Runtime.getRuntime().addShutdownHook(new Thread() {
 			@Override
 			public void run() {
-				cluster.shutdown();
+				try {
+					if (counterAggregator != null) {
+						counterAggregator.shutdown();
+					}
+				} finally {
+					cluster.shutdown();
+				}
 			}
 		});
 	}
@@ -203,6 +370,101 @@ public class PersistenceManagerFactory {
 			return this;
 		}
 
+		/**
+		 * Define the '@Entity' classes explicitly. The classes are added to
+		 * the ones found in entity packages, if any. Providing the entity
+		 * classes without any entity package avoids the classpath scan at
+		 * bootstrap
+		 * 
+		 * @return PersistenceManagerFactoryBuilder
+		 */
+		public PersistenceManagerFactoryBuilder withEntityClasses(Class<?>... entityClasses) {
+			configMap.put(ENTITY_CLASSES_PARAM, Arrays.<Class<?>> asList(entityClasses));
+			return this;
+		}
+
+		/**
+		 * Define the classpath resource listing the '@Entity' classes, one
+		 * fully qualified class name per line. Such index is usually
+		 * generated at build time and replaces the classpath scan
+		 * 
+		 * @return PersistenceManagerFactoryBuilder
+		 */
+		public PersistenceManagerFactoryBuilder withEntityIndex(String entityIndex) {
+			configMap.put(ENTITY_INDEX_PARAM, entityIndex);
+			return this;
+		}
+
+		/**
+		 * Define the number of threads used to parse entities and prepare
+		 * statements at bootstrap. Default = 8
+		 * 
+		 * @return PersistenceManagerFactoryBuilder
+		 */
+		public PersistenceManagerFactoryBuilder withBootstrapMaxConcurrency(int bootstrapMaxConcurrency) {
+			configMap.put(BOOTSTRAP_MAX_CONCURRENCY_PARAM, bootstrapMaxConcurrency);
+			return this;
+		}
+
+		/**
+		 * Define the default number of threads used by a full table scan.
+		 * Default = 8
+		 * 
+		 * @return PersistenceManagerFactoryBuilder
+		 */
+		public PersistenceManagerFactoryBuilder withScanMaxConcurrency(int scanMaxConcurrency) {
+			configMap.put(SCAN_MAX_CONCURRENCY_PARAM, scanMaxConcurrency);
+			return this;
+		}
+
+		/**
+		 * Define the default number of rows fetched per page by a full table
+		 * scan. Default = 1000
+		 * 
+		 * @return PersistenceManagerFactoryBuilder
+		 */
+		public PersistenceManagerFactoryBuilder withScanPageSize(int scanPageSize) {
+			configMap.put(SCAN_PAGE_SIZE_PARAM, scanPageSize);
+			return this;
+		}
+
+		/**
+		 * Buffer counter increments in memory and write the summed deltas
+		 * periodically instead of one mutation per increment. Increments done
+		 * in a batch are never buffered. Counter reads, including through
+		 * managed entities, do not see the buffered deltas until they are
+		 * flushed. A failed flush is retried with the next one, so a delta
+		 * whose write timed out may be counted twice. Default = false
+		 * 
+		 * @return PersistenceManagerFactoryBuilder
+		 */
+		public PersistenceManagerFactoryBuilder enableCounterAggregation(boolean enableCounterAggregation) {
+			configMap.put(COUNTER_AGGREGATION_ENABLE_PARAM, enableCounterAggregation);
+			return this;
+		}
+
+		/**
+		 * Define the interval in milliseconds between two flushes of the
+		 * buffered counter deltas. Default = 1000
+		 * 
+		 * @return PersistenceManagerFactoryBuilder
+		 */
+		public PersistenceManagerFactoryBuilder withCounterAggregationFlushInterval(int flushIntervalInMillis) {
+			configMap.put(COUNTER_AGGREGATION_FLUSH_INTERVAL_PARAM, flushIntervalInMillis);
+			return this;
+		}
+
+		/**
+		 * Define the number of buffered counter cells triggering a flush before
+		 * the end of the interval. Default = 10000
+		 * 
+		 * @return PersistenceManagerFactoryBuilder
+		 */
+		public PersistenceManagerFactoryBuilder withCounterAggregationFlushThreshold(int flushThreshold) {
+			configMap.put(COUNTER_AGGREGATION_FLUSH_THRESHOLD_PARAM, flushThreshold);
+			return this;
+		}
+
 		/**
 		 * Define a pre-configured Jackson Object Mapper for serialization of
 		 * non-primitive types
@@ -225,6 +487,17 @@ public class PersistenceManagerFactory {
 			return this;
 		}
 
+		/**
+		 * Define the binary codec used instead of JSON for non-primitive
+		 * types. Values encoded by the codec are stored as blob. Default = none
+		 * 
+		 * @return PersistenceManagerFactoryBuilder
+		 */
+		public PersistenceManagerFactoryBuilder withDefaultCodec(BinaryCodec defaultCodec) {
+			configMap.put(CODEC_DEFAULT_PARAM, defaultCodec);
+			return this;
+		}
+
 		/**
 		 * Define the default Consistency level to be used for all READ
 		 * operations
@@ -473,6 +746,54 @@ public class PersistenceManagerFactory {
 			return this;
 		}
 
+		/**
+		 * Activate the default in-memory metrics collector
+		 * 
+		 * @return PersistenceManagerFactoryBuilder
+		 */
+		public PersistenceManagerFactoryBuilder enableMetrics(boolean enableMetrics) {
+			configMap.put(METRICS_ENABLE_PARAM, enableMetrics);
+			return this;
+		}
+
+		/**
+		 * Provide custom metrics collector
+		 * 
+		 * @return PersistenceManagerFactoryBuilder
+		 */
+		public PersistenceManagerFactoryBuilder withMetrics(AchillesMetrics metrics) {
+			if (metrics != null) {
+				configMap.put(METRICS_PARAM, metrics);
+			}
+			return this;
+		}
+
+		/**
+		 * Expose the in-memory metrics through JMX
+		 * 
+		 * @return PersistenceManagerFactoryBuilder
+		 */
+		public PersistenceManagerFactoryBuilder enableMetricsJMX(boolean enableMetricsJmx) {
+			configMap.put(METRICS_JMX_ENABLE_PARAM, enableMetricsJmx);
+			return this;
+		}
+
+		/**
+		 * Executor running the continuations of the asynchronous API (event
+		 * interceptors, entity cache invalidation, row mapping and proxy
+		 * building). Defaults to the thread completing the driver future,
+		 * which is a driver I/O thread: provide an executor when interceptors
+		 * or entity mapping are costly or may block
+		 * 
+		 * @return PersistenceManagerFactoryBuilder
+		 */
+		public PersistenceManagerFactoryBuilder withAsyncListenerExecutor(Executor asyncListenerExecutor) {
+			if (asyncListenerExecutor != null) {
+				configMap.put(ASYNC_LISTENER_EXECUTOR_PARAM, asyncListenerExecutor);
+			}
+			return this;
+		}
+
 		/**
 		 * Build a new PersistenceManagerFactory
 		 * 
@@ -15,21 +15,29 @@
  */
 package info.archinnov.achilles.query.cql;
 
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.NATIVE_QUERY;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.persistence.operations.NativeQueryMapper;
+import info.archinnov.achilles.internal.persistence.operations.RowMappingIterator;
 import info.archinnov.achilles.internal.statement.wrapper.SimpleStatementWrapper;
+import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.type.TypedMap;
 
+import java.util.Iterator;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
 
 public class NativeQueryBuilder {
 	private static final Logger log = LoggerFactory.getLogger(NativeQueryBuilder.class);
 
+	public static final int DEFAULT_FETCH_SIZE = 100;
+
 	private DaoContext daoContext;
 	private String queryString;
 
@@ -53,33 +61,79 @@ public class NativeQueryBuilder {
 	 */
 	public List<TypedMap> get() {
 		log.debug("Get results for native query {}", queryString);
-		List<Row> rows = daoContext.execute(new SimpleStatementWrapper(queryString, boundValues)).all();
-		return mapper.mapRows(rows);
+		long start = System.nanoTime();
+		List<Row> rows = daoContext.bindAndExecuteQuery(queryString, boundValues).all();
+		List<TypedMap> result = mapper.mapRows(rows);
+		recordLatency(start);
+		return result;
+	}
+
+	/**
+	 * Return an iterator on found rows, fetching them by pages of 100
+	 * 
+	 * @return Iterator<TypedMap>
+	 */
+	public Iterator<TypedMap> iterator() {
+		return iterator(DEFAULT_FETCH_SIZE);
+	}
+
+	/**
+	 * Return an iterator on found rows. Only one page of rows is kept in
+	 * memory, the next page is fetched when the current one has been iterated
+	 * over
+	 * 
+	 * @param fetchSize
+	 *            maximum number of rows to fetch on each page
+	 * 
+	 * @return Iterator<TypedMap>
+	 */
+	public Iterator<TypedMap> iterator(int fetchSize) {
+		log.debug("Get iterator for native query {} with fetch size {}", queryString, fetchSize);
+		Validator.validateTrue(fetchSize > 0, "The fetch size for native query '%s' should be strictly positive",
+				queryString);
+		long start = System.nanoTime();
+		ResultSet resultSet = daoContext.bindAndExecuteQuery(queryString, boundValues, fetchSize);
+		recordLatency(start);
+		return new RowMappingIterator<>(resultSet.iterator(), new Function<Row, TypedMap>() {
+			@Override
+			public TypedMap apply(Row row) {
+				return mapper.mapRow(row);
+			}
+		});
 	}
 
 	/**
 	 * Return the first found row. The map contains the (column name, column
 	 * value) of each row. The map is backed by a LinkedHashMap and thus
-	 * preserves the columns order as they were declared in the native query
+	 * preserves the columns order as they were declared in the native query.
+	 * Only the first row is fetched from Cassandra
 	 * 
 	 * @return TypedMap
 	 */
 	public TypedMap first() {
 		log.debug("Get first result for native query {}", queryString);
-		List<Row> rows = daoContext.execute(new SimpleStatementWrapper(queryString, boundValues)).all();
-		List<TypedMap> result = mapper.mapRows(rows);
-		if (result.isEmpty())
-			return null;
-		else
-			return result.get(0);
+		long start = System.nanoTime();
+		TypedMap result = null;
+		Row row = daoContext.bindAndExecuteQuery(queryString, boundValues, 1).one();
+		if (row != null) {
+			result = mapper.mapRow(row);
+		}
+		recordLatency(start);
+		return result;
 	}
 
 	/**
 	 * Execute statement without returning result. Useful for
-	 * INSERT/UPDATE/DELETE and DDL statements
+	 * INSERT/UPDATE/DELETE and DDL statements. The statement is not prepared
 	 */
 	public void execute() {
 		log.debug("Execute native query {}", queryString);
+		long start = System.nanoTime();
 		daoContext.execute(new SimpleStatementWrapper(queryString, boundValues));
+		recordLatency(start);
+	}
+
+	private void recordLatency(long start) {
+		daoContext.getMetrics().recordLatency(null, NATIVE_QUERY, System.nanoTime() - start);
 	}
 }
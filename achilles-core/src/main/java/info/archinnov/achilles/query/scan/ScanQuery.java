@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.query.scan;
+
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+import java.math.BigInteger;
+
+public class ScanQuery<T> {
+
+	private Class<T> entityClass;
+	private EntityMeta meta;
+	private int parallelism;
+	private int pageSize;
+	private ConsistencyLevel consistencyLevel;
+	private BigInteger resumeToken;
+
+	public ScanQuery(Class<T> entityClass, EntityMeta meta, int parallelism, int pageSize,
+			ConsistencyLevel consistencyLevel, BigInteger resumeToken) {
+		this.entityClass = entityClass;
+		this.meta = meta;
+		this.parallelism = parallelism;
+		this.pageSize = pageSize;
+		this.consistencyLevel = consistencyLevel;
+		this.resumeToken = resumeToken;
+	}
+
+	public Class<T> getEntityClass() {
+		return entityClass;
+	}
+
+	public EntityMeta getMeta() {
+		return meta;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	public ConsistencyLevel getConsistencyLevel() {
+		return consistencyLevel;
+	}
+
+	public BigInteger getResumeToken() {
+		return resumeToken;
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.query.scan;
+
+import info.archinnov.achilles.exception.AchillesScanException;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.persistence.operations.ScanQueryExecutor;
+import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.iterator.ScanIterator;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+import java.math.BigInteger;
+
+/**
+ * Full table scan of an entity. The token ring is split into ranges which are
+ * queried concurrently, each range being paged from Cassandra.
+ * 
+ * Entities are returned as raw objects and not 'managed' by Achilles. Lazy
+ * properties and counters are not loaded
+ */
+public class ScanQueryBuilder<T> {
+
+	private ScanQueryExecutor scanQueryExecutor;
+	private Class<T> entityClass;
+	private EntityMeta meta;
+	private int parallelism;
+	private int pageSize;
+	private ConsistencyLevel consistencyLevel;
+	private BigInteger resumeToken;
+
+	public ScanQueryBuilder(ScanQueryExecutor scanQueryExecutor, Class<T> entityClass, EntityMeta meta,
+			int parallelism, int pageSize) {
+		this.scanQueryExecutor = scanQueryExecutor;
+		this.entityClass = entityClass;
+		this.meta = meta;
+		this.parallelism = parallelism;
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Number of token ranges queried concurrently
+	 * 
+	 * @param parallelism
+	 *            strictly positive number of concurrent range queries
+	 * @return ScanQueryBuilder<T>
+	 */
+	public ScanQueryBuilder<T> parallelism(int parallelism) {
+		Validator.validateTrue(parallelism > 0, "The scan parallelism should be strictly positive");
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	/**
+	 * Number of rows fetched per page for each token range
+	 * 
+	 * @param pageSize
+	 *            strictly positive page size
+	 * @return ScanQueryBuilder<T>
+	 */
+	public ScanQueryBuilder<T> pageSize(int pageSize) {
+		Validator.validateTrue(pageSize > 0, "The scan page size should be strictly positive");
+		this.pageSize = pageSize;
+		return this;
+	}
+
+	/**
+	 * Query using provided consistency level
+	 * 
+	 * @param consistencyLevel
+	 *            consistency level
+	 * @return ScanQueryBuilder<T>
+	 */
+	public ScanQueryBuilder<T> consistencyLevel(ConsistencyLevel consistencyLevel) {
+		this.consistencyLevel = consistencyLevel;
+		return this;
+	}
+
+	/**
+	 * Only scan partitions whose token is strictly greater than the provided
+	 * one, as returned by {@link ScanIterator#getResumeToken()} or
+	 * {@link AchillesScanException#getResumeToken()}
+	 * 
+	 * @param resumeToken
+	 *            saved token position, null to scan the whole table
+	 * @return ScanQueryBuilder<T>
+	 */
+	public ScanQueryBuilder<T> resumeFrom(BigInteger resumeToken) {
+		this.resumeToken = resumeToken;
+		return this;
+	}
+
+	/**
+	 * Start the scan and return an iterator over all entities. Ranges are
+	 * fetched in background, the number of entities buffered ahead of the
+	 * iterator is bounded by the page size
+	 * 
+	 * @return ScanIterator<T>
+	 */
+	public ScanIterator<T> iterator() {
+		return scanQueryExecutor.iterator(buildScanQuery());
+	}
+
+	/**
+	 * Scan the table, calling the handler once per token range from the scan
+	 * threads. This method returns when all ranges have been processed
+	 * 
+	 * @param handler
+	 *            per range callback
+	 * @throws AchillesScanException
+	 *             if a range query or the handler fails
+	 */
+	public void forEachRange(ScanRangeHandler<T> handler) {
+		Validator.validateNotNull(handler, "The scan range handler should not be null");
+		scanQueryExecutor.forEachRange(buildScanQuery(), handler);
+	}
+
+	private ScanQuery<T> buildScanQuery() {
+		return new ScanQuery<>(entityClass, meta, parallelism, pageSize, consistencyLevel, resumeToken);
+	}
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.query.scan;
+
+import java.util.Iterator;
+
+/**
+ * Callback invoked once per token range of a full table scan.
+ * 
+ * Ranges are processed concurrently, so implementations must be thread-safe.
+ * The entities iterator is lazily paged from Cassandra and must be consumed
+ * before returning. A range is considered done when this method returns
+ */
+public interface ScanRangeHandler<T> {
+
+	public void onRange(TokenRange range, Iterator<T> entities);
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.query.scan;
+
+import java.math.BigInteger;
+
+import com.google.common.base.Objects;
+
+/**
+ * Range of partition tokens scanned by a single query: start token
+ * exclusive, end token inclusive
+ */
+public class TokenRange {
+
+	private final BigInteger start;
+	private final BigInteger end;
+
+	public TokenRange(BigInteger start, BigInteger end) {
+		this.start = start;
+		this.end = end;
+	}
+
+	public BigInteger getStart() {
+		return start;
+	}
+
+	public BigInteger getEnd() {
+		return end;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		TokenRange other = (TokenRange) obj;
+		return Objects.equal(start, other.start) && Objects.equal(end, other.end);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hashCode(start, end);
+	}
+
+	@Override
+	public String toString() {
+		return "]" + start + "," + end + "]";
+	}
+}
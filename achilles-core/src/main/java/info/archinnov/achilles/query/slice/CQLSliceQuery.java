@@ -25,6 +25,7 @@ import info.archinnov.achilles.type.Pair;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import com.datastax.driver.core.querybuilder.Ordering;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
@@ -110,6 +111,18 @@ public class CQLSliceQuery<T> {
 		return sliceQuery.getBatchSize();
 	}
 
+	public int getPrefetchThreshold() {
+		return sliceQuery.getPrefetchThreshold();
+	}
+
+	public Executor getMappingExecutor() {
+		return sliceQuery.getMappingExecutor();
+	}
+
+	public boolean isDetached() {
+		return sliceQuery.isDetached();
+	}
+
 	private List<Object> determineFixedComponents(SliceQuery<T> sliceQuery) {
 		List<Object> fixedComponents = new ArrayList<Object>();
 
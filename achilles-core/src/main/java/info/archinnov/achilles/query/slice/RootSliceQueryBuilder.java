@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,6 +52,9 @@ public abstract class RootSliceQueryBuilder<T> {
 	private int batchSize = DEFAULT_BATCH_SIZE;
 	private boolean limitHasBeenSet = false;
 	private boolean orderingHasBeenSet = false;
+	private int prefetchThreshold = 0;
+	private Executor mappingExecutor;
+	private boolean detached = false;
 
 	RootSliceQueryBuilder(SliceQueryExecutor sliceQueryExecutor, Class<T> entityClass, EntityMeta meta) {
 		this.sliceQueryExecutor = sliceQueryExecutor;
@@ -267,6 +271,25 @@ public abstract class RootSliceQueryBuilder<T> {
 		sliceQueryExecutor.remove(clusteredQuery);
 	}
 
+	protected RootSliceQueryBuilder<T> prefetchThresholdInternal(int prefetchThreshold) {
+		Validator.validateTrue(prefetchThreshold >= 0,
+				"Prefetch threshold for slice query for entity '%s' should be positive", meta.getClassName());
+		this.prefetchThreshold = prefetchThreshold;
+		return this;
+	}
+
+	protected RootSliceQueryBuilder<T> mappingExecutorInternal(Executor mappingExecutor) {
+		Validator.validateNotNull(mappingExecutor,
+				"Mapping executor for slice query for entity '%s' should not be null", meta.getClassName());
+		this.mappingExecutor = mappingExecutor;
+		return this;
+	}
+
+	protected RootSliceQueryBuilder<T> detachedInternal() {
+		this.detached = true;
+		return this;
+	}
+
 	protected void removeFirst(int n, Object... clusteringComponents) {
 		log.trace("Slice remove first {} matching entities with clustering components {}", n, clusteringComponents);
 		fromClusteringsInternal(clusteringComponents);
@@ -312,6 +335,7 @@ public abstract class RootSliceQueryBuilder<T> {
 
 	protected SliceQuery<T> buildClusterQuery() {
 		return new SliceQuery<>(entityClass, meta, partitionComponents, fromClusterings, toClusterings, ordering,
-				bounding, consistencyLevel, limit, batchSize, limitHasBeenSet);
+				bounding, consistencyLevel, limit, batchSize, limitHasBeenSet, prefetchThreshold, mappingExecutor,
+				detached);
 	}
 }
@@ -24,6 +24,7 @@ import info.archinnov.achilles.type.OrderingMode;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 public class SliceQuery<T> {
 	public static final int DEFAULT_LIMIT = 100;
@@ -41,6 +42,20 @@ public class SliceQuery<T> {
 	private int limit;
 	private boolean limitSet;
 	private boolean noComponent;
+	private int prefetchThreshold;
+	private Executor mappingExecutor;
+	private boolean detached;
+
+	public SliceQuery(Class<T> entityClass, EntityMeta meta, List<Object> partitionComponents,
+			List<Object> clusteringsFrom, List<Object> clusteringsTo, OrderingMode ordering, BoundingMode bounding,
+			ConsistencyLevel consistencyLevel, int limit, int batchSize, boolean limitSet, int prefetchThreshold,
+			Executor mappingExecutor, boolean detached) {
+		this(entityClass, meta, partitionComponents, clusteringsFrom, clusteringsTo, ordering, bounding,
+				consistencyLevel, limit, batchSize, limitSet);
+		this.prefetchThreshold = prefetchThreshold;
+		this.mappingExecutor = mappingExecutor;
+		this.detached = detached;
+	}
 
 	public SliceQuery(Class<T> entityClass, EntityMeta meta, List<Object> partitionComponents,
 			List<Object> clusteringsFrom, List<Object> clusteringsTo, OrderingMode ordering, BoundingMode bounding,
@@ -134,6 +149,18 @@ public class SliceQuery<T> {
 		return limitSet;
 	}
 
+	public int getPrefetchThreshold() {
+		return prefetchThreshold;
+	}
+
+	public Executor getMappingExecutor() {
+		return mappingExecutor;
+	}
+
+	public boolean isDetached() {
+		return detached;
+	}
+
 	public boolean hasNoComponent() {
 		return noComponent;
 	}
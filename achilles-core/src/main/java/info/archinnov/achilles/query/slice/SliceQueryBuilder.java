@@ -25,6 +25,7 @@ import info.archinnov.achilles.type.OrderingMode;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 public class SliceQueryBuilder<T> extends RootSliceQueryBuilder<T> {
 
@@ -156,6 +157,53 @@ public class SliceQueryBuilder<T> extends RootSliceQueryBuilder<T> {
 			return this;
 		}
 
+		/**
+		 * Set prefetch threshold for iterators<br/>
+		 * <br/>
+		 * 
+		 * @param prefetchThreshold
+		 *            number of remaining rows in the current page below which
+		 *            the next page is requested asynchronously
+		 * 
+		 * @return SliceShortcutQueryBuilder
+		 */
+		@Override
+		public SliceShortcutQueryBuilder prefetchThreshold(int prefetchThreshold) {
+			SliceQueryBuilder.super.prefetchThresholdInternal(prefetchThreshold);
+			return this;
+		}
+
+		/**
+		 * Map rows on the provided executor ahead of consumption for
+		 * iterators<br/>
+		 * <br/>
+		 * 
+		 * @param mappingExecutor
+		 *            executor mapping and proxifying rows of the current page
+		 * 
+		 * @return SliceShortcutQueryBuilder
+		 */
+		@Override
+		public SliceShortcutQueryBuilder mapAheadWith(Executor mappingExecutor) {
+			SliceQueryBuilder.super.mappingExecutorInternal(mappingExecutor);
+			return this;
+		}
+
+		/**
+		 * Return plain entities, without proxy nor persistence context<br/>
+		 * <br/>
+		 * 
+		 * Changes on the returned entities are not tracked and counter
+		 * properties are not loaded
+		 * 
+		 * @return SliceShortcutQueryBuilder
+		 */
+		@Override
+		public SliceShortcutQueryBuilder detached() {
+			SliceQueryBuilder.super.detachedInternal();
+			return this;
+		}
+
 		/**
 		 * Get first n matching entities<br/>
 		 * <br/>
@@ -464,6 +512,50 @@ public class SliceQueryBuilder<T> extends RootSliceQueryBuilder<T> {
 			return this;
 		}
 
+		/**
+		 * Set prefetch threshold for iterators<br/>
+		 * <br/>
+		 * 
+		 * @param prefetchThreshold
+		 *            number of remaining rows in the current page below which
+		 *            the next page is requested asynchronously
+		 * 
+		 * @return DefaultQueryBuilder
+		 */
+		public DefaultQueryBuilder prefetchThreshold(int prefetchThreshold) {
+			SliceQueryBuilder.super.prefetchThresholdInternal(prefetchThreshold);
+			return this;
+		}
+
+		/**
+		 * Map rows on the provided executor ahead of consumption for
+		 * iterators<br/>
+		 * <br/>
+		 * 
+		 * @param mappingExecutor
+		 *            executor mapping and proxifying rows of the current page
+		 * 
+		 * @return DefaultQueryBuilder
+		 */
+		public DefaultQueryBuilder mapAheadWith(Executor mappingExecutor) {
+			SliceQueryBuilder.super.mappingExecutorInternal(mappingExecutor);
+			return this;
+		}
+
+		/**
+		 * Return plain entities, without proxy nor persistence context<br/>
+		 * <br/>
+		 * 
+		 * Changes on the returned entities are not tracked and counter
+		 * properties are not loaded
+		 * 
+		 * @return DefaultQueryBuilder
+		 */
+		public DefaultQueryBuilder detached() {
+			SliceQueryBuilder.super.detachedInternal();
+			return this;
+		}
+
 		/**
 		 * Get entities<br/>
 		 * <br/>
@@ -15,6 +15,7 @@
  */
 package info.archinnov.achilles.query.typed;
 
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.TYPED_QUERY;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
@@ -23,28 +24,33 @@ import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.EntityMapper;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
-import info.archinnov.achilles.internal.statement.wrapper.SimpleStatementWrapper;
+import info.archinnov.achilles.internal.persistence.operations.RowMappingIterator;
+import info.archinnov.achilles.internal.validation.Validator;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
 
 public class TypedQueryBuilder<T> {
 	private static final Logger log = LoggerFactory.getLogger(TypedQueryBuilder.class);
 
+	public static final int DEFAULT_FETCH_SIZE = 100;
+
 	private DaoContext daoContext;
 	private String normalizedQuery;
 	private Map<String, PropertyMeta> propertiesMap;
 	private EntityMeta meta;
 	private PersistenceContextFactory contextFactory;
 	private boolean managed;
+	private boolean detached = false;
 	private Object[] boundValues;
 
 	private EntityMapper mapper = new EntityMapper();
@@ -59,7 +65,18 @@ public class TypedQueryBuilder<T> {
 		this.meta = meta;
 		this.contextFactory = contextFactory;
 		this.managed = managed;
-		this.propertiesMap = transformPropertiesMap(meta);
+		this.propertiesMap = meta.getLowerCasePropertyMetas();
+	}
+
+	/**
+	 * Return plain entities, without proxy nor persistence context, even for
+	 * a managed typed query. Changes on the returned entities are not tracked
+	 * 
+	 * @return TypedQueryBuilder<T>
+	 */
+	public TypedQueryBuilder<T> detached() {
+		this.detached = true;
+		return this;
 	}
 
 	/**
@@ -76,56 +93,93 @@ public class TypedQueryBuilder<T> {
 	 */
 	public List<T> get() {
 		log.debug("Get results for typed query {}", normalizedQuery);
+		long start = System.nanoTime();
 		List<T> result = new ArrayList<>();
-		List<Row> rows = daoContext.execute(new SimpleStatementWrapper(normalizedQuery, boundValues)).all();
+		List<Row> rows = daoContext.bindAndExecuteQuery(normalizedQuery, boundValues).all();
 		for (Row row : rows) {
-			T entity = mapper.mapRowToEntityWithPrimaryKey(meta, row, propertiesMap, managed);
+			T entity = mapRow(row);
 			if (entity != null) {
-				meta.intercept(entity, Event.POST_LOAD);
-				if (managed) {
-					entity = buildProxy(entity);
-				}
 				result.add(entity);
 			}
 		}
+		recordLatency(start);
 		return result;
 	}
 
+	/**
+	 * Executes the query and returns an iterator on entities, fetching rows
+	 * by pages of 100
+	 * 
+	 * @return Iterator<T>
+	 */
+	public Iterator<T> iterator() {
+		return iterator(DEFAULT_FETCH_SIZE);
+	}
+
+	/**
+	 * Executes the query and returns an iterator on entities. Only one page of
+	 * rows is kept in memory, the next page is fetched when the current one
+	 * has been iterated over
+	 * 
+	 * @param fetchSize
+	 *            maximum number of rows to fetch on each page
+	 * 
+	 * @return Iterator<T>
+	 */
+	public Iterator<T> iterator(int fetchSize) {
+		log.debug("Get iterator for typed query {} with fetch size {}", normalizedQuery, fetchSize);
+		Validator.validateTrue(fetchSize > 0, "The fetch size for typed query '%s' should be strictly positive",
+				normalizedQuery);
+		long start = System.nanoTime();
+		ResultSet resultSet = daoContext.bindAndExecuteQuery(normalizedQuery, boundValues, fetchSize);
+		recordLatency(start);
+		return new RowMappingIterator<>(resultSet.iterator(), new Function<Row, T>() {
+			@Override
+			public T apply(Row row) {
+				return mapRow(row);
+			}
+		});
+	}
+
 	/**
 	 * Executes the query and returns first entity
 	 * 
 	 * Matching CQL row is mapped to entity by reflection. All un-mapped columns
-	 * are ignored.
+	 * are ignored. Only the first row is fetched from Cassandra
 	 * 
 	 * @return T first found entity or null
 	 * 
 	 */
 	public T getFirst() {
 		log.debug("Get first result for typed query {}", normalizedQuery);
+		long start = System.nanoTime();
 		T entity = null;
-		Row row = daoContext.execute(new SimpleStatementWrapper(normalizedQuery, boundValues)).one();
+		Row row = daoContext.bindAndExecuteQuery(normalizedQuery, boundValues, 1).one();
 		if (row != null) {
-			entity = mapper.mapRowToEntityWithPrimaryKey(meta, row, propertiesMap, managed);
+			entity = mapRow(row);
+		}
+		recordLatency(start);
+		return entity;
+	}
+
+	private T mapRow(Row row) {
+		T entity = mapper.mapRowToEntityWithPrimaryKey(meta, row, propertiesMap, managed);
+		if (entity != null) {
 			meta.intercept(entity, Event.POST_LOAD);
-			if (entity != null && managed) {
+			if (managed && !detached) {
 				entity = buildProxy(entity);
 			}
 		}
 		return entity;
 	}
 
-	private Map<String, PropertyMeta> transformPropertiesMap(EntityMeta meta) {
-		Map<String, PropertyMeta> propertiesMap = new HashMap<>();
-		for (Entry<String, PropertyMeta> entry : meta.getPropertyMetas().entrySet()) {
-			String propertyName = entry.getKey().toLowerCase();
-			propertiesMap.put(propertyName, entry.getValue());
-		}
-		return propertiesMap;
+	private void recordLatency(long start) {
+		daoContext.getMetrics().recordLatency(meta.getEntityClass(), TYPED_QUERY, System.nanoTime() - start);
 	}
 
 	private T buildProxy(T entity) {
 		PersistenceContext context = contextFactory.newContext(entity);
-		entity = proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context);
+		entity = proxifier.buildProxyWithEagerFieldsLoaded(entity, context);
 		return entity;
 	}
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.type;
+
+import info.archinnov.achilles.internal.validation.Validator;
+
+import com.google.common.base.Objects;
+
+/**
+ * How a batch session sends its pending statements at <em>endBatch()</em>.
+ * 
+ * <ul>
+ * <li>{@link #logged()}: all statements in a single LOGGED batch,
+ * all-or-nothing. This is the default</li>
+ * <li>{@link #unloggedPerPartition()}: statements grouped by partition key,
+ * each group sent concurrently as its own UNLOGGED batch and split once it
+ * reaches {@link #maxStatements(int)} statements or {@link #maxBytes(int)}
+ * bytes of bound values. Atomicity only holds within a partition</li>
+ * </ul>
+ * 
+ * <pre class="code">
+ * <code class="java">
+ *   manager.startBatch(BatchingStrategy.unloggedPerPartition().maxStatements(50));
+ * </code>
+ * </pre>
+ */
+public class BatchingStrategy {
+
+	public static final int DEFAULT_MAX_STATEMENTS = 100;
+
+	public static final int DEFAULT_MAX_BYTES = 5 * 1024;
+
+	private static final BatchingStrategy LOGGED = new BatchingStrategy(Mode.LOGGED, Integer.MAX_VALUE,
+			Integer.MAX_VALUE);
+
+	private final Mode mode;
+	private final int maxStatements;
+	private final int maxBytes;
+
+	private BatchingStrategy(Mode mode, int maxStatements, int maxBytes) {
+		this.mode = mode;
+		this.maxStatements = maxStatements;
+		this.maxBytes = maxBytes;
+	}
+
+	public static BatchingStrategy logged() {
+		return LOGGED;
+	}
+
+	public static BatchingStrategy unloggedPerPartition() {
+		return new BatchingStrategy(Mode.UNLOGGED_PER_PARTITION, DEFAULT_MAX_STATEMENTS, DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * Maximum number of statements in one partition batch. Ignored in logged
+	 * mode
+	 */
+	public BatchingStrategy maxStatements(int maxStatements) {
+		Validator.validateTrue(maxStatements > 0, "Max statements per batch should be strictly positive");
+		return new BatchingStrategy(mode, maxStatements, maxBytes);
+	}
+
+	/**
+	 * Maximum estimated size in bytes of one partition batch. Ignored in
+	 * logged mode
+	 */
+	public BatchingStrategy maxBytes(int maxBytes) {
+		Validator.validateTrue(maxBytes > 0, "Max bytes per batch should be strictly positive");
+		return new BatchingStrategy(mode, maxStatements, maxBytes);
+	}
+
+	public Mode getMode() {
+		return mode;
+	}
+
+	public boolean isLogged() {
+		return mode == Mode.LOGGED;
+	}
+
+	public int getMaxStatements() {
+		return maxStatements;
+	}
+
+	public int getMaxBytes() {
+		return maxBytes;
+	}
+
+	@Override
+	public String toString() {
+		return Objects.toStringHelper(BatchingStrategy.class).add("mode", mode).add("max statements", maxStatements)
+				.add("max bytes", maxBytes).toString();
+	}
+
+	public static enum Mode {
+		LOGGED, UNLOGGED_PER_PARTITION;
+	}
+}
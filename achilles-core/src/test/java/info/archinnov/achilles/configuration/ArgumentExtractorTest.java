@@ -17,7 +17,11 @@ package info.archinnov.achilles.configuration;
 
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_VALIDATOR;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ASYNC_LISTENER_EXECUTOR_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BOOTSTRAP_MAX_CONCURRENCY_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BULK_WRITE_MAX_CONCURRENCY_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CLUSTER_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.CODEC_DEFAULT_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.COMPRESSION_TYPE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONNECTION_CONTACT_POINTS_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONNECTION_CQL_PORT_PARAM;
@@ -26,18 +30,29 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.CONS
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_DEFAULT_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_MAP_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DISABLE_JMX;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CACHE_SPECS_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.DISABLE_METRICS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_CLASSES_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_INDEX_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.EVENT_INTERCEPTORS_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_TABLE_CREATION_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.MULTI_GET_MAX_CONCURRENCY_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.LOAD_BALANCING_POLICY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_ENABLE_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_SESSION_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.OBJECT_MAPPER_FACTORY_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.OBJECT_MAPPER_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PASSWORD;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RECONNECTION_POLICY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RETRY_POLICY;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SCAN_MAX_CONCURRENCY_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SCAN_PAGE_SIZE_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_ENABLE_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_FLUSH_INTERVAL_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_FLUSH_THRESHOLD_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.SSL_ENABLED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.SSL_OPTIONS;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.USERNAME;
@@ -48,20 +63,30 @@ import static info.archinnov.achilles.type.ConsistencyLevel.ONE;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import info.archinnov.achilles.codec.BinaryCodec;
+import info.archinnov.achilles.codec.CompactBinaryCodec;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.bean.validation.FakeValidator;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.json.ObjectMapperFactory;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.metrics.InMemoryMetrics;
+import info.archinnov.achilles.metrics.NoOpMetrics;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.TypedMap;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import javax.validation.Validator;
 
@@ -139,6 +164,40 @@ public class ArgumentExtractorTest {
 		assertThat(actual).isEmpty();
 	}
 
+	@Test
+	public void should_init_entity_classes() throws Exception {
+		configMap.put(ENTITY_CLASSES_PARAM, Arrays.<Class<?>> asList(CompleteBean.class));
+
+		List<Class<?>> actual = extractor.initEntityClasses(configMap);
+
+		assertThat(actual).containsExactly(CompleteBean.class);
+	}
+
+	@Test
+	public void should_init_empty_entity_classes() throws Exception {
+		List<Class<?>> actual = extractor.initEntityClasses(configMap);
+
+		assertThat(actual).isEmpty();
+	}
+
+	@Test
+	public void should_init_entity_index() throws Exception {
+		configMap.put(ENTITY_INDEX_PARAM, "META-INF/achilles/entities");
+
+		String actual = extractor.initEntityIndex(configMap);
+
+		assertThat(actual).isEqualTo("META-INF/achilles/entities");
+	}
+
+	@Test
+	public void should_init_null_entity_index_when_blank() throws Exception {
+		configMap.put(ENTITY_INDEX_PARAM, " ");
+
+		String actual = extractor.initEntityIndex(configMap);
+
+		assertThat(actual).isNull();
+	}
+
 	@Test
 	public void should_init_forceCFCreation_to_default_value() throws Exception {
 		boolean actual = extractor.initForceTableCreation(configMap);
@@ -155,6 +214,219 @@ public class ArgumentExtractorTest {
 		assertThat(actual).isTrue();
 	}
 
+	@Test
+	public void should_init_multi_get_max_concurrency_to_default_value() throws Exception {
+		int actual = extractor.initMultiGetMaxConcurrency(configMap);
+
+		assertThat(actual).isEqualTo(32);
+	}
+
+	@Test
+	public void should_init_multi_get_max_concurrency() throws Exception {
+		configMap.put(MULTI_GET_MAX_CONCURRENCY_PARAM, 100);
+
+		int actual = extractor.initMultiGetMaxConcurrency(configMap);
+
+		assertThat(actual).isEqualTo(100);
+	}
+
+	@Test
+	public void should_exception_when_multi_get_max_concurrency_not_positive() throws Exception {
+		configMap.put(MULTI_GET_MAX_CONCURRENCY_PARAM, 0);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage(MULTI_GET_MAX_CONCURRENCY_PARAM + " property should be strictly positive");
+
+		extractor.initMultiGetMaxConcurrency(configMap);
+	}
+
+	@Test
+	public void should_init_bulk_write_max_concurrency_to_default_value() throws Exception {
+		int actual = extractor.initBulkWriteMaxConcurrency(configMap);
+
+		assertThat(actual).isEqualTo(64);
+	}
+
+	@Test
+	public void should_init_bulk_write_max_concurrency() throws Exception {
+		configMap.put(BULK_WRITE_MAX_CONCURRENCY_PARAM, 200);
+
+		int actual = extractor.initBulkWriteMaxConcurrency(configMap);
+
+		assertThat(actual).isEqualTo(200);
+	}
+
+	@Test
+	public void should_exception_when_bulk_write_max_concurrency_not_positive() throws Exception {
+		configMap.put(BULK_WRITE_MAX_CONCURRENCY_PARAM, -1);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage(BULK_WRITE_MAX_CONCURRENCY_PARAM + " property should be strictly positive");
+
+		extractor.initBulkWriteMaxConcurrency(configMap);
+	}
+
+	@Test
+	public void should_init_bootstrap_max_concurrency_to_default_value() throws Exception {
+		int actual = extractor.initBootstrapMaxConcurrency(configMap);
+
+		assertThat(actual).isEqualTo(8);
+	}
+
+	@Test
+	public void should_init_bootstrap_max_concurrency() throws Exception {
+		configMap.put(BOOTSTRAP_MAX_CONCURRENCY_PARAM, 16);
+
+		int actual = extractor.initBootstrapMaxConcurrency(configMap);
+
+		assertThat(actual).isEqualTo(16);
+	}
+
+	@Test
+	public void should_exception_when_bootstrap_max_concurrency_not_positive() throws Exception {
+		configMap.put(BOOTSTRAP_MAX_CONCURRENCY_PARAM, 0);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage(BOOTSTRAP_MAX_CONCURRENCY_PARAM + " property should be strictly positive");
+
+		extractor.initBootstrapMaxConcurrency(configMap);
+	}
+
+	@Test
+	public void should_init_scan_max_concurrency_to_default_value() throws Exception {
+		int actual = extractor.initScanMaxConcurrency(configMap);
+
+		assertThat(actual).isEqualTo(8);
+	}
+
+	@Test
+	public void should_init_scan_max_concurrency() throws Exception {
+		configMap.put(SCAN_MAX_CONCURRENCY_PARAM, 16);
+
+		int actual = extractor.initScanMaxConcurrency(configMap);
+
+		assertThat(actual).isEqualTo(16);
+	}
+
+	@Test
+	public void should_exception_when_scan_max_concurrency_not_positive() throws Exception {
+		configMap.put(SCAN_MAX_CONCURRENCY_PARAM, 0);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage(SCAN_MAX_CONCURRENCY_PARAM + " property should be strictly positive");
+
+		extractor.initScanMaxConcurrency(configMap);
+	}
+
+	@Test
+	public void should_init_scan_page_size_to_default_value() throws Exception {
+		int actual = extractor.initScanPageSize(configMap);
+
+		assertThat(actual).isEqualTo(1000);
+	}
+
+	@Test
+	public void should_init_scan_page_size() throws Exception {
+		configMap.put(SCAN_PAGE_SIZE_PARAM, 500);
+
+		int actual = extractor.initScanPageSize(configMap);
+
+		assertThat(actual).isEqualTo(500);
+	}
+
+	@Test
+	public void should_exception_when_scan_page_size_not_positive() throws Exception {
+		configMap.put(SCAN_PAGE_SIZE_PARAM, -1);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage(SCAN_PAGE_SIZE_PARAM + " property should be strictly positive");
+
+		extractor.initScanPageSize(configMap);
+	}
+
+	@Test
+	public void should_init_counter_aggregation_disabled_by_default() throws Exception {
+		assertThat(extractor.initCounterAggregationEnabled(configMap)).isFalse();
+	}
+
+	@Test
+	public void should_init_counter_aggregation_enabled() throws Exception {
+		configMap.put(COUNTER_AGGREGATION_ENABLE_PARAM, true);
+
+		assertThat(extractor.initCounterAggregationEnabled(configMap)).isTrue();
+	}
+
+	@Test
+	public void should_init_counter_aggregation_flush_interval_to_default_value() throws Exception {
+		int actual = extractor.initCounterAggregationFlushInterval(configMap);
+
+		assertThat(actual).isEqualTo(1000);
+	}
+
+	@Test
+	public void should_init_counter_aggregation_flush_interval() throws Exception {
+		configMap.put(COUNTER_AGGREGATION_FLUSH_INTERVAL_PARAM, 250);
+
+		int actual = extractor.initCounterAggregationFlushInterval(configMap);
+
+		assertThat(actual).isEqualTo(250);
+	}
+
+	@Test
+	public void should_exception_when_counter_aggregation_flush_interval_not_positive() throws Exception {
+		configMap.put(COUNTER_AGGREGATION_FLUSH_INTERVAL_PARAM, 0);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage(COUNTER_AGGREGATION_FLUSH_INTERVAL_PARAM + " property should be strictly positive");
+
+		extractor.initCounterAggregationFlushInterval(configMap);
+	}
+
+	@Test
+	public void should_init_counter_aggregation_flush_threshold_to_default_value() throws Exception {
+		int actual = extractor.initCounterAggregationFlushThreshold(configMap);
+
+		assertThat(actual).isEqualTo(10000);
+	}
+
+	@Test
+	public void should_exception_when_counter_aggregation_flush_threshold_not_positive() throws Exception {
+		configMap.put(COUNTER_AGGREGATION_FLUSH_THRESHOLD_PARAM, -1);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage(COUNTER_AGGREGATION_FLUSH_THRESHOLD_PARAM + " property should be strictly positive");
+
+		extractor.initCounterAggregationFlushThreshold(configMap);
+	}
+
+	@Test
+	public void should_init_empty_entity_cache_specs_by_default() throws Exception {
+		Map<Class<?>, String> actual = extractor.initEntityCacheSpecs(configMap);
+
+		assertThat(actual).isEmpty();
+	}
+
+	@Test
+	public void should_init_entity_cache_specs() throws Exception {
+		Map<Class<?>, String> cacheSpecs = ImmutableMap.<Class<?>, String> of(CompleteBean.class, "maximumSize=10");
+		configMap.put(ENTITY_CACHE_SPECS_PARAM, cacheSpecs);
+
+		Map<Class<?>, String> actual = extractor.initEntityCacheSpecs(configMap);
+
+		assertThat(actual).isEqualTo(cacheSpecs);
+	}
+
+	@Test
+	public void should_exception_when_invalid_entity_cache_spec() throws Exception {
+		configMap.put(ENTITY_CACHE_SPECS_PARAM, ImmutableMap.<Class<?>, String> of(CompleteBean.class, "maximumSize=abc"));
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Invalid cache spec 'maximumSize=abc' for entity '" + CompleteBean.class.getCanonicalName()
+				+ "' in " + ENTITY_CACHE_SPECS_PARAM + " property");
+
+		extractor.initEntityCacheSpecs(configMap);
+	}
+
 	@Test
 	public void should_init_default_object_factory_mapper() throws Exception {
 		ObjectMapperFactory actual = extractor.initObjectMapperFactory(configMap);
@@ -199,6 +471,23 @@ public class ArgumentExtractorTest {
 		assertThat(actual).isSameAs(factory);
 	}
 
+	@Test
+	public void should_init_default_codec() throws Exception {
+		BinaryCodec codec = new CompactBinaryCodec();
+		configMap.put(CODEC_DEFAULT_PARAM, codec);
+
+		BinaryCodec actual = extractor.initDefaultCodec(configMap);
+
+		assertThat(actual).isSameAs(codec);
+	}
+
+	@Test
+	public void should_init_null_default_codec() throws Exception {
+		BinaryCodec actual = extractor.initDefaultCodec(configMap);
+
+		assertThat(actual).isNull();
+	}
+
 	@Test
 	public void should_init_default_read_consistency_level() throws Exception {
 		configMap.put(CONSISTENCY_LEVEL_READ_DEFAULT_PARAM, "ONE");
@@ -385,16 +674,38 @@ public class ArgumentExtractorTest {
 		// When
 		doReturn(true).when(extractor).initForceTableCreation(params);
 		doReturn(factory).when(extractor).initObjectMapperFactory(params);
+		BinaryCodec codec = new CompactBinaryCodec();
+		doReturn(codec).when(extractor).initDefaultCodec(params);
 		doReturn(ANY).when(extractor).initDefaultReadConsistencyLevel(params);
 		doReturn(ALL).when(extractor).initDefaultWriteConsistencyLevel(params);
+		doReturn(10).when(extractor).initMultiGetMaxConcurrency(params);
+		doReturn(20).when(extractor).initBulkWriteMaxConcurrency(params);
+		doReturn(4).when(extractor).initBootstrapMaxConcurrency(params);
+		doReturn(6).when(extractor).initScanMaxConcurrency(params);
+		doReturn(200).when(extractor).initScanPageSize(params);
+		doReturn(true).when(extractor).initCounterAggregationEnabled(params);
+		doReturn(500).when(extractor).initCounterAggregationFlushInterval(params);
+		doReturn(2000).when(extractor).initCounterAggregationFlushThreshold(params);
+		Map<Class<?>, String> cacheSpecs = ImmutableMap.<Class<?>, String> of(CompleteBean.class, "maximumSize=10");
+		doReturn(cacheSpecs).when(extractor).initEntityCacheSpecs(params);
 
 		ConfigurationContext configContext = extractor.initConfigContext(params);
 
 		// Then
 		assertThat(configContext.isForceColumnFamilyCreation()).isTrue();
 		assertThat(configContext.getObjectMapperFactory()).isSameAs(factory);
+		assertThat(configContext.getDefaultCodec()).isSameAs(codec);
 		assertThat(configContext.getDefaultReadConsistencyLevel()).isEqualTo(ANY);
 		assertThat(configContext.getDefaultWriteConsistencyLevel()).isEqualTo(ALL);
+		assertThat(configContext.getMultiGetMaxConcurrency()).isEqualTo(10);
+		assertThat(configContext.getBulkWriteMaxConcurrency()).isEqualTo(20);
+		assertThat(configContext.getBootstrapMaxConcurrency()).isEqualTo(4);
+		assertThat(configContext.getScanMaxConcurrency()).isEqualTo(6);
+		assertThat(configContext.getScanPageSize()).isEqualTo(200);
+		assertThat(configContext.isCounterAggregationEnabled()).isTrue();
+		assertThat(configContext.getCounterAggregationFlushInterval()).isEqualTo(500);
+		assertThat(configContext.getCounterAggregationFlushThreshold()).isEqualTo(2000);
+		assertThat(configContext.getEntityCacheSpecs()).isSameAs(cacheSpecs);
 
 	}
 
@@ -420,6 +731,58 @@ public class ArgumentExtractorTest {
 		assertThat(extractor.initValidator(params)).isNull();
 	}
 
+	@Test
+	public void should_init_no_op_metrics_by_default() throws Exception {
+		assertThat(extractor.initMetrics(new TypedMap())).isInstanceOf(NoOpMetrics.class);
+	}
+
+	@Test
+	public void should_init_in_memory_metrics_when_enabled() throws Exception {
+		// Given
+		TypedMap params = new TypedMap();
+		params.put(METRICS_ENABLE_PARAM, true);
+
+		assertThat(extractor.initMetrics(params)).isInstanceOf(InMemoryMetrics.class);
+	}
+
+	@Test
+	public void should_init_provided_metrics() throws Exception {
+		// Given
+		AchillesMetrics metrics = new NoOpMetrics();
+		TypedMap params = new TypedMap();
+		params.put(METRICS_ENABLE_PARAM, true);
+		params.put(METRICS_PARAM, metrics);
+
+		assertThat(extractor.initMetrics(params)).isSameAs(metrics);
+	}
+
+	@Test
+	public void should_init_same_thread_async_listener_executor_by_default() throws Exception {
+		// Given
+		final List<Thread> threads = new ArrayList<>();
+
+		// When
+		extractor.initAsyncListenerExecutor(new TypedMap()).execute(new Runnable() {
+			@Override
+			public void run() {
+				threads.add(Thread.currentThread());
+			}
+		});
+
+		// Then
+		assertThat(threads).containsExactly(Thread.currentThread());
+	}
+
+	@Test
+	public void should_init_provided_async_listener_executor() throws Exception {
+		// Given
+		Executor executor = mock(Executor.class);
+		TypedMap params = new TypedMap();
+		params.put(ASYNC_LISTENER_EXECUTOR_PARAM, executor);
+
+		assertThat(extractor.initAsyncListenerExecutor(params)).isSameAs(executor);
+	}
+
 	@Test
 	public void should_return_null_when_bean_validation_not_configured() throws Exception {
 		// Given
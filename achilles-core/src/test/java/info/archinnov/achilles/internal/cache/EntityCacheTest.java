@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.cache;
+
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.ID;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.LIST;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
+import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.cache.CacheStats;
+
+public class EntityCacheTest {
+
+	private EntityCache entityCache;
+
+	private CompleteBean entity;
+
+	@Before
+	public void setUp() throws Exception {
+		ReflectionInvoker invoker = new ReflectionInvoker();
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID)
+				.accessors().invoker(invoker).build();
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(SIMPLE).accessors().invoker(invoker).build();
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.type(LIST).accessors().invoker(invoker).build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setEntityClass(CompleteBean.class);
+		meta.setClassName(CompleteBean.class.getCanonicalName());
+		meta.setAllMetasExceptCounters(Arrays.asList(idMeta, nameMeta, friendsMeta));
+
+		entityCache = new EntityCache(meta, CacheBuilderSpec.parse("maximumSize=10"));
+		entity = CompleteBeanTestBuilder.builder().id(10L).name("name").addFriends("foo", "bar").buid();
+	}
+
+	@Test
+	public void should_return_null_when_not_cached() throws Exception {
+		assertThat(entityCache.<CompleteBean> get(10L)).isNull();
+	}
+
+	@Test
+	public void should_return_copy_of_cached_entity() throws Exception {
+		// Given
+		entityCache.put(10L, entity);
+
+		// When
+		CompleteBean first = entityCache.get(10L);
+		CompleteBean second = entityCache.get(10L);
+
+		// Then
+		assertThat(first).isNotSameAs(entity).isNotSameAs(second);
+		assertThat(first.getId()).isEqualTo(10L);
+		assertThat(first.getName()).isEqualTo("name");
+		assertThat(first.getFriends()).containsExactly("foo", "bar");
+		assertThat(first.getFriends()).isNotSameAs(second.getFriends());
+	}
+
+	@Test
+	public void should_not_expose_cached_state_to_mutations() throws Exception {
+		// Given
+		entityCache.put(10L, entity);
+		entity.setName("changed");
+		entity.getFriends().add("qux");
+
+		// When
+		CompleteBean cached = entityCache.get(10L);
+		cached.getFriends().clear();
+
+		// Then
+		CompleteBean actual = entityCache.get(10L);
+		assertThat(actual.getName()).isEqualTo("name");
+		assertThat(actual.getFriends()).containsExactly("foo", "bar");
+	}
+
+	@Test
+	public void should_invalidate_entity() throws Exception {
+		// Given
+		entityCache.put(10L, entity);
+		entityCache.put(11L, entity);
+
+		// When
+		entityCache.invalidate(10L);
+
+		// Then
+		assertThat(entityCache.<CompleteBean> get(10L)).isNull();
+		assertThat(entityCache.size()).isEqualTo(1L);
+
+		// When
+		entityCache.invalidateAll();
+
+		// Then
+		assertThat(entityCache.size()).isEqualTo(0L);
+	}
+
+	@Test
+	public void should_keep_entity_read_at_current_generation() throws Exception {
+		// Given
+		long generation = entityCache.generation();
+
+		// When
+		entityCache.put(10L, entity, generation);
+
+		// Then
+		assertThat(entityCache.<CompleteBean> get(10L)).isNotNull();
+	}
+
+	@Test
+	public void should_discard_entity_read_before_invalidation() throws Exception {
+		// Given
+		long generation = entityCache.generation();
+		entityCache.invalidate(10L);
+
+		// When
+		entityCache.put(10L, entity, generation);
+
+		// Then
+		assertThat(entityCache.<CompleteBean> get(10L)).isNull();
+		assertThat(entityCache.generation()).isEqualTo(generation + 1);
+	}
+
+	@Test
+	public void should_record_hits_and_misses() throws Exception {
+		// Given
+		entityCache.put(10L, entity);
+
+		// When
+		entityCache.get(10L);
+		entityCache.get(11L);
+
+		// Then
+		CacheStats stats = entityCache.stats();
+		assertThat(stats.hitCount()).isEqualTo(1L);
+		assertThat(stats.missCount()).isEqualTo(1L);
+	}
+}
@@ -17,35 +17,51 @@ package info.archinnov.achilles.internal.context;
 
 import static info.archinnov.achilles.type.ConsistencyLevel.EACH_QUORUM;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.cache.EntityCache;
 import info.archinnov.achilles.internal.context.AbstractFlushContext.FlushType;
 import info.archinnov.achilles.internal.interceptor.EventHolder;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.type.BatchingStrategy;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.powermock.reflect.internal.WhiteboxImpl;
 
 import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.google.common.util.concurrent.ListenableFuture;
 
 @RunWith(MockitoJUnitRunner.class)
 public class BatchingFlushContextTest {
@@ -64,9 +80,16 @@ public class BatchingFlushContextTest {
     @Captor
     ArgumentCaptor<BatchStatement> batchCaptor;
 
+	@Mock
+	private AchillesMetrics metrics;
+
+	@Mock
+	private ResultSet resultSet;
+
 	@Before
 	public void setUp() {
 		context = new BatchingFlushContext(daoContext, EACH_QUORUM);
+		when(daoContext.getMetrics()).thenReturn(metrics);
 	}
 
 	@Test
@@ -104,6 +127,7 @@ public class BatchingFlushContextTest {
         //Then
         verify(eventHolder).triggerInterception();
         verify(daoContext,times(2)).executeBatch(batchCaptor.capture());
+        verify(metrics,times(2)).recordBatch(2);
 
         assertThat(batchCaptor.getAllValues()).hasSize(2);
 
@@ -119,6 +143,229 @@ public class BatchingFlushContextTest {
         assertThat(statements2).contains(statement1, statement2);
     }
 
+	@Test
+	public void should_end_batch_with_one_unlogged_batch_per_partition() throws Exception {
+		// Given
+		RegularStatement statement1 = QueryBuilder.select().from("table1");
+		RegularStatement statement2 = QueryBuilder.select().from("table2");
+		RegularStatement statement3 = QueryBuilder.select().from("table3");
+		AbstractStatementWrapper wrapper1 = new RegularStatementWrapper(statement1, null,
+				com.datastax.driver.core.ConsistencyLevel.ONE);
+		AbstractStatementWrapper wrapper2 = new RegularStatementWrapper(statement2, null,
+				com.datastax.driver.core.ConsistencyLevel.ONE);
+		AbstractStatementWrapper wrapper3 = new RegularStatementWrapper(statement3, null,
+				com.datastax.driver.core.ConsistencyLevel.ONE);
+		context = context.duplicateWithNoData(EACH_QUORUM, BatchingStrategy.unloggedPerPartition());
+		context.pushStatement("partition1", wrapper1);
+		context.pushStatement("partition2", wrapper2);
+		context.pushStatement("partition1", wrapper3);
+
+		ResultSetFuture batchFuture = completedFuture(null);
+		ResultSetFuture future = completedFuture(null);
+		when(daoContext.executeBatchAsync(batchCaptor.capture())).thenReturn(batchFuture);
+		when(daoContext.executeAsync(wrapper2)).thenReturn(future);
+
+		// When
+		context.endBatch();
+
+		// Then
+		verify(daoContext, never()).executeBatch(any(BatchStatement.class));
+		verify(metrics).recordBatch(2);
+
+		final BatchStatement batchStatement = batchCaptor.getValue();
+		assertThat(WhiteboxImpl.getInternalState(batchStatement, "batchType")).isSameAs(BatchStatement.Type.UNLOGGED);
+		final List<Statement> statements = WhiteboxImpl.getInternalState(batchStatement, "statements");
+		assertThat(statements).containsExactly(statement1, statement3);
+	}
+
+	@Test
+	public void should_split_partition_batch_at_max_statements() throws Exception {
+		// Given
+		context = context.duplicateWithNoData(EACH_QUORUM, BatchingStrategy.unloggedPerPartition().maxStatements(2));
+		AbstractStatementWrapper wrapper1 = mock(AbstractStatementWrapper.class);
+		AbstractStatementWrapper wrapper2 = mock(AbstractStatementWrapper.class);
+		AbstractStatementWrapper wrapper3 = mock(AbstractStatementWrapper.class);
+		AbstractStatementWrapper wrapper4 = mock(AbstractStatementWrapper.class);
+		context.pushStatement("partition1", wrapper1);
+		context.pushStatement("partition1", wrapper2);
+		context.pushStatement("partition2", wrapper3);
+		context.pushStatement("partition1", wrapper4);
+
+		// When
+		List<List<AbstractStatementWrapper>> groups = context.groupByPartition(context.statementWrappers);
+		List<List<AbstractStatementWrapper>> batches = context.splitBatch(groups.get(0));
+
+		// Then
+		assertThat(groups).hasSize(2);
+		assertThat(groups.get(1)).containsExactly(wrapper3);
+		assertThat(batches).hasSize(2);
+		assertThat(batches.get(0)).containsExactly(wrapper1, wrapper2);
+		assertThat(batches.get(1)).containsExactly(wrapper4);
+	}
+
+	@Test
+	public void should_split_partition_batch_at_max_bytes() throws Exception {
+		// Given
+		context = context.duplicateWithNoData(EACH_QUORUM, BatchingStrategy.unloggedPerPartition().maxBytes(100));
+		AbstractStatementWrapper wrapper1 = mock(AbstractStatementWrapper.class);
+		AbstractStatementWrapper wrapper2 = mock(AbstractStatementWrapper.class);
+		AbstractStatementWrapper wrapper3 = mock(AbstractStatementWrapper.class);
+		when(wrapper1.estimateSize()).thenReturn(60);
+		when(wrapper2.estimateSize()).thenReturn(60);
+		when(wrapper3.estimateSize()).thenReturn(150);
+		context.pushStatement("partition1", wrapper1);
+		context.pushStatement("partition1", wrapper2);
+		context.pushStatement("partition1", wrapper3);
+
+		// When
+		List<List<AbstractStatementWrapper>> batches = context.splitBatch(context.statementWrappers);
+
+		// Then
+		assertThat(batches).hasSize(3);
+		assertThat(batches.get(0)).containsExactly(wrapper1);
+		assertThat(batches.get(1)).containsExactly(wrapper2);
+		assertThat(batches.get(2)).containsExactly(wrapper3);
+	}
+
+	@Test
+	public void should_send_sub_batches_of_a_partition_in_push_order() throws Exception {
+		// Given
+		context = context.duplicateWithNoData(EACH_QUORUM, BatchingStrategy.unloggedPerPartition().maxStatements(1));
+		AbstractStatementWrapper wrapper1 = mock(AbstractStatementWrapper.class);
+		AbstractStatementWrapper wrapper2 = mock(AbstractStatementWrapper.class);
+		AbstractStatementWrapper wrapper3 = mock(AbstractStatementWrapper.class);
+		context.pushStatement("partition1", wrapper1);
+		context.pushStatement("partition1", wrapper2);
+		context.pushStatement("partition1", wrapper3);
+
+		ResultSetFuture future1 = completedFuture(null);
+		ResultSetFuture future2 = completedFuture(null);
+		ResultSetFuture future3 = completedFuture(null);
+		when(daoContext.executeAsync(wrapper1)).thenReturn(future1);
+		when(daoContext.executeAsync(wrapper2)).thenReturn(future2);
+		when(daoContext.executeAsync(wrapper3)).thenReturn(future3);
+
+		// When
+		context.endBatch();
+
+		// Then
+		InOrder inOrder = inOrder(daoContext);
+		inOrder.verify(daoContext).executeAsync(wrapper1);
+		inOrder.verify(daoContext).executeAsync(wrapper2);
+		inOrder.verify(daoContext).executeAsync(wrapper3);
+	}
+
+	@Test
+	public void should_not_send_next_sub_batch_of_a_partition_when_previous_one_fails() throws Exception {
+		// Given
+		context = context.duplicateWithNoData(EACH_QUORUM, BatchingStrategy.unloggedPerPartition().maxStatements(1));
+		AbstractStatementWrapper wrapper1 = mock(AbstractStatementWrapper.class);
+		AbstractStatementWrapper wrapper2 = mock(AbstractStatementWrapper.class);
+		AbstractStatementWrapper wrapper3 = mock(AbstractStatementWrapper.class);
+		context.pushStatement("partition1", wrapper1);
+		context.pushStatement("partition1", wrapper2);
+		context.pushStatement("partition2", wrapper3);
+
+		AchillesException failure = new AchillesException("write timeout");
+		ResultSetFuture future1 = completedFuture(failure);
+		ResultSetFuture future3 = completedFuture(null);
+		when(daoContext.executeAsync(wrapper1)).thenReturn(future1);
+		when(daoContext.executeAsync(wrapper3)).thenReturn(future3);
+
+		// When
+		try {
+			context.endBatch();
+		} catch (AchillesException e) {
+			// Then
+			assertThat(e).isSameAs(failure);
+			verify(daoContext, never()).executeAsync(wrapper2);
+			verify(daoContext).executeAsync(wrapper3);
+			return;
+		}
+		throw new AssertionError("Expected batch failure to be propagated");
+	}
+
+	@Test
+	public void should_propagate_failure_of_partition_batch() throws Exception {
+		// Given
+		context = context.duplicateWithNoData(EACH_QUORUM, BatchingStrategy.unloggedPerPartition());
+		AbstractStatementWrapper wrapper = mock(AbstractStatementWrapper.class);
+		context.pushStatement("partition1", wrapper);
+		AchillesException failure = new AchillesException("write timeout");
+		ResultSetFuture future = completedFuture(failure);
+		when(daoContext.executeAsync(wrapper)).thenReturn(future);
+
+		// When
+		try {
+			context.endBatch();
+		} catch (AchillesException e) {
+			// Then
+			assertThat(e).isSameAs(failure);
+			return;
+		}
+		throw new AssertionError("Expected batch failure to be propagated");
+	}
+
+	@Test
+	public void should_invalidate_cached_entities_at_end_batch() throws Exception {
+		// Given
+		EntityCache entityCache = mock(EntityCache.class);
+		context.pushCacheInvalidation(entityCache, 10L);
+
+		// When
+		context.flush();
+
+		// Then
+		verify(entityCache, never()).invalidate(10L);
+
+		// When
+		context.endBatch();
+
+		// Then
+		verify(entityCache).invalidate(10L);
+		assertThat(context.cacheInvalidations).isEmpty();
+	}
+
+	@Test
+	public void should_invalidate_cached_entities_even_when_batch_fails() throws Exception {
+		// Given
+		context = context.duplicateWithNoData(EACH_QUORUM, BatchingStrategy.unloggedPerPartition());
+		EntityCache entityCache = mock(EntityCache.class);
+		AbstractStatementWrapper wrapper = mock(AbstractStatementWrapper.class);
+		context.pushStatement("partition1", wrapper);
+		context.pushCacheInvalidation(entityCache, 10L);
+		ResultSetFuture future = completedFuture(new AchillesException("write timeout"));
+		when(daoContext.executeAsync(wrapper)).thenReturn(future);
+
+		// When
+		try {
+			context.endBatch();
+		} catch (AchillesException e) {
+			// Then
+			verify(entityCache).invalidate(10L);
+			return;
+		}
+		throw new AssertionError("Expected batch failure to be propagated");
+	}
+
+	private ResultSetFuture completedFuture(Throwable failure) throws Exception {
+		ResultSetFuture future = mock(ResultSetFuture.class);
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				((Runnable) invocation.getArguments()[0]).run();
+				return null;
+			}
+		}).when(future).addListener(any(Runnable.class), any(Executor.class));
+		when(future.isDone()).thenReturn(true);
+		if (failure == null) {
+			when(future.get()).thenReturn(resultSet);
+		} else {
+			when(future.get()).thenThrow(new ExecutionException(failure));
+		}
+		return future;
+	}
+
 	@Test
 	public void should_get_type() throws Exception {
 		assertThat(context.type()).isSameAs(FlushType.BATCH);
@@ -178,4 +425,17 @@ public class BatchingFlushContextTest {
         assertThat(newContext.eventHolders).isEmpty();
 
     }
+
+	@Test
+	public void should_do_nothing_when_flush_async_is_called() throws Exception {
+		// Given
+		context.statementWrappers.add(bsWrapper);
+
+		// When
+		ListenableFuture<List<ResultSet>> actual = context.flushAsync();
+
+		// Then
+		assertThat(actual.get()).isEmpty();
+		assertThat(context.statementWrappers).containsExactly(bsWrapper);
+	}
 }
@@ -18,6 +18,8 @@ package info.archinnov.achilles.internal.context;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
+import info.archinnov.achilles.codec.BinaryCodec;
+import info.archinnov.achilles.codec.CompactBinaryCodec;
 import info.archinnov.achilles.test.parser.entity.BeanWithFieldLevelConstraint;
 
 import javax.validation.Validator;
@@ -56,4 +58,28 @@ public class ConfigurationContextTest {
 		assertThat(context.isClassConstrained(BeanWithFieldLevelConstraint.class)).isFalse();
 
 	}
+
+	@Test
+	public void should_get_cached_codec_instance() throws Exception {
+		// Given
+		ConfigurationContext context = new ConfigurationContext();
+
+		// When
+		BinaryCodec codec = context.getCodec(CompactBinaryCodec.class);
+
+		// Then
+		assertThat(codec).isInstanceOf(CompactBinaryCodec.class);
+		assertThat(context.getCodec(CompactBinaryCodec.class)).isSameAs(codec);
+	}
+
+	@Test
+	public void should_get_default_codec_instance_for_same_class() throws Exception {
+		// Given
+		ConfigurationContext context = new ConfigurationContext();
+		CompactBinaryCodec defaultCodec = new CompactBinaryCodec();
+		context.setDefaultCodec(defaultCodec);
+
+		// Then
+		assertThat(context.getCodec(CompactBinaryCodec.class)).isSameAs(defaultCodec);
+	}
 }
@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.COUNTER_FLUSH;
+import static info.archinnov.achilles.type.ConsistencyLevel.ONE;
+import static info.archinnov.achilles.type.ConsistencyLevel.QUORUM;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.test.builders.ResultSetFutureTestBuilder;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.WriteType;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.UnavailableException;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
+import com.google.common.util.concurrent.Futures;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CounterAggregatorTest {
+
+	private CounterAggregator aggregator;
+
+	@Mock
+	private DaoContext daoContext;
+
+	@Mock
+	private AchillesMetrics metrics;
+
+	@Mock
+	private PreparedStatement ps;
+
+	@Mock
+	private BoundStatement bs;
+
+	@Mock
+	private ResultSet resultSet;
+
+	private List<Object> partition = Arrays.<Object> asList("fqcn", "10");
+
+	@Before
+	public void setUp() {
+		aggregator = new CounterAggregator(daoContext, 100);
+		when(daoContext.getMetrics()).thenReturn(metrics);
+		when(ps.bind(Matchers.<Object> anyVararg())).thenReturn(bs);
+		when(bs.preparedStatement()).thenReturn(ps);
+		ResultSetFuture statementFuture = ResultSetFutureTestBuilder.completedWith(resultSet);
+		ResultSetFuture batchFuture = ResultSetFutureTestBuilder.completedWith(resultSet);
+		when(daoContext.executeAsync(any(AbstractStatementWrapper.class))).thenReturn(statementFuture);
+		when(daoContext.executeBatchAsync(any(BatchStatement.class))).thenReturn(batchFuture);
+	}
+
+	@Test
+	public void should_sum_deltas_of_same_counter_cell() throws Exception {
+		// Given
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 2L, ONE);
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 3L, ONE);
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, -1L, ONE);
+
+		// When
+		assertThat(aggregator.getPendingCount()).isEqualTo(1);
+		aggregator.flush();
+
+		// Then
+		ArgumentCaptor<AbstractStatementWrapper> wrapperCaptor = ArgumentCaptor
+				.forClass(AbstractStatementWrapper.class);
+		verify(daoContext).executeAsync(wrapperCaptor.capture());
+		assertThat(wrapperCaptor.getValue().getValues()).containsExactly(4L, "fqcn", "10", "count");
+		verify(ps).bind(4L, "fqcn", "10", "count");
+		assertThat(aggregator.getPendingCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_batch_counter_cells_of_same_partition() throws Exception {
+		// Given
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 2L, ONE);
+		aggregator.add(ps, new Object[] { "fqcn", "10", "total" }, partition, 5L, ONE);
+
+		// When
+		aggregator.flush();
+
+		// Then
+		verify(daoContext).executeBatchAsync(any(BatchStatement.class));
+		verify(daoContext, never()).executeAsync(any(AbstractStatementWrapper.class));
+		verify(metrics).recordBatch(2);
+		verify(metrics).recordLatency(isNull(Class.class), eq(COUNTER_FLUSH), anyLong());
+	}
+
+	@Test
+	public void should_keep_write_levels_apart() throws Exception {
+		// Given
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 2L, ONE);
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 5L, QUORUM);
+
+		// When
+		assertThat(aggregator.getPendingCount()).isEqualTo(2);
+		aggregator.flush();
+
+		// Then
+		verify(daoContext, times(2)).executeAsync(any(AbstractStatementWrapper.class));
+	}
+
+	@Test
+	public void should_not_write_deltas_summing_to_zero() throws Exception {
+		// Given
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 2L, ONE);
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, -2L, ONE);
+
+		// When
+		aggregator.flush();
+
+		// Then
+		verify(daoContext, never()).executeAsync(any(AbstractStatementWrapper.class));
+		verify(daoContext, never()).executeBatchAsync(any(BatchStatement.class));
+	}
+
+	@Test
+	public void should_discard_pending_deltas() throws Exception {
+		// Given
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 2L, ONE);
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 2L, QUORUM);
+		aggregator.add(ps, new Object[] { "fqcn", "10", "total" }, partition, 2L, ONE);
+
+		// When
+		aggregator.discard(ps, new Object[] { "fqcn", "10", "count" });
+
+		// Then
+		assertThat(aggregator.getPendingCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_do_nothing_when_flushing_without_pending_delta() throws Exception {
+		// When
+		aggregator.flush();
+
+		// Then
+		verify(daoContext, never()).executeAsync(any(AbstractStatementWrapper.class));
+		verify(metrics, never()).recordLatency(isNull(Class.class), eq(COUNTER_FLUSH), anyLong());
+	}
+
+	@Test
+	public void should_put_back_deltas_of_unavailable_batch() throws Exception {
+		// Given
+		UnavailableException unavailable = new UnavailableException(
+				com.datastax.driver.core.ConsistencyLevel.ONE, 1, 0);
+		ResultSetFuture failedFuture = failedWith(unavailable);
+		when(daoContext.executeAsync(any(AbstractStatementWrapper.class))).thenReturn(failedFuture);
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 2L, ONE);
+		aggregator.add(ps, new Object[] { "fqcn", "11", "count" }, Arrays.<Object> asList("fqcn", "11"), 5L, ONE);
+
+		// When
+		try {
+			aggregator.flush();
+			fail("Expected counter flush failure to be propagated");
+		} catch (UnavailableException e) {
+			assertThat(e).isSameAs(unavailable);
+		}
+
+		// Then
+		assertThat(aggregator.getPendingCount()).isEqualTo(2);
+
+		// When
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 1L, ONE);
+		ResultSetFuture statementFuture = ResultSetFutureTestBuilder.completedWith(resultSet);
+		when(daoContext.executeAsync(any(AbstractStatementWrapper.class))).thenReturn(statementFuture);
+		aggregator.flush();
+
+		// Then
+		verify(ps).bind(3L, "fqcn", "10", "count");
+		verify(ps, times(2)).bind(5L, "fqcn", "11", "count");
+		assertThat(aggregator.getPendingCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_drop_deltas_of_timed_out_batch() throws Exception {
+		// Given
+		WriteTimeoutException timeout = new WriteTimeoutException(com.datastax.driver.core.ConsistencyLevel.ONE,
+				WriteType.COUNTER, 0, 1);
+		ResultSetFuture failedFuture = failedWith(timeout);
+		when(daoContext.executeAsync(any(AbstractStatementWrapper.class))).thenReturn(failedFuture);
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 2L, ONE);
+
+		// When
+		try {
+			aggregator.flush();
+			fail("Expected counter flush failure to be propagated");
+		} catch (WriteTimeoutException e) {
+			assertThat(e).isSameAs(timeout);
+		}
+
+		// Then
+		assertThat(aggregator.getPendingCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_drop_deltas_after_max_flush_retries() throws Exception {
+		// Given
+		ResultSetFuture failedFuture = failedWith(new NoHostAvailableException(new HashMap<InetAddress, Throwable>()));
+		when(daoContext.executeAsync(any(AbstractStatementWrapper.class))).thenReturn(failedFuture);
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 2L, ONE);
+
+		for (int i = 0; i < CounterAggregator.MAX_FLUSH_RETRIES; i++) {
+			// When
+			try {
+				aggregator.flush();
+				fail("Expected counter flush failure to be propagated");
+			} catch (NoHostAvailableException e) {
+				// Then
+				assertThat(aggregator.getPendingCount()).isEqualTo(1);
+			}
+		}
+
+		// When
+		try {
+			aggregator.flush();
+			fail("Expected counter flush failure to be propagated");
+		} catch (NoHostAvailableException e) {
+			// Then
+			assertThat(aggregator.getPendingCount()).isEqualTo(0);
+		}
+		verify(ps, times(CounterAggregator.MAX_FLUSH_RETRIES + 1)).bind(2L, "fqcn", "10", "count");
+	}
+
+	@Test
+	public void should_reset_flush_retries_after_success() throws Exception {
+		// Given
+		ResultSetFuture failedFuture = failedWith(new NoHostAvailableException(new HashMap<InetAddress, Throwable>()));
+		ResultSetFuture statementFuture = ResultSetFutureTestBuilder.completedWith(resultSet);
+		when(daoContext.executeAsync(any(AbstractStatementWrapper.class))).thenReturn(failedFuture);
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 2L, ONE);
+		for (int i = 0; i < CounterAggregator.MAX_FLUSH_RETRIES; i++) {
+			try {
+				aggregator.flush();
+			} catch (NoHostAvailableException e) {
+				// expected
+			}
+		}
+		when(daoContext.executeAsync(any(AbstractStatementWrapper.class))).thenReturn(statementFuture);
+		aggregator.flush();
+
+		// When
+		when(daoContext.executeAsync(any(AbstractStatementWrapper.class))).thenReturn(failedFuture);
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 1L, ONE);
+		try {
+			aggregator.flush();
+		} catch (NoHostAvailableException e) {
+			// expected
+		}
+
+		// Then
+		assertThat(aggregator.getPendingCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_flush_pending_deltas_on_shutdown() throws Exception {
+		// Given
+		aggregator.start(60000);
+		aggregator.add(ps, new Object[] { "fqcn", "10", "count" }, partition, 2L, ONE);
+
+		// When
+		aggregator.shutdown();
+
+		// Then
+		verify(daoContext).executeAsync(any(AbstractStatementWrapper.class));
+		assertThat(aggregator.getPendingCount()).isEqualTo(0);
+	}
+
+	private ResultSetFuture failedWith(Throwable failure) {
+		return ResultSetFutureTestBuilder.delegatingTo(Futures.<ResultSet> immediateFailedFuture(failure));
+	}
+}
@@ -23,15 +23,19 @@ import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.statement.cache.StatementCacheKey;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGenerator;
+import info.archinnov.achilles.metrics.AchillesMetrics;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executors;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -40,14 +44,20 @@ import org.powermock.reflect.Whitebox;
 
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
 import com.google.common.base.Function;
 import com.google.common.cache.Cache;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DaoContextFactoryTest {
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
 	@InjectMocks
 	private DaoContextFactory builder;
 
@@ -78,6 +88,11 @@ public class DaoContextFactoryTest {
 	@Mock
 	private Map<CQLQueryType, Map<String, PreparedStatement>> clusteredCounterQueryMap;
 
+	@Mock
+	private AchillesMetrics metrics;
+
+	private ListeningExecutorService executor = MoreExecutors.sameThreadExecutor();
+
 	@Before
 	public void setUp() {
 		Whitebox.setInternalState(builder, PreparedStatementGenerator.class, queryGenerator);
@@ -96,6 +111,19 @@ public class DaoContextFactoryTest {
 		assertThat(result).containsOnly(insertPS);
 	}
 
+	@Test
+	public void should_get_insert_with_timestamp_ps_transformer() throws Exception {
+		// When
+		when(queryGenerator.prepareInsertWithTimestampPS(session, entityMeta)).thenReturn(insertPS);
+
+		Function<EntityMeta, PreparedStatement> function = builder.getInsertWithTimestampPSTransformer(session);
+		ImmutableList<PreparedStatement> result = FluentIterable.from(Arrays.asList(entityMeta)).transform(function)
+				.toList();
+
+		// Then
+		assertThat(result).containsOnly(insertPS);
+	}
+
 	@Test
 	public void should_get_select_eager_ps_transformer() throws Exception {
 		// When
@@ -157,7 +185,7 @@ public class DaoContextFactoryTest {
 		when(queryGenerator.prepareRemovePSs(session, meta)).thenReturn(removePSs);
 		when(queryGenerator.prepareSimpleCounterQueryMap(session)).thenReturn(counterQueryMap);
 
-		DaoContext actual = builder.build(session, entityMetaMap, true);
+		DaoContext actual = builder.build(session, entityMetaMap, true, metrics, executor);
 
 		// Then
 		assertThat((Map<Class<?>, PreparedStatement>) Whitebox.getInternalState(actual, "insertPSs")).containsValue(
@@ -172,6 +200,7 @@ public class DaoContextFactoryTest {
 
 		assertThat((Map<CQLQueryType, PreparedStatement>) Whitebox.getInternalState(actual, "counterQueryMap"))
 				.isSameAs(counterQueryMap);
+		assertThat(Whitebox.getInternalState(actual, "metrics")).isSameAs(metrics);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -191,7 +220,7 @@ public class DaoContextFactoryTest {
 		when(queryGenerator.prepareSelectPS(session, meta)).thenReturn(selectEagerPS);
 		when(queryGenerator.prepareRemovePSs(session, meta)).thenReturn(removePSs);
 
-		DaoContext actual = builder.build(session, entityMetaMap, false);
+		DaoContext actual = builder.build(session, entityMetaMap, false, metrics, executor);
 
 		// Then
 		assertThat((Map<Class<?>, PreparedStatement>) Whitebox.getInternalState(actual, "insertPSs")).containsValue(
@@ -207,4 +236,62 @@ public class DaoContextFactoryTest {
 		assertThat((Map<CQLQueryType, PreparedStatement>) Whitebox.getInternalState(actual, "counterQueryMap"))
 				.isEmpty();
 	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void should_prepare_statements_concurrently() throws Exception {
+		// Given
+		Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<>();
+		EntityMeta meta = new EntityMeta();
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+
+		meta.setPropertyMetas(ImmutableMap.of("name", nameMeta));
+		entityMetaMap.put(CompleteBean.class, meta);
+		ListeningExecutorService pool = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(4));
+
+		// When
+		when(queryGenerator.prepareInsertPS(session, meta)).thenReturn(insertPS);
+		when(queryGenerator.prepareInsertWithTimestampPS(session, meta)).thenReturn(insertPS);
+		when(queryGenerator.prepareSelectPS(session, meta)).thenReturn(selectEagerPS);
+		when(queryGenerator.prepareRemovePSs(session, meta)).thenReturn(removePSs);
+
+		DaoContext actual;
+		try {
+			actual = builder.build(session, entityMetaMap, false, metrics, pool);
+		} finally {
+			pool.shutdownNow();
+		}
+
+		// Then
+		assertThat((Map<Class<?>, PreparedStatement>) Whitebox.getInternalState(actual, "insertPSs")).containsValue(
+				insertPS);
+		assertThat((Map<Class<?>, PreparedStatement>) Whitebox.getInternalState(actual, "insertWithTimestampPSs"))
+				.containsValue(insertPS);
+		assertThat((Map<Class<?>, PreparedStatement>) Whitebox.getInternalState(actual, "selectPSs")).containsValue(
+				selectEagerPS);
+		assertThat((Map<Class<?>, Map<String, PreparedStatement>>) Whitebox.getInternalState(actual, "removePSs"))
+				.containsValue(removePSs);
+	}
+
+	@Test
+	public void should_rethrow_statement_preparation_exception() throws Exception {
+		// Given
+		Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<>();
+		EntityMeta meta = new EntityMeta();
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+
+		meta.setPropertyMetas(ImmutableMap.of("name", nameMeta));
+		entityMetaMap.put(CompleteBean.class, meta);
+		InvalidQueryException invalidQuery = new InvalidQueryException("unconfigured columnfamily");
+
+		// When
+		when(queryGenerator.prepareInsertPS(session, meta)).thenThrow(invalidQuery);
+
+		exception.expect(InvalidQueryException.class);
+		exception.expectMessage("unconfigured columnfamily");
+
+		builder.build(session, entityMetaMap, false, metrics, executor);
+	}
 }
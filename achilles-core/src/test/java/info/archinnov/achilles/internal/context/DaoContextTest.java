@@ -15,36 +15,44 @@
  */
 package info.archinnov.achilles.internal.context;
 
-import static com.datastax.driver.core.querybuilder.QueryBuilder.insertInto;
-import static com.datastax.driver.core.querybuilder.QueryBuilder.timestamp;
-import static com.datastax.driver.core.querybuilder.QueryBuilder.ttl;
-import static com.datastax.driver.core.querybuilder.QueryBuilder.update;
 import static com.google.common.collect.ImmutableMap.of;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.DELETE;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.INCR;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.SELECT;
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.DELETE_ALL;
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.SELECT_ALL;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.APPEND_TO_LIST;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.STATEMENT_BINDING;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.STATEMENT_EXECUTION;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.STATEMENT_PREPARATION;
 import static info.archinnov.achilles.type.ConsistencyLevel.ALL;
 import static info.archinnov.achilles.type.ConsistencyLevel.EACH_QUORUM;
 import static info.archinnov.achilles.type.ConsistencyLevel.LOCAL_QUORUM;
 import static info.archinnov.achilles.type.ConsistencyLevel.ONE;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
-import info.archinnov.achilles.internal.statement.StatementGenerator;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChange;
 import info.archinnov.achilles.internal.statement.cache.CacheManager;
 import info.archinnov.achilles.internal.statement.cache.StatementCacheKey;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementBinder;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
-import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
+import info.archinnov.achilles.metrics.AchillesMetrics;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.builders.ResultSetFutureTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Pair;
@@ -60,9 +68,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
@@ -72,18 +79,16 @@ import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
-import com.datastax.driver.core.querybuilder.Insert;
-import com.datastax.driver.core.querybuilder.Insert.Options;
-import com.datastax.driver.core.querybuilder.Update;
-import com.datastax.driver.core.querybuilder.Update.Where;
-import com.datastax.driver.core.querybuilder.Using;
 import com.google.common.base.Optional;
 import com.google.common.cache.Cache;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DaoContextTest {
@@ -96,14 +101,17 @@ public class DaoContextTest {
 	private DaoContext daoContext;
 
 	@Mock
-	private StatementGenerator statementGenerator;
+	private Map<Class<?>, PreparedStatement> insertPSs;
 
 	@Mock
-	private Map<Class<?>, PreparedStatement> insertPSs;
+	private Map<Class<?>, PreparedStatement> insertWithTimestampPSs;
 
 	@Mock
 	private Cache<StatementCacheKey, PreparedStatement> dynamicPSCache;
 
+	@Mock
+	private Cache<String, PreparedStatement> queryPSCache;
+
 	@Mock
 	private Map<Class<?>, PreparedStatement> selectEagerPSs;
 
@@ -125,16 +133,13 @@ public class DaoContextTest {
 	private CacheManager cacheManager;
 
 	@Mock
-	private PersistenceContext context;
-
-	@Mock
-	private EntityMeta entityMeta;
+	private AchillesMetrics metrics;
 
 	@Mock
-	private Insert insert;
+	private PersistenceContext context;
 
 	@Mock
-	private Update.Where update;
+	private EntityMeta entityMeta;
 
 	@Mock
 	private PreparedStatement ps;
@@ -145,12 +150,6 @@ public class DaoContextTest {
 	@Mock
 	private BoundStatement bs;
 
-	@Captor
-	ArgumentCaptor<Using> usingCaptor;
-
-	@Captor
-	ArgumentCaptor<RegularStatementWrapper> statementWrapperCaptor;
-
 	private CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().buid();
 
 	@Before
@@ -158,13 +157,15 @@ public class DaoContextTest {
 		Whitebox.setInternalState(daoContext, PreparedStatementBinder.class, binder);
 		Whitebox.setInternalState(daoContext, CacheManager.class, cacheManager);
 		Whitebox.setInternalState(daoContext, "insertPSs", insertPSs);
-		Whitebox.setInternalState(daoContext, Cache.class, dynamicPSCache);
+		Whitebox.setInternalState(daoContext, "insertWithTimestampPSs", insertWithTimestampPSs);
+		Whitebox.setInternalState(daoContext, "dynamicPSCache", dynamicPSCache);
+		Whitebox.setInternalState(daoContext, "queryPSCache", queryPSCache);
 		Whitebox.setInternalState(daoContext, "selectPSs", selectEagerPSs);
 		Whitebox.setInternalState(daoContext, "removePSs", removePSs);
 		Whitebox.setInternalState(daoContext, "counterQueryMap", counterQueryMap);
 		Whitebox.setInternalState(daoContext, "clusteredCounterQueryMap", clusteredCounterQueryMap);
 		Whitebox.setInternalState(daoContext, Session.class, session);
-		Whitebox.setInternalState(daoContext, StatementGenerator.class, statementGenerator);
+		Whitebox.setInternalState(daoContext, "metrics", metrics);
 		clusteredCounterQueryMap.clear();
 		entityMeta = new EntityMeta();
 		entityMeta.setEntityClass(CompleteBean.class);
@@ -174,6 +175,7 @@ public class DaoContextTest {
 		when(context.<CompleteBean> getEntityClass()).thenReturn(CompleteBean.class);
 		when(context.getEntity()).thenReturn(entity);
 		when(context.getPrimaryKey()).thenReturn(entity.getId());
+		when(context.getEncodedPrimaryKeyForCounter()).thenReturn(entity.getId().toString());
 
 		insertPSs.clear();
 		selectEagerPSs.clear();
@@ -189,68 +191,35 @@ public class DaoContextTest {
 		when(context.getTtt()).thenReturn(Optional.<Integer> absent());
 		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(null));
 		when(insertPSs.get(CompleteBean.class)).thenReturn(ps);
-		when(binder.bindForInsert(ps, entityMeta, entity, ALL, ttlO)).thenReturn(bsWrapper);
+		when(binder.bindForInsert(ps, entityMeta, entity, ALL, ttlO, Optional.<Long> absent())).thenReturn(bsWrapper);
 		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
 
 		daoContext.pushInsertStatement(context);
 
 		// Then
 		verify(context).pushStatement(bsWrapper);
-	}
-
-	@Test
-	public void should_push_insert_with_timestamp() throws Exception {
-		// Given
-		Long timestamp = 115L;
-		Options using = insertInto("test").using(timestamp(timestamp));
-		Object[] boundValues = new Object[] {};
-		Pair<Insert, Object[]> pair = Pair.create(insert, boundValues);
-		entityMeta.setConsistencyLevels(Pair.create(ONE, ALL));
-
-		// When
-		when(context.getTtt()).thenReturn(Optional.<Integer> fromNullable(null));
-		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(timestamp));
-		when(context.getEntity()).thenReturn(entity);
-		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
-		when(statementGenerator.generateInsert(entity, entityMeta)).thenReturn(pair);
-		when(insert.using(usingCaptor.capture())).thenReturn(using);
-
-		daoContext.pushInsertStatement(context);
-
-		// Then
-		verify(context).pushStatement(statementWrapperCaptor.capture());
-		assertThat(statementWrapperCaptor.getValue().getValues()).contains(timestamp);
-		assertThat(Whitebox.getInternalState(usingCaptor.getValue(), "value")).isEqualTo(new Long(timestamp));
-		assertThat(using.getConsistencyLevel()).isEqualTo(com.datastax.driver.core.ConsistencyLevel.ALL);
+		verify(metrics).recordLatency(eq(CompleteBean.class), eq(STATEMENT_BINDING), anyLong());
 	}
 
 	@Test
 	public void should_push_insert_with_ttl_and_timestamp() throws Exception {
 		// Given
-		Integer ttl = 115;
-		Long timestamp = 115L;
-		Options using = insertInto("test").using(ttl(ttl));
-		Object[] boundValues = new Object[] {};
-		Pair<Insert, Object[]> pair = Pair.create(insert, boundValues);
+		Optional<Integer> ttlO = Optional.fromNullable(115);
+		Optional<Long> timestampO = Optional.fromNullable(115L);
 		entityMeta.setConsistencyLevels(Pair.create(ONE, ALL));
 
 		// When
-		when(context.getTtt()).thenReturn(Optional.<Integer> fromNullable(ttl));
-		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(timestamp));
-		when(context.getEntity()).thenReturn(entity);
+		when(context.getTtt()).thenReturn(ttlO);
+		when(context.getTimestamp()).thenReturn(timestampO);
 		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
-		when(statementGenerator.generateInsert(entity, entityMeta)).thenReturn(pair);
-		when(insert.using(usingCaptor.capture())).thenReturn(using);
+		when(insertWithTimestampPSs.get(CompleteBean.class)).thenReturn(ps);
+		when(binder.bindForInsert(ps, entityMeta, entity, ALL, ttlO, timestampO)).thenReturn(bsWrapper);
+
 		daoContext.pushInsertStatement(context);
 
 		// Then
-		verify(context).pushStatement(statementWrapperCaptor.capture());
-		assertThat(statementWrapperCaptor.getValue().getValues()).contains(ttl, timestamp);
-		assertThat(Whitebox.getInternalState(usingCaptor.getValue(), "value")).isEqualTo(new Long(ttl));
-
-		List<Using> usings = Whitebox.getInternalState(using, "usings");
-		assertThat(Whitebox.getInternalState(usings.get(0), "value")).isEqualTo(new Long(timestamp));
-		assertThat(using.getConsistencyLevel()).isEqualTo(com.datastax.driver.core.ConsistencyLevel.ALL);
+		verify(context).pushStatement(bsWrapper);
+		verify(insertPSs, never()).get(CompleteBean.class);
 	}
 
 	@Test
@@ -265,7 +234,8 @@ public class DaoContextTest {
 		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(null));
 		when(cacheManager.getCacheForFieldsUpdate(session, dynamicPSCache, context, pms)).thenReturn(ps);
 		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(EACH_QUORUM));
-		when(binder.bindForUpdate(ps, entityMeta, pms, entity, EACH_QUORUM, ttlO)).thenReturn(bsWrapper);
+		when(binder.bindForUpdate(ps, entityMeta, pms, entity, EACH_QUORUM, ttlO, Optional.<Long> absent()))
+				.thenReturn(bsWrapper);
 
 		daoContext.pushUpdateStatement(context, pms);
 
@@ -274,63 +244,47 @@ public class DaoContextTest {
 	}
 
 	@Test
-	public void should_push_update_with_timestamp() throws Exception {
+	public void should_push_update_with_ttl_and_timestamp() throws Exception {
 		// Given
-		Long timestamp = 15465L;
-		Update.Options options = update("test").using(timestamp(timestamp));
-		Object[] boundValues = new Object[] {};
-		Pair<Where, Object[]> pair = Pair.create(update, boundValues);
+		Optional<Integer> ttlO = Optional.fromNullable(54321);
+		Optional<Long> timestampO = Optional.fromNullable(15465L);
 		PropertyMeta nameMeta = PropertyMetaTestBuilder.valueClass(String.class).field("name").build();
 		PropertyMeta ageMeta = PropertyMetaTestBuilder.valueClass(Long.class).field("age").build();
 		List<PropertyMeta> pms = Arrays.asList(nameMeta, ageMeta);
 
 		// When
-		when(context.getTtt()).thenReturn(Optional.<Integer> fromNullable(null));
-		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(timestamp));
-		when(context.getEntity()).thenReturn(entity);
+		when(context.getTtt()).thenReturn(ttlO);
+		when(context.getTimestamp()).thenReturn(timestampO);
 		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(EACH_QUORUM));
-		when(statementGenerator.generateUpdateFields(entity, entityMeta, pms)).thenReturn(pair);
-		when(update.using(usingCaptor.capture())).thenReturn(options);
+		when(cacheManager.getCacheForFieldsUpdateWithTimestamp(session, dynamicPSCache, context, pms)).thenReturn(ps);
+		when(binder.bindForUpdate(ps, entityMeta, pms, entity, EACH_QUORUM, ttlO, timestampO)).thenReturn(bsWrapper);
 
 		daoContext.pushUpdateStatement(context, pms);
 
 		// Then
-		verify(context).pushStatement(statementWrapperCaptor.capture());
-		assertThat(statementWrapperCaptor.getValue().getValues()).contains(timestamp);
-
-		assertThat(Whitebox.getInternalState(usingCaptor.getValue(), "value")).isEqualTo(timestamp);
-		assertThat(options.getConsistencyLevel()).isEqualTo(com.datastax.driver.core.ConsistencyLevel.EACH_QUORUM);
+		verify(context).pushStatement(bsWrapper);
+		verify(cacheManager, never()).getCacheForFieldsUpdate(session, dynamicPSCache, context, pms);
 	}
 
 	@Test
-	public void should_push_update_with_ttl_and_timestamp() throws Exception {
+	public void should_push_collection_update() throws Exception {
 		// Given
-		Integer ttl = 54321;
-		Long timestamp = 15465L;
-		Update.Options options = update("test").using(timestamp(timestamp));
-		Object[] boundValues = new Object[] {};
-		Pair<Where, Object[]> pair = Pair.create(update, boundValues);
-		PropertyMeta nameMeta = PropertyMetaTestBuilder.valueClass(String.class).field("name").build();
-		PropertyMeta ageMeta = PropertyMetaTestBuilder.valueClass(Long.class).field("age").build();
-		List<PropertyMeta> pms = Arrays.asList(nameMeta, ageMeta);
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.valueClass(String.class).field("friends").build();
+		CollectionChange change = new CollectionChange(APPEND_TO_LIST, Arrays.asList("George"));
 
 		// When
-		when(context.getTtt()).thenReturn(Optional.<Integer> fromNullable(ttl));
-		when(context.getTimestamp()).thenReturn(Optional.<Long> fromNullable(timestamp));
-		when(context.getEntity()).thenReturn(entity);
+		when(context.getTtt()).thenReturn(ttlO);
+		when(context.getTimestamp()).thenReturn(Optional.<Long> absent());
 		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(EACH_QUORUM));
-		when(statementGenerator.generateUpdateFields(entity, entityMeta, pms)).thenReturn(pair);
-		when(update.using(usingCaptor.capture())).thenReturn(options);
+		when(cacheManager.getCacheForCollectionUpdate(session, dynamicPSCache, context, friendsMeta, APPEND_TO_LIST,
+				false)).thenReturn(ps);
+		when(binder.bindForCollectionUpdate(ps, entityMeta, friendsMeta, change, entity, EACH_QUORUM, ttlO,
+				Optional.<Long> absent())).thenReturn(bsWrapper);
 
-		daoContext.pushUpdateStatement(context, pms);
+		daoContext.pushCollectionUpdateStatement(context, friendsMeta, change);
 
 		// Then
-		verify(context).pushStatement(statementWrapperCaptor.capture());
-		assertThat(statementWrapperCaptor.getValue().getValues()).contains(ttl, timestamp);
-		assertThat(Whitebox.getInternalState(usingCaptor.getValue(), "value")).isEqualTo(new Long(timestamp));
-
-		List<Using> usings = Whitebox.getInternalState(options, "usings");
-		assertThat(Whitebox.getInternalState(usings.get(1), "value")).isEqualTo(new Long(ttl));
+		verify(context).pushStatement(bsWrapper);
 	}
 
 	@Test
@@ -375,6 +329,63 @@ public class DaoContextTest {
 		assertThat(actual).isSameAs(row);
 	}
 
+	@Test
+	public void should_load_entity_without_persistence_context() throws Exception {
+		// Given
+		entityMeta.setConsistencyLevels(Pair.create(LOCAL_QUORUM, LOCAL_QUORUM));
+		ResultSet resultSet = mock(ResultSet.class);
+		Row row = mock(Row.class);
+
+		// When
+		when(selectEagerPSs.get(CompleteBean.class)).thenReturn(ps);
+		when(binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta, entity.getId(), LOCAL_QUORUM)).thenReturn(
+				bsWrapper);
+		when(bsWrapper.execute(session)).thenReturn(resultSet);
+		when(resultSet.all()).thenReturn(Arrays.asList(row));
+
+		// Then
+		Row actual = daoContext.loadEntity(entityMeta, entity.getId(), null);
+		assertThat(actual).isSameAs(row);
+	}
+
+	@Test
+	public void should_load_entity_without_persistence_context_with_read_level() throws Exception {
+		// Given
+		ResultSet resultSet = mock(ResultSet.class);
+
+		// When
+		when(selectEagerPSs.get(CompleteBean.class)).thenReturn(ps);
+		when(binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta, entity.getId(), EACH_QUORUM)).thenReturn(
+				bsWrapper);
+		when(bsWrapper.execute(session)).thenReturn(resultSet);
+		when(resultSet.all()).thenReturn(Arrays.<Row> asList());
+
+		// Then
+		Row actual = daoContext.loadEntity(entityMeta, entity.getId(), EACH_QUORUM);
+		assertThat(actual).isNull();
+	}
+
+	@Test
+	public void should_load_entity_async() throws Exception {
+		// Given
+		entityMeta.setConsistencyLevels(Pair.create(LOCAL_QUORUM, LOCAL_QUORUM));
+		ResultSet resultSet = mock(ResultSet.class);
+		Row row = mock(Row.class);
+
+		// When
+		when(selectEagerPSs.get(CompleteBean.class)).thenReturn(ps);
+		when(binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta, entity.getId(), LOCAL_QUORUM)).thenReturn(
+				bsWrapper);
+		when(resultSet.one()).thenReturn(row);
+		ResultSetFuture future = ResultSetFutureTestBuilder.completedWith(resultSet);
+		when(context.executeImmediateAsync(bsWrapper)).thenReturn(future);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+
+		// Then
+		ListenableFuture<Row> actual = daoContext.loadEntityAsync(context);
+		assertThat(actual.get()).isSameAs(row);
+	}
+
 	@Test
 	public void should_load_property() throws Exception {
 		// Given
@@ -397,6 +408,30 @@ public class DaoContextTest {
 		assertThat(actual).isSameAs(row);
 	}
 
+	@Test
+	public void should_load_properties() throws Exception {
+		// Given
+		entityMeta.setConsistencyLevels(Pair.create(LOCAL_QUORUM, LOCAL_QUORUM));
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.valueClass(String.class).field("name").build();
+		PropertyMeta labelMeta = PropertyMetaTestBuilder.valueClass(String.class).field("label").build();
+		List<PropertyMeta> pms = Arrays.asList(nameMeta, labelMeta);
+		ResultSet resultSet = mock(ResultSet.class);
+		Row row = mock(Row.class);
+
+		// When
+		when(cacheManager.getCacheForFieldsSelect(session, dynamicPSCache, context, pms)).thenReturn(ps);
+		when(binder.bindStatementWithOnlyPKInWhereClause(ps, entityMeta, entity.getId(), LOCAL_QUORUM)).thenReturn(
+				bsWrapper);
+		when(resultSet.all()).thenReturn(Arrays.asList(row));
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+		when(context.executeImmediate(bsWrapper)).thenReturn(resultSet);
+
+		// Then
+		Row actual = daoContext.loadProperties(context, pms);
+
+		assertThat(actual).isSameAs(row);
+	}
+
 	@Test
 	public void should_return_null_when_loading_property() throws Exception {
 		// Given
@@ -428,6 +463,7 @@ public class DaoContextTest {
 		ResultSet actual = daoContext.execute(bsWrapper);
 
 		assertThat(actual).isSameAs(resultSet);
+		verify(metrics).recordLatency(isNull(Class.class), eq(STATEMENT_EXECUTION), anyLong());
 	}
 
 	// Simple counter
@@ -440,13 +476,14 @@ public class DaoContextTest {
 		// When
 		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
 		when(counterQueryMap.get(INCR)).thenReturn(ps);
-		when(binder.bindForSimpleCounterIncrementDecrement(ps, entityMeta, pm, entity.getId(), 2L, EACH_QUORUM))
+		when(binder.bindForSimpleCounterIncrementDecrement(ps, entityMeta, pm, entity.getId().toString(), 2L,
+				EACH_QUORUM))
 				.thenReturn(bsWrapper);
 
 		daoContext.bindForSimpleCounterIncrement(context, entityMeta, pm, 2L);
 
 		// Then
-		verify(context).pushCounterStatement(bsWrapper);
+		verify(context).pushSimpleCounterStatement(bsWrapper);
 	}
 
 	@Test
@@ -458,8 +495,8 @@ public class DaoContextTest {
 		// When
 		when(counterQueryMap.get(INCR)).thenReturn(ps);
 		when(
-				binder.bindForSimpleCounterIncrementDecrement(ps, entityMeta, pm, entity.getId(), counterValue,
-						EACH_QUORUM)).thenReturn(bsWrapper);
+				binder.bindForSimpleCounterIncrementDecrement(ps, entityMeta, pm, entity.getId().toString(),
+						counterValue, EACH_QUORUM)).thenReturn(bsWrapper);
 
 		daoContext.incrementSimpleCounter(context, entityMeta, pm, counterValue, EACH_QUORUM);
 
@@ -476,8 +513,8 @@ public class DaoContextTest {
 		// When
 		when(counterQueryMap.get(CQLQueryType.DECR)).thenReturn(ps);
 		when(
-				binder.bindForSimpleCounterIncrementDecrement(ps, entityMeta, pm, entity.getId(), counterValue,
-						EACH_QUORUM)).thenReturn(bsWrapper);
+				binder.bindForSimpleCounterIncrementDecrement(ps, entityMeta, pm, entity.getId().toString(),
+						counterValue, EACH_QUORUM)).thenReturn(bsWrapper);
 
 		daoContext.decrementSimpleCounter(context, entityMeta, pm, counterValue, EACH_QUORUM);
 
@@ -495,7 +532,8 @@ public class DaoContextTest {
 
 		// When
 		when(counterQueryMap.get(CQLQueryType.SELECT)).thenReturn(ps);
-		when(binder.bindForSimpleCounterSelect(ps, entityMeta, pm, entity.getId(), EACH_QUORUM)).thenReturn(bsWrapper);
+		when(binder.bindForSimpleCounterSelect(ps, entityMeta, pm, entity.getId().toString(), EACH_QUORUM)).thenReturn(
+				bsWrapper);
 
 		when(context.executeImmediate(bsWrapper)).thenReturn(resultSet);
 		when(resultSet.all()).thenReturn(Arrays.<Row> asList(row));
@@ -505,6 +543,25 @@ public class DaoContextTest {
 		assertThat(actual).isSameAs(row);
 	}
 
+	@Test
+	public void should_get_simple_counters() throws Exception {
+		// Given
+		ResultSet resultSet = mock(ResultSet.class);
+		Row row = mock(Row.class);
+
+		// When
+		when(counterQueryMap.get(CQLQueryType.SELECT_ALL)).thenReturn(ps);
+		when(binder.bindForSimpleCountersSelect(ps, entityMeta, entity.getId().toString(), EACH_QUORUM)).thenReturn(
+				bsWrapper);
+
+		when(context.executeImmediate(bsWrapper)).thenReturn(resultSet);
+		when(resultSet.all()).thenReturn(Arrays.<Row> asList(row));
+
+		// Then
+		List<Row> actual = daoContext.getSimpleCounters(context, EACH_QUORUM);
+		assertThat(actual).containsExactly(row);
+	}
+
 	@Test
 	public void should_bind_simple_counter_delete() throws Exception {
 		// Given
@@ -514,15 +571,132 @@ public class DaoContextTest {
 		// When
 		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
 		when(counterQueryMap.get(CQLQueryType.DELETE)).thenReturn(ps);
-		when(binder.bindForSimpleCounterDelete(ps, entityMeta, pm, 11L, EACH_QUORUM)).thenReturn(bsWrapper);
+		when(binder.bindForSimpleCounterDelete(ps, entityMeta, pm, entity.getId().toString(), EACH_QUORUM))
+				.thenReturn(bsWrapper);
 
-		daoContext.bindForSimpleCounterDelete(context, entityMeta, pm, 11L);
+		daoContext.bindForSimpleCounterDelete(context, entityMeta, pm);
 
 		// Then
-		verify(context).pushCounterStatement(bsWrapper);
+		verify(context).pushSimpleCounterStatement(bsWrapper);
+	}
+
+	@Test
+	public void should_aggregate_simple_counter_increment() throws Exception {
+		// Given
+		CounterAggregator counterAggregator = mock(CounterAggregator.class);
+		daoContext.setCounterAggregator(counterAggregator);
+		PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).field("name")
+				.consistencyLevels(Pair.create(EACH_QUORUM, EACH_QUORUM)).build();
+		Object[] keyValues = new Object[] { "fqcn", entity.getId().toString(), "name" };
+
+		// When
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+		when(counterQueryMap.get(INCR)).thenReturn(ps);
+		when(binder.extractValuesForSimpleCounterBinding(entityMeta, pm, entity.getId().toString())).thenReturn(
+				keyValues);
+
+		daoContext.bindForSimpleCounterIncrement(context, entityMeta, pm, 2L);
+
+		// Then
+		verify(counterAggregator).add(ps, keyValues, Arrays.<Object> asList("fqcn", entity.getId().toString()), 2L,
+				EACH_QUORUM);
+		verify(context, never()).pushSimpleCounterStatement(any(AbstractStatementWrapper.class));
+	}
+
+	@Test
+	public void should_aggregate_simple_counter_decrement_as_negative_increment() throws Exception {
+		// Given
+		CounterAggregator counterAggregator = mock(CounterAggregator.class);
+		daoContext.setCounterAggregator(counterAggregator);
+		PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).field("name").build();
+		Object[] keyValues = new Object[] { "fqcn", entity.getId().toString(), "name" };
+
+		// When
+		when(counterQueryMap.get(INCR)).thenReturn(ps);
+		when(binder.extractValuesForSimpleCounterBinding(entityMeta, pm, entity.getId().toString())).thenReturn(
+				keyValues);
+
+		daoContext.decrementSimpleCounter(context, entityMeta, pm, 3L, EACH_QUORUM);
+
+		// Then
+		verify(counterAggregator).add(ps, keyValues, Arrays.<Object> asList("fqcn", entity.getId().toString()), -3L,
+				EACH_QUORUM);
+		verify(context, never()).executeImmediate(any(AbstractStatementWrapper.class));
+	}
+
+	@Test
+	public void should_not_aggregate_simple_counter_increment_in_batch_mode() throws Exception {
+		// Given
+		CounterAggregator counterAggregator = mock(CounterAggregator.class);
+		daoContext.setCounterAggregator(counterAggregator);
+		PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).field("name")
+				.consistencyLevels(Pair.create(EACH_QUORUM, EACH_QUORUM)).build();
+
+		// When
+		when(context.isBatchMode()).thenReturn(true);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+		when(counterQueryMap.get(INCR)).thenReturn(ps);
+		when(binder.bindForSimpleCounterIncrementDecrement(ps, entityMeta, pm, entity.getId().toString(), 2L,
+				EACH_QUORUM)).thenReturn(bsWrapper);
+
+		daoContext.bindForSimpleCounterIncrement(context, entityMeta, pm, 2L);
+
+		// Then
+		verify(context).pushSimpleCounterStatement(bsWrapper);
+		verifyZeroInteractions(counterAggregator);
+	}
+
+	@Test
+	public void should_discard_aggregated_deltas_on_simple_counter_delete() throws Exception {
+		// Given
+		CounterAggregator counterAggregator = mock(CounterAggregator.class);
+		daoContext.setCounterAggregator(counterAggregator);
+		PreparedStatement incrPS = mock(PreparedStatement.class);
+		PropertyMeta pm = PropertyMetaTestBuilder.valueClass(String.class).field("name")
+				.consistencyLevels(Pair.create(EACH_QUORUM, EACH_QUORUM)).build();
+		Object[] keyValues = new Object[] { "fqcn", entity.getId().toString(), "name" };
+
+		// When
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+		when(counterQueryMap.get(INCR)).thenReturn(incrPS);
+		when(counterQueryMap.get(CQLQueryType.DELETE)).thenReturn(ps);
+		when(binder.extractValuesForSimpleCounterBinding(entityMeta, pm, entity.getId().toString())).thenReturn(
+				keyValues);
+		when(binder.bindForSimpleCounterDelete(ps, entityMeta, pm, entity.getId().toString(), EACH_QUORUM))
+				.thenReturn(bsWrapper);
+
+		daoContext.bindForSimpleCounterDelete(context, entityMeta, pm);
+
+		// Then
+		verify(counterAggregator).discard(incrPS, keyValues);
+		verify(context).pushSimpleCounterStatement(bsWrapper);
 	}
 
 	// Clustered counter
+	@Test
+	public void should_aggregate_clustered_counter_increment() throws Exception {
+		// Given
+		CounterAggregator counterAggregator = mock(CounterAggregator.class);
+		daoContext.setCounterAggregator(counterAggregator);
+		PropertyMeta counterMeta = PropertyMetaTestBuilder.valueClass(Long.class).field("count")
+				.consistencyLevels(Pair.create(EACH_QUORUM, EACH_QUORUM)).build();
+		Object[] keyValues = new Object[] { entity.getId() };
+		Object partition = new Object();
+
+		// When
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> fromNullable(null));
+		when(context.getBatchPartition()).thenReturn(partition);
+		clusteredCounterQueryMap.put(CompleteBean.class,
+				ImmutableMap.<CQLQueryType, Map<String, PreparedStatement>> of(INCR, of("count", ps)));
+		when(binder.extractValuesForClusteredCounterBinding(entityMeta, entity.getId())).thenReturn(keyValues);
+
+		daoContext.pushClusteredCounterIncrementStatement(context, entityMeta, counterMeta, 2L);
+
+		// Then
+		verify(counterAggregator).add(ps, keyValues, partition, 2L, EACH_QUORUM);
+		verify(context, never()).pushCounterStatement(any(AbstractStatementWrapper.class));
+	}
+
 	@Test
 	public void should_push_clustered_counter_increment() throws Exception {
 		// Given
@@ -562,6 +736,26 @@ public class DaoContextTest {
 		assertThat(actual).isSameAs(row);
 	}
 
+	@Test
+	public void should_get_clustered_counter_async() throws Exception {
+		// Given
+		ResultSet resultSet = mock(ResultSet.class);
+		Row row = mock(Row.class);
+		clusteredCounterQueryMap.put(CompleteBean.class,
+				ImmutableMap.<CQLQueryType, Map<String, PreparedStatement>> of(SELECT, of(SELECT_ALL.name(), ps)));
+
+		// When
+		when(binder.bindForClusteredCounterSelect(ps, entityMeta, entity.getId(), EACH_QUORUM)).thenReturn(bsWrapper);
+		ResultSetFuture future = ResultSetFutureTestBuilder.completedWith(resultSet);
+		when(context.executeImmediateAsync(bsWrapper)).thenReturn(future);
+		when(resultSet.one()).thenReturn(row);
+
+		// Then
+		ListenableFuture<Row> actual = daoContext.getClusteredCounterAsync(context, EACH_QUORUM);
+
+		assertThat(actual.get()).isSameAs(row);
+	}
+
 	@Test
 	public void should_get_clustered_counter_column() throws Exception {
 		// Given
@@ -669,6 +863,7 @@ public class DaoContextTest {
 		when(session.prepare("query")).thenReturn(ps);
 
 		assertThat(daoContext.prepare(statement)).isSameAs(ps);
+		verify(metrics).recordLatency(isNull(Class.class), eq(STATEMENT_PREPARATION), anyLong());
 	}
 
 	@Test
@@ -681,6 +876,76 @@ public class DaoContextTest {
 		assertThat(daoContext.bindAndExecute(ps, 11L, "a")).isSameAs(rs);
 	}
 
+	@Test
+	public void should_bind_and_execute_query() throws Exception {
+		// Given
+		ResultSet rs = mock(ResultSet.class);
+
+		// When
+		when(cacheManager.getCacheForQuery(session, queryPSCache, "SELECT * FROM table WHERE id=?")).thenReturn(ps);
+		when(ps.bind(11L)).thenReturn(bs);
+		when(bs.preparedStatement()).thenReturn(ps);
+		when(session.execute(bs)).thenReturn(rs);
+
+		ResultSet actual = daoContext.bindAndExecuteQuery("SELECT * FROM table WHERE id=?", 11L);
+
+		// Then
+		assertThat(actual).isSameAs(rs);
+	}
+
+	@Test
+	public void should_execute_query_without_bound_values_as_simple_statement() throws Exception {
+		// Given
+		ResultSet rs = mock(ResultSet.class);
+		when(session.execute(any(SimpleStatement.class))).thenReturn(rs);
+
+		// When
+		ResultSet actual = daoContext.bindAndExecuteQuery("SELECT * FROM table WHERE id=11");
+
+		// Then
+		assertThat(actual).isSameAs(rs);
+		ArgumentCaptor<SimpleStatement> statementCaptor = ArgumentCaptor.forClass(SimpleStatement.class);
+		verify(session).execute(statementCaptor.capture());
+		assertThat(statementCaptor.getValue().getQueryString()).isEqualTo("SELECT * FROM table WHERE id=11");
+		verifyZeroInteractions(cacheManager);
+	}
+
+	@Test
+	public void should_execute_query_without_bound_values_with_fetch_size_as_simple_statement() throws Exception {
+		// Given
+		ResultSet rs = mock(ResultSet.class);
+		when(session.execute(any(SimpleStatement.class))).thenReturn(rs);
+
+		// When
+		ResultSet actual = daoContext.bindAndExecuteQuery("SELECT * FROM table WHERE id=11", new Object[] {}, 10);
+
+		// Then
+		assertThat(actual).isSameAs(rs);
+		ArgumentCaptor<SimpleStatement> statementCaptor = ArgumentCaptor.forClass(SimpleStatement.class);
+		verify(session).execute(statementCaptor.capture());
+		assertThat(statementCaptor.getValue().getFetchSize()).isEqualTo(10);
+		verifyZeroInteractions(cacheManager);
+	}
+
+	@Test
+	public void should_bind_and_execute_query_with_fetch_size() throws Exception {
+		// Given
+		ResultSet rs = mock(ResultSet.class);
+		Object[] boundValues = new Object[] { 11L };
+
+		// When
+		when(cacheManager.getCacheForQuery(session, queryPSCache, "SELECT * FROM table WHERE id=?")).thenReturn(ps);
+		when(ps.bind(boundValues)).thenReturn(bs);
+		when(bs.preparedStatement()).thenReturn(ps);
+		when(session.execute(bs)).thenReturn(rs);
+
+		ResultSet actual = daoContext.bindAndExecuteQuery("SELECT * FROM table WHERE id=?", boundValues, 10);
+
+		// Then
+		assertThat(actual).isSameAs(rs);
+		verify(bs).setFetchSize(10);
+	}
+
 	@Test
 	public void should_execute_batch() throws Exception {
 		// Given
@@ -692,4 +957,50 @@ public class DaoContextTest {
 		// Then
 		verify(session).execute(batch);
 	}
+
+	@Test
+	public void should_execute_query_async() throws Exception {
+		// Given
+		ResultSetFuture future = ResultSetFutureTestBuilder.completedWith(mock(ResultSet.class));
+
+		// When
+		when(bsWrapper.executeAsync(session)).thenReturn(future);
+
+		// Then
+		ResultSetFuture actual = daoContext.executeAsync(bsWrapper);
+
+		assertThat(actual).isSameAs(future);
+		verify(metrics).recordLatency(isNull(Class.class), eq(STATEMENT_EXECUTION), anyLong());
+	}
+
+	@Test
+	public void should_not_record_async_execution_before_completion() throws Exception {
+		// Given
+		SettableFuture<ResultSet> pending = SettableFuture.create();
+		ResultSetFuture future = ResultSetFutureTestBuilder.delegatingTo(pending);
+		when(bsWrapper.executeAsync(session)).thenReturn(future);
+
+		// When
+		daoContext.executeAsync(bsWrapper);
+
+		// Then
+		verify(metrics, never()).recordLatency(isNull(Class.class), eq(STATEMENT_EXECUTION), anyLong());
+		pending.set(mock(ResultSet.class));
+		verify(metrics).recordLatency(isNull(Class.class), eq(STATEMENT_EXECUTION), anyLong());
+	}
+
+	@Test
+	public void should_execute_batch_async() throws Exception {
+		// Given
+		BatchStatement batch = mock(BatchStatement.class);
+		ResultSetFuture future = ResultSetFutureTestBuilder.completedWith(mock(ResultSet.class));
+		when(session.executeAsync(batch)).thenReturn(future);
+
+		// When
+		ResultSetFuture actual = daoContext.executeBatchAsync(batch);
+
+		// Then
+		assertThat(actual).isSameAs(future);
+		verify(metrics).recordLatency(isNull(Class.class), eq(STATEMENT_EXECUTION), anyLong());
+	}
 }
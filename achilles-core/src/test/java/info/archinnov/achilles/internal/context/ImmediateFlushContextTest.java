@@ -16,15 +16,23 @@
 package info.archinnov.achilles.internal.context;
 
 import static info.archinnov.achilles.type.ConsistencyLevel.LOCAL_QUORUM;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.INTERCEPTOR;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.interceptor.Interceptor;
+import info.archinnov.achilles.internal.cache.EntityCache;
 import info.archinnov.achilles.internal.context.AbstractFlushContext.FlushType;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.test.builders.ResultSetFutureTestBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,7 +46,11 @@ import org.powermock.reflect.Whitebox;
 
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ImmediateFlushContextTest {
@@ -60,6 +72,7 @@ public class ImmediateFlushContextTest {
 	@Before
 	public void setUp() {
 		context = new ImmediateFlushContext(daoContext, null);
+		when(daoContext.getAsyncListenerExecutor()).thenReturn(MoreExecutors.sameThreadExecutor());
 	}
 
 	@Test
@@ -97,6 +110,75 @@ public class ImmediateFlushContextTest {
 		verify(daoContext).execute(bsWrapper);
 	}
 
+	@Test
+	public void should_invalidate_cached_entities_after_flush() throws Exception {
+		// Given
+		EntityCache entityCache = mock(EntityCache.class);
+		context.pushCacheInvalidation(entityCache, 10L);
+
+		// When
+		context.flush();
+
+		// Then
+		verify(entityCache).invalidate(10L);
+		assertThat(context.cacheInvalidations).isEmpty();
+	}
+
+	@Test
+	public void should_invalidate_cached_entities_after_async_flush() throws Exception {
+		// Given
+		EntityCache entityCache = mock(EntityCache.class);
+		context.pushCacheInvalidation(entityCache, 10L);
+		List<AbstractStatementWrapper> statementWrappers = new ArrayList<AbstractStatementWrapper>();
+		statementWrappers.add(bsWrapper);
+		Whitebox.setInternalState(context, "statementWrappers", statementWrappers);
+		SettableFuture<ResultSet> future = SettableFuture.create();
+		ResultSetFuture resultSetFuture = ResultSetFutureTestBuilder.delegatingTo(future);
+		when(daoContext.executeAsync(bsWrapper)).thenReturn(resultSetFuture);
+
+		// When
+		context.flushAsync();
+
+		// Then
+		verifyZeroInteractions(entityCache);
+		future.set(mock(ResultSet.class));
+		verify(entityCache).invalidate(10L);
+	}
+
+	@Test
+	public void should_execute_immediate_async() throws Exception {
+		ResultSetFuture future = mock(ResultSetFuture.class);
+		when(daoContext.executeAsync(bsWrapper)).thenReturn(future);
+
+		ResultSetFuture actual = context.executeImmediateAsync(bsWrapper);
+
+		assertThat(actual).isSameAs(future);
+	}
+
+	@Test
+	public void should_flush_async() throws Exception {
+		// Given
+		List<AbstractStatementWrapper> statementWrappers = new ArrayList<AbstractStatementWrapper>();
+		statementWrappers.add(bsWrapper);
+		Whitebox.setInternalState(context, "statementWrappers", statementWrappers);
+		ResultSet resultSet = mock(ResultSet.class);
+		ResultSetFuture future = ResultSetFutureTestBuilder.completedWith(resultSet);
+		when(daoContext.executeAsync(bsWrapper)).thenReturn(future);
+
+		// When
+		ListenableFuture<List<ResultSet>> actual = context.flushAsync();
+
+		// Then
+		assertThat(actual.get()).containsExactly(resultSet, null);
+	}
+
+	@Test
+	public void should_flush_async_with_no_statement() throws Exception {
+		ListenableFuture<List<ResultSet>> actual = context.flushAsync();
+
+		assertThat(actual.get()).containsExactly(null, null);
+	}
+
 	@Test
 	public void should_duplicate() throws Exception {
 		context = new ImmediateFlushContext(daoContext, LOCAL_QUORUM);
@@ -129,4 +211,24 @@ public class ImmediateFlushContextTest {
         verify(meta).intercept(entity,Event.POST_PERSIST);
 
     }
+
+    @Test
+    public void should_record_interceptor_latency_when_entity_has_interceptors() throws Exception {
+        //Given
+        EntityMeta meta = mock(EntityMeta.class);
+        AchillesMetrics metrics = mock(AchillesMetrics.class);
+        Object entity = new Object();
+        List<Interceptor<?>> interceptors = new ArrayList<Interceptor<?>>();
+        interceptors.add(mock(Interceptor.class));
+        when(meta.getInterceptors()).thenReturn(interceptors);
+        when(meta.<Object> getEntityClass()).thenReturn(Object.class);
+        when(daoContext.getMetrics()).thenReturn(metrics);
+
+        //When
+        context.triggerInterceptor(meta,entity, Event.PRE_PERSIST);
+
+        //Then
+        verify(meta).intercept(entity,Event.PRE_PERSIST);
+        verify(metrics).recordLatency(eq(Object.class), eq(INTERCEPTOR), anyLong());
+    }
 }
@@ -15,6 +15,8 @@
  */
 package info.archinnov.achilles.internal.context;
 
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_PROPERTY_NAME;
+import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_TABLE;
 import static info.archinnov.achilles.counter.AchillesCounter.CQL_COUNTER_VALUE;
 import static info.archinnov.achilles.interceptor.Event.POST_LOAD;
 import static info.archinnov.achilles.interceptor.Event.POST_PERSIST;
@@ -23,14 +25,19 @@ import static info.archinnov.achilles.interceptor.Event.POST_UPDATE;
 import static info.archinnov.achilles.interceptor.Event.PRE_PERSIST;
 import static info.archinnov.achilles.interceptor.Event.PRE_REMOVE;
 import static info.archinnov.achilles.interceptor.Event.PRE_UPDATE;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.PERSIST;
 import static info.archinnov.achilles.type.ConsistencyLevel.LOCAL_QUORUM;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import info.archinnov.achilles.internal.cache.EntityCache;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.EntityInitializer;
@@ -41,14 +48,20 @@ import info.archinnov.achilles.internal.persistence.operations.EntityRefresher;
 import info.archinnov.achilles.internal.persistence.operations.EntityUpdater;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+import info.archinnov.achilles.metrics.AchillesMetrics;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.OptionsBuilder;
+import info.archinnov.achilles.type.Pair;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.Executor;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -62,7 +75,11 @@ import org.powermock.reflect.Whitebox;
 
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PersistenceContextTest {
@@ -105,6 +122,9 @@ public class PersistenceContextTest {
 	@Mock(answer = Answers.RETURNS_DEEP_STUBS)
 	private PropertyMeta idMeta;
 
+	@Mock
+	private AchillesMetrics metrics;
+
 	private Long primaryKey = new Random().nextLong();
 
 	private CompleteBean entity = CompleteBeanTestBuilder.builder().id(primaryKey).buid();
@@ -114,6 +134,8 @@ public class PersistenceContextTest {
 		when(meta.getIdMeta()).thenReturn(idMeta);
 		when(meta.<CompleteBean> getEntityClass()).thenReturn(CompleteBean.class);
         when(configurationContext.getDefaultWriteConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+        when(configurationContext.getMetrics()).thenReturn(metrics);
+        when(daoContext.getAsyncListenerExecutor()).thenReturn(MoreExecutors.sameThreadExecutor());
 
 		context = new PersistenceContext(meta, configurationContext, daoContext, flushContext, CompleteBean.class,
 				primaryKey, OptionsBuilder.noOptions());
@@ -268,6 +290,33 @@ public class PersistenceContextTest {
 		assertThat(counterValue).isEqualTo(11L);
 	}
 
+	@Test
+	public void should_get_simple_counters() throws Exception {
+		Row countRow = mock(Row.class);
+		Row versionRow = mock(Row.class);
+		when(daoContext.getSimpleCounters(context, LOCAL_QUORUM)).thenReturn(Arrays.asList(countRow, versionRow));
+		when(countRow.getString(CQL_COUNTER_PROPERTY_NAME)).thenReturn("count");
+		when(countRow.getLong(CQL_COUNTER_VALUE)).thenReturn(11L);
+		when(versionRow.getString(CQL_COUNTER_PROPERTY_NAME)).thenReturn("version");
+		when(versionRow.getLong(CQL_COUNTER_VALUE)).thenReturn(2L);
+
+		Map<String, Long> counterValues = context.getSimpleCounters(LOCAL_QUORUM);
+
+		assertThat(counterValues).hasSize(2);
+		assertThat(counterValues.get("count")).isEqualTo(11L);
+		assertThat(counterValues.get("version")).isEqualTo(2L);
+	}
+
+	@Test
+	public void should_encode_primary_key_for_counter_only_once() throws Exception {
+		when(idMeta.forceEncodeToJSON(primaryKey)).thenReturn("11");
+
+		assertThat(context.getEncodedPrimaryKeyForCounter()).isEqualTo("11");
+		assertThat(context.getEncodedPrimaryKeyForCounter()).isEqualTo("11");
+
+		verify(idMeta, times(1)).forceEncodeToJSON(primaryKey);
+	}
+
 	@Test
 	public void should_return_null_when_no_simple_counter_value() throws Exception {
 		PropertyMeta counterMeta = new PropertyMeta();
@@ -283,7 +332,7 @@ public class PersistenceContextTest {
 
 		context.bindForSimpleCounterRemoval(counterMeta);
 
-		verify(daoContext).bindForSimpleCounterDelete(context, meta, counterMeta, entity.getId());
+		verify(daoContext).bindForSimpleCounterDelete(context, meta, counterMeta);
 	}
 
 	// Clustered counter
@@ -328,21 +377,48 @@ public class PersistenceContextTest {
 	@Test
 	public void should_push_statement_wrapper() throws Exception {
 		BoundStatementWrapper bsWrapper = mock(BoundStatementWrapper.class);
+		when(meta.getTableName()).thenReturn("table");
 
 		context.pushStatement(bsWrapper);
 
-		verify(flushContext).pushStatement(bsWrapper);
+		verify(flushContext).pushStatement(Pair.create("table", primaryKey), bsWrapper);
 	}
 
     @Test
     public void should_push_counter_statement_wrapper() throws Exception {
         BoundStatementWrapper bsWrapper = mock(BoundStatementWrapper.class);
+        when(meta.getTableName()).thenReturn("table");
 
         context.pushCounterStatement(bsWrapper);
 
-        verify(flushContext).pushCounterStatement(bsWrapper);
+        verify(flushContext).pushCounterStatement(Pair.create("table", primaryKey), bsWrapper);
     }
 
+	@Test
+	public void should_push_simple_counter_statement_with_counter_table_partition() throws Exception {
+		BoundStatementWrapper bsWrapper = mock(BoundStatementWrapper.class);
+		when(meta.getTableName()).thenReturn("table");
+		when(meta.getClassName()).thenReturn("fqcn");
+		when(idMeta.forceEncodeToJSON(primaryKey)).thenReturn("11");
+
+		context.pushSimpleCounterStatement(bsWrapper);
+
+		verify(flushContext).pushCounterStatement(
+				Pair.<String, Object> create(CQL_COUNTER_TABLE, Arrays.asList("fqcn", "11")), bsWrapper);
+	}
+
+	@Test
+	public void should_push_statement_with_partition_key_of_compound_primary_key() throws Exception {
+		BoundStatementWrapper bsWrapper = mock(BoundStatementWrapper.class);
+		when(meta.getTableName()).thenReturn("table");
+		when(meta.hasEmbeddedId()).thenReturn(true);
+		when(meta.getPartitionKey(primaryKey)).thenReturn(10L);
+
+		context.pushStatement(bsWrapper);
+
+		verify(flushContext).pushStatement(Pair.<String, Object> create("table", 10L), bsWrapper);
+	}
+
 	@Test
 	public void should_execute_immediate() throws Exception {
 		// Given
@@ -377,6 +453,7 @@ public class PersistenceContextTest {
         inOrder.verify(persister).persist(context);
         inOrder.verify(flushContext).flush();
         inOrder.verify(flushContext).triggerInterceptor(meta, entity, POST_PERSIST);
+        verify(metrics).recordLatency(eq(CompleteBean.class), eq(PERSIST), anyLong());
 	}
 
 	@Test
@@ -419,7 +496,7 @@ public class PersistenceContextTest {
 	public void should_find() throws Exception {
         //Given
 		when(loader.load(context, CompleteBean.class)).thenReturn(entity);
-		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context)).thenReturn(entity);
+		when(proxifier.buildProxyWithEagerFieldsLoaded(entity, context)).thenReturn(entity);
 
         //When
 		CompleteBean found = context.find(CompleteBean.class);
@@ -429,6 +506,27 @@ public class PersistenceContextTest {
         verify(flushContext).triggerInterceptor(meta, entity, POST_LOAD);
     }
 
+	@Test
+	public void should_find_with_only_given_properties_loaded() throws Exception {
+		// Given
+		PropertyMeta nameMeta = mock(PropertyMeta.class);
+		when(nameMeta.getOrdinal()).thenReturn(3);
+		when(meta.getIdMeta().getOrdinal()).thenReturn(0);
+		List<PropertyMeta> pms = Arrays.asList(nameMeta);
+		when(loader.load(context, CompleteBean.class, pms)).thenReturn(entity);
+		BitSet loadedFlags = new BitSet();
+		loadedFlags.set(0);
+		loadedFlags.set(3);
+		when(proxifier.buildProxy(entity, context, loadedFlags)).thenReturn(entity);
+
+		// When
+		CompleteBean found = context.find(CompleteBean.class, pms);
+
+		// Then
+		assertThat(found).isSameAs(entity);
+		verify(flushContext).triggerInterceptor(meta, entity, POST_LOAD);
+	}
+
 	@Test
 	public void should_return_null_when_not_found() throws Exception {
 		when(loader.load(context, CompleteBean.class)).thenReturn(null);
@@ -439,8 +537,153 @@ public class PersistenceContextTest {
 		verifyZeroInteractions(proxifier);
 	}
 
+	@Test
+	public void should_persist_async() throws Exception {
+		// Given
+		Object entity = new Object();
+		context.entity = entity;
+		when(flushContext.flushAsync()).thenReturn(Futures.immediateFuture(Arrays.<ResultSet> asList()));
+		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context)).thenReturn(entity);
+
+		// When
+		ListenableFuture<Object> actual = context.persistAsync(entity);
+
+		// Then
+		assertThat(actual.get()).isSameAs(entity);
+
+		InOrder inOrder = Mockito.inOrder(flushContext, persister);
+
+		inOrder.verify(flushContext).triggerInterceptor(meta, entity, PRE_PERSIST);
+		inOrder.verify(persister).persist(context);
+		inOrder.verify(flushContext).flushAsync();
+		inOrder.verify(flushContext).triggerInterceptor(meta, entity, POST_PERSIST);
+	}
+
+	@Test
+	public void should_insert_async_without_proxy() throws Exception {
+		// Given
+		Object entity = new Object();
+		context.entity = entity;
+		when(flushContext.flushAsync()).thenReturn(Futures.immediateFuture(Arrays.<ResultSet> asList()));
+
+		// When
+		context.insertAsync(entity).get();
+
+		// Then
+		InOrder inOrder = Mockito.inOrder(flushContext, persister);
+
+		inOrder.verify(flushContext).triggerInterceptor(meta, entity, PRE_PERSIST);
+		inOrder.verify(persister).persist(context);
+		inOrder.verify(flushContext).flushAsync();
+		inOrder.verify(flushContext).triggerInterceptor(meta, entity, POST_PERSIST);
+		verifyZeroInteractions(proxifier);
+	}
+
+	@Test
+	public void should_run_async_continuation_on_configured_executor() throws Exception {
+		// Given
+		Object entity = new Object();
+		context.entity = entity;
+		final List<Runnable> submitted = new ArrayList<>();
+		Executor executor = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				submitted.add(command);
+			}
+		};
+		when(daoContext.getAsyncListenerExecutor()).thenReturn(executor);
+		when(flushContext.flushAsync()).thenReturn(Futures.immediateFuture(Arrays.<ResultSet> asList()));
+		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context)).thenReturn(entity);
+
+		// When
+		ListenableFuture<Object> actual = context.persistAsync(entity);
+
+		// Then
+		assertThat(actual.isDone()).isFalse();
+		verify(flushContext, never()).triggerInterceptor(meta, entity, POST_PERSIST);
+
+		submitted.get(0).run();
+
+		assertThat(actual.get()).isSameAs(entity);
+		verify(flushContext).triggerInterceptor(meta, entity, POST_PERSIST);
+	}
+
+	@Test
+	public void should_update_async() throws Exception {
+		// Given
+		final CompleteBean rawEntity = new CompleteBean();
+		context.entity = rawEntity;
+		when(flushContext.flushAsync()).thenReturn(Futures.immediateFuture(Arrays.<ResultSet> asList()));
+
+		// When
+		context.updateAsync(entity).get();
+
+		// Then
+		InOrder inOrder = Mockito.inOrder(flushContext, updater);
+
+		inOrder.verify(flushContext).triggerInterceptor(meta, rawEntity, PRE_UPDATE);
+		inOrder.verify(updater).update(context, entity);
+		inOrder.verify(flushContext).flushAsync();
+		inOrder.verify(flushContext).triggerInterceptor(meta, rawEntity, POST_UPDATE);
+	}
+
+	@Test
+	public void should_remove_async() throws Exception {
+		// Given
+		Object entity = new Object();
+		context.entity = entity;
+		when(flushContext.flushAsync()).thenReturn(Futures.immediateFuture(Arrays.<ResultSet> asList()));
+
+		// When
+		context.removeAsync().get();
+
+		// Then
+		InOrder inOrder = Mockito.inOrder(flushContext, persister);
+
+		inOrder.verify(flushContext).triggerInterceptor(meta, entity, PRE_REMOVE);
+		inOrder.verify(persister).remove(context);
+		inOrder.verify(flushContext).flushAsync();
+		inOrder.verify(flushContext).triggerInterceptor(meta, entity, POST_REMOVE);
+	}
+
+	@Test
+	public void should_find_async() throws Exception {
+		// Given
+		when(loader.loadAsync(context, CompleteBean.class)).thenReturn(Futures.immediateFuture(entity));
+		when(proxifier.buildProxyWithEagerFieldsLoaded(entity, context)).thenReturn(entity);
+
+		// When
+		CompleteBean found = context.findAsync(CompleteBean.class).get();
+
+		// Then
+		assertThat(found).isSameAs(entity);
+		verify(flushContext).triggerInterceptor(meta, entity, POST_LOAD);
+	}
+
+	@Test
+	public void should_return_null_when_not_found_async() throws Exception {
+		when(loader.loadAsync(context, CompleteBean.class)).thenReturn(Futures.<CompleteBean> immediateFuture(null));
+
+		CompleteBean found = context.findAsync(CompleteBean.class).get();
+
+		assertThat(found).isNull();
+		verifyZeroInteractions(proxifier);
+	}
+
+	@Test
+	public void should_execute_immediate_async() throws Exception {
+		BoundStatementWrapper bsWrapper = mock(BoundStatementWrapper.class);
+		ResultSetFuture future = mock(ResultSetFuture.class);
+		when(flushContext.executeImmediateAsync(bsWrapper)).thenReturn(future);
+
+		ResultSetFuture actual = context.executeImmediateAsync(bsWrapper);
+
+		assertThat(actual).isSameAs(future);
+	}
+
 	@Test
 	public void should_get_proxy() throws Exception {
+		when(meta.getEntityCache()).thenReturn(null);
 		when(loader.createEmptyEntity(context, CompleteBean.class)).thenReturn(entity);
 		when(proxifier.buildProxyWithNoFieldLoaded(entity, context)).thenReturn(entity);
 
@@ -449,6 +692,54 @@ public class PersistenceContextTest {
 		assertThat(found).isSameAs(entity);
 	}
 
+	@Test
+	public void should_get_loaded_proxy_from_cache() throws Exception {
+		// Given
+		EntityCache entityCache = mock(EntityCache.class);
+		CompleteBean cached = new CompleteBean();
+		when(meta.getEntityCache()).thenReturn(entityCache);
+		when(entityCache.<CompleteBean> get(primaryKey)).thenReturn(cached);
+		when(proxifier.buildProxyWithEagerFieldsLoaded(cached, context)).thenReturn(cached);
+
+		// When
+		CompleteBean found = context.getProxy(CompleteBean.class);
+
+		// Then
+		assertThat(found).isSameAs(cached);
+		verifyZeroInteractions(loader);
+	}
+
+	@Test
+	public void should_push_cache_invalidation() throws Exception {
+		// Given
+		EntityCache entityCache = mock(EntityCache.class);
+		when(meta.getEntityCache()).thenReturn(entityCache);
+
+		// When
+		context.pushCacheInvalidation();
+
+		// Then
+		verify(entityCache).invalidate(primaryKey);
+		verify(flushContext).pushCacheInvalidation(entityCache, primaryKey);
+	}
+
+	@Test
+	public void should_not_get_proxy_from_cache_when_read_level_is_explicit() throws Exception {
+		// Given
+		EntityCache entityCache = mock(EntityCache.class);
+		Whitebox.setInternalState(context, "options", OptionsBuilder.withConsistency(ConsistencyLevel.QUORUM));
+		when(meta.getEntityCache()).thenReturn(entityCache);
+		when(loader.createEmptyEntity(context, CompleteBean.class)).thenReturn(entity);
+		when(proxifier.buildProxyWithNoFieldLoaded(entity, context)).thenReturn(entity);
+
+		// When
+		CompleteBean found = context.getProxy(CompleteBean.class);
+
+		// Then
+		assertThat(found).isSameAs(entity);
+		verifyZeroInteractions(entityCache);
+	}
+
 	@Test
 	public void should_refresh() throws Exception {
 		context.refresh(entity);
@@ -463,4 +754,15 @@ public class PersistenceContextTest {
 
 		verify(initializer).initializeEntity(entity, meta);
 	}
+
+	@Test
+	public void should_initialize_given_properties() throws Exception {
+		List<PropertyMeta> pms = Arrays.asList(new PropertyMeta());
+
+		CompleteBean actual = context.initialize(entity, pms);
+
+		assertThat(actual).isSameAs(entity);
+
+		verify(initializer).initializeEntity(entity, pms);
+	}
 }
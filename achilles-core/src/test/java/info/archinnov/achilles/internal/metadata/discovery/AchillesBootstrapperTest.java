@@ -21,8 +21,11 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import info.archinnov.achilles.exception.AchillesBeanMappingException;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
@@ -33,8 +36,11 @@ import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.parsing.EntityParser;
 import info.archinnov.achilles.internal.metadata.parsing.context.EntityParsingContext;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.metrics.NoOpMetrics;
 import info.archinnov.achilles.test.more.entity.Entity3;
 import info.archinnov.achilles.test.parser.entity.BeanWithFieldLevelConstraint;
+import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
 import info.archinnov.achilles.test.parser.entity.UserBean;
 import info.archinnov.achilles.test.sample.entity.Entity1;
 import info.archinnov.achilles.test.sample.entity.Entity2;
@@ -42,9 +48,12 @@ import info.archinnov.achilles.test.sample.entity.Entity2;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
@@ -55,12 +64,19 @@ import org.powermock.reflect.Whitebox;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.TableMetadata;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 
 @RunWith(MockitoJUnitRunner.class)
 public class AchillesBootstrapperTest {
 
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
 	private AchillesBootstrapper bootstrapper = new AchillesBootstrapper();
 
+	private ListeningExecutorService executor = MoreExecutors.sameThreadExecutor();
+
 	@Mock
 	private EntityParser parser;
 
@@ -111,6 +127,100 @@ public class AchillesBootstrapperTest {
 		assertThat(entities).contains(Entity3.class);
 	}
 
+	@Test
+	public void should_find_entities_from_index() throws Exception {
+		List<Class<?>> entities = bootstrapper.discoverEntitiesFromIndex("achilles/entity-index");
+
+		assertThat(entities).containsExactly(Entity1.class, Entity3.class);
+	}
+
+	@Test
+	public void should_exception_when_entity_index_not_found() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("The entity index 'achilles/missing-index' cannot be found in the classpath");
+
+		bootstrapper.discoverEntitiesFromIndex("achilles/missing-index");
+	}
+
+	@Test
+	public void should_exception_when_entity_index_lists_unknown_class() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot load the class 'info.archinnov.achilles.test.UnknownEntity' "
+				+ "listed in the entity index 'achilles/unknown-entity-index'");
+
+		bootstrapper.discoverEntitiesFromIndex("achilles/unknown-entity-index");
+	}
+
+	@Test
+	public void should_exception_when_entity_index_lists_non_entity_class() throws Exception {
+		exception.expect(AchillesBeanMappingException.class);
+		exception.expectMessage("The class '" + EmbeddedKey.class.getCanonicalName()
+				+ "' should be annotated with @Entity");
+
+		bootstrapper.discoverEntitiesFromIndex("achilles/non-entity-index");
+	}
+
+	@Test
+	public void should_validate_entity_classes() throws Exception {
+		List<Class<?>> entities = Arrays.<Class<?>> asList(Entity1.class, Entity2.class);
+
+		assertThat(bootstrapper.validateEntities(entities)).isSameAs(entities);
+	}
+
+	@Test
+	public void should_exception_when_entity_class_not_annotated() throws Exception {
+		exception.expect(AchillesBeanMappingException.class);
+		exception.expectMessage("The class '" + EmbeddedKey.class.getCanonicalName()
+				+ "' should be annotated with @Entity");
+
+		bootstrapper.validateEntities(Arrays.<Class<?>> asList(Entity1.class, EmbeddedKey.class));
+	}
+
+	@Test
+	public void should_build_meta_datas_concurrently() throws Exception {
+		// Given
+		List<Class<?>> entities = Arrays.<Class<?>> asList(Entity1.class, Entity2.class, Entity3.class);
+		ListeningExecutorService pool = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(3));
+		EntityMeta meta2 = mock(EntityMeta.class);
+		EntityMeta meta3 = mock(EntityMeta.class);
+
+		// When
+		when(parser.parseEntity(any(EntityParsingContext.class))).thenReturn(meta, meta2, meta3);
+
+		ParsingResult parsingResult;
+		try {
+			parsingResult = bootstrapper.buildMetaDatas(configContext, entities, pool);
+		} finally {
+			pool.shutdownNow();
+		}
+
+		// Then
+		assertThat(parsingResult.getMetaMap()).hasSize(3);
+		assertThat(parsingResult.getMetaMap().values()).containsOnly(meta, meta2, meta3);
+		verify(parser, times(3)).parseEntity(contextCaptor.capture());
+		assertThat(contextCaptor.getAllValues()).hasSize(3);
+	}
+
+	@Test
+	public void should_rethrow_parsing_exception() throws Exception {
+		// Given
+		List<Class<?>> entities = Arrays.<Class<?>> asList(Entity1.class);
+		AchillesBeanMappingException parsingException = new AchillesBeanMappingException("bad mapping");
+
+		// When
+		when(parser.parseEntity(any(EntityParsingContext.class))).thenThrow(parsingException);
+
+		exception.expect(AchillesBeanMappingException.class);
+		exception.expectMessage("bad mapping");
+
+		ListeningExecutorService pool = MoreExecutors.listeningDecorator(Executors.newSingleThreadExecutor());
+		try {
+			bootstrapper.buildMetaDatas(configContext, entities, pool);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
 	@Test
 	public void should_build_meta_data_without_bean_validation() throws Exception {
 		// Given
@@ -120,7 +230,7 @@ public class AchillesBootstrapperTest {
 		when(parser.parseEntity(any(EntityParsingContext.class))).thenReturn(meta);
 		when(configContext.isClassConstrained(UserBean.class)).thenReturn(false);
 
-		ParsingResult parsingResult = bootstrapper.buildMetaDatas(configContext, entities);
+		ParsingResult parsingResult = bootstrapper.buildMetaDatas(configContext, entities, executor);
 
 		assertThat(parsingResult.getMetaMap().get(UserBean.class)).isSameAs(meta);
 		assertThat(parsingResult.isHasSimpleCounter()).isFalse();
@@ -135,7 +245,7 @@ public class AchillesBootstrapperTest {
 		when(configContext.isClassConstrained(BeanWithFieldLevelConstraint.class)).thenReturn(true);
 
 		// When
-		ParsingResult parsingResult = bootstrapper.buildMetaDatas(configContext, entities);
+		ParsingResult parsingResult = bootstrapper.buildMetaDatas(configContext, entities, executor);
 
 		// Then
 		assertThat(parsingResult.getMetaMap().get(BeanWithFieldLevelConstraint.class)).isSameAs(meta);
@@ -220,11 +330,12 @@ public class AchillesBootstrapperTest {
 		// Given
 		Map<Class<?>, EntityMeta> entityMetaMap = ImmutableMap.<Class<?>, EntityMeta> of();
 		DaoContext daoContext = mock(DaoContext.class);
+		AchillesMetrics metrics = new NoOpMetrics();
 
 		// When
-		when(factory.build(session, entityMetaMap, true)).thenReturn(daoContext);
+		when(factory.build(session, entityMetaMap, true, metrics, executor)).thenReturn(daoContext);
 
-		DaoContext actual = bootstrapper.buildDaoContext(session, entityMetaMap, true);
+		DaoContext actual = bootstrapper.buildDaoContext(session, entityMetaMap, true, metrics, executor);
 
 		// Then
 		assertThat(actual).isSameAs(daoContext);
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metadata.holder;
+
+import static java.util.Arrays.asList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Row;
+
+public class ColumnIndexPlanTest {
+
+	@Test
+	public void should_compute_column_indexes_with_embedded_id() throws Exception {
+		// Given
+		PropertyMeta idMeta = PropertyMetaTestBuilder.valueClass(EmbeddedKey.class).field("id")
+				.type(PropertyType.EMBEDDED_ID).compNames("userId", "name").compClasses(Long.class, String.class).build();
+		PropertyMeta ageMeta = PropertyMetaTestBuilder.valueClass(Long.class).field("age")
+				.type(PropertyType.SIMPLE).build();
+		PropertyMeta labelMeta = PropertyMetaTestBuilder.valueClass(String.class).field("label")
+				.type(PropertyType.SIMPLE).build();
+
+		// When
+		ColumnIndexPlan plan = new ColumnIndexPlan(asList(idMeta, ageMeta, labelMeta));
+
+		// Then
+		assertThat(plan.size()).isEqualTo(3);
+		assertThat(plan.getPropertyMeta(1)).isSameAs(ageMeta);
+		assertThat(plan.getColumnIndex(0)).isEqualTo(0);
+		assertThat(plan.getColumnIndex(1)).isEqualTo(2);
+		assertThat(plan.getColumnIndex(2)).isEqualTo(3);
+		assertThat(plan.getColumnCount()).isEqualTo(4);
+	}
+
+	@Test
+	public void should_match_row_with_expected_columns_once_per_column_definitions() throws Exception {
+		// Given
+		PropertyMeta idMeta = PropertyMetaTestBuilder.valueClass(EmbeddedKey.class).field("id")
+				.type(PropertyType.EMBEDDED_ID).compNames("userId", "name").compClasses(Long.class, String.class).build();
+		PropertyMeta ageMeta = PropertyMetaTestBuilder.valueClass(Long.class).field("age")
+				.type(PropertyType.SIMPLE).build();
+		ColumnIndexPlan plan = new ColumnIndexPlan(asList(idMeta, ageMeta));
+		ColumnDefinitions columnDefinitions = columnDefinitions("userid", "name", "age");
+		Row row1 = row(columnDefinitions);
+		Row row2 = row(columnDefinitions);
+
+		// When
+		boolean firstMatch = plan.matches(row1);
+		boolean secondMatch = plan.matches(row2);
+
+		// Then
+		assertThat(firstMatch).isTrue();
+		assertThat(secondMatch).isTrue();
+		verify(columnDefinitions, times(1)).getName(2);
+	}
+
+	@Test
+	public void should_not_match_row_with_other_column_names() throws Exception {
+		// Given
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.valueClass(String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+		ColumnIndexPlan plan = new ColumnIndexPlan(asList(nameMeta));
+
+		// When
+		Row row = row(columnDefinitions("label"));
+
+		// Then
+		assertThat(plan.matches(row)).isFalse();
+	}
+
+	@Test
+	public void should_not_match_row_with_other_column_count() throws Exception {
+		// Given
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.valueClass(String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+		ColumnIndexPlan plan = new ColumnIndexPlan(asList(nameMeta));
+
+		// When
+		Row row = row(columnDefinitions("name", "label"));
+
+		// Then
+		assertThat(plan.matches(row)).isFalse();
+	}
+
+	private ColumnDefinitions columnDefinitions(String... names) {
+		ColumnDefinitions columnDefinitions = mock(ColumnDefinitions.class);
+		when(columnDefinitions.size()).thenReturn(names.length);
+		for (int i = 0; i < names.length; i++) {
+			when(columnDefinitions.getName(i)).thenReturn(names[i]);
+		}
+		return columnDefinitions;
+	}
+
+	private Row row(ColumnDefinitions columnDefinitions) {
+		Row row = mock(Row.class);
+		when(row.getColumnDefinitions()).thenReturn(columnDefinitions);
+		return row;
+	}
+}
@@ -31,6 +31,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -148,4 +149,38 @@ public class EntityMetaBuilderTest {
 		assertThat(meta.isClusteredCounter()).isTrue();
 	}
 
+
+	@Test
+	public void should_build_ordinals_and_fetch_groups() throws Exception {
+		// Given
+		Map<String, PropertyMeta> propertyMetas = new LinkedHashMap<>();
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(SIMPLE).build();
+		PropertyMeta labelMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("label")
+				.type(SIMPLE).build();
+		PropertyMeta ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("age")
+				.type(SIMPLE).build();
+		PropertyMeta counterMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("count")
+				.type(COUNTER).build();
+		nameMeta.setLazy(true);
+		nameMeta.setFetchGroup("details");
+		labelMeta.setLazy(true);
+		labelMeta.setFetchGroup("details");
+		propertyMetas.put("name", nameMeta);
+		propertyMetas.put("age", ageMeta);
+		propertyMetas.put("label", labelMeta);
+		propertyMetas.put("count", counterMeta);
+
+		when(idMeta.<Long> getValueClass()).thenReturn(Long.class);
+
+		// When
+		EntityMeta meta = entityMetaBuilder(idMeta).className("Bean").propertyMetas(propertyMetas)
+				.columnFamilyName("toto").build();
+
+		// Then
+		assertThat(meta.getOrdinalsExceptCounters().toString()).isEqualTo("{0, 1, 2}");
+		assertThat(meta.getOrdinalsToLoad().toString()).isEqualTo("{1}");
+		assertThat(meta.getFetchGroup("details")).containsExactly(nameMeta, labelMeta);
+		assertThat(meta.getFetchGroup("unknown")).isEmpty();
+	}
 }
@@ -87,6 +87,43 @@ public class EntityMetaTest {
 		assertThat(entityMeta.getAllMetas()).containsExactly(pm1, pm2);
 	}
 
+	@Test
+	public void should_exclude_lazy_properties_from_columns_to_load() throws Exception {
+		PropertyMeta idMeta = PropertyMetaTestBuilder.valueClass(Long.class).type(PropertyType.ID).build();
+		idMeta.setOrdinal(0);
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.valueClass(String.class).type(SIMPLE).build();
+		nameMeta.setOrdinal(1);
+		PropertyMeta labelMeta = PropertyMetaTestBuilder.valueClass(String.class).type(SIMPLE).build();
+		labelMeta.setOrdinal(2);
+		labelMeta.setLazy(true);
+
+		EntityMeta entityMeta = new EntityMeta();
+		entityMeta.setClusteredCounter(false);
+		entityMeta.setAllMetasExceptCounters(Arrays.asList(idMeta, nameMeta, labelMeta));
+		entityMeta.setAllMetasExceptIdAndCounters(Arrays.asList(nameMeta, labelMeta));
+
+		assertThat(entityMeta.getColumnsMetaToLoad()).containsExactly(idMeta, nameMeta);
+		assertThat(entityMeta.getColumnsMetaToSelect()).containsExactly(nameMeta);
+		assertThat(entityMeta.getColumnsMetaToInsert()).containsExactly(nameMeta, labelMeta);
+	}
+
+	@Test
+	public void should_get_lower_case_property_metas() throws Exception {
+		PropertyMeta pm = new PropertyMeta();
+
+		Map<String, PropertyMeta> propertyMetas = new HashMap<String, PropertyMeta>();
+		propertyMetas.put("firstName", pm);
+
+		EntityMeta entityMeta = new EntityMeta();
+		entityMeta.setPropertyMetas(propertyMetas);
+
+		Map<String, PropertyMeta> actual = entityMeta.getLowerCasePropertyMetas();
+
+		assertThat(actual).hasSize(1);
+		assertThat(actual.get("firstname")).isSameAs(pm);
+		assertThat(entityMeta.getLowerCasePropertyMetas()).isSameAs(actual);
+	}
+
 	@Test
 	public void should_return_false_for_is_clustered_counter_if_not_clustered() throws Exception {
 		EntityMeta entityMeta = new EntityMeta();
@@ -202,6 +239,22 @@ public class EntityMetaTest {
 		Assertions.assertThat(bean.getAge()).isEqualTo(35L);
 	}
 
+	@Test
+	public void should_return_lazy_and_counter_metas() throws Exception {
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(SIMPLE).build();
+		PropertyMeta labelMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("label")
+				.type(SIMPLE).build();
+		PropertyMeta counterMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("count")
+				.type(COUNTER).build();
+		labelMeta.setLazy(true);
+
+		EntityMeta entityMeta = new EntityMeta();
+		entityMeta.setAllMetasExceptId(Arrays.asList(nameMeta, labelMeta, counterMeta));
+
+		assertThat(entityMeta.getLazyAndCounterMetas()).containsExactly(labelMeta, counterMeta);
+	}
+
 	private Interceptor<String> createInterceptor(final Event event) {
 		Interceptor<String> interceptor = new Interceptor<String>() {
 
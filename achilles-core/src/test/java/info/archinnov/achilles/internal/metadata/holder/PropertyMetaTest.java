@@ -25,6 +25,7 @@ import static info.archinnov.achilles.type.ConsistencyLevel.QUORUM;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import info.archinnov.achilles.codec.CompactBinaryCodec;
 import info.archinnov.achilles.internal.metadata.transcoding.DataTranscoder;
 import info.archinnov.achilles.internal.metadata.transcoding.SimpleTranscoder;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
@@ -36,6 +37,7 @@ import info.archinnov.achilles.type.Pair;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -88,6 +90,26 @@ public class PropertyMetaTest {
 		assertThat(propertyMeta.counterIdMeta()).isNull();
 	}
 
+	@Test
+	public void should_get_cql_classes_with_codec() throws Exception {
+		PropertyMeta propertyMeta = PropertyMetaTestBuilder.keyValueClass(PropertyType.class, CompleteBean.class)
+				.type(MAP).build();
+		propertyMeta.setCodec(new CompactBinaryCodec());
+
+		assertThat((Class) propertyMeta.getCQLKeyClass()).isEqualTo(PropertyType.class);
+		assertThat((Class) propertyMeta.getCQLValueClass()).isEqualTo(ByteBuffer.class);
+		assertThat((Class) propertyMeta.getValueClassForTableCreation()).isEqualTo(ByteBuffer.class);
+	}
+
+	@Test
+	public void should_get_cql_classes_without_codec() throws Exception {
+		PropertyMeta propertyMeta = PropertyMetaTestBuilder.keyValueClass(Integer.class, CompleteBean.class)
+				.type(MAP).build();
+
+		assertThat((Class) propertyMeta.getCQLKeyClass()).isEqualTo(Integer.class);
+		assertThat((Class) propertyMeta.getCQLValueClass()).isEqualTo(CompleteBean.class);
+	}
+
 	@Test
 	public void should_get_fqcn() throws Exception {
 
@@ -20,6 +20,7 @@ import static info.archinnov.achilles.type.ConsistencyLevel.ANY;
 import static info.archinnov.achilles.type.ConsistencyLevel.LOCAL_QUORUM;
 import static info.archinnov.achilles.type.ConsistencyLevel.ONE;
 import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.annotations.Cached;
 import info.archinnov.achilles.annotations.Column;
 import info.archinnov.achilles.annotations.Consistency;
 import info.archinnov.achilles.annotations.Entity;
@@ -36,6 +37,7 @@ import info.archinnov.achilles.type.Pair;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -46,6 +48,9 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.collect.ImmutableMap;
+
 @RunWith(MockitoJUnitRunner.class)
 public class EntityIntrospectorTest {
 
@@ -362,6 +367,49 @@ public class EntityIntrospectorTest {
 		assertThat(levels.right).isEqualTo(ONE);
 	}
 
+	@Test
+	public void should_find_cache_spec_from_annotation() throws Exception {
+		@Cached(maxSize = 100, expireAfterWriteSeconds = 60)
+		class Test {
+		}
+
+		CacheBuilderSpec spec = introspector.findCacheSpec(Test.class, new HashMap<Class<?>, String>());
+
+		assertThat(spec).isEqualTo(CacheBuilderSpec.parse("maximumSize=100,expireAfterWrite=60s"));
+	}
+
+	@Test
+	public void should_find_configured_cache_spec_over_annotation() throws Exception {
+		@Cached(maxSize = 100)
+		class Test {
+		}
+
+		Map<Class<?>, String> configured = ImmutableMap.<Class<?>, String> of(Test.class, "maximumSize=5");
+		CacheBuilderSpec spec = introspector.findCacheSpec(Test.class, configured);
+
+		assertThat(spec).isEqualTo(CacheBuilderSpec.parse("maximumSize=5"));
+	}
+
+	@Test
+	public void should_find_no_cache_spec_by_default() throws Exception {
+		class Test {
+		}
+
+		assertThat(introspector.findCacheSpec(Test.class, new HashMap<Class<?>, String>())).isNull();
+	}
+
+	@Test
+	public void should_exception_when_cache_max_size_not_positive() throws Exception {
+		@Cached(maxSize = 0)
+		class Test {
+		}
+
+		expectedEx.expect(AchillesBeanMappingException.class);
+		expectedEx.expectMessage("should be strictly positive");
+
+		introspector.findCacheSpec(Test.class, new HashMap<Class<?>, String>());
+	}
+
 	class Bean {
 
 		private String complicatedAttributeName;
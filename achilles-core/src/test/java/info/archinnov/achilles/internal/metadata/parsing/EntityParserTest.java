@@ -44,6 +44,8 @@ import info.archinnov.achilles.type.Counter;
 
 import java.util.Map;
 
+import net.sf.cglib.proxy.Factory;
+
 import org.codehaus.jackson.map.ObjectMapper;
 import org.junit.Before;
 import org.junit.Rule;
@@ -91,6 +93,9 @@ public class EntityParserTest {
 
 		assertThat(meta.getClassName()).isEqualTo("info.archinnov.achilles.test.parser.entity.Bean");
 		assertThat(meta.getTableName()).isEqualTo("Bean");
+		assertThat(meta.getProxyClass()).isNotNull();
+		assertThat(Factory.class.isAssignableFrom(meta.getProxyClass())).isTrue();
+		assertThat((Object) meta.getProxyClass().getSuperclass()).isEqualTo(Bean.class);
 		assertThat(meta.getIdMeta().<Long> getValueClass()).isEqualTo(Long.class);
 		assertThat(meta.getIdMeta().getPropertyName()).isEqualTo("id");
 		assertThat(meta.<Long> getIdClass()).isEqualTo(Long.class);
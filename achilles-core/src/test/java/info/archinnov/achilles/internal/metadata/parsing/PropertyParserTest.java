@@ -20,12 +20,15 @@ import static info.archinnov.achilles.type.ConsistencyLevel.ALL;
 import static info.archinnov.achilles.type.ConsistencyLevel.ANY;
 import static info.archinnov.achilles.type.ConsistencyLevel.ONE;
 import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.annotations.Codec;
 import info.archinnov.achilles.annotations.Column;
 import info.archinnov.achilles.annotations.Consistency;
 import info.archinnov.achilles.annotations.EmbeddedId;
 import info.archinnov.achilles.annotations.Id;
 import info.archinnov.achilles.annotations.Index;
+import info.archinnov.achilles.annotations.Lazy;
 import info.archinnov.achilles.annotations.TimeUUID;
+import info.archinnov.achilles.codec.CompactBinaryCodec;
 import info.archinnov.achilles.exception.AchillesBeanMappingException;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.interceptor.Interceptor;
@@ -37,6 +40,7 @@ import info.archinnov.achilles.internal.metadata.parsing.context.EntityParsingCo
 import info.archinnov.achilles.internal.metadata.parsing.context.PropertyParsingContext;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.test.parser.entity.EmbeddedKey;
+import info.archinnov.achilles.test.parser.entity.UserBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Counter;
 
@@ -264,6 +268,241 @@ public class PropertyParserTest {
 		assertThat(meta.isTimeUUID()).isTrue();
 	}
 
+	@Test
+	public void should_parse_lazy_property() throws Exception {
+
+		@SuppressWarnings("unused")
+		class Test {
+			@Lazy
+			@Column
+			private String payload;
+
+			public String getPayload() {
+				return payload;
+			}
+
+			public void setPayload(String payload) {
+				this.payload = payload;
+			}
+		}
+
+		PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("payload"));
+
+		PropertyMeta meta = parser.parse(context);
+
+		assertThat(meta.isLazy()).isTrue();
+		assertThat(meta.getFetchGroup()).isNull();
+	}
+
+	@Test
+	public void should_parse_lazy_property_with_fetch_group() throws Exception {
+
+		@SuppressWarnings("unused")
+		class Test {
+			@Lazy(fetchGroup = "details")
+			@Column
+			private String payload;
+
+			public String getPayload() {
+				return payload;
+			}
+
+			public void setPayload(String payload) {
+				this.payload = payload;
+			}
+		}
+
+		PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("payload"));
+
+		PropertyMeta meta = parser.parse(context);
+
+		assertThat(meta.isLazy()).isTrue();
+		assertThat(meta.getFetchGroup()).isEqualTo("details");
+	}
+
+	@Test
+	public void should_exception_when_counter_belongs_to_fetch_group() throws Exception {
+
+		@SuppressWarnings("unused")
+		class Test {
+			@Lazy(fetchGroup = "details")
+			@Column
+			private Counter counter;
+
+			public Counter getCounter() {
+				return counter;
+			}
+
+			public void setCounter(Counter counter) {
+				this.counter = counter;
+			}
+		}
+
+		expectedEx.expect(AchillesBeanMappingException.class);
+		expectedEx.expectMessage("The counter field 'counter' from class");
+
+		PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("counter"));
+		parser.parse(context);
+	}
+
+	@Test
+	public void should_exception_when_primary_key_is_lazy() throws Exception {
+
+		@SuppressWarnings("unused")
+		class Test {
+			@Lazy
+			@Id
+			private Long id;
+
+			public Long getId() {
+				return id;
+			}
+
+			public void setId(Long id) {
+				this.id = id;
+			}
+		}
+
+		expectedEx.expect(AchillesBeanMappingException.class);
+		expectedEx.expectMessage("The primary key field 'id' from class 'null' cannot be annotated with @Lazy");
+
+		PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("id"));
+		context.setPrimaryKey(true);
+		parser.parse(context);
+	}
+
+	@Test
+	public void should_parse_property_with_codec() throws Exception {
+
+		@SuppressWarnings("unused")
+		class Test {
+			@Codec
+			@Column
+			private UserBean user;
+
+			public UserBean getUser() {
+				return user;
+			}
+
+			public void setUser(UserBean user) {
+				this.user = user;
+			}
+		}
+
+		PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("user"));
+
+		PropertyMeta meta = parser.parse(context);
+
+		assertThat(meta.getCodec()).isInstanceOf(CompactBinaryCodec.class);
+		assertThat((Class) meta.getCQLValueClass()).isEqualTo(ByteBuffer.class);
+		assertThat((Class) meta.getValueClass()).isEqualTo(UserBean.class);
+	}
+
+	@Test
+	public void should_parse_property_with_default_codec() throws Exception {
+
+		@SuppressWarnings("unused")
+		class Test {
+			@Column
+			private Map<Integer, UserBean> users;
+
+			public Map<Integer, UserBean> getUsers() {
+				return users;
+			}
+
+			public void setUsers(Map<Integer, UserBean> users) {
+				this.users = users;
+			}
+		}
+
+		CompactBinaryCodec codec = new CompactBinaryCodec();
+		configContext.setDefaultCodec(codec);
+		PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("users"));
+
+		PropertyMeta meta = parser.parse(context);
+
+		assertThat(meta.getCodec()).isSameAs(codec);
+		assertThat((Class) meta.getCQLKeyClass()).isEqualTo(Integer.class);
+		assertThat((Class) meta.getCQLValueClass()).isEqualTo(ByteBuffer.class);
+	}
+
+	@Test
+	public void should_not_use_default_codec_for_primary_key() throws Exception {
+
+		@SuppressWarnings("unused")
+		class Test {
+			@Id
+			private Long id;
+
+			public Long getId() {
+				return id;
+			}
+
+			public void setId(Long id) {
+				this.id = id;
+			}
+		}
+
+		configContext.setDefaultCodec(new CompactBinaryCodec());
+		PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("id"));
+		context.setPrimaryKey(true);
+
+		PropertyMeta meta = parser.parse(context);
+
+		assertThat(meta.getCodec()).isNull();
+	}
+
+	@Test
+	public void should_exception_when_primary_key_has_codec() throws Exception {
+
+		@SuppressWarnings("unused")
+		class Test {
+			@Codec
+			@Id
+			private Long id;
+
+			public Long getId() {
+				return id;
+			}
+
+			public void setId(Long id) {
+				this.id = id;
+			}
+		}
+
+		expectedEx.expect(AchillesBeanMappingException.class);
+		expectedEx.expectMessage("The primary key field 'id' from class 'null' cannot be annotated with @Codec");
+
+		PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("id"));
+		context.setPrimaryKey(true);
+		parser.parse(context);
+	}
+
+	@Test
+	public void should_exception_when_counter_has_codec() throws Exception {
+
+		@SuppressWarnings("unused")
+		class Test {
+			@Codec
+			@Column
+			private Counter counter;
+
+			public Counter getCounter() {
+				return counter;
+			}
+
+			public void setCounter(Counter counter) {
+				this.counter = counter;
+			}
+		}
+
+		expectedEx.expect(AchillesBeanMappingException.class);
+		expectedEx.expectMessage("The counter field 'counter' from class 'null' cannot be annotated with @Codec");
+
+		PropertyParsingContext context = newContext(Test.class, Test.class.getDeclaredField("counter"));
+		parser.parse(context);
+	}
+
 	@Test
 	public void should_parse_primitive_property() throws Exception {
 		@SuppressWarnings("unused")
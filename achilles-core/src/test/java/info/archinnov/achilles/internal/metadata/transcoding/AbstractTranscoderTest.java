@@ -20,6 +20,7 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import info.archinnov.achilles.codec.BinaryCodec;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
@@ -67,6 +68,9 @@ public class AbstractTranscoderTest {
 	@Mock
 	private PropertyMeta pm;
 
+	@Mock
+	private BinaryCodec codec;
+
 	@Before
 	public void setUp() {
 		Whitebox.setInternalState(transcoder, ObjectMapper.class, objectMapper);
@@ -127,6 +131,27 @@ public class AbstractTranscoderTest {
 		assertThat(actual).isEqualTo("json_bean");
 	}
 
+	@Test
+	public void should_encode_unsupported_type_with_codec() throws Exception {
+		UserBean bean = new UserBean();
+		Whitebox.setInternalState(transcoder, BinaryCodec.class, codec);
+		when(codec.encode(UserBean.class, bean)).thenReturn(new byte[] { 1, 2 });
+
+		Object actual = transcoder.encodeInternal(UserBean.class, bean);
+
+		assertThat(actual).isEqualTo(ByteBuffer.wrap(new byte[] { 1, 2 }));
+		verifyZeroInteractions(objectMapper);
+	}
+
+	@Test
+	public void should_not_encode_supported_type_with_codec() throws Exception {
+		Whitebox.setInternalState(transcoder, BinaryCodec.class, codec);
+
+		assertThat(transcoder.encodeInternal(String.class, "value")).isEqualTo("value");
+		assertThat(transcoder.encodeInternal(PropertyType.class, SIMPLE)).isEqualTo("SIMPLE");
+		verifyZeroInteractions(codec);
+	}
+
 	@Test
 	public void should_decode_primitive_byte_type() throws Exception {
 		// Given
@@ -188,6 +213,19 @@ public class AbstractTranscoderTest {
 		assertThat(actual).isEqualTo(bean);
 	}
 
+	@Test
+	public void should_decode_unsupported_type_with_codec() throws Exception {
+		UserBean bean = new UserBean();
+		ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 1, 2 });
+		Whitebox.setInternalState(transcoder, BinaryCodec.class, codec);
+		when(codec.decode(UserBean.class, new byte[] { 1, 2 })).thenReturn(bean);
+
+		Object actual = transcoder.decodeInternal(UserBean.class, buffer);
+
+		assertThat(actual).isSameAs(bean);
+		assertThat(buffer.remaining()).isEqualTo(2);
+	}
+
 	@Test
 	public void should_exception_when_unsupported_type_for_decoding_is_not_string() throws Exception {
 		UserBean bean = new UserBean();
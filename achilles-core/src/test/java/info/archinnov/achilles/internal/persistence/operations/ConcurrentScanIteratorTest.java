@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import info.archinnov.achilles.exception.AchillesScanException;
+import info.archinnov.achilles.query.scan.TokenRange;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConcurrentScanIteratorTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Mock
+	private ExecutorService executor;
+
+	private ConcurrentScanIterator<String> iterator;
+
+	@Before
+	public void setUp() {
+		ScanProgress progress = new ScanProgress(Arrays.asList(new TokenRange(BigInteger.ZERO, BigInteger.ONE),
+				new TokenRange(BigInteger.ONE, BigInteger.TEN)), null);
+		iterator = new ConcurrentScanIterator<>(2, 10, progress, executor);
+	}
+
+	@Test
+	public void should_iterate_until_all_ranges_complete() throws Exception {
+		// Given
+		iterator.push("a");
+		iterator.completeRange(0);
+		iterator.push("b");
+		iterator.completeRange(1);
+
+		// When
+		assertThat(iterator.next()).isEqualTo("a");
+		assertThat(iterator.getResumeToken()).isNull();
+		assertThat(iterator.next()).isEqualTo("b");
+
+		// Then
+		assertThat(iterator.getResumeToken()).isEqualTo(BigInteger.ONE);
+		assertThat(iterator.hasNext()).isFalse();
+		assertThat(iterator.getResumeToken()).isEqualTo(BigInteger.TEN);
+		verify(executor).shutdownNow();
+	}
+
+	@Test
+	public void should_refuse_entities_once_closed() throws Exception {
+		// When
+		iterator.close();
+
+		// Then
+		assertThat(iterator.push("a")).isFalse();
+		assertThat(iterator.hasNext()).isFalse();
+		verify(executor).shutdownNow();
+	}
+
+	@Test
+	public void should_exception_with_resume_token_when_range_fails() throws Exception {
+		// Given
+		iterator.completeRange(0);
+		iterator.fail(new IllegalStateException("test"));
+		boolean exceptionRaised = false;
+
+		try {
+			// When
+			iterator.hasNext();
+		} catch (AchillesScanException ex) {
+			// Then
+			assertThat(ex.getResumeToken()).isEqualTo(BigInteger.ONE);
+			assertThat(ex.getCause()).isInstanceOf(IllegalStateException.class);
+			exceptionRaised = true;
+		}
+
+		assertThat(exceptionRaised).isTrue();
+		verify(executor).shutdownNow();
+	}
+
+	@Test
+	public void should_exception_on_remove() throws Exception {
+		exception.expect(UnsupportedOperationException.class);
+
+		iterator.remove();
+	}
+}
@@ -17,8 +17,12 @@
 package info.archinnov.achilles.internal.persistence.operations;
 
 import static info.archinnov.achilles.type.ConsistencyLevel.ONE;
+import static info.archinnov.achilles.type.ConsistencyLevel.QUORUM;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -28,6 +32,7 @@ import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
 import org.junit.Test;
@@ -37,6 +42,9 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import com.datastax.driver.core.Row;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CounterLoaderTest {
@@ -91,6 +99,30 @@ public class CounterLoaderTest {
 		verify(mapper).setCounterToEntity(counterMeta, entity, row);
 	}
 
+	@Test
+	public void should_load_clustered_counters_async() throws Exception {
+		// Given
+		Row row = mock(Row.class);
+
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(context.getPrimaryKey()).thenReturn(primaryKey);
+		when(overrider.getReadLevel(context, meta)).thenReturn(ONE);
+		when(context.getClusteredCounterAsync(ONE)).thenReturn(Futures.immediateFuture(row));
+
+		when(meta.instanciate()).thenReturn(entity);
+		when(meta.getIdMeta()).thenReturn(idMeta);
+
+		when(context.getAllCountersMeta()).thenReturn(Arrays.asList(counterMeta));
+
+		// When
+		ListenableFuture<Object> actual = loader.loadClusteredCountersAsync(context);
+
+		// Then
+		assertThat(actual.get()).isSameAs(entity);
+
+		verify(mapper).setCounterToEntity(counterMeta, entity, row);
+	}
+
 	@Test
 	public void should_not_load_clustered_counters_when_not_found() throws Exception {
 		// Given
@@ -137,4 +169,27 @@ public class CounterLoaderTest {
 		// Then
 		verify(mapper).setCounterToEntity(counterMeta, entity, counterValue);
 	}
+
+	@Test
+	public void should_load_counters_sharing_read_level_in_one_query() throws Exception {
+		// Given
+		PropertyMeta versionMeta = mock(PropertyMeta.class);
+		PropertyMeta quorumCounterMeta = mock(PropertyMeta.class);
+		when(counterMeta.getPropertyName()).thenReturn("count");
+		when(versionMeta.getPropertyName()).thenReturn("version");
+		when(overrider.getReadLevel(context, counterMeta)).thenReturn(ONE);
+		when(overrider.getReadLevel(context, versionMeta)).thenReturn(ONE);
+		when(overrider.getReadLevel(context, quorumCounterMeta)).thenReturn(QUORUM);
+		when(context.getSimpleCounters(ONE)).thenReturn(ImmutableMap.of("count", 11L));
+
+		// When
+		List<PropertyMeta> actual = loader.loadCounters(context, entity, counterMeta,
+				Arrays.asList(counterMeta, versionMeta, quorumCounterMeta));
+
+		// Then
+		assertThat(actual).containsExactly(counterMeta, versionMeta);
+		verify(mapper).setCounterToEntity(counterMeta, entity, 11L);
+		verify(mapper).setCounterToEntity(versionMeta, entity, (Long) null);
+		verify(mapper, never()).setCounterToEntity(eq(quorumCounterMeta), eq(entity), anyLong());
+	}
 }
@@ -13,17 +13,19 @@
  *  See the License for the specific language governing permissions and
  *  limitations under the License.
  */
-
 package info.archinnov.achilles.internal.persistence.operations;
 
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.EntityInterceptor;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
 import java.util.Arrays;
+import java.util.List;
 
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -41,23 +43,45 @@ public class EntityInitializerTest {
 	@InjectMocks
 	private EntityInitializer initializer = new EntityInitializer();
 
+	@Mock
+	private EntityProxifier proxifier;
+
+	@Mock
+	private EntityInterceptor<CompleteBean> interceptor;
+
 	@Mock
 	private EntityMeta meta;
 
 	@Mock
 	private PropertyMeta counterMeta;
 
+	@Mock
+	private PropertyMeta lazyMeta;
+
 	private CompleteBean bean = new CompleteBean();
 
-	@Test
-	public void should_initialize_and_set_counter_value_for_entity() throws Exception {
+	@Before
+	public void setUp() {
+		when(proxifier.getInterceptor(bean)).thenReturn(interceptor);
+	}
 
-		when(meta.getAllCounterMetas()).thenReturn(Arrays.asList(counterMeta));
+	@Test
+	public void should_fetch_lazy_and_counter_properties_of_entity() throws Exception {
+		List<PropertyMeta> pms = Arrays.asList(lazyMeta, counterMeta);
+		when(meta.getLazyAndCounterMetas()).thenReturn(pms);
 
 		initializer.initializeEntity(bean, meta);
 
-		verify(counterMeta).invokeGetter(bean);
+		verify(interceptor).fetch(pms);
+	}
+
+	@Test
+	public void should_fetch_given_properties_of_entity() throws Exception {
+		List<PropertyMeta> pms = Arrays.asList(lazyMeta);
+
+		initializer.initializeEntity(bean, pms);
 
+		verify(interceptor).fetch(pms);
 	}
 
 }
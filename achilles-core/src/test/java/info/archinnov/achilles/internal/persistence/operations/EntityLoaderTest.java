@@ -15,27 +15,45 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.ROW_MAPPING;
+import static info.archinnov.achilles.type.ConsistencyLevel.EACH_QUORUM;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import info.archinnov.achilles.internal.cache.EntityCache;
+import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.metadata.holder.ColumnIndexPlan;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
+import info.archinnov.achilles.metrics.AchillesMetrics;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import com.datastax.driver.core.Row;
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 @RunWith(MockitoJUnitRunner.class)
 public class EntityLoaderTest {
@@ -55,12 +73,18 @@ public class EntityLoaderTest {
 	@Mock
 	private EntityMeta meta;
 
+	@Mock
+	private ColumnIndexPlan columnPlan;
+
 	@Mock
 	private PropertyMeta idMeta;
 
 	@Mock
 	private PropertyMeta pm;
 
+	@Mock
+	private AchillesMetrics metrics;
+
 	private Long primaryKey = new Random().nextLong();
 
 	private CompleteBean entity = new CompleteBean();
@@ -71,12 +95,16 @@ public class EntityLoaderTest {
 		when(context.getEntity()).thenReturn(entity);
 		when(context.getEntityMeta()).thenReturn(meta);
 		when(context.getPrimaryKey()).thenReturn(primaryKey);
+		when(context.getAsyncListenerExecutor()).thenReturn(MoreExecutors.sameThreadExecutor());
 		when(meta.getIdMeta()).thenReturn(idMeta);
+		when(context.getMetrics()).thenReturn(metrics);
+		when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel> absent());
 	}
 
 	@Test
 	public void should_create_empty_entity() throws Exception {
 		when(meta.instanciate()).thenReturn(entity);
+		when(meta.getSelectColumnPlan()).thenReturn(columnPlan);
 
 		CompleteBean actual = loader.createEmptyEntity(context, CompleteBean.class);
 
@@ -92,6 +120,8 @@ public class EntityLoaderTest {
 		when(meta.isClusteredCounter()).thenReturn(false);
 		when(context.loadEntity()).thenReturn(row);
 		when(meta.instanciate()).thenReturn(entity);
+		when(meta.getSelectColumnPlan()).thenReturn(columnPlan);
+		when(meta.<CompleteBean> getEntityClass()).thenReturn(CompleteBean.class);
 
 		// When
 		CompleteBean actual = loader.load(context, CompleteBean.class);
@@ -99,15 +129,175 @@ public class EntityLoaderTest {
 		// Then
 		assertThat(actual).isSameAs(entity);
 
-		verify(mapper).setNonCounterPropertiesToEntity(row, meta, entity);
+		verify(mapper).setNonCounterPropertiesToEntity(row, meta, columnPlan, entity);
+		verify(metrics).recordLatency(eq(CompleteBean.class), eq(ROW_MAPPING), anyLong());
 		verifyZeroInteractions(counterLoader);
 	}
 
+	@Test
+	public void should_load_only_given_properties() throws Exception {
+		// Given
+		Row row = mock(Row.class);
+		List<PropertyMeta> pms = Arrays.asList(pm);
+		when(context.loadProperties(pms)).thenReturn(row);
+		when(meta.instanciate()).thenReturn(entity);
+
+		// When
+		CompleteBean actual = loader.load(context, CompleteBean.class, pms);
+
+		// Then
+		assertThat(actual).isSameAs(entity);
+		verify(idMeta).setValueToField(entity, primaryKey);
+		verify(mapper).setPropertyToEntity(row, pm, entity);
+		verify(metrics).recordLatency(eq(CompleteBean.class), eq(ROW_MAPPING), anyLong());
+	}
+
+	@Test
+	public void should_return_null_when_no_row_for_given_properties() throws Exception {
+		// Given
+		List<PropertyMeta> pms = Arrays.asList(pm);
+		when(context.loadProperties(pms)).thenReturn(null);
+
+		// When
+		CompleteBean actual = loader.load(context, CompleteBean.class, pms);
+
+		// Then
+		assertThat(actual).isNull();
+		verifyZeroInteractions(mapper);
+	}
+
+	@Test
+	public void should_load_detached_entity() throws Exception {
+		// Given
+		Row row = mock(Row.class);
+		DaoContext daoContext = mock(DaoContext.class);
+		when(daoContext.loadEntity(meta, primaryKey, EACH_QUORUM)).thenReturn(row);
+		when(daoContext.getMetrics()).thenReturn(metrics);
+		when(meta.instanciate()).thenReturn(entity);
+		when(meta.getSelectColumnPlan()).thenReturn(columnPlan);
+
+		// When
+		CompleteBean actual = loader.loadDetached(daoContext, meta, primaryKey, EACH_QUORUM);
+
+		// Then
+		assertThat(actual).isSameAs(entity);
+		verify(mapper).setNonCounterPropertiesToEntity(row, meta, columnPlan, entity);
+		verifyZeroInteractions(context);
+	}
+
+	@Test
+	public void should_load_detached_entity_from_cache() throws Exception {
+		// Given
+		DaoContext daoContext = mock(DaoContext.class);
+		EntityCache entityCache = mock(EntityCache.class);
+		when(meta.getEntityCache()).thenReturn(entityCache);
+		when(entityCache.get(primaryKey)).thenReturn(entity);
+
+		// When
+		CompleteBean actual = loader.loadDetached(daoContext, meta, primaryKey, null);
+
+		// Then
+		assertThat(actual).isSameAs(entity);
+		verifyZeroInteractions(daoContext);
+	}
+
+	@Test
+	public void should_load_simple_entity_from_cache() throws Exception {
+		// Given
+		EntityCache entityCache = mock(EntityCache.class);
+		when(meta.getEntityCache()).thenReturn(entityCache);
+		when(entityCache.<CompleteBean> get(primaryKey)).thenReturn(entity);
+
+		// When
+		CompleteBean actual = loader.load(context, CompleteBean.class);
+
+		// Then
+		assertThat(actual).isSameAs(entity);
+		verify(context, never()).loadEntity();
+		verifyZeroInteractions(mapper);
+	}
+
+	@Test
+	public void should_put_loaded_entity_in_cache_on_miss() throws Exception {
+		// Given
+		Row row = mock(Row.class);
+		EntityCache entityCache = mock(EntityCache.class);
+		when(meta.getEntityCache()).thenReturn(entityCache);
+		when(context.loadEntity()).thenReturn(row);
+		when(meta.instanciate()).thenReturn(entity);
+		when(meta.getSelectColumnPlan()).thenReturn(columnPlan);
+
+		// When
+		CompleteBean actual = loader.load(context, CompleteBean.class);
+
+		// Then
+		assertThat(actual).isSameAs(entity);
+		verify(entityCache).put(primaryKey, entity, 0L);
+	}
+
+	@Test
+	public void should_take_cache_generation_before_loading_entity() throws Exception {
+		// Given
+		Row row = mock(Row.class);
+		EntityCache entityCache = mock(EntityCache.class);
+		when(meta.getEntityCache()).thenReturn(entityCache);
+		when(entityCache.generation()).thenReturn(7L, 8L);
+		when(context.loadEntity()).thenReturn(row);
+		when(meta.instanciate()).thenReturn(entity);
+		when(meta.getSelectColumnPlan()).thenReturn(columnPlan);
+
+		// When
+		loader.load(context, CompleteBean.class);
+
+		// Then
+		InOrder inOrder = inOrder(entityCache, context);
+		inOrder.verify(entityCache).generation();
+		inOrder.verify(context).loadEntity();
+		inOrder.verify(entityCache).put(primaryKey, entity, 7L);
+	}
+
+	@Test
+	public void should_bypass_cache_when_read_level_is_explicit() throws Exception {
+		// Given
+		Row row = mock(Row.class);
+		EntityCache entityCache = mock(EntityCache.class);
+		when(meta.getEntityCache()).thenReturn(entityCache);
+		when(context.getConsistencyLevel()).thenReturn(Optional.fromNullable(ConsistencyLevel.QUORUM));
+		when(context.loadEntity()).thenReturn(row);
+		when(meta.instanciate()).thenReturn(entity);
+		when(meta.getSelectColumnPlan()).thenReturn(columnPlan);
+
+		// When
+		CompleteBean actual = loader.load(context, CompleteBean.class);
+
+		// Then
+		assertThat(actual).isSameAs(entity);
+		verify(entityCache, never()).get(primaryKey);
+		verify(entityCache).put(primaryKey, entity, 0L);
+	}
+
+	@Test
+	public void should_bypass_cache_for_detached_read_with_explicit_level() throws Exception {
+		// Given
+		DaoContext daoContext = mock(DaoContext.class);
+		EntityCache entityCache = mock(EntityCache.class);
+		when(meta.getEntityCache()).thenReturn(entityCache);
+		when(daoContext.getMetrics()).thenReturn(metrics);
+
+		// When
+		loader.loadDetached(daoContext, meta, primaryKey, ConsistencyLevel.ALL);
+
+		// Then
+		verify(entityCache, never()).get(primaryKey);
+		verify(daoContext).loadEntity(meta, primaryKey, ConsistencyLevel.ALL);
+	}
+
 	@Test
 	public void should_not_load_simple_entity_when_not_found() throws Exception {
 		// Given
 		when(meta.isClusteredCounter()).thenReturn(false);
 		when(meta.instanciate()).thenReturn(entity);
+		when(meta.getSelectColumnPlan()).thenReturn(columnPlan);
 
 		// When
 		CompleteBean actual = loader.load(context, CompleteBean.class);
@@ -133,6 +323,56 @@ public class EntityLoaderTest {
 		verifyZeroInteractions(mapper);
 	}
 
+	@Test
+	public void should_load_simple_entity_async() throws Exception {
+		// Given
+		Row row = mock(Row.class);
+		when(meta.isClusteredCounter()).thenReturn(false);
+		when(context.loadEntityAsync()).thenReturn(Futures.immediateFuture(row));
+		when(meta.instanciate()).thenReturn(entity);
+		when(meta.getSelectColumnPlan()).thenReturn(columnPlan);
+
+		// When
+		ListenableFuture<CompleteBean> actual = loader.loadAsync(context, CompleteBean.class);
+
+		// Then
+		assertThat(actual.get()).isSameAs(entity);
+
+		verify(mapper).setNonCounterPropertiesToEntity(row, meta, columnPlan, entity);
+		verifyZeroInteractions(counterLoader);
+	}
+
+	@Test
+	public void should_not_load_simple_entity_async_when_not_found() throws Exception {
+		// Given
+		when(meta.isClusteredCounter()).thenReturn(false);
+		when(context.loadEntityAsync()).thenReturn(Futures.<Row> immediateFuture(null));
+
+		// When
+		ListenableFuture<CompleteBean> actual = loader.loadAsync(context, CompleteBean.class);
+
+		// Then
+		assertThat(actual.get()).isNull();
+
+		verifyZeroInteractions(mapper, counterLoader);
+	}
+
+	@Test
+	public void should_load_clustered_counter_entity_async() throws Exception {
+		// Given
+		ListenableFuture<CompleteBean> future = Futures.immediateFuture(entity);
+		when(meta.isClusteredCounter()).thenReturn(true);
+		when(counterLoader.<CompleteBean> loadClusteredCountersAsync(context)).thenReturn(future);
+
+		// When
+		ListenableFuture<CompleteBean> actual = loader.loadAsync(context, CompleteBean.class);
+
+		// Then
+		assertThat(actual).isSameAs(future);
+
+		verifyZeroInteractions(mapper);
+	}
+
 	@Test
 	public void should_load_properties_into_object() throws Exception {
 		// Given
@@ -160,4 +400,21 @@ public class EntityLoaderTest {
 		verify(counterLoader).loadCounter(context, entity, pm);
 		verifyZeroInteractions(mapper);
 	}
+
+	@Test
+	public void should_load_several_properties_into_object_in_one_query() throws Exception {
+		// Given
+		PropertyMeta otherPm = mock(PropertyMeta.class);
+		List<PropertyMeta> pms = Arrays.asList(pm, otherPm);
+		Row row = mock(Row.class);
+		when(context.loadProperties(pms)).thenReturn(row);
+
+		// When
+		loader.loadPropertiesIntoObject(context, entity, pms);
+
+		// Then
+		verify(mapper).setPropertyToEntity(row, pm, entity);
+		verify(mapper).setPropertyToEntity(row, otherPm, entity);
+		verifyZeroInteractions(counterLoader);
+	}
 }
@@ -25,8 +25,11 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import info.archinnov.achilles.internal.metadata.holder.ColumnIndexPlan;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyType;
+import info.archinnov.achilles.internal.reflection.PropertyAccessor;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.internal.reflection.RowMethodInvoker;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
@@ -99,6 +102,45 @@ public class EntityMapperTest {
 		verify(pm).setValueToField(entity, "value");
 	}
 
+	@Test
+	public void should_set_non_counter_properties_to_entity_by_column_index() throws Exception {
+		PropertyMeta pm = mock(PropertyMeta.class);
+		PropertyAccessor accessor = mock(PropertyAccessor.class);
+		when(pm.type()).thenReturn(PropertyType.SIMPLE);
+		when(pm.getPropertyName()).thenReturn("name");
+		when(pm.getPropertyAccessor()).thenReturn(accessor);
+		when(accessor.canReadFromRowByIndex()).thenReturn(true);
+		ColumnIndexPlan columnPlan = new ColumnIndexPlan(asList(pm));
+
+		when(row.getColumnDefinitions()).thenReturn(columnDefs);
+		when(columnDefs.size()).thenReturn(1);
+		when(columnDefs.getName(0)).thenReturn("name");
+		when(row.isNull(0)).thenReturn(false);
+		when(cqlRowInvoker.invokeOnRowForFields(row, pm, 0)).thenReturn("value");
+
+		entityMapper.setNonCounterPropertiesToEntity(row, entityMeta, columnPlan, entity);
+
+		verify(pm).setValueToField(entity, "value");
+		verify(row, never()).isNull("name");
+	}
+
+	@Test
+	public void should_set_non_counter_properties_by_name_when_column_plan_does_not_match() throws Exception {
+		PropertyMeta pm = mock(PropertyMeta.class);
+		when(pm.getPropertyName()).thenReturn("name");
+		when(entityMeta.getAllMetasExceptCounters()).thenReturn(asList(pm));
+		ColumnIndexPlan columnPlan = new ColumnIndexPlan(asList(pm));
+
+		when(row.getColumnDefinitions()).thenReturn(columnDefs);
+		when(columnDefs.size()).thenReturn(3);
+		when(row.isNull("name")).thenReturn(false);
+		when(cqlRowInvoker.invokeOnRowForFields(row, pm)).thenReturn("value");
+
+		entityMapper.setNonCounterPropertiesToEntity(row, entityMeta, columnPlan, entity);
+
+		verify(pm).setValueToField(entity, "value");
+	}
+
     @Test
     public void should_set_value_to_clustered_counter_entity() throws Exception {
         //Given
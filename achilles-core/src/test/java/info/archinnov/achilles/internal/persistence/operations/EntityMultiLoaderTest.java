@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EntityMultiLoaderTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private EntityMultiLoader loader = new EntityMultiLoader();
+
+	@Mock
+	private PersistenceContext context1;
+
+	@Mock
+	private PersistenceContext context2;
+
+	@Mock
+	private PersistenceContext context3;
+
+	@Test
+	public void should_load_all_in_key_order_skipping_not_found() throws Exception {
+		// Given
+		CompleteBean entity1 = new CompleteBean();
+		CompleteBean entity3 = new CompleteBean();
+		when(context1.findAsync(CompleteBean.class)).thenReturn(Futures.immediateFuture(entity1));
+		when(context2.findAsync(CompleteBean.class)).thenReturn(Futures.<CompleteBean> immediateFuture(null));
+		when(context3.findAsync(CompleteBean.class)).thenReturn(Futures.immediateFuture(entity3));
+
+		Map<Long, PersistenceContext> contexts = new LinkedHashMap<>();
+		contexts.put(3L, context3);
+		contexts.put(2L, context2);
+		contexts.put(1L, context1);
+
+		// When
+		Map<Long, CompleteBean> actual = loader.loadAll(CompleteBean.class, contexts, 2);
+
+		// Then
+		assertThat(actual.keySet()).containsExactly(3L, 1L);
+		assertThat(actual.get(3L)).isSameAs(entity3);
+		assertThat(actual.get(1L)).isSameAs(entity1);
+	}
+
+	@Test
+	public void should_release_permit_when_read_completes() throws Exception {
+		// Given
+		final SettableFuture<CompleteBean> future1 = SettableFuture.create();
+		final CompleteBean entity1 = new CompleteBean();
+		final CompleteBean entity2 = new CompleteBean();
+		final Semaphore secondReadIssued = new Semaphore(0);
+		when(context1.findAsync(CompleteBean.class)).thenReturn(future1);
+		when(context2.findAsync(CompleteBean.class)).thenAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				secondReadIssued.release();
+				return Futures.immediateFuture(entity2);
+			}
+		});
+
+		final Map<Long, PersistenceContext> contexts = new LinkedHashMap<>();
+		contexts.put(1L, context1);
+		contexts.put(2L, context2);
+
+		// When
+		final SettableFuture<Map<Long, CompleteBean>> result = SettableFuture.create();
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				result.set(loader.loadAll(CompleteBean.class, contexts, 1));
+			}
+		};
+		thread.start();
+
+		// Then
+		assertThat(secondReadIssued.tryAcquire(200, TimeUnit.MILLISECONDS)).isFalse();
+		future1.set(entity1);
+		assertThat(result.get(5, TimeUnit.SECONDS)).containsKey(2L).hasSize(2);
+	}
+
+	@Test
+	public void should_rethrow_runtime_exception_of_failed_read() throws Exception {
+		// Given
+		IllegalStateException failure = new IllegalStateException("read failed");
+		when(context1.findAsync(CompleteBean.class)).thenReturn(Futures.<CompleteBean> immediateFailedFuture(failure));
+		Map<Long, PersistenceContext> contexts = new LinkedHashMap<>();
+		contexts.put(1L, context1);
+
+		exception.expect(IllegalStateException.class);
+		exception.expectMessage("read failed");
+
+		// When
+		loader.loadAll(CompleteBean.class, contexts, 4);
+	}
+}
@@ -74,6 +74,7 @@ public class EntityPersisterTest {
 
 		// Then
 		verify(context).pushInsertStatement();
+		verify(context).pushCacheInvalidation();
 		verify(counterPersister).persistCounters(context, counterMetas);
 	}
 
@@ -101,6 +102,7 @@ public class EntityPersisterTest {
 
 		// Then
 		verify(context).bindForRemoval("table");
+		verify(context).pushCacheInvalidation();
 		verify(counterPersister).removeRelatedCounters(context);
 	}
 
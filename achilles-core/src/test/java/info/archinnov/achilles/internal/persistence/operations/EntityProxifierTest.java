@@ -16,26 +16,36 @@
 
 package info.archinnov.achilles.internal.persistence.operations;
 
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.PROXY_CREATION;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
 import static org.fest.assertions.api.Assertions.assertThat;
-import static org.mockito.Matchers.anySetOf;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.EntityInterceptor;
+import info.archinnov.achilles.internal.proxy.ProxyClassFactory;
+import info.archinnov.achilles.internal.proxy.ProxyDispatchTable;
 import info.archinnov.achilles.internal.reflection.ObjectInstantiator;
+import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
+import info.archinnov.achilles.metrics.AchillesMetrics;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.test.mapping.entity.UserBean;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -53,10 +63,14 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
+
+import com.google.common.collect.ImmutableMap;
 
 @RunWith(MockitoJUnitRunner.class)
 public class EntityProxifierTest {
@@ -70,6 +84,9 @@ public class EntityProxifierTest {
 	@Mock
 	private ObjectInstantiator instantiator;
 
+	@Mock
+	private ProxyClassFactory proxyClassFactory;
+
 	@Mock
 	private EntityInterceptor<CompleteBean> interceptor;
 
@@ -79,6 +96,9 @@ public class EntityProxifierTest {
 	@Mock
 	private EntityMeta entityMeta;
 
+	@Mock
+	private AchillesMetrics metrics;
+
 	@Mock
 	private PropertyMeta idMeta;
 
@@ -104,17 +124,19 @@ public class EntityProxifierTest {
 	public void should_build_proxy_with_all_fields_loaded() throws Exception {
 
 		long primaryKey = new Random().nextLong();
-		PropertyMeta pm = mock(PropertyMeta.class);
-		Object value = new Object();
-
 		CompleteBean entity = CompleteBeanTestBuilder.builder().id(primaryKey).name("name").buid();
+		PropertyMeta nameMeta = mock(PropertyMeta.class);
 		proxifier = spy(proxifier);
 
-		doReturn(interceptor).when(proxifier).buildInterceptor(eq(context), eq(entity), anySetOf(Method.class));
+		doReturn(interceptor).when(proxifier).buildInterceptor(eq(context), eq(entity), any(BitSet.class));
 		when(context.getEntityMeta()).thenReturn(entityMeta);
-		when(entityMeta.getIdMeta()).thenReturn(idMeta);
-		when(entityMeta.getAllMetas()).thenReturn(Arrays.asList(pm));
-		when(pm.getValueFromField(entity)).thenReturn(value);
+		when(context.getMetrics()).thenReturn(metrics);
+		when(entityMeta.<CompleteBean> getEntityClass()).thenReturn(CompleteBean.class);
+		when(entityMeta.getProxyClass()).thenReturn((Class) realProxy.getClass());
+		when(entityMeta.getDispatchTable()).thenReturn(new ProxyDispatchTable());
+		when(entityMeta.getOrdinalsExceptCounters()).thenReturn(new BitSet());
+		when(entityMeta.getAllMetas()).thenReturn(Arrays.asList(nameMeta));
+		when(nameMeta.getValueFromField(entity)).thenReturn("name");
 		when(instantiator.instantiate(Mockito.<Class<Factory>> any())).thenReturn(realProxy);
 
 		Object proxy = proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context);
@@ -126,8 +148,99 @@ public class EntityProxifierTest {
 		assertThat(factory.getCallbacks()).hasSize(1);
 		assertThat(factory.getCallback(0)).isInstanceOf(EntityInterceptor.class);
 
-		verify(pm).getValueFromField(entity);
-		verify(pm).setValueToField(realProxy, value);
+		verify(instantiator).instantiate(realProxy.getClass());
+		verifyZeroInteractions(proxyClassFactory);
+		verify(nameMeta).setValueToField(realProxy, "name");
+		verify(metrics).recordLatency(eq(CompleteBean.class), eq(PROXY_CREATION), anyLong());
+	}
+
+	@Test
+	public void should_generate_and_cache_proxy_class_when_missing_on_meta() throws Exception {
+		// Given
+		CompleteBean entity = CompleteBeanTestBuilder.builder().id(10L).buid();
+		ProxyDispatchTable dispatchTable = new ProxyDispatchTable();
+		proxifier = spy(proxifier);
+
+		doReturn(interceptor).when(proxifier).buildInterceptor(eq(context), eq(entity), any(BitSet.class));
+		when(context.getEntityMeta()).thenReturn(entityMeta);
+		when(context.getMetrics()).thenReturn(metrics);
+		when(entityMeta.getProxyClass()).thenReturn(null);
+		when(proxyClassFactory.createProxyClass(CompleteBean.class)).thenReturn((Class) realProxy.getClass());
+		when(proxyClassFactory.createDispatchTable(realProxy.getClass(), entityMeta)).thenReturn(dispatchTable);
+		when(instantiator.instantiate(Mockito.<Class<Factory>> any())).thenReturn(realProxy);
+
+		// When
+		Object proxy = proxifier.buildProxyWithNoFieldLoaded(entity, context);
+
+		// Then
+		assertThat(proxy).isSameAs(realProxy);
+		verify(entityMeta).setProxyClass(realProxy.getClass());
+		verify(entityMeta).setDispatchTable(dispatchTable);
+	}
+
+	@Test
+	public void should_build_proxy_with_eager_fields_loaded() throws Exception {
+		// Given
+		CompleteBean entity = CompleteBeanTestBuilder.builder().id(10L).buid();
+		BitSet ordinalsToLoad = new BitSet();
+		ordinalsToLoad.set(0, 2);
+		proxifier = spy(proxifier);
+
+		doReturn(interceptor).when(proxifier).buildInterceptor(eq(context), eq(entity), any(BitSet.class));
+		when(context.getEntityMeta()).thenReturn(entityMeta);
+		when(context.getMetrics()).thenReturn(metrics);
+		when(entityMeta.getProxyClass()).thenReturn((Class) realProxy.getClass());
+		when(entityMeta.getDispatchTable()).thenReturn(new ProxyDispatchTable());
+		when(entityMeta.getOrdinalsToLoad()).thenReturn(ordinalsToLoad);
+		when(instantiator.instantiate(Mockito.<Class<Factory>> any())).thenReturn(realProxy);
+
+		// When
+		proxifier.buildProxyWithEagerFieldsLoaded(entity, context);
+
+		// Then
+		ArgumentCaptor<BitSet> loadedFlagsCaptor = ArgumentCaptor.forClass(BitSet.class);
+		verify(proxifier).buildInterceptor(eq(context), eq(entity), loadedFlagsCaptor.capture());
+		assertThat(loadedFlagsCaptor.getValue()).isEqualTo(ordinalsToLoad).isNotSameAs(ordinalsToLoad);
+	}
+
+	@Test
+	public void should_run_unmapped_method_on_proxy_with_entity_state() throws Exception {
+		// Given
+		ReflectionInvoker invoker = new ReflectionInvoker();
+		PropertyMeta idMeta = PropertyMetaTestBuilder.of(Greeter.class, Void.class, Long.class).field("id")
+				.accessors().invoker(invoker).build();
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.of(Greeter.class, Void.class, String.class).field("name")
+				.accessors().type(SIMPLE).invoker(invoker).build();
+		idMeta.setField(Greeter.class.getDeclaredField("id"));
+		nameMeta.setField(Greeter.class.getDeclaredField("name"));
+
+		EntityMeta meta = new EntityMeta();
+		meta.setClassName(Greeter.class.getCanonicalName());
+		meta.setIdMeta(idMeta);
+		meta.setAllMetasExceptId(Arrays.asList(nameMeta));
+		meta.setPropertyMetas(ImmutableMap.of("id", idMeta, "name", nameMeta));
+
+		Greeter entity = new Greeter();
+		entity.setId(10L);
+		entity.setName("John");
+
+		Whitebox.setInternalState(proxifier, "proxyClassFactory", new ProxyClassFactory());
+		Whitebox.setInternalState(proxifier, "instantiator", new ObjectInstantiator());
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(context.<Greeter> getEntityClass()).thenReturn(Greeter.class);
+		when(context.getPrimaryKey()).thenReturn(10L);
+		when(context.getMetrics()).thenReturn(metrics);
+
+		// When
+		Greeter proxy = proxifier.buildProxyWithNoFieldLoaded(entity, context);
+
+		// Then
+		assertThat(proxy.greet()).isEqualTo("Hello JOHN");
+		assertThat(proxy.toString()).isEqualTo("Greeter(John)");
+
+		proxy.setName("Helen");
+		assertThat(proxy.greet()).isEqualTo("Hello HELEN");
+		assertThat(entity.getName()).isEqualTo("Helen");
 	}
 
 	@Test
@@ -246,8 +359,6 @@ public class EntityProxifierTest {
 		map.put(1, completeBean);
 		Map.Entry<Integer, CompleteBean> entry = map.entrySet().iterator().next();
 
-		when(proxifier.isProxy(completeBean)).thenReturn(false);
-
 		Map.Entry<Integer, CompleteBean> actual = proxifier.removeProxy(entry);
 		assertThat(actual).isSameAs(entry);
 		assertThat(actual.getValue()).isSameAs(completeBean);
@@ -302,6 +413,38 @@ public class EntityProxifierTest {
 		assertThat(actual).containsExactly(realProxy);
 	}
 
+	public static class Greeter {
+
+		private Long id;
+
+		private String name;
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String greet() {
+			return "Hello " + name.toUpperCase();
+		}
+
+		@Override
+		public String toString() {
+			return "Greeter(" + name + ")";
+		}
+	}
+
 	private Factory realProxy = new Factory() {
 
 		@Override
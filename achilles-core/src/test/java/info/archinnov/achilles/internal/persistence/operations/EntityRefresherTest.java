@@ -16,19 +16,17 @@
 
 package info.archinnov.achilles.internal.persistence.operations;
 
+import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
-import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.EntityInterceptor;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
-import java.lang.reflect.Method;
-import java.util.Map;
-import java.util.Set;
+import java.util.BitSet;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -54,14 +52,9 @@ public class EntityRefresherTest {
 	@Mock
 	private EntityInterceptor<CompleteBean> jpaEntityInterceptor;
 
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
-
-	@Mock
-	private Set<Method> alreadyLoaded;
+	private BitSet dirtyFlags = new BitSet();
 
-	@Mock
-	private Set<Method> allGettersExceptCounters;
+	private BitSet loadedFlags = new BitSet();
 
 	@Mock
 	private PersistenceContext context;
@@ -77,17 +70,21 @@ public class EntityRefresherTest {
 		when(proxifier.getInterceptor(bean)).thenReturn(jpaEntityInterceptor);
 
 		when(jpaEntityInterceptor.getTarget()).thenReturn(bean);
-		when(jpaEntityInterceptor.getDirtyMap()).thenReturn(dirtyMap);
-		when(jpaEntityInterceptor.getAlreadyLoaded()).thenReturn(alreadyLoaded);
+		when(jpaEntityInterceptor.getDirtyFlags()).thenReturn(dirtyFlags);
+		when(jpaEntityInterceptor.getLoadedFlags()).thenReturn(loadedFlags);
 		when(context.getEntityMeta()).thenReturn(entityMeta);
 		when(loader.load(context, CompleteBean.class)).thenReturn(bean);
-		when(context.getAllGettersExceptCounters()).thenReturn(allGettersExceptCounters);
+		BitSet ordinalsToLoad = new BitSet();
+		ordinalsToLoad.set(0, 3);
+		when(entityMeta.getOrdinalsToLoad()).thenReturn(ordinalsToLoad);
+		dirtyFlags.set(1);
+		loadedFlags.set(5);
 
 		refresher.refresh(bean, context);
 
-		verify(dirtyMap).clear();
-		verify(alreadyLoaded).clear();
-		verify(alreadyLoaded).addAll(allGettersExceptCounters);
+		assertThat(dirtyFlags.isEmpty()).isTrue();
+		assertThat(loadedFlags).isEqualTo(ordinalsToLoad);
+		verify(jpaEntityInterceptor).resetCollectionChangeLogs();
 		verify(jpaEntityInterceptor).setTarget(bean);
 	}
 
@@ -102,7 +99,7 @@ public class EntityRefresherTest {
 		when(proxifier.getInterceptor(bean)).thenReturn(jpaEntityInterceptor);
 
 		when(jpaEntityInterceptor.getTarget()).thenReturn(bean);
-		when(jpaEntityInterceptor.getDirtyMap()).thenReturn(dirtyMap);
+		when(jpaEntityInterceptor.getDirtyFlags()).thenReturn(dirtyFlags);
 		when(context.getEntityMeta()).thenReturn(entityMeta);
 		when(loader.load(context, CompleteBean.class)).thenReturn(null);
 
@@ -16,24 +16,30 @@
 
 package info.archinnov.achilles.internal.persistence.operations;
 
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.LIST;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SET;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.ADD_TO_SET;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.EntityInterceptor;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChange;
+import info.archinnov.achilles.internal.proxy.dirtycheck.ListChangeLog;
+import info.archinnov.achilles.internal.proxy.dirtycheck.SetChangeLog;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.test.mapping.entity.UserBean;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -77,7 +83,7 @@ public class EntityUpdaterTest {
 
 	private List<PropertyMeta> allCounterMetas = new ArrayList<>();
 
-	private Map<Method, PropertyMeta> dirtyMap = new HashMap<>();
+	private BitSet dirtyFlags = new BitSet();
 
 	@Before
 	public void setUp() {
@@ -87,7 +93,7 @@ public class EntityUpdaterTest {
 		when(context.getEntityMeta()).thenReturn(meta);
 
 		allMetas.clear();
-		dirtyMap.clear();
+		dirtyFlags.clear();
 	}
 
 	@Test
@@ -95,12 +101,12 @@ public class EntityUpdaterTest {
 		when(proxifier.isProxy(entity)).thenReturn(true);
 		when(proxifier.getRealObject(entity)).thenReturn(entity);
 		when(proxifier.getInterceptor(entity)).thenReturn(interceptor);
-		when(interceptor.getDirtyMap()).thenReturn(dirtyMap);
+		when(interceptor.getDirtyFlags()).thenReturn(dirtyFlags);
 		when(meta.getAllCounterMetas()).thenReturn(allCounterMetas);
 
 		PropertyMeta pm = PropertyMetaTestBuilder.completeBean(Void.class, UserBean.class).field("user").type(SIMPLE)
 				.accessors().build();
-		dirtyMap.put(pm.getGetter(), pm);
+		markDirty(pm, 3);
 		when(context.isClusteredCounter()).thenReturn(false);
 
 		entityUpdater.update(context, entity);
@@ -116,16 +122,53 @@ public class EntityUpdaterTest {
 
 	}
 
+	@Test
+	public void should_push_incremental_collection_changes_and_overwrite_replaced_collections() throws Exception {
+		// Given
+		when(proxifier.getRealObject(entity)).thenReturn(entity);
+		when(proxifier.getInterceptor(entity)).thenReturn(interceptor);
+		when(interceptor.getDirtyFlags()).thenReturn(dirtyFlags);
+		when(meta.getAllCounterMetas()).thenReturn(allCounterMetas);
+
+		PropertyMeta followersMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class)
+				.field("followers").type(SET).accessors().build();
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.type(LIST).accessors().build();
+		markDirty(followersMeta, 0);
+		markDirty(friendsMeta, 1);
+
+		SetChangeLog followersLog = new SetChangeLog();
+		followersLog.add(Arrays.asList("George"));
+		ListChangeLog friendsLog = new ListChangeLog();
+		friendsLog.markOverwrite();
+		when(interceptor.getCollectionChangeLog(followersMeta)).thenReturn(followersLog);
+		when(interceptor.getCollectionChangeLog(friendsMeta)).thenReturn(friendsLog);
+
+		// When
+		entityUpdater.update(context, entity);
+
+		// Then
+		ArgumentCaptor<CollectionChange> changeCaptor = ArgumentCaptor.forClass(CollectionChange.class);
+		verify(context).pushCollectionUpdateStatement(eq(followersMeta), changeCaptor.capture());
+		assertThat(changeCaptor.getValue().getType()).isEqualTo(ADD_TO_SET);
+
+		verify(context).pushUpdateStatement(pmCaptor.capture());
+		assertThat(pmCaptor.getValue()).containsOnly(friendsMeta);
+
+		assertThat(dirtyFlags.isEmpty()).isTrue();
+		verify(interceptor).resetCollectionChangeLogs();
+	}
+
 	@Test
 	public void should_update_proxified_clustered_counter_entity() throws Exception {
 		when(proxifier.isProxy(entity)).thenReturn(true);
 		when(proxifier.getRealObject(entity)).thenReturn(entity);
 		when(proxifier.getInterceptor(entity)).thenReturn(interceptor);
-		when(interceptor.getDirtyMap()).thenReturn(dirtyMap);
+		when(interceptor.getDirtyFlags()).thenReturn(dirtyFlags);
 
 		PropertyMeta pm = PropertyMetaTestBuilder.completeBean(Void.class, UserBean.class).field("user").type(SIMPLE)
 				.accessors().build();
-		dirtyMap.put(pm.getGetter(), pm);
+		markDirty(pm, 3);
 		when(context.isClusteredCounter()).thenReturn(true);
 
 		entityUpdater.update(context, entity);
@@ -140,4 +183,10 @@ public class EntityUpdaterTest {
 		verify(interceptor).setTarget(entity);
 
 	}
+
+	private void markDirty(PropertyMeta pm, int ordinal) {
+		pm.setOrdinal(ordinal);
+		dirtyFlags.set(ordinal);
+		when(meta.getPropertyMetaByOrdinal(ordinal)).thenReturn(pm);
+	}
 }
@@ -156,6 +156,27 @@ public class NativeQueryMapperTest {
 		verifyZeroInteractions(cqlRowInvoker);
 	}
 
+	@Test
+	public void should_map_single_row() throws Exception {
+		def1 = ColumnDefinitionBuilder.buildColumnDef("keyspace", "table", "id", DataType.bigint());
+		columnDefs = ColumnDefinitionBuilder.buildColumnDefinitions(def1);
+
+		when(row.getColumnDefinitions()).thenReturn(columnDefs);
+		when(cqlRowInvoker.invokeOnRowForType(row, Long.class, "id")).thenReturn(10L);
+
+		TypedMap line = mapper.mapRow(row);
+
+		assertThat(line).hasSize(1);
+		assertThat(line.get("id")).isEqualTo(10L);
+	}
+
+	@Test
+	public void should_return_null_when_mapping_single_row_without_column() throws Exception {
+		when(row.getColumnDefinitions()).thenReturn(null);
+
+		assertThat(mapper.mapRow(row)).isNull();
+	}
+
 	@Test
 	public void should_return_empty_list_when_no_row() throws Exception {
 		List<TypedMap> result = mapper.mapRows(new ArrayList<Row>());
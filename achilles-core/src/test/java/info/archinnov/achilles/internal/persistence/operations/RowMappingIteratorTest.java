@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RowMappingIteratorTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Mock
+	private Row row1;
+
+	@Mock
+	private Row row2;
+
+	@Mock
+	private Row row3;
+
+	@Mock
+	private Function<Row, String> mapping;
+
+	@Test
+	public void should_map_rows_lazily() throws Exception {
+		// Given
+		when(mapping.apply(row1)).thenReturn("a");
+		when(mapping.apply(row2)).thenReturn("b");
+		Iterator<String> iterator = new RowMappingIterator<>(Arrays.asList(row1, row2).iterator(), mapping);
+
+		// When
+		verifyZeroInteractions(mapping);
+		String first = iterator.next();
+
+		// Then
+		assertThat(first).isEqualTo("a");
+		verify(mapping).apply(row1);
+		assertThat(iterator.hasNext()).isTrue();
+		assertThat(iterator.next()).isEqualTo("b");
+		assertThat(iterator.hasNext()).isFalse();
+	}
+
+	@Test
+	public void should_skip_rows_mapped_to_null() throws Exception {
+		// Given
+		when(mapping.apply(row1)).thenReturn(null);
+		when(mapping.apply(row2)).thenReturn("b");
+		when(mapping.apply(row3)).thenReturn(null);
+		Iterator<String> iterator = new RowMappingIterator<>(Arrays.asList(row1, row2, row3).iterator(), mapping);
+
+		// When
+		assertThat(iterator.hasNext()).isTrue();
+		assertThat(iterator.next()).isEqualTo("b");
+
+		// Then
+		assertThat(iterator.hasNext()).isFalse();
+	}
+
+	@Test
+	public void should_exception_when_no_more_element() throws Exception {
+		// Given
+		Iterator<String> iterator = new RowMappingIterator<>(Arrays.<Row> asList().iterator(), mapping);
+
+		// Then
+		exception.expect(NoSuchElementException.class);
+
+		// When
+		iterator.next();
+	}
+
+	@Test
+	public void should_exception_on_remove() throws Exception {
+		// Given
+		Iterator<String> iterator = new RowMappingIterator<>(Arrays.asList(row1).iterator(), mapping);
+
+		// Then
+		exception.expect(UnsupportedOperationException.class);
+		exception.expectMessage("Cannot remove query result with iterator");
+
+		// When
+		iterator.remove();
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.query.scan.TokenRange;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ScanProgressTest {
+
+	private List<TokenRange> ranges = Arrays.asList(new TokenRange(BigInteger.ZERO, BigInteger.ONE), new TokenRange(
+			BigInteger.ONE, BigInteger.valueOf(2)), new TokenRange(BigInteger.valueOf(2), BigInteger.valueOf(3)));
+
+	@Test
+	public void should_keep_initial_resume_token_until_first_range_completes() throws Exception {
+		// Given
+		ScanProgress progress = new ScanProgress(ranges, BigInteger.ZERO);
+
+		// When
+		progress.complete(1);
+		progress.complete(2);
+
+		// Then
+		assertThat(progress.getResumeToken()).isEqualTo(BigInteger.ZERO);
+	}
+
+	@Test
+	public void should_advance_resume_token_over_completed_ranges() throws Exception {
+		// Given
+		ScanProgress progress = new ScanProgress(ranges, null);
+
+		// When
+		progress.complete(1);
+		progress.complete(0);
+
+		// Then
+		assertThat(progress.getResumeToken()).isEqualTo(BigInteger.valueOf(2));
+
+		progress.complete(2);
+		assertThat(progress.getResumeToken()).isEqualTo(BigInteger.valueOf(3));
+	}
+}
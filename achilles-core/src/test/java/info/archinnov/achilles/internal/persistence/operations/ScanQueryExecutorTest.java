@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static info.archinnov.achilles.type.ConsistencyLevel.EACH_QUORUM;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.exception.AchillesScanException;
+import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.metadata.holder.ColumnIndexPlan;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.statement.StatementGenerator;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.SimpleStatementWrapper;
+import info.archinnov.achilles.iterator.ScanIterator;
+import info.archinnov.achilles.query.scan.ScanQuery;
+import info.archinnov.achilles.query.scan.ScanRangeHandler;
+import info.archinnov.achilles.query.scan.TokenRange;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.powermock.reflect.Whitebox;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.collect.Sets;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScanQueryExecutorTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private ScanQueryExecutor executor;
+
+	@Mock
+	private ConfigurationContext configContext;
+
+	@Mock(answer = Answers.RETURNS_DEEP_STUBS)
+	private DaoContext daoContext;
+
+	@Mock
+	private StatementGenerator generator;
+
+	@Mock
+	private EntityMapper mapper;
+
+	@Mock
+	private EntityMeta meta;
+
+	@Mock
+	private ColumnIndexPlan columnPlan;
+
+	@Mock
+	private RegularStatement statement;
+
+	@Mock
+	private PreparedStatement ps;
+
+	@Mock
+	private BoundStatement bs;
+
+	@Mock
+	private ResultSet localRs;
+
+	@Mock
+	private ResultSet peersRs;
+
+	@Mock
+	private Row localRow;
+
+	@Mock
+	private Row peerRow;
+
+	/**
+	 * Tokens 0 and 1000 give 3 ring ranges, each split in 2 to reach
+	 * RANGES_PER_THREAD ranges for a single thread
+	 */
+	private static final int RANGE_COUNT = 6;
+
+	private CompleteBean entity = new CompleteBean();
+
+	@Before
+	public void setUp() {
+		when(configContext.getDefaultReadConsistencyLevel()).thenReturn(EACH_QUORUM);
+		executor = new ScanQueryExecutor(configContext, daoContext);
+		Whitebox.setInternalState(executor, StatementGenerator.class, generator);
+		Whitebox.setInternalState(executor, EntityMapper.class, mapper);
+
+		when(meta.getClassName()).thenReturn(CompleteBean.class.getCanonicalName());
+		when(meta.getSliceSelectColumnPlan()).thenReturn(columnPlan);
+		when(meta.instanciate()).thenReturn(entity);
+		when(generator.generateSelectTokenRange(meta)).thenReturn(statement);
+		when(daoContext.prepare(statement)).thenReturn(ps);
+		when(ps.bind(Matchers.<Object> anyVararg())).thenReturn(bs);
+
+		when(localRs.one()).thenReturn(localRow);
+		when(localRow.getString("partitioner")).thenReturn("org.apache.cassandra.dht.Murmur3Partitioner");
+		when(localRow.getSet("tokens", String.class)).thenReturn(Sets.newHashSet("0"));
+		when(peersRs.all()).thenReturn(Arrays.asList(peerRow));
+		when(peerRow.getSet("tokens", String.class)).thenReturn(Sets.newHashSet("1000"));
+
+		when(daoContext.execute(any(AbstractStatementWrapper.class))).thenAnswer(new Answer<ResultSet>() {
+			@Override
+			public ResultSet answer(InvocationOnMock invocation) throws Throwable {
+				AbstractStatementWrapper wrapper = (AbstractStatementWrapper) invocation.getArguments()[0];
+				if (wrapper instanceof SimpleStatementWrapper) {
+					return ((SimpleStatementWrapper) wrapper).getStatement().getQueryString().contains("system.local") ? localRs : peersRs;
+				}
+				ResultSet rangeRs = mock(ResultSet.class);
+				when(rangeRs.iterator()).thenReturn(Arrays.asList(mock(Row.class)).iterator());
+				return rangeRs;
+			}
+		});
+	}
+
+	@Test
+	public void should_iterate_over_all_token_ranges() throws Exception {
+		// Given
+		ScanQuery<CompleteBean> scanQuery = new ScanQuery<>(CompleteBean.class, meta, 1, 10, null, null);
+
+		// When
+		ScanIterator<CompleteBean> iterator = executor.iterator(scanQuery);
+
+		// Then
+		List<CompleteBean> entities = new ArrayList<>();
+		while (iterator.hasNext()) {
+			entities.add(iterator.next());
+		}
+		assertThat(entities).hasSize(RANGE_COUNT);
+		assertThat(iterator.getResumeToken()).isEqualTo(BigInteger.valueOf(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void should_map_rows_to_raw_entities() throws Exception {
+		// Given
+		ScanQuery<CompleteBean> scanQuery = new ScanQuery<>(CompleteBean.class, meta, 1, 10, null, null);
+		final List<Iterator<CompleteBean>> iterators = Collections
+				.synchronizedList(new ArrayList<Iterator<CompleteBean>>());
+
+		// When
+		executor.forEachRange(scanQuery, new ScanRangeHandler<CompleteBean>() {
+			@Override
+			public void onRange(TokenRange range, Iterator<CompleteBean> entities) {
+				iterators.add(entities);
+				assertThat(entities.next()).isSameAs(entity);
+				assertThat(entities.hasNext()).isFalse();
+			}
+		});
+
+		// Then
+		assertThat(iterators).hasSize(RANGE_COUNT);
+		verify(mapper, times(RANGE_COUNT))
+				.setNonCounterPropertiesToEntity(any(Row.class), eq(meta), eq(columnPlan), eq(entity));
+		verify(meta, times(RANGE_COUNT)).intercept(
+				entity, Event.POST_LOAD);
+	}
+
+	@Test
+	public void should_exception_with_resume_token_when_range_handler_fails() throws Exception {
+		// Given
+		ScanQuery<CompleteBean> scanQuery = new ScanQuery<>(CompleteBean.class, meta, 1, 10, null, null);
+		doThrow(new IllegalStateException("test")).when(mapper).setNonCounterPropertiesToEntity(any(Row.class),
+				eq(meta), eq(columnPlan), eq(entity));
+		boolean exceptionRaised = false;
+
+		try {
+			// When
+			executor.forEachRange(scanQuery, new ScanRangeHandler<CompleteBean>() {
+				@Override
+				public void onRange(TokenRange range, Iterator<CompleteBean> entities) {
+					entities.next();
+				}
+			});
+		} catch (AchillesScanException ex) {
+			// Then
+			assertThat(ex.getMessage()).isEqualTo(
+					"Error while scanning entity class '" + CompleteBean.class.getCanonicalName() + "'");
+			assertThat(ex.getCause()).isInstanceOf(IllegalStateException.class);
+			exceptionRaised = true;
+		}
+
+		assertThat(exceptionRaised).isTrue();
+	}
+
+	@Test
+	public void should_exception_when_scanning_clustered_counter() throws Exception {
+		// Given
+		when(meta.isClusteredCounter()).thenReturn(true);
+		ScanQuery<CompleteBean> scanQuery = new ScanQuery<>(CompleteBean.class, meta, 1, 10, null, null);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Full table scan is not supported for clustered counter entity '"
+				+ CompleteBean.class.getCanonicalName() + "'");
+
+		// When
+		executor.iterator(scanQuery);
+	}
+}
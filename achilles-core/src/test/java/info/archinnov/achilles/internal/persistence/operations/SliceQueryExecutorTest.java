@@ -23,12 +23,14 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
+import info.archinnov.achilles.internal.metadata.holder.ColumnIndexPlan;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.statement.StatementGenerator;
@@ -91,6 +93,9 @@ public class SliceQueryExecutorTest {
 	@Mock(answer = Answers.RETURNS_DEEP_STUBS)
 	private EntityMeta meta;
 
+	@Mock
+	private ColumnIndexPlan columnPlan;
+
 	private SliceQuery<ClusteredEntity> sliceQuery;
 
 	@Mock
@@ -132,14 +137,51 @@ public class SliceQueryExecutorTest {
 		when(daoContext.execute(regularWrapper).all()).thenReturn(rows);
 
 		when(meta.instanciate()).thenReturn(entity);
+		when(meta.getSliceSelectColumnPlan()).thenReturn(columnPlan);
 		when(contextFactory.newContext(entity)).thenReturn(context);
-		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context)).thenReturn(entity);
+		when(proxifier.buildProxyWithEagerFieldsLoaded(entity, context)).thenReturn(entity);
+
+		List<ClusteredEntity> actual = executor.get(sliceQuery);
+
+		assertThat(actual).containsOnly(entity);
+		verify(meta).intercept(entity, Event.POST_LOAD);
+		verify(mapper).setNonCounterPropertiesToEntity(row, meta, columnPlan, entity);
+	}
+
+	@Test
+	public void should_get_detached_clustered_entities() throws Exception {
+		sliceQuery = new SliceQuery<>(ClusteredEntity.class, meta, partitionComponents, clusteringsFrom,
+				clusteringsTo, ASCENDING, EXCLUSIVE_BOUNDS, LOCAL_QUORUM, limit, batchSize, true, 0, null, true);
+
+		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
+		Row row = mock(Row.class);
+
+		when(generator.generateSelectSliceQuery(anySliceQuery(), eq(limit), eq(batchSize))).thenReturn(regularWrapper);
+		when(daoContext.execute(regularWrapper).all()).thenReturn(Arrays.asList(row));
+		when(meta.instanciate()).thenReturn(entity);
+		when(meta.getSliceSelectColumnPlan()).thenReturn(columnPlan);
 
 		List<ClusteredEntity> actual = executor.get(sliceQuery);
 
 		assertThat(actual).containsOnly(entity);
 		verify(meta).intercept(entity, Event.POST_LOAD);
-		verify(mapper).setNonCounterPropertiesToEntity(row, meta, entity);
+		verify(mapper).setNonCounterPropertiesToEntity(row, meta, columnPlan, entity);
+		verifyZeroInteractions(contextFactory, proxifier);
+	}
+
+	@Test
+	public void should_create_detached_iterator_without_persistence_context() throws Exception {
+		sliceQuery = new SliceQuery<>(ClusteredEntity.class, meta, partitionComponents, clusteringsFrom,
+				clusteringsTo, ASCENDING, EXCLUSIVE_BOUNDS, LOCAL_QUORUM, limit, batchSize, true, 0, null, true);
+		RegularStatementWrapper regularWrapper = mock(RegularStatementWrapper.class);
+		when(generator.generateSelectSliceQuery(anySliceQuery(), eq(limit), eq(batchSize))).thenReturn(regularWrapper);
+		when(daoContext.execute(regularWrapper).iterator()).thenReturn(iterator);
+
+		Iterator<ClusteredEntity> iter = executor.iterator(sliceQuery);
+
+		assertThat(iter).isInstanceOf(SliceQueryIterator.class);
+		assertThat(Whitebox.getInternalState(iter, "context")).isNull();
+		verifyZeroInteractions(contextFactory);
 	}
 
 	@Test
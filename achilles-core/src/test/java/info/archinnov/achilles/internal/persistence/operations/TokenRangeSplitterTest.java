@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.persistence.operations.TokenRangeSplitter.Partitioner;
+import info.archinnov.achilles.query.scan.TokenRange;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class TokenRangeSplitterTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private TokenRangeSplitter splitter = new TokenRangeSplitter();
+
+	private BigInteger min = BigInteger.valueOf(Long.MIN_VALUE);
+	private BigInteger max = BigInteger.valueOf(Long.MAX_VALUE);
+
+	@Test
+	public void should_split_ring_at_node_tokens() throws Exception {
+		// Given
+		List<BigInteger> tokens = Arrays.asList(BigInteger.valueOf(100), BigInteger.ZERO, BigInteger.valueOf(100));
+
+		// When
+		List<TokenRange> ranges = splitter.split(Partitioner.MURMUR3, tokens, 1, null);
+
+		// Then
+		assertThat(ranges).containsExactly(new TokenRange(min, BigInteger.ZERO),
+				new TokenRange(BigInteger.ZERO, BigInteger.valueOf(100)), new TokenRange(BigInteger.valueOf(100), max));
+	}
+
+	@Test
+	public void should_ignore_minimum_token() throws Exception {
+		// Given
+		List<BigInteger> tokens = Arrays.asList(min, BigInteger.ZERO);
+
+		// When
+		List<TokenRange> ranges = splitter.split(Partitioner.MURMUR3, tokens, 1, null);
+
+		// Then
+		assertThat(ranges).containsExactly(new TokenRange(min, BigInteger.ZERO), new TokenRange(BigInteger.ZERO, max));
+	}
+
+	@Test
+	public void should_split_ranges_further_to_reach_min_ranges() throws Exception {
+		// Given
+		List<BigInteger> tokens = Arrays.asList(BigInteger.ZERO);
+
+		// When
+		List<TokenRange> ranges = splitter.split(Partitioner.MURMUR3, tokens, 3, null);
+
+		// Then
+		assertThat(ranges).hasSize(4);
+		assertThat(ranges.get(0).getStart()).isEqualTo(min);
+		assertThat(ranges.get(1).getEnd()).isEqualTo(BigInteger.ZERO);
+		assertThat(ranges.get(3).getEnd()).isEqualTo(max);
+		for (int i = 1; i < ranges.size(); i++) {
+			assertThat(ranges.get(i).getStart()).isEqualTo(ranges.get(i - 1).getEnd());
+		}
+	}
+
+	@Test
+	public void should_skip_ranges_before_resume_token() throws Exception {
+		// Given
+		List<BigInteger> tokens = Arrays.asList(BigInteger.ZERO, BigInteger.valueOf(100));
+
+		// When
+		List<TokenRange> ranges = splitter.split(Partitioner.MURMUR3, tokens, 1, BigInteger.valueOf(50));
+
+		// Then
+		assertThat(ranges).containsExactly(new TokenRange(BigInteger.valueOf(50), BigInteger.valueOf(100)),
+				new TokenRange(BigInteger.valueOf(100), max));
+	}
+
+	@Test
+	public void should_return_no_range_when_resuming_from_max_token() throws Exception {
+		// When
+		List<TokenRange> ranges = splitter.split(Partitioner.MURMUR3, Arrays.asList(BigInteger.ZERO), 4, max);
+
+		// Then
+		assertThat(ranges).isEmpty();
+	}
+
+	@Test
+	public void should_convert_to_cql_token() throws Exception {
+		assertThat(Partitioner.MURMUR3.toCQLToken(BigInteger.TEN)).isEqualTo(10L);
+		assertThat(Partitioner.RANDOM.toCQLToken(BigInteger.TEN)).isEqualTo(BigInteger.TEN);
+	}
+
+	@Test
+	public void should_find_partitioner_from_class_name() throws Exception {
+		assertThat(Partitioner.fromClassName("org.apache.cassandra.dht.Murmur3Partitioner")).isSameAs(
+				Partitioner.MURMUR3);
+		assertThat(Partitioner.fromClassName("org.apache.cassandra.dht.RandomPartitioner")).isSameAs(
+				Partitioner.RANDOM);
+	}
+
+	@Test
+	public void should_exception_when_partitioner_not_supported() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Full table scan is not supported with the partitioner "
+				+ "'org.apache.cassandra.dht.ByteOrderedPartitioner'");
+
+		Partitioner.fromClassName("org.apache.cassandra.dht.ByteOrderedPartitioner");
+	}
+}
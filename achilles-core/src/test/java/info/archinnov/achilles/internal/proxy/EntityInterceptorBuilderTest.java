@@ -23,16 +23,13 @@ import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
-import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.util.BitSet;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import com.google.common.collect.Sets;
-
 @RunWith(MockitoJUnitRunner.class)
 public class EntityInterceptorBuilderTest {
 
@@ -41,28 +38,34 @@ public class EntityInterceptorBuilderTest {
 
 	private CompleteBean entity = new CompleteBean();
 
+	private ProxyDispatchTable dispatchTable = new ProxyDispatchTable();
+
 	@Test
 	public void should_build_interceptor_with_eager_fields_already_loaded() throws Exception {
 
 		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("id").build();
+		idMeta.setOrdinal(2);
 
 		EntityMeta meta = new EntityMeta();
 		meta.setIdMeta(idMeta);
 		meta.setClassName("classname");
-		meta.setGetterMetas(new HashMap<Method, PropertyMeta>());
-		meta.setSetterMetas(new HashMap<Method, PropertyMeta>());
+		meta.setDispatchTable(dispatchTable);
 
 		when(context.<CompleteBean> getEntityClass()).thenReturn(CompleteBean.class);
 		when(context.getEntityMeta()).thenReturn(meta);
 		when(context.getPrimaryKey()).thenReturn(entity.getId());
 
+		BitSet loadedFlags = new BitSet();
+		loadedFlags.set(idMeta.getOrdinal());
+
 		EntityInterceptor<CompleteBean> interceptor = EntityInterceptorBuilder.<CompleteBean> builder(context, entity)
-				.alreadyLoaded(Sets.newHashSet(idMeta.getGetter())).build();
+				.loadedFlags(loadedFlags).build();
 
 		assertThat(interceptor.getContext()).isSameAs(context);
 		assertThat(interceptor.getTarget()).isSameAs(entity);
 		assertThat(interceptor.getPrimaryKey()).isEqualTo(entity.getId());
-		assertThat(interceptor.getAlreadyLoaded()).containsOnly(idMeta.getGetter());
+		assertThat(interceptor.getLoadedFlags()).isSameAs(loadedFlags);
+		assertThat(interceptor.getDirtyFlags().isEmpty()).isTrue();
 	}
 
 	@Test
@@ -73,8 +76,7 @@ public class EntityInterceptorBuilderTest {
 		EntityMeta meta = new EntityMeta();
 		meta.setIdMeta(idMeta);
 		meta.setClassName("classname");
-		meta.setGetterMetas(new HashMap<Method, PropertyMeta>());
-		meta.setSetterMetas(new HashMap<Method, PropertyMeta>());
+		meta.setDispatchTable(dispatchTable);
 
 		when(context.<CompleteBean> getEntityClass()).thenReturn(CompleteBean.class);
 		when(context.getEntityMeta()).thenReturn(meta);
@@ -86,6 +88,6 @@ public class EntityInterceptorBuilderTest {
 		assertThat(interceptor.getContext()).isSameAs(context);
 		assertThat(interceptor.getTarget()).isSameAs(entity);
 		assertThat(interceptor.getPrimaryKey()).isEqualTo(entity.getId());
-		assertThat(interceptor.getAlreadyLoaded()).isEmpty();
+		assertThat(interceptor.getLoadedFlags().isEmpty()).isTrue();
 	}
 }
@@ -15,9 +15,16 @@
  */
 package info.archinnov.achilles.internal.proxy;
 
+import static info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole.GETTER;
+import static info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole.ID_GETTER;
+import static info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole.ID_SETTER;
+import static info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole.SETTER;
 import static info.archinnov.achilles.test.builders.PropertyMetaTestBuilder.completeBean;
 import static org.fest.assertions.api.Assertions.assertThat;
-import static org.mockito.Mockito.times;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -27,6 +34,8 @@ import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.persistence.operations.CounterLoader;
 import info.archinnov.achilles.internal.persistence.operations.EntityLoader;
 import info.archinnov.achilles.internal.persistence.operations.InternalCounterImpl;
+import info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeLog;
 import info.archinnov.achilles.internal.proxy.wrapper.ListWrapper;
 import info.archinnov.achilles.internal.proxy.wrapper.MapWrapper;
 import info.archinnov.achilles.internal.proxy.wrapper.SetWrapper;
@@ -38,11 +47,13 @@ import info.archinnov.achilles.type.Counter;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 
 import net.sf.cglib.proxy.MethodProxy;
 
@@ -52,6 +63,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -86,10 +98,10 @@ public class EntityInterceptorTest {
 
 	private Object[] args = new Object[] {};
 
-	private Map<Method, PropertyMeta> getterMetas = new HashMap<>();
-	private Map<Method, PropertyMeta> setterMetas = new HashMap<>();
-	private Set<Method> alreadyLoaded = new HashSet<Method>();
-	private Map<Method, PropertyMeta> dirtyMap = new HashMap<>();
+	private ProxyDispatchTable dispatchTable = new ProxyDispatchTable();
+	private Map<Method, Integer> methodIndexes = new HashMap<>();
+	private BitSet loadedFlags = new BitSet();
+	private BitSet dirtyFlags = new BitSet();
 	private CompleteBean target;
 	private Long key = new Random().nextLong();
 	private Object rawValue = "raw";
@@ -98,26 +110,19 @@ public class EntityInterceptorTest {
 	@Before
 	public void setUp() throws Throwable {
 
-		getterMetas.clear();
-		setterMetas.clear();
-
-		interceptor.setGetterMetas(getterMetas);
-		interceptor.setSetterMetas(setterMetas);
+		interceptor.setDispatchTable(dispatchTable);
 
 		target = CompleteBeanTestBuilder.builder().id(key).buid();
 		interceptor.setTarget(target);
 		interceptor.setPrimaryKey(key);
 		interceptor.setContext(context);
-		interceptor.setDirtyMap(dirtyMap);
-		interceptor.setAlreadyLoaded(alreadyLoaded);
-
-		dirtyMap.clear();
-		alreadyLoaded.clear();
+		interceptor.setDirtyFlags(dirtyFlags);
+		interceptor.setLoadedFlags(loadedFlags);
 
 		idMeta = completeBean(Void.class, Long.class).field("id").accessors().build();
 
-		interceptor.setIdGetter(idMeta.getGetter());
-		interceptor.setIdSetter(idMeta.getSetter());
+		dispatch(idMeta.getGetter(), ID_GETTER, idMeta);
+		dispatch(idMeta.getSetter(), ID_SETTER, idMeta);
 
 		Whitebox.setInternalState(interceptor, "loader", loader);
 		Whitebox.setInternalState(interceptor, "counterLoader", counterLoader);
@@ -126,11 +131,7 @@ public class EntityInterceptorTest {
 
 	@Test
 	public void should_return_key_when_invoking_id_getter() throws Throwable {
-		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").accessors().build();
-
-		interceptor.setIdGetter(idMeta.getGetter());
-
-		Object id = interceptor.intercept(target, idMeta.getGetter(), args, null);
+		Object id = intercept(idMeta.getGetter(), args);
 
 		assertThat(id).isEqualTo(key);
 	}
@@ -140,7 +141,7 @@ public class EntityInterceptorTest {
 		exception.expect(IllegalAccessException.class);
 		exception.expectMessage("Cannot change primary key value for existing entity ");
 
-		interceptor.intercept(null, idMeta.getSetter(), args, null);
+		intercept(idMeta.getSetter(), args);
 	}
 
 	@Test
@@ -148,11 +149,11 @@ public class EntityInterceptorTest {
 		PropertyMeta propertyMeta = completeBean(Void.class, String.class).field("name").accessors()
 				.type(PropertyType.SIMPLE).build();
 
-		alreadyLoaded.add(propertyMeta.getGetter());
-		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
+		loadedFlags.set(propertyMeta.getOrdinal());
+		dispatch(propertyMeta.getGetter(), GETTER, propertyMeta);
 		when(invoker.getValueFromField(target, propertyMeta.getField())).thenReturn(rawValue);
 
-		Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
+		Object actual = intercept(propertyMeta.getGetter(), args);
 
 		assertThat(actual).isEqualTo(rawValue);
 		verifyZeroInteractions(loader);
@@ -163,10 +164,10 @@ public class EntityInterceptorTest {
 		PropertyMeta propertyMeta = completeBean(Void.class, String.class).field("name").accessors()
 				.type(PropertyType.SIMPLE).build();
 
-		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
+		dispatch(propertyMeta.getGetter(), GETTER, propertyMeta);
 		when(invoker.getValueFromField(target, propertyMeta.getField())).thenReturn(rawValue);
 
-		Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
+		Object actual = intercept(propertyMeta.getGetter(), args);
 
 		assertThat(actual).isEqualTo(rawValue);
 		verify(loader).loadPropertyIntoObject(context, target, propertyMeta);
@@ -177,11 +178,11 @@ public class EntityInterceptorTest {
 		PropertyMeta propertyMeta = completeBean(Void.class, String.class).field("friends").accessors()
 				.type(PropertyType.LIST).build();
 
-		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
+		dispatch(propertyMeta.getGetter(), GETTER, propertyMeta);
 		rawValue = new ArrayList<String>();
 		when(invoker.getValueFromField(target, propertyMeta.getField())).thenReturn(rawValue);
 
-		Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
+		Object actual = intercept(propertyMeta.getGetter(), args);
 
 		assertThat(actual).isInstanceOf(ListWrapper.class);
 	}
@@ -191,12 +192,12 @@ public class EntityInterceptorTest {
 		// Given
 		Method method = CompleteBean.class.getDeclaredMethod("getFriends");
 		Field field = CompleteBean.class.getDeclaredField("friends");
-		setterMetas.put(method, pm);
+		dispatch(method, SETTER, pm);
 		when(pm.type()).thenReturn(PropertyType.LIST);
-		getterMetas.put(method, pm);
+		dispatch(method, GETTER, pm);
 		when(invoker.getValueFromField(target, field)).thenReturn(null);
 
-		Object actual = interceptor.intercept(target, method, args, proxy);
+		Object actual = intercept(method, args);
 
 		assertThat(actual).isNull();
 	}
@@ -206,11 +207,11 @@ public class EntityInterceptorTest {
 		PropertyMeta propertyMeta = completeBean(Void.class, String.class).field("followers").accessors()
 				.type(PropertyType.SET).build();
 
-		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
+		dispatch(propertyMeta.getGetter(), GETTER, propertyMeta);
 		rawValue = new HashSet<String>();
 		when(invoker.getValueFromField(target, propertyMeta.getField())).thenReturn(rawValue);
 
-		Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
+		Object actual = intercept(propertyMeta.getGetter(), args);
 
 		assertThat(actual).isInstanceOf(SetWrapper.class);
 	}
@@ -220,10 +221,10 @@ public class EntityInterceptorTest {
 		PropertyMeta propertyMeta = completeBean(Void.class, String.class).field("followers").accessors()
 				.type(PropertyType.SET).build();
 
-		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
+		dispatch(propertyMeta.getGetter(), GETTER, propertyMeta);
 		when(proxy.invoke(target, args)).thenReturn(null);
 
-		Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
+		Object actual = intercept(propertyMeta.getGetter(), args);
 
 		assertThat(actual).isNull();
 	}
@@ -233,11 +234,11 @@ public class EntityInterceptorTest {
 		PropertyMeta propertyMeta = completeBean(Integer.class, String.class).field("preferences").accessors()
 				.type(PropertyType.MAP).build();
 
-		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
+		dispatch(propertyMeta.getGetter(), GETTER, propertyMeta);
 		rawValue = new HashMap<Integer, String>();
 		when(invoker.getValueFromField(target, propertyMeta.getField())).thenReturn(rawValue);
 
-		Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
+		Object actual = intercept(propertyMeta.getGetter(), args);
 
 		assertThat(actual).isInstanceOf(MapWrapper.class);
 	}
@@ -247,10 +248,10 @@ public class EntityInterceptorTest {
 		PropertyMeta propertyMeta = completeBean(Integer.class, String.class).field("preferences").accessors()
 				.type(PropertyType.MAP).build();
 
-		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
+		dispatch(propertyMeta.getGetter(), GETTER, propertyMeta);
 		when(invoker.getValueFromField(target, propertyMeta.getField())).thenReturn(null);
 
-		Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
+		Object actual = intercept(propertyMeta.getGetter(), args);
 
 		assertThat(actual).isNull();
 	}
@@ -261,11 +262,11 @@ public class EntityInterceptorTest {
 				.type(PropertyType.COUNTER).build();
 
 		// No setter, use getter to simulate setter
-		setterMetas.put(propertyMeta.getGetter(), propertyMeta);
+		dispatch(propertyMeta.getGetter(), SETTER, propertyMeta);
 		exception.expect(UnsupportedOperationException.class);
 		exception
 				.expectMessage("Cannot set value directly to a Counter type. Please call the getter first to get handle on the wrapper");
-		interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
+		intercept(propertyMeta.getGetter(), args);
 
 	}
 
@@ -274,19 +275,57 @@ public class EntityInterceptorTest {
 		// Given
 		Method method = CompleteBean.class.getDeclaredMethod("getName");
 
-		setterMetas.put(method, pm);
+		dispatch(method, SETTER, pm);
 		when(pm.type()).thenReturn(PropertyType.SIMPLE);
+		when(pm.getOrdinal()).thenReturn(5);
+		when(proxy.getSuperIndex()).thenReturn(methodIndexes.get(method));
+		CompleteBean proxyEntity = new CompleteBean();
 
 		// When
-		Object actual = interceptor.intercept(target, method, new Object[] { rawValue }, proxy);
+		Object actual = interceptor.intercept(proxyEntity, method, new Object[] { rawValue }, proxy);
 
 		// Then
-		assertThat(alreadyLoaded).isEmpty();
-		assertThat(dirtyMap).containsKey(method);
-		assertThat(dirtyMap).containsValue(pm);
+		assertThat(loadedFlags.get(5)).isTrue();
+		assertThat(dirtyFlags.cardinality()).isEqualTo(1);
+		assertThat(dirtyFlags.get(5)).isTrue();
 		assertThat(actual).isNull();
 
-		verify(pm, times(2)).setValueToField(target, rawValue);
+		verify(pm).setValueToField(proxyEntity, rawValue);
+		verify(pm).setValueToField(target, rawValue);
+	}
+
+	@Test
+	public void should_record_wrapper_changes_then_overwrite_on_collection_setter() throws Throwable {
+		// Given
+		PropertyMeta propertyMeta = completeBean(Void.class, String.class).field("friends").accessors()
+				.type(PropertyType.LIST).invoker(invoker).build();
+		dispatch(propertyMeta.getGetter(), GETTER, propertyMeta);
+		dispatch(propertyMeta.getSetter(), SETTER, propertyMeta);
+		when(invoker.getValueFromField(target, propertyMeta.getField())).thenReturn(new ArrayList<String>());
+
+		// When
+		@SuppressWarnings("unchecked")
+		List<String> friends = (List<String>) intercept(propertyMeta.getGetter(), args);
+		friends.add("George");
+
+		// Then
+		CollectionChangeLog changeLog = interceptor.getCollectionChangeLog(propertyMeta);
+		assertThat(changeLog.isOverwrite()).isFalse();
+		assertThat(changeLog.getChanges()).hasSize(1);
+
+		// When
+		intercept(propertyMeta.getSetter(), new Object[] { new ArrayList<String>() });
+
+		// Then
+		assertThat(changeLog.isOverwrite()).isTrue();
+		assertThat(changeLog.getChanges()).isEmpty();
+
+		// When
+		interceptor.resetCollectionChangeLogs();
+
+		// Then
+		assertThat(interceptor.getCollectionChangeLog(propertyMeta)).isSameAs(changeLog);
+		assertThat(changeLog.isOverwrite()).isFalse();
 	}
 
 	@Test
@@ -295,9 +334,9 @@ public class EntityInterceptorTest {
 				.type(PropertyType.COUNTER).invoker(new ReflectionInvoker()).build();
 
 		when(context.isClusteredCounter()).thenReturn(true);
-		getterMetas.put(propertyMeta.getGetter(), propertyMeta);
+		dispatch(propertyMeta.getGetter(), GETTER, propertyMeta);
 
-		Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
+		Object actual = intercept(propertyMeta.getGetter(), args);
 
 		assertThat(actual).isNull();
 		InternalCounterImpl counter = (InternalCounterImpl) target.getCount();
@@ -308,4 +347,124 @@ public class EntityInterceptorTest {
 		verify(counterLoader).loadClusteredCounterColumn(context, target, propertyMeta);
 	}
 
+	@Test
+	public void should_load_pending_simple_counters_together() throws Throwable {
+		PropertyMeta counterMeta = completeBean(Void.class, Counter.class).field("count").accessors()
+				.type(PropertyType.COUNTER).invoker(new ReflectionInvoker()).build();
+		PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").accessors()
+				.type(PropertyType.SIMPLE).build();
+		counterMeta.setOrdinal(1);
+		nameMeta.setOrdinal(2);
+
+		when(context.isClusteredCounter()).thenReturn(false);
+		when(context.getAllCountersMeta()).thenReturn(Arrays.asList(counterMeta));
+		dispatch(counterMeta.getGetter(), GETTER, counterMeta);
+		dispatch(nameMeta.getGetter(), GETTER, nameMeta);
+		when(counterLoader.loadCounters(context, target, counterMeta, Arrays.asList(counterMeta))).thenReturn(
+				Arrays.asList(counterMeta));
+
+		intercept(counterMeta.getGetter(), args);
+
+		assertThat(loadedFlags.cardinality()).isEqualTo(1);
+		assertThat(loadedFlags.get(1)).isTrue();
+		verifyZeroInteractions(loader);
+	}
+
+	@Test
+	public void should_load_whole_fetch_group_on_first_getter_call() throws Throwable {
+		PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").accessors()
+				.type(PropertyType.SIMPLE).build();
+		PropertyMeta labelMeta = completeBean(Void.class, String.class).field("label").accessors()
+				.type(PropertyType.SIMPLE).build();
+		nameMeta.setOrdinal(1);
+		labelMeta.setOrdinal(2);
+		nameMeta.setFetchGroup("details");
+		labelMeta.setFetchGroup("details");
+
+		when(context.isClusteredCounter()).thenReturn(false);
+		when(context.getEntityMeta().getFetchGroup("details")).thenReturn(Arrays.asList(nameMeta, labelMeta));
+		dispatch(nameMeta.getGetter(), GETTER, nameMeta);
+		dispatch(labelMeta.getGetter(), GETTER, labelMeta);
+
+		intercept(nameMeta.getGetter(), args);
+		intercept(labelMeta.getGetter(), args);
+
+		assertThat(loadedFlags.get(1)).isTrue();
+		assertThat(loadedFlags.get(2)).isTrue();
+		verify(loader).loadPropertiesIntoObject(context, target, Arrays.asList(nameMeta, labelMeta));
+		verify(loader, never()).loadPropertyIntoObject(eq(context), eq(target), any(PropertyMeta.class));
+	}
+
+	@Test
+	public void should_fetch_pending_columns_and_counters_in_one_query_each() throws Throwable {
+		PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").accessors()
+				.type(PropertyType.SIMPLE).build();
+		PropertyMeta labelMeta = completeBean(Void.class, String.class).field("label").accessors()
+				.type(PropertyType.SIMPLE).build();
+		PropertyMeta ageMeta = completeBean(Void.class, Long.class).field("age").accessors()
+				.type(PropertyType.SIMPLE).build();
+		PropertyMeta counterMeta = completeBean(Void.class, Counter.class).field("count").accessors()
+				.type(PropertyType.COUNTER).build();
+		nameMeta.setOrdinal(1);
+		labelMeta.setOrdinal(2);
+		ageMeta.setOrdinal(3);
+		counterMeta.setOrdinal(4);
+		loadedFlags.set(3);
+
+		when(context.isClusteredCounter()).thenReturn(false);
+		when(context.getAllCountersMeta()).thenReturn(Arrays.asList(counterMeta));
+		when(counterLoader.loadCounters(context, target, counterMeta, Arrays.asList(counterMeta))).thenReturn(
+				Arrays.asList(counterMeta));
+
+		interceptor.fetch(Arrays.asList(nameMeta, labelMeta, ageMeta, counterMeta));
+
+		assertThat(loadedFlags.cardinality()).isEqualTo(4);
+		verify(loader).loadPropertiesIntoObject(context, target, Arrays.asList(nameMeta, labelMeta));
+		verify(counterLoader).loadCounters(context, target, counterMeta, Arrays.asList(counterMeta));
+	}
+
+	@Test
+	public void should_fetch_single_pending_column_alone() throws Throwable {
+		PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").accessors()
+				.type(PropertyType.SIMPLE).build();
+		PropertyMeta labelMeta = completeBean(Void.class, String.class).field("label").accessors()
+				.type(PropertyType.SIMPLE).build();
+		nameMeta.setOrdinal(1);
+		labelMeta.setOrdinal(2);
+		loadedFlags.set(2);
+
+		when(context.isClusteredCounter()).thenReturn(false);
+
+		interceptor.fetch(Arrays.asList(nameMeta, labelMeta));
+
+		assertThat(loadedFlags.get(1)).isTrue();
+		verify(loader).loadPropertyIntoObject(context, target, nameMeta);
+		verifyZeroInteractions(counterLoader);
+	}
+
+	@Test
+	public void should_delegate_unmapped_method_to_target() throws Throwable {
+		Method method = CompleteBean.class.getMethod("toString");
+		when(proxy.invoke(target, args)).thenReturn("target");
+
+		Object actual = intercept(method, args);
+
+		assertThat(actual).isEqualTo("target");
+		InOrder inOrder = inOrder(proxy);
+		inOrder.verify(proxy).invokeSuper(target, args);
+		inOrder.verify(proxy).invoke(target, args);
+		verifyZeroInteractions(loader, invoker);
+	}
+
+	private void dispatch(Method method, MethodRole role, PropertyMeta propertyMeta) {
+		int methodIndex = methodIndexes.size();
+		methodIndexes.put(method, methodIndex);
+		dispatchTable.register(methodIndex, role, propertyMeta);
+	}
+
+	private Object intercept(Method method, Object[] args) throws Throwable {
+		Integer methodIndex = methodIndexes.get(method);
+		when(proxy.getSuperIndex()).thenReturn(methodIndex == null ? -1 : methodIndex);
+		return interceptor.intercept(target, method, args, proxy);
+	}
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.proxy;
+
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.ID;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
+import static info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole.GETTER;
+import static info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole.ID_GETTER;
+import static info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole.ID_SETTER;
+import static info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole.PASS_THROUGH;
+import static info.archinnov.achilles.internal.proxy.ProxyDispatchTable.MethodRole.SETTER;
+import static info.archinnov.achilles.test.builders.PropertyMetaTestBuilder.completeBean;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.reflection.ObjectInstantiator;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Factory;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+
+import org.junit.Test;
+
+public class ProxyClassFactoryTest {
+
+	private ProxyClassFactory factory = new ProxyClassFactory();
+
+	@Test
+	public void should_create_proxy_class() throws Exception {
+		Class<?> proxyClass = factory.createProxyClass(CompleteBean.class);
+
+		assertThat((Object) proxyClass.getSuperclass()).isEqualTo(CompleteBean.class);
+		assertThat(Factory.class.isAssignableFrom(proxyClass)).isTrue();
+	}
+
+	@Test
+	public void should_resolve_methods_by_index_passed_at_call_time() throws Exception {
+		// Given
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").accessors().type(ID).build();
+		PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").accessors().type(SIMPLE)
+				.build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setClassName("CompleteBean");
+		meta.setIdMeta(idMeta);
+		meta.setAllMetasExceptId(Arrays.asList(nameMeta));
+
+		Class<?> proxyClass = factory.createProxyClass(CompleteBean.class);
+		final List<Integer> methodIndexes = new ArrayList<>();
+		CompleteBean proxy = (CompleteBean) new ObjectInstantiator().instantiate(proxyClass);
+		((Factory) proxy).setCallbacks(new Callback[] { new MethodInterceptor() {
+			@Override
+			public Object intercept(Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+				methodIndexes.add(methodProxy.getSuperIndex());
+				return null;
+			}
+		} });
+
+		// When
+		ProxyDispatchTable dispatchTable = factory.createDispatchTable(proxyClass, meta);
+		proxy.getName();
+		proxy.setName("name");
+		proxy.getId();
+		proxy.setId(10L);
+		proxy.getFriends();
+
+		// Then
+		assertThat(dispatchTable.getRole(methodIndexes.get(0))).isEqualTo(GETTER);
+		assertThat(dispatchTable.getPropertyMeta(methodIndexes.get(0))).isSameAs(nameMeta);
+		assertThat(dispatchTable.getRole(methodIndexes.get(1))).isEqualTo(SETTER);
+		assertThat(dispatchTable.getPropertyMeta(methodIndexes.get(1))).isSameAs(nameMeta);
+		assertThat(dispatchTable.getRole(methodIndexes.get(2))).isEqualTo(ID_GETTER);
+		assertThat(dispatchTable.getRole(methodIndexes.get(3))).isEqualTo(ID_SETTER);
+		assertThat(dispatchTable.getRole(methodIndexes.get(4))).isEqualTo(PASS_THROUGH);
+	}
+}
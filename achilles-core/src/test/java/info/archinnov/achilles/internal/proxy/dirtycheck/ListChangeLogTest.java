@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.proxy.dirtycheck;
+
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.APPEND_TO_LIST;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.PREPEND_TO_LIST;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.SET_TO_LIST_AT_INDEX;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ListChangeLogTest {
+
+	private ListChangeLog changeLog = new ListChangeLog();
+
+	@Test
+	public void should_concatenate_appended_elements() throws Exception {
+		// When
+		changeLog.add(Arrays.asList("a"));
+		changeLog.add(Arrays.asList("b", "c"));
+
+		// Then
+		List<CollectionChange> changes = changeLog.getChanges();
+		assertThat(changes).hasSize(1);
+		assertThat(changes.get(0).getType()).isEqualTo(APPEND_TO_LIST);
+		assertThat(changes.get(0).<List<String>> getValue()).containsExactly("a", "b", "c");
+	}
+
+	@Test
+	public void should_keep_prepended_elements_in_list_order() throws Exception {
+		// When
+		changeLog.prepend(Arrays.asList("b"));
+		changeLog.prepend(Arrays.asList("a"));
+
+		// Then
+		CollectionChange change = changeLog.getChanges().get(0);
+		assertThat(change.getType()).isEqualTo(PREPEND_TO_LIST);
+		assertThat(change.<List<String>> getValue()).containsExactly("a", "b");
+	}
+
+	@Test
+	public void should_keep_last_element_set_at_each_index() throws Exception {
+		// When
+		changeLog.setAt(2, "a");
+		changeLog.setAt(0, "b");
+		changeLog.setAt(2, "c");
+
+		// Then
+		List<CollectionChange> changes = changeLog.getChanges();
+		assertThat(changes).hasSize(2);
+		assertThat(changes.get(0).getType()).isEqualTo(SET_TO_LIST_AT_INDEX);
+		assertThat(changes.get(0).<Integer> getKey()).isEqualTo(0);
+		assertThat(changes.get(0).<String> getValue()).isEqualTo("b");
+		assertThat(changes.get(1).<Integer> getKey()).isEqualTo(2);
+		assertThat(changes.get(1).<String> getValue()).isEqualTo("c");
+	}
+
+	@Test
+	public void should_overwrite_when_mixing_change_types() throws Exception {
+		// When
+		changeLog.add(Arrays.asList("a"));
+		changeLog.remove(Arrays.asList("b"));
+		changeLog.add(Arrays.asList("c"));
+
+		// Then
+		assertThat(changeLog.isOverwrite()).isTrue();
+		assertThat(changeLog.getChanges()).isEmpty();
+	}
+
+	@Test
+	public void should_accept_changes_again_after_reset() throws Exception {
+		// Given
+		changeLog.markOverwrite();
+
+		// When
+		changeLog.reset();
+		changeLog.add(Arrays.asList("a"));
+
+		// Then
+		assertThat(changeLog.isOverwrite()).isFalse();
+		assertThat(changeLog.getChanges()).hasSize(1);
+	}
+
+	@Test
+	public void should_overwrite_parent_from_view() throws Exception {
+		// Given
+		changeLog.add(Arrays.asList("a"));
+		CollectionChangeLog view = changeLog.overwriteOnlyView();
+
+		// When
+		view.setAt(0, "b");
+
+		// Then
+		assertThat(changeLog.isOverwrite()).isTrue();
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.proxy.dirtycheck;
+
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.ADD_TO_MAP;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.REMOVE_FROM_MAP;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class MapChangeLogTest {
+
+	private MapChangeLog changeLog = new MapChangeLog();
+
+	@Test
+	public void should_keep_last_mutation_of_each_key() throws Exception {
+		// When
+		changeLog.put(Collections.singletonMap(1, "a"));
+		changeLog.put(Collections.singletonMap(2, "b"));
+		changeLog.removeKey(1);
+		changeLog.removeKey(3);
+		changeLog.put(Collections.singletonMap(3, "c"));
+
+		// Then
+		List<CollectionChange> changes = changeLog.getChanges();
+		assertThat(changes).hasSize(2);
+		assertThat(changes.get(0).getType()).isEqualTo(ADD_TO_MAP);
+		Map<Integer, String> added = changes.get(0).getValue();
+		assertThat(added).hasSize(2).containsKey(2).containsKey(3);
+		assertThat(changes.get(1).getType()).isEqualTo(REMOVE_FROM_MAP);
+		assertThat(changes.get(1).<Integer> getKey()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_overwrite_on_collection_operations() throws Exception {
+		// When
+		changeLog.put(Collections.singletonMap(1, "a"));
+		changeLog.remove(Arrays.asList("a"));
+
+		// Then
+		assertThat(changeLog.isOverwrite()).isTrue();
+		assertThat(changeLog.getChanges()).isEmpty();
+	}
+}
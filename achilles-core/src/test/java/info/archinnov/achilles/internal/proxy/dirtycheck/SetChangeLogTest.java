@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.proxy.dirtycheck;
+
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.ADD_TO_SET;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.REMOVE_FROM_SET;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class SetChangeLogTest {
+
+	private SetChangeLog changeLog = new SetChangeLog();
+
+	@Test
+	public void should_keep_added_and_removed_elements_disjoint() throws Exception {
+		// When
+		changeLog.add(Arrays.asList("a", "b"));
+		changeLog.remove(Arrays.asList("b", "c"));
+		changeLog.add(Arrays.asList("c"));
+
+		// Then
+		List<CollectionChange> changes = changeLog.getChanges();
+		assertThat(changes).hasSize(2);
+		assertThat(changes.get(0).getType()).isEqualTo(ADD_TO_SET);
+		assertThat(changes.get(0).<Set<String>> getValue()).containsOnly("a", "c");
+		assertThat(changes.get(1).getType()).isEqualTo(REMOVE_FROM_SET);
+		assertThat(changes.get(1).<Set<String>> getValue()).containsOnly("b");
+	}
+
+	@Test
+	public void should_ignore_changes_once_overwritten() throws Exception {
+		// Given
+		changeLog.add(Arrays.asList("a"));
+		changeLog.markOverwrite();
+
+		// When
+		changeLog.add(Arrays.asList("b"));
+
+		// Then
+		assertThat(changeLog.isOverwrite()).isTrue();
+		assertThat(changeLog.getChanges()).isEmpty();
+	}
+}
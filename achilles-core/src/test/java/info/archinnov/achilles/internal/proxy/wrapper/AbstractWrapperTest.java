@@ -19,11 +19,12 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.doCallRealMethod;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeLog;
+import info.archinnov.achilles.internal.proxy.dirtycheck.SetChangeLog;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 
-import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.BitSet;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -36,24 +37,27 @@ public class AbstractWrapperTest {
 	@Mock
 	private AbstractWrapper wrapper;
 
-	private Map<Method, PropertyMeta> dirtyMap = new HashMap<Method, PropertyMeta>();
+	private BitSet dirtyFlags = new BitSet();
 
 	private PropertyMeta propertyMeta;
 
+	private CollectionChangeLog changeLog = new SetChangeLog();
+
 	@Before
 	public void setUp() throws Exception {
-		dirtyMap.clear();
-		doCallRealMethod().when(wrapper).setDirtyMap(dirtyMap);
-		wrapper.setDirtyMap(dirtyMap);
+		doCallRealMethod().when(wrapper).setDirtyFlags(dirtyFlags);
+		wrapper.setDirtyFlags(dirtyFlags);
 
 		propertyMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name").accessors()
 				.type(PropertyType.SIMPLE).build();
+		propertyMeta.setOrdinal(3);
 
 		doCallRealMethod().when(wrapper).setPropertyMeta(propertyMeta);
 		wrapper.setPropertyMeta(propertyMeta);
 
-		doCallRealMethod().when(wrapper).setSetter(propertyMeta.getSetter());
-		wrapper.setSetter(propertyMeta.getSetter());
+		doCallRealMethod().when(wrapper).setChangeLog(changeLog);
+		wrapper.setChangeLog(changeLog);
+		doCallRealMethod().when(wrapper).flagDirty();
 	}
 
 	@Test
@@ -61,18 +65,36 @@ public class AbstractWrapperTest {
 		doCallRealMethod().when(wrapper).markDirty();
 		wrapper.markDirty();
 
-		assertThat(dirtyMap).containsKey(propertyMeta.getSetter());
-		assertThat(dirtyMap).containsValue(propertyMeta);
+		assertThat(dirtyFlags.get(3)).isTrue();
+	}
+
+	@Test
+	public void should_mark_change_log_for_overwrite_when_marking_dirty() throws Exception {
+		changeLog.add(Arrays.asList("a"));
+		doCallRealMethod().when(wrapper).markDirty();
+
+		wrapper.markDirty();
+
+		assertThat(changeLog.isOverwrite()).isTrue();
+		assertThat(changeLog.getChanges()).isEmpty();
+	}
+
+	@Test
+	public void should_flag_dirty_without_overwrite() throws Exception {
+		wrapper.flagDirty();
+
+		assertThat(dirtyFlags.get(3)).isTrue();
+		assertThat(changeLog.isOverwrite()).isFalse();
 	}
 
 	@Test
 	public void should_not_mark_dirty_if_already_dirty() throws Exception {
-		dirtyMap.put(propertyMeta.getSetter(), propertyMeta);
+		dirtyFlags.set(3);
 		doCallRealMethod().when(wrapper).markDirty();
 
 		wrapper.markDirty();
 
-		assertThat(dirtyMap).hasSize(1);
-		assertThat(dirtyMap).containsValue(propertyMeta);
+		assertThat(dirtyFlags.cardinality()).isEqualTo(1);
+		assertThat(dirtyFlags.get(3)).isTrue();
 	}
 }
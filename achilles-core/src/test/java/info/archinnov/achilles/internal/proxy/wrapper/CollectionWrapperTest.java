@@ -15,8 +15,9 @@
  */
 package info.archinnov.achilles.internal.proxy.wrapper;
 
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.ADD_TO_SET;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.REMOVE_FROM_SET;
 import static org.fest.assertions.api.Assertions.assertThat;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.context.PersistenceContext;
@@ -24,16 +25,18 @@ import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChange;
+import info.archinnov.achilles.internal.proxy.dirtycheck.SetChangeLog;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
-import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -44,10 +47,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CollectionWrapperTest {
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
-
-	private Method setter;
+	private BitSet dirtyFlags = new BitSet();
 
 	@Mock
 	private PropertyMeta propertyMeta;
@@ -62,7 +62,6 @@ public class CollectionWrapperTest {
 
 	@Before
 	public void setUp() throws Exception {
-		setter = CompleteBean.class.getDeclaredMethod("setFriends", List.class);
 		when(propertyMeta.type()).thenReturn(PropertyType.LIST);
 
 		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id")
@@ -82,7 +81,7 @@ public class CollectionWrapperTest {
 		assertThat(target).hasSize(1);
 		assertThat(target.get(0)).isEqualTo("a");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -90,10 +89,10 @@ public class CollectionWrapperTest {
 		ArrayList<Object> target = new ArrayList<Object>();
 		ListWrapper wrapper = prepareListWrapper(target);
 		when(proxifier.removeProxy("a")).thenReturn("a");
-		when(dirtyMap.containsKey(setter)).thenReturn(true);
+		dirtyFlags.set(propertyMeta.getOrdinal());
 		wrapper.add("a");
 
-		verify(dirtyMap, never()).put(setter, propertyMeta);
+		assertThat(dirtyFlags.cardinality()).isEqualTo(1);
 	}
 
 	@Test
@@ -115,7 +114,7 @@ public class CollectionWrapperTest {
 		assertThat(target.get(0)).isEqualTo("a");
 		assertThat(target.get(1)).isEqualTo("b");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -127,7 +126,7 @@ public class CollectionWrapperTest {
 
 		assertThat(target).hasSize(0);
 
-		verify(dirtyMap, never()).put(setter, propertyMeta);
+		assertThat(dirtyFlags.isEmpty()).isTrue();
 	}
 
 	@Test
@@ -140,7 +139,7 @@ public class CollectionWrapperTest {
 
 		assertThat(target).hasSize(0);
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -152,7 +151,7 @@ public class CollectionWrapperTest {
 
 		assertThat(target).hasSize(0);
 
-		verify(dirtyMap, never()).put(setter, propertyMeta);
+		assertThat(dirtyFlags.isEmpty()).isTrue();
 	}
 
 	@Test
@@ -189,7 +188,7 @@ public class CollectionWrapperTest {
 		assertThat(target).hasSize(1);
 		assertThat(target.get(0)).isEqualTo("b");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -205,7 +204,7 @@ public class CollectionWrapperTest {
 		assertThat(target.get(0)).isEqualTo("a");
 		assertThat(target.get(1)).isEqualTo("b");
 
-		verify(dirtyMap, never()).put(setter, propertyMeta);
+		assertThat(dirtyFlags.isEmpty()).isTrue();
 	}
 
 	@Test
@@ -226,7 +225,7 @@ public class CollectionWrapperTest {
 		assertThat(target).hasSize(1);
 		assertThat(target.get(0)).isEqualTo("b");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -244,7 +243,7 @@ public class CollectionWrapperTest {
 		assertThat(target.get(1)).isEqualTo("b");
 		assertThat(target.get(2)).isEqualTo("c");
 
-		verify(dirtyMap, never()).put(setter, propertyMeta);
+		assertThat(dirtyFlags.isEmpty()).isTrue();
 	}
 
 	@Test
@@ -265,7 +264,7 @@ public class CollectionWrapperTest {
 		assertThat(target.get(0)).isEqualTo("a");
 		assertThat(target.get(1)).isEqualTo("c");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -287,7 +286,7 @@ public class CollectionWrapperTest {
 		assertThat(target.get(1)).isEqualTo("b");
 		assertThat(target.get(2)).isEqualTo("c");
 
-		verify(dirtyMap, never()).put(setter, propertyMeta);
+		assertThat(dirtyFlags.isEmpty()).isTrue();
 	}
 
 	@Test
@@ -305,7 +304,7 @@ public class CollectionWrapperTest {
 		iteratorWrapper.next();
 		iteratorWrapper.remove();
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -350,10 +349,52 @@ public class CollectionWrapperTest {
 		assertThat(wrapper.getTarget()).isSameAs(target);
 	}
 
+	@Test
+	public void should_record_added_and_removed_elements_of_set() throws Exception {
+		Set<Object> target = new HashSet<Object>(Arrays.<Object> asList("a", "b"));
+		SetWrapper wrapper = new SetWrapper(target);
+		wrapper.setDirtyFlags(dirtyFlags);
+		wrapper.setPropertyMeta(propertyMeta);
+		wrapper.setProxifier(proxifier);
+		SetChangeLog changeLog = new SetChangeLog();
+		wrapper.setChangeLog(changeLog);
+		Collection<Object> removed = Arrays.<Object> asList("a", "b");
+		when(proxifier.removeProxy((Object) "c")).thenReturn("c");
+		when(proxifier.removeProxy(removed)).thenReturn(removed);
+
+		wrapper.add("c");
+		wrapper.removeAll(removed);
+
+		List<CollectionChange> changes = changeLog.getChanges();
+		assertThat(target).containsOnly("c");
+		assertThat(changes).hasSize(2);
+		assertThat(changes.get(0).getType()).isEqualTo(ADD_TO_SET);
+		assertThat(changes.get(0).<Set<Object>> getValue()).containsOnly("c");
+		assertThat(changes.get(1).getType()).isEqualTo(REMOVE_FROM_SET);
+		assertThat(changes.get(1).<Set<Object>> getValue()).containsOnly("a", "b");
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
+	}
+
+	@Test
+	public void should_overwrite_on_retain_all() throws Exception {
+		Set<Object> target = new HashSet<Object>(Arrays.<Object> asList("a", "b"));
+		SetWrapper wrapper = new SetWrapper(target);
+		wrapper.setDirtyFlags(dirtyFlags);
+		wrapper.setPropertyMeta(propertyMeta);
+		wrapper.setProxifier(proxifier);
+		SetChangeLog changeLog = new SetChangeLog();
+		wrapper.setChangeLog(changeLog);
+		List<Object> retained = Arrays.<Object> asList("a");
+		when(proxifier.removeProxy(retained)).thenReturn(retained);
+
+		wrapper.retainAll(retained);
+
+		assertThat(changeLog.isOverwrite()).isTrue();
+	}
+
 	private ListWrapper prepareListWrapper(List<Object> target) {
 		ListWrapper wrapper = new ListWrapper(target);
-		wrapper.setDirtyMap(dirtyMap);
-		wrapper.setSetter(setter);
+		wrapper.setDirtyFlags(dirtyFlags);
 		wrapper.setPropertyMeta(propertyMeta);
 		wrapper.setProxifier(proxifier);
 		wrapper.setContext(context);
@@ -16,16 +16,12 @@
 package info.archinnov.achilles.internal.proxy.wrapper;
 
 import static org.fest.assertions.api.Assertions.assertThat;
-import static org.mockito.Mockito.verify;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
-import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
-import java.lang.reflect.Method;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
-import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -34,19 +30,11 @@ import org.mockito.runners.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class EntryIteratorWrapperTest {
 
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
-
-	private Method setter;
+	private BitSet dirtyFlags = new BitSet();
 
 	@Mock
 	private PropertyMeta propertyMeta;
 
-	@Before
-	public void setUp() throws Exception {
-		setter = CompleteBean.class.getDeclaredMethod("setFriends", List.class);
-	}
-
 	@Test
 	public void should_return_true_on_hasNext() throws Exception {
 		Map<Object, Object> map = new HashMap<Object, Object>();
@@ -65,14 +53,13 @@ public class EntryIteratorWrapperTest {
 		map.put(3, "75014");
 
 		EntryIteratorWrapper wrapper = new EntryIteratorWrapper(map.entrySet().iterator());
-		wrapper.setDirtyMap(dirtyMap);
-		wrapper.setSetter(setter);
+		wrapper.setDirtyFlags(dirtyFlags);
 		wrapper.setPropertyMeta(propertyMeta);
 
 		wrapper.next();
 		wrapper.remove();
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 }
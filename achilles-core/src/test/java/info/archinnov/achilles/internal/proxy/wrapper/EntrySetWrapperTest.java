@@ -17,8 +17,6 @@ package info.archinnov.achilles.internal.proxy.wrapper;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
@@ -26,12 +24,11 @@ import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
-import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
-import java.lang.reflect.Method;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -47,10 +44,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class EntrySetWrapperTest {
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
-
-	private Method setter;
+	private BitSet dirtyFlags = new BitSet();
 
 	@Mock
 	private PropertyMeta propertyMeta;
@@ -65,7 +59,6 @@ public class EntrySetWrapperTest {
 
 	@Before
 	public void setUp() throws Exception {
-		setter = CompleteBean.class.getDeclaredMethod("setFriends", List.class);
 
 		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id")
 				.type(PropertyType.SIMPLE).accessors().build();
@@ -85,7 +78,7 @@ public class EntrySetWrapperTest {
 
 		wrapper.clear();
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -151,7 +144,7 @@ public class EntrySetWrapperTest {
 		when(proxifier.removeProxy(any())).thenReturn(entry);
 		wrapper.remove(entry);
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -165,7 +158,7 @@ public class EntrySetWrapperTest {
 		Entry<Object, Object> entry = new AbstractMap.SimpleEntry<Object, Object>(4, "csdf");
 		wrapper.remove(entry);
 
-		verify(dirtyMap, never()).put(setter, propertyMeta);
+		assertThat(dirtyFlags.isEmpty()).isTrue();
 	}
 
 	@Test
@@ -189,7 +182,7 @@ public class EntrySetWrapperTest {
 
 		wrapper.removeAll(list);
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -206,7 +199,7 @@ public class EntrySetWrapperTest {
 
 		wrapper.removeAll(Arrays.asList(entry1, entry2));
 
-		verify(dirtyMap, never()).put(setter, propertyMeta);
+		assertThat(dirtyFlags.isEmpty()).isTrue();
 	}
 
 	@Test
@@ -226,7 +219,7 @@ public class EntrySetWrapperTest {
 		EntrySetWrapper wrapper = prepareWrapper(map);
 		wrapper.retainAll(list);
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -241,7 +234,7 @@ public class EntrySetWrapperTest {
 
 		wrapper.retainAll(list);
 
-		verify(dirtyMap, never()).put(setter, propertyMeta);
+		assertThat(dirtyFlags.isEmpty()).isTrue();
 	}
 
 	@Test
@@ -315,8 +308,7 @@ public class EntrySetWrapperTest {
 	private EntrySetWrapper prepareWrapper(Map<Object, Object> map) {
 		EntrySetWrapper wrapper = new EntrySetWrapper(map.entrySet());
 		wrapper.setContext(context);
-		wrapper.setDirtyMap(dirtyMap);
-		wrapper.setSetter(setter);
+		wrapper.setDirtyFlags(dirtyFlags);
 		wrapper.setPropertyMeta(propertyMeta);
 		wrapper.setProxifier(proxifier);
 		return wrapper;
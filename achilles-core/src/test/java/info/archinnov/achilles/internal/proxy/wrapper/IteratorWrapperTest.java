@@ -15,18 +15,15 @@
  */
 package info.archinnov.achilles.internal.proxy.wrapper;
 
-import static org.mockito.Mockito.verify;
+import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
-import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
 
-import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -34,19 +31,11 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class IteratorWrapperTest {
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
-
-	private Method setter;
+	private BitSet dirtyFlags = new BitSet();
 
 	@Mock
 	private PropertyMeta propertyMeta;
 
-	@Before
-	public void setUp() throws Exception {
-		setter = CompleteBean.class.getDeclaredMethod("setFriends", List.class);
-	}
-
 	@Test
 	public void should_mark_dirty_on_element_remove() throws Exception {
 
@@ -55,8 +44,7 @@ public class IteratorWrapperTest {
 		list.add(2);
 
 		IteratorWrapper wrapper = new IteratorWrapper(list.iterator());
-		wrapper.setDirtyMap(dirtyMap);
-		wrapper.setSetter(setter);
+		wrapper.setDirtyFlags(dirtyFlags);
 		wrapper.setPropertyMeta(propertyMeta);
 
 		when(propertyMeta.type()).thenReturn(PropertyType.LIST);
@@ -64,6 +52,6 @@ public class IteratorWrapperTest {
 		wrapper.next();
 		wrapper.remove();
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 }
@@ -15,17 +15,15 @@
  */
 package info.archinnov.achilles.internal.proxy.wrapper;
 
-import static org.mockito.Mockito.verify;
+import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
-import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -36,10 +34,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class ListIteratorWrapperTest {
 
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
-
-	private Method setter;
+	private BitSet dirtyFlags = new BitSet();
 
 	@Mock
 	private PropertyMeta propertyMeta;
@@ -51,15 +46,13 @@ public class ListIteratorWrapperTest {
 
 	@Before
 	public void setUp() throws Exception {
-		setter = CompleteBean.class.getDeclaredMethod("setFriends", List.class);
 
 		List<Object> list = new ArrayList<Object>();
 		list.add(1);
 		list.add(2);
 
 		wrapper = new ListIteratorWrapper(list.listIterator());
-		wrapper.setDirtyMap(dirtyMap);
-		wrapper.setSetter(setter);
+		wrapper.setDirtyFlags(dirtyFlags);
 		wrapper.setPropertyMeta(propertyMeta);
 		wrapper.setProxifier(proxifier);
 
@@ -70,7 +63,7 @@ public class ListIteratorWrapperTest {
 	public void should_mark_dirty_on_add() throws Exception {
 		wrapper.add(3);
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -79,7 +72,7 @@ public class ListIteratorWrapperTest {
 		wrapper.next();
 		wrapper.set(1);
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -88,6 +81,6 @@ public class ListIteratorWrapperTest {
 		wrapper.next();
 		wrapper.remove();
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 }
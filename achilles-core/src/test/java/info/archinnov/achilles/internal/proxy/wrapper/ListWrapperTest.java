@@ -15,22 +15,24 @@
  */
 package info.archinnov.achilles.internal.proxy.wrapper;
 
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.APPEND_TO_LIST;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.PREPEND_TO_LIST;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.REMOVE_FROM_LIST;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.SET_TO_LIST_AT_INDEX;
 import static org.fest.assertions.api.Assertions.assertThat;
-import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
-import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChange;
+import info.archinnov.achilles.internal.proxy.dirtycheck.ListChangeLog;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.Map;
 
-import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -39,10 +41,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class ListWrapperTest {
 
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
-
-	private Method setter;
+	private BitSet dirtyFlags = new BitSet();
 
 	@Mock
 	private PropertyMeta propertyMeta;
@@ -50,11 +49,6 @@ public class ListWrapperTest {
 	@Mock
 	private EntityProxifier proxifier;
 
-	@Before
-	public void setUp() throws Exception {
-		setter = CompleteBean.class.getDeclaredMethod("setFriends", List.class);
-	}
-
 	@Test
 	public void should_mark_dirty_on_element_add_at_index() throws Exception {
 
@@ -66,7 +60,7 @@ public class ListWrapperTest {
 		assertThat(target).hasSize(1);
 		assertThat(target.get(0)).isEqualTo("a");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -86,7 +80,7 @@ public class ListWrapperTest {
 		assertThat(target.get(1)).isEqualTo("b");
 		assertThat(target.get(2)).isEqualTo("c");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -101,7 +95,7 @@ public class ListWrapperTest {
 		assertThat(target).hasSize(1);
 		assertThat(target.get(0)).isEqualTo("a");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -118,7 +112,7 @@ public class ListWrapperTest {
 		assertThat(target).hasSize(3);
 		assertThat(target.get(1)).isEqualTo("d");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -132,7 +126,7 @@ public class ListWrapperTest {
 		when(proxifier.removeProxy("c")).thenReturn("c");
 		listIteratorWrapper.add("c");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -147,7 +141,7 @@ public class ListWrapperTest {
 		when(proxifier.removeProxy("d")).thenReturn("d");
 		subListWrapper.add("d");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
@@ -160,10 +154,118 @@ public class ListWrapperTest {
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	public void should_record_append_on_add_at_end() throws Exception {
+		ArrayList<String> target = new ArrayList<String>(Arrays.asList("a"));
+		ListWrapper listWrapper = prepareListWrapper(target);
+		ListChangeLog changeLog = new ListChangeLog();
+		listWrapper.setChangeLog(changeLog);
+		when(proxifier.removeProxy("b")).thenReturn("b");
+
+		listWrapper.add(1, "b");
+
+		assertThat(changeLog.isOverwrite()).isFalse();
+		CollectionChange change = changeLog.getChanges().get(0);
+		assertThat(change.getType()).isEqualTo(APPEND_TO_LIST);
+		assertThat(change.<List<String>> getValue()).containsExactly("b");
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
+	}
+
+	@Test
+	public void should_record_prepend_on_add_all_at_head() throws Exception {
+		ArrayList<String> target = new ArrayList<String>(Arrays.asList("a"));
+		ListWrapper listWrapper = prepareListWrapper(target);
+		ListChangeLog changeLog = new ListChangeLog();
+		listWrapper.setChangeLog(changeLog);
+		Collection<String> list = Arrays.asList("b", "c");
+		when(proxifier.removeProxy(list)).thenReturn(list);
+
+		listWrapper.addAll(0, list);
+
+		assertThat(target).containsExactly("b", "c", "a");
+		CollectionChange change = changeLog.getChanges().get(0);
+		assertThat(change.getType()).isEqualTo(PREPEND_TO_LIST);
+		assertThat(change.<List<String>> getValue()).containsExactly("b", "c");
+	}
+
+	@Test
+	public void should_overwrite_on_add_in_the_middle() throws Exception {
+		ArrayList<String> target = new ArrayList<String>(Arrays.asList("a", "c"));
+		ListWrapper listWrapper = prepareListWrapper(target);
+		ListChangeLog changeLog = new ListChangeLog();
+		listWrapper.setChangeLog(changeLog);
+		when(proxifier.removeProxy("b")).thenReturn("b");
+
+		listWrapper.add(1, "b");
+
+		assertThat(target).containsExactly("a", "b", "c");
+		assertThat(changeLog.isOverwrite()).isTrue();
+	}
+
+	@Test
+	public void should_record_element_set_at_index() throws Exception {
+		ArrayList<String> target = new ArrayList<String>(Arrays.asList("a", "b"));
+		ListWrapper listWrapper = prepareListWrapper(target);
+		ListChangeLog changeLog = new ListChangeLog();
+		listWrapper.setChangeLog(changeLog);
+		when(proxifier.removeProxy("c")).thenReturn("c");
+
+		listWrapper.set(1, "c");
+
+		CollectionChange change = changeLog.getChanges().get(0);
+		assertThat(change.getType()).isEqualTo(SET_TO_LIST_AT_INDEX);
+		assertThat(change.<Integer> getKey()).isEqualTo(1);
+		assertThat(change.<String> getValue()).isEqualTo("c");
+	}
+
+	@Test
+	public void should_record_discard_on_removal_of_single_occurrence() throws Exception {
+		ArrayList<String> target = new ArrayList<String>(Arrays.asList("a", "b"));
+		ListWrapper listWrapper = prepareListWrapper(target);
+		ListChangeLog changeLog = new ListChangeLog();
+		listWrapper.setChangeLog(changeLog);
+		when(proxifier.removeProxy((Object) "a")).thenReturn("a");
+
+		listWrapper.remove("a");
+
+		CollectionChange change = changeLog.getChanges().get(0);
+		assertThat(change.getType()).isEqualTo(REMOVE_FROM_LIST);
+		assertThat(change.<List<String>> getValue()).containsExactly("a");
+	}
+
+	@Test
+	public void should_overwrite_on_removal_when_other_occurrences_remain() throws Exception {
+		ArrayList<String> target = new ArrayList<String>(Arrays.asList("a", "b", "a"));
+		ListWrapper listWrapper = prepareListWrapper(target);
+		ListChangeLog changeLog = new ListChangeLog();
+		listWrapper.setChangeLog(changeLog);
+		when(proxifier.removeProxy((Object) "a")).thenReturn("a");
+
+		listWrapper.remove("a");
+
+		assertThat(target).containsExactly("b", "a");
+		assertThat(changeLog.isOverwrite()).isTrue();
+	}
+
+	@Test
+	public void should_overwrite_on_sub_list_mutation() throws Exception {
+		ArrayList<String> target = new ArrayList<String>(Arrays.asList("a", "b", "c"));
+		ListWrapper listWrapper = prepareListWrapper(target);
+		ListChangeLog changeLog = new ListChangeLog();
+		listWrapper.setChangeLog(changeLog);
+		when(proxifier.removeProxy("d")).thenReturn("d");
+
+		List<Object> subList = listWrapper.subList(1, 2);
+		((ListWrapper) subList).setProxifier(proxifier);
+		subList.set(0, "d");
+
+		assertThat(target).containsExactly("a", "d", "c");
+		assertThat(changeLog.isOverwrite()).isTrue();
+	}
+
 	private ListWrapper prepareListWrapper(List<String> target) {
 		ListWrapper listWrapper = new ListWrapper((List) target);
-		listWrapper.setDirtyMap(dirtyMap);
-		listWrapper.setSetter(setter);
+		listWrapper.setDirtyFlags(dirtyFlags);
 		listWrapper.setPropertyMeta(propertyMeta);
 		listWrapper.setProxifier(proxifier);
 		return listWrapper;
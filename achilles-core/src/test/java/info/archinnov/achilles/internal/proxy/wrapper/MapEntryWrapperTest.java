@@ -16,18 +16,15 @@
 package info.archinnov.achilles.internal.proxy.wrapper;
 
 import static org.fest.assertions.api.Assertions.assertThat;
-import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
-import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
-import java.lang.reflect.Method;
 import java.util.AbstractMap;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -39,14 +36,11 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class MapEntryWrapperTest {
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
+	private BitSet dirtyFlags = new BitSet();
 
 	@Mock
 	private EntityProxifier proxifier;
 
-	private Method setter;
-
 	@Mock
 	private PropertyMeta propertyMeta;
 
@@ -55,7 +49,6 @@ public class MapEntryWrapperTest {
 
 	@Before
 	public void setUp() throws Exception {
-		setter = CompleteBean.class.getDeclaredMethod("setFriends", List.class);
 		when(propertyMeta.type()).thenReturn(PropertyType.MAP);
 	}
 
@@ -69,13 +62,12 @@ public class MapEntryWrapperTest {
 
 		MapEntryWrapper mapEntryWrapper = new MapEntryWrapper(mapEntry);
 		mapEntryWrapper.setProxifier(proxifier);
-		mapEntryWrapper.setDirtyMap(dirtyMap);
-		mapEntryWrapper.setSetter(setter);
+		mapEntryWrapper.setDirtyFlags(dirtyFlags);
 		mapEntryWrapper.setPropertyMeta(propertyMeta);
 		when(proxifier.removeProxy("TEST")).thenReturn("TEST");
 		mapEntryWrapper.setValue("TEST");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 
 	}
 
@@ -15,19 +15,19 @@
  */
 package info.archinnov.achilles.internal.proxy.wrapper;
 
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.ADD_TO_MAP;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.REMOVE_FROM_MAP;
 import static org.fest.assertions.api.Assertions.assertThat;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
-import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChange;
+import info.archinnov.achilles.internal.proxy.dirtycheck.MapChangeLog;
 
-import java.lang.reflect.Method;
 import java.util.AbstractMap;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -44,10 +44,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class MapWrapperTest {
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
-
-	private Method setter;
+	private BitSet dirtyFlags = new BitSet();
 
 	@Mock
 	private PropertyMeta propertyMeta;
@@ -60,7 +57,6 @@ public class MapWrapperTest {
 
 	@Before
 	public void setUp() throws Exception {
-		setter = CompleteBean.class.getDeclaredMethod("setFriends", List.class);
 		when(propertyMeta.type()).thenReturn(PropertyType.MAP);
 	}
 
@@ -109,7 +105,7 @@ public class MapWrapperTest {
 
 		assertThat(target).isEmpty();
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -120,7 +116,7 @@ public class MapWrapperTest {
 
 		wrapper.clear();
 
-		verifyZeroInteractions(dirtyMap);
+		assertThat(dirtyFlags.isEmpty()).isTrue();
 	}
 
 	@Test(expected = UnsupportedOperationException.class)
@@ -145,7 +141,7 @@ public class MapWrapperTest {
 		when(proxifier.removeProxy((Object) entry)).thenReturn(entry);
 		entrySet.remove(entry);
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -158,7 +154,7 @@ public class MapWrapperTest {
 		Entry<Object, Object> entry = new AbstractMap.SimpleEntry<Object, Object>(4, "csdf");
 		entrySet.remove(entry);
 
-		verify(dirtyMap, never()).put(setter, propertyMeta);
+		assertThat(dirtyFlags.isEmpty()).isTrue();
 	}
 
 	@Test
@@ -170,7 +166,7 @@ public class MapWrapperTest {
 
 		entrySet.iterator().next().setValue("sdfsd");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -182,7 +178,7 @@ public class MapWrapperTest {
 		when(proxifier.removeProxy(1)).thenReturn(1);
 		keySet.remove(1);
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -194,7 +190,7 @@ public class MapWrapperTest {
 		keyIterator.next();
 		keyIterator.remove();
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -204,7 +200,7 @@ public class MapWrapperTest {
 
 		wrapper.put(4, "sdfs");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -218,7 +214,7 @@ public class MapWrapperTest {
 
 		wrapper.putAll(map);
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -228,7 +224,7 @@ public class MapWrapperTest {
 		when(proxifier.removeProxy(1)).thenReturn(1);
 		wrapper.remove(1);
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	@Test
@@ -238,7 +234,7 @@ public class MapWrapperTest {
 
 		wrapper.remove(10);
 
-		verify(dirtyMap, never()).put(setter, propertyMeta);
+		assertThat(dirtyFlags.isEmpty()).isTrue();
 	}
 
 	@Test
@@ -250,7 +246,7 @@ public class MapWrapperTest {
 		when(proxifier.removeProxy("FR")).thenReturn("FR");
 		collectionWrapper.remove("FR");
 
-		verify(dirtyMap).put(setter, propertyMeta);
+		assertThat(dirtyFlags.get(propertyMeta.getOrdinal())).isTrue();
 	}
 
 	public void should_not_mark_dirty_on_collection_remove_non_existing() throws Exception {
@@ -261,7 +257,55 @@ public class MapWrapperTest {
 
 		collectionWrapper.remove("sdfsdf");
 
-		verify(dirtyMap, never()).put(setter, propertyMeta);
+		assertThat(dirtyFlags.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void should_record_put_and_removed_keys() throws Exception {
+		Map<Integer, String> target = prepareMap();
+		MapWrapper wrapper = prepareMapWrapper(target);
+		MapChangeLog changeLog = new MapChangeLog();
+		wrapper.setChangeLog(changeLog);
+		when(proxifier.removeProxy("Lyon")).thenReturn("Lyon");
+		when(proxifier.removeProxy(1)).thenReturn(1);
+
+		wrapper.put(4, "Lyon");
+		wrapper.remove(1);
+
+		List<CollectionChange> changes = changeLog.getChanges();
+		assertThat(changes).hasSize(2);
+		assertThat(changes.get(0).getType()).isEqualTo(ADD_TO_MAP);
+		assertThat(changes.get(0).<Map<Integer, String>> getValue()).containsKey(4).containsValue("Lyon");
+		assertThat(changes.get(1).getType()).isEqualTo(REMOVE_FROM_MAP);
+		assertThat(changes.get(1).<Integer> getKey()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_overwrite_on_clear() throws Exception {
+		Map<Integer, String> target = prepareMap();
+		MapWrapper wrapper = prepareMapWrapper(target);
+		MapChangeLog changeLog = new MapChangeLog();
+		wrapper.setChangeLog(changeLog);
+		when(proxifier.removeProxy("Lyon")).thenReturn("Lyon");
+
+		wrapper.put(4, "Lyon");
+		wrapper.clear();
+
+		assertThat(changeLog.isOverwrite()).isTrue();
+		assertThat(changeLog.getChanges()).isEmpty();
+	}
+
+	@Test
+	public void should_overwrite_on_values_collection_removal() throws Exception {
+		Map<Integer, String> target = prepareMap();
+		MapWrapper wrapper = prepareMapWrapper(target);
+		MapChangeLog changeLog = new MapChangeLog();
+		wrapper.setChangeLog(changeLog);
+		when(proxifier.removeProxy("FR")).thenReturn("FR");
+
+		wrapper.values().remove("FR");
+
+		assertThat(changeLog.isOverwrite()).isTrue();
 	}
 
 	private Map<Integer, String> prepareMap() {
@@ -276,8 +320,7 @@ public class MapWrapperTest {
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private MapWrapper prepareMapWrapper(Map<Integer, String> target) {
 		MapWrapper wrapper = new MapWrapper((Map) target);
-		wrapper.setDirtyMap(dirtyMap);
-		wrapper.setSetter(setter);
+		wrapper.setDirtyFlags(dirtyFlags);
 		wrapper.setPropertyMeta(propertyMeta);
 		wrapper.setProxifier(proxifier);
 		return wrapper;
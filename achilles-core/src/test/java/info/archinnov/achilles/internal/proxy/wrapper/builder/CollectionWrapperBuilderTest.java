@@ -19,14 +19,11 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.wrapper.CollectionWrapper;
-import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
 
-import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -35,10 +32,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CollectionWrapperBuilderTest {
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
-
-	private Method setter;
+	private BitSet dirtyFlags = new BitSet();
 
 	@Mock
 	private PersistenceContext context;
@@ -46,22 +40,16 @@ public class CollectionWrapperBuilderTest {
 	@Mock
 	private PropertyMeta propertyMeta;
 
-	@Before
-	public void setUp() throws Exception {
-		setter = CompleteBean.class.getDeclaredMethod("setFriends", List.class);
-	}
-
 	@Test
 	public void should_build() throws Exception {
 		List<Object> target = new ArrayList<Object>();
 		CollectionWrapper wrapper = CollectionWrapperBuilder
 				//
-				.builder(context, target).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
+				.builder(context, target).dirtyFlags(dirtyFlags).propertyMeta(propertyMeta)
 				.build();
 
 		assertThat(wrapper.getTarget()).isSameAs(target);
-		assertThat(wrapper.getDirtyMap()).isSameAs(dirtyMap);
-		assertThat(Whitebox.getInternalState(wrapper, "setter")).isSameAs(setter);
+		assertThat(wrapper.getDirtyFlags()).isSameAs(dirtyFlags);
 		assertThat(Whitebox.getInternalState(wrapper, "propertyMeta")).isSameAs(propertyMeta);
 		assertThat(Whitebox.getInternalState(wrapper, "context")).isSameAs(context);
 
@@ -19,16 +19,13 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.wrapper.EntryIteratorWrapper;
-import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
-import java.lang.reflect.Method;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -37,10 +34,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class EntryIteratorWrapperBuilderTest {
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
-
-	private Method setter;
+	private BitSet dirtyFlags = new BitSet();
 
 	@Mock
 	private PropertyMeta propertyMeta;
@@ -48,11 +42,6 @@ public class EntryIteratorWrapperBuilderTest {
 	@Mock
 	private PersistenceContext context;
 
-	@Before
-	public void setUp() throws Exception {
-		setter = CompleteBean.class.getDeclaredMethod("setFriends", List.class);
-	}
-
 	@Test
 	public void should_build() throws Exception {
 		Map<Object, Object> map = new HashMap<Object, Object>();
@@ -61,10 +50,10 @@ public class EntryIteratorWrapperBuilderTest {
 		map.put(3, "75014");
 
 		Iterator<Entry<Object, Object>> target = map.entrySet().iterator();
-		EntryIteratorWrapper wrapper = EntryIteratorWrapperBuilder.builder(context, target).dirtyMap(dirtyMap)
-				.setter(setter).propertyMeta(propertyMeta).build();
+		EntryIteratorWrapper wrapper = EntryIteratorWrapperBuilder.builder(context, target).dirtyFlags(dirtyFlags)
+				.propertyMeta(propertyMeta).build();
 
-		assertThat(wrapper.getDirtyMap()).isSameAs(dirtyMap);
+		assertThat(wrapper.getDirtyFlags()).isSameAs(dirtyFlags);
 		assertThat(Whitebox.getInternalState(wrapper, "target")).isSameAs(target);
 		assertThat(Whitebox.getInternalState(wrapper, "propertyMeta")).isSameAs(propertyMeta);
 		assertThat(Whitebox.getInternalState(wrapper, "context")).isSameAs(context);
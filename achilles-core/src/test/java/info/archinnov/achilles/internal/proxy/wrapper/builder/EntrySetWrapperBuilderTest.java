@@ -19,11 +19,9 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.wrapper.EntrySetWrapper;
-import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
-import java.lang.reflect.Method;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.junit.Before;
@@ -35,10 +33,7 @@ import org.powermock.reflect.Whitebox;
 
 @RunWith(MockitoJUnitRunner.class)
 public class EntrySetWrapperBuilderTest {
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
-
-	private Method setter;
+	private BitSet dirtyFlags = new BitSet();
 
 	@Mock
 	private PropertyMeta propertyMeta;
@@ -48,7 +43,6 @@ public class EntrySetWrapperBuilderTest {
 
 	@Before
 	public void setUp() throws Exception {
-		setter = CompleteBean.class.getDeclaredMethod("setFriends", List.class);
 
 	}
 
@@ -59,12 +53,11 @@ public class EntrySetWrapperBuilderTest {
 		target.put(2, "Paris");
 		target.put(3, "75014");
 
-		EntrySetWrapper wrapper = EntrySetWrapperBuilder.builder(context, target.entrySet()).dirtyMap(dirtyMap)
-				.setter(setter).propertyMeta(propertyMeta).build();
+		EntrySetWrapper wrapper = EntrySetWrapperBuilder.builder(context, target.entrySet()).dirtyFlags(dirtyFlags)
+				.propertyMeta(propertyMeta).build();
 
-		assertThat(wrapper.getDirtyMap()).isSameAs(dirtyMap);
+		assertThat(wrapper.getDirtyFlags()).isSameAs(dirtyFlags);
 		assertThat(Whitebox.getInternalState(wrapper, "target")).isSameAs(target.entrySet());
-		assertThat(Whitebox.getInternalState(wrapper, "setter")).isSameAs(setter);
 		assertThat(Whitebox.getInternalState(wrapper, "propertyMeta")).isSameAs(propertyMeta);
 		assertThat(Whitebox.getInternalState(wrapper, "context")).isSameAs(context);
 
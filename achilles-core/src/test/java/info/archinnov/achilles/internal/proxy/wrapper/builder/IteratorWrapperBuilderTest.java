@@ -19,15 +19,12 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.wrapper.IteratorWrapper;
-import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
-import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -36,10 +33,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class IteratorWrapperBuilderTest {
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
-
-	private Method setter;
+	private BitSet dirtyFlags = new BitSet();
 
 	@Mock
 	private PropertyMeta propertyMeta;
@@ -47,11 +41,6 @@ public class IteratorWrapperBuilderTest {
 	@Mock
 	private PersistenceContext context;
 
-	@Before
-	public void setUp() throws Exception {
-		setter = CompleteBean.class.getDeclaredMethod("setFriends", List.class);
-	}
-
 	@Test
 	public void should_build() throws Exception {
 		List<Object> target = new ArrayList<Object>();
@@ -60,12 +49,11 @@ public class IteratorWrapperBuilderTest {
 		Iterator<Object> iterator = target.iterator();
 		IteratorWrapper wrapper = IteratorWrapperBuilder
 				//
-				.builder(context, iterator).dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
+				.builder(context, iterator).dirtyFlags(dirtyFlags).propertyMeta(propertyMeta)
 				.build();
 
 		assertThat(Whitebox.getInternalState(wrapper, "target")).isSameAs(iterator);
-		assertThat(wrapper.getDirtyMap()).isSameAs(dirtyMap);
-		assertThat(Whitebox.getInternalState(wrapper, "setter")).isSameAs(setter);
+		assertThat(wrapper.getDirtyFlags()).isSameAs(dirtyFlags);
 		assertThat(Whitebox.getInternalState(wrapper, "propertyMeta")).isSameAs(propertyMeta);
 		assertThat(Whitebox.getInternalState(wrapper, "context")).isSameAs(context);
 
@@ -19,14 +19,11 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.wrapper.ValueCollectionWrapper;
-import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
-import java.lang.reflect.Method;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 
-import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -35,10 +32,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class KeySetWrapperBuilderTest {
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
-
-	private Method setter;
+	private BitSet dirtyFlags = new BitSet();
 
 	@Mock
 	private PersistenceContext context;
@@ -46,11 +40,6 @@ public class KeySetWrapperBuilderTest {
 	@Mock
 	private PropertyMeta propertyMeta;
 
-	@Before
-	public void setUp() throws Exception {
-		setter = CompleteBean.class.getDeclaredMethod("setFollowers", Set.class);
-	}
-
 	@Test
 	public void should_build() throws Exception {
 		Map<Object, Object> targetMap = new HashMap<Object, Object>();
@@ -59,12 +48,11 @@ public class KeySetWrapperBuilderTest {
 		targetMap.put(3, "75014");
 
 		ValueCollectionWrapper wrapper = ValueCollectionWrapperBuilder.builder(context, targetMap.values())
-				.dirtyMap(dirtyMap).setter(setter).propertyMeta(propertyMeta)
+				.dirtyFlags(dirtyFlags).propertyMeta(propertyMeta)
 				.build();
 
 		assertThat(wrapper.getTarget()).isSameAs(targetMap.values());
-		assertThat(wrapper.getDirtyMap()).isSameAs(dirtyMap);
-		assertThat(Whitebox.getInternalState(wrapper, "setter")).isSameAs(setter);
+		assertThat(wrapper.getDirtyFlags()).isSameAs(dirtyFlags);
 		assertThat(Whitebox.getInternalState(wrapper, "propertyMeta")).isSameAs(propertyMeta);
 		assertThat(Whitebox.getInternalState(wrapper, "context")).isSameAs(context);
 
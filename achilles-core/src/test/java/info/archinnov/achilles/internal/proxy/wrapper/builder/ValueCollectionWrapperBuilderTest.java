@@ -20,14 +20,11 @@ import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.internal.proxy.wrapper.KeySetWrapper;
-import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
-import java.lang.reflect.Method;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 
-import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -36,10 +33,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ValueCollectionWrapperBuilderTest {
-	@Mock
-	private Map<Method, PropertyMeta> dirtyMap;
-
-	private Method setter;
+	private BitSet dirtyFlags = new BitSet();
 
 	@Mock
 	private PropertyMeta propertyMeta;
@@ -50,11 +44,6 @@ public class ValueCollectionWrapperBuilderTest {
 	@Mock
 	private PersistenceContext context;
 
-	@Before
-	public void setUp() throws Exception {
-		setter = CompleteBean.class.getDeclaredMethod("setFollowers", Set.class);
-	}
-
 	@Test
 	public void should_build() throws Exception {
 		Map<Object, Object> targetMap = new HashMap<Object, Object>();
@@ -63,12 +52,11 @@ public class ValueCollectionWrapperBuilderTest {
 		targetMap.put(3, "75014");
 
 		KeySetWrapper wrapper = KeySetWrapperBuilder
-				.builder(context, targetMap.keySet()).dirtyMap(dirtyMap).setter(setter)
+				.builder(context, targetMap.keySet()).dirtyFlags(dirtyFlags)
 				.propertyMeta((PropertyMeta) propertyMeta).build();
 
 		assertThat(wrapper.getTarget()).isSameAs(targetMap.keySet());
-		assertThat(wrapper.getDirtyMap()).isSameAs(dirtyMap);
-		assertThat(Whitebox.getInternalState(wrapper, "setter")).isSameAs(setter);
+		assertThat(wrapper.getDirtyFlags()).isSameAs(dirtyFlags);
 		assertThat(Whitebox.getInternalState(wrapper, "propertyMeta")).isSameAs(propertyMeta);
 		assertThat(Whitebox.getInternalState(wrapper, "context")).isSameAs(context);
 
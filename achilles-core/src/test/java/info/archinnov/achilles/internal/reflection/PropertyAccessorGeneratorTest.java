@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.reflection;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyType;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.Counter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.Row;
+import com.google.common.collect.ImmutableMap;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PropertyAccessorGeneratorTest {
+
+	private PropertyAccessorGenerator generator = new PropertyAccessorGenerator();
+
+	@Mock
+	private Row row;
+
+	@Test
+	public void should_generate_accessor_for_simple_property() throws Exception {
+		// Given
+		PropertyMeta pm = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+		CompleteBean entity = new CompleteBean();
+
+		// When
+		when(row.getString("name")).thenReturn("john");
+		PropertyAccessor accessor = generator.generateAccessor(pm);
+		accessor.setValueToField(entity, accessor.readFromRow(row));
+
+		// Then
+		assertThat(accessor.canReadFromRow()).isTrue();
+		assertThat(accessor.getColumnName()).isEqualTo("name");
+		assertThat(entity.getName()).isEqualTo("john");
+	}
+
+	@Test
+	public void should_generate_accessor_reading_simple_property_by_index() throws Exception {
+		// Given
+		PropertyMeta pm = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+
+		// When
+		when(row.getString(2)).thenReturn("john");
+		PropertyAccessor accessor = generator.generateAccessor(pm);
+
+		// Then
+		assertThat(accessor.canReadFromRowByIndex()).isTrue();
+		assertThat(accessor.readFromRow(row, 2)).isEqualTo("john");
+	}
+
+	@Test
+	public void should_generate_accessor_reading_embedded_id_components_by_index() throws Exception {
+		// Given
+		PropertyMeta pm = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id")
+				.type(PropertyType.EMBEDDED_ID).compNames("userId", "name").compClasses(Long.class, String.class)
+				.build();
+
+		// When
+		when(row.getLong(1)).thenReturn(10L);
+		when(row.getString(2)).thenReturn("john");
+		PropertyAccessor accessor = generator.generateAccessor(pm);
+
+		// Then
+		assertThat(accessor.canReadFromRowByIndex()).isTrue();
+		assertThat(accessor.readComponentsFromRow(row, 1)).containsExactly(10L, "john");
+	}
+
+	@Test
+	public void should_generate_accessor_for_list_property() throws Exception {
+		// Given
+		PropertyMeta pm = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.type(PropertyType.LIST).build();
+		List<String> friends = Arrays.asList("foo", "bar");
+
+		// When
+		when(row.getList("friends", String.class)).thenReturn(friends);
+		PropertyAccessor accessor = generator.generateAccessor(pm);
+
+		// Then
+		assertThat(accessor.readFromRow(row)).isSameAs(friends);
+	}
+
+	@Test
+	public void should_generate_accessor_for_map_property() throws Exception {
+		// Given
+		PropertyMeta pm = PropertyMetaTestBuilder.completeBean(Integer.class, String.class).field("preferences")
+				.type(PropertyType.MAP).build();
+		Map<Integer, String> preferences = ImmutableMap.of(1, "FR");
+
+		// When
+		when(row.getMap("preferences", Integer.class, String.class)).thenReturn(preferences);
+		PropertyAccessor accessor = generator.generateAccessor(pm);
+
+		// Then
+		assertThat(accessor.readFromRow(row)).isSameAs(preferences);
+	}
+
+	@Test
+	public void should_generate_accessor_without_row_getter_for_counter() throws Exception {
+		// Given
+		PropertyMeta pm = PropertyMetaTestBuilder.completeBean(Void.class, Counter.class).field("count")
+				.type(PropertyType.COUNTER).build();
+
+		// When
+		PropertyAccessor accessor = generator.generateAccessor(pm);
+
+		// Then
+		assertThat(accessor.canReadFromRow()).isFalse();
+	}
+
+	@Test
+	public void should_generate_accessors_for_entity() throws Exception {
+		// Given
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id")
+				.type(PropertyType.ID).build();
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+		EntityMeta meta = new EntityMeta();
+		meta.setPropertyMetas(ImmutableMap.of("id", idMeta, "name", nameMeta));
+		CompleteBean entity = new CompleteBean();
+
+		// When
+		generator.generateAccessors(meta);
+		idMeta.setValueToField(entity, 10L);
+
+		// Then
+		assertThat(idMeta.getPropertyAccessor()).isNotNull();
+		assertThat(nameMeta.getPropertyAccessor()).isNotNull();
+		assertThat(entity.getId()).isEqualTo(10L);
+	}
+}
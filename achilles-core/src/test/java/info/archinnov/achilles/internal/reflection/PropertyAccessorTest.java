@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.reflection;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class PropertyAccessorTest {
+
+	private static final List<MethodHandle> NO_GETTERS = Collections.emptyList();
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void should_exception_when_setting_null_to_primitive_field() throws Exception {
+		PropertyAccessor accessor = new PropertyAccessor("age", long.class, CompleteBean.class, "age", null, null,
+				null, NO_GETTERS);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot set null value to primitive type 'long' of field 'age'");
+
+		accessor.setValueToField(new CompleteBean(), null);
+	}
+
+	@Test
+	public void should_not_set_value_on_null_target() throws Exception {
+		PropertyAccessor accessor = new PropertyAccessor("name", String.class, CompleteBean.class, "name", null,
+				null, null, NO_GETTERS);
+
+		accessor.setValueToField(null, "john");
+	}
+}
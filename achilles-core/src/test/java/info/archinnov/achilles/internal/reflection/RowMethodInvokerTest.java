@@ -16,6 +16,8 @@
 package info.archinnov.achilles.internal.reflection;
 
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
@@ -75,6 +77,8 @@ public class RowMethodInvokerTest {
 		when(pm.getPropertyName()).thenReturn("property");
 		when(pm.<Integer> getKeyClass()).thenReturn(Integer.class);
 		when(pm.<String> getValueClass()).thenReturn(String.class);
+		doReturn(Integer.class).when(pm).getCQLKeyClass();
+		doReturn(String.class).when(pm).getCQLValueClass();
 		when(row.isNull("property")).thenReturn(false);
 		when(pm.getComponentNames()).thenReturn(compNames);
 		when(pm.getComponentClasses()).thenReturn(compClasses);
@@ -93,6 +97,21 @@ public class RowMethodInvokerTest {
 		assertThat((List) actual).containsAll(list);
 	}
 
+	@Test
+	public void should_get_value_from_row_with_property_accessor() throws Exception {
+		PropertyAccessor accessor = mock(PropertyAccessor.class);
+		when(pm.getPropertyAccessor()).thenReturn(accessor);
+		when(pm.type()).thenReturn(PropertyType.SIMPLE);
+		when(accessor.canReadFromRow()).thenReturn(true);
+		when(accessor.getColumnName()).thenReturn("property");
+		when(accessor.readFromRow(row)).thenReturn("value");
+		when(pm.decode("value")).thenReturn("decoded");
+
+		Object actual = invoker.invokeOnRowForFields(row, pm);
+
+		assertThat(actual).isEqualTo("decoded");
+	}
+
 	@Test
 	public void should_return_null_when_get_value_from_null_row() throws Exception {
 		assertThat(invoker.invokeOnRowForFields(null, pm)).isNull();
@@ -26,6 +26,7 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.metadata.holder.ColumnIndexPlan;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
@@ -112,6 +113,39 @@ public class StatementGeneratorTest {
 		assertThat(statement.getQueryString()).isEqualTo("SELECT id,a,b,age,name,label FROM table;");
 	}
 
+	@Test
+	public void should_create_token_range_select_statement_for_entity_simple_id() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id");
+
+		RegularStatement statement = generator.generateSelectTokenRange(meta);
+
+		assertThat(statement.getQueryString()).isEqualTo(
+				"SELECT id,age,name,label FROM table WHERE token(id)>? AND token(id)<=?;");
+	}
+
+	@Test
+	public void should_create_token_range_select_statement_for_entity_compound_id() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id", "a", "b");
+
+		RegularStatement statement = generator.generateSelectTokenRange(meta);
+
+		assertThat(statement.getQueryString()).isEqualTo(
+				"SELECT id,a,b,age,name,label FROM table WHERE token(id)>? AND token(id)<=?;");
+	}
+
+	@Test
+	public void should_build_slice_select_column_plan_for_compound_id() throws Exception {
+		EntityMeta meta = prepareEntityMeta("id", "a", "b");
+
+		ColumnIndexPlan plan = generator.buildSliceSelectColumnPlan(meta);
+
+		assertThat(plan.size()).isEqualTo(4);
+		assertThat(plan.getColumnCount()).isEqualTo(6);
+		assertThat(plan.getPropertyMeta(0)).isSameAs(meta.getIdMeta());
+		assertThat(plan.getColumnIndex(1)).isEqualTo(3);
+		assertThat(plan.getColumnIndex(3)).isEqualTo(5);
+	}
+
 	@Test
 	public void should_generate_slice_select_query() throws Exception {
 		EntityMeta meta = prepareEntityMeta("id", "comp1", "comp2");
@@ -15,7 +15,13 @@
  */
 package info.archinnov.achilles.internal.statement.cache;
 
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.APPEND_TO_LIST;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.STATEMENT_PREPARATION;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.context.PersistenceContext;
@@ -23,27 +29,29 @@ import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGenerator;
+import info.archinnov.achilles.metrics.AchillesMetrics;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
 import java.util.Arrays;
 import java.util.List;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
 
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
 import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CacheManagerTest {
-	@InjectMocks
 	private CacheManager manager;
 
 	@Mock
@@ -61,9 +69,18 @@ public class CacheManagerTest {
 	@Mock
 	private PreparedStatement ps;
 
+	@Mock
+	private AchillesMetrics metrics;
+
 	@Captor
 	ArgumentCaptor<StatementCacheKey> cacheKeyCaptor;
 
+	@Before
+	public void setUp() {
+		manager = new CacheManager(metrics);
+		Whitebox.setInternalState(manager, PreparedStatementGenerator.class, generator);
+	}
+
 	@Test
 	public void should_get_cache_for_simple_field() throws Exception {
 		EntityMeta meta = new EntityMeta();
@@ -84,6 +101,7 @@ public class CacheManagerTest {
 		assertThat(cacheKey.getTableName()).isEqualTo("table");
 		assertThat(cacheKey.getType()).isEqualTo(CacheType.SELECT_FIELD);
 		assertThat(cacheKey.getFields()).containsExactly("name");
+		verify(metrics).recordStatementCacheAccess(true);
 	}
 
 	@Test
@@ -123,6 +141,35 @@ public class CacheManagerTest {
 		assertThat(actual).isSameAs(ps);
 		StatementCacheKey cacheKey = cacheKeyCaptor.getValue();
 		verify(cache).put(cacheKey, ps);
+		verify(metrics).recordStatementCacheAccess(false);
+		verify(metrics).recordLatency(eq(CompleteBean.class), eq(STATEMENT_PREPARATION), anyLong());
+	}
+
+	@Test
+	public void should_prepare_and_cache_fields_select() throws Exception {
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+
+		PropertyMeta ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("age")
+				.type(PropertyType.SIMPLE).build();
+
+		List<PropertyMeta> pms = Arrays.asList(nameMeta, ageMeta);
+		when(context.<CompleteBean> getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(cache.getIfPresent(cacheKeyCaptor.capture())).thenReturn(null);
+		when(generator.prepareSelectFieldsPS(session, meta, pms)).thenReturn(ps);
+
+		PreparedStatement actual = manager.getCacheForFieldsSelect(session, cache, context, pms);
+
+		assertThat(actual).isSameAs(ps);
+		StatementCacheKey cacheKey = cacheKeyCaptor.getValue();
+		assertThat(cacheKey.getType()).isEqualTo(CacheType.SELECT_FIELDS);
+		assertThat(cacheKey.getFields()).containsOnly("name", "age");
+		verify(cache).put(cacheKey, ps);
+		verify(metrics).recordStatementCacheAccess(false);
 	}
 
 	@Test
@@ -151,6 +198,69 @@ public class CacheManagerTest {
 		assertThat(cacheKey.getFields()).containsOnly("name", "age");
 	}
 
+	@Test
+	public void should_prepare_and_cache_collection_update() throws Exception {
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+
+		PropertyMeta friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends")
+				.type(PropertyType.LIST).build();
+
+		when(context.<CompleteBean> getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(cache.getIfPresent(cacheKeyCaptor.capture())).thenReturn(null);
+		when(generator.prepareCollectionUpdate(session, meta, friendsMeta, APPEND_TO_LIST, true)).thenReturn(ps);
+
+		PreparedStatement actual = manager.getCacheForCollectionUpdate(session, cache, context, friendsMeta,
+				APPEND_TO_LIST, true);
+
+		assertThat(actual).isSameAs(ps);
+		StatementCacheKey cacheKey = cacheKeyCaptor.getValue();
+		assertThat(cacheKey.getType()).isEqualTo(CacheType.UPDATE_COLLECTION_WITH_TIMESTAMP);
+		assertThat(cacheKey.getFields()).containsOnly("APPEND_TO_LIST:friends");
+		verify(cache).put(cacheKey, ps);
+	}
+
+	@Test
+	public void should_get_cache_for_query() throws Exception {
+		Cache<String, PreparedStatement> queryPSCache = CacheBuilder.newBuilder().build();
+		when(session.prepare("SELECT * FROM table")).thenReturn(ps);
+
+		PreparedStatement actual = manager.getCacheForQuery(session, queryPSCache, "SELECT * FROM table");
+		PreparedStatement cached = manager.getCacheForQuery(session, queryPSCache, "SELECT * FROM table");
+
+		assertThat(actual).isSameAs(ps);
+		assertThat(cached).isSameAs(ps);
+		verify(session, times(1)).prepare("SELECT * FROM table");
+		verify(metrics).recordStatementCacheAccess(false);
+		verify(metrics).recordStatementCacheAccess(true);
+		verify(metrics, times(1)).recordLatency(isNull(Class.class), eq(STATEMENT_PREPARATION), anyLong());
+	}
+
+	@Test
+	public void should_get_cache_for_fields_update_with_timestamp() throws Exception {
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+
+		List<PropertyMeta> pms = Arrays.asList(nameMeta);
+
+		when(context.<CompleteBean> getEntityClass()).thenReturn(CompleteBean.class);
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(cache.getIfPresent(cacheKeyCaptor.capture())).thenReturn(null);
+		when(generator.prepareUpdateFieldsWithTimestamp(session, meta, pms)).thenReturn(ps);
+
+		PreparedStatement actual = manager.getCacheForFieldsUpdateWithTimestamp(session, cache, context, pms);
+
+		assertThat(actual).isSameAs(ps);
+		StatementCacheKey cacheKey = cacheKeyCaptor.getValue();
+		assertThat(cacheKey.getType()).isEqualTo(CacheType.UPDATE_FIELDS_WITH_TIMESTAMP);
+		assertThat(cacheKey.getFields()).containsOnly("name");
+		verify(cache).put(cacheKey, ps);
+	}
+
 	@Test
 	public void should_generate_update_prepared_statement_when_not_found_in_cache() throws Exception {
 		EntityMeta meta = new EntityMeta();
@@ -21,6 +21,9 @@ import static info.archinnov.achilles.internal.metadata.holder.PropertyType.LIST
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.MAP;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SET;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.APPEND_TO_LIST;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.REMOVE_FROM_MAP;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.SET_TO_LIST_AT_INDEX;
 import static info.archinnov.achilles.test.builders.PropertyMetaTestBuilder.completeBean;
 import static info.archinnov.achilles.type.ConsistencyLevel.ALL;
 import static java.util.Arrays.asList;
@@ -32,6 +35,7 @@ import static org.mockito.Mockito.when;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.transcoding.DataTranscoder;
+import info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChange;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
@@ -63,6 +67,7 @@ import com.google.common.collect.Sets;
 @RunWith(MockitoJUnitRunner.class)
 public class PreparedStatementBinderTest {
 	private final Optional<Integer> ttlO = Optional.fromNullable(null);
+	private final Optional<Long> timestampO = Optional.absent();
 
 	@InjectMocks
 	private PreparedStatementBinder binder;
@@ -120,12 +125,41 @@ public class PreparedStatementBinderTest {
 
 		when(ps.bind(Matchers.<Object> anyVararg())).thenReturn(bs);
 
-		BoundStatementWrapper actual = binder.bindForInsert(ps, entityMeta, entity, ALL, ttlO);
+		BoundStatementWrapper actual = binder.bindForInsert(ps, entityMeta, entity, ALL, ttlO, timestampO);
 
 		verify(bs).setConsistencyLevel(com.datastax.driver.core.ConsistencyLevel.ALL);
 		assertThat(asList(actual.getValues())).containsExactly(primaryKey, name, age, 0);
 	}
 
+	@Test
+	public void should_bind_for_insert_with_ttl_and_timestamp() throws Exception {
+		long primaryKey = new Random().nextLong();
+		String name = "name";
+
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").accessors().type(ID)
+				.transcoder(transcoder).invoker(invoker).build();
+
+		PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").type(SIMPLE).accessors()
+				.transcoder(transcoder).invoker(invoker).build();
+
+		entityMeta.setIdMeta(idMeta);
+		entityMeta.setAllMetasExceptIdAndCounters(asList(nameMeta));
+		entityMeta.setClusteredCounter(false);
+
+		when(invoker.getPrimaryKey(entity, idMeta)).thenReturn(primaryKey);
+		when(invoker.getValueFromField(entity, nameMeta.getField())).thenReturn(name);
+
+		when(transcoder.encode(idMeta, primaryKey)).thenReturn(primaryKey);
+		when(transcoder.encode(nameMeta, name)).thenReturn(name);
+
+		when(ps.bind(Matchers.<Object> anyVararg())).thenReturn(bs);
+
+		BoundStatementWrapper actual = binder.bindForInsert(ps, entityMeta, entity, ALL, Optional.fromNullable(10),
+				Optional.fromNullable(100L));
+
+		assertThat(asList(actual.getValues())).containsExactly(primaryKey, name, 10, 100L);
+	}
+
 	@Test
 	public void should_bind_for_insert_with_null_fields() throws Exception {
 		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").accessors().type(ID)
@@ -153,7 +187,7 @@ public class PreparedStatementBinderTest {
 
 		when(ps.bind(Matchers.<Object> anyVararg())).thenReturn(bs);
 
-		BoundStatementWrapper actual = binder.bindForInsert(ps, entityMeta, entity, ALL, ttlO);
+		BoundStatementWrapper actual = binder.bindForInsert(ps, entityMeta, entity, ALL, ttlO, timestampO);
 
 		verify(bs).setConsistencyLevel(ConsistencyLevel.ALL);
 		assertThat(asList(actual.getValues())).containsExactly(primaryKey, name, null, 0);
@@ -203,7 +237,7 @@ public class PreparedStatementBinderTest {
 
 		when(ps.bind(Matchers.<Object> anyVararg())).thenReturn(bs);
 
-		BoundStatementWrapper actual = binder.bindForInsert(ps, entityMeta, entity, ALL, ttlO);
+		BoundStatementWrapper actual = binder.bindForInsert(ps, entityMeta, entity, ALL, ttlO, timestampO);
 
 		verify(bs).setConsistencyLevel(ConsistencyLevel.ALL);
 		assertThat(asList(actual.getValues())).containsExactly(userId, name, age, friends, followers, preferences, 0);
@@ -254,12 +288,113 @@ public class PreparedStatementBinderTest {
 		when(ps.bind(Matchers.<Object> anyVararg())).thenReturn(bs);
 
 		BoundStatementWrapper actual = binder.bindForUpdate(ps, entityMeta, asList(nameMeta, ageMeta), entity, ALL,
-				ttlO);
+				ttlO, timestampO);
 
 		verify(bs).setConsistencyLevel(ConsistencyLevel.ALL);
 		assertThat(asList(actual.getValues())).containsExactly(0, name, age, primaryKey);
 	}
 
+	@Test
+	public void should_bind_for_update_with_ttl_and_timestamp() throws Exception {
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").accessors().type(ID)
+				.transcoder(transcoder).invoker(invoker).build();
+
+		PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").accessors().type(SIMPLE)
+				.transcoder(transcoder).invoker(invoker).build();
+
+		entityMeta.setIdMeta(idMeta);
+
+		long primaryKey = new Random().nextLong();
+		String name = "name";
+
+		when(invoker.getPrimaryKey(entity, idMeta)).thenReturn(primaryKey);
+		when(invoker.getValueFromField(entity, nameMeta.getField())).thenReturn(name);
+
+		when(transcoder.encode(idMeta, primaryKey)).thenReturn(primaryKey);
+		when(transcoder.encode(nameMeta, name)).thenReturn(name);
+
+		when(ps.bind(Matchers.<Object> anyVararg())).thenReturn(bs);
+
+		BoundStatementWrapper actual = binder.bindForUpdate(ps, entityMeta, asList(nameMeta), entity, ALL,
+				Optional.fromNullable(10), Optional.fromNullable(100L));
+
+		assertThat(asList(actual.getValues())).containsExactly(10, 100L, name, primaryKey);
+	}
+
+	@Test
+	public void should_bind_for_collection_append() throws Exception {
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").accessors().type(ID)
+				.transcoder(transcoder).invoker(invoker).build();
+
+		PropertyMeta friendsMeta = completeBean(Void.class, String.class).field("friends").accessors().type(LIST)
+				.transcoder(transcoder).invoker(invoker).build();
+
+		entityMeta.setIdMeta(idMeta);
+
+		long primaryKey = new Random().nextLong();
+		List<Object> appended = Arrays.<Object> asList("George");
+		CollectionChange change = new CollectionChange(APPEND_TO_LIST, appended);
+
+		when(invoker.getPrimaryKey(entity, idMeta)).thenReturn(primaryKey);
+		when(transcoder.encode(idMeta, primaryKey)).thenReturn(primaryKey);
+		when(transcoder.encode(friendsMeta, appended)).thenReturn(appended);
+		when(ps.bind(Matchers.<Object> anyVararg())).thenReturn(bs);
+
+		BoundStatementWrapper actual = binder.bindForCollectionUpdate(ps, entityMeta, friendsMeta, change, entity,
+				ALL, Optional.fromNullable(10), Optional.fromNullable(100L));
+
+		verify(bs).setConsistencyLevel(ConsistencyLevel.ALL);
+		assertThat(asList(actual.getValues())).containsExactly(10, 100L, appended, primaryKey);
+	}
+
+	@Test
+	public void should_bind_for_list_set_at_index() throws Exception {
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").accessors().type(ID)
+				.transcoder(transcoder).invoker(invoker).build();
+
+		PropertyMeta friendsMeta = completeBean(Void.class, String.class).field("friends").accessors().type(LIST)
+				.transcoder(transcoder).invoker(invoker).build();
+
+		entityMeta.setIdMeta(idMeta);
+
+		long primaryKey = new Random().nextLong();
+		CollectionChange change = new CollectionChange(SET_TO_LIST_AT_INDEX, 2, "Paul");
+
+		when(invoker.getPrimaryKey(entity, idMeta)).thenReturn(primaryKey);
+		when(transcoder.encode(idMeta, primaryKey)).thenReturn(primaryKey);
+		when(transcoder.encode(friendsMeta, (Object) "Paul")).thenReturn("Paul");
+		when(ps.bind(Matchers.<Object> anyVararg())).thenReturn(bs);
+
+		BoundStatementWrapper actual = binder.bindForCollectionUpdate(ps, entityMeta, friendsMeta, change, entity,
+				ALL, ttlO, timestampO);
+
+		assertThat(asList(actual.getValues())).containsExactly(0, 2, "Paul", primaryKey);
+	}
+
+	@Test
+	public void should_bind_for_map_key_removal() throws Exception {
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").accessors().type(ID)
+				.transcoder(transcoder).invoker(invoker).build();
+
+		PropertyMeta preferencesMeta = completeBean(Integer.class, String.class).field("preferences").accessors()
+				.type(MAP).transcoder(transcoder).invoker(invoker).build();
+
+		entityMeta.setIdMeta(idMeta);
+
+		long primaryKey = new Random().nextLong();
+		CollectionChange change = new CollectionChange(REMOVE_FROM_MAP, 3, null);
+
+		when(invoker.getPrimaryKey(entity, idMeta)).thenReturn(primaryKey);
+		when(transcoder.encode(idMeta, primaryKey)).thenReturn(primaryKey);
+		when(transcoder.encodeKey(preferencesMeta, 3)).thenReturn(3);
+		when(ps.bind(Matchers.<Object> anyVararg())).thenReturn(bs);
+
+		BoundStatementWrapper actual = binder.bindForCollectionUpdate(ps, entityMeta, preferencesMeta, change, entity,
+				ALL, ttlO, timestampO);
+
+		assertThat(asList(actual.getValues())).containsExactly(3, primaryKey);
+	}
+
 	@Test
 	public void should_bind_for_simple_counter_increment_decrement() throws Exception {
 		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").transcoder(transcoder).invoker(invoker)
@@ -275,12 +410,10 @@ public class PreparedStatementBinderTest {
 		Long primaryKey = new Random().nextLong();
 		Long counter = new Random().nextLong();
 
-		when(transcoder.forceEncodeToJSON(primaryKey)).thenReturn(primaryKey.toString());
-		when(transcoder.forceEncodeToJSON(counter)).thenReturn(counter.toString());
 		when(ps.bind(counter, "CompleteBean", primaryKey.toString(), "count")).thenReturn(bs);
 
-		BoundStatementWrapper actual = binder.bindForSimpleCounterIncrementDecrement(ps, meta, counterMeta, primaryKey,
-				counter, ALL);
+		BoundStatementWrapper actual = binder.bindForSimpleCounterIncrementDecrement(ps, meta, counterMeta,
+				primaryKey.toString(), counter, ALL);
 
 		verify(bs).setConsistencyLevel(ConsistencyLevel.ALL);
 		assertThat(asList(actual.getValues())).containsExactly(counter, "CompleteBean", primaryKey.toString(), "count");
@@ -300,15 +433,30 @@ public class PreparedStatementBinderTest {
 
 		Long primaryKey = new Random().nextLong();
 
-		when(transcoder.forceEncodeToJSON(primaryKey)).thenReturn(primaryKey.toString());
 		when(ps.bind("CompleteBean", primaryKey.toString(), "count")).thenReturn(bs);
 
-		BoundStatementWrapper actual = binder.bindForSimpleCounterSelect(ps, meta, counterMeta, primaryKey, ALL);
+		BoundStatementWrapper actual = binder.bindForSimpleCounterSelect(ps, meta, counterMeta, primaryKey.toString(),
+				ALL);
 
 		verify(bs).setConsistencyLevel(ConsistencyLevel.ALL);
 		assertThat(asList(actual.getValues())).containsExactly("CompleteBean", primaryKey.toString(), "count");
 	}
 
+	@Test
+	public void should_bind_for_simple_counters_select() throws Exception {
+		EntityMeta meta = new EntityMeta();
+		meta.setClassName("CompleteBean");
+
+		Long primaryKey = new Random().nextLong();
+
+		when(ps.bind("CompleteBean", primaryKey.toString())).thenReturn(bs);
+
+		BoundStatementWrapper actual = binder.bindForSimpleCountersSelect(ps, meta, primaryKey.toString(), ALL);
+
+		verify(bs).setConsistencyLevel(ConsistencyLevel.ALL);
+		assertThat(asList(actual.getValues())).containsExactly("CompleteBean", primaryKey.toString());
+	}
+
 	@Test
 	public void should_bind_for_simple_counter_delete() throws Exception {
 		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").transcoder(transcoder).invoker(invoker)
@@ -323,10 +471,10 @@ public class PreparedStatementBinderTest {
 
 		Long primaryKey = new Random().nextLong();
 
-		when(transcoder.forceEncodeToJSON(primaryKey)).thenReturn(primaryKey.toString());
 		when(ps.bind("CompleteBean", primaryKey.toString(), "count")).thenReturn(bs);
 
-		BoundStatementWrapper actual = binder.bindForSimpleCounterDelete(ps, meta, counterMeta, primaryKey, ALL);
+		BoundStatementWrapper actual = binder.bindForSimpleCounterDelete(ps, meta, counterMeta, primaryKey.toString(),
+				ALL);
 
 		verify(bs).setConsistencyLevel(ConsistencyLevel.ALL);
 		assertThat(asList(actual.getValues())).containsExactly("CompleteBean", primaryKey.toString(), "count");
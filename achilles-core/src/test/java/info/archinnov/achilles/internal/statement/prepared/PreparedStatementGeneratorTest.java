@@ -27,12 +27,16 @@ import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.SELEC
 import static info.archinnov.achilles.counter.AchillesCounter.ClusteredCounterStatement.DELETE_ALL;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.COUNTER;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.ID;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.APPEND_TO_LIST;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.REMOVE_FROM_MAP;
+import static info.archinnov.achilles.internal.proxy.dirtycheck.CollectionChangeType.SET_TO_LIST_AT_INDEX;
 import static info.archinnov.achilles.test.builders.PropertyMetaTestBuilder.completeBean;
 import static java.util.Arrays.asList;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
+import info.archinnov.achilles.internal.metadata.holder.ColumnIndexPlan;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
@@ -97,6 +101,26 @@ public class PreparedStatementGeneratorTest {
 		assertThat(queryCaptor.getValue()).isEqualTo("INSERT INTO table(id,name) VALUES (:id,:name) USING TTL :ttl;");
 	}
 
+	@Test
+	public void should_prepare_insert_with_timestamp_ps() throws Exception {
+
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").type(PropertyType.SIMPLE).build();
+
+		PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").type(PropertyType.SIMPLE).build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setIdMeta(idMeta);
+		meta.setTableName("table");
+		meta.setAllMetasExceptIdAndCounters(asList(nameMeta));
+		when(session.prepare(queryCaptor.capture())).thenReturn(ps);
+
+		PreparedStatement actual = generator.prepareInsertWithTimestampPS(session, meta);
+
+		assertThat(actual).isSameAs(ps);
+		assertThat(queryCaptor.getValue()).isEqualTo(
+				"INSERT INTO table(id,name) VALUES (:id,:name) USING TTL :ttl AND TIMESTAMP :timestamp;");
+	}
+
 	@Test
 	public void should_prepare_insert_ps_with_clustered_id() throws Exception {
 		List<PropertyMeta> allMetas = new ArrayList<PropertyMeta>();
@@ -140,6 +164,29 @@ public class PreparedStatementGeneratorTest {
 		assertThat(queryCaptor.getValue()).isEqualTo("SELECT name FROM table WHERE id=:id;");
 	}
 
+	@Test
+	public void should_prepare_select_fields_ps() throws Exception {
+
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").type(PropertyType.SIMPLE).build();
+
+		PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").type(PropertyType.SIMPLE).build();
+
+		PropertyMeta labelMeta = completeBean(Void.class, String.class).field("label").type(PropertyType.SIMPLE)
+				.build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+		meta.setIdMeta(idMeta);
+
+		when(session.prepare(queryCaptor.capture())).thenReturn(ps);
+
+		PreparedStatement actual = generator.prepareSelectFieldsPS(session, meta, asList(nameMeta, labelMeta));
+
+		assertThat(actual).isSameAs(ps);
+
+		assertThat(queryCaptor.getValue()).isEqualTo("SELECT name,label FROM table WHERE id=:id;");
+	}
+
 	@Test
 	public void should_prepare_select_field_ps_for_clustered_id() throws Exception {
 
@@ -182,6 +229,101 @@ public class PreparedStatementGeneratorTest {
 				"UPDATE table USING TTL :ttl SET name=:name,age=:age WHERE id=:id;");
 	}
 
+	@Test
+	public void should_prepare_update_fields_with_timestamp_ps() throws Exception {
+
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").type(PropertyType.SIMPLE).build();
+
+		PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").type(PropertyType.SIMPLE).build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+		meta.setIdMeta(idMeta);
+
+		when(session.prepare(queryCaptor.capture())).thenReturn(ps);
+
+		PreparedStatement actual = generator.prepareUpdateFieldsWithTimestamp(session, meta, asList(nameMeta));
+
+		assertThat(actual).isSameAs(ps);
+
+		assertThat(queryCaptor.getValue()).isEqualTo(
+				"UPDATE table USING TTL :ttl AND TIMESTAMP :timestamp SET name=:name WHERE id=:id;");
+	}
+
+	@Test
+	public void should_prepare_collection_append_ps() throws Exception {
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").type(PropertyType.SIMPLE).build();
+		PropertyMeta friendsMeta = completeBean(Void.class, String.class).field("friends").type(PropertyType.LIST)
+				.build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+		meta.setIdMeta(idMeta);
+
+		when(session.prepare(queryCaptor.capture())).thenReturn(ps);
+
+		PreparedStatement actual = generator.prepareCollectionUpdate(session, meta, friendsMeta, APPEND_TO_LIST,
+				false);
+
+		assertThat(actual).isSameAs(ps);
+		assertThat(queryCaptor.getValue()).isEqualTo(
+				"UPDATE table USING TTL :ttl SET friends=friends+:friends WHERE id=:id;");
+	}
+
+	@Test
+	public void should_prepare_collection_set_at_index_with_timestamp_ps() throws Exception {
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").type(PropertyType.SIMPLE).build();
+		PropertyMeta friendsMeta = completeBean(Void.class, String.class).field("friends").type(PropertyType.LIST)
+				.build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+		meta.setIdMeta(idMeta);
+
+		when(session.prepare(queryCaptor.capture())).thenReturn(ps);
+
+		generator.prepareCollectionUpdate(session, meta, friendsMeta, SET_TO_LIST_AT_INDEX, true);
+
+		assertThat(queryCaptor.getValue()).isEqualTo(
+				"UPDATE table USING TTL :ttl AND TIMESTAMP :timestamp SET friends[:listIndex]=:friends WHERE id=:id;");
+	}
+
+	@Test
+	public void should_prepare_collection_set_at_index_ps() throws Exception {
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").type(PropertyType.SIMPLE).build();
+		PropertyMeta friendsMeta = completeBean(Void.class, String.class).field("friends").type(PropertyType.LIST)
+				.build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+		meta.setIdMeta(idMeta);
+
+		when(session.prepare(queryCaptor.capture())).thenReturn(ps);
+
+		generator.prepareCollectionUpdate(session, meta, friendsMeta, SET_TO_LIST_AT_INDEX, false);
+
+		assertThat(queryCaptor.getValue()).isEqualTo(
+				"UPDATE table USING TTL :ttl SET friends[:listIndex]=:friends WHERE id=:id;");
+		assertThat(queryCaptor.getValue()).doesNotContain(":index");
+	}
+
+	@Test
+	public void should_prepare_map_key_removal_ps() throws Exception {
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").type(PropertyType.SIMPLE).build();
+		PropertyMeta preferencesMeta = completeBean(Integer.class, String.class).field("preferences")
+				.type(PropertyType.MAP).build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+		meta.setIdMeta(idMeta);
+
+		when(session.prepare(queryCaptor.capture())).thenReturn(ps);
+
+		generator.prepareCollectionUpdate(session, meta, preferencesMeta, REMOVE_FROM_MAP, false);
+
+		assertThat(queryCaptor.getValue()).isEqualTo("DELETE preferences[:key] FROM table WHERE id=:id;");
+	}
+
 	@Test
 	public void should_prepare_update_fields_with_clustered_id_ps() throws Exception {
 
@@ -266,6 +408,53 @@ public class PreparedStatementGeneratorTest {
 		assertThat(queryCaptor.getValue()).isEqualTo("SELECT id,a,b,name FROM table WHERE id=:id AND a=:a AND b=:b;");
 	}
 
+	@Test
+	public void should_prepare_select_eager_ps_without_lazy_properties() throws Exception {
+
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").type(PropertyType.ID).build();
+
+		PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").type(PropertyType.SIMPLE).build();
+
+		PropertyMeta labelMeta = completeBean(Void.class, String.class).field("label").type(PropertyType.SIMPLE)
+				.build();
+		labelMeta.setLazy(true);
+
+		EntityMeta meta = new EntityMeta();
+		meta.setTableName("table");
+		meta.setIdMeta(idMeta);
+		meta.setAllMetasExceptCounters(asList(idMeta, nameMeta, labelMeta));
+		meta.setClusteredCounter(false);
+
+		when(session.prepare(queryCaptor.capture())).thenReturn(ps);
+
+		PreparedStatement actual = generator.prepareSelectPS(session, meta);
+
+		assertThat(actual).isSameAs(ps);
+		assertThat(queryCaptor.getValue()).isEqualTo("SELECT id,name FROM table WHERE id=:id;");
+		assertThat(generator.buildSelectColumnPlan(meta).size()).isEqualTo(2);
+	}
+
+	@Test
+	public void should_build_select_column_plan() throws Exception {
+		PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").compNames("id", "a", "b")
+				.type(PropertyType.EMBEDDED_ID).build();
+
+		PropertyMeta nameMeta = completeBean(Void.class, String.class).field("name").type(PropertyType.SIMPLE).build();
+
+		EntityMeta meta = new EntityMeta();
+		meta.setIdMeta(idMeta);
+		meta.setAllMetasExceptCounters(asList(idMeta, nameMeta));
+		meta.setClusteredCounter(false);
+
+		ColumnIndexPlan plan = generator.buildSelectColumnPlan(meta);
+
+		assertThat(plan.size()).isEqualTo(2);
+		assertThat(plan.getColumnCount()).isEqualTo(4);
+		assertThat(plan.getColumnIndex(0)).isEqualTo(0);
+		assertThat(plan.getPropertyMeta(1)).isSameAs(nameMeta);
+		assertThat(plan.getColumnIndex(1)).isEqualTo(3);
+	}
+
 	@Test
 	public void should_remove_entity_having_single_key() throws Exception {
 
@@ -335,20 +524,22 @@ public class PreparedStatementGeneratorTest {
 		PreparedStatement incrPs = mock(PreparedStatement.class);
 		PreparedStatement decrPs = mock(PreparedStatement.class);
 		PreparedStatement selectPs = mock(PreparedStatement.class);
+		PreparedStatement selectAllPs = mock(PreparedStatement.class);
 		PreparedStatement deletePs = mock(PreparedStatement.class);
 
-		when(session.prepare(queryCaptor.capture())).thenReturn(incrPs, decrPs, selectPs, deletePs);
+		when(session.prepare(queryCaptor.capture())).thenReturn(incrPs, decrPs, selectPs, selectAllPs, deletePs);
 
 		Map<CQLQueryType, PreparedStatement> actual = generator.prepareSimpleCounterQueryMap(session);
 
 		assertThat(actual.get(INCR)).isSameAs(incrPs);
 		assertThat(actual.get(DECR)).isSameAs(decrPs);
 		assertThat(actual.get(SELECT)).isSameAs(selectPs);
+		assertThat(actual.get(CQLQueryType.SELECT_ALL)).isSameAs(selectAllPs);
 		assertThat(actual.get(DELETE)).isSameAs(deletePs);
 
 		List<String> queries = queryCaptor.getAllValues();
 
-		assertThat(queries).hasSize(4);
+		assertThat(queries).hasSize(5);
 		assertThat(queries.get(0)).isEqualTo(
 				"UPDATE " + CQL_COUNTER_TABLE + " SET " + CQL_COUNTER_VALUE + " = " + CQL_COUNTER_VALUE + " + ? WHERE "
 						+ CQL_COUNTER_FQCN + " = ? AND " + CQL_COUNTER_PRIMARY_KEY + " = ? AND "
@@ -361,6 +552,9 @@ public class PreparedStatementGeneratorTest {
 				"SELECT " + CQL_COUNTER_VALUE + " FROM " + CQL_COUNTER_TABLE + " WHERE " + CQL_COUNTER_FQCN
 						+ " = ? AND " + CQL_COUNTER_PRIMARY_KEY + " = ? AND " + CQL_COUNTER_PROPERTY_NAME + " = ?");
 		assertThat(queries.get(3)).isEqualTo(
+				"SELECT " + CQL_COUNTER_PROPERTY_NAME + "," + CQL_COUNTER_VALUE + " FROM " + CQL_COUNTER_TABLE
+						+ " WHERE " + CQL_COUNTER_FQCN + " = ? AND " + CQL_COUNTER_PRIMARY_KEY + " = ?");
+		assertThat(queries.get(4)).isEqualTo(
 				"DELETE FROM " + CQL_COUNTER_TABLE + " WHERE " + CQL_COUNTER_FQCN + " = ? AND "
 						+ CQL_COUNTER_PRIMARY_KEY + " = ? AND " + CQL_COUNTER_PROPERTY_NAME + " = ?");
 
@@ -58,6 +58,20 @@ public class BoundStatementWrapperTest {
         verify(session).execute(bs);
     }
 
+    @Test
+    public void should_execute_async() throws Exception {
+        //Given
+        wrapper = new BoundStatementWrapper(bs,new Object[]{1}, ConsistencyLevel.ONE);
+        when(bs.preparedStatement()).thenReturn(ps);
+        when(ps.getQueryString()).thenReturn("SELECT");
+
+        //When
+        wrapper.executeAsync(session);
+
+        //Then
+        verify(session).executeAsync(bs);
+    }
+
     @Test
     public void should_get_bound_statement() throws Exception {
         //Given
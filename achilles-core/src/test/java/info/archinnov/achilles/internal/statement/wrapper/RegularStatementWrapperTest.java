@@ -51,6 +51,18 @@ public class RegularStatementWrapperTest {
         verify(session).execute(rs);
     }
 
+    @Test
+    public void should_execute_async() throws Exception {
+        //Given
+        wrapper = new RegularStatementWrapper(rs,new Object[]{1}, ConsistencyLevel.ONE);
+
+        //When
+        wrapper.executeAsync(session);
+
+        //Then
+        verify(session).executeAsync(rs);
+    }
+
     @Test
     public void should_get_bound_statement() throws Exception {
         //Given
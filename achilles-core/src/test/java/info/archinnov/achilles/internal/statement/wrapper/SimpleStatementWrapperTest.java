@@ -49,6 +49,18 @@ public class SimpleStatementWrapperTest {
         verify(session).execute("SELECT",values);
     }
 
+    @Test
+    public void should_execute_async() throws Exception {
+        //Given
+        wrapper = new SimpleStatementWrapper("SELECT", values);
+
+        //When
+        wrapper.executeAsync(session);
+
+        //Then
+        verify(session).executeAsync("SELECT",values);
+    }
+
     @Test
     public void should_get_bound_statement() throws Exception {
         //Given
@@ -31,6 +31,7 @@ import static java.util.Arrays.asList;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import info.archinnov.achilles.codec.CompactBinaryCodec;
 import info.archinnov.achilles.exception.AchillesInvalidTableException;
 import info.archinnov.achilles.internal.metadata.holder.ClusteringComponents;
 import info.archinnov.achilles.internal.metadata.holder.EmbeddedIdProperties;
@@ -152,6 +153,37 @@ public class TableCreatorTest {
 						+ "\t) WITH COMMENT = 'Create table for entity \"entityName\"'");
 	}
 
+	@Test
+	public void should_create_table_with_codec_columns_as_blob() throws Exception {
+		PropertyMeta idMeta = PropertyMetaTestBuilder.valueClass(Long.class).type(ID).field("id").build();
+
+		PropertyMeta beanPM = PropertyMetaTestBuilder.valueClass(Bean.class).type(SIMPLE).field("bean").build();
+		beanPM.setCodec(new CompactBinaryCodec());
+
+		PropertyMeta beanListPM = PropertyMetaTestBuilder.valueClass(Bean.class).type(LIST).field("beanList")
+				.build();
+		beanListPM.setCodec(new CompactBinaryCodec());
+
+		PropertyMeta beanMapPM = PropertyMetaTestBuilder.keyValueClass(Integer.class, Bean.class).type(MAP)
+				.field("beanMap").build();
+		beanMapPM.setCodec(new CompactBinaryCodec());
+
+		meta = new EntityMeta();
+		meta.setAllMetasExceptIdAndCounters(asList(beanPM, beanListPM, beanMapPM));
+		meta.setIdMeta(idMeta);
+		meta.setTableName("tableName");
+		meta.setClassName("entityName");
+
+		creator.createTableForEntity(session, meta, true);
+
+		verify(session).execute(stringCaptor.capture());
+
+		assertThat(stringCaptor.getValue()).isEqualTo(
+				"\n\tCREATE TABLE tableName(\n" + "\t\tbean blob,\n" + "\t\tid bigint,\n"
+						+ "\t\tbeanList list<blob>,\n" + "\t\tbeanMap map<int,blob>,\n" + "\t\tPRIMARY KEY(id)\n"
+						+ "\t) WITH COMMENT = 'Create table for entity \"entityName\"'");
+	}
+
 	@Test
 	public void should_create_complete_table_with_clustering_order() throws Exception {
 		PropertyMeta idMeta = new PropertyMeta();
@@ -18,6 +18,16 @@ package info.archinnov.achilles.internal.utils;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -34,4 +44,71 @@ public class UUIDGenTest {
 			timestampInMicros = newTimestampInMicros;
 		}
 	}
+
+	@Test
+	public void should_generate_increasing_time_uuids() throws Exception {
+		UUID uuid = UUIDGen.getTimeUUID();
+		for (int i = 0; i < 1000; i++) {
+			UUID newUuid = UUIDGen.getTimeUUID();
+			assertThat(newUuid.version()).isEqualTo(1);
+			assertThat(newUuid.timestamp()).isGreaterThan(uuid.timestamp());
+			uuid = newUuid;
+		}
+	}
+
+	@Test
+	public void should_generate_distinct_microseconds_across_threads() throws Exception {
+		List<Long> all = generateConcurrently(new Callable<Long>() {
+			@Override
+			public Long call() {
+				return UUIDGen.increasingMicroTimestamp();
+			}
+		});
+
+		assertThat(new HashSet<>(all)).hasSize(all.size());
+	}
+
+	@Test
+	public void should_generate_distinct_time_uuids_across_threads() throws Exception {
+		List<UUID> all = generateConcurrently(new Callable<UUID>() {
+			@Override
+			public UUID call() {
+				return UUIDGen.getTimeUUID();
+			}
+		});
+
+		assertThat(new HashSet<>(all)).hasSize(all.size());
+	}
+
+	private <T> List<T> generateConcurrently(final Callable<T> generator) throws Exception {
+		final int threads = 8;
+		final int perThread = 10000;
+		final CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<List<T>>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(new Callable<List<T>>() {
+					@Override
+					public List<T> call() throws Exception {
+						List<T> values = new ArrayList<>(perThread);
+						start.await();
+						for (int j = 0; j < perThread; j++) {
+							values.add(generator.call());
+						}
+						return values;
+					}
+				}));
+			}
+			start.countDown();
+
+			List<T> all = new ArrayList<>(threads * perThread);
+			for (Future<List<T>> future : futures) {
+				all.addAll(future.get());
+			}
+			return all;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 }
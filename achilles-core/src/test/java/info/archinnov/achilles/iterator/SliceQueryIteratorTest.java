@@ -16,11 +16,16 @@
 package info.archinnov.achilles.iterator;
 
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.metadata.holder.ColumnIndexPlan;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.persistence.operations.EntityMapper;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
@@ -38,7 +43,9 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
 
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.MoreExecutors;
 
 @RunWith(MockitoJUnitRunner.class)
 public class SliceQueryIteratorTest {
@@ -63,9 +70,15 @@ public class SliceQueryIteratorTest {
 	@Mock
 	private Iterator<Row> iterator;
 
+	@Mock
+	private ResultSet resultSet;
+
 	@Mock
 	private EntityMeta meta;
 
+	@Mock
+	private ColumnIndexPlan columnPlan;
+
 	private int batchSize = 99;
 
 	@Before
@@ -101,19 +114,123 @@ public class SliceQueryIteratorTest {
 
 		when(meta.<ClusteredEntity> getEntityClass()).thenReturn(ClusteredEntity.class);
 		when(meta.instanciate()).thenReturn(entity);
+		when(meta.getSliceSelectColumnPlan()).thenReturn(columnPlan);
 
 		when(iterator.next()).thenReturn(row);
 
 		when(cqlInvoker.invokeOnRowForType(row, String.class, "name")).thenReturn("name1");
 
 		when(context.duplicate(entity)).thenReturn(context);
-		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context)).thenReturn(entity);
+		when(proxifier.buildProxyWithEagerFieldsLoaded(entity, context)).thenReturn(entity);
+
+		ClusteredEntity actual = sliceIterator.next();
+
+		assertThat(actual).isSameAs(entity);
+		verify(meta).intercept(entity, Event.POST_LOAD);
+		verify(mapper).setNonCounterPropertiesToEntity(row, meta, columnPlan, entity);
+	}
+
+	@Test
+	public void should_get_next_detached_clustered_entity() throws Exception {
+		ClusteredEntity entity = new ClusteredEntity();
+		Row row = mock(Row.class);
+
+		when(sliceQuery.isDetached()).thenReturn(true);
+		when(meta.instanciate()).thenReturn(entity);
+		when(meta.getSliceSelectColumnPlan()).thenReturn(columnPlan);
+		when(iterator.next()).thenReturn(row);
+
+		sliceIterator = new SliceQueryIterator<>(sliceQuery, null, iterator);
+		Whitebox.setInternalState(sliceIterator, "mapper", mapper);
+		Whitebox.setInternalState(sliceIterator, "proxifier", proxifier);
 
 		ClusteredEntity actual = sliceIterator.next();
 
 		assertThat(actual).isSameAs(entity);
 		verify(meta).intercept(entity, Event.POST_LOAD);
-		verify(mapper).setNonCounterPropertiesToEntity(row, meta, entity);
+		verify(mapper).setNonCounterPropertiesToEntity(row, meta, columnPlan, entity);
+		verifyZeroInteractions(proxifier);
+	}
+
+	@Test
+	public void should_prefetch_next_page_when_below_threshold() throws Exception {
+		// Given
+		Row row = mock(Row.class);
+		when(sliceQuery.getPrefetchThreshold()).thenReturn(10);
+		when(resultSet.iterator()).thenReturn(iterator);
+		when(resultSet.isFullyFetched()).thenReturn(false);
+		when(resultSet.getAvailableWithoutFetching()).thenReturn(10);
+		when(iterator.next()).thenReturn(row);
+		when(meta.instanciate()).thenReturn(new ClusteredEntity());
+
+		sliceIterator = new SliceQueryIterator<>(sliceQuery, context, resultSet);
+		Whitebox.setInternalState(sliceIterator, "mapper", mapper);
+		Whitebox.setInternalState(sliceIterator, "proxifier", proxifier);
+
+		// When
+		sliceIterator.next();
+
+		// Then
+		verify(resultSet).fetchMoreResults();
+	}
+
+	@Test
+	public void should_not_prefetch_when_enough_rows_available() throws Exception {
+		// Given
+		Row row = mock(Row.class);
+		when(sliceQuery.getPrefetchThreshold()).thenReturn(10);
+		when(resultSet.iterator()).thenReturn(iterator);
+		when(resultSet.isFullyFetched()).thenReturn(false);
+		when(resultSet.getAvailableWithoutFetching()).thenReturn(11);
+		when(iterator.next()).thenReturn(row);
+		when(meta.instanciate()).thenReturn(new ClusteredEntity());
+
+		sliceIterator = new SliceQueryIterator<>(sliceQuery, context, resultSet);
+		Whitebox.setInternalState(sliceIterator, "mapper", mapper);
+		Whitebox.setInternalState(sliceIterator, "proxifier", proxifier);
+
+		// When
+		sliceIterator.next();
+
+		// Then
+		verify(resultSet, never()).fetchMoreResults();
+	}
+
+	@Test
+	public void should_map_available_rows_ahead_on_executor() throws Exception {
+		// Given
+		Row row1 = mock(Row.class);
+		Row row2 = mock(Row.class);
+		Row row3 = mock(Row.class);
+		ClusteredEntity entity1 = new ClusteredEntity();
+		ClusteredEntity entity2 = new ClusteredEntity();
+		ClusteredEntity entity3 = new ClusteredEntity();
+
+		when(sliceQuery.getMappingExecutor()).thenReturn(MoreExecutors.sameThreadExecutor());
+		when(resultSet.iterator()).thenReturn(iterator);
+		when(resultSet.getAvailableWithoutFetching()).thenReturn(2, 1, 0);
+		when(iterator.next()).thenReturn(row1, row2, row3);
+		when(iterator.hasNext()).thenReturn(false);
+		when(meta.instanciate()).thenReturn(entity1, entity2, entity3);
+		when(meta.getSliceSelectColumnPlan()).thenReturn(columnPlan);
+		when(proxifier.buildProxyWithEagerFieldsLoaded(any(ClusteredEntity.class),
+				any(PersistenceContext.class))).thenReturn(entity1, entity2, entity3);
+
+		sliceIterator = new SliceQueryIterator<>(sliceQuery, context, resultSet);
+		Whitebox.setInternalState(sliceIterator, "mapper", mapper);
+		Whitebox.setInternalState(sliceIterator, "proxifier", proxifier);
+
+		// When
+		ClusteredEntity first = sliceIterator.next();
+
+		// Then
+		assertThat(first).isSameAs(entity1);
+		verify(mapper, times(3)).setNonCounterPropertiesToEntity(any(Row.class), any(EntityMeta.class),
+				any(ColumnIndexPlan.class), any(ClusteredEntity.class));
+		assertThat(sliceIterator.hasNext()).isTrue();
+		assertThat(sliceIterator.next()).isSameAs(entity2);
+		assertThat(sliceIterator.next()).isSameAs(entity3);
+		assertThat(sliceIterator.hasNext()).isFalse();
 	}
 
 	@Test(expected = UnsupportedOperationException.class)
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class HistogramTest {
+
+	private Histogram histogram = new Histogram();
+
+	@Test
+	public void should_return_empty_snapshot() throws Exception {
+		// When
+		HistogramSnapshot snapshot = histogram.snapshot();
+
+		// Then
+		assertThat(snapshot.getCount()).isEqualTo(0L);
+		assertThat(snapshot.getMean()).isEqualTo(0.0);
+		assertThat(snapshot.getP99()).isEqualTo(0L);
+	}
+
+	@Test
+	public void should_record_small_values_exactly() throws Exception {
+		// Given
+		for (long i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+
+		// When
+		HistogramSnapshot snapshot = histogram.snapshot();
+
+		// Then
+		assertThat(snapshot.getCount()).isEqualTo(100L);
+		assertThat(snapshot.getMean()).isEqualTo(50.5);
+		assertThat(snapshot.getMax()).isEqualTo(100L);
+		assertThat(snapshot.getP50()).isEqualTo(50L);
+		assertThat(snapshot.getP95()).isEqualTo(95L);
+		assertThat(snapshot.getP99()).isEqualTo(99L);
+		assertThat(snapshot.getP999()).isEqualTo(100L);
+	}
+
+	@Test
+	public void should_bound_relative_error_of_large_values() throws Exception {
+		// Given
+		for (long i = 1; i <= 10000; i++) {
+			histogram.record(i * 1000L);
+		}
+
+		// When
+		long p50 = histogram.getValueAtPercentile(50.0);
+		long p99 = histogram.getValueAtPercentile(99.0);
+
+		// Then
+		assertThat(Math.abs(p50 - 5000000L) / 5000000.0).isLessThan(0.02);
+		assertThat(Math.abs(p99 - 9900000L) / 9900000.0).isLessThan(0.02);
+		assertThat(histogram.getValueAtPercentile(100.0)).isEqualTo(10000000L);
+	}
+
+	@Test
+	public void should_map_bucket_boundaries() throws Exception {
+		assertThat(Histogram.indexOf(127L)).isEqualTo(127);
+		assertThat(Histogram.indexOf(128L)).isEqualTo(128);
+		assertThat(Histogram.indexOf(129L)).isEqualTo(128);
+		assertThat(Histogram.indexOf(130L)).isEqualTo(129);
+		assertThat(Histogram.highestValueOf(128)).isEqualTo(129L);
+		assertThat(Histogram.highestValueOf(Histogram.indexOf(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+	}
+
+	@Test
+	public void should_clamp_negative_values_to_zero() throws Exception {
+		// When
+		histogram.record(-5L);
+
+		// Then
+		assertThat(histogram.getCount()).isEqualTo(1L);
+		assertThat(histogram.getMax()).isEqualTo(0L);
+	}
+
+	@Test
+	public void should_reset() throws Exception {
+		// Given
+		histogram.record(10L);
+
+		// When
+		histogram.reset();
+
+		// Then
+		assertThat(histogram.getCount()).isEqualTo(0L);
+		assertThat(histogram.getValueAtPercentile(50.0)).isEqualTo(0L);
+	}
+}
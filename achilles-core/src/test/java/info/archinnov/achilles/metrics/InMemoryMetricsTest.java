@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package info.archinnov.achilles.metrics;
+
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.FIND;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.NATIVE_QUERY;
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.PERSIST;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+public class InMemoryMetricsTest {
+
+	private InMemoryMetrics metrics = new InMemoryMetrics();
+
+	@Test
+	public void should_record_latencies_per_entity_and_operation() throws Exception {
+		// When
+		metrics.recordLatency(CompleteBean.class, PERSIST, 100L);
+		metrics.recordLatency(CompleteBean.class, PERSIST, 120L);
+		metrics.recordLatency(CompleteBean.class, FIND, 50L);
+		metrics.recordLatency(null, NATIVE_QUERY, 10L);
+
+		// Then
+		assertThat(metrics.getLatency(CompleteBean.class, PERSIST).getCount()).isEqualTo(2L);
+		assertThat(metrics.getLatency(CompleteBean.class, PERSIST).getMax()).isEqualTo(120L);
+		assertThat(metrics.getLatency(CompleteBean.class, FIND).getCount()).isEqualTo(1L);
+		assertThat(metrics.getLatency(String.class, FIND).getCount()).isEqualTo(0L);
+
+		Map<String, HistogramSnapshot> latencies = metrics.getLatencies();
+		assertThat(latencies.keySet()).containsOnly(CompleteBean.class.getName() + ":PERSIST",
+				CompleteBean.class.getName() + ":FIND", "*:NATIVE_QUERY");
+	}
+
+	@Test
+	public void should_record_batch_sizes() throws Exception {
+		// When
+		metrics.recordBatch(2);
+		metrics.recordBatch(4);
+
+		// Then
+		HistogramSnapshot batchSizes = metrics.getBatchSizes();
+		assertThat(batchSizes.getCount()).isEqualTo(2L);
+		assertThat(batchSizes.getMean()).isEqualTo(3.0);
+		assertThat(batchSizes.getMax()).isEqualTo(4L);
+	}
+
+	@Test
+	public void should_compute_statement_cache_hit_ratio() throws Exception {
+		// Given
+		assertThat(metrics.getStatementCacheHitRatio()).isEqualTo(0.0);
+
+		// When
+		metrics.recordStatementCacheAccess(true);
+		metrics.recordStatementCacheAccess(true);
+		metrics.recordStatementCacheAccess(true);
+		metrics.recordStatementCacheAccess(false);
+
+		// Then
+		assertThat(metrics.getStatementCacheHitCount()).isEqualTo(3L);
+		assertThat(metrics.getStatementCacheMissCount()).isEqualTo(1L);
+		assertThat(metrics.getStatementCacheHitRatio()).isEqualTo(0.75);
+	}
+
+	@Test
+	public void should_reset() throws Exception {
+		// Given
+		metrics.recordLatency(CompleteBean.class, PERSIST, 100L);
+		metrics.recordBatch(2);
+		metrics.recordStatementCacheAccess(true);
+
+		// When
+		metrics.reset();
+
+		// Then
+		assertThat(metrics.getLatencies()).isEmpty();
+		assertThat(metrics.getBatchSizes().getCount()).isEqualTo(0L);
+		assertThat(metrics.getStatementCacheHitCount()).isEqualTo(0L);
+	}
+}
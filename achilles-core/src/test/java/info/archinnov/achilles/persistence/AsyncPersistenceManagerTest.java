@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.persistence;
+
+import static info.archinnov.achilles.type.ConsistencyLevel.EACH_QUORUM;
+import static info.archinnov.achilles.type.ConsistencyLevel.LOCAL_QUORUM;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.context.PersistenceContextFactory;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
+import info.archinnov.achilles.internal.persistence.operations.EntityValidator;
+import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
+
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncPersistenceManagerTest {
+
+	@Mock
+	private EntityProxifier proxifier;
+
+	@Mock
+	private EntityValidator entityValidator;
+
+	@Mock
+	private PersistenceContextFactory contextFactory;
+
+	@Mock
+	private DaoContext daoContext;
+
+	@Mock
+	private ConfigurationContext configContext;
+
+	@Mock
+	private PersistenceContext context;
+
+	@Mock
+	private Map<Class<?>, EntityMeta> entityMetaMap;
+
+	@Mock
+	private PropertyMeta idMeta;
+
+	@Captor
+	private ArgumentCaptor<Options> optionsCaptor;
+
+	private DefaultAsyncPersistenceManager manager;
+
+	private Long primaryKey = new Random().nextLong();
+	private CompleteBean entity = CompleteBeanTestBuilder.builder().id(primaryKey).buid();
+
+	@Before
+	public void setUp() throws Exception {
+		when(contextFactory.newContext(eq(entity), optionsCaptor.capture())).thenReturn(context);
+
+		manager = new DefaultAsyncPersistenceManager(entityMetaMap, contextFactory, daoContext, configContext);
+		Whitebox.setInternalState(manager, EntityProxifier.class, proxifier);
+		Whitebox.setInternalState(manager, EntityValidator.class, entityValidator);
+	}
+
+	@Test
+	public void should_persist_async() throws Exception {
+		// Given
+		ListenableFuture<CompleteBean> future = Futures.immediateFuture(entity);
+		when(context.persistAsync(entity)).thenReturn(future);
+
+		// When
+		ListenableFuture<CompleteBean> actual = manager.persistAsync(entity,
+				OptionsBuilder.withConsistency(EACH_QUORUM).withTtl(150));
+
+		// Then
+		assertThat(actual).isSameAs(future);
+		verify(entityValidator).validateEntity(entity, entityMetaMap);
+		verify(entityValidator).validateNotClusteredCounter(entity, entityMetaMap);
+		verify(proxifier).ensureNotProxy(entity);
+
+		Options options = optionsCaptor.getValue();
+		assertThat(options.getConsistencyLevel().get()).isEqualTo(EACH_QUORUM);
+		assertThat(options.getTtl().get()).isEqualTo(150);
+	}
+
+	@Test
+	public void should_update_async() throws Exception {
+		// Given
+		ListenableFuture<Void> future = Futures.immediateFuture(null);
+		when(proxifier.getRealObject(entity)).thenReturn(entity);
+		when(context.updateAsync(entity)).thenReturn(future);
+
+		// When
+		ListenableFuture<Void> actual = manager.updateAsync(entity);
+
+		// Then
+		assertThat(actual).isSameAs(future);
+		verify(proxifier).ensureProxy(entity);
+		verify(entityValidator).validateEntity(entity, entityMetaMap);
+
+		Options options = optionsCaptor.getValue();
+		assertThat(options.getConsistencyLevel().isPresent()).isFalse();
+		assertThat(options.getTtl().isPresent()).isFalse();
+	}
+
+	@Test
+	public void should_remove_async() throws Exception {
+		// Given
+		ListenableFuture<Void> future = Futures.immediateFuture(null);
+		when(proxifier.getRealObject(entity)).thenReturn(entity);
+		when(context.removeAsync()).thenReturn(future);
+
+		// When
+		ListenableFuture<Void> actual = manager.removeAsync(entity, OptionsBuilder.withConsistency(LOCAL_QUORUM));
+
+		// Then
+		assertThat(actual).isSameAs(future);
+		verify(entityValidator).validateEntity(entity, entityMetaMap);
+		assertThat(optionsCaptor.getValue().getConsistencyLevel().get()).isEqualTo(LOCAL_QUORUM);
+	}
+
+	@Test
+	public void should_remove_by_id_async() throws Exception {
+		// Given
+		ListenableFuture<Void> future = Futures.immediateFuture(null);
+		when(contextFactory.newContext(eq(CompleteBean.class), eq(primaryKey), optionsCaptor.capture())).thenReturn(
+				context);
+		when(context.getIdMeta()).thenReturn(idMeta);
+		when(context.removeAsync()).thenReturn(future);
+
+		// When
+		ListenableFuture<Void> actual = manager.removeByIdAsync(CompleteBean.class, primaryKey, LOCAL_QUORUM);
+
+		// Then
+		assertThat(actual).isSameAs(future);
+		verify(entityValidator).validatePrimaryKey(idMeta, primaryKey);
+		assertThat(optionsCaptor.getValue().getConsistencyLevel().get()).isEqualTo(LOCAL_QUORUM);
+	}
+
+	@Test
+	public void should_find_async() throws Exception {
+		// Given
+		ListenableFuture<CompleteBean> future = Futures.immediateFuture(entity);
+		when(contextFactory.newContext(eq(CompleteBean.class), eq(primaryKey), optionsCaptor.capture())).thenReturn(
+				context);
+		when(context.getIdMeta()).thenReturn(idMeta);
+		when(context.findAsync(CompleteBean.class)).thenReturn(future);
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+
+		// When
+		ListenableFuture<CompleteBean> actual = manager.findAsync(CompleteBean.class, primaryKey);
+
+		// Then
+		assertThat(actual).isSameAs(future);
+		verify(entityValidator).validatePrimaryKey(idMeta, primaryKey);
+		assertThat(optionsCaptor.getValue().getConsistencyLevel().isPresent()).isFalse();
+	}
+
+	@Test
+	public void should_get_proxy_async() throws Exception {
+		// Given
+		when(contextFactory.newContext(eq(CompleteBean.class), eq(primaryKey), optionsCaptor.capture())).thenReturn(
+				context);
+		when(context.getIdMeta()).thenReturn(idMeta);
+		when(context.getProxy(CompleteBean.class)).thenReturn(entity);
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+
+		// When
+		ListenableFuture<CompleteBean> actual = manager.getProxyAsync(CompleteBean.class, primaryKey, EACH_QUORUM);
+
+		// Then
+		assertThat(actual.isDone()).isTrue();
+		assertThat(actual.get()).isSameAs(entity);
+		assertThat(optionsCaptor.getValue().getConsistencyLevel().get()).isEqualTo(EACH_QUORUM);
+	}
+}
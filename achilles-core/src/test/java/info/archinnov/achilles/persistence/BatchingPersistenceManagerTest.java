@@ -28,10 +28,13 @@ import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.BatchingStrategy;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Options;
 import info.archinnov.achilles.type.OptionsBuilder;
 
+import java.util.Arrays;
+
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -103,6 +106,34 @@ public class BatchingPersistenceManagerTest {
         assertThat(manager.flushContext).isSameAs(newFlushContext);
 	}
 
+	@Test
+	public void should_start_batch_with_batching_strategy() throws Exception {
+		// Given
+		BatchingStrategy strategy = BatchingStrategy.unloggedPerPartition();
+		BatchingFlushContext newFlushContext = mock(BatchingFlushContext.class);
+		when(flushContext.duplicateWithNoData(ONE, strategy)).thenReturn(newFlushContext);
+
+		// When
+		manager.startBatch(strategy);
+
+		// Then
+		assertThat(manager.flushContext).isSameAs(newFlushContext);
+	}
+
+	@Test
+	public void should_start_batch_with_consistency_level_and_batching_strategy() throws Exception {
+		// Given
+		BatchingStrategy strategy = BatchingStrategy.unloggedPerPartition();
+		BatchingFlushContext newFlushContext = mock(BatchingFlushContext.class);
+		when(flushContext.duplicateWithNoData(EACH_QUORUM, strategy)).thenReturn(newFlushContext);
+
+		// When
+		manager.startBatch(EACH_QUORUM, strategy);
+
+		// Then
+		assertThat(manager.flushContext).isSameAs(newFlushContext);
+	}
+
 	@Test
 	public void should_end_batch() throws Exception {
         //Given
@@ -140,6 +171,14 @@ public class BatchingPersistenceManagerTest {
 		manager.persist(new CompleteBean(), OptionsBuilder.withConsistency(ONE));
 	}
 
+	@Test
+	public void should_exception_when_bulk_writing_in_batch_mode() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Bulk writes cannot be used in batch mode");
+
+		manager.persistAll(Arrays.asList(new CompleteBean()));
+	}
+
 	@Test
 	public void should_exception_when_merge_with_consistency() throws Exception {
 		exception.expect(AchillesException.class);
@@ -167,6 +206,15 @@ public class BatchingPersistenceManagerTest {
 		manager.find(CompleteBean.class, 11L, ONE);
 	}
 
+	@Test
+	public void should_exception_when_find_all_with_consistency() throws Exception {
+		exception.expect(AchillesException.class);
+		exception
+				.expectMessage("Runtime custom Consistency Level cannot be set for batch mode. Please set the Consistency Levels at batch start with 'startBatch(consistencyLevel)'");
+
+		manager.findAll(CompleteBean.class, Arrays.asList(11L, 12L), ONE);
+	}
+
 	@Test
 	public void should_exception_when_getReference_with_consistency() throws Exception {
 		exception.expect(AchillesException.class);
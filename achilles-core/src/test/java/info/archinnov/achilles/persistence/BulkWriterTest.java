@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.persistence;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.persistence.BulkWriteResult.Failure;
+import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BulkWriterTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Mock
+	private DefaultPersistenceManager manager;
+
+	@Mock
+	private PersistenceContext context1;
+
+	@Mock
+	private PersistenceContext context2;
+
+	@Mock
+	private BulkWriteListener listener;
+
+	private Options options = OptionsBuilder.withTtl(10);
+
+	private Object entity1 = new Object();
+	private Object entity2 = new Object();
+
+	@Before
+	public void setUp() {
+		when(manager.initPersistenceContextForPersist(entity1, options)).thenReturn(context1);
+		when(manager.initPersistenceContextForPersist(entity2, options)).thenReturn(context2);
+	}
+
+	@Test
+	public void should_write_entities_asynchronously() throws Exception {
+		// Given
+		when(context1.insertAsync(entity1)).thenReturn(Futures.<Void> immediateFuture(null));
+		when(context2.insertAsync(entity2)).thenReturn(Futures.<Void> immediateFuture(null));
+		BulkWriter writer = new BulkWriter(manager, options, 2);
+
+		// When
+		writer.addAll(Arrays.asList(entity1, entity2));
+		BulkWriteResult result = writer.finish();
+
+		// Then
+		assertThat(result.getWritten()).isEqualTo(2L);
+		assertThat(result.hasFailures()).isFalse();
+		assertThat(writer.getInFlight()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_collect_failures_per_entity() throws Exception {
+		// Given
+		RuntimeException timeout = new RuntimeException("write timeout");
+		AchillesException invalid = new AchillesException("invalid entity");
+		when(context1.insertAsync(entity1)).thenReturn(Futures.<Void> immediateFailedFuture(timeout));
+		when(manager.initPersistenceContextForPersist(entity2, options)).thenThrow(invalid);
+		BulkWriter writer = new BulkWriter(manager, options, 2);
+
+		// When
+		writer.add(entity1);
+		writer.add(entity2);
+		BulkWriteResult result = writer.finish();
+
+		// Then
+		assertThat(result.getWritten()).isEqualTo(0L);
+		assertThat(result.getFailures()).hasSize(2);
+		Failure failure1 = result.getFailures().get(0);
+		assertThat(failure1.getEntity()).isSameAs(entity1);
+		assertThat(failure1.getCause()).isSameAs(timeout);
+		Failure failure2 = result.getFailures().get(1);
+		assertThat(failure2.getEntity()).isSameAs(entity2);
+		assertThat(failure2.getCause()).isSameAs(invalid);
+		assertThat(writer.getInFlight()).isEqualTo(0);
+	}
+
+	@Test
+	public void should_block_when_max_in_flight_is_reached() throws Exception {
+		// Given
+		final SettableFuture<Void> pending = SettableFuture.create();
+		when(context1.insertAsync(entity1)).thenReturn(pending);
+		when(context2.insertAsync(entity2)).thenReturn(Futures.<Void> immediateFuture(null));
+		final BulkWriter writer = new BulkWriter(manager, options, 1);
+		writer.add(entity1);
+
+		// When
+		final CountDownLatch secondAdded = new CountDownLatch(1);
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				writer.add(entity2);
+				secondAdded.countDown();
+			}
+		});
+		producer.start();
+
+		// Then
+		assertThat(secondAdded.await(100, TimeUnit.MILLISECONDS)).isFalse();
+		assertThat(writer.getInFlight()).isEqualTo(1);
+
+		pending.set(null);
+		assertThat(secondAdded.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(writer.finish().getWritten()).isEqualTo(2L);
+	}
+
+	@Test
+	public void should_report_progress_to_listener() throws Exception {
+		// Given
+		when(context1.insertAsync(entity1)).thenReturn(Futures.<Void> immediateFuture(null));
+		when(context2.insertAsync(entity2)).thenReturn(Futures.<Void> immediateFailedFuture(new RuntimeException()));
+		BulkWriter writer = new BulkWriter(manager, options, 4).listener(listener, 2);
+
+		// When
+		writer.add(entity1);
+		writer.add(entity2);
+
+		// Then
+		verify(listener).onProgress(eq(1L), eq(1L), eq(0), anyDouble());
+	}
+
+	@Test
+	public void should_exception_when_adding_to_finished_writer() throws Exception {
+		// Given
+		BulkWriter writer = new BulkWriter(manager, options, 2);
+		writer.finish();
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot add entities to a finished bulk writer");
+
+		// When
+		writer.add(entity1);
+	}
+}
@@ -15,27 +15,43 @@
  */
 package info.archinnov.achilles.persistence;
 
-import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_PARAM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME_PARAM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.METRICS_JMX_ENABLE_PARAM;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import info.archinnov.achilles.configuration.ArgumentExtractor;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.context.CounterAggregator;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.context.SchemaContext;
 import info.archinnov.achilles.internal.metadata.discovery.AchillesBootstrapper;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
+import info.archinnov.achilles.metrics.AchillesMetrics;
+import info.archinnov.achilles.metrics.InMemoryMetrics;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.parser.entity.UserBean;
+import info.archinnov.achilles.test.sample.entity.Entity1;
 import info.archinnov.achilles.type.TypedMap;
 
+import java.lang.management.ManagementFactory;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -51,6 +67,7 @@ import org.powermock.reflect.Whitebox;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Session;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListeningExecutorService;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PersistenceManagerFactoryTest {
@@ -81,6 +98,9 @@ public class PersistenceManagerFactoryTest {
 	@Mock
 	private TypedMap configMap;
 
+	@Mock
+	private AchillesMetrics metrics;
+
 	@Captor
 	private ArgumentCaptor<SchemaContext> contextCaptor;
 
@@ -96,24 +116,30 @@ public class PersistenceManagerFactoryTest {
 	public void should_bootstrap_persistence_manager_factory() throws Exception {
 		// Given
 		List<String> entityPackages = Arrays.asList();
-		List<Class<?>> candidateClasses = Arrays.asList();
+		List<Class<?>> candidateClasses = Arrays.<Class<?>> asList(CompleteBean.class);
 		List<Interceptor<?>> interceptors = Arrays.asList();
 		Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<>();
 		ParsingResult parsingResult = new ParsingResult(entityMetaMap, true);
 
 		// When
 		when(argumentExtractor.initEntityPackages(configMap)).thenReturn(entityPackages);
+		when(argumentExtractor.initEntityClasses(configMap)).thenReturn(candidateClasses);
+		when(boostrapper.validateEntities(candidateClasses)).thenReturn(candidateClasses);
 		when(argumentExtractor.initConfigContext(configMap)).thenReturn(configContext);
 		when(argumentExtractor.initCluster(configMap)).thenReturn(cluster);
 		when(argumentExtractor.initSession(cluster, configMap)).thenReturn(session);
 		when(argumentExtractor.initInterceptors(configMap)).thenReturn(interceptors);
 
-		when(boostrapper.discoverEntities(entityPackages)).thenReturn(candidateClasses);
-		when(configMap.getTyped(ENTITY_PACKAGES_PARAM)).thenReturn("packages");
 		when(configMap.getTyped(KEYSPACE_NAME_PARAM)).thenReturn("keyspace");
-		when(boostrapper.buildMetaDatas(configContext, candidateClasses)).thenReturn(parsingResult);
+		when(configContext.getBootstrapMaxConcurrency()).thenReturn(2);
+		when(boostrapper.buildMetaDatas(eq(configContext), eq(candidateClasses), any(ListeningExecutorService.class)))
+				.thenReturn(parsingResult);
 		when(configContext.isForceColumnFamilyCreation()).thenReturn(true);
-		when(boostrapper.buildDaoContext(session, entityMetaMap, true)).thenReturn(daoContext);
+		when(configContext.getMetrics()).thenReturn(metrics);
+		when(configMap.getTypedOr(METRICS_JMX_ENABLE_PARAM, false)).thenReturn(false);
+		when(
+				boostrapper.buildDaoContext(eq(session), eq(entityMetaMap), eq(true), eq(metrics),
+						any(ListeningExecutorService.class))).thenReturn(daoContext);
 
 		pmf.bootstrap();
 
@@ -139,6 +165,123 @@ public class PersistenceManagerFactoryTest {
 		assertThat((Boolean) Whitebox.getInternalState(schemaContext, "hasCounter")).isTrue();
 	}
 
+	@Test
+	public void should_discover_entities_from_classes_index_and_packages() throws Exception {
+		// Given
+		List<String> entityPackages = Arrays.asList("info.archinnov.achilles.test");
+		List<Class<?>> entityClasses = Arrays.<Class<?>> asList(CompleteBean.class);
+		List<Class<?>> indexedClasses = Arrays.<Class<?>> asList(CompleteBean.class, UserBean.class);
+		List<Class<?>> scannedClasses = Arrays.<Class<?>> asList(Entity1.class);
+
+		// When
+		when(argumentExtractor.initEntityClasses(configMap)).thenReturn(entityClasses);
+		when(boostrapper.validateEntities(entityClasses)).thenReturn(entityClasses);
+		when(argumentExtractor.initEntityIndex(configMap)).thenReturn("achilles/entity-index");
+		when(boostrapper.discoverEntitiesFromIndex("achilles/entity-index")).thenReturn(indexedClasses);
+		when(boostrapper.discoverEntities(entityPackages)).thenReturn(scannedClasses);
+
+		List<Class<?>> actual = pmf.discoverEntities(entityPackages);
+
+		// Then
+		assertThat(actual).containsExactly(CompleteBean.class, UserBean.class, Entity1.class);
+	}
+
+	@Test
+	public void should_not_scan_classpath_when_no_entity_package() throws Exception {
+		// Given
+		List<String> entityPackages = Arrays.asList();
+		List<Class<?>> entityClasses = Arrays.<Class<?>> asList(CompleteBean.class);
+
+		// When
+		when(argumentExtractor.initEntityClasses(configMap)).thenReturn(entityClasses);
+		when(boostrapper.validateEntities(entityClasses)).thenReturn(entityClasses);
+
+		List<Class<?>> actual = pmf.discoverEntities(entityPackages);
+
+		// Then
+		assertThat(actual).containsExactly(CompleteBean.class);
+		verify(boostrapper, never()).discoverEntities(entityPackages);
+		verify(boostrapper, never()).discoverEntitiesFromIndex(anyString());
+	}
+
+	@Test
+	public void should_create_named_bootstrap_executor() throws Exception {
+		// When
+		ListeningExecutorService executor = pmf.newBootstrapExecutor(2);
+
+		try {
+			String threadName = executor.submit(new Callable<String>() {
+				@Override
+				public String call() {
+					return Thread.currentThread().getName();
+				}
+			}).get();
+
+			// Then
+			assertThat(threadName).startsWith("achilles-bootstrap-");
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void should_register_in_memory_metrics_mbean() throws Exception {
+		// Given
+		InMemoryMetrics inMemoryMetrics = new InMemoryMetrics();
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName("info.archinnov.achilles:type=Metrics,keyspace=metrics_ks");
+
+		// When
+		pmf.configContext = configContext;
+		when(configContext.getMetrics()).thenReturn(inMemoryMetrics);
+		when(configMap.getTypedOr(METRICS_JMX_ENABLE_PARAM, false)).thenReturn(true);
+
+		pmf.registerMetricsMBean("metrics_ks");
+
+		// Then
+		try {
+			assertThat(mBeanServer.isRegistered(name)).isTrue();
+			assertThat(mBeanServer.getAttribute(name, "StatementCacheHitCount")).isEqualTo(0L);
+		} finally {
+			mBeanServer.unregisterMBean(name);
+		}
+	}
+
+	@Test
+	public void should_start_counter_aggregation_when_enabled() throws Exception {
+		// Given
+		pmf.configContext = configContext;
+		pmf.daoContext = daoContext;
+		when(configContext.isCounterAggregationEnabled()).thenReturn(true);
+		when(configContext.getCounterAggregationFlushThreshold()).thenReturn(100);
+		when(configContext.getCounterAggregationFlushInterval()).thenReturn(60000);
+
+		// When
+		pmf.initCounterAggregation();
+
+		// Then
+		ArgumentCaptor<CounterAggregator> aggregatorCaptor = ArgumentCaptor.forClass(CounterAggregator.class);
+		verify(daoContext).setCounterAggregator(aggregatorCaptor.capture());
+		CounterAggregator counterAggregator = aggregatorCaptor.getValue();
+		assertThat(Whitebox.getInternalState(counterAggregator, "flushThreshold")).isEqualTo(100);
+		assertThat(Whitebox.getInternalState(counterAggregator, ScheduledExecutorService.class)).isNotNull();
+		counterAggregator.shutdown();
+	}
+
+	@Test
+	public void should_not_start_counter_aggregation_by_default() throws Exception {
+		// Given
+		pmf.configContext = configContext;
+		pmf.daoContext = daoContext;
+
+		// When
+		pmf.initCounterAggregation();
+
+		// Then
+		verify(daoContext, never()).setCounterAggregator(any(CounterAggregator.class));
+		assertThat(pmf.getPendingCounterDeltas()).isEqualTo(0);
+	}
+
 	@Test
 	public void should_create_persistence_manager() throws Exception {
 		// Given
@@ -174,4 +317,22 @@ public class PersistenceManagerFactoryTest {
 		// Then
 		assertThat(manager).isNotNull();
 	}
+
+	@Test
+	public void should_create_async_persistence_manager() throws Exception {
+		// Given
+		Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<Class<?>, EntityMeta>();
+		PersistenceContextFactory contextFactory = mock(PersistenceContextFactory.class);
+
+		// When
+		pmf.entityMetaMap = entityMetaMap;
+		pmf.configContext = configContext;
+		pmf.daoContext = daoContext;
+		pmf.contextFactory = contextFactory;
+
+		AsyncPersistenceManager manager = pmf.createAsyncPersistenceManager();
+
+		// Then
+		assertThat(manager).isNotNull();
+	}
 }
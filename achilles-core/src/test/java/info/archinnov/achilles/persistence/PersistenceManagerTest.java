@@ -15,28 +15,40 @@
  */
 package info.archinnov.achilles.persistence;
 
+import static info.archinnov.achilles.metrics.AchillesMetrics.Operation.FIND;
 import static info.archinnov.achilles.type.ConsistencyLevel.EACH_QUORUM;
 import static info.archinnov.achilles.type.ConsistencyLevel.LOCAL_QUORUM;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.cache.EntityCache;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.persistence.operations.EntityInitializer;
+import info.archinnov.achilles.internal.persistence.operations.EntityLoader;
+import info.archinnov.achilles.internal.persistence.operations.EntityMultiLoader;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.internal.persistence.operations.EntityValidator;
 import info.archinnov.achilles.internal.persistence.operations.SliceQueryExecutor;
+import info.archinnov.achilles.metrics.AchillesMetrics;
 import info.archinnov.achilles.query.cql.NativeQueryBuilder;
+import info.archinnov.achilles.query.scan.ScanQueryBuilder;
 import info.archinnov.achilles.query.slice.SliceQueryBuilder;
 import info.archinnov.achilles.query.typed.TypedQueryBuilder;
 import info.archinnov.achilles.query.typed.TypedQueryValidator;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
+import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.IndexCondition;
@@ -45,6 +57,7 @@ import info.archinnov.achilles.type.OptionsBuilder;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -65,7 +78,11 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
 
 import com.datastax.driver.core.Session;
+import com.google.common.base.Optional;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PersistenceManagerTest {
@@ -88,6 +105,9 @@ public class PersistenceManagerTest {
 	@Mock
 	private SliceQueryExecutor sliceQueryExecutor;
 
+	@Mock
+	private EntityMultiLoader multiLoader;
+
 	@Mock
 	private PersistenceManagerFactory pmf;
 
@@ -115,6 +135,9 @@ public class PersistenceManagerTest {
 	@Captor
 	private ArgumentCaptor<Options> optionsCaptor;
 
+	@Captor
+	private ArgumentCaptor<Map<Long, PersistenceContext>> contextsCaptor;
+
 	private DefaultPersistenceManager manager;
 
 	private Long primaryKey = new Random().nextLong();
@@ -132,6 +155,7 @@ public class PersistenceManagerTest {
 		Whitebox.setInternalState(manager, EntityValidator.class, entityValidator);
 		Whitebox.setInternalState(manager, SliceQueryExecutor.class, sliceQueryExecutor);
 		Whitebox.setInternalState(manager, TypedQueryValidator.class, typedQueryValidator);
+		Whitebox.setInternalState(manager, EntityMultiLoader.class, multiLoader);
 		Whitebox.setInternalState(manager, PersistenceContextFactory.class, contextFactory);
 
 		manager.setEntityMetaMap(entityMetaMap);
@@ -175,6 +199,31 @@ public class PersistenceManagerTest {
 		assertThat(value.getTimestamp().get()).isEqualTo(100L);
 	}
 
+	@Test
+	public void should_persist_all() throws Exception {
+		// Given
+		CompleteBean entity2 = CompleteBeanTestBuilder.builder().randomId().buid();
+		PersistenceContext context2 = mock(PersistenceContext.class);
+		RuntimeException failure = new RuntimeException("write timeout");
+		when(contextFactory.newContext(eq(entity2), optionsCaptor.capture())).thenReturn(context2);
+		when(configContext.getBulkWriteMaxConcurrency()).thenReturn(4);
+		when(context.insertAsync(entity)).thenReturn(Futures.<Void> immediateFuture(null));
+		when(context2.insertAsync(entity2)).thenReturn(Futures.<Void> immediateFailedFuture(failure));
+
+		// When
+		BulkWriteResult result = manager.persistAll(Arrays.asList(entity, entity2), OptionsBuilder.withTtl(150));
+
+		// Then
+		assertThat(result.getWritten()).isEqualTo(1L);
+		assertThat(result.getFailures()).hasSize(1);
+		assertThat(result.getFailures().get(0).getEntity()).isSameAs(entity2);
+		assertThat(result.getFailures().get(0).getCause()).isSameAs(failure);
+		verify(entityValidator).validateEntity(entity, entityMetaMap);
+		verify(entityValidator).validateEntity(entity2, entityMetaMap);
+		verify(proxifier).ensureNotProxy(entity2);
+		assertThat(optionsCaptor.getValue().getTtl().get()).isEqualTo(150);
+	}
+
 	@Test
 	public void should_update() throws Exception {
 		// Given
@@ -304,6 +353,86 @@ public class PersistenceManagerTest {
 		assertThat(options.getTimestamp().isPresent()).isFalse();
 	}
 
+	@Test
+	public void should_find_detached() throws Exception {
+		// Given
+		EntityLoader loader = mock(EntityLoader.class);
+		Whitebox.setInternalState(manager, EntityLoader.class, loader);
+		AchillesMetrics metrics = mock(AchillesMetrics.class);
+		when(daoContext.getMetrics()).thenReturn(metrics);
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+		when(entityMetaMap.get(CompleteBean.class)).thenReturn(meta);
+		when(loader.loadDetached(daoContext, meta, primaryKey, ConsistencyLevel.LOCAL_QUORUM)).thenReturn(entity);
+
+		// When
+		CompleteBean bean = manager.findDetached(CompleteBean.class, primaryKey, ConsistencyLevel.LOCAL_QUORUM);
+
+		// Then
+		assertThat(bean).isSameAs(entity);
+		verify(entityValidator).validatePrimaryKey(idMeta, primaryKey);
+		verify(meta).intercept(entity, Event.POST_LOAD);
+		verify(metrics).recordLatency(eq(CompleteBean.class), eq(FIND), anyLong());
+		verifyZeroInteractions(contextFactory, proxifier);
+	}
+
+	@Test
+	public void should_exception_when_find_detached_clustered_counter() throws Exception {
+		// Given
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+		when(entityMetaMap.get(CompleteBean.class)).thenReturn(meta);
+		when(meta.isClusteredCounter()).thenReturn(true);
+		when(meta.getClassName()).thenReturn("CompleteBean");
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Detached find is not supported for clustered counter entity 'CompleteBean'");
+
+		// When
+		manager.findDetached(CompleteBean.class, primaryKey);
+	}
+
+	@Test
+	public void should_find_with_projection() throws Exception {
+		// Given
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id")
+				.type(PropertyType.ID).build();
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+		PropertyMeta ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("age")
+				.type(PropertyType.SIMPLE).build();
+		when(contextFactory.newContext(eq(CompleteBean.class), eq(primaryKey), optionsCaptor.capture())).thenReturn(
+				context);
+		when(context.getIdMeta()).thenReturn(idMeta);
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(meta.getPropertyMetas()).thenReturn(
+				ImmutableMap.of("id", idMeta, "name", nameMeta, "age", ageMeta));
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+		when(context.find(CompleteBean.class, Arrays.asList(nameMeta, ageMeta))).thenReturn(entity);
+
+		// When
+		CompleteBean bean = manager.find(CompleteBean.class, primaryKey, "id", "name", "age", "name");
+
+		// Then
+		assertThat(bean).isSameAs(entity);
+		verify(entityValidator).validatePrimaryKey(idMeta, primaryKey);
+	}
+
+	@Test
+	public void should_exception_when_projecting_unknown_property() throws Exception {
+		// Given
+		when(contextFactory.newContext(eq(CompleteBean.class), eq(primaryKey), optionsCaptor.capture())).thenReturn(
+				context);
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(meta.getClassName()).thenReturn("CompleteBean");
+		when(meta.getPropertyMetas()).thenReturn(new HashMap<String, PropertyMeta>());
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("The property 'unknown' does not exist in entity 'CompleteBean'");
+
+		// When
+		manager.find(CompleteBean.class, primaryKey, "unknown");
+	}
+
 	@Test
 	public void should_find_with_consistency() throws Exception {
 		// When
@@ -325,6 +454,38 @@ public class PersistenceManagerTest {
 		assertThat(options.getTimestamp().isPresent()).isFalse();
 	}
 
+	@Test
+	public void should_find_all() throws Exception {
+		// Given
+		Long otherPrimaryKey = primaryKey + 1;
+		PersistenceContext otherContext = mock(PersistenceContext.class);
+		Map<Long, CompleteBean> entities = ImmutableMap.of(primaryKey, entity);
+
+		when(contextFactory.newContext(eq(CompleteBean.class), eq(primaryKey), optionsCaptor.capture())).thenReturn(
+				context);
+		when(contextFactory.newContext(eq(CompleteBean.class), eq(otherPrimaryKey), optionsCaptor.capture()))
+				.thenReturn(otherContext);
+		when(context.getIdMeta()).thenReturn(idMeta);
+		when(otherContext.getIdMeta()).thenReturn(idMeta);
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+		when(configContext.getMultiGetMaxConcurrency()).thenReturn(16);
+		when(multiLoader.loadAll(eq(CompleteBean.class), contextsCaptor.capture(), eq(16))).thenReturn(entities);
+
+		// When
+		Map<Long, CompleteBean> actual = manager.findAll(CompleteBean.class,
+				Arrays.asList(primaryKey, otherPrimaryKey, primaryKey), LOCAL_QUORUM);
+
+		// Then
+		assertThat(actual).isSameAs(entities);
+		verify(entityValidator).validatePrimaryKey(idMeta, primaryKey);
+		verify(entityValidator).validatePrimaryKey(idMeta, otherPrimaryKey);
+
+		Map<Long, PersistenceContext> contexts = contextsCaptor.getValue();
+		assertThat(contexts.keySet()).containsExactly(primaryKey, otherPrimaryKey);
+		assertThat(contexts.values()).containsExactly(context, otherContext);
+		assertThat(optionsCaptor.getValue().getConsistencyLevel().get()).isSameAs(LOCAL_QUORUM);
+	}
+
 	@Test
 	public void should_get_reference() throws Exception {
 		// When
@@ -424,6 +585,45 @@ public class PersistenceManagerTest {
 		assertThat(options.getTimestamp().isPresent()).isFalse();
 	}
 
+	@Test
+	public void should_initialize_properties_and_fetch_groups_of_entity() throws Exception {
+		// Given
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(PropertyType.SIMPLE).build();
+		PropertyMeta labelMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("label")
+				.type(PropertyType.SIMPLE).build();
+		PropertyMeta ageMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("age")
+				.type(PropertyType.SIMPLE).build();
+		when(proxifier.getRealObject(entity)).thenReturn(entity);
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(meta.getPropertyMetas()).thenReturn(ImmutableMap.of("name", nameMeta, "label", labelMeta, "age", ageMeta));
+		when(meta.getFetchGroup("details")).thenReturn(Arrays.asList(nameMeta, labelMeta));
+		when(context.initialize(entity, Arrays.asList(ageMeta, nameMeta, labelMeta))).thenReturn(entity);
+
+		// When
+		CompleteBean actual = manager.initialize(entity, "age", "details", "name");
+
+		// Then
+		verify(proxifier).ensureProxy(entity);
+		assertThat(actual).isSameAs(entity);
+	}
+
+	@Test
+	public void should_exception_when_initializing_unknown_fetch_group() throws Exception {
+		// Given
+		when(proxifier.getRealObject(entity)).thenReturn(entity);
+		when(context.getEntityMeta()).thenReturn(meta);
+		when(meta.getClassName()).thenReturn("CompleteBean");
+		when(meta.getPropertyMetas()).thenReturn(new HashMap<String, PropertyMeta>());
+		when(meta.getFetchGroup("unknown")).thenReturn(Collections.<PropertyMeta> emptyList());
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("'unknown' is neither a property nor a fetch group of entity 'CompleteBean'");
+
+		// When
+		manager.initialize(entity, "unknown");
+	}
+
 	@Test
 	public void should_initialize_list_of_entities() throws Exception {
 		// Given
@@ -550,6 +750,36 @@ public class PersistenceManagerTest {
 		assertThat(Whitebox.getInternalState(builder, PropertyMeta.class)).isSameAs(idMeta);
 	}
 
+	@Test
+	public void should_return_scan_query_builder() throws Exception {
+		// Given
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(true);
+		when(entityMetaMap.get(CompleteBean.class)).thenReturn(meta);
+		when(configContext.getScanMaxConcurrency()).thenReturn(6);
+		when(configContext.getScanPageSize()).thenReturn(200);
+
+		// When
+		ScanQueryBuilder<CompleteBean> builder = manager.scan(CompleteBean.class);
+
+		// Then
+		assertThat(Whitebox.getInternalState(builder, EntityMeta.class)).isSameAs(meta);
+		assertThat(Whitebox.getInternalState(builder, "parallelism")).isEqualTo(6);
+		assertThat(Whitebox.getInternalState(builder, "pageSize")).isEqualTo(200);
+	}
+
+	@Test
+	public void should_exception_when_scanning_unmanaged_entity() throws Exception {
+		// Given
+		when(entityMetaMap.containsKey(CompleteBean.class)).thenReturn(false);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("The entity class '" + CompleteBean.class.getCanonicalName()
+				+ "' is not managed by Achilles");
+
+		// When
+		manager.scan(CompleteBean.class);
+	}
+
 	@Test
 	public void should_return_native_query_builder() throws Exception {
 		// When
@@ -616,6 +846,35 @@ public class PersistenceManagerTest {
 		assertThat(actual).isSameAs(session);
 	}
 
+	@Test
+	public void should_get_entity_cache_stats() throws Exception {
+		// Given
+		EntityCache entityCache = mock(EntityCache.class);
+		CacheStats stats = new CacheStats(1, 2, 0, 0, 0, 0);
+		when(entityMetaMap.get(CompleteBean.class)).thenReturn(meta);
+		when(meta.getEntityCache()).thenReturn(entityCache);
+		when(entityCache.stats()).thenReturn(stats);
+
+		// When
+		Optional<CacheStats> actual = manager.getEntityCacheStats(CompleteBean.class);
+
+		// Then
+		assertThat(actual.get()).isSameAs(stats);
+	}
+
+	@Test
+	public void should_get_absent_entity_cache_stats_when_not_cached() throws Exception {
+		// Given
+		when(entityMetaMap.get(CompleteBean.class)).thenReturn(meta);
+		when(meta.getEntityCache()).thenReturn(null);
+
+		// When
+		Optional<CacheStats> actual = manager.getEntityCacheStats(CompleteBean.class);
+
+		// Then
+		assertThat(actual.isPresent()).isFalse();
+	}
+
 	@Test
 	public void should_get_indexed_query() throws Exception {
 		// When
@@ -16,20 +16,24 @@
 package info.archinnov.achilles.query.cql;
 
 import static org.fest.assertions.api.Assertions.assertThat;
-import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.persistence.operations.NativeQueryMapper;
-import info.archinnov.achilles.internal.statement.wrapper.SimpleStatementWrapper;
 import info.archinnov.achilles.type.TypedMap;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
 import org.mockito.InjectMocks;
@@ -37,11 +41,15 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
 
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 
 @RunWith(MockitoJUnitRunner.class)
 public class NativeQueryBuilderTest {
 
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
 	@InjectMocks
 	private NativeQueryBuilder query;
 
@@ -50,6 +58,8 @@ public class NativeQueryBuilderTest {
 
 	private String queryString = "query";
 
+	private Object[] boundValues = new Object[] { 10L };
+
 	@Mock
 	private NativeQueryMapper mapper;
 
@@ -59,13 +69,14 @@ public class NativeQueryBuilderTest {
 	@Before
 	public void setUp() {
 		Whitebox.setInternalState(query, String.class, queryString);
+		Whitebox.setInternalState(query, "boundValues", (Object) boundValues);
 		Whitebox.setInternalState(query, NativeQueryMapper.class, mapper);
 	}
 
 	@Test
 	public void should_get() throws Exception {
 		List<Row> rows = Arrays.asList(row);
-		when(daoContext.execute(any(SimpleStatementWrapper.class)).all()).thenReturn(rows);
+		when(daoContext.bindAndExecuteQuery(queryString, boundValues).all()).thenReturn(rows);
 
 		List<TypedMap> result = new ArrayList<>();
 		when(mapper.mapRows(rows)).thenReturn(result);
@@ -78,13 +89,10 @@ public class NativeQueryBuilderTest {
 	@Test
 	public void should_get_one() throws Exception {
 
-		List<Row> rows = Arrays.asList(row);
-		when(daoContext.execute(any(SimpleStatementWrapper.class)).all()).thenReturn(rows);
+		when(daoContext.bindAndExecuteQuery(queryString, boundValues, 1).one()).thenReturn(row);
 
-		List<TypedMap> result = new ArrayList<>();
 		TypedMap line = new TypedMap();
-		result.add(line);
-		when(mapper.mapRows(rows)).thenReturn(result);
+		when(mapper.mapRow(row)).thenReturn(line);
 
 		TypedMap actual = query.first();
 		assertThat(actual).isSameAs(line);
@@ -93,14 +101,35 @@ public class NativeQueryBuilderTest {
 	@Test
 	public void should_return_null_when_no_row() throws Exception {
 
-		List<Row> rows = Arrays.asList(row);
-		when(daoContext.execute(any(SimpleStatementWrapper.class)).all()).thenReturn(rows);
-
-		List<TypedMap> result = new ArrayList<>();
-		when(mapper.mapRows(rows)).thenReturn(result);
+		when(daoContext.bindAndExecuteQuery(queryString, boundValues, 1).one()).thenReturn(null);
 
 		Map<String, Object> actual = query.first();
 		assertThat(actual).isNull();
+		verifyZeroInteractions(mapper);
+	}
+
+	@Test
+	public void should_iterate_with_fetch_size() throws Exception {
+		ResultSet resultSet = mock(ResultSet.class);
+		when(daoContext.bindAndExecuteQuery(queryString, boundValues, 10)).thenReturn(resultSet);
+		when(resultSet.iterator()).thenReturn(Arrays.asList(row).iterator());
+
+		TypedMap line = new TypedMap();
+		when(mapper.mapRow(row)).thenReturn(line);
+
+		Iterator<TypedMap> iterator = query.iterator(10);
+
+		assertThat(iterator.hasNext()).isTrue();
+		assertThat(iterator.next()).isSameAs(line);
+		assertThat(iterator.hasNext()).isFalse();
+	}
+
+	@Test
+	public void should_exception_when_iterating_with_invalid_fetch_size() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("The fetch size for native query 'query' should be strictly positive");
+
+		query.iterator(0);
 	}
 
 }
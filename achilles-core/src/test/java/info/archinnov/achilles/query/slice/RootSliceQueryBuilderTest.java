@@ -36,6 +36,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Executor;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -48,6 +49,8 @@ import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
 
+import com.google.common.util.concurrent.MoreExecutors;
+
 @RunWith(MockitoJUnitRunner.class)
 public class RootSliceQueryBuilderTest {
 	@Rule
@@ -171,6 +174,33 @@ public class RootSliceQueryBuilderTest {
 		builder.partitionComponentsInternal(10L).bounding(null);
 	}
 
+	@Test
+	public void should_set_prefetch_threshold_and_mapping_executor() throws Exception {
+		Executor executor = MoreExecutors.sameThreadExecutor();
+		builder.partitionComponentsInternal(10L).prefetchThresholdInternal(20).mappingExecutorInternal(executor);
+
+		SliceQuery<ClusteredEntity> sliceQuery = builder.buildClusterQuery();
+		assertThat(sliceQuery.getPrefetchThreshold()).isEqualTo(20);
+		assertThat(sliceQuery.getMappingExecutor()).isSameAs(executor);
+	}
+
+	@Test
+	public void should_set_detached() throws Exception {
+		assertThat(builder.partitionComponentsInternal(10L).buildClusterQuery().isDetached()).isFalse();
+
+		builder.detachedInternal();
+
+		assertThat(builder.buildClusterQuery().isDetached()).isTrue();
+	}
+
+	@Test
+	public void should_exception_when_negative_prefetch_threshold() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Prefetch threshold for slice query for entity 'entityClass' should be positive");
+
+		builder.partitionComponentsInternal(10L).prefetchThresholdInternal(-1);
+	}
+
 	@Test
 	public void should_set_consistency_level() throws Exception {
 		builder.partitionComponentsInternal(10L).consistencyLevelInternal(EACH_QUORUM);
@@ -34,12 +34,12 @@ import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.persistence.operations.EntityMapper;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
-import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.test.builders.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -51,6 +51,7 @@ import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
 
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -96,12 +97,12 @@ public class TypedQueryBuilderTest {
 		String queryString = "select * from test";
 		initBuilder(queryString, meta, meta.getPropertyMetas(), true);
 
-		when(daoContext.execute(any(AbstractStatementWrapper.class)).all()).thenReturn(Arrays.asList(row));
+		when(daoContext.bindAndExecuteQuery(any(String.class), Mockito.<Object> anyVararg()).all()).thenReturn(Arrays.asList(row));
 		when(
 				mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>> any(),
 						eq(true))).thenReturn(entity);
 		when(contextFactory.newContext(entity)).thenReturn(context);
-		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context)).thenReturn(entity);
+		when(proxifier.buildProxyWithEagerFieldsLoaded(entity, context)).thenReturn(entity);
 
 		List<CompleteBean> actual = builder.get();
 
@@ -110,6 +111,32 @@ public class TypedQueryBuilderTest {
 		verify(meta).intercept(entity, Event.POST_LOAD);
 	}
 
+	@Test
+	public void should_get_all_detached_without_proxy() throws Exception {
+		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id").type(ID)
+				.accessors().build();
+
+		PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name")
+				.type(SIMPLE).accessors().build();
+
+		EntityMeta meta = buildEntityMeta(idMeta, nameMeta);
+
+		String queryString = "select * from test";
+		initBuilder(queryString, meta, meta.getPropertyMetas(), true);
+
+		when(daoContext.bindAndExecuteQuery(any(String.class), Mockito.<Object> anyVararg()).all()).thenReturn(Arrays.asList(row));
+		when(
+				mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>> any(),
+						eq(true))).thenReturn(entity);
+
+		List<CompleteBean> actual = builder.detached().get();
+
+		assertThat(actual).containsExactly(entity);
+
+		verify(meta).intercept(entity, Event.POST_LOAD);
+		verifyZeroInteractions(contextFactory, proxifier);
+	}
+
 	@Test
 	public void should_get_all_managed_with_normal_select() throws Exception {
 		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id")
@@ -126,12 +153,12 @@ public class TypedQueryBuilderTest {
 		String queryString = " select id, name   from  test";
 		initBuilder(queryString, meta, meta.getPropertyMetas(), true);
 
-		when(daoContext.execute(any(AbstractStatementWrapper.class)).all()).thenReturn(Arrays.asList(row));
+		when(daoContext.bindAndExecuteQuery(any(String.class), Mockito.<Object> anyVararg()).all()).thenReturn(Arrays.asList(row));
 		when(
 				mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>> any(),
 						eq(true))).thenReturn(entity);
 		when(contextFactory.newContext(entity)).thenReturn(context);
-		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context)).thenReturn(entity);
+		when(proxifier.buildProxyWithEagerFieldsLoaded(entity, context)).thenReturn(entity);
 
 		List<CompleteBean> actual = builder.get();
 
@@ -145,7 +172,7 @@ public class TypedQueryBuilderTest {
 		EntityMeta meta = buildEntityMeta();
 		initBuilder("select * from test", meta, meta.getPropertyMetas(), true);
 
-		when(daoContext.execute(any(AbstractStatementWrapper.class)).all()).thenReturn(Arrays.asList(row));
+		when(daoContext.bindAndExecuteQuery(any(String.class), Mockito.<Object> anyVararg()).all()).thenReturn(Arrays.asList(row));
 		when(
 				mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>> any(),
 						eq(true))).thenReturn(null);
@@ -165,7 +192,7 @@ public class TypedQueryBuilderTest {
 		String queryString = "select * from test";
 		initBuilder(queryString, meta, propertyMetas, false);
 
-		when(daoContext.execute(any(AbstractStatementWrapper.class)).all()).thenReturn(Arrays.asList(row));
+		when(daoContext.bindAndExecuteQuery(any(String.class), Mockito.<Object> anyVararg()).all()).thenReturn(Arrays.asList(row));
 		when(mapper.mapRowToEntityWithPrimaryKey(meta, row, propertyMetas, false)).thenReturn(entity);
 
 		List<CompleteBean> actual = builder.get();
@@ -175,6 +202,48 @@ public class TypedQueryBuilderTest {
 		verifyZeroInteractions(contextFactory, proxifier);
 	}
 
+	@Test
+	public void should_iterate_managed_entities_skipping_null_entity() throws Exception {
+		EntityMeta meta = buildEntityMeta();
+		initBuilder("select * from test", meta, meta.getPropertyMetas(), true);
+
+		Row emptyRow = mock(Row.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		when(daoContext.bindAndExecuteQuery("select * from test", new Object[] { "a" }, 10)).thenReturn(resultSet);
+		when(resultSet.iterator()).thenReturn(Arrays.asList(emptyRow, row).iterator());
+		when(
+				mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(emptyRow),
+						Mockito.<Map<String, PropertyMeta>> any(), eq(true))).thenReturn(null);
+		when(
+				mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>> any(),
+						eq(true))).thenReturn(entity);
+		when(contextFactory.newContext(entity)).thenReturn(context);
+		when(proxifier.buildProxyWithEagerFieldsLoaded(entity, context)).thenReturn(entity);
+
+		Iterator<CompleteBean> iterator = builder.iterator(10);
+
+		assertThat(iterator.hasNext()).isTrue();
+		assertThat(iterator.next()).isSameAs(entity);
+		assertThat(iterator.hasNext()).isFalse();
+		verify(meta).intercept(entity, Event.POST_LOAD);
+	}
+
+	@Test
+	public void should_iterate_with_default_fetch_size() throws Exception {
+		EntityMeta meta = buildEntityMeta();
+		initBuilder("select * from test", meta, meta.getPropertyMetas(), false);
+
+		ResultSet resultSet = mock(ResultSet.class);
+		when(
+				daoContext.bindAndExecuteQuery("select * from test", new Object[] { "a" },
+						TypedQueryBuilder.DEFAULT_FETCH_SIZE)).thenReturn(resultSet);
+		when(resultSet.iterator()).thenReturn(Arrays.<Row> asList().iterator());
+
+		Iterator<CompleteBean> iterator = builder.iterator();
+
+		assertThat(iterator.hasNext()).isFalse();
+	}
+
 	@Test
 	public void should_get_first_managed_entity() throws Exception {
 		PropertyMeta idMeta = PropertyMetaTestBuilder.completeBean(Void.class, Long.class).field("id")
@@ -188,12 +257,12 @@ public class TypedQueryBuilderTest {
 		String queryString = "select id from test";
 		initBuilder(queryString, meta, meta.getPropertyMetas(), true);
 
-		when(daoContext.execute(any(AbstractStatementWrapper.class)).one()).thenReturn(row);
+		when(daoContext.bindAndExecuteQuery(any(String.class), any(Object[].class), eq(1)).one()).thenReturn(row);
 		when(
 				mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>> any(),
 						eq(true))).thenReturn(entity);
 		when(contextFactory.newContext(entity)).thenReturn(context);
-		when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context)).thenReturn(entity);
+		when(proxifier.buildProxyWithEagerFieldsLoaded(entity, context)).thenReturn(entity);
 
 		CompleteBean actual = builder.getFirst();
 
@@ -213,7 +282,7 @@ public class TypedQueryBuilderTest {
 		String queryString = "select id from test";
 		initBuilder(queryString, meta, meta.getPropertyMetas(), false);
 
-		when(daoContext.execute(any(AbstractStatementWrapper.class)).one()).thenReturn(row);
+		when(daoContext.bindAndExecuteQuery(any(String.class), any(Object[].class), eq(1)).one()).thenReturn(row);
 		when(
 				mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>> any(),
 						eq(false))).thenReturn(entity);
@@ -230,7 +299,7 @@ public class TypedQueryBuilderTest {
 		EntityMeta meta = buildEntityMeta();
 		String queryString = "select id from test";
 		initBuilder(queryString, meta, meta.getPropertyMetas(), false);
-		when(daoContext.execute(any(AbstractStatementWrapper.class)).one()).thenReturn(null);
+		when(daoContext.bindAndExecuteQuery(any(String.class), any(Object[].class), eq(1)).one()).thenReturn(null);
 		CompleteBean actual = builder.getFirst();
 
 		assertThat(actual).isNull();
@@ -244,7 +313,7 @@ public class TypedQueryBuilderTest {
 		EntityMeta meta = buildEntityMeta();
 		String queryString = "select id from test";
 		initBuilder(queryString, meta, meta.getPropertyMetas(), false);
-		when(daoContext.execute(any(AbstractStatementWrapper.class)).one()).thenReturn(row);
+		when(daoContext.bindAndExecuteQuery(any(String.class), any(Object[].class), eq(1)).one()).thenReturn(row);
 		when(
 				mapper.mapRowToEntityWithPrimaryKey(eq(meta), eq(row), Mockito.<Map<String, PropertyMeta>> any(),
 						eq(true))).thenReturn(null);
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.test.builders;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.Executor;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.google.common.util.concurrent.ListenableFuture;
+
+public class ResultSetFutureTestBuilder {
+
+	public static ResultSetFuture completedWith(ResultSet resultSet) {
+		ResultSetFuture future = mock(ResultSetFuture.class);
+		try {
+			when(future.isDone()).thenReturn(true);
+			when(future.get()).thenReturn(resultSet);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		doAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				((Runnable) invocation.getArguments()[0]).run();
+				return null;
+			}
+		}).when(future).addListener(any(Runnable.class), any(Executor.class));
+		return future;
+	}
+
+	public static ResultSetFuture delegatingTo(final ListenableFuture<ResultSet> delegate) {
+		ResultSetFuture future = mock(ResultSetFuture.class);
+		try {
+			when(future.isDone()).thenAnswer(new Answer<Boolean>() {
+				@Override
+				public Boolean answer(InvocationOnMock invocation) throws Throwable {
+					return delegate.isDone();
+				}
+			});
+			when(future.get()).thenAnswer(new Answer<ResultSet>() {
+				@Override
+				public ResultSet answer(InvocationOnMock invocation) throws Throwable {
+					return delegate.get();
+				}
+			});
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		doAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				delegate.addListener((Runnable) invocation.getArguments()[0],
+						(Executor) invocation.getArguments()[1]);
+				return null;
+			}
+		}).when(future).addListener(any(Runnable.class), any(Executor.class));
+		return future;
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Enable the read-through entity cache for an Entity. Entities loaded by
+ * <em>find()</em> are kept in memory, keyed by primary key, and evicted on
+ * size or age. Persist, update and remove through Achilles invalidate the
+ * cached entry
+ * </p>
+ * <p>
+ * Reads given an explicit read consistency level always query Cassandra and
+ * never return a cached entry
+ * </p>
+ * <p>
+ * Writes done outside of Achilles (native queries, other clients) are not
+ * seen until the entry expires
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface Cached {
+	/**
+	 * <p>
+	 * Maximum number of entities kept in the cache
+	 * </p>
+	 */
+	long maxSize() default 10000;
+
+	/**
+	 * <p>
+	 * Time in seconds after which a cached entity expires. 0 means no expiry
+	 * </p>
+	 */
+	long expireAfterWriteSeconds() default 0;
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.annotations;
+
+import info.archinnov.achilles.codec.BinaryCodec;
+import info.archinnov.achilles.codec.CompactBinaryCodec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Encode the values of this property with a {@link BinaryCodec} instead of
+ * JSON. Only values that are not native CQL types are concerned. They are
+ * stored in a <strong>blob</strong> column, or as <strong>blob</strong>
+ * elements for collections and maps
+ * </p>
+ * <p>
+ * Primary key and counter properties cannot be annotated with @Codec
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD })
+@Documented
+public @interface Codec {
+	/**
+	 * <p>
+	 * Codec class. Default = {@link CompactBinaryCodec}
+	 * </p>
+	 */
+	Class<? extends BinaryCodec> value() default CompactBinaryCodec.class;
+}
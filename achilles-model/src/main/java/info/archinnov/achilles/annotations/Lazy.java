@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Exclude this property from the default SELECT of its entity. The column is
+ * fetched on first call to the getter of the managed entity. Useful for large
+ * text, blob or JSON columns that are seldom read
+ * </p>
+ * <p>
+ * Lazy properties sharing the same <strong>fetchGroup</strong> are loaded
+ * together, with a single SELECT, on first call to the getter of any of them
+ * </p>
+ * 
+ * <pre class="code"><code class="java">
+ * 
+ * &#064;Lazy(fetchGroup = "details")
+ * &#064;Column
+ * private String biography;
+ * 
+ * &#064;Lazy(fetchGroup = "details")
+ * &#064;Column
+ * private List&lt;String&gt; friends;
+ * 
+ * </code></pre>
+ * <p>
+ * Primary key properties cannot be lazy. Counters are always loaded on
+ * demand, all together, and cannot belong to a fetch group
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD })
+@Documented
+public @interface Lazy {
+
+	/**
+	 * Name of the fetch group of this property. Default = no group, the
+	 * property is loaded alone
+	 */
+	String fetchGroup() default "";
+}
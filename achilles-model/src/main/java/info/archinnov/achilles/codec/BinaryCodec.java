@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.codec;
+
+/**
+ * <p>
+ * Codec for property values that are not native CQL types. By default such
+ * values are serialized to JSON and stored as <strong>text</strong>. When a
+ * codec is selected, with the <em>@Codec</em> annotation on the property or
+ * globally with <em>achilles.codec.default</em>, the values are encoded by
+ * the codec and stored as <strong>blob</strong>
+ * </p>
+ * <p>
+ * Implementations must be thread-safe and, when referenced by
+ * <em>@Codec</em>, have a public no-arg constructor
+ * </p>
+ */
+public interface BinaryCodec {
+
+	/**
+	 * Encode a non null value
+	 * 
+	 * @param sourceType
+	 *            declared type of the value
+	 * @param value
+	 *            value to encode
+	 * @return encoded bytes
+	 */
+	byte[] encode(Class<?> sourceType, Object value);
+
+	/**
+	 * Decode bytes previously produced by {@link #encode(Class, Object)}
+	 * 
+	 * @param targetType
+	 *            declared type of the value
+	 * @param bytes
+	 *            encoded bytes
+	 * @return decoded value
+	 */
+	<T> T decode(Class<T> targetType, byte[] bytes);
+}
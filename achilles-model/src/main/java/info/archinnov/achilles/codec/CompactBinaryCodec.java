@@ -0,0 +1,650 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.codec;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * Compact binary {@link BinaryCodec}. The encoding is driven by the declared
+ * types, so no type information is written when the runtime type of a value
+ * is its declared type:
+ * <ul>
+ * <li>integral numbers and dates are written as variable-length integers</li>
+ * <li>strings, enum names, BigInteger and BigDecimal as length-prefixed bytes</li>
+ * <li>arrays, collections and maps as their size followed by their elements,
+ * typed by the generic parameters of the declared type</li>
+ * <li>other objects as their non static, non transient fields sorted by name,
+ * superclass fields first</li>
+ * </ul>
+ * Values whose runtime type differs from the declared type (sub-classes,
+ * properties declared as Object or interface) are prefixed with their class
+ * name. On decoding, a class name is only accepted if the class is assignable
+ * to the declared type, and for collections and maps if it belongs to the
+ * java.util packages
+ * </p>
+ * <p>
+ * Dates are written as their milliseconds, plus the nanoseconds for
+ * Timestamp. java.util.Date, java.sql.Date, Time and Timestamp are supported,
+ * other sub-classes of Date are rejected
+ * </p>
+ * <p>
+ * Decoded objects are created with their no-arg constructor, which may be
+ * private. Collections and maps declared as interfaces are decoded as
+ * ArrayList, LinkedHashSet, TreeSet, ArrayDeque, LinkedHashMap or TreeMap. The
+ * value graph must be acyclic
+ * </p>
+ * <p>
+ * The encoding relies on the fields of the classes. Adding, removing or
+ * renaming a field of a stored class requires to migrate the stored values,
+ * decoding a value encoded with a different number of fields fails
+ * </p>
+ */
+public class CompactBinaryCodec implements BinaryCodec {
+
+	private static final int NULL = 0;
+	private static final int DECLARED_TYPE = 1;
+	private static final int RUNTIME_TYPE = 2;
+
+	private static final Comparator<Field> BY_NAME = new Comparator<Field>() {
+		@Override
+		public int compare(Field field1, Field field2) {
+			return field1.getName().compareTo(field2.getName());
+		}
+	};
+
+	private final ConcurrentMap<Class<?>, Field[]> fieldsCache = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Class<?>, Constructor<?>> constructorsCache = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Class<?>> classesCache = new ConcurrentHashMap<>();
+
+	@Override
+	public byte[] encode(Class<?> sourceType, Object value) {
+		Output output = new Output();
+		write(output, sourceType, value);
+		return output.toByteArray();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T decode(Class<T> targetType, byte[] bytes) {
+		Input input = new Input(bytes);
+		Object value = read(input, targetType);
+		if (input.position != bytes.length) {
+			throw new AchillesException("Cannot decode value of type '" + targetType.getCanonicalName() + "', "
+					+ (bytes.length - input.position) + " bytes left after decoding");
+		}
+		return (T) value;
+	}
+
+	private void write(Output output, Type type, Object value) {
+		Class<?> declaredClass = rawClass(type);
+		if (declaredClass.isPrimitive()) {
+			writeValue(output, type, declaredClass, value);
+		} else if (value == null) {
+			output.write(NULL);
+		} else if (isDeclaredType(declaredClass, value)) {
+			output.write(DECLARED_TYPE);
+			writeValue(output, type, declaredClass, value);
+		} else {
+			Class<?> runtimeClass = value instanceof Enum ? ((Enum<?>) value).getDeclaringClass() : value.getClass();
+			if (isContainer(runtimeClass) && !isJdkContainer(runtimeClass)) {
+				throw new AchillesException("Cannot encode value of type '" + runtimeClass.getCanonicalName()
+						+ "' as '" + declaredClass.getCanonicalName()
+						+ "', only java.util collections and maps are supported as runtime type");
+			}
+			output.write(RUNTIME_TYPE);
+			output.writeString(runtimeClass.getName());
+			writeValue(output, runtimeClass, runtimeClass, value);
+		}
+	}
+
+	private boolean isDeclaredType(Class<?> declaredClass, Object value) {
+		Class<?> runtimeClass = value.getClass();
+		if (runtimeClass == declaredClass) {
+			return true;
+		} else if (declaredClass.isEnum()) {
+			return declaredClass.isInstance(value);
+		} else if (isContainer(declaredClass) && isAbstract(declaredClass)) {
+			return declaredClass.isInstance(value);
+		}
+		return false;
+	}
+
+	private void writeValue(Output output, Type type, Class<?> valueClass, Object value) {
+		if (valueClass == boolean.class || valueClass == Boolean.class) {
+			output.write((Boolean) value ? 1 : 0);
+		} else if (valueClass == byte.class || valueClass == Byte.class) {
+			output.write((Byte) value);
+		} else if (valueClass == short.class || valueClass == Short.class) {
+			output.writeVarLong(zigZag((Short) value));
+		} else if (valueClass == char.class || valueClass == Character.class) {
+			output.writeVarLong((Character) value);
+		} else if (valueClass == int.class || valueClass == Integer.class) {
+			output.writeVarLong(zigZag((Integer) value));
+		} else if (valueClass == long.class || valueClass == Long.class) {
+			output.writeVarLong(zigZag((Long) value));
+		} else if (valueClass == float.class || valueClass == Float.class) {
+			output.writeInt(Float.floatToIntBits((Float) value));
+		} else if (valueClass == double.class || valueClass == Double.class) {
+			output.writeLong(Double.doubleToLongBits((Double) value));
+		} else if (valueClass == String.class) {
+			output.writeString((String) value);
+		} else if (valueClass.isEnum()) {
+			output.writeString(((Enum<?>) value).name());
+		} else if (Date.class.isAssignableFrom(valueClass)) {
+			checkDateClass(valueClass);
+			output.writeVarLong(zigZag(((Date) value).getTime()));
+			if (valueClass == Timestamp.class) {
+				output.writeVarLong(((Timestamp) value).getNanos());
+			}
+		} else if (valueClass == UUID.class) {
+			output.writeLong(((UUID) value).getMostSignificantBits());
+			output.writeLong(((UUID) value).getLeastSignificantBits());
+		} else if (valueClass == BigInteger.class) {
+			output.writeBytes(((BigInteger) value).toByteArray());
+		} else if (valueClass == BigDecimal.class) {
+			output.writeVarLong(zigZag(((BigDecimal) value).scale()));
+			output.writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+		} else if (valueClass == byte[].class) {
+			output.writeBytes((byte[]) value);
+		} else if (valueClass.isArray()) {
+			writeArray(output, type, valueClass, value);
+		} else if (Collection.class.isAssignableFrom(valueClass)) {
+			Collection<?> collection = (Collection<?>) value;
+			Type elementType = typeArgument(type, 0);
+			output.writeVarLong(collection.size());
+			for (Object element : collection) {
+				write(output, elementType, element);
+			}
+		} else if (Map.class.isAssignableFrom(valueClass)) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			Type keyType = typeArgument(type, 0);
+			Type valueType = typeArgument(type, 1);
+			output.writeVarLong(map.size());
+			for (Entry<?, ?> entry : map.entrySet()) {
+				write(output, keyType, entry.getKey());
+				write(output, valueType, entry.getValue());
+			}
+		} else {
+			writeObject(output, valueClass, value);
+		}
+	}
+
+	private void writeArray(Output output, Type type, Class<?> arrayClass, Object array) {
+		Type componentType = type instanceof GenericArrayType ? ((GenericArrayType) type).getGenericComponentType()
+				: arrayClass.getComponentType();
+		int length = Array.getLength(array);
+		output.writeVarLong(length);
+		for (int i = 0; i < length; i++) {
+			write(output, componentType, Array.get(array, i));
+		}
+	}
+
+	private void writeObject(Output output, Class<?> objectClass, Object object) {
+		Field[] fields = fields(objectClass);
+		output.writeVarLong(fields.length);
+		try {
+			for (Field field : fields) {
+				write(output, field.getGenericType(), field.get(object));
+			}
+		} catch (IllegalAccessException e) {
+			throw new AchillesException("Cannot encode value of type '" + objectClass.getCanonicalName() + "'", e);
+		}
+	}
+
+	private Object read(Input input, Type type) {
+		Class<?> declaredClass = rawClass(type);
+		if (declaredClass.isPrimitive()) {
+			return readValue(input, type, declaredClass);
+		}
+		int marker = input.read();
+		switch (marker) {
+		case NULL:
+			return null;
+		case DECLARED_TYPE:
+			return readValue(input, type, declaredClass);
+		case RUNTIME_TYPE:
+			Class<?> runtimeClass = loadRuntimeClass(declaredClass, input.readString());
+			return readValue(input, runtimeClass, runtimeClass);
+		default:
+			throw new AchillesException("Cannot decode value of type '" + declaredClass.getCanonicalName()
+					+ "', unknown marker " + marker);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Object readValue(Input input, Type type, Class<?> valueClass) {
+		if (valueClass == boolean.class || valueClass == Boolean.class) {
+			return input.read() != 0;
+		} else if (valueClass == byte.class || valueClass == Byte.class) {
+			return input.read();
+		} else if (valueClass == short.class || valueClass == Short.class) {
+			return (short) unZigZag(input.readVarLong());
+		} else if (valueClass == char.class || valueClass == Character.class) {
+			return (char) input.readVarLong();
+		} else if (valueClass == int.class || valueClass == Integer.class) {
+			return (int) unZigZag(input.readVarLong());
+		} else if (valueClass == long.class || valueClass == Long.class) {
+			return unZigZag(input.readVarLong());
+		} else if (valueClass == float.class || valueClass == Float.class) {
+			return Float.intBitsToFloat(input.readInt());
+		} else if (valueClass == double.class || valueClass == Double.class) {
+			return Double.longBitsToDouble(input.readLong());
+		} else if (valueClass == String.class) {
+			return input.readString();
+		} else if (valueClass.isEnum()) {
+			return Enum.valueOf((Class) valueClass, input.readString());
+		} else if (Date.class.isAssignableFrom(valueClass)) {
+			return readDate(input, valueClass);
+		} else if (valueClass == UUID.class) {
+			return new UUID(input.readLong(), input.readLong());
+		} else if (valueClass == BigInteger.class) {
+			return new BigInteger(input.readBytes());
+		} else if (valueClass == BigDecimal.class) {
+			int scale = (int) unZigZag(input.readVarLong());
+			return new BigDecimal(new BigInteger(input.readBytes()), scale);
+		} else if (valueClass == byte[].class) {
+			return input.readBytes();
+		} else if (valueClass.isArray()) {
+			return readArray(input, type, valueClass);
+		} else if (Collection.class.isAssignableFrom(valueClass)) {
+			int size = input.readSize();
+			Type elementType = typeArgument(type, 0);
+			Collection<Object> collection = newCollection(valueClass, size);
+			for (int i = 0; i < size; i++) {
+				collection.add(read(input, elementType));
+			}
+			return collection;
+		} else if (Map.class.isAssignableFrom(valueClass)) {
+			int size = input.readSize();
+			Type keyType = typeArgument(type, 0);
+			Type valueType = typeArgument(type, 1);
+			Map<Object, Object> map = newMap(valueClass, size);
+			for (int i = 0; i < size; i++) {
+				Object key = read(input, keyType);
+				map.put(key, read(input, valueType));
+			}
+			return map;
+		} else {
+			return readObject(input, valueClass);
+		}
+	}
+
+	private Date readDate(Input input, Class<?> dateClass) {
+		checkDateClass(dateClass);
+		long time = unZigZag(input.readVarLong());
+		if (dateClass == Timestamp.class) {
+			Timestamp timestamp = new Timestamp(time);
+			timestamp.setNanos((int) input.readVarLong());
+			return timestamp;
+		} else if (dateClass == java.sql.Date.class) {
+			return new java.sql.Date(time);
+		} else if (dateClass == Time.class) {
+			return new Time(time);
+		}
+		return new Date(time);
+	}
+
+	private void checkDateClass(Class<?> dateClass) {
+		if (dateClass != Date.class && dateClass != java.sql.Date.class && dateClass != Time.class
+				&& dateClass != Timestamp.class) {
+			throw new AchillesException("Cannot encode or decode date of unsupported type '"
+					+ dateClass.getCanonicalName() + "'");
+		}
+	}
+
+	private Object readArray(Input input, Type type, Class<?> arrayClass) {
+		Type componentType = type instanceof GenericArrayType ? ((GenericArrayType) type).getGenericComponentType()
+				: arrayClass.getComponentType();
+		int length = input.readSize();
+		Object array = Array.newInstance(arrayClass.getComponentType(), length);
+		for (int i = 0; i < length; i++) {
+			Array.set(array, i, read(input, componentType));
+		}
+		return array;
+	}
+
+	private Object readObject(Input input, Class<?> objectClass) {
+		Field[] fields = fields(objectClass);
+		int fieldCount = input.readSize();
+		if (fieldCount != fields.length) {
+			throw new AchillesException(String.format(
+					"Cannot decode value of type '%s' encoded with %d fields, the class now has %d fields",
+					objectClass.getCanonicalName(), fieldCount, fields.length));
+		}
+		Object object = newInstance(objectClass);
+		try {
+			for (Field field : fields) {
+				field.set(object, read(input, field.getGenericType()));
+			}
+		} catch (IllegalAccessException e) {
+			throw new AchillesException("Cannot decode value of type '" + objectClass.getCanonicalName() + "'", e);
+		}
+		return object;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Collection<Object> newCollection(Class<?> collectionClass, int size) {
+		if (!isAbstract(collectionClass)) {
+			return (Collection<Object>) newInstance(collectionClass);
+		} else if (collectionClass.isAssignableFrom(ArrayList.class)) {
+			return new ArrayList<>(size);
+		} else if (collectionClass.isAssignableFrom(LinkedHashSet.class)) {
+			return new LinkedHashSet<>(Math.max(16, size * 4 / 3 + 1));
+		} else if (collectionClass.isAssignableFrom(TreeSet.class)) {
+			return new TreeSet<>();
+		} else if (collectionClass.isAssignableFrom(ArrayDeque.class)) {
+			return new ArrayDeque<>(size);
+		}
+		throw new AchillesException("Cannot decode collection of type '" + collectionClass.getCanonicalName() + "'");
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<Object, Object> newMap(Class<?> mapClass, int size) {
+		if (!isAbstract(mapClass)) {
+			return (Map<Object, Object>) newInstance(mapClass);
+		} else if (mapClass.isAssignableFrom(LinkedHashMap.class)) {
+			return new LinkedHashMap<>(Math.max(16, size * 4 / 3 + 1));
+		} else if (mapClass.isAssignableFrom(TreeMap.class)) {
+			return new TreeMap<>();
+		} else if (mapClass.isAssignableFrom(ConcurrentHashMap.class)) {
+			return new ConcurrentHashMap<>(size);
+		}
+		throw new AchillesException("Cannot decode map of type '" + mapClass.getCanonicalName() + "'");
+	}
+
+	private Object newInstance(Class<?> objectClass) {
+		Constructor<?> constructor = constructorsCache.get(objectClass);
+		try {
+			if (constructor == null) {
+				constructor = objectClass.getDeclaredConstructor();
+				constructor.setAccessible(true);
+				constructorsCache.putIfAbsent(objectClass, constructor);
+			}
+			return constructor.newInstance();
+		} catch (NoSuchMethodException e) {
+			throw new AchillesException("Cannot decode value of type '" + objectClass.getCanonicalName()
+					+ "', it should have a no-arg constructor", e);
+		} catch (ReflectiveOperationException e) {
+			throw new AchillesException("Cannot instantiate type '" + objectClass.getCanonicalName() + "'", e);
+		}
+	}
+
+	private Field[] fields(Class<?> objectClass) {
+		Field[] fields = fieldsCache.get(objectClass);
+		if (fields == null) {
+			List<Field> allFields = new ArrayList<>();
+			for (Class<?> clazz : hierarchy(objectClass)) {
+				List<Field> declaredFields = new ArrayList<>();
+				for (Field field : clazz.getDeclaredFields()) {
+					int modifiers = field.getModifiers();
+					if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+						field.setAccessible(true);
+						declaredFields.add(field);
+					}
+				}
+				Collections.sort(declaredFields, BY_NAME);
+				allFields.addAll(declaredFields);
+			}
+			fields = allFields.toArray(new Field[allFields.size()]);
+			fieldsCache.putIfAbsent(objectClass, fields);
+		}
+		return fields;
+	}
+
+	private List<Class<?>> hierarchy(Class<?> objectClass) {
+		List<Class<?>> hierarchy = new ArrayList<>();
+		for (Class<?> clazz = objectClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+			hierarchy.add(0, clazz);
+		}
+		return hierarchy;
+	}
+
+	/**
+	 * Load the runtime class written in the encoded value, which must not
+	 * allow to instantiate a class unrelated to the declared type
+	 */
+	private Class<?> loadRuntimeClass(Class<?> declaredClass, String className) {
+		Class<?> runtimeClass = loadClass(className);
+		if (!declaredClass.isAssignableFrom(runtimeClass)) {
+			throw new AchillesException("Cannot decode value of type '" + className + "' as '"
+					+ declaredClass.getCanonicalName() + "', it is not a sub-type of the declared type");
+		}
+		if (isContainer(runtimeClass) && !isJdkContainer(runtimeClass)) {
+			throw new AchillesException("Cannot decode value of type '" + className
+					+ "', only java.util collections and maps are supported as runtime type");
+		}
+		return runtimeClass;
+	}
+
+	private Class<?> loadClass(String className) {
+		Class<?> clazz = classesCache.get(className);
+		if (clazz == null) {
+			ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+			try {
+				clazz = Class.forName(className, false, classLoader != null ? classLoader : this.getClass()
+						.getClassLoader());
+			} catch (ClassNotFoundException e) {
+				throw new AchillesException("Cannot decode value of unknown type '" + className + "'", e);
+			}
+			classesCache.putIfAbsent(className, clazz);
+		}
+		return clazz;
+	}
+
+	private static boolean isContainer(Class<?> clazz) {
+		return Collection.class.isAssignableFrom(clazz) || Map.class.isAssignableFrom(clazz);
+	}
+
+	private static boolean isJdkContainer(Class<?> clazz) {
+		return clazz.getName().startsWith("java.util.");
+	}
+
+	private static boolean isAbstract(Class<?> clazz) {
+		return clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers());
+	}
+
+	private static Type typeArgument(Type type, int index) {
+		if (type instanceof ParameterizedType) {
+			Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+			if (index < arguments.length) {
+				return arguments[index];
+			}
+		}
+		return Object.class;
+	}
+
+	private static Class<?> rawClass(Type type) {
+		if (type instanceof Class) {
+			return (Class<?>) type;
+		} else if (type instanceof ParameterizedType) {
+			return rawClass(((ParameterizedType) type).getRawType());
+		} else if (type instanceof GenericArrayType) {
+			return Array.newInstance(rawClass(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+		} else if (type instanceof WildcardType) {
+			return rawClass(((WildcardType) type).getUpperBounds()[0]);
+		} else if (type instanceof TypeVariable) {
+			return rawClass(((TypeVariable<?>) type).getBounds()[0]);
+		}
+		return Object.class;
+	}
+
+	private static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static final class Output {
+		private byte[] buffer = new byte[64];
+		private int position;
+
+		void write(int value) {
+			ensureCapacity(1);
+			buffer[position++] = (byte) value;
+		}
+
+		void writeInt(int value) {
+			ensureCapacity(4);
+			for (int shift = 24; shift >= 0; shift -= 8) {
+				buffer[position++] = (byte) (value >>> shift);
+			}
+		}
+
+		void writeLong(long value) {
+			ensureCapacity(8);
+			for (int shift = 56; shift >= 0; shift -= 8) {
+				buffer[position++] = (byte) (value >>> shift);
+			}
+		}
+
+		void writeVarLong(long value) {
+			ensureCapacity(10);
+			while ((value & ~0x7FL) != 0) {
+				buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			buffer[position++] = (byte) value;
+		}
+
+		void writeBytes(byte[] bytes) {
+			writeVarLong(bytes.length);
+			ensureCapacity(bytes.length);
+			System.arraycopy(bytes, 0, buffer, position, bytes.length);
+			position += bytes.length;
+		}
+
+		void writeString(String value) {
+			writeBytes(value.getBytes(UTF_8));
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(buffer, position);
+		}
+
+		private void ensureCapacity(int length) {
+			if (position + length > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+			}
+		}
+	}
+
+	private static final class Input {
+		private final byte[] bytes;
+		private int position;
+
+		Input(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		byte read() {
+			checkAvailable(1);
+			return bytes[position++];
+		}
+
+		int readInt() {
+			checkAvailable(4);
+			int value = 0;
+			for (int i = 0; i < 4; i++) {
+				value = (value << 8) | (bytes[position++] & 0xFF);
+			}
+			return value;
+		}
+
+		long readLong() {
+			checkAvailable(8);
+			long value = 0;
+			for (int i = 0; i < 8; i++) {
+				value = (value << 8) | (bytes[position++] & 0xFF);
+			}
+			return value;
+		}
+
+		long readVarLong() {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				byte b = read();
+				value |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new AchillesException("Malformed variable-length integer at position " + position);
+		}
+
+		int readSize() {
+			long size = readVarLong();
+			if (size < 0 || size > bytes.length - position) {
+				throw new AchillesException("Invalid size " + size + " at position " + position);
+			}
+			return (int) size;
+		}
+
+		byte[] readBytes() {
+			int length = readSize();
+			byte[] result = Arrays.copyOfRange(bytes, position, position + length);
+			position += length;
+			return result;
+		}
+
+		String readString() {
+			int length = readSize();
+			String result = new String(bytes, position, length, UTF_8);
+			position += length;
+			return result;
+		}
+
+		private void checkAvailable(int length) {
+			if (position + length > bytes.length) {
+				throw new AchillesException("Unexpected end of encoded value at position " + position);
+			}
+		}
+	}
+}
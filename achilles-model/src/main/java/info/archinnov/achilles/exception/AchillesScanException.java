@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.exception;
+
+import java.math.BigInteger;
+
+/**
+ * Raised when a full table scan fails. The resume token is the position up to
+ * which every token range has been entirely processed, to be passed back to
+ * <em>resumeFrom()</em> to restart the scan from there. It is <em>null</em>
+ * when no range has been completed yet
+ */
+public class AchillesScanException extends AchillesException {
+	private static final long serialVersionUID = 1L;
+
+	private final BigInteger resumeToken;
+
+	public AchillesScanException(String message, Throwable throwable, BigInteger resumeToken) {
+		super(message, throwable);
+		this.resumeToken = resumeToken;
+	}
+
+	public BigInteger getResumeToken() {
+		return resumeToken;
+	}
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.codec;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.fest.assertions.api.Assertions.assertThat;
+import info.archinnov.achilles.exception.AchillesException;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class CompactBinaryCodecTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private CompactBinaryCodec codec = new CompactBinaryCodec();
+
+	@Test
+	public void should_encode_and_decode_simple_values() throws Exception {
+		assertThat(roundTrip(String.class, "achilles")).isEqualTo("achilles");
+		assertThat(roundTrip(Long.class, -1234567890123L)).isEqualTo(-1234567890123L);
+		assertThat(roundTrip(Integer.class, Integer.MIN_VALUE)).isEqualTo(Integer.MIN_VALUE);
+		assertThat(roundTrip(Double.class, 12.5d)).isEqualTo(12.5d);
+		assertThat(roundTrip(Boolean.class, true)).isTrue();
+		assertThat(roundTrip(Character.class, 'z')).isEqualTo('z');
+		assertThat(roundTrip(Date.class, new Date(1390000000000L))).isEqualTo(new Date(1390000000000L));
+
+		UUID uuid = UUID.randomUUID();
+		assertThat(roundTrip(UUID.class, uuid)).isEqualTo(uuid);
+		assertThat(roundTrip(BigInteger.class, new BigInteger("-98765432109876543210"))).isEqualTo(
+				new BigInteger("-98765432109876543210"));
+		assertThat(roundTrip(BigDecimal.class, new BigDecimal("3.14159"))).isEqualTo(new BigDecimal("3.14159"));
+		assertThat(roundTrip(Color.class, Color.BLUE)).isSameAs(Color.BLUE);
+	}
+
+	@Test
+	public void should_encode_and_decode_null() throws Exception {
+		byte[] bytes = codec.encode(String.class, null);
+
+		assertThat(bytes).hasSize(1);
+		assertThat(codec.decode(String.class, bytes)).isNull();
+	}
+
+	@Test
+	public void should_encode_and_decode_nested_object() throws Exception {
+		// Given
+		Address address = new Address();
+		address.street = "rue de la paix";
+		address.zipCode = 75002;
+		address.location = new Location(48.869, 2.331);
+		address.tags = Arrays.asList("home", "main");
+		address.colors = new TreeSet<>(Arrays.asList(Color.RED, Color.BLUE));
+		address.attributes = new HashMap<>();
+		address.attributes.put("floor", 3);
+		address.attributes.put("door", null);
+		address.codes = new int[] { 1, 2, 3 };
+
+		// When
+		Address decoded = roundTrip(Address.class, address);
+
+		// Then
+		assertThat(decoded.street).isEqualTo("rue de la paix");
+		assertThat(decoded.zipCode).isEqualTo(75002);
+		assertThat(decoded.location.latitude).isEqualTo(48.869);
+		assertThat(decoded.location.longitude).isEqualTo(2.331);
+		assertThat(decoded.tags).containsExactly("home", "main");
+		assertThat(decoded.colors).containsOnly(Color.RED, Color.BLUE);
+		assertThat(decoded.attributes).hasSize(2);
+		assertThat(decoded.attributes.get("floor")).isEqualTo(3);
+		assertThat(decoded.attributes.containsKey("door")).isTrue();
+		assertThat(decoded.codes).isEqualTo(new int[] { 1, 2, 3 });
+		assertThat(decoded.cache).isEqualTo("transient");
+	}
+
+	@Test
+	public void should_encode_and_decode_runtime_subclass() throws Exception {
+		// Given
+		Holder holder = new Holder();
+		holder.location = new NamedLocation(1.0, 2.0, "home");
+
+		// When
+		Holder decoded = roundTrip(Holder.class, holder);
+
+		// Then
+		assertThat(decoded.location).isInstanceOf(NamedLocation.class);
+		assertThat(((NamedLocation) decoded.location).name).isEqualTo("home");
+		assertThat(decoded.location.latitude).isEqualTo(1.0);
+	}
+
+	@Test
+	public void should_encode_and_decode_timestamp() throws Exception {
+		// Given
+		Timestamp timestamp = new Timestamp(1390000000123L);
+		timestamp.setNanos(123456789);
+		DateHolder holder = new DateHolder();
+		holder.date = timestamp;
+
+		// When
+		Timestamp decodedTimestamp = roundTrip(Timestamp.class, timestamp);
+		DateHolder decodedHolder = roundTrip(DateHolder.class, holder);
+
+		// Then
+		assertThat(decodedTimestamp).isEqualTo(timestamp);
+		assertThat(decodedHolder.date).isInstanceOf(Timestamp.class).isEqualTo(timestamp);
+	}
+
+	@Test
+	public void should_exception_when_encoding_unsupported_date_subclass() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot encode or decode date of unsupported type '"
+				+ CustomDate.class.getCanonicalName() + "'");
+
+		codec.encode(Date.class, new CustomDate());
+	}
+
+	@Test
+	public void should_exception_when_runtime_type_not_assignable_to_declared_type() throws Exception {
+		// Given
+		byte[] bytes = codec.encode(Object.class, new NoDefaultConstructor("value"));
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot decode value of type '" + NoDefaultConstructor.class.getName() + "' as '"
+				+ Location.class.getCanonicalName() + "', it is not a sub-type of the declared type");
+
+		// When
+		codec.decode(Location.class, bytes);
+	}
+
+	@Test
+	public void should_exception_when_runtime_container_not_from_jdk() throws Exception {
+		// Given
+		byte[] className = CustomList.class.getName().getBytes(UTF_8);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		bytes.write(2);
+		bytes.write(className.length);
+		bytes.write(className);
+		bytes.write(0);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot decode value of type '" + CustomList.class.getName()
+				+ "', only java.util collections and maps are supported as runtime type");
+
+		// When
+		codec.decode(Object.class, bytes.toByteArray());
+	}
+
+	@Test
+	public void should_exception_when_encoding_runtime_container_not_from_jdk() throws Exception {
+		exception.expect(AchillesException.class);
+		exception.expectMessage("only java.util collections and maps are supported as runtime type");
+
+		codec.encode(Object.class, new CustomList());
+	}
+
+	@Test
+	public void should_encode_list_of_objects() throws Exception {
+		// Given
+		List<Location> locations = new ArrayList<>();
+		locations.add(new Location(1.0, 2.0));
+		locations.add(null);
+
+		// When
+		@SuppressWarnings("unchecked")
+		List<Location> decoded = codec.decode(List.class, codec.encode(ArrayList.class, locations));
+
+		// Then
+		assertThat(decoded).hasSize(2);
+		assertThat(decoded.get(0)).isInstanceOf(Location.class);
+		assertThat(decoded.get(1)).isNull();
+	}
+
+	@Test
+	public void should_be_more_compact_than_json() throws Exception {
+		// Given
+		Address address = new Address();
+		address.street = "rue de la paix";
+		address.zipCode = 75002;
+		address.location = new Location(48.869, 2.331);
+
+		// When
+		byte[] binary = codec.encode(Address.class, address);
+		byte[] json = new ObjectMapper().writeValueAsBytes(address);
+
+		// Then
+		assertThat(binary.length).isLessThan(json.length);
+	}
+
+	@Test
+	public void should_exception_when_field_count_changed() throws Exception {
+		// Given
+		byte[] bytes = codec.encode(Location.class, new Location(1.0, 2.0));
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot decode value of type '" + NamedLocation.class.getCanonicalName()
+				+ "' encoded with 2 fields, the class now has 3 fields");
+
+		// When
+		codec.decode(NamedLocation.class, bytes);
+	}
+
+	@Test
+	public void should_exception_when_no_default_constructor() throws Exception {
+		// Given
+		byte[] bytes = codec.encode(NoDefaultConstructor.class, new NoDefaultConstructor("value"));
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Cannot decode value of type '" + NoDefaultConstructor.class.getCanonicalName()
+				+ "', it should have a no-arg constructor");
+
+		// When
+		codec.decode(NoDefaultConstructor.class, bytes);
+	}
+
+	@Test
+	public void should_exception_when_trailing_bytes() throws Exception {
+		// Given
+		byte[] bytes = Arrays.copyOf(codec.encode(Long.class, 10L), 5);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("bytes left after decoding");
+
+		// When
+		codec.decode(Long.class, bytes);
+	}
+
+	@Test
+	public void should_exception_when_truncated() throws Exception {
+		// Given
+		byte[] encoded = codec.encode(String.class, "achilles");
+		byte[] bytes = Arrays.copyOf(encoded, encoded.length - 2);
+
+		exception.expect(AchillesException.class);
+		exception.expectMessage("Invalid size 8 at position 2");
+
+		// When
+		codec.decode(String.class, bytes);
+	}
+
+	private <T> T roundTrip(Class<T> type, T value) {
+		return codec.decode(type, codec.encode(type, value));
+	}
+
+	public static enum Color {
+		RED, BLUE
+	}
+
+	public static class Location {
+		public double latitude;
+		public double longitude;
+
+		public Location() {
+		}
+
+		public Location(double latitude, double longitude) {
+			this.latitude = latitude;
+			this.longitude = longitude;
+		}
+	}
+
+	public static class NamedLocation extends Location {
+		public String name;
+
+		public NamedLocation() {
+		}
+
+		public NamedLocation(double latitude, double longitude, String name) {
+			super(latitude, longitude);
+			this.name = name;
+		}
+	}
+
+	public static class Holder {
+		public Location location;
+	}
+
+	public static class Address {
+		public String street;
+		public int zipCode;
+		public Location location;
+		public List<String> tags;
+		public Set<Color> colors;
+		public Map<String, Integer> attributes;
+		public int[] codes;
+		public transient String cache = "transient";
+	}
+
+	public static class DateHolder {
+		public Date date;
+	}
+
+	@SuppressWarnings("serial")
+	public static class CustomDate extends Date {
+	}
+
+	@SuppressWarnings("serial")
+	public static class CustomList extends ArrayList<String> {
+	}
+
+	public static class NoDefaultConstructor {
+		public String value;
+
+		public NoDefaultConstructor(String value) {
+			this.value = value;
+		}
+	}
+}